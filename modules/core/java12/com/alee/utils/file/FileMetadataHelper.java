@@ -0,0 +1,78 @@
+/*
+ * This file is part of WebLookAndFeel library.
+ *
+ * WebLookAndFeel library is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * WebLookAndFeel library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with WebLookAndFeel library.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.alee.utils.file;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.InvalidPathException;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.nio.file.attribute.DosFileAttributes;
+
+/**
+ * Java 12 compatible {@link FileMetadata} helper.
+ * It reads all basic file attributes with a single {@link Files#readAttributes} call.
+ *
+ * @author Mikle Garin
+ */
+final class FileMetadataHelper
+{
+    /**
+     * Whether or not file system provides DOS attributes.
+     * Hidden flag is a file attribute on such file systems, so it is read together with other attributes.
+     * On other file systems hidden state is determined by file name only.
+     */
+    private static final boolean DOS = FileSystems.getDefault ().supportedFileAttributeViews ().contains ( "dos" );
+
+    /**
+     * Returns new {@link FileMetadata} with basic attributes of the specified file.
+     *
+     * @param file absolute file to read basic attributes of
+     * @return new {@link FileMetadata} with basic attributes of the specified file
+     */
+    public static FileMetadata read ( final File file )
+    {
+        FileMetadata metadata;
+        try
+        {
+            final boolean root = file.getParent () == null;
+            final BasicFileAttributes attributes;
+            final boolean hidden;
+            if ( DOS )
+            {
+                final DosFileAttributes dosAttributes = Files.readAttributes ( file.toPath (), DosFileAttributes.class );
+                attributes = dosAttributes;
+                hidden = !root && dosAttributes.isHidden ();
+            }
+            else
+            {
+                attributes = Files.readAttributes ( file.toPath (), BasicFileAttributes.class );
+                hidden = !root && file.isHidden ();
+            }
+            metadata = new FileMetadata ( file, true, attributes.isRegularFile (), attributes.isDirectory (), hidden,
+                    attributes.lastModifiedTime ().toMillis () );
+        }
+        catch ( final IOException | InvalidPathException e )
+        {
+            // File doesn't exist or cannot be accessed, java.io.File reports such files as non-existing as well
+            metadata = new FileMetadata ( file, false, false, false, false, 0 );
+        }
+        return metadata;
+    }
+}
@@ -0,0 +1,185 @@
+/*
+ * This file is part of WebLookAndFeel library.
+ *
+ * WebLookAndFeel library is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * WebLookAndFeel library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with WebLookAndFeel library.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.alee.utils.file;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.FileSystems;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Java 12 compatible {@link NativeFileWatcher} helper.
+ * It uses {@link WatchService} to receive native file system notifications whenever it is backed by the operating system.
+ *
+ * @author Mikle Garin
+ */
+final class FileWatchHelper
+{
+    /**
+     * Returns new {@link NativeFileWatcher} or {@code null} if native file system notifications are not supported.
+     * Polling {@link WatchService} implementation is not used since it is not better than {@link FileWatchService} own polling.
+     *
+     * @param name     notifications thread name
+     * @param listener {@link SystemFileListener} to inform about changes within registered directories
+     * @return new {@link NativeFileWatcher} or {@code null} if native file system notifications are not supported
+     */
+    public static NativeFileWatcher createNativeWatcher ( final String name, final SystemFileListener listener )
+    {
+        try
+        {
+            final WatchService service = FileSystems.getDefault ().newWatchService ();
+            if ( !service.getClass ().getSimpleName ().startsWith ( "Polling" ) )
+            {
+                return new ServiceWatcher ( name, service, listener );
+            }
+            service.close ();
+        }
+        catch ( final IOException | RuntimeException ignored )
+        {
+            // Falling back to polling
+        }
+        return null;
+    }
+
+    /**
+     * {@link NativeFileWatcher} based on {@link WatchService}.
+     */
+    private static final class ServiceWatcher implements NativeFileWatcher, Runnable
+    {
+        private final WatchService service;
+        private final SystemFileListener listener;
+        private final Map<File, WatchKey> keys;
+        private final Map<WatchKey, File> directories;
+        private final Map<File, Integer> registrations;
+
+        private ServiceWatcher ( final String name, final WatchService service, final SystemFileListener listener )
+        {
+            this.service = service;
+            this.listener = listener;
+            this.keys = new HashMap<> ();
+            this.directories = new HashMap<> ();
+            this.registrations = new HashMap<> ();
+            final Thread thread = new Thread ( this, name );
+            thread.setDaemon ( true );
+            thread.start ();
+        }
+
+        @Override
+        public synchronized boolean register ( final File directory )
+        {
+            final WatchKey existing = keys.get ( directory );
+            if ( existing == null || !existing.isValid () )
+            {
+                try
+                {
+                    final WatchKey key = directory.toPath ().register ( service, StandardWatchEventKinds.ENTRY_CREATE,
+                            StandardWatchEventKinds.ENTRY_DELETE, StandardWatchEventKinds.ENTRY_MODIFY );
+                    if ( existing != null )
+                    {
+                        directories.remove ( existing );
+                    }
+                    keys.put ( directory, key );
+                    directories.put ( key, directory );
+                }
+                catch ( final IOException | RuntimeException e )
+                {
+                    return false;
+                }
+            }
+            registrations.merge ( directory, 1, Integer::sum );
+            return true;
+        }
+
+        @Override
+        public synchronized void unregister ( final File directory )
+        {
+            final Integer count = registrations.get ( directory );
+            if ( count != null )
+            {
+                if ( count > 1 )
+                {
+                    registrations.put ( directory, count - 1 );
+                }
+                else
+                {
+                    registrations.remove ( directory );
+                    final WatchKey key = keys.remove ( directory );
+                    if ( key != null )
+                    {
+                        directories.remove ( key );
+                        key.cancel ();
+                    }
+                }
+            }
+        }
+
+        @Override
+        public void close ()
+        {
+            try
+            {
+                service.close ();
+            }
+            catch ( final IOException ignored )
+            {
+                // Nothing to do here
+            }
+        }
+
+        @Override
+        public void run ()
+        {
+            try
+            {
+                while ( true )
+                {
+                    final WatchKey key = service.take ();
+                    key.pollEvents ();
+                    final boolean valid = key.reset ();
+                    final File directory;
+                    synchronized ( this )
+                    {
+                        directory = directories.get ( key );
+                    }
+
+                    // Listener is informed outside of the lock since it uses its own lock
+                    if ( directory != null )
+                    {
+                        if ( valid )
+                        {
+                            listener.modified ( directory );
+                        }
+                        else
+                        {
+                            listener.unbound ( directory );
+                        }
+                    }
+                }
+            }
+            catch ( final InterruptedException | ClosedWatchServiceException ignored )
+            {
+                // Watch service was closed
+            }
+        }
+    }
+}
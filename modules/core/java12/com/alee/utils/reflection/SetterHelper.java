@@ -0,0 +1,118 @@
+/*
+ * This file is part of WebLookAndFeel library.
+ *
+ * WebLookAndFeel library is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * WebLookAndFeel library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with WebLookAndFeel library.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.alee.utils.reflection;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Field;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+
+/**
+ * Java 12 compatible {@link PropertySetter} helper.
+ * It uses {@link MethodHandle}s instead of reflective calls whenever possible.
+ *
+ * @author Mikle Garin
+ */
+public final class SetterHelper
+{
+    private static final MethodType SETTER_TYPE = MethodType.methodType ( void.class, Object.class, Object.class );
+
+    /**
+     * Returns new {@link PropertySetter} for the specified setter {@link Method}.
+     *
+     * @param method accessible setter {@link Method}
+     * @return new {@link PropertySetter} for the specified setter {@link Method}
+     */
+    public static PropertySetter createSetter ( final Method method )
+    {
+        try
+        {
+            if ( !Modifier.isStatic ( method.getModifiers () ) )
+            {
+                final MethodHandle handle = MethodHandles.lookup ().unreflect ( method ).asType ( SETTER_TYPE );
+                return new HandleSetter ( method.getParameterTypes ()[ 0 ], handle );
+            }
+        }
+        catch ( final IllegalAccessException | RuntimeException ignored )
+        {
+            // Falling back to reflection
+        }
+        return new MethodSetter ( method );
+    }
+
+    /**
+     * Returns new {@link PropertySetter} for the specified {@link Field}.
+     *
+     * @param field accessible property {@link Field}
+     * @return new {@link PropertySetter} for the specified {@link Field}
+     */
+    public static PropertySetter createSetter ( final Field field )
+    {
+        try
+        {
+            // Final fields can only be modified through reflection
+            if ( !Modifier.isStatic ( field.getModifiers () ) && !Modifier.isFinal ( field.getModifiers () ) )
+            {
+                final MethodHandle handle = MethodHandles.lookup ().unreflectSetter ( field ).asType ( SETTER_TYPE );
+                return new HandleSetter ( field.getType (), handle );
+            }
+        }
+        catch ( final IllegalAccessException | RuntimeException ignored )
+        {
+            // Falling back to reflection
+        }
+        return new FieldSetter ( field );
+    }
+
+    /**
+     * {@link PropertySetter} that applies property value through {@link MethodHandle}.
+     */
+    private static final class HandleSetter implements PropertySetter
+    {
+        private final Class<?> type;
+        private final MethodHandle handle;
+
+        private HandleSetter ( final Class<?> type, final MethodHandle handle )
+        {
+            this.type = type;
+            this.handle = handle;
+        }
+
+        @Override
+        public Class<?> getType ()
+        {
+            return type;
+        }
+
+        @Override
+        public void set ( final Object object, final Object value ) throws InvocationTargetException
+        {
+            try
+            {
+                handle.invokeExact ( object, value );
+            }
+            catch ( final Throwable e )
+            {
+                throw new InvocationTargetException ( e );
+            }
+        }
+    }
+}
\ No newline at end of file
@@ -18,6 +18,7 @@
 package com.alee.api.resource;
 
 import com.alee.api.annotations.NotNull;
+import com.alee.api.annotations.Nullable;
 import com.alee.utils.ReflectUtils;
 import com.thoughtworks.xstream.annotations.XStreamAlias;
 import com.thoughtworks.xstream.annotations.XStreamAsAttribute;
@@ -104,4 +105,17 @@ public final class ClassResource implements Resource
             throw new ResourceException ( "Unable to open ClassResource stream for class and path: " + className + ":" + path, e );
         }
     }
-}
\ No newline at end of file
+
+    @Override
+    public boolean equals ( @Nullable final Object object )
+    {
+        return object instanceof ClassResource && className.equals ( ( ( ClassResource ) object ).className ) &&
+                path.equals ( ( ( ClassResource ) object ).path );
+    }
+
+    @Override
+    public int hashCode ()
+    {
+        return 31 * className.hashCode () + path.hashCode ();
+    }
+}
@@ -18,6 +18,7 @@
 package com.alee.api.resource;
 
 import com.alee.api.annotations.NotNull;
+import com.alee.api.annotations.Nullable;
 import com.thoughtworks.xstream.annotations.XStreamAlias;
 import com.thoughtworks.xstream.annotations.XStreamAsAttribute;
 
@@ -85,4 +86,16 @@ public final class FileResource implements Resource
             throw new ResourceException ( "Unable to open FileResource stream for path: " + path, e );
         }
     }
-}
\ No newline at end of file
+
+    @Override
+    public boolean equals ( @Nullable final Object object )
+    {
+        return object instanceof FileResource && path.equals ( ( ( FileResource ) object ).path );
+    }
+
+    @Override
+    public int hashCode ()
+    {
+        return path.hashCode ();
+    }
+}
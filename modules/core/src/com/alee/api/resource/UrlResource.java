@@ -18,6 +18,7 @@
 package com.alee.api.resource;
 
 import com.alee.api.annotations.NotNull;
+import com.alee.api.annotations.Nullable;
 import com.alee.utils.NetUtils;
 import com.thoughtworks.xstream.annotations.XStreamAlias;
 import com.thoughtworks.xstream.annotations.XStreamAsAttribute;
@@ -85,4 +86,16 @@ public final class UrlResource implements Resource
             throw new ResourceException ( "Unable to open UrlResource stream for url: " + url, e );
         }
     }
-}
\ No newline at end of file
+
+    @Override
+    public boolean equals ( @Nullable final Object object )
+    {
+        return object instanceof UrlResource && url.equals ( ( ( UrlResource ) object ).url );
+    }
+
+    @Override
+    public int hashCode ()
+    {
+        return url.hashCode ();
+    }
+}
@@ -0,0 +1,526 @@
+/*
+ * This file is part of WebLookAndFeel library.
+ *
+ * WebLookAndFeel library is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * WebLookAndFeel library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with WebLookAndFeel library.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.alee.graphics.image;
+
+import com.alee.api.annotations.NotNull;
+import com.alee.api.annotations.Nullable;
+import com.alee.api.jdk.Objects;
+import com.alee.utils.UtilityException;
+
+import java.awt.*;
+import java.awt.geom.AffineTransform;
+import java.awt.image.BufferedImage;
+import java.lang.ref.Reference;
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Global bounded cache of icon rasters with least-recently-used eviction.
+ *
+ * Rasters are cached by icon source, source variant, logical icon size and device scale.
+ * Source is compared by identity and can be any object that uniquely identifies icon contents, for instance parsed SVG diagram.
+ * Source is referenced weakly, so rasters are removed from cache once their source is garbage collected.
+ * Variant is compared using {@link Object#equals(Object)} and should describe any changes applied to the source, like adjustments,
+ * render settings or filters applied to the raster. Variant must not reference the source, otherwise rasters will only be removed
+ * from cache once they are evicted or invalidated. Device scale is taken from {@link Graphics2D} transform, see
+ * {@link #getScale(Graphics)}, so that icons are rasterized in device pixels and stay sharp on HiDPI screens.
+ *
+ * Cache is bounded by the total memory used by cached rasters rather than their amount, since raster sizes vary a lot.
+ * Cached rasters are shared and must never be modified.
+ *
+ * @author Mikle Garin
+ */
+public final class IconRasterCache
+{
+    /**
+     * Maximum device scale rasters are created for.
+     * Larger scales are usually caused by zooming rather than HiDPI screens and would create unnecessarily large rasters.
+     */
+    public static final double MAX_SCALE = 4.0;
+
+    /**
+     * Cached rasters in access order.
+     */
+    @NotNull
+    private static final LinkedHashMap<RasterKey, BufferedImage> cache =
+            new LinkedHashMap<RasterKey, BufferedImage> ( 64, 0.75f, true );
+
+    /**
+     * {@link ReferenceQueue} for keys of cached rasters which sources were garbage collected.
+     */
+    @NotNull
+    private static final ReferenceQueue<Object> collected = new ReferenceQueue<Object> ();
+
+    /**
+     * Maximum memory used by cached rasters in bytes.
+     */
+    private static long maximumMemory = 32 * 1024 * 1024;
+
+    /**
+     * Memory used by cached rasters in bytes.
+     */
+    private static long memory = 0;
+
+    /**
+     * Amount of successful cache lookups.
+     */
+    private static long hits = 0;
+
+    /**
+     * Amount of failed cache lookups.
+     */
+    private static long misses = 0;
+
+    /**
+     * Amount of rasters evicted from cache.
+     */
+    private static long evictions = 0;
+
+    /**
+     * Private constructor to avoid instantiation.
+     */
+    private IconRasterCache ()
+    {
+        throw new UtilityException ( "Utility classes are not meant to be instantiated" );
+    }
+
+    /**
+     * Returns device scale of the specified {@link Graphics}.
+     * Scale is only detected for uniformly scaled and translated {@link Graphics2D}, {@code 1.0} is returned for any other transform.
+     *
+     * @param g {@link Graphics} to return device scale for
+     * @return device scale of the specified {@link Graphics}
+     */
+    public static double getScale ( @NotNull final Graphics g )
+    {
+        double scale = 1.0;
+        if ( g instanceof Graphics2D )
+        {
+            final AffineTransform transform = ( ( Graphics2D ) g ).getTransform ();
+            if ( ( transform.getType () & ~( AffineTransform.TYPE_TRANSLATION | AffineTransform.TYPE_UNIFORM_SCALE ) ) == 0 &&
+                    transform.getScaleX () > 0 )
+            {
+                scale = Math.min ( transform.getScaleX (), MAX_SCALE );
+            }
+        }
+        return scale;
+    }
+
+    /**
+     * Returns raster size in device pixels for the specified logical size and device scale.
+     *
+     * @param size  logical size
+     * @param scale device scale
+     * @return raster size in device pixels for the specified logical size and device scale
+     */
+    public static int getRasterSize ( final int size, final double scale )
+    {
+        return Math.max ( 1, ( int ) Math.round ( size * scale ) );
+    }
+
+    /**
+     * Returns cached raster or {@code null} if it is not cached.
+     *
+     * @param source  icon source, compared by identity
+     * @param variant icon source variant
+     * @param width   logical icon width
+     * @param height  logical icon height
+     * @param scale   device scale
+     * @return cached raster or {@code null} if it is not cached
+     */
+    @Nullable
+    public static BufferedImage get ( @NotNull final Object source, @Nullable final Object variant,
+                                      final int width, final int height, final double scale )
+    {
+        synchronized ( cache )
+        {
+            purge ();
+            final BufferedImage raster = cache.get ( new RasterKey ( source, variant, width, height, scale, null ) );
+            if ( raster != null )
+            {
+                hits++;
+            }
+            else
+            {
+                misses++;
+            }
+            return raster;
+        }
+    }
+
+    /**
+     * Caches raster and returns it.
+     * If raster was cached concurrently in the meantime previously cached raster is returned instead.
+     * Rasters larger than {@link #getMaximumMemory()} are returned without being cached.
+     *
+     * @param source  icon source, compared by identity
+     * @param variant icon source variant
+     * @param width   logical icon width
+     * @param height  logical icon height
+     * @param scale   device scale
+     * @param raster  raster to cache
+     * @return cached raster
+     */
+    @NotNull
+    public static BufferedImage put ( @NotNull final Object source, @Nullable final Object variant,
+                                      final int width, final int height, final double scale, @NotNull final BufferedImage raster )
+    {
+        final RasterKey key = new RasterKey ( source, variant, width, height, scale, collected );
+        final long size = getMemory ( raster );
+        synchronized ( cache )
+        {
+            purge ();
+            final BufferedImage cached;
+            final BufferedImage existing = cache.get ( key );
+            if ( existing == null )
+            {
+                if ( size <= maximumMemory )
+                {
+                    cache.put ( key, raster );
+                    memory += size;
+                    evict ( maximumMemory );
+                }
+                cached = raster;
+            }
+            else
+            {
+                cached = existing;
+            }
+            return cached;
+        }
+    }
+
+    /**
+     * Paints raster at the specified location scaling it down to the logical icon size.
+     *
+     * @param g      {@link Graphics} to paint raster with
+     * @param raster raster to paint
+     * @param x      icon X coordinate
+     * @param y      icon Y coordinate
+     * @param width  logical icon width
+     * @param height logical icon height
+     */
+    public static void paint ( @NotNull final Graphics g, @NotNull final BufferedImage raster,
+                               final int x, final int y, final int width, final int height )
+    {
+        if ( raster.getWidth () == width && raster.getHeight () == height )
+        {
+            g.drawImage ( raster, x, y, null );
+        }
+        else
+        {
+            g.drawImage ( raster, x, y, width, height, null );
+        }
+    }
+
+    /**
+     * Removes all cached rasters for the specified icon source.
+     *
+     * @param source icon source, compared by identity
+     */
+    public static void invalidate ( @NotNull final Object source )
+    {
+        synchronized ( cache )
+        {
+            final Iterator<Map.Entry<RasterKey, BufferedImage>> iterator = cache.entrySet ().iterator ();
+            while ( iterator.hasNext () )
+            {
+                final Map.Entry<RasterKey, BufferedImage> entry = iterator.next ();
+                if ( entry.getKey ().get () == source )
+                {
+                    memory -= getMemory ( entry.getValue () );
+                    iterator.remove ();
+                }
+            }
+        }
+    }
+
+    /**
+     * Clears rasters cache.
+     */
+    public static void clear ()
+    {
+        synchronized ( cache )
+        {
+            cache.clear ();
+            memory = 0;
+        }
+    }
+
+    /**
+     * Removes rasters which sources were garbage collected.
+     * Must only be called while holding cache lock.
+     */
+    private static void purge ()
+    {
+        Reference<?> key;
+        while ( ( key = collected.poll () ) != null )
+        {
+            final BufferedImage raster = cache.remove ( key );
+            if ( raster != null )
+            {
+                memory -= getMemory ( raster );
+            }
+        }
+    }
+
+    /**
+     * Evicts least recently used rasters until cached rasters memory fits into specified limit.
+     * Must only be called while holding cache lock.
+     *
+     * @param limit memory limit in bytes
+     */
+    private static void evict ( final long limit )
+    {
+        final Iterator<BufferedImage> iterator = cache.values ().iterator ();
+        while ( memory > limit && iterator.hasNext () )
+        {
+            memory -= getMemory ( iterator.next () );
+            iterator.remove ();
+            evictions++;
+        }
+    }
+
+    /**
+     * Returns approximate memory used by the specified raster in bytes.
+     *
+     * @param raster raster
+     * @return approximate memory used by the specified raster in bytes
+     */
+    private static long getMemory ( @NotNull final BufferedImage raster )
+    {
+        final int pixelSize = raster.getColorModel ().getPixelSize ();
+        return ( long ) raster.getWidth () * raster.getHeight () * Math.max ( 1, ( pixelSize + 7 ) / 8 );
+    }
+
+    /**
+     * Returns amount of cached rasters.
+     *
+     * @return amount of cached rasters
+     */
+    public static int getSize ()
+    {
+        synchronized ( cache )
+        {
+            purge ();
+            return cache.size ();
+        }
+    }
+
+    /**
+     * Returns approximate memory used by cached rasters in bytes.
+     *
+     * @return approximate memory used by cached rasters in bytes
+     */
+    public static long getMemory ()
+    {
+        synchronized ( cache )
+        {
+            purge ();
+            return memory;
+        }
+    }
+
+    /**
+     * Returns maximum memory used by cached rasters in bytes.
+     *
+     * @return maximum memory used by cached rasters in bytes
+     */
+    public static long getMaximumMemory ()
+    {
+        synchronized ( cache )
+        {
+            return maximumMemory;
+        }
+    }
+
+    /**
+     * Sets maximum memory used by cached rasters in bytes.
+     * Least recently used rasters will be evicted if cached rasters already use more memory.
+     *
+     * @param maximumMemory maximum memory used by cached rasters in bytes
+     */
+    public static void setMaximumMemory ( final long maximumMemory )
+    {
+        if ( maximumMemory < 0 )
+        {
+            throw new IllegalArgumentException ( "Maximum memory cannot be negative: " + maximumMemory );
+        }
+        synchronized ( cache )
+        {
+            IconRasterCache.maximumMemory = maximumMemory;
+            evict ( maximumMemory );
+        }
+    }
+
+    /**
+     * Returns amount of successful cache lookups.
+     *
+     * @return amount of successful cache lookups
+     */
+    public static long getHits ()
+    {
+        synchronized ( cache )
+        {
+            return hits;
+        }
+    }
+
+    /**
+     * Returns amount of failed cache lookups.
+     *
+     * @return amount of failed cache lookups
+     */
+    public static long getMisses ()
+    {
+        synchronized ( cache )
+        {
+            return misses;
+        }
+    }
+
+    /**
+     * Returns amount of rasters evicted from cache.
+     *
+     * @return amount of rasters evicted from cache
+     */
+    public static long getEvictions ()
+    {
+        synchronized ( cache )
+        {
+            return evictions;
+        }
+    }
+
+    /**
+     * Returns ratio of successful cache lookups, {@code 0.0} if there were no lookups yet.
+     *
+     * @return ratio of successful cache lookups, {@code 0.0} if there were no lookups yet
+     */
+    public static double getHitRate ()
+    {
+        synchronized ( cache )
+        {
+            return hits + misses > 0 ? ( double ) hits / ( hits + misses ) : 0.0;
+        }
+    }
+
+    /**
+     * Resets cache statistics.
+     */
+    public static void resetStatistics ()
+    {
+        synchronized ( cache )
+        {
+            hits = 0;
+            misses = 0;
+            evictions = 0;
+        }
+    }
+
+    /**
+     * Key for cached rasters.
+     * Icon source is referenced weakly, key is only equal to itself once its source is garbage collected.
+     */
+    private static final class RasterKey extends WeakReference<Object>
+    {
+        /**
+         * Icon source variant.
+         */
+        @Nullable
+        private final Object variant;
+
+        /**
+         * Logical icon width.
+         */
+        private final int width;
+
+        /**
+         * Logical icon height.
+         */
+        private final int height;
+
+        /**
+         * Device scale.
+         */
+        private final double scale;
+
+        /**
+         * Key hash code, calculated once since source might be garbage collected later on.
+         */
+        private final int hashCode;
+
+        /**
+         * Constructs new {@link RasterKey}.
+         *
+         * @param source  icon source, compared by identity
+         * @param variant icon source variant
+         * @param width   logical icon width
+         * @param height  logical icon height
+         * @param scale   device scale
+         * @param queue   {@link ReferenceQueue} to register key in, {@code null} for lookup keys
+         */
+        public RasterKey ( @NotNull final Object source, @Nullable final Object variant, final int width, final int height,
+                           final double scale, @Nullable final ReferenceQueue<Object> queue )
+        {
+            super ( source, queue );
+            this.variant = variant;
+            this.width = width;
+            this.height = height;
+            this.scale = scale;
+            final long bits = Double.doubleToLongBits ( scale );
+            int result = System.identityHashCode ( source );
+            result = 31 * result + ( variant != null ? variant.hashCode () : 0 );
+            result = 31 * result + width;
+            result = 31 * result + height;
+            result = 31 * result + ( int ) ( bits ^ bits >>> 32 );
+            this.hashCode = result;
+        }
+
+        @Override
+        public boolean equals ( @Nullable final Object object )
+        {
+            final boolean equals;
+            if ( object == this )
+            {
+                equals = true;
+            }
+            else if ( object instanceof RasterKey )
+            {
+                final RasterKey other = ( RasterKey ) object;
+                final Object source = get ();
+                equals = source != null && source == other.get () && width == other.width && height == other.height &&
+                        Double.compare ( scale, other.scale ) == 0 && Objects.equals ( variant, other.variant );
+            }
+            else
+            {
+                equals = false;
+            }
+            return equals;
+        }
+
+        @Override
+        public int hashCode ()
+        {
+            return hashCode;
+        }
+    }
+}
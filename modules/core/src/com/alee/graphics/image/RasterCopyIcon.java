@@ -0,0 +1,160 @@
+/*
+ * This file is part of WebLookAndFeel library.
+ *
+ * WebLookAndFeel library is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * WebLookAndFeel library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with WebLookAndFeel library.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.alee.graphics.image;
+
+import com.alee.api.annotations.NotNull;
+import com.alee.api.annotations.Nullable;
+import com.alee.utils.ImageUtils;
+
+import javax.swing.*;
+import java.awt.*;
+import java.awt.image.BufferedImage;
+
+/**
+ * {@link Icon} that paints disabled or semi-transparent copy of another {@link Icon}.
+ *
+ * Copy raster is not stored in the icon itself, it is created on demand for the current device scale and kept in
+ * {@link IconRasterCache}, so all copies of the same {@link Icon} share it and memory used by rasters stays bounded.
+ * Copy is painted at device scale unless original {@link Icon} is an {@link ImageIcon}, since raster images cannot be sharper anyway.
+ *
+ * @author Mikle Garin
+ * @see ImageUtils#getDisabledRasterCopy(Icon)
+ * @see ImageUtils#getTransparentRasterCopy(Icon, float)
+ */
+public final class RasterCopyIcon implements Icon
+{
+    /**
+     * Disabled copy variant.
+     */
+    @NotNull
+    private static final Object DISABLED = new Object ();
+
+    /**
+     * Original {@link Icon}.
+     */
+    @NotNull
+    private final Icon icon;
+
+    /**
+     * Copy variant, either {@link #DISABLED} or {@link Float} opacity.
+     */
+    @NotNull
+    private final Object variant;
+
+    /**
+     * Constructs new {@link RasterCopyIcon}.
+     *
+     * @param icon    original {@link Icon}
+     * @param variant copy variant, either {@link #DISABLED} or {@link Float} opacity
+     */
+    private RasterCopyIcon ( @NotNull final Icon icon, @NotNull final Object variant )
+    {
+        this.icon = icon;
+        this.variant = variant;
+    }
+
+    /**
+     * Returns new {@link RasterCopyIcon} that paints disabled copy of the specified {@link Icon}.
+     *
+     * @param icon original {@link Icon}
+     * @return new {@link RasterCopyIcon} that paints disabled copy of the specified {@link Icon}
+     */
+    @NotNull
+    public static RasterCopyIcon disabled ( @NotNull final Icon icon )
+    {
+        return new RasterCopyIcon ( icon, DISABLED );
+    }
+
+    /**
+     * Returns new {@link RasterCopyIcon} that paints semi-transparent copy of the specified {@link Icon}.
+     *
+     * @param icon    original {@link Icon}
+     * @param opacity opacity value, must be between 0 and 1
+     * @return new {@link RasterCopyIcon} that paints semi-transparent copy of the specified {@link Icon}
+     */
+    @NotNull
+    public static RasterCopyIcon transparent ( @NotNull final Icon icon, final float opacity )
+    {
+        return new RasterCopyIcon ( icon, opacity );
+    }
+
+    /**
+     * Returns original {@link Icon}.
+     *
+     * @return original {@link Icon}
+     */
+    @NotNull
+    public Icon getIcon ()
+    {
+        return icon;
+    }
+
+    @Override
+    public void paintIcon ( @Nullable final Component component, @NotNull final Graphics g, final int x, final int y )
+    {
+        final int width = getIconWidth ();
+        final int height = getIconHeight ();
+        if ( width > 0 && height > 0 )
+        {
+            final double scale = icon instanceof ImageIcon ? 1.0 : IconRasterCache.getScale ( g );
+            BufferedImage raster = IconRasterCache.get ( icon, variant, width, height, scale );
+            if ( raster == null )
+            {
+                raster = IconRasterCache.put ( icon, variant, width, height, scale, createRaster ( width, height, scale ) );
+            }
+            IconRasterCache.paint ( g, raster, x, y, width, height );
+        }
+    }
+
+    /**
+     * Returns new copy raster.
+     *
+     * @param width  logical icon width
+     * @param height logical icon height
+     * @param scale  device scale
+     * @return new copy raster
+     */
+    @NotNull
+    private BufferedImage createRaster ( final int width, final int height, final double scale )
+    {
+        final BufferedImage image = ImageUtils.createCompatibleImage (
+                IconRasterCache.getRasterSize ( width, scale ),
+                IconRasterCache.getRasterSize ( height, scale ),
+                Transparency.TRANSLUCENT
+        );
+        final Graphics2D g2d = image.createGraphics ();
+        g2d.scale ( ( double ) image.getWidth () / width, ( double ) image.getHeight () / height );
+        icon.paintIcon ( null, g2d, 0, 0 );
+        g2d.dispose ();
+        return variant == DISABLED
+                ? ImageUtils.createDisabledCopy ( image )
+                : ImageUtils.createTransparentCopy ( image, ( Float ) variant );
+    }
+
+    @Override
+    public int getIconWidth ()
+    {
+        return icon.getIconWidth ();
+    }
+
+    @Override
+    public int getIconHeight ()
+    {
+        return icon.getIconHeight ();
+    }
+}
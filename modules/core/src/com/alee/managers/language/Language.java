@@ -98,8 +98,7 @@ public class Language implements Serializable
     @Nullable
     public Value getValue ( @Nullable final String key )
     {
-        final Record record = getRecord ( key );
-        return record != null ? record.getValue ( locale ) : null;
+        return TextUtils.notEmpty ( key ) ? getDictionaries ().getValue ( key, locale ) : null;
     }
 
     /**
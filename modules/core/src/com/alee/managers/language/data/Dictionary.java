@@ -20,15 +20,12 @@ package com.alee.managers.language.data;
 import com.alee.api.Identifiable;
 import com.alee.api.annotations.NotNull;
 import com.alee.api.annotations.Nullable;
-import com.alee.api.jdk.Objects;
 import com.alee.api.merge.Mergeable;
 import com.alee.api.resource.Resource;
-import com.alee.managers.language.LanguageUtils;
 import com.alee.utils.CollectionUtils;
 import com.alee.utils.TextUtils;
 import com.alee.utils.XmlUtils;
 import com.alee.utils.collection.ImmutableList;
-import com.alee.utils.collection.ImmutableSet;
 import com.alee.utils.compare.Filter;
 import com.thoughtworks.xstream.annotations.XStreamAlias;
 import com.thoughtworks.xstream.annotations.XStreamAsAttribute;
@@ -37,6 +34,8 @@ import com.thoughtworks.xstream.annotations.XStreamImplicit;
 import java.io.InputStream;
 import java.io.Serializable;
 import java.util.*;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
 
 /**
  * {@link Dictionary} can store multiple language {@link Record}s and {@link Dictionary}s.
@@ -58,6 +57,14 @@ public final class Dictionary implements Identifiable, Mergeable, Cloneable, Ser
     @NotNull
     private static final String ID_PREFIX = "DIC";
 
+    /**
+     * Atomic updater for {@link #stamp}.
+     * It is used instead of an atomic field since {@link Dictionary}s might be created without calling their constructors.
+     */
+    @NotNull
+    private static final AtomicIntegerFieldUpdater<Dictionary> stampUpdater =
+            AtomicIntegerFieldUpdater.newUpdater ( Dictionary.class, "stamp" );
+
     /**
      * Unique {@link Dictionary} identifier.
      * It is used to distinct {@link Dictionary} instances in runtime.
@@ -122,16 +129,28 @@ public final class Dictionary implements Identifiable, Mergeable, Cloneable, Ser
     private transient List<Locale> supportedLocales;
 
     /**
-     * {@link Map} containing {@link Record}s cached by their key.
+     * Compiled translation tables of this {@link Dictionary} and all sub-{@link Dictionary}s by {@link Locale}.
+     * Each table maps every language key to the most fitting {@link Record} and its resolved {@link Value} for its {@link Locale}.
+     * {@link Record}s inform {@link Dictionary}s containing them about direct modifications, so resolved {@link Value}s never outdate.
+     * Tables are never modified once published, they are only replaced as a whole, so lookups require no locking.
      */
     @Nullable
-    private transient Map<String, Record> recordsCache;
+    private transient volatile Map<Locale, Table> tables;
+
+    /**
+     * Modification stamp of this {@link Dictionary}.
+     * It changes whenever this {@link Dictionary}, any of its sub-{@link Dictionary}s or any of their {@link Record}s is modified.
+     * Compiled {@link Table}s are only used while their stamp matches this one.
+     * It is only modified through {@link #stampUpdater} since it might be updated from any {@link Dictionary} in the hierarchy.
+     */
+    private transient volatile int stamp;
 
     /**
-     * {@link Map} containing {@link Dictionary}s cached by {@link Record} keys.
+     * Parent {@link Dictionary}s that have this {@link Dictionary} compiled into their {@link Table}s.
+     * They are informed about modifications of this {@link Dictionary} to avoid using outdated {@link Table}s.
      */
     @Nullable
-    private transient Map<String, Dictionary> dictionariesCache;
+    private transient volatile List<Dictionary> parents;
 
     /**
      * Constructs new {@link Dictionary}.
@@ -232,6 +251,7 @@ public final class Dictionary implements Identifiable, Mergeable, Cloneable, Ser
     public synchronized void setPrefix ( @Nullable final String prefix )
     {
         this.prefix = prefix;
+        modified ();
     }
 
     /**
@@ -281,7 +301,18 @@ public final class Dictionary implements Identifiable, Mergeable, Cloneable, Ser
      */
     public synchronized void setRecords ( @Nullable final List<Record> records )
     {
+        if ( this.records != null )
+        {
+            for ( final Record record : this.records )
+            {
+                if ( records == null || !records.contains ( record ) )
+                {
+                    record.removeOwner ( this );
+                }
+            }
+        }
         this.records = records;
+        destroyRecordCaches ();
     }
 
     /**
@@ -293,111 +324,178 @@ public final class Dictionary implements Identifiable, Mergeable, Cloneable, Ser
      * @return {@link Record} for the specified language key
      */
     @Nullable
-    public synchronized Record getRecord ( @NotNull final String key, @NotNull final Locale locale )
+    public Record getRecord ( @NotNull final String key, @NotNull final Locale locale )
     {
-        final Record result;
-        final String cacheKey = key + "." + LanguageUtils.toString ( locale );
-        if ( recordsCache != null && recordsCache.containsKey ( cacheKey ) )
-        {
-            // Cached record in this dictionary
-            result = recordsCache.get ( cacheKey );
-        }
-        else
-        {
-            final String dicPrefix = usablePrefix ();
-            final String subKey = key.startsWith ( dicPrefix ) ? key.substring ( dicPrefix.length () ) : null;
-            if ( subKey != null )
-            {
-                if ( dictionariesCache != null && dictionariesCache.containsKey ( cacheKey ) )
-                {
-                    // Cached dictionary that contains record
-                    result = dictionariesCache.get ( cacheKey ).getRecord ( subKey, locale );
-                }
-                else
-                {
-                    Record record = null;
-                    Dictionary source = this;
+        return getTable ( locale ).records.get ( key );
+    }
 
-                    final Comparator<Record> comparator = new RecordCountryComparator ( locale );
+    /**
+     * Returns {@link Value} most fitting for the specified language key and {@link Locale}.
+     * Search will be perfomed in this {@link Dictionary} and all sub-{@link Dictionary}s.
+     *
+     * @param key    {@link Record} language key
+     * @param locale {@link Locale}
+     * @return {@link Value} most fitting for the specified language key and {@link Locale}
+     */
+    @Nullable
+    public Value getValue ( @NotNull final String key, @NotNull final Locale locale )
+    {
+        return getTable ( locale ).values.get ( key );
+    }
 
-                    // Resolving most fitting record within this dictionary
-                    if ( CollectionUtils.notEmpty ( records ) )
-                    {
-                        // Collecting records for the key
-                        final List<Record> fitting = collectLocalRecords ( subKey, new ArrayList<Record> ( 3 ) );
+    /**
+     * Returns up-to-date compiled {@link Table} for the specified {@link Locale}.
+     * Existing {@link Table} is returned without any locking, new one is only compiled if it is missing or outdated.
+     *
+     * @param locale {@link Locale} to return {@link Table} for
+     * @return up-to-date compiled {@link Table} for the specified {@link Locale}
+     */
+    @NotNull
+    private Table getTable ( @NotNull final Locale locale )
+    {
+        final Map<Locale, Table> tables = this.tables;
+        final Table table = tables != null ? tables.get ( locale ) : null;
+        return table != null && table.stamp == stamp ? table : compileTable ( locale );
+    }
 
-                        // Resolving most fitting one
-                        record = CollectionUtils.max ( fitting, comparator );
-                    }
+    /**
+     * Compiles and publishes new {@link Table} for the specified {@link Locale}.
+     * Modification stamp is read before reading any content and {@link Record}s are registered before they are read,
+     * so {@link Table} compiled while this {@link Dictionary}, any of its sub-{@link Dictionary}s or any of their {@link Record}s
+     * were modified concurrently will simply be compiled again upon next request.
+     *
+     * @param locale {@link Locale} to compile {@link Table} for
+     * @return compiled {@link Table} for the specified {@link Locale}
+     */
+    @NotNull
+    private synchronized Table compileTable ( @NotNull final Locale locale )
+    {
+        // Checking whether or not table was compiled concurrently
+        final int stamp = this.stamp;
+        final Map<Locale, Table> tables = this.tables;
+        Table table = tables != null ? tables.get ( locale ) : null;
+        if ( table == null || table.stamp != stamp )
+        {
+            final Comparator<Record> comparator = new RecordCountryComparator ( locale );
+            final String dicPrefix = usablePrefix ();
+            final Map<String, Record> resolved = new HashMap<String, Record> ( totalRecordsCount () );
 
-                    // Resolving most fitting record within this dictionary and all sub-dictionaries
-                    if ( CollectionUtils.notEmpty ( dictionaries ) )
+            // Resolving most fitting records within this dictionary
+            if ( CollectionUtils.notEmpty ( records ) )
+            {
+                final Map<String, List<Record>> fitting = new LinkedHashMap<String, List<Record>> ( records.size () );
+                for ( final Record record : records )
+                {
+                    record.addOwner ( this );
+                    List<Record> keyRecords = fitting.get ( record.getKey () );
+                    if ( keyRecords == null )
                     {
-                        for ( final Dictionary dictionary : dictionaries )
-                        {
-                            // Resolving most fitting one from sub-dictionary
-                            final Record subRecord = dictionary.getRecord ( subKey, locale );
-
-                            // Resolving most fitting one
-                            if ( subRecord != null && ( record == null || comparator.compare ( record, subRecord ) > 0 ) )
-                            {
-                                record = subRecord;
-                                source = dictionary;
-                            }
-                        }
+                        keyRecords = new ArrayList<Record> ( 1 );
+                        fitting.put ( record.getKey (), keyRecords );
                     }
-                    result = record;
+                    keyRecords.add ( record );
+                }
+                for ( final Map.Entry<String, List<Record>> entry : fitting.entrySet () )
+                {
+                    resolved.put ( dicPrefix + entry.getKey (), CollectionUtils.max ( entry.getValue (), comparator ) );
+                }
+            }
 
-                    // Caching result
-                    if ( source == this )
-                    {
-                        if ( recordsCache == null )
-                        {
-                            recordsCache = new HashMap<String, Record> ( recordsCount () );
-                        }
-                        recordsCache.put ( cacheKey, result );
-                    }
-                    else
+            // Resolving most fitting records within all sub-dictionaries
+            if ( CollectionUtils.notEmpty ( dictionaries ) )
+            {
+                for ( final Dictionary dictionary : dictionaries )
+                {
+                    dictionary.addParent ( this );
+                    for ( final Map.Entry<String, Record> entry : dictionary.getTable ( locale ).records.entrySet () )
                     {
-                        if ( dictionariesCache == null )
+                        final String key = dicPrefix + entry.getKey ();
+                        final Record record = resolved.get ( key );
+                        final Record subRecord = entry.getValue ();
+                        if ( record == null || comparator.compare ( record, subRecord ) > 0 )
                         {
-                            dictionariesCache = new HashMap<String, Dictionary> ( dictionariesCount () * 5 );
+                            resolved.put ( key, subRecord );
                         }
-                        dictionariesCache.put ( cacheKey, source );
                     }
                 }
             }
-            else
+
+            // Resolving values of most fitting records
+            final Map<String, Value> values = new HashMap<String, Value> ( resolved.size () );
+            for ( final Map.Entry<String, Record> entry : resolved.entrySet () )
             {
-                // Key doesn't start with dictionary prefix
-                result = null;
+                final Value value = entry.getValue ().getValue ( locale );
+                if ( value != null )
+                {
+                    values.put ( entry.getKey (), value );
+                }
             }
+
+            // Publishing table
+            table = new Table ( stamp, resolved, values );
+            final Map<Locale, Table> newTables = tables != null ? new HashMap<Locale, Table> ( tables ) : new HashMap<Locale, Table> ( 2 );
+            newTables.put ( locale, table );
+            this.tables = newTables;
         }
-        return result;
+        return table;
     }
 
     /**
-     * Returns {@link List} of {@link Record}s from this {@link Dictionary} only for the specified language key.
-     * This method doesn't ask for {@link Locale}, so multiple {@link Record}s can be returned as a result.
+     * Registers parent {@link Dictionary} that has this {@link Dictionary} compiled into its {@link Table}s.
      *
-     * @param key     {@link Record} language key
-     * @param results {@link List} to collect {@link Record}s into
-     * @return {@link List} of {@link Record}s from this {@link Dictionary} only for the specified language key
+     * @param parent parent {@link Dictionary}
      */
-    @NotNull
-    private synchronized List<Record> collectLocalRecords ( @NotNull final String key, @NotNull final List<Record> results )
+    private synchronized void addParent ( @NotNull final Dictionary parent )
     {
-        if ( CollectionUtils.notEmpty ( records ) )
+        if ( parents == null )
         {
-            for ( final Record record : records )
+            parents = new CopyOnWriteArrayList<Dictionary> ();
+        }
+        if ( !parents.contains ( parent ) )
+        {
+            parents.add ( parent );
+        }
+    }
+
+    /**
+     * Unregisters parent {@link Dictionary}.
+     *
+     * @param parent parent {@link Dictionary}
+     */
+    private synchronized void removeParent ( @NotNull final Dictionary parent )
+    {
+        if ( parents != null )
+        {
+            parents.remove ( parent );
+        }
+    }
+
+    /**
+     * Returns modification stamp of this {@link Dictionary}.
+     *
+     * @return modification stamp of this {@link Dictionary}
+     */
+    int getStamp ()
+    {
+        return stamp;
+    }
+
+    /**
+     * Marks all compiled {@link Table}s of this {@link Dictionary} and all its parent {@link Dictionary}s as outdated.
+     * This method doesn't require any locking, so it is safe to call it from any {@link Dictionary} in the hierarchy or any {@link Record}.
+     * Stamp is incremented atomically, so concurrent modifications of different sub-{@link Dictionary}s are never lost.
+     */
+    void modified ()
+    {
+        stampUpdater.incrementAndGet ( this );
+        final List<Dictionary> parents = this.parents;
+        if ( parents != null )
+        {
+            for ( final Dictionary parent : parents )
             {
-                if ( Objects.equals ( record.getKey (), key ) )
-                {
-                    results.add ( record );
-                }
+                parent.modified ();
             }
         }
-        return results;
     }
 
     /**
@@ -416,7 +514,7 @@ public final class Dictionary implements Identifiable, Mergeable, Cloneable, Ser
         records.add ( record );
 
         // Destroying caches
-        destroyRecordCaches ( record );
+        destroyRecordCaches ();
     }
 
     /**
@@ -430,9 +528,13 @@ public final class Dictionary implements Identifiable, Mergeable, Cloneable, Ser
         {
             // Removing record
             records.remove ( record );
+            if ( !records.contains ( record ) )
+            {
+                record.removeOwner ( this );
+            }
 
             // Destroying caches
-            destroyRecordCaches ( record );
+            destroyRecordCaches ();
         }
     }
 
@@ -453,9 +555,13 @@ public final class Dictionary implements Identifiable, Mergeable, Cloneable, Ser
                 {
                     // Removing record
                     iterator.remove ();
+                    if ( !records.contains ( record ) )
+                    {
+                        record.removeOwner ( this );
+                    }
 
                     // Destroying caches
-                    destroyRecordCaches ( record );
+                    destroyRecordCaches ();
 
                     break;
                 }
@@ -463,29 +569,6 @@ public final class Dictionary implements Identifiable, Mergeable, Cloneable, Ser
         }
     }
 
-    /**
-     * Destroys caches for the specified {@link Dictionary}.
-     *
-     * @param record {@link Dictionary} to destroy caches for
-     */
-    private void destroyRecordCaches ( @NotNull final Record record )
-    {
-        // Clearing
-        clearLocaleCaches ();
-        if ( recordsCache != null || dictionariesCache != null )
-        {
-            final Set<String> keys = new ImmutableSet<String> ( record.getKey () );
-            if ( recordsCache != null )
-            {
-                destroyKeys ( recordsCache.keySet ().iterator (), keys );
-            }
-            if ( dictionariesCache != null )
-            {
-                destroyKeys ( dictionariesCache.keySet ().iterator (), keys );
-            }
-        }
-    }
-
     /**
      * Removes all {@link Record}s from this {@link Dictionary}.
      */
@@ -494,6 +577,10 @@ public final class Dictionary implements Identifiable, Mergeable, Cloneable, Ser
         if ( records != null )
         {
             // Removing all records
+            for ( final Record record : records )
+            {
+                record.removeOwner ( this );
+            }
             records.clear ();
             records = null;
 
@@ -508,11 +595,7 @@ public final class Dictionary implements Identifiable, Mergeable, Cloneable, Ser
     private void destroyRecordCaches ()
     {
         clearLocaleCaches ();
-        if ( recordsCache != null )
-        {
-            recordsCache.clear ();
-            recordsCache = null;
-        }
+        modified ();
     }
 
     /**
@@ -597,7 +680,15 @@ public final class Dictionary implements Identifiable, Mergeable, Cloneable, Ser
      */
     public synchronized void setDictionaries ( @Nullable final List<Dictionary> dictionaries )
     {
+        if ( this.dictionaries != null )
+        {
+            for ( final Dictionary dictionary : this.dictionaries )
+            {
+                dictionary.removeParent ( this );
+            }
+        }
         this.dictionaries = dictionaries;
+        destroyDictionaryCaches ();
     }
 
     /**
@@ -644,19 +735,8 @@ public final class Dictionary implements Identifiable, Mergeable, Cloneable, Ser
      */
     private void destroyDictionaryCaches ( @NotNull final Dictionary dictionary )
     {
-        clearLocaleCaches ();
-        if ( recordsCache != null || dictionariesCache != null )
-        {
-            final Set<String> keys = dictionary.getKeys ( usablePrefix () );
-            if ( recordsCache != null )
-            {
-                destroyKeys ( recordsCache.keySet ().iterator (), keys );
-            }
-            if ( dictionariesCache != null )
-            {
-                destroyKeys ( dictionariesCache.keySet ().iterator (), keys );
-            }
-        }
+        dictionary.removeParent ( this );
+        destroyDictionaryCaches ();
     }
 
     /**
@@ -676,28 +756,6 @@ public final class Dictionary implements Identifiable, Mergeable, Cloneable, Ser
         }
     }
 
-    /**
-     * Destroys caches for the specified keys.
-     *
-     * @param cachedKeys cached keys
-     * @param keys       keys to remove from cache
-     */
-    private void destroyKeys ( @NotNull final Iterator<String> cachedKeys, @NotNull final Set<String> keys )
-    {
-        while ( cachedKeys.hasNext () )
-        {
-            final String cachedKey = cachedKeys.next ();
-            for ( final String key : keys )
-            {
-                if ( cachedKey.startsWith ( key ) )
-                {
-                    cachedKeys.remove ();
-                    break;
-                }
-            }
-        }
-    }
-
     /**
      * Removes all child {@link Dictionary}s.
      */
@@ -706,6 +764,10 @@ public final class Dictionary implements Identifiable, Mergeable, Cloneable, Ser
         if ( dictionaries != null )
         {
             // Removing all dictionaries
+            for ( final Dictionary dictionary : dictionaries )
+            {
+                dictionary.removeParent ( this );
+            }
             dictionaries.clear ();
             dictionaries = null;
 
@@ -719,11 +781,8 @@ public final class Dictionary implements Identifiable, Mergeable, Cloneable, Ser
      */
     private void destroyDictionaryCaches ()
     {
-        if ( dictionariesCache != null )
-        {
-            dictionariesCache.clear ();
-            dictionariesCache = null;
-        }
+        clearLocaleCaches ();
+        modified ();
     }
 
     /**
@@ -1045,4 +1104,42 @@ public final class Dictionary implements Identifiable, Mergeable, Cloneable, Ser
                 ( recordsCount () > 0 ? " [R:" + recordsCount () + "]" : "" ) +
                 ( dictionariesCount () > 0 ? " [D:" + dictionariesCount () + "]" : "" );
     }
+
+    /**
+     * Immutable compiled translation table for a single {@link Locale}.
+     */
+    private static final class Table
+    {
+        /**
+         * Modification stamp of the {@link Dictionary} this {@link Table} was compiled for.
+         */
+        private final int stamp;
+
+        /**
+         * Most fitting {@link Record}s by their full language keys.
+         */
+        @NotNull
+        private final Map<String, Record> records;
+
+        /**
+         * {@link Value}s of most fitting {@link Record}s by their full language keys.
+         * Keys of {@link Record}s that have no {@link Value} fitting {@link Locale} are not included.
+         */
+        @NotNull
+        private final Map<String, Value> values;
+
+        /**
+         * Constructs new {@link Table}.
+         *
+         * @param stamp   modification stamp of the {@link Dictionary} this {@link Table} was compiled for
+         * @param records most fitting {@link Record}s by their full language keys
+         * @param values  {@link Value}s of most fitting {@link Record}s by their full language keys
+         */
+        public Table ( final int stamp, @NotNull final Map<String, Record> records, @NotNull final Map<String, Value> values )
+        {
+            this.stamp = stamp;
+            this.records = records;
+            this.values = values;
+        }
+    }
 }
\ No newline at end of file
@@ -28,6 +28,7 @@ import com.thoughtworks.xstream.annotations.XStreamImplicit;
 
 import java.io.Serializable;
 import java.util.*;
+import java.util.concurrent.CopyOnWriteArrayList;
 
 /**
  * {@link Record} can store multiple {@link Value}s for different {@link Locale}s.
@@ -59,9 +60,17 @@ public final class Record implements Cloneable, Serializable
 
     /**
      * {@link Map} containing {@link Value}s cached by {@link Locale} keys.
+     * It is never modified once published, only replaced as a whole, since {@link Value}s can be requested from any thread.
      */
     @Nullable
-    private transient Map<String, Value> valuesCache;
+    private transient volatile Map<String, Value> valuesCache;
+
+    /**
+     * {@link Dictionary}s that have this {@link Record} compiled into their translation tables.
+     * They are informed about modifications of this {@link Record} to avoid using outdated translation tables.
+     */
+    @Nullable
+    private transient volatile List<Dictionary> owners;
 
     /**
      * Constructs new {@link Record}.
@@ -123,6 +132,7 @@ public final class Record implements Cloneable, Serializable
     public void setKey ( @NotNull final String key )
     {
         this.key = key;
+        modified ();
     }
 
     /**
@@ -144,6 +154,7 @@ public final class Record implements Cloneable, Serializable
     public void setValues ( @NotNull final List<Value> values )
     {
         this.values = values;
+        modified ();
     }
 
     /**
@@ -154,6 +165,7 @@ public final class Record implements Cloneable, Serializable
     public void addValue ( @NotNull final Value value )
     {
         values.add ( value );
+        modified ();
     }
 
     /**
@@ -164,6 +176,7 @@ public final class Record implements Cloneable, Serializable
     public void removeValue ( @NotNull final Value value )
     {
         values.remove ( value );
+        modified ();
     }
 
     /**
@@ -172,6 +185,53 @@ public final class Record implements Cloneable, Serializable
     public void clearValues ()
     {
         values.clear ();
+        modified ();
+    }
+
+    /**
+     * Clears cached {@link Value}s and marks translation tables of all {@link Dictionary}s containing this {@link Record} as outdated.
+     */
+    private void modified ()
+    {
+        valuesCache = null;
+        final List<Dictionary> owners = this.owners;
+        if ( owners != null )
+        {
+            for ( final Dictionary owner : owners )
+            {
+                owner.modified ();
+            }
+        }
+    }
+
+    /**
+     * Registers {@link Dictionary} that has this {@link Record} compiled into its translation tables.
+     *
+     * @param owner {@link Dictionary} containing this {@link Record}
+     */
+    synchronized void addOwner ( @NotNull final Dictionary owner )
+    {
+        if ( owners == null )
+        {
+            owners = new CopyOnWriteArrayList<Dictionary> ();
+        }
+        if ( !owners.contains ( owner ) )
+        {
+            owners.add ( owner );
+        }
+    }
+
+    /**
+     * Unregisters {@link Dictionary} this {@link Record} was removed from.
+     *
+     * @param owner {@link Dictionary} this {@link Record} was removed from
+     */
+    synchronized void removeOwner ( @NotNull final Dictionary owner )
+    {
+        if ( owners != null )
+        {
+            owners.remove ( owner );
+        }
     }
 
     /**
@@ -240,6 +300,7 @@ public final class Record implements Cloneable, Serializable
     {
         final Value value;
         final String key = locale.getLanguage () + "_" + locale.getCountry ();
+        final Map<String, Value> valuesCache = this.valuesCache;
         if ( valuesCache != null && valuesCache.containsKey ( key ) )
         {
             // Resulting value is already cached
@@ -262,11 +323,10 @@ public final class Record implements Cloneable, Serializable
             }
 
             // Caching result
-            if ( valuesCache == null )
-            {
-                valuesCache = new HashMap<String, Value> ( values.size () );
-            }
-            valuesCache.put ( key, value );
+            final Map<String, Value> newCache = valuesCache != null ?
+                    new HashMap<String, Value> ( valuesCache ) : new HashMap<String, Value> ( values.size () );
+            newCache.put ( key, value );
+            this.valuesCache = newCache;
         }
         return value;
     }
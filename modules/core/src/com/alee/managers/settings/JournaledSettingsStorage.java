@@ -0,0 +1,431 @@
+/*
+ * This file is part of WebLookAndFeel library.
+ *
+ * WebLookAndFeel library is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * WebLookAndFeel library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with WebLookAndFeel library.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.alee.managers.settings;
+
+import com.alee.api.annotations.NotNull;
+import com.alee.api.annotations.Nullable;
+import com.alee.utils.FileUtils;
+import com.alee.utils.XmlUtils;
+import org.slf4j.LoggerFactory;
+
+import java.io.*;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.zip.CRC32;
+
+/**
+ * {@link SettingsStorage} implementation that appends changed settings into a journal file instead of rewriting whole
+ * {@link SettingsGroup} on every save. Journal is placed next to the XML settings file and is compacted into it once it grows
+ * larger than compaction threshold, whenever whole {@link SettingsGroup} is saved and whenever {@link SettingsGroup} is read.
+ *
+ * Each journal record is a single changed setting with its value in XML form, it is framed with its length and checksum and
+ * journal is synced to the storage device after each write. Upon reading, all complete journal records are replayed over the
+ * XML settings file content, so changes are never lost even if application crashes before compaction. Incomplete or corrupted
+ * record at the end of the journal, which can only be left by a crash during write, is ignored along with anything after it.
+ * Records that fail to be appended are truncated from the journal right away, so later appends are never written after them.
+ * If journal cannot be truncated, next write compacts it into XML settings file instead of appending to it.
+ *
+ * XML settings file written upon compaction has exactly the same format as the one written by {@link XmlSettingsStorage}, so
+ * these storages can be switched between application launches without losing any settings.
+ *
+ * @author Mikle Garin
+ * @see <a href="https://github.com/mgarin/weblaf/wiki/How-to-use-SettingsManager">How to use SettingsManager</a>
+ * @see SettingsStorage
+ * @see SettingsManager
+ */
+public class JournaledSettingsStorage extends XmlSettingsStorage
+{
+    /**
+     * Journal record header.
+     */
+    private static final int MAGIC = 0x574C534A;
+
+    /**
+     * Journal record type for changed setting.
+     */
+    private static final byte PUT = 1;
+
+    /**
+     * Journal record type for changed setting with {@code null} value.
+     */
+    private static final byte PUT_NULL = 2;
+
+    /**
+     * Journal record type for removed setting.
+     */
+    private static final byte REMOVE = 3;
+
+    /**
+     * Journal files extension.
+     */
+    @NotNull
+    protected final String journalExtension;
+
+    /**
+     * Journal size in bytes upon reaching which journal is compacted into XML settings file.
+     */
+    protected final long compactionThreshold;
+
+    /**
+     * Journal files that couldn't be truncated after failed append and have to be compacted upon next write.
+     */
+    @NotNull
+    protected final Set<File> damagedJournals;
+
+    /**
+     * Constructs new {@link JournaledSettingsStorage}.
+     */
+    public JournaledSettingsStorage ()
+    {
+        this ( ".journal", 256 * 1024 );
+    }
+
+    /**
+     * Constructs new {@link JournaledSettingsStorage}.
+     *
+     * @param journalExtension    journal files extension
+     * @param compactionThreshold journal size in bytes upon reaching which journal is compacted into XML settings file
+     */
+    public JournaledSettingsStorage ( @NotNull final String journalExtension, final long compactionThreshold )
+    {
+        super ();
+        this.journalExtension = journalExtension;
+        this.compactionThreshold = compactionThreshold;
+        this.damagedJournals = new HashSet<File> ();
+    }
+
+    @Override
+    public boolean exists ( @NotNull final File file )
+    {
+        return super.exists ( file ) || getJournalFile ( file ).isFile ();
+    }
+
+    @NotNull
+    @Override
+    public synchronized SettingsGroup read ( @NotNull final String group, @NotNull final File file ) throws Exception
+    {
+        // Reading last compacted settings
+        final SettingsGroup settingsGroup = super.exists ( file ) ? readSnapshot ( file ) : new SettingsGroup ( group );
+
+        // Replaying journal over them and compacting it
+        final File journal = getJournalFile ( file );
+        if ( journal.isFile () )
+        {
+            final int replayed = replay ( settingsGroup, journal );
+            if ( replayed > 0 )
+            {
+                final String msg = "Settings group '%s' recovered %d changes from journal";
+                LoggerFactory.getLogger ( JournaledSettingsStorage.class ).info ( String.format ( msg, group, replayed ) );
+            }
+            try
+            {
+                compact ( settingsGroup, file );
+            }
+            catch ( final IOException e )
+            {
+                final String msg = "Unable to compact settings group '%s' journal, it will be kept until next compaction";
+                LoggerFactory.getLogger ( JournaledSettingsStorage.class ).error ( String.format ( msg, group ), e );
+            }
+        }
+        return settingsGroup;
+    }
+
+    @Override
+    public synchronized long write ( @NotNull final SettingsGroup settingsGroup, @NotNull final File file,
+                                     @Nullable final Collection<String> keys ) throws Exception
+    {
+        final long written;
+        final File journal = getJournalFile ( file );
+        if ( keys != null && journal.length () < compactionThreshold && !damagedJournals.contains ( journal ) )
+        {
+            written = append ( settingsGroup, journal, keys );
+        }
+        else
+        {
+            compact ( settingsGroup, file );
+            written = file.length ();
+        }
+        return written;
+    }
+
+    @Override
+    public synchronized void delete ( @NotNull final File file )
+    {
+        super.delete ( file );
+        FileUtils.deleteFile ( getJournalFile ( file ) );
+    }
+
+    /**
+     * Writes whole {@link SettingsGroup} into XML settings file and removes journal.
+     * Journal is only removed after XML settings file is written and synced to the storage device, so if application crashes
+     * in between it will simply be replayed again over settings already containing all of its changes. If XML settings file
+     * cannot be written exception is thrown and journal is kept.
+     *
+     * @param settingsGroup {@link SettingsGroup} to write
+     * @param file          XML settings file
+     * @throws IOException if XML settings file cannot be written
+     */
+    protected void compact ( @NotNull final SettingsGroup settingsGroup, @NotNull final File file ) throws IOException
+    {
+        writeSnapshot ( settingsGroup, file );
+        final File journal = getJournalFile ( file );
+        if ( journal.exists () )
+        {
+            FileUtils.deleteFile ( journal );
+        }
+        damagedJournals.remove ( journal );
+    }
+
+    /**
+     * Appends settings under the specified keys into journal and syncs it to the storage device.
+     * If records cannot be written, journal is truncated back to its previous length so that no partially written record is
+     * left in front of the records appended later.
+     *
+     * @param settingsGroup {@link SettingsGroup} to write settings from
+     * @param journal       journal file
+     * @param keys          keys of the changed settings
+     * @return amount of bytes appended
+     * @throws IOException if journal cannot be written
+     */
+    protected long append ( @NotNull final SettingsGroup settingsGroup, @NotNull final File journal,
+                            @NotNull final Collection<String> keys ) throws IOException
+    {
+        // Preparing records
+        final ByteArrayOutputStream records = new ByteArrayOutputStream ( 256 * keys.size () );
+        final DataOutputStream out = new DataOutputStream ( records );
+        for ( final String key : keys )
+        {
+            writeRecord ( out, settingsGroup, key );
+        }
+        out.flush ();
+
+        // Appending records
+        final RandomAccessFile output = new RandomAccessFile ( journal, "rw" );
+        try
+        {
+            final long length = output.length ();
+            try
+            {
+                output.seek ( length );
+                writeRecords ( output, records.toByteArray () );
+            }
+            catch ( final IOException e )
+            {
+                truncate ( output, journal, length );
+                throw e;
+            }
+        }
+        finally
+        {
+            output.close ();
+        }
+        return records.size ();
+    }
+
+    /**
+     * Writes prepared records at the current journal position and syncs journal to the storage device.
+     *
+     * @param journal journal file opened for writing
+     * @param records prepared records
+     * @throws IOException if records cannot be written
+     */
+    protected void writeRecords ( @NotNull final RandomAccessFile journal, @NotNull final byte[] records ) throws IOException
+    {
+        journal.write ( records );
+        journal.getFD ().sync ();
+    }
+
+    /**
+     * Truncates journal back to the specified length after failed append.
+     * If journal cannot be truncated it is marked as damaged and will be compacted upon next write.
+     *
+     * @param output  journal file opened for writing
+     * @param journal journal file
+     * @param length  journal length before failed append
+     */
+    private void truncate ( @NotNull final RandomAccessFile output, @NotNull final File journal, final long length )
+    {
+        try
+        {
+            output.setLength ( length );
+            output.getFD ().sync ();
+        }
+        catch ( final IOException e )
+        {
+            damagedJournals.add ( journal );
+            final String msg = "Unable to truncate settings journal '%s' after failed write, it will be compacted upon next write";
+            LoggerFactory.getLogger ( JournaledSettingsStorage.class ).error ( String.format ( msg, journal ), e );
+        }
+    }
+
+    /**
+     * Writes single journal record for the setting under the specified key.
+     *
+     * @param out           {@link DataOutputStream} to write record into
+     * @param settingsGroup {@link SettingsGroup} to write setting from
+     * @param key           setting key
+     * @throws IOException if record cannot be written
+     */
+    private void writeRecord ( @NotNull final DataOutputStream out, @NotNull final SettingsGroup settingsGroup,
+                               @NotNull final String key ) throws IOException
+    {
+        // Serializing record content
+        final ByteArrayOutputStream bytes = new ByteArrayOutputStream ( 256 );
+        final DataOutputStream content = new DataOutputStream ( bytes );
+        final byte[] keyBytes = key.getBytes ( "UTF-8" );
+        final Object value = settingsGroup.get ( key );
+        final byte type = value != null ? PUT : settingsGroup.settings ().containsKey ( key ) ? PUT_NULL : REMOVE;
+        content.writeByte ( type );
+        content.writeInt ( keyBytes.length );
+        content.write ( keyBytes );
+        if ( type == PUT )
+        {
+            final byte[] valueBytes = XmlUtils.toXML ( value ).getBytes ( "UTF-8" );
+            content.writeInt ( valueBytes.length );
+            content.write ( valueBytes );
+        }
+        content.flush ();
+
+        // Writing framed record
+        final byte[] data = bytes.toByteArray ();
+        final CRC32 crc = new CRC32 ();
+        crc.update ( data );
+        out.writeInt ( MAGIC );
+        out.writeInt ( data.length );
+        out.writeLong ( crc.getValue () );
+        out.write ( data );
+    }
+
+    /**
+     * Replays all complete journal records over the specified {@link SettingsGroup}.
+     *
+     * @param settingsGroup {@link SettingsGroup} to replay journal records over
+     * @param journal       journal file
+     * @return amount of replayed journal records
+     * @throws IOException if journal cannot be read
+     */
+    protected int replay ( @NotNull final SettingsGroup settingsGroup, @NotNull final File journal ) throws IOException
+    {
+        int replayed = 0;
+        final DataInputStream in = new DataInputStream ( new BufferedInputStream ( new FileInputStream ( journal ) ) );
+        try
+        {
+            long remaining = journal.length ();
+            while ( remaining > 0 )
+            {
+                // Reading record frame
+                final int headerSize = 16;
+                if ( remaining < headerSize || in.readInt () != MAGIC )
+                {
+                    logCorruptedTail ( settingsGroup, remaining );
+                    break;
+                }
+                final int length = in.readInt ();
+                final long checksum = in.readLong ();
+                if ( length < 0 || length > remaining - headerSize )
+                {
+                    logCorruptedTail ( settingsGroup, remaining );
+                    break;
+                }
+                final byte[] data = new byte[ length ];
+                in.readFully ( data );
+                final CRC32 crc = new CRC32 ();
+                crc.update ( data );
+                if ( crc.getValue () != checksum )
+                {
+                    logCorruptedTail ( settingsGroup, remaining );
+                    break;
+                }
+                remaining -= headerSize + length;
+
+                // Applying record
+                applyRecord ( settingsGroup, data );
+                replayed++;
+            }
+        }
+        finally
+        {
+            in.close ();
+        }
+        return replayed;
+    }
+
+    /**
+     * Applies single journal record to the specified {@link SettingsGroup}.
+     *
+     * @param settingsGroup {@link SettingsGroup} to apply journal record to
+     * @param data          journal record content
+     * @throws IOException if record content cannot be read
+     */
+    private void applyRecord ( @NotNull final SettingsGroup settingsGroup, @NotNull final byte[] data ) throws IOException
+    {
+        final DataInputStream content = new DataInputStream ( new ByteArrayInputStream ( data ) );
+        final byte type = content.readByte ();
+        final byte[] keyBytes = new byte[ content.readInt () ];
+        content.readFully ( keyBytes );
+        final String key = new String ( keyBytes, "UTF-8" );
+        if ( type == PUT )
+        {
+            final byte[] valueBytes = new byte[ content.readInt () ];
+            content.readFully ( valueBytes );
+            try
+            {
+                settingsGroup.put ( key, XmlUtils.fromXML ( new String ( valueBytes, "UTF-8" ) ) );
+            }
+            catch ( final Exception e )
+            {
+                final String msg = "Unable to load settings entry for group '%s' under key '%s' due to unexpected exception";
+                final String fmsg = String.format ( msg, settingsGroup.getName (), key );
+                LoggerFactory.getLogger ( JournaledSettingsStorage.class ).error ( fmsg, e );
+            }
+        }
+        else if ( type == PUT_NULL )
+        {
+            settingsGroup.put ( key, null );
+        }
+        else
+        {
+            settingsGroup.remove ( key );
+        }
+    }
+
+    /**
+     * Logs information about ignored journal tail.
+     *
+     * @param settingsGroup {@link SettingsGroup} journal is replayed for
+     * @param remaining     amount of ignored bytes
+     */
+    private void logCorruptedTail ( @NotNull final SettingsGroup settingsGroup, final long remaining )
+    {
+        final String msg = "Settings group '%s' journal has incomplete or corrupted tail, %d bytes ignored";
+        LoggerFactory.getLogger ( JournaledSettingsStorage.class ).warn ( String.format ( msg, settingsGroup.getName (), remaining ) );
+    }
+
+    /**
+     * Returns journal file for the specified settings file.
+     *
+     * @param file settings file
+     * @return journal file for the specified settings file
+     */
+    @NotNull
+    protected File getJournalFile ( @NotNull final File file )
+    {
+        return new File ( file.getParentFile (), file.getName () + journalExtension );
+    }
+}
\ No newline at end of file
@@ -22,11 +22,13 @@ import com.thoughtworks.xstream.annotations.XStreamAlias;
 import com.thoughtworks.xstream.annotations.XStreamConverter;
 
 import java.io.Serializable;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.Map;
 
 /**
  * Settings group data class.
+ * All settings modifications are synchronized, so {@link #snapshot()} can be safely taken from any thread.
  *
  * @author Mikle Garin
  * @see <a href="https://github.com/mgarin/weblaf/wiki/How-to-use-SettingsManager">How to use SettingsManager</a>
@@ -129,12 +131,26 @@ public class SettingsGroup implements Serializable
         this.name = name;
     }
 
+    /**
+     * Returns unmodifiable view of settings map.
+     * Settings can only be modified through {@link #put(String, Object)} and {@link #remove(String)} to keep them guarded by this
+     * {@link SettingsGroup} lock. View itself is not guarded, so use {@link #snapshot()} to iterate over settings that might be
+     * modified concurrently.
+     *
+     * @return unmodifiable view of settings map
+     */
+    public synchronized Map<String, Object> settings ()
+    {
+        return Collections.unmodifiableMap ( map () );
+    }
+
     /**
      * Returns settings map.
+     * It must only be used while holding this {@link SettingsGroup} lock.
      *
      * @return settings map
      */
-    public Map<String, Object> settings ()
+    private Map<String, Object> map ()
     {
         if ( settings == null )
         {
@@ -148,7 +164,7 @@ public class SettingsGroup implements Serializable
      *
      * @param settings new settings map
      */
-    public void setSettings ( final HashMap<String, Object> settings )
+    public synchronized void setSettings ( final HashMap<String, Object> settings )
     {
         this.settings = settings;
     }
@@ -160,9 +176,9 @@ public class SettingsGroup implements Serializable
      * @param <T> value type
      * @return value for specified key
      */
-    public <T> T get ( final String key )
+    public synchronized <T> T get ( final String key )
     {
-        return ( T ) settings ().get ( key );
+        return ( T ) map ().get ( key );
     }
 
     /**
@@ -172,9 +188,9 @@ public class SettingsGroup implements Serializable
      * @param <T> value type
      * @return settings previously saved under the specified key
      */
-    public <T> T remove ( final String key )
+    public synchronized <T> T remove ( final String key )
     {
-        return ( T ) settings ().remove ( key );
+        return ( T ) map ().remove ( key );
     }
 
     /**
@@ -185,8 +201,21 @@ public class SettingsGroup implements Serializable
      * @param <T>    value type
      * @return previous value for the specified key
      */
-    public <T> T put ( final String key, final T object )
+    public synchronized <T> T put ( final String key, final T object )
+    {
+        return ( T ) map ().put ( key, object );
+    }
+
+    /**
+     * Returns new {@link SettingsGroup} containing all the same settings.
+     * Only settings map is copied, settings values are shared with this {@link SettingsGroup}.
+     *
+     * @return new {@link SettingsGroup} containing all the same settings
+     */
+    public synchronized SettingsGroup snapshot ()
     {
-        return ( T ) settings ().put ( key, object );
+        final SettingsGroup snapshot = new SettingsGroup ( id, name );
+        snapshot.setSettings ( new HashMap<String, Object> ( map () ) );
+        return snapshot;
     }
 }
\ No newline at end of file
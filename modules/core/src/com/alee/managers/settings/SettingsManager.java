@@ -23,17 +23,17 @@ import com.alee.api.resource.FileResource;
 import com.alee.utils.CollectionUtils;
 import com.alee.utils.FileUtils;
 import com.alee.utils.XmlUtils;
-import com.alee.utils.swing.WebTimer;
 import org.slf4j.LoggerFactory;
 
-import java.awt.event.ActionEvent;
-import java.awt.event.ActionListener;
 import java.io.File;
 import java.io.Serializable;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * This manager allows you to quickly and easily save any serializable data into settings files using simple XML format.
@@ -102,7 +102,7 @@ public final class SettingsManager
     /**
      * Cached settings map.
      */
-    private static final Map<String, SettingsGroup> groups = new HashMap<String, SettingsGroup> ();
+    private static final Map<String, SettingsGroup> groups = new ConcurrentHashMap<String, SettingsGroup> ();
 
     /**
      * Cached files map.
@@ -119,26 +119,22 @@ public final class SettingsManager
      */
     private static boolean saveDefaultValues = true;
 
-    /**
-     * Save-on-change scheduler lock object.
-     */
-    private static final Object saveOnChangeLock = new Object ();
-
     /**
      * Save-on-change save delay in milliseconds.
-     * If larger than 0 then settings will be accumulated and saved all at once as soon as no new changes came within the delay time.
+     * If larger than 0 then settings will be accumulated and saved all at once by {@link SettingsWriter} on its own thread as soon as
+     * no new changes came within the delay time, otherwise settings will be saved right away on the thread that changed them.
      */
-    private static long saveOnChangeDelay = 500;
+    private static volatile long saveOnChangeDelay = 500;
 
     /**
-     * Save-on-change scheduler timer.
+     * {@link SettingsWriter} performing all save-on-change writes.
      */
-    private static WebTimer groupSaveScheduler = null;
+    private static final SettingsWriter writer = new SettingsWriter ();
 
     /**
-     * Delayed settings groups to save.
+     * {@link SettingsStorage} used to persist {@link SettingsGroup}s.
      */
-    private static final List<String> groupsToSaveOnChange = new ArrayList<String> ();
+    private static volatile SettingsStorage storage = new XmlSettingsStorage ();
 
     /**
      * Whether or not settings save logging is enabled.
@@ -149,7 +145,7 @@ public final class SettingsManager
      * Whether should allow saving settings into files or not.
      * If set to false settings will be available only in runtime and will be lost after application finishes working.
      */
-    private static boolean allowSave = true;
+    private static volatile boolean allowSave = true;
 
     /**
      * Whether {@link SettingsManager} is initialized or not.
@@ -345,7 +341,7 @@ public final class SettingsManager
         // Save group if needed
         if ( saveOnChange )
         {
-            delayedSaveSettingsGroup ( group );
+            saveChange ( group, key );
         }
 
         // Inform about changes
@@ -370,13 +366,14 @@ public final class SettingsManager
      */
     public static void resetGroup ( final String group )
     {
+        // Discarding pending writes
+        writer.discard ( group );
+
         // Removing group file if it exists
         final File dir = new File ( getGroupFilePath ( group ) );
         if ( dir.exists () && dir.isDirectory () )
         {
-            final File file = getGroupFile ( group, dir );
-            final File backupFile = getGroupBackupFile ( group, dir );
-            FileUtils.deleteFiles ( file, backupFile );
+            storage.delete ( getGroupFile ( group, dir ) );
         }
 
         // Resetting group if it was already loaded
@@ -420,7 +417,7 @@ public final class SettingsManager
         // Forcing settings group save in case value was reset
         if ( oldValue != null )
         {
-            saveSettingsGroup ( group );
+            saveChange ( group, key );
         }
 
         return oldValue;
@@ -465,7 +462,7 @@ public final class SettingsManager
             // todo Modify read logic so that;
             // todo 1. Backup reading occurs only if original file cannot be read
             // todo 2. Do not delete the settings that cannot be read right away, just move them aside with ".failed" extension mark
-            if ( file.exists () && file.isFile () || backupFile.exists () && backupFile.isFile () )
+            if ( storage.exists ( file ) || backupFile.exists () && backupFile.isFile () )
             {
                 // Check if there is a group backup file and restore it
                 boolean readFromBackup = false;
@@ -482,12 +479,12 @@ public final class SettingsManager
                 }
 
                 // Try reading SettingsGroup
-                if ( file.exists () && file.isFile () )
+                if ( storage.exists ( file ) )
                 {
                     try
                     {
                         // Read single SettingsGroup
-                        settingsGroup = XmlUtils.fromXML ( new FileResource ( file ) );
+                        settingsGroup = storage.read ( group, file );
 
                         // Saving settings group read state
                         groupState.put ( group, new SettingsGroupState ( readFromBackup ? ReadState.restored : ReadState.ok ) );
@@ -506,10 +503,15 @@ public final class SettingsManager
                         LoggerFactory.getLogger ( SettingsManager.class ).error ( String.format ( msg, group ), e );
 
                         // Delete incorrect SettingsGroup file
+                        // Storage might still have changes stored separately, for example in a journal, so it is not deleted yet
                         FileUtils.deleteFile ( file );
 
+                        // Recovering remaining settings
+                        settingsGroup = recoverSettingsGroup ( group, file );
+
                         // Saving settings group read state
-                        groupState.put ( group, new SettingsGroupState ( ReadState.failed, e ) );
+                        final ReadState readState = settingsGroup != null ? ReadState.restored : ReadState.failed;
+                        groupState.put ( group, new SettingsGroupState ( readState, e ) );
                     }
                 }
             }
@@ -541,6 +543,37 @@ public final class SettingsManager
         return settingsGroup;
     }
 
+    /**
+     * Returns {@link SettingsGroup} recovered from settings remaining in {@link SettingsStorage} after incorrect settings file
+     * was removed or {@code null} if nothing can be recovered. All remaining settings are deleted if recovery fails.
+     *
+     * @param group {@link SettingsGroup} name
+     * @param file  settings file
+     * @return {@link SettingsGroup} recovered from settings remaining in {@link SettingsStorage} or {@code null}
+     */
+    private static SettingsGroup recoverSettingsGroup ( final String group, final File file )
+    {
+        SettingsGroup settingsGroup = null;
+        if ( storage.exists ( file ) )
+        {
+            try
+            {
+                settingsGroup = storage.read ( group, file );
+
+                final String msg = "Settings group '%s' partially recovered";
+                LoggerFactory.getLogger ( SettingsManager.class ).info ( String.format ( msg, group ) );
+            }
+            catch ( final Exception e )
+            {
+                final String msg = "Unable to recover settings group '%s'";
+                LoggerFactory.getLogger ( SettingsManager.class ).error ( String.format ( msg, group ), e );
+
+                storage.delete ( file );
+            }
+        }
+        return settingsGroup;
+    }
+
     /**
      * Saves all {@link SettingsGroup}s and settings files.
      */
@@ -559,6 +592,58 @@ public final class SettingsManager
         }
     }
 
+    /**
+     * Queues save of all loaded {@link SettingsGroup}s into {@link SettingsWriter} and saves all settings files.
+     * Unlike {@link #saveSettings()} this method doesn't wait for {@link SettingsGroup}s to be written.
+     */
+    public static void saveSettingsLater ()
+    {
+        // Queueing all settings groups
+        for ( final String group : groups.keySet () )
+        {
+            writer.save ( group );
+        }
+
+        // Saving all settings files
+        for ( final Map.Entry<String, Object> entry : files.entrySet () )
+        {
+            saveSettings ( entry.getKey (), entry.getValue () );
+        }
+    }
+
+    /**
+     * Requests all pending save-on-change writes to be performed right away without waiting for them to finish.
+     *
+     * @see SettingsWriter#flush()
+     */
+    public static void flush ()
+    {
+        writer.flush ();
+    }
+
+    /**
+     * Requests all pending save-on-change writes to be performed right away and waits for them to finish.
+     *
+     * @param timeout maximum time to wait in milliseconds
+     * @return {@code true} if all changes made so far were persisted, {@code false} if timeout has elapsed or some writes have failed
+     * @see SettingsWriter#awaitPersisted(long)
+     */
+    public static boolean awaitPersisted ( final long timeout )
+    {
+        return writer.awaitPersisted ( timeout );
+    }
+
+    /**
+     * Returns {@link SettingsWriter} performing all save-on-change writes.
+     * It can be used to tune pending writes limit or to monitor writes statistics.
+     *
+     * @return {@link SettingsWriter} performing all save-on-change writes
+     */
+    public static SettingsWriter getWriter ()
+    {
+        return writer;
+    }
+
     /**
      * Saves {@link SettingsGroup} with the specified name.
      *
@@ -576,48 +661,40 @@ public final class SettingsManager
      */
     public static void saveSettingsGroup ( final SettingsGroup settingsGroup )
     {
+        saveSettingsGroup ( settingsGroup, null );
+    }
+
+    /**
+     * Saves loaded {@link SettingsGroup} with the specified name.
+     * This method is used by {@link SettingsWriter} to perform delayed writes.
+     *
+     * @param group name of the {@link SettingsGroup} to save
+     * @param keys  keys of the changed settings or {@code null} to save the whole {@link SettingsGroup}
+     * @return amount of bytes written or {@code -1} if nothing was written
+     * @throws Exception if {@link SettingsGroup} cannot be saved
+     */
+    static long writeSettingsGroup ( final String group, final Collection<String> keys ) throws Exception
+    {
+        final SettingsGroup settingsGroup = groups.get ( group );
+        return settingsGroup != null && allowSave ? writeSettingsGroup ( settingsGroup, keys ) : -1;
+    }
+
+    /**
+     * Saves specified {@link SettingsGroup}.
+     * {@link SettingsGroup} snapshot is saved instead of the {@link SettingsGroup} itself, so it can be modified meanwhile.
+     *
+     * @param settingsGroup {@link SettingsGroup} to save
+     * @param keys          keys of the changed settings or {@code null} to save the whole {@link SettingsGroup}
+     * @return amount of bytes written or {@code -1} if nothing was written
+     */
+    private static long saveSettingsGroup ( final SettingsGroup settingsGroup, final Collection<String> keys )
+    {
+        long written = -1;
         if ( allowSave )
         {
             try
             {
-                // Used values
-                final String group = settingsGroup.getName ();
-                final File dir = new File ( getGroupFilePath ( group ) );
-
-                // Ensure group settings directory exists and perform save
-                if ( FileUtils.ensureDirectoryExists ( dir ) )
-                {
-                    // Settings file
-                    final File file = getGroupFile ( group, dir );
-
-                    // Creating settings backup if there are old settings
-                    File backupFile = null;
-                    if ( file.exists () )
-                    {
-                        backupFile = getGroupBackupFile ( group, dir );
-                        FileUtils.copyFile ( file, backupFile );
-                    }
-
-                    // Saving settings
-                    XmlUtils.toXML ( settingsGroup, file );
-
-                    // Removing backup file if save was successful
-                    if ( backupFile != null && backupFile.exists () )
-                    {
-                        FileUtils.deleteFile ( backupFile );
-                    }
-
-                    if ( saveLoggingEnabled )
-                    {
-                        final String msg = "Settings group '%s' saved successfully";
-                        LoggerFactory.getLogger ( SettingsManager.class ).info ( String.format ( msg, group ) );
-                    }
-                }
-                else
-                {
-                    final String msg = "Cannot create settings directory: %s";
-                    throw new SettingsException ( String.format ( msg, dir.getAbsolutePath () ) );
-                }
+                written = writeSettingsGroup ( settingsGroup, keys );
             }
             catch ( final Exception e )
             {
@@ -625,6 +702,64 @@ public final class SettingsManager
                 LoggerFactory.getLogger ( SettingsManager.class ).error ( String.format ( msg, settingsGroup.getName () ), e );
             }
         }
+        return written;
+    }
+
+    /**
+     * Writes snapshot of the specified {@link SettingsGroup} into its settings file.
+     *
+     * @param settingsGroup {@link SettingsGroup} to write
+     * @param keys          keys of the changed settings or {@code null} to write the whole {@link SettingsGroup}
+     * @return amount of bytes written
+     * @throws Exception if {@link SettingsGroup} cannot be written
+     */
+    private static long writeSettingsGroup ( final SettingsGroup settingsGroup, final Collection<String> keys ) throws Exception
+    {
+        // Used values
+        final String group = settingsGroup.getName ();
+        final File dir = new File ( getGroupFilePath ( group ) );
+
+        // Ensure group settings directory exists and perform save
+        if ( FileUtils.ensureDirectoryExists ( dir ) )
+        {
+            // Saving settings
+            final long written = storage.write ( settingsGroup.snapshot (), getGroupFile ( group, dir ), keys );
+
+            if ( saveLoggingEnabled )
+            {
+                final String msg = "Settings group '%s' saved successfully";
+                LoggerFactory.getLogger ( SettingsManager.class ).info ( String.format ( msg, group ) );
+            }
+            return written;
+        }
+        else
+        {
+            final String msg = "Cannot create settings directory: %s";
+            throw new SettingsException ( String.format ( msg, dir.getAbsolutePath () ) );
+        }
+    }
+
+    /**
+     * Saves change of the setting under the specified key within {@link SettingsGroup} with the specified name.
+     * Change is either queued into {@link SettingsWriter} or saved right away according to {@link #getSaveOnChangeDelay()}.
+     *
+     * @param group name of the changed {@link SettingsGroup}
+     * @param key   key of the changed setting
+     */
+    private static void saveChange ( final String group, final String key )
+    {
+        if ( saveOnChangeDelay > 0 )
+        {
+            writer.save ( group, key );
+        }
+        else
+        {
+            final SettingsGroup settingsGroup = groups.get ( group );
+            if ( settingsGroup != null )
+            {
+                saveSettingsGroup ( settingsGroup, Collections.singleton ( key ) );
+            }
+        }
     }
 
     /**
@@ -651,62 +786,6 @@ public final class SettingsManager
         return new File ( dir, group + settingsFilesExtension + backupFilesExtension );
     }
 
-    /**
-     * Delays {@link SettingsGroup} save or performs it immediately according to {@link SettingsManager} configuration.
-     *
-     * @param group name of the {@link SettingsGroup} to save
-     */
-    private static void delayedSaveSettingsGroup ( final String group )
-    {
-        // Determining when we should save changes into file system
-        if ( saveOnChangeDelay > 0 )
-        {
-            // Delaying save
-            synchronized ( saveOnChangeLock )
-            {
-                // Adding group for delayed save
-                if ( !groupsToSaveOnChange.contains ( group ) )
-                {
-                    groupsToSaveOnChange.add ( group );
-                }
-
-                // Launching scheduler if it is not yet launched
-                if ( groupSaveScheduler == null || !groupSaveScheduler.isRunning () )
-                {
-                    if ( groupSaveScheduler == null )
-                    {
-                        groupSaveScheduler = new WebTimer ( "SettingsManager.groupSaveScheduler", saveOnChangeDelay, new ActionListener ()
-                        {
-                            @Override
-                            public void actionPerformed ( final ActionEvent e )
-                            {
-                                synchronized ( saveOnChangeLock )
-                                {
-                                    for ( final String group : groupsToSaveOnChange )
-                                    {
-                                        saveSettingsGroup ( group );
-                                    }
-                                    groupsToSaveOnChange.clear ();
-                                }
-                            }
-                        } );
-                        groupSaveScheduler.setRepeats ( false );
-                    }
-                    else
-                    {
-                        groupSaveScheduler.setDelay ( saveOnChangeDelay );
-                    }
-                    groupSaveScheduler.start ();
-                }
-            }
-        }
-        else
-        {
-            // Saving right away
-            saveSettingsGroup ( group );
-        }
-    }
-
     /**
      * Returns {@link SettingsGroupState} for the {@link SettingsGroup} with the specified name.
      *
@@ -992,6 +1071,29 @@ public final class SettingsManager
         }
     }
 
+    /**
+     * Returns {@link SettingsStorage} used to persist {@link SettingsGroup}s.
+     *
+     * @return {@link SettingsStorage} used to persist {@link SettingsGroup}s
+     */
+    public static SettingsStorage getStorage ()
+    {
+        return storage;
+    }
+
+    /**
+     * Sets {@link SettingsStorage} used to persist {@link SettingsGroup}s.
+     * It should be set before requesting any of the settings, preferably right at the application startup.
+     * By default {@link XmlSettingsStorage} is used, {@link JournaledSettingsStorage} can be used instead to avoid rewriting
+     * whole {@link SettingsGroup}s with large amount of settings on every change.
+     *
+     * @param storage {@link SettingsStorage} used to persist {@link SettingsGroup}s
+     */
+    public static void setStorage ( final SettingsStorage storage )
+    {
+        SettingsManager.storage = storage;
+    }
+
     /**
      * Returns whether should save settings right after any changes made or not.
      *
@@ -1045,6 +1147,7 @@ public final class SettingsManager
     /**
      * Sets save-on-change delay in milliseconds.
      * If larger than 0 then settings will be accumulated and saved all at once as soon as no new changes came within the delay time.
+     * Otherwise settings will be saved right away on the thread that changed them.
      *
      * @param saveOnChangeDelay new save-on-change delay in milliseconds
      */
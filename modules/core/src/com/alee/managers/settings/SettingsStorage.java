@@ -0,0 +1,76 @@
+/*
+ * This file is part of WebLookAndFeel library.
+ *
+ * WebLookAndFeel library is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * WebLookAndFeel library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with WebLookAndFeel library.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.alee.managers.settings;
+
+import com.alee.api.annotations.NotNull;
+import com.alee.api.annotations.Nullable;
+
+import java.io.File;
+import java.util.Collection;
+
+/**
+ * Storage backend used by {@link SettingsManager} to persist {@link SettingsGroup}s.
+ * Each {@link SettingsGroup} is stored under its settings file provided by {@link SettingsManager}, storage might also use
+ * additional files placed next to it. Storage implementations must be thread-safe.
+ *
+ * @author Mikle Garin
+ * @see <a href="https://github.com/mgarin/weblaf/wiki/How-to-use-SettingsManager">How to use SettingsManager</a>
+ * @see SettingsManager#setStorage(SettingsStorage)
+ * @see XmlSettingsStorage
+ * @see JournaledSettingsStorage
+ */
+public interface SettingsStorage
+{
+    /**
+     * Returns whether or not any settings are stored under the specified settings file.
+     *
+     * @param file settings file
+     * @return {@code true} if any settings are stored under the specified settings file, {@code false} otherwise
+     */
+    public boolean exists ( @NotNull File file );
+
+    /**
+     * Returns {@link SettingsGroup} read from the specified settings file.
+     *
+     * @param group {@link SettingsGroup} name
+     * @param file  settings file
+     * @return {@link SettingsGroup} read from the specified settings file
+     * @throws Exception if {@link SettingsGroup} cannot be read
+     */
+    @NotNull
+    public SettingsGroup read ( @NotNull String group, @NotNull File file ) throws Exception;
+
+    /**
+     * Writes {@link SettingsGroup} into the specified settings file.
+     * Storage might only write settings under the changed keys, but it can also write the whole {@link SettingsGroup} instead.
+     *
+     * @param settingsGroup {@link SettingsGroup} to write
+     * @param file          settings file
+     * @param keys          keys of the changed settings or {@code null} to write the whole {@link SettingsGroup}
+     * @return amount of bytes written
+     * @throws Exception if {@link SettingsGroup} cannot be written
+     */
+    public long write ( @NotNull SettingsGroup settingsGroup, @NotNull File file, @Nullable Collection<String> keys ) throws Exception;
+
+    /**
+     * Deletes all settings stored under the specified settings file.
+     *
+     * @param file settings file
+     */
+    public void delete ( @NotNull File file );
+}
\ No newline at end of file
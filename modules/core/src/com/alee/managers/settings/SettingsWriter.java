@@ -0,0 +1,586 @@
+/*
+ * This file is part of WebLookAndFeel library.
+ *
+ * WebLookAndFeel library is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * WebLookAndFeel library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with WebLookAndFeel library.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.alee.managers.settings;
+
+import com.alee.api.annotations.NotNull;
+import com.alee.api.annotations.Nullable;
+import com.alee.utils.concurrent.DaemonThreadFactory;
+import org.slf4j.LoggerFactory;
+
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Write-behind queue used by {@link SettingsManager} to persist changed {@link SettingsGroup}s.
+ *
+ * Changes are only registered on the caller thread, while {@link SettingsGroup} snapshots are taken, serialized and written
+ * by a single dedicated daemon thread. Changes are accumulated and written all at once as soon as no new changes came within
+ * {@link SettingsManager#getSaveOnChangeDelay()}, but no later than {@link #MAXIMUM_DELAY_FACTOR} times that delay after the
+ * first pending change. Repeated changes of the same setting are coalesced into a single write.
+ *
+ * Pending writes only store changed keys and never store values, since values are taken from {@link SettingsGroup} snapshot
+ * at the time of writing. Once amount of pending keys within a {@link SettingsGroup} exceeds {@link #getMaximumPendingKeys()}
+ * they are replaced with a single write of the whole {@link SettingsGroup}, so memory used by pending writes stays bounded.
+ *
+ * Failed writes stay pending and are retried no earlier than {@link #RETRY_DELAY} later, changes they contain are not counted
+ * as persisted until they are successfully written.
+ *
+ * @author Mikle Garin
+ * @see <a href="https://github.com/mgarin/weblaf/wiki/How-to-use-SettingsManager">How to use SettingsManager</a>
+ * @see SettingsManager#getWriter()
+ */
+public final class SettingsWriter
+{
+    /**
+     * Maximum write delay relative to {@link SettingsManager#getSaveOnChangeDelay()}.
+     * It ensures that constantly changing settings are still written from time to time.
+     */
+    public static final int MAXIMUM_DELAY_FACTOR = 10;
+
+    /**
+     * Minimum delay before failed writes are retried in milliseconds.
+     */
+    public static final long RETRY_DELAY = 1000;
+
+    /**
+     * Lock for all pending writes and statistics.
+     */
+    @NotNull
+    private final Object lock;
+
+    /**
+     * Single-threaded {@link ScheduledExecutorService} performing all writes.
+     */
+    @NotNull
+    private final ScheduledExecutorService executor;
+
+    /**
+     * Pending {@link SettingsGroup} names mapped to keys of the settings changed within them.
+     * {@code null} keys mean that whole {@link SettingsGroup} have to be written.
+     */
+    @NotNull
+    private final Map<String, Set<String>> pending;
+
+    /**
+     * Task performing pending writes.
+     */
+    @NotNull
+    private final Runnable writeTask;
+
+    /**
+     * Scheduled pending writes task or {@code null} if it is not scheduled.
+     */
+    @Nullable
+    private ScheduledFuture<?> scheduled;
+
+    /**
+     * Whether or not pending writes were requested to be performed right away.
+     */
+    private boolean flushRequested;
+
+    /**
+     * Maximum amount of pending keys within single {@link SettingsGroup}.
+     */
+    private int maximumPendingKeys;
+
+    /**
+     * Time of the first pending change in nanoseconds or {@code 0} if there are no pending changes.
+     */
+    private long firstChangeTime;
+
+    /**
+     * Time of the last pending change in nanoseconds.
+     */
+    private long lastChangeTime;
+
+    /**
+     * Total amount of registered changes.
+     */
+    private long changes;
+
+    /**
+     * Total amount of changes that were persisted.
+     */
+    private long persisted;
+
+    /**
+     * Total amount of performed {@link SettingsGroup} writes.
+     */
+    private long writes;
+
+    /**
+     * Total amount of failed {@link SettingsGroup} writes.
+     */
+    private long failedWrites;
+
+    /**
+     * Total amount of bytes written.
+     */
+    private long bytesWritten;
+
+    /**
+     * Total time spent on {@link SettingsGroup} writes in nanoseconds.
+     */
+    private long writeTime;
+
+    /**
+     * Time between the first change and its persistence within the last performed writes in nanoseconds.
+     */
+    private long lastSaveLatency;
+
+    /**
+     * Constructs new {@link SettingsWriter}.
+     */
+    SettingsWriter ()
+    {
+        this.lock = new Object ();
+        this.executor = Executors.newSingleThreadScheduledExecutor ( new DaemonThreadFactory ( "SettingsManager.writer" ) );
+        this.pending = new LinkedHashMap<String, Set<String>> ();
+        this.writeTask = new Runnable ()
+        {
+            @Override
+            public void run ()
+            {
+                writePending ();
+            }
+        };
+        this.maximumPendingKeys = 1000;
+
+        // Making sure pending writes are not lost on normal application exit
+        Runtime.getRuntime ().addShutdownHook ( new Thread ( "SettingsManager.writer.shutdown" )
+        {
+            @Override
+            public void run ()
+            {
+                awaitPersisted ( 5000 );
+            }
+        } );
+    }
+
+    /**
+     * Registers change of the setting under the specified key within {@link SettingsGroup} with the specified name.
+     *
+     * @param group {@link SettingsGroup} name
+     * @param key   key of the changed setting
+     */
+    public void save ( @NotNull final String group, @NotNull final String key )
+    {
+        synchronized ( lock )
+        {
+            if ( pending.containsKey ( group ) )
+            {
+                final Set<String> keys = pending.get ( group );
+                if ( keys != null )
+                {
+                    keys.add ( key );
+                    if ( keys.size () > maximumPendingKeys )
+                    {
+                        pending.put ( group, null );
+                    }
+                }
+            }
+            else
+            {
+                final Set<String> keys = new LinkedHashSet<String> ( 4 );
+                keys.add ( key );
+                pending.put ( group, keys );
+            }
+            changed ();
+        }
+    }
+
+    /**
+     * Registers change of the whole {@link SettingsGroup} with the specified name.
+     *
+     * @param group {@link SettingsGroup} name
+     */
+    public void save ( @NotNull final String group )
+    {
+        synchronized ( lock )
+        {
+            pending.put ( group, null );
+            changed ();
+        }
+    }
+
+    /**
+     * Discards all pending writes for {@link SettingsGroup} with the specified name.
+     *
+     * @param group {@link SettingsGroup} name
+     */
+    void discard ( @NotNull final String group )
+    {
+        synchronized ( lock )
+        {
+            pending.remove ( group );
+        }
+    }
+
+    /**
+     * Updates change statistics and schedules pending writes.
+     * Must be called under the {@link #lock}.
+     */
+    private void changed ()
+    {
+        final long time = System.nanoTime ();
+        if ( firstChangeTime == 0 )
+        {
+            firstChangeTime = time;
+        }
+        lastChangeTime = time;
+        changes++;
+        if ( scheduled == null )
+        {
+            schedule ( flushRequested ? 0 : getDelay () );
+        }
+    }
+
+    /**
+     * Requests all pending writes to be performed right away without waiting for them to finish.
+     */
+    public void flush ()
+    {
+        synchronized ( lock )
+        {
+            flushRequested = true;
+            if ( scheduled != null && scheduled.cancel ( false ) )
+            {
+                scheduled = null;
+            }
+            if ( scheduled == null )
+            {
+                schedule ( 0 );
+            }
+        }
+    }
+
+    /**
+     * Requests all pending writes to be performed right away and waits for all changes registered so far to be persisted.
+     * This method should not be called from {@link SettingsListener}s or any other code running on the writer thread.
+     *
+     * @param timeout maximum time to wait in milliseconds
+     * @return {@code true} if all changes registered so far were persisted, {@code false} if timeout has elapsed or some writes have failed
+     */
+    public boolean awaitPersisted ( final long timeout )
+    {
+        synchronized ( lock )
+        {
+            final long target = changes;
+            if ( persisted < target )
+            {
+                final long failed = failedWrites;
+                flush ();
+                final long deadline = System.nanoTime () + TimeUnit.MILLISECONDS.toNanos ( timeout );
+                while ( persisted < target )
+                {
+                    if ( failedWrites != failed )
+                    {
+                        return false;
+                    }
+                    final long remaining = TimeUnit.NANOSECONDS.toMillis ( deadline - System.nanoTime () );
+                    if ( remaining <= 0 )
+                    {
+                        return false;
+                    }
+                    try
+                    {
+                        lock.wait ( remaining );
+                    }
+                    catch ( final InterruptedException e )
+                    {
+                        Thread.currentThread ().interrupt ();
+                        return false;
+                    }
+                }
+            }
+            return true;
+        }
+    }
+
+    /**
+     * Schedules pending writes task.
+     * Must be called under the {@link #lock}.
+     *
+     * @param delay delay in milliseconds
+     */
+    private void schedule ( final long delay )
+    {
+        scheduled = executor.schedule ( writeTask, delay, TimeUnit.MILLISECONDS );
+    }
+
+    /**
+     * Returns current pending writes delay in milliseconds.
+     *
+     * @return current pending writes delay in milliseconds
+     */
+    private long getDelay ()
+    {
+        return Math.max ( 0, SettingsManager.getSaveOnChangeDelay () );
+    }
+
+    /**
+     * Performs all pending writes unless new changes were registered too recently.
+     * This method is only called on the writer thread.
+     */
+    private void writePending ()
+    {
+        // Collecting pending writes
+        final Map<String, Set<String>> batch;
+        final long target;
+        final long batchStart;
+        synchronized ( lock )
+        {
+            scheduled = null;
+            if ( !flushRequested )
+            {
+                // Postponing writes while new changes keep coming, but not longer than the maximum delay
+                final long delay = TimeUnit.MILLISECONDS.toNanos ( getDelay () );
+                final long time = System.nanoTime ();
+                final long idle = time - lastChangeTime;
+                if ( idle < delay && time - firstChangeTime < delay * MAXIMUM_DELAY_FACTOR )
+                {
+                    schedule ( TimeUnit.NANOSECONDS.toMillis ( delay - idle ) + 1 );
+                    return;
+                }
+            }
+            flushRequested = false;
+            batch = new LinkedHashMap<String, Set<String>> ( pending );
+            pending.clear ();
+            target = changes;
+            batchStart = firstChangeTime;
+            firstChangeTime = 0;
+        }
+
+        // Performing writes outside of the lock
+        final Map<String, Set<String>> failed = new LinkedHashMap<String, Set<String>> ( 0 );
+        long batchBytes = 0;
+        long batchTime = 0;
+        int batchWrites = 0;
+        for ( final Map.Entry<String, Set<String>> entry : batch.entrySet () )
+        {
+            try
+            {
+                final long start = System.nanoTime ();
+                final long written = SettingsManager.writeSettingsGroup ( entry.getKey (), entry.getValue () );
+                if ( written >= 0 )
+                {
+                    batchTime += System.nanoTime () - start;
+                    batchBytes += written;
+                    batchWrites++;
+                }
+            }
+            catch ( final Exception e )
+            {
+                // Writer thread must survive any unexpected exceptions
+                final String msg = "Unable to write settings group '%s' due to unexpected exception";
+                LoggerFactory.getLogger ( SettingsWriter.class ).error ( String.format ( msg, entry.getKey () ), e );
+                failed.put ( entry.getKey (), entry.getValue () );
+            }
+        }
+
+        // Updating statistics and waking up awaiting threads
+        synchronized ( lock )
+        {
+            writes += batchWrites;
+            bytesWritten += batchBytes;
+            writeTime += batchTime;
+            if ( failed.isEmpty () )
+            {
+                if ( batchStart != 0 )
+                {
+                    lastSaveLatency = System.nanoTime () - batchStart;
+                }
+                persisted = Math.max ( persisted, target );
+            }
+            else
+            {
+                // Keeping failed writes pending until they are successfully retried
+                failedWrites += failed.size ();
+                for ( final Map.Entry<String, Set<String>> entry : failed.entrySet () )
+                {
+                    restore ( entry.getKey (), entry.getValue () );
+                }
+                if ( batchStart != 0 )
+                {
+                    firstChangeTime = batchStart;
+                }
+                else if ( firstChangeTime == 0 )
+                {
+                    firstChangeTime = System.nanoTime ();
+                }
+                if ( scheduled == null )
+                {
+                    schedule ( Math.max ( RETRY_DELAY, getDelay () ) );
+                }
+            }
+            lock.notifyAll ();
+        }
+    }
+
+    /**
+     * Restores failed write of {@link SettingsGroup} with the specified name, merging it with writes registered meanwhile.
+     * Must be called under the {@link #lock}.
+     *
+     * @param group {@link SettingsGroup} name
+     * @param keys  keys of the changed settings or {@code null} to write the whole {@link SettingsGroup}
+     */
+    private void restore ( @NotNull final String group, @Nullable final Set<String> keys )
+    {
+        if ( pending.containsKey ( group ) )
+        {
+            final Set<String> newer = pending.get ( group );
+            if ( newer != null )
+            {
+                if ( keys != null && newer.size () + keys.size () <= maximumPendingKeys )
+                {
+                    newer.addAll ( keys );
+                }
+                else
+                {
+                    pending.put ( group, null );
+                }
+            }
+        }
+        else
+        {
+            pending.put ( group, keys );
+        }
+    }
+
+    /**
+     * Returns maximum amount of pending keys within single {@link SettingsGroup}.
+     *
+     * @return maximum amount of pending keys within single {@link SettingsGroup}
+     */
+    public int getMaximumPendingKeys ()
+    {
+        synchronized ( lock )
+        {
+            return maximumPendingKeys;
+        }
+    }
+
+    /**
+     * Sets maximum amount of pending keys within single {@link SettingsGroup}.
+     * Once it is exceeded whole {@link SettingsGroup} will be written instead.
+     *
+     * @param maximumPendingKeys maximum amount of pending keys within single {@link SettingsGroup}
+     */
+    public void setMaximumPendingKeys ( final int maximumPendingKeys )
+    {
+        if ( maximumPendingKeys <= 0 )
+        {
+            throw new IllegalArgumentException ( "Maximum pending keys must be positive: " + maximumPendingKeys );
+        }
+        synchronized ( lock )
+        {
+            this.maximumPendingKeys = maximumPendingKeys;
+        }
+    }
+
+    /**
+     * Returns current amount of pending writes.
+     * Each pending key counts as a separate write, pending write of the whole {@link SettingsGroup} counts as one.
+     *
+     * @return current amount of pending writes
+     */
+    public int getQueueDepth ()
+    {
+        synchronized ( lock )
+        {
+            int depth = 0;
+            for ( final Set<String> keys : pending.values () )
+            {
+                depth += keys != null ? keys.size () : 1;
+            }
+            return depth;
+        }
+    }
+
+    /**
+     * Returns total amount of performed {@link SettingsGroup} writes.
+     *
+     * @return total amount of performed {@link SettingsGroup} writes
+     */
+    public long getWritesCount ()
+    {
+        synchronized ( lock )
+        {
+            return writes;
+        }
+    }
+
+    /**
+     * Returns total amount of failed {@link SettingsGroup} writes.
+     * Failed writes are retried, so the same {@link SettingsGroup} might fail to be written multiple times.
+     *
+     * @return total amount of failed {@link SettingsGroup} writes
+     */
+    public long getFailedWritesCount ()
+    {
+        synchronized ( lock )
+        {
+            return failedWrites;
+        }
+    }
+
+    /**
+     * Returns total amount of bytes written.
+     *
+     * @return total amount of bytes written
+     */
+    public long getBytesWritten ()
+    {
+        synchronized ( lock )
+        {
+            return bytesWritten;
+        }
+    }
+
+    /**
+     * Returns average time of single {@link SettingsGroup} write in milliseconds.
+     *
+     * @return average time of single {@link SettingsGroup} write in milliseconds
+     */
+    public double getAverageWriteTime ()
+    {
+        synchronized ( lock )
+        {
+            return writes > 0 ? writeTime / 1000000.0 / writes : 0;
+        }
+    }
+
+    /**
+     * Returns time between the first change and its persistence within the last performed writes in milliseconds.
+     *
+     * @return time between the first change and its persistence within the last performed writes in milliseconds
+     */
+    public double getLastSaveLatency ()
+    {
+        synchronized ( lock )
+        {
+            return lastSaveLatency / 1000000.0;
+        }
+    }
+}
\ No newline at end of file
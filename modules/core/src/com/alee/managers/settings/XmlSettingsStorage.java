@@ -0,0 +1,166 @@
+/*
+ * This file is part of WebLookAndFeel library.
+ *
+ * WebLookAndFeel library is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * WebLookAndFeel library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with WebLookAndFeel library.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.alee.managers.settings;
+
+import com.alee.api.annotations.NotNull;
+import com.alee.api.annotations.Nullable;
+import com.alee.api.resource.FileResource;
+import com.alee.utils.FileUtils;
+import com.alee.utils.XmlUtils;
+
+import java.io.*;
+import java.util.Collection;
+
+/**
+ * Default {@link SettingsStorage} implementation that writes whole {@link SettingsGroup} into its XML settings file on every save.
+ * Settings are written into a temporary file first, which is synced to the storage device and only then replaces XML settings file,
+ * so XML settings file is never left partially written and any write failure is reported to the caller.
+ *
+ * @author Mikle Garin
+ * @see <a href="https://github.com/mgarin/weblaf/wiki/How-to-use-SettingsManager">How to use SettingsManager</a>
+ * @see SettingsStorage
+ * @see SettingsManager
+ */
+public class XmlSettingsStorage implements SettingsStorage
+{
+    @Override
+    public boolean exists ( @NotNull final File file )
+    {
+        return file.exists () && file.isFile ();
+    }
+
+    @NotNull
+    @Override
+    public SettingsGroup read ( @NotNull final String group, @NotNull final File file ) throws Exception
+    {
+        return readSnapshot ( file );
+    }
+
+    @Override
+    public synchronized long write ( @NotNull final SettingsGroup settingsGroup, @NotNull final File file,
+                                     @Nullable final Collection<String> keys ) throws Exception
+    {
+        writeSnapshot ( settingsGroup, file );
+        return file.length ();
+    }
+
+    @Override
+    public synchronized void delete ( @NotNull final File file )
+    {
+        FileUtils.deleteFiles ( file, getBackupFile ( file ), getTemporaryFile ( file ) );
+    }
+
+    /**
+     * Returns {@link SettingsGroup} read from the specified XML settings file.
+     *
+     * @param file XML settings file
+     * @return {@link SettingsGroup} read from the specified XML settings file
+     */
+    @NotNull
+    protected SettingsGroup readSnapshot ( @NotNull final File file )
+    {
+        return XmlUtils.fromXML ( new FileResource ( file ) );
+    }
+
+    /**
+     * Writes whole {@link SettingsGroup} into the specified XML settings file.
+     * Settings are written into temporary file which is synced to the storage device and then renamed into XML settings file.
+     * If existing XML settings file cannot be replaced directly it is moved into backup file first, so that it can still be
+     * restored by {@link SettingsManager} if application crashes in between.
+     *
+     * @param settingsGroup {@link SettingsGroup} to write
+     * @param file          XML settings file
+     * @throws IOException if XML settings file cannot be written
+     */
+    protected void writeSnapshot ( @NotNull final SettingsGroup settingsGroup, @NotNull final File file ) throws IOException
+    {
+        // Writing settings into temporary file
+        final File temporary = getTemporaryFile ( file );
+        boolean written = false;
+        try
+        {
+            final FileOutputStream output = new FileOutputStream ( temporary );
+            try
+            {
+                final Writer writer = new OutputStreamWriter ( output, "UTF-8" );
+                XmlUtils.toXML ( settingsGroup, writer );
+                writer.flush ();
+                output.getFD ().sync ();
+            }
+            finally
+            {
+                output.close ();
+            }
+            written = true;
+        }
+        finally
+        {
+            if ( !written )
+            {
+                temporary.delete ();
+            }
+        }
+
+        // Replacing XML settings file
+        if ( !temporary.renameTo ( file ) )
+        {
+            // Moving existing settings into backup file since some systems do not allow replacing files
+            final File backupFile = getBackupFile ( file );
+            if ( file.exists () )
+            {
+                FileUtils.deleteFile ( backupFile );
+                if ( !file.renameTo ( backupFile ) )
+                {
+                    temporary.delete ();
+                    throw new IOException ( "Unable to replace settings file: " + file );
+                }
+            }
+            if ( !temporary.renameTo ( file ) )
+            {
+                backupFile.renameTo ( file );
+                temporary.delete ();
+                throw new IOException ( "Unable to replace settings file: " + file );
+            }
+            FileUtils.deleteFile ( backupFile );
+        }
+    }
+
+    /**
+     * Returns temporary file used to write the specified settings file.
+     *
+     * @param file settings file
+     * @return temporary file used to write the specified settings file
+     */
+    @NotNull
+    protected File getTemporaryFile ( @NotNull final File file )
+    {
+        return new File ( file.getParentFile (), file.getName () + ".tmp" );
+    }
+
+    /**
+     * Returns backup file for the specified settings file.
+     *
+     * @param file settings file
+     * @return backup file for the specified settings file
+     */
+    @NotNull
+    protected File getBackupFile ( @NotNull final File file )
+    {
+        return new File ( file.getParentFile (), file.getName () + SettingsManager.getBackupFilesExtension () );
+    }
+}
\ No newline at end of file
@@ -22,10 +22,16 @@ import com.alee.api.annotations.Nullable;
 import com.alee.api.resource.Resource;
 import com.alee.managers.language.LM;
 import com.alee.managers.proxy.ProxyManager;
+import com.alee.managers.task.TaskManager;
 import com.alee.utils.compare.Filter;
+import com.alee.utils.file.DirectoryScanner;
 import com.alee.utils.file.FileComparator;
 import com.alee.utils.file.FileDescription;
 import com.alee.utils.file.FileDownloadListener;
+import com.alee.utils.file.FileMetadata;
+import com.alee.utils.file.FileMetadataCache;
+import com.alee.utils.file.FileWatch;
+import com.alee.utils.file.FileWatchService;
 import com.alee.utils.file.SystemFileListener;
 import com.alee.utils.filefilter.AbstractFileFilter;
 import com.alee.utils.filefilter.AllFilesFilter;
@@ -56,9 +62,9 @@ import java.util.concurrent.ConcurrentHashMap;
 /**
  * This class provides a set of utilities to work with files, file names and their extensions.
  * <p>
- * Note that methods which request information about files from the system has their own caches to improve performance.
- * If you will need to clear that cache simply call the corresponding clearCache method, for example:
- * For method "isHidden" you will need to call "clearIsHiddenCache" and all cached values will be reset.
+ * Note that methods which request information about files from the system share a bounded {@link FileMetadataCache} to improve
+ * performance. Directories can be watched through {@link #getMetadataCache()} to keep metadata of their files up-to-date,
+ * otherwise cached metadata have to be cleared manually using {@link #clearFileCaches(File)} or any other clearCache method.
  *
  * @author Mikle Garin
  */
@@ -130,59 +136,36 @@ public final class FileUtils
             ':', ';', '.', ',', '%', '$', '@', '#', '^', '{', '}', '[', ']', ']' };
 
     /**
-     * Cache for "isDrive" method result.
+     * {@link FileWatchService} used for tracking files.
      */
-    private static final Map<String, Boolean> isDriveCache = new ConcurrentHashMap<String, Boolean> ();
+    private static final FileWatchService watchService = new FileWatchService ( "FileUtils.watchService" );
 
     /**
-     * Cache for "isComputer" method result.
+     * Default maximum amount of cached {@link FileMetadata}.
      */
-    private static final Map<String, Boolean> isComputerCache = new ConcurrentHashMap<String, Boolean> ();
+    private static final int METADATA_CACHE_SIZE = 50000;
 
     /**
-     * Cache for "isCdDrive" method result.
+     * Delay between checks of directories watched by {@link FileMetadataCache}.
      */
-    private static final Map<String, Boolean> isCdDriveCache = new ConcurrentHashMap<String, Boolean> ();
+    private static final int METADATA_WATCH_DELAY = 2000;
 
     /**
-     * Cache for "isFile" method result.
+     * Cache for file metadata used by "isFile", "isDirectory", "isHidden", "isDrive", "isComputer", "isCdDrive",
+     * "getDisplayFileName", "getFileDescription", "getFileTypeDescription", "getDisplayFileCreationDate" and
+     * "getDisplayFileModificationDate" methods.
      */
-    private static final Map<String, Boolean> isFileCache = new ConcurrentHashMap<String, Boolean> ();
+    private static final FileMetadataCache metadataCache = new FileMetadataCache ( METADATA_CACHE_SIZE, watchService, METADATA_WATCH_DELAY );
 
     /**
-     * Cache for "isDirectory" method result.
+     * Default maximum amount of files resolved at once by {@link DirectoryScanner}.
      */
-    private static final Map<String, Boolean> isDirectoryCache = new ConcurrentHashMap<String, Boolean> ();
+    private static final int DIRECTORY_SCAN_BATCH_SIZE = 256;
 
     /**
-     * Cache for "isHidden" method result.
+     * {@link DirectoryScanner} used to scan directories asynchronously.
      */
-    private static final Map<String, Boolean> isHiddenCache = new ConcurrentHashMap<String, Boolean> ();
-
-    /**
-     * Cache for "getDisplayFileName" method result.
-     */
-    private static final Map<String, String> displayFileNameCache = new ConcurrentHashMap<String, String> ();
-
-    /**
-     * Cache for "getFileDescription" method result.
-     */
-    private static final Map<String, FileDescription> fileDescriptionCache = new ConcurrentHashMap<String, FileDescription> ();
-
-    /**
-     * Cache for "getFileTypeDescription" method result.
-     */
-    private static final Map<String, String> fileTypeDescriptionCache = new ConcurrentHashMap<String, String> ();
-
-    /**
-     * Cache for "getDisplayFileCreationDate" method result.
-     */
-    private static final Map<String, String> displayFileCreationDateCache = new ConcurrentHashMap<String, String> ();
-
-    /**
-     * Cache for "getDisplayFileModificationDate" method result.
-     */
-    private static final Map<String, String> displayFileModificationDateCache = new ConcurrentHashMap<String, String> ();
+    private static final DirectoryScanner directoryScanner = new DirectoryScanner ( TaskManager.FILE_SYSTEM, DIRECTORY_SCAN_BATCH_SIZE );
 
     /**
      * File extension icons cache lock.
@@ -290,6 +273,57 @@ public final class FileUtils
         }
     }
 
+    /**
+     * Clears all caches for the specified directory and files directly within it.
+     * Unlike {@link #clearFilesCaches(File...)} it doesn't require listing directory files.
+     *
+     * @param directory directory to process
+     */
+    public static void clearDirectoryCaches ( @Nullable final File directory )
+    {
+        if ( directory != null )
+        {
+            metadataCache.invalidateDirectory ( directory.getAbsolutePath () );
+        }
+    }
+
+    /**
+     * Returns {@link FileWatchService} used for tracking files.
+     * It can be used to watch files and directories directly with listeners informed on the service thread.
+     *
+     * @return {@link FileWatchService} used for tracking files
+     */
+    @NotNull
+    public static FileWatchService getWatchService ()
+    {
+        return watchService;
+    }
+
+    /**
+     * Returns {@link FileMetadataCache} used by this utility class.
+     * It can be used to watch directories for changes or to adjust cache size.
+     *
+     * @return {@link FileMetadataCache} used by this utility class
+     */
+    @NotNull
+    public static FileMetadataCache getMetadataCache ()
+    {
+        return metadataCache;
+    }
+
+    /**
+     * Returns {@link DirectoryScanner} used to scan directories asynchronously.
+     * It resolves directory files in parallel within {@link TaskManager#FILE_SYSTEM} group and shares metadata cache with this
+     * utility class.
+     *
+     * @return {@link DirectoryScanner} used to scan directories asynchronously
+     */
+    @NotNull
+    public static DirectoryScanner getDirectoryScanner ()
+    {
+        return directoryScanner;
+    }
+
     /**
      * Clears all caches for file under the specified path.
      *
@@ -297,17 +331,7 @@ public final class FileUtils
      */
     public static void clearFileCaches ( @NotNull final String path )
     {
-        clearDisplayFileNameCache ( path );
-        clearIsHiddenCache ( path );
-        clearIsFileCache ( path );
-        clearIsDirectoryCache ( path );
-        clearIsComputerCache ( path );
-        clearIsDriveCache ( path );
-        clearIsCdDriveCache ( path );
-        clearFileDescriptionCache ( path );
-        clearFileTypeDescriptionCache ( path );
-        clearDisplayFileCreationDateCache ( path );
-        clearDisplayFileModificationDateCache ( path );
+        metadataCache.invalidate ( path );
     }
 
     /**
@@ -2405,7 +2429,7 @@ public final class FileUtils
      */
     public static void clearIsDriveCache ()
     {
-        isDriveCache.clear ();
+        metadataCache.clear ();
     }
 
     /**
@@ -2415,7 +2439,7 @@ public final class FileUtils
      */
     public static void clearIsDriveCache ( @NotNull final String absolutePath )
     {
-        isDriveCache.remove ( absolutePath );
+        metadataCache.invalidate ( absolutePath );
     }
 
     /**
@@ -2427,18 +2451,19 @@ public final class FileUtils
     public static boolean isDrive ( @NotNull final File file )
     {
         final boolean isDrive;
-        final String absolutePath = file.getAbsolutePath ();
-        if ( isDriveCache.containsKey ( absolutePath ) )
+        final FileMetadata metadata = metadataCache.get ( file );
+        if ( metadata.exists () )
         {
-            isDrive = isDriveCache.get ( absolutePath );
-        }
-        else if ( file.exists () )
-        {
-            synchronized ( fsv )
+            Boolean value = metadata.getDrive ();
+            if ( value == null )
             {
-                isDrive = fsv.isDrive ( file );
+                synchronized ( fsv )
+                {
+                    value = fsv.isDrive ( file );
+                }
+                metadata.setDrive ( value );
             }
-            isDriveCache.put ( absolutePath, isDrive );
+            isDrive = value;
         }
         else
         {
@@ -2452,7 +2477,7 @@ public final class FileUtils
      */
     public static void clearIsComputerCache ()
     {
-        isComputerCache.clear ();
+        metadataCache.clear ();
     }
 
     /**
@@ -2462,7 +2487,7 @@ public final class FileUtils
      */
     public static void clearIsComputerCache ( @NotNull final String absolutePath )
     {
-        isComputerCache.remove ( absolutePath );
+        metadataCache.invalidate ( absolutePath );
     }
 
     /**
@@ -2474,18 +2499,19 @@ public final class FileUtils
     public static boolean isComputer ( @NotNull final File file )
     {
         final boolean isComputer;
-        final String absolutePath = file.getAbsolutePath ();
-        if ( isComputerCache.containsKey ( absolutePath ) )
+        final FileMetadata metadata = metadataCache.get ( file );
+        if ( metadata.exists () )
         {
-            isComputer = isComputerCache.get ( absolutePath );
-        }
-        else if ( file.exists () )
-        {
-            synchronized ( fsv )
+            Boolean value = metadata.getComputer ();
+            if ( value == null )
             {
-                isComputer = fsv.isComputerNode ( file );
+                synchronized ( fsv )
+                {
+                    value = fsv.isComputerNode ( file );
+                }
+                metadata.setComputer ( value );
             }
-            isComputerCache.put ( absolutePath, isComputer );
+            isComputer = value;
         }
         else
         {
@@ -2499,7 +2525,7 @@ public final class FileUtils
      */
     public static void clearIsCdDriveCache ()
     {
-        isCdDriveCache.clear ();
+        metadataCache.clear ();
     }
 
     /**
@@ -2509,7 +2535,7 @@ public final class FileUtils
      */
     public static void clearIsCdDriveCache ( @NotNull final String absolutePath )
     {
-        isCdDriveCache.remove ( absolutePath );
+        metadataCache.invalidate ( absolutePath );
     }
 
     /**
@@ -2523,33 +2549,34 @@ public final class FileUtils
     public static boolean isCdDrive ( @NotNull final File file )
     {
         final boolean isCdDrive;
-        final String absolutePath = file.getAbsolutePath ();
-        if ( isCdDriveCache.containsKey ( absolutePath ) )
-        {
-            isCdDrive = isCdDriveCache.get ( absolutePath );
-        }
-        else if ( file.exists () )
+        final FileMetadata metadata = metadataCache.get ( file );
+        if ( metadata.exists () )
         {
-            if ( file.getParent () == null )
+            Boolean value = metadata.getCdDrive ();
+            if ( value == null )
             {
-                final String sysDes = getFileTypeDescription ( file );
-                final String description;
-                if ( TextUtils.notEmpty ( sysDes ) )
+                if ( file.getParent () == null )
                 {
-                    description = sysDes.toLowerCase ( Locale.ROOT );
+                    final String sysDes = getFileTypeDescription ( file );
+                    final String description;
+                    if ( TextUtils.notEmpty ( sysDes ) )
+                    {
+                        description = sysDes.toLowerCase ( Locale.ROOT );
+                    }
+                    else
+                    {
+                        description = file.getName ();
+                    }
+                    value = description.contains ( "cd" ) || description.contains ( "dvd" ) || description.contains ( "blu-ray" ) ||
+                            description.contains ( "bluray" );
                 }
                 else
                 {
-                    description = file.getName ();
+                    value = false;
                 }
-                isCdDrive = description.contains ( "cd" ) || description.contains ( "dvd" ) || description.contains ( "blu-ray" ) ||
-                        description.contains ( "bluray" );
+                metadata.setCdDrive ( value );
             }
-            else
-            {
-                isCdDrive = false;
-            }
-            isCdDriveCache.put ( absolutePath, isCdDrive );
+            isCdDrive = value;
         }
         else
         {
@@ -2563,7 +2590,7 @@ public final class FileUtils
      */
     public static void clearIsFileCache ()
     {
-        isFileCache.clear ();
+        metadataCache.clear ();
     }
 
     /**
@@ -2573,7 +2600,7 @@ public final class FileUtils
      */
     public static void clearIsFileCache ( @NotNull final String absolutePath )
     {
-        isFileCache.remove ( absolutePath );
+        metadataCache.invalidate ( absolutePath );
     }
 
     /**
@@ -2584,21 +2611,7 @@ public final class FileUtils
      */
     public static boolean isFile ( @Nullable final File file )
     {
-        boolean isFile = false;
-        if ( file != null )
-        {
-            final String absolutePath = file.getAbsolutePath ();
-            if ( isFileCache.containsKey ( absolutePath ) )
-            {
-                isFile = isFileCache.get ( absolutePath );
-            }
-            else if ( file.exists () )
-            {
-                isFile = file.isFile ();
-                isFileCache.put ( absolutePath, isFile );
-            }
-        }
-        return isFile;
+        return file != null && metadataCache.get ( file ).isFile ();
     }
 
     /**
@@ -2606,7 +2619,7 @@ public final class FileUtils
      */
     public static void clearIsDirectoryCache ()
     {
-        isDirectoryCache.clear ();
+        metadataCache.clear ();
     }
 
     /**
@@ -2616,7 +2629,7 @@ public final class FileUtils
      */
     public static void clearIsDirectoryCache ( @NotNull final String absolutePath )
     {
-        isDirectoryCache.remove ( absolutePath );
+        metadataCache.invalidate ( absolutePath );
     }
 
     /**
@@ -2627,21 +2640,7 @@ public final class FileUtils
      */
     public static boolean isDirectory ( @Nullable final File file )
     {
-        boolean isDirectory = false;
-        if ( file != null )
-        {
-            final String absolutePath = file.getAbsolutePath ();
-            if ( isDirectoryCache.containsKey ( absolutePath ) )
-            {
-                isDirectory = isDirectoryCache.get ( absolutePath );
-            }
-            else if ( file.exists () )
-            {
-                isDirectory = file.isDirectory ();
-                isDirectoryCache.put ( absolutePath, isDirectory );
-            }
-        }
-        return isDirectory;
+        return file != null && metadataCache.get ( file ).isDirectory ();
     }
 
     /**
@@ -2649,7 +2648,7 @@ public final class FileUtils
      */
     public static void clearIsHiddenCache ()
     {
-        isHiddenCache.clear ();
+        metadataCache.clear ();
     }
 
     /**
@@ -2659,7 +2658,7 @@ public final class FileUtils
      */
     public static void clearIsHiddenCache ( @NotNull final String absolutePath )
     {
-        isHiddenCache.remove ( absolutePath );
+        metadataCache.invalidate ( absolutePath );
     }
 
     /**
@@ -2670,22 +2669,7 @@ public final class FileUtils
      */
     public static boolean isHidden ( @Nullable final File file )
     {
-        boolean isHidden = false;
-        if ( file != null )
-        {
-            final String absolutePath = file.getAbsolutePath ();
-            if ( isHiddenCache.containsKey ( absolutePath ) )
-            {
-                isHidden = isHiddenCache.get ( absolutePath );
-            }
-            else if ( file.exists () )
-            {
-                final File absoluteFile = file.getAbsoluteFile ();
-                isHidden = getParent ( absoluteFile ) != null && absoluteFile.isHidden ();
-                isHiddenCache.put ( absolutePath, isHidden );
-            }
-        }
-        return isHidden;
+        return file != null && metadataCache.get ( file ).isHidden ();
     }
 
     /**
@@ -2693,7 +2677,7 @@ public final class FileUtils
      */
     public static void clearFileDescriptionCache ()
     {
-        fileDescriptionCache.clear ();
+        metadataCache.clear ();
     }
 
     /**
@@ -2703,7 +2687,7 @@ public final class FileUtils
      */
     public static void clearFileDescriptionCache ( @NotNull final String absolutePath )
     {
-        fileDescriptionCache.remove ( absolutePath );
+        metadataCache.invalidate ( absolutePath );
     }
 
     /**
@@ -2716,15 +2700,16 @@ public final class FileUtils
     public static FileDescription getFileDescription ( @NotNull final File file, @Nullable final String fileSize )
     {
         final FileDescription fileDescription;
-        final String absolutePath = file.getAbsolutePath ();
-        if ( fileDescriptionCache.containsKey ( absolutePath ) )
+        final FileMetadata metadata = metadataCache.get ( file );
+        if ( metadata.exists () )
         {
-            fileDescription = fileDescriptionCache.get ( absolutePath );
-        }
-        else if ( file.exists () )
-        {
-            fileDescription = createFileDescription ( file, fileSize );
-            fileDescriptionCache.put ( absolutePath, fileDescription );
+            FileDescription value = metadata.getDescription ();
+            if ( value == null )
+            {
+                value = createFileDescription ( file, fileSize );
+                metadata.setDescription ( value );
+            }
+            fileDescription = value;
         }
         else
         {
@@ -2763,7 +2748,7 @@ public final class FileUtils
      */
     public static void clearDisplayFileNameCache ()
     {
-        displayFileNameCache.clear ();
+        metadataCache.clear ();
     }
 
     /**
@@ -2773,7 +2758,7 @@ public final class FileUtils
      */
     public static void clearDisplayFileNameCache ( @NotNull final String absolutePath )
     {
-        displayFileNameCache.remove ( absolutePath );
+        metadataCache.invalidate ( absolutePath );
     }
 
     /**
@@ -2785,28 +2770,24 @@ public final class FileUtils
     @NotNull
     public static String getDisplayFileName ( @NotNull final File file )
     {
-        String name;
-        final String absolutePath = file.getAbsolutePath ();
-        if ( displayFileNameCache.containsKey ( absolutePath ) )
+        final String name;
+        final FileMetadata metadata = metadataCache.get ( file );
+        if ( metadata.exists () )
         {
-            name = displayFileNameCache.get ( absolutePath );
-        }
-        else if ( file.exists () )
-        {
-            synchronized ( fsv )
-            {
-                name = fsv.getSystemDisplayName ( file );
-            }
-            if ( TextUtils.isBlank ( name ) )
+            String value = metadata.getDisplayName ();
+            if ( value == null )
             {
-                name = getFileTypeDescription ( file );
+                synchronized ( fsv )
+                {
+                    value = fsv.getSystemDisplayName ( file );
+                }
+                if ( TextUtils.isBlank ( value ) )
+                {
+                    value = getFileTypeDescription ( file );
+                }
+                metadata.setDisplayName ( value );
             }
-            displayFileNameCache.put ( absolutePath, name );
-        }
-        else if ( !file.exists () )
-        {
-            displayFileNameCache.put ( absolutePath, file.getName () );
-            name = file.getName ();
+            name = value;
         }
         else
         {
@@ -2820,7 +2801,7 @@ public final class FileUtils
      */
     public static void clearDisplayFileCreationDateCache ()
     {
-        displayFileCreationDateCache.clear ();
+        metadataCache.clear ();
     }
 
     /**
@@ -2830,7 +2811,7 @@ public final class FileUtils
      */
     public static void clearDisplayFileCreationDateCache ( @NotNull final String absolutePath )
     {
-        displayFileCreationDateCache.remove ( absolutePath );
+        metadataCache.invalidate ( absolutePath );
     }
 
     /**
@@ -2843,15 +2824,16 @@ public final class FileUtils
     public static String getDisplayFileCreationDate ( @NotNull final File file )
     {
         final String date;
-        final String absolutePath = file.getAbsolutePath ();
-        if ( displayFileCreationDateCache.containsKey ( absolutePath ) )
-        {
-            date = displayFileCreationDateCache.get ( absolutePath );
-        }
-        else if ( file.exists () )
+        final FileMetadata metadata = metadataCache.get ( file );
+        if ( metadata.exists () )
         {
-            date = sdf.format ( new Date ( file.lastModified () ) );
-            displayFileCreationDateCache.put ( absolutePath, date );
+            String value = metadata.getDisplayDate ();
+            if ( value == null )
+            {
+                value = sdf.format ( new Date ( metadata.getLastModified () ) );
+                metadata.setDisplayDate ( value );
+            }
+            date = value;
         }
         else
         {
@@ -2865,7 +2847,7 @@ public final class FileUtils
      */
     public static void clearDisplayFileModificationDateCache ()
     {
-        displayFileModificationDateCache.clear ();
+        metadataCache.clear ();
     }
 
     /**
@@ -2875,7 +2857,7 @@ public final class FileUtils
      */
     public static void clearDisplayFileModificationDateCache ( @NotNull final String absolutePath )
     {
-        displayFileModificationDateCache.remove ( absolutePath );
+        metadataCache.invalidate ( absolutePath );
     }
 
     /**
@@ -2888,15 +2870,16 @@ public final class FileUtils
     public static String getDisplayFileModificationDate ( @NotNull final File file )
     {
         final String date;
-        final String absolutePath = file.getAbsolutePath ();
-        if ( displayFileModificationDateCache.containsKey ( absolutePath ) )
+        final FileMetadata metadata = metadataCache.get ( file );
+        if ( metadata.exists () )
         {
-            date = displayFileModificationDateCache.get ( absolutePath );
-        }
-        else if ( file.exists () )
-        {
-            date = sdf.format ( new Date ( file.lastModified () ) );
-            displayFileModificationDateCache.put ( absolutePath, date );
+            String value = metadata.getDisplayDate ();
+            if ( value == null )
+            {
+                value = sdf.format ( new Date ( metadata.getLastModified () ) );
+                metadata.setDisplayDate ( value );
+            }
+            date = value;
         }
         else
         {
@@ -2910,7 +2893,7 @@ public final class FileUtils
      */
     public static void clearFileTypeDescriptionCache ()
     {
-        fileTypeDescriptionCache.clear ();
+        metadataCache.clear ();
     }
 
     /**
@@ -2920,7 +2903,7 @@ public final class FileUtils
      */
     public static void clearFileTypeDescriptionCache ( @NotNull final String absolutePath )
     {
-        fileTypeDescriptionCache.remove ( absolutePath );
+        metadataCache.invalidate ( absolutePath );
     }
 
     /**
@@ -2935,22 +2918,22 @@ public final class FileUtils
         String description = "";
         if ( file != null )
         {
-            final String absolutePath = file.getAbsolutePath ();
-            if ( fileTypeDescriptionCache.containsKey ( absolutePath ) )
-            {
-                description = fileTypeDescriptionCache.get ( absolutePath );
-            }
-            else if ( file.exists () )
+            final FileMetadata metadata = metadataCache.get ( file );
+            if ( metadata.exists () )
             {
-                synchronized ( fsv )
-                {
-                    description = fsv.getSystemTypeDescription ( file );
-                }
+                description = metadata.getTypeDescription ();
                 if ( description == null )
                 {
-                    description = "";
+                    synchronized ( fsv )
+                    {
+                        description = fsv.getSystemTypeDescription ( file );
+                    }
+                    if ( description == null )
+                    {
+                        description = "";
+                    }
+                    metadata.setTypeDescription ( description );
                 }
-                fileTypeDescriptionCache.put ( absolutePath, absolutePath );
             }
         }
         return description;
@@ -3226,8 +3209,10 @@ public final class FileUtils
      * @param file     file to track
      * @param listener system file listener
      * @return tracking timer
+     * @deprecated use {@link #watchFile(File, SystemFileListener)} instead, it checks all watched files on a single thread
      */
     @NotNull
+    @Deprecated
     public static WebTimer trackFile ( @NotNull final File file, @NotNull final SystemFileListener listener )
     {
         return trackFile ( file, listener, FILE_TRACKING_DELAY );
@@ -3240,8 +3225,10 @@ public final class FileUtils
      * @param listener system file listener
      * @param delay    delay between checks for changes
      * @return tracking timer
+     * @deprecated use {@link #watchFile(File, SystemFileListener, long)} instead, it checks all watched files on a single thread
      */
     @NotNull
+    @Deprecated
     public static WebTimer trackFile ( @NotNull final File file, @NotNull final SystemFileListener listener, final long delay )
     {
         final WebTimer tracker = new WebTimer ( "File tracker - " + file.getName (), delay, 0 );
@@ -3271,4 +3258,60 @@ public final class FileUtils
         tracker.setUseDaemonThread ( true );
         return tracker;
     }
+
+    /**
+     * Starts watching file for possible changes using {@link #getWatchService()}.
+     * {@link SystemFileListener} is informed on the Event Dispatch Thread and only about changes of the specified file itself.
+     *
+     * @param file     file to watch
+     * @param listener system file listener
+     * @return {@link FileWatch} that can be used to stop watching
+     */
+    @NotNull
+    public static FileWatch watchFile ( @NotNull final File file, @NotNull final SystemFileListener listener )
+    {
+        return watchFile ( file, listener, FILE_TRACKING_DELAY );
+    }
+
+    /**
+     * Starts watching file for possible changes using {@link #getWatchService()}.
+     * {@link SystemFileListener} is informed on the Event Dispatch Thread and only about changes of the specified file itself.
+     *
+     * @param file     file to watch
+     * @param listener system file listener
+     * @param delay    delay between checks for changes
+     * @return {@link FileWatch} that can be used to stop watching
+     */
+    @NotNull
+    public static FileWatch watchFile ( @NotNull final File file, @NotNull final SystemFileListener listener, final long delay )
+    {
+        return watchService.watch ( file, new SystemFileListener ()
+        {
+            @Override
+            public void modified ( @NotNull final File modified )
+            {
+                CoreSwingUtils.invokeLater ( new Runnable ()
+                {
+                    @Override
+                    public void run ()
+                    {
+                        listener.modified ( modified );
+                    }
+                } );
+            }
+
+            @Override
+            public void unbound ( @NotNull final File unbound )
+            {
+                CoreSwingUtils.invokeLater ( new Runnable ()
+                {
+                    @Override
+                    public void run ()
+                    {
+                        listener.unbound ( unbound );
+                    }
+                } );
+            }
+        }, delay );
+    }
 }
\ No newline at end of file
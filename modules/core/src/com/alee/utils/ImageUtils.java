@@ -23,6 +23,8 @@ import com.alee.api.resource.Resource;
 import com.alee.api.ui.DisabledCopySupplier;
 import com.alee.api.ui.TransparentCopySupplier;
 import com.alee.graphics.filters.ShadowFilter;
+import com.alee.graphics.image.IconRasterCache;
+import com.alee.graphics.image.RasterCopyIcon;
 import com.alee.utils.collection.ImmutableList;
 import com.mortennobel.imagescaling.ResampleOp;
 import org.slf4j.LoggerFactory;
@@ -561,6 +563,21 @@ public final class ImageUtils
         return disabledCopy;
     }
 
+    /**
+     * Returns {@link Icon} that paints copy of the specified {@link Icon} made look disabled.
+     * Unlike {@link #getDisabledCopy(Icon)} it doesn't create a snapshot for {@link Icon}s that are not {@link DisabledCopySupplier}s,
+     * it returns new {@link RasterCopyIcon} instead that creates its raster for the device scale upon painting and shares it with
+     * other copies of the same {@link Icon} through {@link IconRasterCache}.
+     *
+     * @param icon {@link Icon} to retrieve disabled copy for
+     * @return {@link Icon} that paints copy of the specified {@link Icon} made look disabled
+     */
+    @NotNull
+    public static Icon getDisabledRasterCopy ( @NotNull final Icon icon )
+    {
+        return icon instanceof DisabledCopySupplier ? getDisabledCopy ( icon ) : RasterCopyIcon.disabled ( icon );
+    }
+
     /**
      * Returns {@link BufferedImage} that is copy of the specified {@link Image} made look disabled.
      *
@@ -672,6 +689,22 @@ public final class ImageUtils
         return transparentCopy;
     }
 
+    /**
+     * Returns {@link Icon} that paints copy of the specified {@link Icon} made semi-transparent.
+     * Unlike {@link #getTransparentCopy(Icon, float)} it doesn't create a snapshot for {@link Icon}s that are not
+     * {@link TransparentCopySupplier}s, it returns new {@link RasterCopyIcon} instead that creates its raster for the device scale
+     * upon painting and shares it with other copies of the same {@link Icon} through {@link IconRasterCache}.
+     *
+     * @param icon    {@link Icon} to retrieve semi-transparent copy for
+     * @param opacity opacity value, must be between 0 and 1
+     * @return {@link Icon} that paints copy of the specified {@link Icon} made semi-transparent
+     */
+    @NotNull
+    public static Icon getTransparentRasterCopy ( @NotNull final Icon icon, final float opacity )
+    {
+        return icon instanceof TransparentCopySupplier ? getTransparentCopy ( icon, opacity ) : RasterCopyIcon.transparent ( icon, opacity );
+    }
+
     /**
      * Returns {@link BufferedImage} that is copy of the specified {@link Image} made semi-transparent.
      *
@@ -22,11 +22,15 @@ import com.alee.api.annotations.Nullable;
 import com.alee.utils.collection.ImmutableList;
 import com.alee.utils.reflection.FieldHelper;
 import com.alee.utils.reflection.ModifierType;
+import com.alee.utils.reflection.PropertySetter;
 import com.alee.utils.reflection.ReflectionException;
+import com.alee.utils.reflection.SetterHelper;
 import org.slf4j.LoggerFactory;
 
 import java.lang.reflect.*;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 /**
  * This class provides a set of utilities to simplify work with Reflection API.
@@ -50,13 +54,27 @@ public final class ReflectUtils
 
     /**
      * Fields lookup cache.
+     * Lookup caches are concurrent since reflection might be used from multiple threads at once, for instance by plugins initialization.
      */
-    private static final Map<Class, Map<String, Field>> fieldsLookupCache = new HashMap<Class, Map<String, Field>> ();
+    private static final ConcurrentMap<Class, Map<String, Field>> fieldsLookupCache = new ConcurrentHashMap<Class, Map<String, Field>> ();
 
     /**
      * Methods lookup cache.
      */
-    private static final Map<Class, Map<String, Method>> methodsLookupCache = new HashMap<Class, Map<String, Method>> ();
+    private static final ConcurrentMap<Class, Map<String, Method>> methodsLookupCache =
+            new ConcurrentHashMap<Class, Map<String, Method>> ();
+
+    /**
+     * Property setters lookup cache.
+     */
+    private static final ConcurrentMap<Class<?>, ConcurrentMap<String, Map<Class<?>, PropertySetter>>> settersLookupCache =
+            new ConcurrentHashMap<Class<?>, ConcurrentMap<String, Map<Class<?>, PropertySetter>>> ();
+
+    /**
+     * Value type key used in {@link #settersLookupCache} for {@code null} values.
+     * {@link Void} is used since there can be no actual values of that type.
+     */
+    private static final Class<?> NULL_VALUE_TYPE = Void.class;
 
     /**
      * Private constructor to avoid instantiation.
@@ -666,8 +684,12 @@ public final class ReflectUtils
         }
         else
         {
-            classFieldsCache = new HashMap<String, Field> ( 1 );
-            fieldsLookupCache.put ( classType, classFieldsCache );
+            classFieldsCache = new ConcurrentHashMap<String, Field> ( 1 );
+            final Map<String, Field> existing = fieldsLookupCache.putIfAbsent ( classType, classFieldsCache );
+            if ( existing != null )
+            {
+                classFieldsCache = existing;
+            }
         }
 
         // Updating cache
@@ -1635,6 +1657,69 @@ public final class ReflectUtils
         return ( T ) method.invoke ( object, arguments );
     }
 
+    /**
+     * Returns {@link PropertySetter} for the specified class property.
+     * Setter method accepting specified value type is used if it exists, otherwise property field is used directly.
+     * Resolved {@link PropertySetter} is cached per class, property name and value type, so each value type is resolved to the
+     * same setter method overload that would be chosen for it by a direct {@link #getMethod(Class, String, Object...)} lookup.
+     *
+     * @param aClass    object class
+     * @param property  property name
+     * @param valueType property value type, {@code null} for {@code null} value
+     * @return {@link PropertySetter} for the specified class property
+     * @throws NoSuchFieldException if neither setter method nor field were found
+     */
+    @NotNull
+    public static PropertySetter getPropertySetter ( @NotNull final Class aClass, @NotNull final String property,
+                                                     @Nullable final Class valueType ) throws NoSuchFieldException
+    {
+        // Retrieving class cache
+        ConcurrentMap<String, Map<Class<?>, PropertySetter>> classSettersCache = settersLookupCache.get ( aClass );
+        if ( classSettersCache == null )
+        {
+            classSettersCache = new ConcurrentHashMap<String, Map<Class<?>, PropertySetter>> ( 4 );
+            final ConcurrentMap<String, Map<Class<?>, PropertySetter>> existing =
+                    settersLookupCache.putIfAbsent ( aClass, classSettersCache );
+            if ( existing != null )
+            {
+                classSettersCache = existing;
+            }
+        }
+
+        // Retrieving property cache
+        Map<Class<?>, PropertySetter> propertySettersCache = classSettersCache.get ( property );
+        if ( propertySettersCache == null )
+        {
+            propertySettersCache = new ConcurrentHashMap<Class<?>, PropertySetter> ( 1 );
+            final Map<Class<?>, PropertySetter> existing = classSettersCache.putIfAbsent ( property, propertySettersCache );
+            if ( existing != null )
+            {
+                propertySettersCache = existing;
+            }
+        }
+
+        // Checking cache
+        final Class<?> typeKey = valueType != null ? valueType : NULL_VALUE_TYPE;
+        PropertySetter setter = propertySettersCache.get ( typeKey );
+        if ( setter == null )
+        {
+            try
+            {
+                // Trying to find setter method first
+                final Method method = getMethodImpl ( aClass, aClass, getSetterMethodName ( property ), new Class[]{ valueType } );
+                setter = SetterHelper.createSetter ( method );
+            }
+            catch ( final NoSuchMethodException e )
+            {
+                // Using field directly
+                setter = SetterHelper.createSetter ( getField ( aClass, property ) );
+            }
+            propertySettersCache.put ( typeKey, setter );
+        }
+
+        return setter;
+    }
+
     /**
      * Returns field getter method by popular method naming pattern.
      * Basically those are "getFieldName"-like and "isFieldName"-like method names.
@@ -1832,8 +1917,12 @@ public final class ReflectUtils
         }
         else
         {
-            classMethodsCache = new HashMap<String, Method> ( 1 );
-            methodsLookupCache.put ( aClass, classMethodsCache );
+            classMethodsCache = new ConcurrentHashMap<String, Method> ( 1 );
+            final Map<String, Method> existing = methodsLookupCache.putIfAbsent ( aClass, classMethodsCache );
+            if ( existing != null )
+            {
+                classMethodsCache = existing;
+            }
         }
 
         // Updating cache
@@ -0,0 +1,462 @@
+/*
+ * This file is part of WebLookAndFeel library.
+ *
+ * WebLookAndFeel library is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * WebLookAndFeel library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with WebLookAndFeel library.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.alee.utils.file;
+
+import com.alee.api.annotations.NotNull;
+import com.alee.api.annotations.Nullable;
+import com.alee.managers.task.TaskManager;
+import com.alee.utils.FileUtils;
+
+import java.io.File;
+import java.io.FileFilter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Future;
+
+/**
+ * Single directory scan started by {@link DirectoryScanner}.
+ * It stays in progress until all directory files are provided to {@link DirectoryScanListener}, until it fails or is cancelled.
+ *
+ * @author Mikle Garin
+ * @see DirectoryScanner#scan(File, FileFilter, boolean, DirectoryScanListener)
+ */
+public final class DirectoryScan
+{
+    /**
+     * {@link DirectoryScanner} this scan belongs to.
+     */
+    @NotNull
+    private final DirectoryScanner scanner;
+
+    /**
+     * Scanned directory.
+     */
+    @NotNull
+    private final File directory;
+
+    /**
+     * {@link FileFilter} for directory files, {@code null} if all files are accepted.
+     */
+    @Nullable
+    private final FileFilter filter;
+
+    /**
+     * Whether or not display names and icons of accepted files should also be resolved.
+     */
+    private final boolean details;
+
+    /**
+     * {@link DirectoryScanListener} informed about scan progress.
+     */
+    @NotNull
+    private final DirectoryScanListener listener;
+
+    /**
+     * {@link Future}s of submitted scan tasks.
+     */
+    @NotNull
+    private final List<Future<?>> futures;
+
+    /**
+     * Lock for resolved batches delivery.
+     */
+    @NotNull
+    private final Object lock;
+
+    /**
+     * Resolved batches awaiting delivery, {@code null} until directory is listed.
+     */
+    @Nullable
+    private List<File>[] batches;
+
+    /**
+     * Index of the next batch to deliver.
+     */
+    private int next;
+
+    /**
+     * Whether or not some thread is delivering resolved batches at the moment.
+     */
+    private boolean delivering;
+
+    /**
+     * Exception this scan failed with awaiting delivery, {@code null} if scan didn't fail.
+     */
+    @Nullable
+    private Throwable failure;
+
+    /**
+     * Whether or not this scan has finished.
+     */
+    private volatile boolean done;
+
+    /**
+     * Whether or not this scan was cancelled.
+     */
+    private volatile boolean cancelled;
+
+    /**
+     * Constructs new {@link DirectoryScan}.
+     *
+     * @param scanner   {@link DirectoryScanner} this scan belongs to
+     * @param directory scanned directory
+     * @param filter    {@link FileFilter} for directory files, {@code null} to accept all files
+     * @param details   whether or not display names and icons of accepted files should also be resolved
+     * @param listener  {@link DirectoryScanListener} informed about scan progress
+     */
+    DirectoryScan ( @NotNull final DirectoryScanner scanner, @NotNull final File directory, @Nullable final FileFilter filter,
+                    final boolean details, @NotNull final DirectoryScanListener listener )
+    {
+        this.scanner = scanner;
+        this.directory = directory;
+        this.filter = filter;
+        this.details = details;
+        this.listener = listener;
+        this.futures = new ArrayList<Future<?>> ( 1 );
+        this.lock = new Object ();
+        this.batches = null;
+        this.next = 0;
+        this.delivering = false;
+        this.failure = null;
+        this.done = false;
+        this.cancelled = false;
+    }
+
+    /**
+     * Returns scanned directory.
+     *
+     * @return scanned directory
+     */
+    @NotNull
+    public File getDirectory ()
+    {
+        return directory;
+    }
+
+    /**
+     * Returns whether or not this scan is still in progress.
+     *
+     * @return {@code true} if this scan is still in progress, {@code false} otherwise
+     */
+    public boolean isInProgress ()
+    {
+        return !done && !cancelled;
+    }
+
+    /**
+     * Returns whether or not this scan was cancelled.
+     *
+     * @return {@code true} if this scan was cancelled, {@code false} otherwise
+     */
+    public boolean isCancelled ()
+    {
+        return cancelled;
+    }
+
+    /**
+     * Cancels this scan.
+     * {@link DirectoryScanListener} will not be informed about anything once this method returns, except for the notification
+     * that might already be in progress on {@link DirectoryScanner} thread at that moment.
+     */
+    public void cancel ()
+    {
+        synchronized ( lock )
+        {
+            cancelled = true;
+        }
+        cancelFutures ();
+    }
+
+    /**
+     * Starts this scan by listing directory files.
+     */
+    void start ()
+    {
+        submit ( new Runnable ()
+        {
+            @Override
+            public void run ()
+            {
+                try
+                {
+                    list ();
+                }
+                catch ( final Throwable e )
+                {
+                    fail ( e );
+                }
+            }
+        } );
+    }
+
+    /**
+     * Lists directory files and submits their resolution in batches.
+     */
+    @SuppressWarnings ( "unchecked" )
+    private void list ()
+    {
+        if ( !cancelled )
+        {
+            // Single call retrieves all names, File instances are only created for resolution
+            final String[] names = directory.list ();
+            final int batchSize = scanner.getBatchSize ();
+            final int count = names != null ? ( names.length + batchSize - 1 ) / batchSize : 0;
+            synchronized ( lock )
+            {
+                batches = new List[ count ];
+            }
+            if ( count > 0 )
+            {
+                for ( int i = 0; i < count; i++ )
+                {
+                    final int index = i;
+                    final int from = i * batchSize;
+                    final int to = Math.min ( from + batchSize, names.length );
+                    submit ( new Runnable ()
+                    {
+                        @Override
+                        public void run ()
+                        {
+                            try
+                            {
+                                resolve ( index, names, from, to );
+                            }
+                            catch ( final Throwable e )
+                            {
+                                fail ( e );
+                            }
+                        }
+                    } );
+                }
+            }
+            else
+            {
+                deliver ();
+            }
+        }
+    }
+
+    /**
+     * Resolves single batch of directory files.
+     *
+     * @param index batch index
+     * @param names names of all directory files
+     * @param from  index of the first file name within the batch
+     * @param to    index after the last file name within the batch
+     */
+    private void resolve ( final int index, @NotNull final String[] names, final int from, final int to )
+    {
+        if ( !cancelled )
+        {
+            final List<File> files = new ArrayList<File> ( to - from );
+            for ( int i = from; i < to && !cancelled; i++ )
+            {
+                final File file = new File ( directory, names[ i ] );
+
+                // Reading basic attributes at once, filters and comparators will use them afterwards
+                FileUtils.isDirectory ( file );
+
+                if ( filter == null || filter.accept ( file ) )
+                {
+                    if ( details )
+                    {
+                        FileUtils.getDisplayFileName ( file );
+                        FileUtils.getFileIcon ( file );
+                    }
+                    files.add ( file );
+                }
+            }
+            synchronized ( lock )
+            {
+                if ( batches != null )
+                {
+                    batches[ index ] = files;
+                }
+            }
+            deliver ();
+        }
+    }
+
+    /**
+     * Provides all consecutive resolved batches or failure to {@link DirectoryScanListener}.
+     * Scan is completed once the last batch is provided.
+     *
+     * Only one thread delivers at a time, so batches are provided in order and {@link DirectoryScanListener} is informed about one
+     * thing at a time. Other threads only leave their batches to the delivering thread. {@link DirectoryScanListener} is informed
+     * outside of the {@link #lock}, so it can safely block until {@link #cancel()} is called from another thread.
+     */
+    private void deliver ()
+    {
+        synchronized ( lock )
+        {
+            if ( delivering )
+            {
+                return;
+            }
+            delivering = true;
+        }
+        boolean finished = false;
+        try
+        {
+            while ( true )
+            {
+                // Taking next thing to deliver
+                final List<File> files;
+                final Throwable cause;
+                final boolean completed;
+                synchronized ( lock )
+                {
+                    if ( cancelled || done || batches == null && failure == null )
+                    {
+                        delivering = false;
+                        finished = true;
+                        return;
+                    }
+                    else if ( failure != null )
+                    {
+                        files = null;
+                        cause = failure;
+                        completed = false;
+                        failure = null;
+                        done = true;
+                        delivering = false;
+                        finished = true;
+                    }
+                    else if ( next < batches.length && batches[ next ] != null )
+                    {
+                        files = batches[ next ];
+                        cause = null;
+                        completed = false;
+                        batches[ next ] = null;
+                        next++;
+                    }
+                    else if ( next == batches.length )
+                    {
+                        files = null;
+                        cause = null;
+                        completed = true;
+                        done = true;
+                        delivering = false;
+                        finished = true;
+                    }
+                    else
+                    {
+                        delivering = false;
+                        finished = true;
+                        return;
+                    }
+                }
+
+                // Informing listener outside of the lock
+                if ( cause != null )
+                {
+                    if ( !cancelled )
+                    {
+                        listener.failed ( cause );
+                    }
+                    return;
+                }
+                else if ( completed )
+                {
+                    clearFutures ();
+                    if ( !cancelled )
+                    {
+                        listener.completed ();
+                    }
+                    return;
+                }
+                else if ( files.size () > 0 && !cancelled )
+                {
+                    listener.scanned ( files );
+                }
+            }
+        }
+        finally
+        {
+            if ( !finished )
+            {
+                // Listener has thrown an exception, another thread should be able to deliver its failure
+                synchronized ( lock )
+                {
+                    delivering = false;
+                }
+            }
+        }
+    }
+
+    /**
+     * Fails this scan due to the specified exception.
+     * Failure is delivered by the same thread that delivers resolved batches, so listener is still informed about one thing at a time.
+     *
+     * @param cause exception
+     */
+    private void fail ( @NotNull final Throwable cause )
+    {
+        synchronized ( lock )
+        {
+            if ( !cancelled && !done && failure == null )
+            {
+                failure = cause;
+            }
+        }
+        deliver ();
+        cancelFutures ();
+    }
+
+    /**
+     * Submits specified task into {@link DirectoryScanner} group.
+     *
+     * @param task task to submit
+     */
+    private void submit ( @NotNull final Runnable task )
+    {
+        synchronized ( futures )
+        {
+            if ( !cancelled && !done )
+            {
+                futures.add ( TaskManager.execute ( scanner.getGroupId (), task ) );
+            }
+        }
+    }
+
+    /**
+     * Cancels {@link Future}s of all scan tasks that are still awaiting execution.
+     */
+    private void cancelFutures ()
+    {
+        synchronized ( futures )
+        {
+            for ( final Future<?> future : futures )
+            {
+                future.cancel ( false );
+            }
+            futures.clear ();
+        }
+    }
+
+    /**
+     * Forgets {@link Future}s of finished scan tasks.
+     */
+    private void clearFutures ()
+    {
+        synchronized ( futures )
+        {
+            futures.clear ();
+        }
+    }
+}
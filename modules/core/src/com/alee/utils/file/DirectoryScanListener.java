@@ -0,0 +1,54 @@
+/*
+ * This file is part of WebLookAndFeel library.
+ *
+ * WebLookAndFeel library is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * WebLookAndFeel library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with WebLookAndFeel library.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.alee.utils.file;
+
+import com.alee.api.annotations.NotNull;
+
+import java.io.File;
+import java.util.List;
+
+/**
+ * Listener informed about {@link DirectoryScan} progress.
+ * All methods are called on {@link DirectoryScanner} threads one at a time, without holding any scan locks, and are not called
+ * after scan was cancelled unless the call was already in progress at that moment.
+ *
+ * @author Mikle Garin
+ * @see DirectoryScanner#scan(File, java.io.FileFilter, boolean, DirectoryScanListener)
+ */
+public interface DirectoryScanListener
+{
+    /**
+     * Informs that next part of directory files was scanned.
+     * Parts are provided in the same order directory files were listed in.
+     *
+     * @param files scanned files accepted by the scan filter
+     */
+    public void scanned ( @NotNull List<File> files );
+
+    /**
+     * Informs that all directory files were scanned.
+     */
+    public void completed ();
+
+    /**
+     * Informs that scan failed due to the specified exception.
+     *
+     * @param cause exception
+     */
+    public void failed ( @NotNull Throwable cause );
+}
@@ -0,0 +1,122 @@
+/*
+ * This file is part of WebLookAndFeel library.
+ *
+ * WebLookAndFeel library is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * WebLookAndFeel library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with WebLookAndFeel library.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.alee.utils.file;
+
+import com.alee.api.annotations.NotNull;
+import com.alee.api.annotations.Nullable;
+import com.alee.managers.task.TaskManager;
+
+import java.io.File;
+import java.io.FileFilter;
+
+/**
+ * Scans directories asynchronously within {@link TaskManager} group.
+ *
+ * Directory is listed once to retrieve names of its files, then files are split into batches which are resolved in parallel.
+ * Resolving a file reads all of its basic attributes at once into {@link com.alee.utils.FileUtils} metadata cache, so that further
+ * "isDirectory", "isHidden" and similar calls made by filters, comparators and renderers don't reach the file system again.
+ * Resolved batches are provided to {@link DirectoryScanListener} in listing order as soon as they are ready, so large directories
+ * can be displayed before they are completely scanned.
+ *
+ * Since filters are used outside of the Event Dispatch Thread they must be thread-safe.
+ *
+ * @author Mikle Garin
+ * @see DirectoryScan
+ * @see DirectoryScanListener
+ * @see com.alee.utils.FileUtils#getDirectoryScanner()
+ */
+public final class DirectoryScanner
+{
+    /**
+     * Identifier of {@link TaskManager} group to scan directories in.
+     */
+    @NotNull
+    private final String groupId;
+
+    /**
+     * Maximum amount of files resolved and provided to {@link DirectoryScanListener} at once.
+     */
+    private volatile int batchSize;
+
+    /**
+     * Constructs new {@link DirectoryScanner}.
+     *
+     * @param groupId   identifier of {@link TaskManager} group to scan directories in
+     * @param batchSize maximum amount of files resolved and provided to {@link DirectoryScanListener} at once
+     */
+    public DirectoryScanner ( @NotNull final String groupId, final int batchSize )
+    {
+        this.groupId = groupId;
+        setBatchSize ( batchSize );
+    }
+
+    /**
+     * Returns identifier of {@link TaskManager} group to scan directories in.
+     *
+     * @return identifier of {@link TaskManager} group to scan directories in
+     */
+    @NotNull
+    public String getGroupId ()
+    {
+        return groupId;
+    }
+
+    /**
+     * Returns maximum amount of files resolved and provided to {@link DirectoryScanListener} at once.
+     *
+     * @return maximum amount of files resolved and provided to {@link DirectoryScanListener} at once
+     */
+    public int getBatchSize ()
+    {
+        return batchSize;
+    }
+
+    /**
+     * Sets maximum amount of files resolved and provided to {@link DirectoryScanListener} at once.
+     * It only affects scans started afterwards.
+     *
+     * @param batchSize maximum amount of files resolved and provided to {@link DirectoryScanListener} at once
+     */
+    public void setBatchSize ( final int batchSize )
+    {
+        if ( batchSize <= 0 )
+        {
+            throw new IllegalArgumentException ( "Batch size must be positive: " + batchSize );
+        }
+        this.batchSize = batchSize;
+    }
+
+    /**
+     * Starts asynchronous scan of the specified directory.
+     * If directory cannot be listed it is considered to be empty.
+     *
+     * @param directory directory to scan
+     * @param filter    thread-safe {@link FileFilter} for directory files, {@code null} to accept all files
+     * @param details   whether or not should also resolve display names and icons of accepted files
+     * @param listener  {@link DirectoryScanListener} informed about scan progress
+     * @return {@link DirectoryScan} that can be used to cancel the scan
+     */
+    @NotNull
+    public DirectoryScan scan ( @NotNull final File directory, @Nullable final FileFilter filter, final boolean details,
+                                @NotNull final DirectoryScanListener listener )
+    {
+        final DirectoryScan scan = new DirectoryScan ( this, directory, filter, details, listener );
+        scan.start ();
+        return scan;
+    }
+}
@@ -0,0 +1,370 @@
+/*
+ * This file is part of WebLookAndFeel library.
+ *
+ * WebLookAndFeel library is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * WebLookAndFeel library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with WebLookAndFeel library.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.alee.utils.file;
+
+import com.alee.api.annotations.NotNull;
+import com.alee.api.annotations.Nullable;
+
+import java.io.File;
+
+/**
+ * Cached metadata of a single file used by {@link com.alee.utils.FileUtils}.
+ *
+ * Basic file attributes are read all at once when metadata is created, which requires fewer system calls than checking each
+ * attribute separately. On Java 12+ they are read with a single system call. Other values are more expensive to retrieve and
+ * might not be needed at all, so they are only stored once {@link com.alee.utils.FileUtils} computes them for the first time.
+ *
+ * @author Mikle Garin
+ * @see FileMetadataCache
+ */
+public final class FileMetadata
+{
+    /**
+     * Absolute file path.
+     */
+    @NotNull
+    private final String path;
+
+    /**
+     * Absolute path of the parent file or {@code null} if file has no parent.
+     */
+    @Nullable
+    private final String parentPath;
+
+    /**
+     * Whether or not file exists.
+     */
+    private final boolean exists;
+
+    /**
+     * Whether or not file is a normal file.
+     */
+    private final boolean file;
+
+    /**
+     * Whether or not file is a directory.
+     */
+    private final boolean directory;
+
+    /**
+     * Whether or not file is hidden.
+     */
+    private final boolean hidden;
+
+    /**
+     * File modification time.
+     */
+    private final long lastModified;
+
+    /**
+     * Whether or not file points to system hard drive.
+     */
+    @Nullable
+    private volatile Boolean drive;
+
+    /**
+     * Whether or not file points to computer node.
+     */
+    @Nullable
+    private volatile Boolean computer;
+
+    /**
+     * Whether or not file points to system CD/DVD/Bluray drive.
+     */
+    @Nullable
+    private volatile Boolean cdDrive;
+
+    /**
+     * File name to display.
+     */
+    @Nullable
+    private volatile String displayName;
+
+    /**
+     * File type description.
+     */
+    @Nullable
+    private volatile String typeDescription;
+
+    /**
+     * Complete file description.
+     */
+    @Nullable
+    private volatile FileDescription description;
+
+    /**
+     * File modification date to display.
+     */
+    @Nullable
+    private volatile String displayDate;
+
+    /**
+     * Constructs new {@link FileMetadata}.
+     *
+     * @param file         absolute file
+     * @param exists       whether or not file exists
+     * @param isFile       whether or not file is a normal file
+     * @param directory    whether or not file is a directory
+     * @param hidden       whether or not file is hidden
+     * @param lastModified file modification time
+     */
+    FileMetadata ( @NotNull final File file, final boolean exists, final boolean isFile, final boolean directory,
+                   final boolean hidden, final long lastModified )
+    {
+        this.path = file.getPath ();
+        this.parentPath = file.getParent ();
+        this.exists = exists;
+        this.file = isFile;
+        this.directory = directory;
+        this.hidden = hidden;
+        this.lastModified = lastModified;
+    }
+
+    /**
+     * Returns new {@link FileMetadata} with basic attributes of the specified file.
+     * Attributes are read with as few system calls as current Java version allows.
+     *
+     * @param file file to read basic attributes of
+     * @return new {@link FileMetadata} with basic attributes of the specified file
+     */
+    @NotNull
+    public static FileMetadata read ( @NotNull final File file )
+    {
+        return FileMetadataHelper.read ( file.getAbsoluteFile () );
+    }
+
+    /**
+     * Returns absolute file path.
+     *
+     * @return absolute file path
+     */
+    @NotNull
+    public String getPath ()
+    {
+        return path;
+    }
+
+    /**
+     * Returns absolute path of the parent file or {@code null} if file has no parent.
+     *
+     * @return absolute path of the parent file or {@code null} if file has no parent
+     */
+    @Nullable
+    public String getParentPath ()
+    {
+        return parentPath;
+    }
+
+    /**
+     * Returns whether or not file existed when this metadata was created.
+     *
+     * @return {@code true} if file existed when this metadata was created, {@code false} otherwise
+     */
+    public boolean exists ()
+    {
+        return exists;
+    }
+
+    /**
+     * Returns whether or not file is a normal file.
+     *
+     * @return {@code true} if file is a normal file, {@code false} otherwise
+     */
+    public boolean isFile ()
+    {
+        return file;
+    }
+
+    /**
+     * Returns whether or not file is a directory.
+     *
+     * @return {@code true} if file is a directory, {@code false} otherwise
+     */
+    public boolean isDirectory ()
+    {
+        return directory;
+    }
+
+    /**
+     * Returns whether or not file is hidden.
+     * Root files are never considered hidden.
+     *
+     * @return {@code true} if file is hidden, {@code false} otherwise
+     */
+    public boolean isHidden ()
+    {
+        return hidden;
+    }
+
+    /**
+     * Returns file modification time.
+     *
+     * @return file modification time
+     */
+    public long getLastModified ()
+    {
+        return lastModified;
+    }
+
+    /**
+     * Returns whether or not file points to system hard drive or {@code null} if it wasn't computed yet.
+     *
+     * @return whether or not file points to system hard drive or {@code null} if it wasn't computed yet
+     */
+    @Nullable
+    public Boolean getDrive ()
+    {
+        return drive;
+    }
+
+    /**
+     * Sets whether or not file points to system hard drive.
+     *
+     * @param drive whether or not file points to system hard drive
+     */
+    public void setDrive ( @NotNull final Boolean drive )
+    {
+        this.drive = drive;
+    }
+
+    /**
+     * Returns whether or not file points to computer node or {@code null} if it wasn't computed yet.
+     *
+     * @return whether or not file points to computer node or {@code null} if it wasn't computed yet
+     */
+    @Nullable
+    public Boolean getComputer ()
+    {
+        return computer;
+    }
+
+    /**
+     * Sets whether or not file points to computer node.
+     *
+     * @param computer whether or not file points to computer node
+     */
+    public void setComputer ( @NotNull final Boolean computer )
+    {
+        this.computer = computer;
+    }
+
+    /**
+     * Returns whether or not file points to system CD/DVD/Bluray drive or {@code null} if it wasn't computed yet.
+     *
+     * @return whether or not file points to system CD/DVD/Bluray drive or {@code null} if it wasn't computed yet
+     */
+    @Nullable
+    public Boolean getCdDrive ()
+    {
+        return cdDrive;
+    }
+
+    /**
+     * Sets whether or not file points to system CD/DVD/Bluray drive.
+     *
+     * @param cdDrive whether or not file points to system CD/DVD/Bluray drive
+     */
+    public void setCdDrive ( @NotNull final Boolean cdDrive )
+    {
+        this.cdDrive = cdDrive;
+    }
+
+    /**
+     * Returns file name to display or {@code null} if it wasn't computed yet.
+     *
+     * @return file name to display or {@code null} if it wasn't computed yet
+     */
+    @Nullable
+    public String getDisplayName ()
+    {
+        return displayName;
+    }
+
+    /**
+     * Sets file name to display.
+     *
+     * @param displayName file name to display
+     */
+    public void setDisplayName ( @NotNull final String displayName )
+    {
+        this.displayName = displayName;
+    }
+
+    /**
+     * Returns file type description or {@code null} if it wasn't computed yet.
+     *
+     * @return file type description or {@code null} if it wasn't computed yet
+     */
+    @Nullable
+    public String getTypeDescription ()
+    {
+        return typeDescription;
+    }
+
+    /**
+     * Sets file type description.
+     *
+     * @param typeDescription file type description
+     */
+    public void setTypeDescription ( @NotNull final String typeDescription )
+    {
+        this.typeDescription = typeDescription;
+    }
+
+    /**
+     * Returns complete file description or {@code null} if it wasn't computed yet.
+     *
+     * @return complete file description or {@code null} if it wasn't computed yet
+     */
+    @Nullable
+    public FileDescription getDescription ()
+    {
+        return description;
+    }
+
+    /**
+     * Sets complete file description.
+     *
+     * @param description complete file description
+     */
+    public void setDescription ( @NotNull final FileDescription description )
+    {
+        this.description = description;
+    }
+
+    /**
+     * Returns file modification date to display or {@code null} if it wasn't computed yet.
+     *
+     * @return file modification date to display or {@code null} if it wasn't computed yet
+     */
+    @Nullable
+    public String getDisplayDate ()
+    {
+        return displayDate;
+    }
+
+    /**
+     * Sets file modification date to display.
+     *
+     * @param displayDate file modification date to display
+     */
+    public void setDisplayDate ( @NotNull final String displayDate )
+    {
+        this.displayDate = displayDate;
+    }
+}
\ No newline at end of file
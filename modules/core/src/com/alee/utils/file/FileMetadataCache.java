@@ -0,0 +1,395 @@
+/*
+ * This file is part of WebLookAndFeel library.
+ *
+ * WebLookAndFeel library is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * WebLookAndFeel library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with WebLookAndFeel library.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.alee.utils.file;
+
+import com.alee.api.annotations.NotNull;
+
+import java.io.File;
+import java.util.*;
+
+/**
+ * Bounded cache of {@link FileMetadata} with least-recently-used eviction.
+ *
+ * Metadata is only cached for existing files, so files that do not exist yet are checked again on each request.
+ * Cached metadata is kept until it is evicted or invalidated. Metadata of files within {@link #watch(File)}ed directories is
+ * invalidated automatically as soon as {@link FileWatchService} notices changes, metadata of other files has to be invalidated
+ * manually.
+ *
+ * @author Mikle Garin
+ * @see FileMetadata
+ * @see com.alee.utils.FileUtils
+ */
+public final class FileMetadataCache
+{
+    /**
+     * Cached {@link FileMetadata} mapped by absolute file paths in access order.
+     */
+    @NotNull
+    private final LinkedHashMap<String, FileMetadata> entries;
+
+    /**
+     * Absolute paths of cached files mapped by absolute paths of their parent directories.
+     * It is used to invalidate directory contents without going through all cached {@link FileMetadata}.
+     * It is only accessed while holding {@link #entries} lock.
+     */
+    @NotNull
+    private final Map<String, Set<String>> children;
+
+    /**
+     * Maximum amount of cached {@link FileMetadata}.
+     */
+    private int maximumSize;
+
+    /**
+     * {@link FileWatchService} used to watch directories.
+     */
+    @NotNull
+    private final FileWatchService watchService;
+
+    /**
+     * Delay between checks of watched directories in milliseconds.
+     */
+    private final long watchDelay;
+
+    /**
+     * Watched directory paths mapped to their {@link FileWatch}es.
+     */
+    @NotNull
+    private final Map<String, WatchedDirectory> watched;
+
+    /**
+     * {@link SystemFileListener} invalidating metadata of changed files.
+     */
+    @NotNull
+    private final SystemFileListener invalidator;
+
+    /**
+     * Constructs new {@link FileMetadataCache}.
+     *
+     * @param maximumSize  maximum amount of cached {@link FileMetadata}
+     * @param watchService {@link FileWatchService} used to watch directories
+     * @param watchDelay   delay between checks of watched directories in milliseconds
+     */
+    public FileMetadataCache ( final int maximumSize, @NotNull final FileWatchService watchService, final long watchDelay )
+    {
+        this.maximumSize = maximumSize;
+        this.entries = new LinkedHashMap<String, FileMetadata> ( 256, 0.75f, true )
+        {
+            @Override
+            protected boolean removeEldestEntry ( @NotNull final Map.Entry<String, FileMetadata> eldest )
+            {
+                final boolean remove = size () > FileMetadataCache.this.maximumSize;
+                if ( remove )
+                {
+                    removeChild ( eldest.getValue () );
+                }
+                return remove;
+            }
+        };
+        this.children = new HashMap<String, Set<String>> ();
+        this.watchService = watchService;
+        this.watchDelay = watchDelay;
+        this.watched = new HashMap<String, WatchedDirectory> ();
+        this.invalidator = new SystemFileListener ()
+        {
+            @Override
+            public void modified ( @NotNull final File file )
+            {
+                if ( file.isDirectory () )
+                {
+                    invalidateDirectory ( file.getPath () );
+                }
+                else
+                {
+                    invalidate ( file.getPath () );
+                }
+            }
+
+            @Override
+            public void unbound ( @NotNull final File file )
+            {
+                invalidateDirectory ( file.getPath () );
+            }
+        };
+    }
+
+    /**
+     * Returns {@link FileMetadata} for the specified file.
+     *
+     * @param file file to return {@link FileMetadata} for
+     * @return {@link FileMetadata} for the specified file
+     */
+    @NotNull
+    public FileMetadata get ( @NotNull final File file )
+    {
+        final String path = file.getAbsolutePath ();
+        FileMetadata metadata;
+        synchronized ( entries )
+        {
+            metadata = entries.get ( path );
+        }
+        if ( metadata == null )
+        {
+            // Attributes are read outside of the lock since they might take a while on slow file systems
+            metadata = FileMetadata.read ( file );
+            if ( metadata.exists () )
+            {
+                synchronized ( entries )
+                {
+                    final FileMetadata existing = entries.get ( path );
+                    if ( existing == null )
+                    {
+                        entries.put ( path, metadata );
+                        addChild ( metadata );
+                    }
+                    else
+                    {
+                        metadata = existing;
+                    }
+                }
+            }
+        }
+        return metadata;
+    }
+
+    /**
+     * Invalidates {@link FileMetadata} of the file under the specified path.
+     *
+     * @param path absolute file path
+     */
+    public void invalidate ( @NotNull final String path )
+    {
+        synchronized ( entries )
+        {
+            remove ( path );
+        }
+    }
+
+    /**
+     * Invalidates {@link FileMetadata} of the directory under the specified path and all files directly within it.
+     *
+     * @param path absolute directory path
+     */
+    public void invalidateDirectory ( @NotNull final String path )
+    {
+        synchronized ( entries )
+        {
+            remove ( path );
+            final Set<String> paths = children.remove ( path );
+            if ( paths != null )
+            {
+                for ( final String child : paths )
+                {
+                    entries.remove ( child );
+                }
+            }
+        }
+    }
+
+    /**
+     * Removes {@link FileMetadata} of the file under the specified path.
+     * It must only be called while holding {@link #entries} lock.
+     *
+     * @param path absolute file path
+     */
+    private void remove ( @NotNull final String path )
+    {
+        final FileMetadata metadata = entries.remove ( path );
+        if ( metadata != null )
+        {
+            removeChild ( metadata );
+        }
+    }
+
+    /**
+     * Registers {@link FileMetadata} within its parent directory children.
+     * It must only be called while holding {@link #entries} lock.
+     *
+     * @param metadata {@link FileMetadata}
+     */
+    private void addChild ( @NotNull final FileMetadata metadata )
+    {
+        final String parentPath = metadata.getParentPath ();
+        if ( parentPath != null )
+        {
+            Set<String> paths = children.get ( parentPath );
+            if ( paths == null )
+            {
+                paths = new HashSet<String> ( 4 );
+                children.put ( parentPath, paths );
+            }
+            paths.add ( metadata.getPath () );
+        }
+    }
+
+    /**
+     * Unregisters {@link FileMetadata} from its parent directory children.
+     * It must only be called while holding {@link #entries} lock.
+     *
+     * @param metadata {@link FileMetadata}
+     */
+    private void removeChild ( @NotNull final FileMetadata metadata )
+    {
+        final String parentPath = metadata.getParentPath ();
+        if ( parentPath != null )
+        {
+            final Set<String> paths = children.get ( parentPath );
+            if ( paths != null && paths.remove ( metadata.getPath () ) && paths.isEmpty () )
+            {
+                children.remove ( parentPath );
+            }
+        }
+    }
+
+    /**
+     * Invalidates all cached {@link FileMetadata}.
+     */
+    public void clear ()
+    {
+        synchronized ( entries )
+        {
+            entries.clear ();
+            children.clear ();
+        }
+    }
+
+    /**
+     * Returns amount of cached {@link FileMetadata}.
+     *
+     * @return amount of cached {@link FileMetadata}
+     */
+    public int size ()
+    {
+        synchronized ( entries )
+        {
+            return entries.size ();
+        }
+    }
+
+    /**
+     * Returns maximum amount of cached {@link FileMetadata}.
+     *
+     * @return maximum amount of cached {@link FileMetadata}
+     */
+    public int getMaximumSize ()
+    {
+        synchronized ( entries )
+        {
+            return maximumSize;
+        }
+    }
+
+    /**
+     * Sets maximum amount of cached {@link FileMetadata}.
+     * Least recently used {@link FileMetadata} will be evicted if there are too many cached already.
+     *
+     * @param maximumSize maximum amount of cached {@link FileMetadata}
+     */
+    public void setMaximumSize ( final int maximumSize )
+    {
+        if ( maximumSize <= 0 )
+        {
+            throw new IllegalArgumentException ( "Maximum size must be positive: " + maximumSize );
+        }
+        synchronized ( entries )
+        {
+            this.maximumSize = maximumSize;
+            final Iterator<FileMetadata> iterator = entries.values ().iterator ();
+            while ( entries.size () > maximumSize && iterator.hasNext () )
+            {
+                removeChild ( iterator.next () );
+                iterator.remove ();
+            }
+        }
+    }
+
+    /**
+     * Starts watching the specified directory for changes.
+     * Each call must be paired with {@link #unwatch(File)} call once directory doesn't need to be watched anymore.
+     *
+     * @param directory directory to watch
+     */
+    public void watch ( @NotNull final File directory )
+    {
+        final String path = directory.getAbsolutePath ();
+        synchronized ( watched )
+        {
+            final WatchedDirectory watchedDirectory = watched.get ( path );
+            if ( watchedDirectory != null )
+            {
+                watchedDirectory.watchers++;
+                if ( !watchedDirectory.watch.isActive () )
+                {
+                    // Directory was unbound earlier, but it might exist again
+                    watchedDirectory.watch = watchService.watch ( directory, invalidator, watchDelay, true );
+                }
+            }
+            else
+            {
+                watched.put ( path, new WatchedDirectory ( watchService.watch ( directory, invalidator, watchDelay, true ) ) );
+            }
+        }
+    }
+
+    /**
+     * Stops watching the specified directory for changes.
+     *
+     * @param directory directory to stop watching
+     */
+    public void unwatch ( @NotNull final File directory )
+    {
+        final String path = directory.getAbsolutePath ();
+        synchronized ( watched )
+        {
+            final WatchedDirectory watchedDirectory = watched.get ( path );
+            if ( watchedDirectory != null && --watchedDirectory.watchers == 0 )
+            {
+                watched.remove ( path );
+                watchedDirectory.watch.cancel ();
+            }
+        }
+    }
+
+    /**
+     * Watched directory information.
+     */
+    private static final class WatchedDirectory
+    {
+        /**
+         * Directory {@link FileWatch}.
+         */
+        @NotNull
+        private FileWatch watch;
+
+        /**
+         * Amount of {@link #watch(File)} calls for this directory.
+         */
+        private int watchers;
+
+        /**
+         * Constructs new {@link WatchedDirectory}.
+         *
+         * @param watch directory {@link FileWatch}
+         */
+        public WatchedDirectory ( @NotNull final FileWatch watch )
+        {
+            this.watch = watch;
+            this.watchers = 1;
+        }
+    }
+}
\ No newline at end of file
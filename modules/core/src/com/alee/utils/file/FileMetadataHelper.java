@@ -0,0 +1,62 @@
+/*
+ * This file is part of WebLookAndFeel library.
+ *
+ * WebLookAndFeel library is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * WebLookAndFeel library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with WebLookAndFeel library.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.alee.utils.file;
+
+import com.alee.api.annotations.NotNull;
+
+import java.io.File;
+
+/**
+ * {@link FileMetadata} helper.
+ * Reading all basic file attributes at once requires {@code java.nio.file.Files} which is not available on Java 6,
+ * so attributes are checked separately unless Java 12 variant of this helper is used.
+ *
+ * @author Mikle Garin
+ */
+final class FileMetadataHelper
+{
+    /*
+     * Note: modules/core/java12/com/alee/utils/file/FileMetadataHelper.java
+     */
+
+    /**
+     * Returns new {@link FileMetadata} with basic attributes of the specified file.
+     *
+     * @param file absolute file to read basic attributes of
+     * @return new {@link FileMetadata} with basic attributes of the specified file
+     */
+    @NotNull
+    public static FileMetadata read ( @NotNull final File file )
+    {
+        // File modification time is 0 for non-existing files, so other attributes are only checked for existing ones
+        final long lastModified = file.lastModified ();
+        final FileMetadata metadata;
+        if ( lastModified != 0 || file.exists () )
+        {
+            final boolean directory = file.isDirectory ();
+            final boolean isFile = !directory && file.isFile ();
+            final boolean hidden = file.getParent () != null && file.isHidden ();
+            metadata = new FileMetadata ( file, true, isFile, directory, hidden, lastModified );
+        }
+        else
+        {
+            metadata = new FileMetadata ( file, false, false, false, false, 0 );
+        }
+        return metadata;
+    }
+}
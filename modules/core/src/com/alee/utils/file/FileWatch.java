@@ -0,0 +1,154 @@
+/*
+ * This file is part of WebLookAndFeel library.
+ *
+ * WebLookAndFeel library is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * WebLookAndFeel library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with WebLookAndFeel library.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.alee.utils.file;
+
+import com.alee.api.annotations.NotNull;
+
+import java.io.File;
+
+/**
+ * Single {@link SystemFileListener} registration within {@link FileWatchService}.
+ * It stays active until it is {@link #cancel()}led or until watched file is deleted, renamed or moved.
+ *
+ * @author Mikle Garin
+ * @see FileWatchService#watch(File, SystemFileListener, long, boolean)
+ */
+public final class FileWatch
+{
+    /**
+     * {@link FileWatchService} this registration belongs to.
+     */
+    @NotNull
+    private final FileWatchService service;
+
+    /**
+     * Watched file.
+     */
+    @NotNull
+    private final File file;
+
+    /**
+     * {@link SystemFileListener} informed about changes.
+     */
+    @NotNull
+    private final SystemFileListener listener;
+
+    /**
+     * Delay between checks for changes in milliseconds.
+     */
+    private final long delay;
+
+    /**
+     * Whether or not modifications of the files directly within watched directory should be reported.
+     */
+    private final boolean children;
+
+    /**
+     * Whether or not this registration is still active.
+     */
+    private volatile boolean active;
+
+    /**
+     * Constructs new {@link FileWatch}.
+     *
+     * @param service  {@link FileWatchService} this registration belongs to
+     * @param file     watched file
+     * @param listener {@link SystemFileListener} informed about changes
+     * @param delay    delay between checks for changes in milliseconds
+     * @param children whether or not modifications of the files directly within watched directory should be reported
+     */
+    FileWatch ( @NotNull final FileWatchService service, @NotNull final File file, @NotNull final SystemFileListener listener,
+                final long delay, final boolean children )
+    {
+        this.service = service;
+        this.file = file;
+        this.listener = listener;
+        this.delay = delay;
+        this.children = children;
+        this.active = true;
+    }
+
+    /**
+     * Returns watched file.
+     *
+     * @return watched file
+     */
+    @NotNull
+    public File getFile ()
+    {
+        return file;
+    }
+
+    /**
+     * Returns {@link SystemFileListener} informed about changes.
+     *
+     * @return {@link SystemFileListener} informed about changes
+     */
+    @NotNull
+    public SystemFileListener getListener ()
+    {
+        return listener;
+    }
+
+    /**
+     * Returns delay between checks for changes in milliseconds.
+     *
+     * @return delay between checks for changes in milliseconds
+     */
+    public long getDelay ()
+    {
+        return delay;
+    }
+
+    /**
+     * Returns whether or not modifications of the files directly within watched directory are reported.
+     *
+     * @return {@code true} if modifications of the files directly within watched directory are reported, {@code false} otherwise
+     */
+    public boolean isWatchingChildren ()
+    {
+        return children;
+    }
+
+    /**
+     * Returns whether or not this registration is still active.
+     *
+     * @return {@code true} if this registration is still active, {@code false} otherwise
+     */
+    public boolean isActive ()
+    {
+        return active;
+    }
+
+    /**
+     * Marks this registration as inactive.
+     */
+    void deactivate ()
+    {
+        active = false;
+    }
+
+    /**
+     * Cancels this registration.
+     * Watched file will not be checked anymore once there are no other active registrations for it.
+     */
+    public void cancel ()
+    {
+        service.cancel ( this );
+    }
+}
\ No newline at end of file
@@ -0,0 +1,48 @@
+/*
+ * This file is part of WebLookAndFeel library.
+ *
+ * WebLookAndFeel library is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * WebLookAndFeel library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with WebLookAndFeel library.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.alee.utils.file;
+
+import com.alee.api.annotations.NotNull;
+import com.alee.api.annotations.Nullable;
+
+/**
+ * {@link NativeFileWatcher} helper.
+ * Native file system notifications require {@code java.nio.file.WatchService} which is not available on Java 6,
+ * so {@link FileWatchService} only polls watched files unless Java 12 variant of this helper is used.
+ *
+ * @author Mikle Garin
+ */
+final class FileWatchHelper
+{
+    /*
+     * Note: modules/core/java12/com/alee/utils/file/FileWatchHelper.java
+     */
+
+    /**
+     * Returns new {@link NativeFileWatcher} or {@code null} if native file system notifications are not supported.
+     *
+     * @param name     notifications thread name
+     * @param listener {@link SystemFileListener} to inform about changes within registered directories
+     * @return new {@link NativeFileWatcher} or {@code null} if native file system notifications are not supported
+     */
+    @Nullable
+    public static NativeFileWatcher createNativeWatcher ( @NotNull final String name, @NotNull final SystemFileListener listener )
+    {
+        return null;
+    }
+}
@@ -0,0 +1,586 @@
+/*
+ * This file is part of WebLookAndFeel library.
+ *
+ * WebLookAndFeel library is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * WebLookAndFeel library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with WebLookAndFeel library.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.alee.utils.file;
+
+import com.alee.api.annotations.NotNull;
+import com.alee.api.annotations.Nullable;
+import com.alee.utils.concurrent.DaemonThreadFactory;
+import org.slf4j.LoggerFactory;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Central service checking watched files for changes on a single daemon thread.
+ *
+ * Each file is checked only once per its smallest requested delay no matter how many {@link FileWatch}es are registered for it.
+ * Detected modification is only reported once file modification time stays the same for {@link #RESOLUTION}, so a series of quick
+ * modifications, for example when file is being written, is reported once. Deleted, renamed or moved file is reported as unbound
+ * and all of its {@link FileWatch}es are cancelled.
+ *
+ * Whenever native file system notifications are available, which requires {@code java.nio.file.WatchService} and Java 12+ variant
+ * of this library, watched files are checked as soon as their directory reports a change and are only polled every
+ * {@link #NATIVE_CHECK_DELAY} as a safety net. Otherwise watched files are polled according to their requested delay.
+ *
+ * Watched directory is reported as modified whenever files are added, removed or renamed within it. Modifications of the files
+ * directly within watched directory are only reported to {@link FileWatch}es that requested them, unless there are more than
+ * {@link #MAXIMUM_TRACKED_CHILDREN} of them.
+ *
+ * {@link SystemFileListener}s are informed on the service thread, so they should not perform any long-running operations.
+ *
+ * @author Mikle Garin
+ * @see FileWatch
+ * @see SystemFileListener
+ * @see com.alee.utils.FileUtils#getWatchService()
+ */
+public final class FileWatchService
+{
+    /**
+     * Service checks resolution in milliseconds.
+     * It is also the minimum delay between checks and the time file modification time must stay the same to be reported.
+     */
+    public static final long RESOLUTION = 250;
+
+    /**
+     * Maximum amount of files within watched directory that are checked for modifications.
+     */
+    public static final int MAXIMUM_TRACKED_CHILDREN = 1000;
+
+    /**
+     * Minimum delay between checks of files that are watched through native file system notifications in milliseconds.
+     */
+    public static final long NATIVE_CHECK_DELAY = 10000;
+
+    /**
+     * Service thread name.
+     */
+    @NotNull
+    private final String name;
+
+    /**
+     * Watched files mapped by their absolute paths.
+     */
+    @NotNull
+    private final Map<String, WatchedFile> watched;
+
+    /**
+     * Single-threaded {@link ScheduledExecutorService} performing checks.
+     */
+    @Nullable
+    private ScheduledExecutorService executor;
+
+    /**
+     * Scheduled checks task or {@code null} if there is nothing to check.
+     */
+    @Nullable
+    private ScheduledFuture<?> ticker;
+
+    /**
+     * {@link NativeFileWatcher} or {@code null} if it wasn't created yet or native file system notifications are not supported.
+     */
+    @Nullable
+    private NativeFileWatcher nativeWatcher;
+
+    /**
+     * Constructs new {@link FileWatchService}.
+     *
+     * @param name service thread name
+     */
+    public FileWatchService ( @NotNull final String name )
+    {
+        this.name = name;
+        this.watched = new HashMap<String, WatchedFile> ();
+    }
+
+    /**
+     * Starts watching the specified file for changes.
+     * Modifications of the files within watched directory are not reported.
+     *
+     * @param file     file to watch
+     * @param listener {@link SystemFileListener} to inform about changes
+     * @param delay    delay between checks for changes in milliseconds
+     * @return new {@link FileWatch}
+     */
+    @NotNull
+    public FileWatch watch ( @NotNull final File file, @NotNull final SystemFileListener listener, final long delay )
+    {
+        return watch ( file, listener, delay, false );
+    }
+
+    /**
+     * Starts watching the specified file for changes.
+     *
+     * @param file     file to watch
+     * @param listener {@link SystemFileListener} to inform about changes
+     * @param delay    delay between checks for changes in milliseconds
+     * @param children whether or not modifications of the files directly within watched directory should be reported
+     * @return new {@link FileWatch}
+     */
+    @NotNull
+    public FileWatch watch ( @NotNull final File file, @NotNull final SystemFileListener listener, final long delay,
+                             final boolean children )
+    {
+        final File absoluteFile = file.getAbsoluteFile ();
+        final FileWatch watch = new FileWatch ( this, absoluteFile, listener, Math.max ( delay, RESOLUTION ), children );
+        synchronized ( watched )
+        {
+            final String path = absoluteFile.getPath ();
+            WatchedFile watchedFile = watched.get ( path );
+            if ( watchedFile == null )
+            {
+                watchedFile = new WatchedFile ( absoluteFile, registerNative ( absoluteFile ) );
+                watched.put ( path, watchedFile );
+            }
+            watchedFile.watches.add ( watch );
+            watchedFile.update ();
+
+            // Starting checks
+            if ( ticker == null )
+            {
+                if ( executor == null )
+                {
+                    executor = Executors.newSingleThreadScheduledExecutor ( new DaemonThreadFactory ( name ) );
+                }
+                ticker = executor.scheduleWithFixedDelay ( new Runnable ()
+                {
+                    @Override
+                    public void run ()
+                    {
+                        checkWatchedFiles ();
+                    }
+                }, RESOLUTION, RESOLUTION, TimeUnit.MILLISECONDS );
+            }
+        }
+        return watch;
+    }
+
+    /**
+     * Cancels the specified {@link FileWatch}.
+     *
+     * @param watch {@link FileWatch} to cancel
+     */
+    void cancel ( @NotNull final FileWatch watch )
+    {
+        synchronized ( watched )
+        {
+            watch.deactivate ();
+            final String path = watch.getFile ().getPath ();
+            final WatchedFile watchedFile = watched.get ( path );
+            if ( watchedFile != null && watchedFile.watches.remove ( watch ) )
+            {
+                if ( watchedFile.watches.isEmpty () )
+                {
+                    watched.remove ( path );
+                    unregisterNative ( watchedFile );
+                    stopIfIdle ();
+                }
+                else
+                {
+                    watchedFile.update ();
+                }
+            }
+        }
+    }
+
+    /**
+     * Returns amount of currently watched files.
+     *
+     * @return amount of currently watched files
+     */
+    public int getWatchedFilesCount ()
+    {
+        synchronized ( watched )
+        {
+            return watched.size ();
+        }
+    }
+
+    /**
+     * Registers directory of the specified file within {@link NativeFileWatcher}.
+     * Must be called under the {@link #watched} lock.
+     *
+     * @param file absolute watched file
+     * @return registered directory or {@code null} if native file system notifications are not available for the specified file
+     */
+    @Nullable
+    private File registerNative ( @NotNull final File file )
+    {
+        if ( nativeWatcher == null )
+        {
+            nativeWatcher = FileWatchHelper.createNativeWatcher ( name + ".native", new SystemFileListener ()
+            {
+                @Override
+                public void modified ( @NotNull final File directory )
+                {
+                    checkNow ( directory );
+                }
+
+                @Override
+                public void unbound ( @NotNull final File directory )
+                {
+                    checkNow ( directory );
+                }
+            } );
+        }
+        final File directory = file.isDirectory () ? file : file.getParentFile ();
+        return nativeWatcher != null && directory != null && nativeWatcher.register ( directory ) ? directory : null;
+    }
+
+    /**
+     * Unregisters directory of the specified watched file from {@link NativeFileWatcher}.
+     * Must be called under the {@link #watched} lock.
+     *
+     * @param watchedFile watched file that is not watched anymore
+     */
+    private void unregisterNative ( @NotNull final WatchedFile watchedFile )
+    {
+        if ( nativeWatcher != null && watchedFile.nativeDirectory != null )
+        {
+            nativeWatcher.unregister ( watchedFile.nativeDirectory );
+        }
+    }
+
+    /**
+     * Requests all watched files registered for the specified directory within {@link NativeFileWatcher} to be checked on the next
+     * service tick.
+     * This method is only called on the {@link NativeFileWatcher} thread.
+     *
+     * @param directory changed directory
+     */
+    private void checkNow ( @NotNull final File directory )
+    {
+        synchronized ( watched )
+        {
+            for ( final WatchedFile watchedFile : watched.values () )
+            {
+                if ( directory.equals ( watchedFile.nativeDirectory ) )
+                {
+                    watchedFile.notified = true;
+                }
+            }
+        }
+    }
+
+    /**
+     * Stops checks if there is nothing to check anymore.
+     * Must be called under the {@link #watched} lock.
+     */
+    private void stopIfIdle ()
+    {
+        if ( watched.isEmpty () )
+        {
+            if ( ticker != null )
+            {
+                ticker.cancel ( false );
+                ticker = null;
+            }
+            if ( nativeWatcher != null )
+            {
+                nativeWatcher.close ();
+                nativeWatcher = null;
+            }
+        }
+    }
+
+    /**
+     * Checks all watched files that are due for changes and informs {@link SystemFileListener}s about them.
+     * This method is only called on the service thread.
+     */
+    private void checkWatchedFiles ()
+    {
+        // Collecting files to check
+        final long time = System.currentTimeMillis ();
+        final List<WatchedFile> due = new ArrayList<WatchedFile> ();
+        synchronized ( watched )
+        {
+            for ( final WatchedFile watchedFile : watched.values () )
+            {
+                if ( watchedFile.notified || watchedFile.nextCheck <= time )
+                {
+                    due.add ( watchedFile );
+                }
+            }
+        }
+
+        // Checking files outside of the lock since it might take a while
+        for ( final WatchedFile watchedFile : due )
+        {
+            final List<File> modified = new ArrayList<File> ( 1 );
+            final boolean exists = check ( watchedFile, time, modified );
+
+            // Collecting watches to inform
+            final List<FileWatch> watches;
+            synchronized ( watched )
+            {
+                watches = new ArrayList<FileWatch> ( watchedFile.watches );
+                if ( !exists && watched.get ( watchedFile.path ) == watchedFile )
+                {
+                    watched.remove ( watchedFile.path );
+                    unregisterNative ( watchedFile );
+                    for ( final FileWatch watch : watches )
+                    {
+                        watch.deactivate ();
+                    }
+                    stopIfIdle ();
+                }
+            }
+
+            // Informing listeners
+            for ( final FileWatch watch : watches )
+            {
+                if ( !exists || watch.isActive () )
+                {
+                    try
+                    {
+                        if ( exists )
+                        {
+                            for ( final File file : modified )
+                            {
+                                if ( file == watchedFile.file || watch.isWatchingChildren () )
+                                {
+                                    watch.getListener ().modified ( file );
+                                }
+                            }
+                        }
+                        else
+                        {
+                            watch.getListener ().unbound ( watchedFile.file );
+                        }
+                    }
+                    catch ( final Exception e )
+                    {
+                        final String msg = "Unable to inform listener about changes of file: %s";
+                        LoggerFactory.getLogger ( FileWatchService.class ).error ( String.format ( msg, watchedFile.file ), e );
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Checks the specified watched file for changes.
+     *
+     * @param watchedFile watched file to check
+     * @param time        current time
+     * @param modified    list to put modified files into
+     * @return {@code true} if watched file still exists, {@code false} otherwise
+     */
+    private boolean check ( @NotNull final WatchedFile watchedFile, final long time, @NotNull final List<File> modified )
+    {
+        watchedFile.notified = false;
+        final File file = watchedFile.file;
+        final long lastModified = file.lastModified ();
+        if ( lastModified == 0 && !file.exists () )
+        {
+            return false;
+        }
+        if ( lastModified != watchedFile.lastModified )
+        {
+            if ( !watchedFile.pending || lastModified != watchedFile.pendingModified )
+            {
+                // Waiting for modification time to settle
+                watchedFile.pending = true;
+                watchedFile.pendingModified = lastModified;
+                watchedFile.nextCheck = time + RESOLUTION;
+                return true;
+            }
+            watchedFile.lastModified = lastModified;
+            watchedFile.pending = false;
+            modified.add ( file );
+            watchedFile.childrenModified = watchedFile.directory && watchedFile.children ? listChildren ( file ) : null;
+        }
+        else
+        {
+            watchedFile.pending = false;
+            if ( watchedFile.directory && watchedFile.children )
+            {
+                if ( watchedFile.childrenModified == null )
+                {
+                    watchedFile.childrenModified = listChildren ( file );
+                }
+                else
+                {
+                    for ( final Map.Entry<String, Long> child : watchedFile.childrenModified.entrySet () )
+                    {
+                        final File childFile = new File ( child.getKey () );
+                        final long childModified = childFile.lastModified ();
+                        if ( childModified != 0 && childModified != child.getValue () )
+                        {
+                            child.setValue ( childModified );
+                            modified.add ( childFile );
+                        }
+                    }
+                }
+            }
+            else
+            {
+                // Children are not checked anymore
+                watchedFile.childrenModified = null;
+            }
+        }
+        watchedFile.nextCheck = time + ( watchedFile.nativeDirectory != null ?
+                Math.max ( watchedFile.delay, NATIVE_CHECK_DELAY ) : watchedFile.delay );
+        return true;
+    }
+
+    /**
+     * Returns modification times of the files directly within the specified directory mapped by their paths.
+     * Empty map is returned if there are too many files to check.
+     *
+     * @param directory directory to list files for
+     * @return modification times of the files directly within the specified directory mapped by their paths
+     */
+    @NotNull
+    private Map<String, Long> listChildren ( @NotNull final File directory )
+    {
+        final File[] files = directory.listFiles ();
+        final Map<String, Long> children;
+        if ( files != null && files.length <= MAXIMUM_TRACKED_CHILDREN )
+        {
+            children = new HashMap<String, Long> ( files.length );
+            for ( final File child : files )
+            {
+                children.put ( child.getPath (), child.lastModified () );
+            }
+        }
+        else
+        {
+            children = new HashMap<String, Long> ( 0 );
+        }
+        return children;
+    }
+
+    /**
+     * Watched file information.
+     * Registered watches, delay and children flag are guarded by {@link #watched} lock, notification flag is set by
+     * {@link NativeFileWatcher} thread and other fields are only used on the service thread.
+     */
+    private static final class WatchedFile
+    {
+        /**
+         * Absolute watched file.
+         */
+        @NotNull
+        private final File file;
+
+        /**
+         * Absolute watched file path.
+         */
+        @NotNull
+        private final String path;
+
+        /**
+         * Whether or not watched file is a directory.
+         */
+        private final boolean directory;
+
+        /**
+         * Directory registered within {@link NativeFileWatcher} or {@code null} if watched file is only polled.
+         */
+        @Nullable
+        private final File nativeDirectory;
+
+        /**
+         * Registered {@link FileWatch}es.
+         */
+        @NotNull
+        private final List<FileWatch> watches;
+
+        /**
+         * Smallest delay between checks among registered {@link FileWatch}es.
+         */
+        private volatile long delay;
+
+        /**
+         * Whether or not any of the registered {@link FileWatch}es requested modifications of the files within watched directory.
+         */
+        private volatile boolean children;
+
+        /**
+         * Time of the next check.
+         */
+        private volatile long nextCheck;
+
+        /**
+         * Whether or not {@link NativeFileWatcher} reported changes since the last check.
+         */
+        private volatile boolean notified;
+
+        /**
+         * Last reported modification time.
+         */
+        private long lastModified;
+
+        /**
+         * Whether or not there is a modification waiting to be reported.
+         */
+        private boolean pending;
+
+        /**
+         * Modification time waiting to be reported.
+         */
+        private long pendingModified;
+
+        /**
+         * Modification times of the files directly within watched directory or {@code null} if they aren't checked.
+         */
+        @Nullable
+        private Map<String, Long> childrenModified;
+
+        /**
+         * Constructs new {@link WatchedFile}.
+         *
+         * @param file            absolute watched file
+         * @param nativeDirectory directory registered within {@link NativeFileWatcher} or {@code null} if file is only polled
+         */
+        public WatchedFile ( @NotNull final File file, @Nullable final File nativeDirectory )
+        {
+            this.file = file;
+            this.path = file.getPath ();
+            this.directory = file.isDirectory ();
+            this.nativeDirectory = nativeDirectory;
+            this.watches = new ArrayList<FileWatch> ( 1 );
+            this.lastModified = file.lastModified ();
+            this.delay = Long.MAX_VALUE;
+        }
+
+        /**
+         * Updates delay between checks and children flag according to registered {@link FileWatch}es.
+         */
+        public void update ()
+        {
+            long smallest = Long.MAX_VALUE;
+            boolean anyChildren = false;
+            for ( final FileWatch watch : watches )
+            {
+                smallest = Math.min ( smallest, watch.getDelay () );
+                anyChildren |= watch.isWatchingChildren ();
+            }
+            delay = smallest;
+            children = anyChildren;
+            nextCheck = Math.min ( nextCheck == 0 ? Long.MAX_VALUE : nextCheck, System.currentTimeMillis () + smallest );
+        }
+    }
+}
\ No newline at end of file
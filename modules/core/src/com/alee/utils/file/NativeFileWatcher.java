@@ -0,0 +1,55 @@
+/*
+ * This file is part of WebLookAndFeel library.
+ *
+ * WebLookAndFeel library is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * WebLookAndFeel library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with WebLookAndFeel library.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.alee.utils.file;
+
+import com.alee.api.annotations.NotNull;
+
+import java.io.File;
+
+/**
+ * Native file system notifications source used by {@link FileWatchService} to check watched files as soon as they change.
+ * Changes are reported to {@link SystemFileListener} provided upon creation: {@link SystemFileListener#modified(File)} is called
+ * with the registered directory whenever anything changes within it and {@link SystemFileListener#unbound(File)} is called
+ * when registered directory cannot be watched anymore.
+ *
+ * @author Mikle Garin
+ * @see FileWatchHelper#createNativeWatcher(String, SystemFileListener)
+ */
+interface NativeFileWatcher
+{
+    /**
+     * Starts receiving notifications for the specified directory.
+     * Each successful registration must be followed by a single {@link #unregister(File)} call.
+     *
+     * @param directory directory to receive notifications for
+     * @return {@code true} if notifications will be received for the specified directory, {@code false} otherwise
+     */
+    public boolean register ( @NotNull File directory );
+
+    /**
+     * Stops receiving notifications for the specified directory.
+     *
+     * @param directory directory to stop receiving notifications for
+     */
+    public void unregister ( @NotNull File directory );
+
+    /**
+     * Stops receiving all notifications and releases all resources.
+     */
+    public void close ();
+}
@@ -20,16 +20,21 @@ package com.alee.utils.file;
 import java.io.File;
 
 /**
- * This is a custom listener used to track single file in file system.
+ * This is a custom listener used to track single file or directory in file system.
  *
  * @author Mikle Garin
+ * @see FileWatchService
  */
 public interface SystemFileListener
 {
     /**
      * Informs that tracked file was modified.
+     * Directory is considered modified when files are added, removed or renamed within it.
      *
-     * @param file tracked file
+     * It is also called with modified files directly within tracked directory, but only when directory is watched through
+     * {@link FileWatchService#watch(File, SystemFileListener, long, boolean)} with children modifications requested.
+     *
+     * @param file tracked file or modified file within tracked directory
      */
     public void modified ( File file );
 
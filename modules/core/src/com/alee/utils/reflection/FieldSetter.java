@@ -0,0 +1,63 @@
+/*
+ * This file is part of WebLookAndFeel library.
+ *
+ * WebLookAndFeel library is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * WebLookAndFeel library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with WebLookAndFeel library.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.alee.utils.reflection;
+
+import com.alee.api.annotations.NotNull;
+import com.alee.api.annotations.Nullable;
+import com.alee.utils.ReflectUtils;
+
+import java.lang.reflect.Field;
+
+/**
+ * {@link PropertySetter} that applies property value directly into {@link Field} using reflection.
+ * It is also able to modify {@code final} fields, see {@link ReflectUtils#setFieldValue(Object, Field, Object)}.
+ *
+ * @author Mikle Garin
+ * @see SetterHelper
+ */
+public final class FieldSetter implements PropertySetter
+{
+    /**
+     * Property {@link Field}.
+     */
+    @NotNull
+    private final Field field;
+
+    /**
+     * Constructs new {@link FieldSetter}.
+     *
+     * @param field accessible property {@link Field}
+     */
+    public FieldSetter ( @NotNull final Field field )
+    {
+        this.field = field;
+    }
+
+    @NotNull
+    @Override
+    public Class<?> getType ()
+    {
+        return field.getType ();
+    }
+
+    @Override
+    public void set ( @NotNull final Object object, @Nullable final Object value ) throws IllegalAccessException
+    {
+        ReflectUtils.setFieldValue ( object, field, value );
+    }
+}
\ No newline at end of file
@@ -0,0 +1,62 @@
+/*
+ * This file is part of WebLookAndFeel library.
+ *
+ * WebLookAndFeel library is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * WebLookAndFeel library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with WebLookAndFeel library.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.alee.utils.reflection;
+
+import com.alee.api.annotations.NotNull;
+import com.alee.api.annotations.Nullable;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+
+/**
+ * {@link PropertySetter} that applies property value through setter {@link Method} using reflection.
+ *
+ * @author Mikle Garin
+ * @see SetterHelper
+ */
+public final class MethodSetter implements PropertySetter
+{
+    /**
+     * Setter {@link Method}.
+     */
+    @NotNull
+    private final Method method;
+
+    /**
+     * Constructs new {@link MethodSetter}.
+     *
+     * @param method accessible setter {@link Method}
+     */
+    public MethodSetter ( @NotNull final Method method )
+    {
+        this.method = method;
+    }
+
+    @NotNull
+    @Override
+    public Class<?> getType ()
+    {
+        return method.getParameterTypes ()[ 0 ];
+    }
+
+    @Override
+    public void set ( @NotNull final Object object, @Nullable final Object value ) throws InvocationTargetException, IllegalAccessException
+    {
+        method.invoke ( object, value );
+    }
+}
\ No newline at end of file
@@ -0,0 +1,53 @@
+/*
+ * This file is part of WebLookAndFeel library.
+ *
+ * WebLookAndFeel library is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * WebLookAndFeel library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with WebLookAndFeel library.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.alee.utils.reflection;
+
+import com.alee.api.annotations.NotNull;
+import com.alee.api.annotations.Nullable;
+
+import java.lang.reflect.InvocationTargetException;
+
+/**
+ * Resolved accessor for applying value of a single object property.
+ * It is acquired once per class, property name and value type through {@link com.alee.utils.ReflectUtils#getPropertySetter(Class, String, Class)}
+ * and can be used afterwards to apply property value to any instance of that class without repeating reflection lookups.
+ *
+ * @author Mikle Garin
+ * @see SetterHelper
+ * @see com.alee.utils.ReflectUtils#getPropertySetter(Class, String, Class)
+ */
+public interface PropertySetter
+{
+    /**
+     * Returns type of the values accepted by this {@link PropertySetter}.
+     *
+     * @return type of the values accepted by this {@link PropertySetter}
+     */
+    @NotNull
+    public Class<?> getType ();
+
+    /**
+     * Applies property value to the specified object.
+     *
+     * @param object object to apply property value to
+     * @param value  property value
+     * @throws InvocationTargetException if setter method throws an exception
+     * @throws IllegalAccessException    if setter method or field is inaccessible
+     */
+    public void set ( @NotNull Object object, @Nullable Object value ) throws InvocationTargetException, IllegalAccessException;
+}
\ No newline at end of file
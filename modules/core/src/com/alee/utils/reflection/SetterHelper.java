@@ -0,0 +1,59 @@
+/*
+ * This file is part of WebLookAndFeel library.
+ *
+ * WebLookAndFeel library is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * WebLookAndFeel library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with WebLookAndFeel library.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.alee.utils.reflection;
+
+import com.alee.api.annotations.NotNull;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+
+/**
+ * {@link PropertySetter} helper.
+ *
+ * @author Mikle Garin
+ */
+public final class SetterHelper
+{
+    /*
+     * Note: modules/core/java12/com/alee/utils/reflection/SetterHelper.java
+     */
+
+    /**
+     * Returns new {@link PropertySetter} for the specified setter {@link Method}.
+     *
+     * @param method accessible setter {@link Method}
+     * @return new {@link PropertySetter} for the specified setter {@link Method}
+     */
+    @NotNull
+    public static PropertySetter createSetter ( @NotNull final Method method )
+    {
+        return new MethodSetter ( method );
+    }
+
+    /**
+     * Returns new {@link PropertySetter} for the specified {@link Field}.
+     *
+     * @param field accessible property {@link Field}
+     * @return new {@link PropertySetter} for the specified {@link Field}
+     */
+    @NotNull
+    public static PropertySetter createSetter ( @NotNull final Field field )
+    {
+        return new FieldSetter ( field );
+    }
+}
\ No newline at end of file
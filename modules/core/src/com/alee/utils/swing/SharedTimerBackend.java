@@ -0,0 +1,409 @@
+/*
+ * This file is part of WebLookAndFeel library.
+ *
+ * WebLookAndFeel library is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * WebLookAndFeel library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with WebLookAndFeel library.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.alee.utils.swing;
+
+import com.alee.api.annotations.NotNull;
+import com.alee.api.annotations.Nullable;
+
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Default {@link TimerBackend} implementation that multiplexes all {@link WebTimer}s on a small set of shared {@link Thread}s.
+ *
+ * Tasks are scheduled on a single scheduler {@link Thread}. Non-blocking tasks, like the ones that only hand work over to EDT, are
+ * executed right on the scheduler {@link Thread}. Blocking tasks are executed on a pool of worker {@link Thread}s which grows whenever
+ * all workers are busy and shrinks once they stay idle, so tasks blocking for a long time never delay or starve other tasks.
+ *
+ * Daemon and non-daemon tasks use separate {@link Thread}s, non-daemon {@link Thread}s only stay alive while there are pending
+ * non-daemon tasks and shortly afterwards, so they do not prevent JVM from shutting down once timers stop.
+ *
+ * This backend also collects some basic metrics: amount of live {@link Thread}s and drift between planned and actual task execution time.
+ *
+ * @author Mikle Garin
+ * @see TimerBackend
+ * @see WebTimer
+ */
+public class SharedTimerBackend implements TimerBackend
+{
+    /**
+     * Time in milliseconds non-daemon {@link Thread}s are kept alive without any tasks.
+     */
+    protected static final long USER_KEEP_ALIVE = 1000;
+
+    /**
+     * Time in milliseconds daemon {@link Thread}s are kept alive without any tasks.
+     */
+    protected static final long DAEMON_KEEP_ALIVE = 60000;
+
+    /**
+     * Base name for {@link Thread}s.
+     */
+    @NotNull
+    protected final String name;
+
+    /**
+     * {@link Pool} for daemon tasks.
+     */
+    @Nullable
+    protected Pool daemonPool;
+
+    /**
+     * {@link Pool} for non-daemon tasks.
+     */
+    @Nullable
+    protected Pool userPool;
+
+    /**
+     * Amount of executed tasks.
+     */
+    @NotNull
+    protected final AtomicLong executed;
+
+    /**
+     * Total drift in nanoseconds between planned and actual task execution time.
+     */
+    @NotNull
+    protected final AtomicLong totalDrift;
+
+    /**
+     * Maximum drift in nanoseconds between planned and actual task execution time.
+     */
+    @NotNull
+    protected final AtomicLong maxDrift;
+
+    /**
+     * Constructs new {@link SharedTimerBackend}.
+     */
+    public SharedTimerBackend ()
+    {
+        this ( WebTimer.defaultThreadName );
+    }
+
+    /**
+     * Constructs new {@link SharedTimerBackend}.
+     *
+     * @param name base name for {@link Thread}s
+     */
+    public SharedTimerBackend ( @NotNull final String name )
+    {
+        this.name = name;
+        this.executed = new AtomicLong ( 0 );
+        this.totalDrift = new AtomicLong ( 0 );
+        this.maxDrift = new AtomicLong ( 0 );
+    }
+
+    @NotNull
+    @Override
+    public Future<?> schedule ( @NotNull final Runnable task, final long delay, final boolean daemon, final boolean blocking )
+    {
+        final Pool pool = getPool ( daemon );
+        final long planned = System.nanoTime () + TimeUnit.MILLISECONDS.toNanos ( delay );
+        final Runnable execution = new Runnable ()
+        {
+            @Override
+            public void run ()
+            {
+                updateDrift ( System.nanoTime () - planned );
+                task.run ();
+            }
+        };
+        final ScheduledFuture<?> future = pool.scheduler.schedule ( blocking ? new Runnable ()
+        {
+            @Override
+            public void run ()
+            {
+                pool.workers.execute ( execution );
+            }
+        } : execution, delay, TimeUnit.MILLISECONDS );
+        return new ScheduledTask ( pool, future );
+    }
+
+    /**
+     * Returns {@link Pool} for daemon or non-daemon tasks.
+     *
+     * @param daemon whether or not {@link Pool} for daemon tasks should be returned
+     * @return {@link Pool} for daemon or non-daemon tasks
+     */
+    @NotNull
+    protected synchronized Pool getPool ( final boolean daemon )
+    {
+        final Pool pool;
+        if ( daemon )
+        {
+            if ( daemonPool == null )
+            {
+                daemonPool = new Pool ( name + "-daemon", true, DAEMON_KEEP_ALIVE );
+            }
+            pool = daemonPool;
+        }
+        else
+        {
+            if ( userPool == null )
+            {
+                userPool = new Pool ( name, false, USER_KEEP_ALIVE );
+            }
+            pool = userPool;
+        }
+        return pool;
+    }
+
+    /**
+     * Updates drift metrics.
+     *
+     * @param drift drift in nanoseconds between planned and actual task execution time
+     */
+    protected void updateDrift ( final long drift )
+    {
+        executed.incrementAndGet ();
+        totalDrift.addAndGet ( drift );
+        long max;
+        do
+        {
+            max = maxDrift.get ();
+        }
+        while ( drift > max && !maxDrift.compareAndSet ( max, drift ) );
+    }
+
+    /**
+     * Returns amount of currently alive {@link Thread}s used by this {@link SharedTimerBackend}.
+     *
+     * @return amount of currently alive {@link Thread}s used by this {@link SharedTimerBackend}
+     */
+    public synchronized int getThreadCount ()
+    {
+        return ( daemonPool != null ? daemonPool.getThreadCount () : 0 ) + ( userPool != null ? userPool.getThreadCount () : 0 );
+    }
+
+    /**
+     * Returns maximum amount of {@link Thread}s that were simultaneously alive in this {@link SharedTimerBackend}.
+     *
+     * @return maximum amount of {@link Thread}s that were simultaneously alive in this {@link SharedTimerBackend}
+     */
+    public synchronized int getLargestThreadCount ()
+    {
+        return ( daemonPool != null ? daemonPool.getLargestThreadCount () : 0 ) +
+                ( userPool != null ? userPool.getLargestThreadCount () : 0 );
+    }
+
+    /**
+     * Returns amount of executed tasks.
+     *
+     * @return amount of executed tasks
+     */
+    public long getExecutedCount ()
+    {
+        return executed.get ();
+    }
+
+    /**
+     * Returns average drift in milliseconds between planned and actual task execution time.
+     *
+     * @return average drift in milliseconds between planned and actual task execution time
+     */
+    public double getAverageDrift ()
+    {
+        final long count = executed.get ();
+        return count > 0 ? totalDrift.get () / ( double ) count / 1000000.0 : 0;
+    }
+
+    /**
+     * Returns maximum drift in milliseconds between planned and actual task execution time.
+     *
+     * @return maximum drift in milliseconds between planned and actual task execution time
+     */
+    public double getMaxDrift ()
+    {
+        return maxDrift.get () / 1000000.0;
+    }
+
+    /**
+     * Resets drift metrics.
+     */
+    public void resetStatistics ()
+    {
+        executed.set ( 0 );
+        totalDrift.set ( 0 );
+        maxDrift.set ( 0 );
+    }
+
+    /**
+     * Scheduler and workers used for either daemon or non-daemon tasks.
+     */
+    protected static class Pool
+    {
+        /**
+         * Scheduler that executes non-blocking tasks and hands blocking ones over to workers.
+         */
+        @NotNull
+        protected final ScheduledThreadPoolExecutor scheduler;
+
+        /**
+         * Workers executing blocking tasks.
+         */
+        @NotNull
+        protected final ThreadPoolExecutor workers;
+
+        /**
+         * Constructs new {@link Pool}.
+         *
+         * @param name      base name for {@link Thread}s
+         * @param daemon    whether or not {@link Thread}s should be daemon
+         * @param keepAlive time in milliseconds {@link Thread}s are kept alive without any tasks
+         */
+        public Pool ( @NotNull final String name, final boolean daemon, final long keepAlive )
+        {
+            scheduler = new ScheduledThreadPoolExecutor ( 1, new TimerThreadFactory ( name + "-scheduler", daemon ) );
+            scheduler.setKeepAliveTime ( keepAlive, TimeUnit.MILLISECONDS );
+            scheduler.allowCoreThreadTimeOut ( true );
+            workers = new ThreadPoolExecutor ( 0, Integer.MAX_VALUE, keepAlive, TimeUnit.MILLISECONDS,
+                    new SynchronousQueue<Runnable> (), new TimerThreadFactory ( name, daemon ) );
+        }
+
+        /**
+         * Returns amount of currently alive {@link Thread}s.
+         *
+         * @return amount of currently alive {@link Thread}s
+         */
+        public int getThreadCount ()
+        {
+            return scheduler.getPoolSize () + workers.getPoolSize ();
+        }
+
+        /**
+         * Returns maximum amount of {@link Thread}s that were simultaneously alive.
+         *
+         * @return maximum amount of {@link Thread}s that were simultaneously alive
+         */
+        public int getLargestThreadCount ()
+        {
+            return scheduler.getLargestPoolSize () + workers.getLargestPoolSize ();
+        }
+    }
+
+    /**
+     * {@link Future} of the scheduled task.
+     * Cancelled task is removed from the scheduler queue right away, so that it doesn't keep scheduler {@link Thread} alive.
+     */
+    protected static class ScheduledTask implements Future<Object>
+    {
+        /**
+         * {@link Pool} task was scheduled in.
+         */
+        @NotNull
+        protected final Pool pool;
+
+        /**
+         * Actual {@link ScheduledFuture}.
+         */
+        @NotNull
+        protected final ScheduledFuture<?> future;
+
+        /**
+         * Constructs new {@link ScheduledTask}.
+         *
+         * @param pool   {@link Pool} task was scheduled in
+         * @param future actual {@link ScheduledFuture}
+         */
+        public ScheduledTask ( @NotNull final Pool pool, @NotNull final ScheduledFuture<?> future )
+        {
+            this.pool = pool;
+            this.future = future;
+        }
+
+        @Override
+        public boolean cancel ( final boolean mayInterruptIfRunning )
+        {
+            final boolean cancelled = future.cancel ( mayInterruptIfRunning );
+            if ( cancelled )
+            {
+                pool.scheduler.remove ( ( Runnable ) future );
+            }
+            return cancelled;
+        }
+
+        @Override
+        public boolean isCancelled ()
+        {
+            return future.isCancelled ();
+        }
+
+        @Override
+        public boolean isDone ()
+        {
+            return future.isDone ();
+        }
+
+        @Override
+        public Object get () throws InterruptedException, ExecutionException
+        {
+            return future.get ();
+        }
+
+        @Override
+        public Object get ( final long timeout, @NotNull final TimeUnit unit ) throws InterruptedException, ExecutionException, TimeoutException
+        {
+            return future.get ( timeout, unit );
+        }
+    }
+
+    /**
+     * {@link ThreadFactory} for {@link SharedTimerBackend} {@link Thread}s.
+     */
+    protected static class TimerThreadFactory implements ThreadFactory
+    {
+        /**
+         * Base name for {@link Thread}s.
+         */
+        @NotNull
+        protected final String name;
+
+        /**
+         * Whether or not {@link Thread}s should be daemon.
+         */
+        protected final boolean daemon;
+
+        /**
+         * {@link Thread} number.
+         */
+        @NotNull
+        protected final AtomicLong number;
+
+        /**
+         * Constructs new {@link TimerThreadFactory}.
+         *
+         * @param name   base name for {@link Thread}s
+         * @param daemon whether or not {@link Thread}s should be daemon
+         */
+        public TimerThreadFactory ( @NotNull final String name, final boolean daemon )
+        {
+            this.name = name;
+            this.daemon = daemon;
+            this.number = new AtomicLong ( 0 );
+        }
+
+        @NotNull
+        @Override
+        public Thread newThread ( @NotNull final Runnable runnable )
+        {
+            final Thread thread = new Thread ( runnable, name + "-" + number.getAndIncrement () );
+            thread.setDaemon ( daemon );
+            return thread;
+        }
+    }
+}
\ No newline at end of file
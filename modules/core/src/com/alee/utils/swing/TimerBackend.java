@@ -0,0 +1,49 @@
+/*
+ * This file is part of WebLookAndFeel library.
+ *
+ * WebLookAndFeel library is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * WebLookAndFeel library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with WebLookAndFeel library.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.alee.utils.swing;
+
+import com.alee.api.annotations.NotNull;
+
+import java.util.concurrent.Future;
+
+/**
+ * Backend used by all {@link WebTimer}s to schedule their cycles.
+ * It allows multiple {@link WebTimer}s to share the same {@link Thread}s instead of spawning a separate {@link Thread} for each timer.
+ *
+ * Custom backend can be installed through {@link WebTimer#setBackend(TimerBackend)}, by default {@link SharedTimerBackend} is used.
+ *
+ * @author Mikle Garin
+ * @see WebTimer
+ * @see SharedTimerBackend
+ */
+public interface TimerBackend
+{
+    /**
+     * Schedules single execution of the specified task after the specified delay.
+     * Blocking task might take a long time to execute, so it should never block execution of other scheduled tasks.
+     * Non-blocking task only hands its work over somewhere else, for instance to EDT, so it can be executed right away.
+     *
+     * @param task     task to execute
+     * @param delay    delay in milliseconds before task execution
+     * @param daemon   whether or not task execution should not prevent JVM from shutting down
+     * @param blocking whether or not task might take a long time to execute
+     * @return {@link Future} that can be used to cancel task execution
+     */
+    @NotNull
+    public Future<?> schedule ( @NotNull Runnable task, long delay, boolean daemon, boolean blocking );
+}
\ No newline at end of file
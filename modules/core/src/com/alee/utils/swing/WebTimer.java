@@ -28,14 +28,14 @@ import javax.swing.event.EventListenerList;
 import java.awt.event.ActionEvent;
 import java.awt.event.ActionListener;
 import java.io.Serializable;
-import java.util.Hashtable;
 import java.util.List;
-import java.util.Map;
+import java.util.concurrent.Future;
 
 /**
- * This timer is a small extension for standard javax.swing.Timer. Instead of running in a single queue it creates separate Threads for
- * each timer and does not affect event-dispatching thread, until events are dispatched. This basically means that you can use any number
- * of Timer instances and you can run them altogether without having any issues.
+ * This timer is a small extension for standard javax.swing.Timer. Instead of running in a single queue it schedules its cycles through
+ * {@link TimerBackend} shared by all timers and does not affect event-dispatching thread, until events are dispatched. This basically means
+ * that you can use any number of Timer instances and you can run them altogether without having any issues and without spawning a
+ * separate thread for each of them.
  *
  * Also this Timer implementation offers a variety of additional features and improvements which standard timer doesn't have (for example
  * you can dispatch events in a separate non-EDT thread and as a result avoid using EDT at all where it is not necessary).
@@ -47,7 +47,7 @@ import java.util.Map;
 public class WebTimer implements Serializable
 {
     /**
-     * Default name for timer thread.
+     * Default timer name, also used as base name for {@link Thread}s shared by all timers.
      */
     public static String defaultThreadName = "WebTimer";
 
@@ -61,6 +61,13 @@ public class WebTimer implements Serializable
      */
     public static boolean useEdtByDefault = true;
 
+    /**
+     * {@link TimerBackend} used by all timers to schedule their cycles.
+     * It is lazily initialized with {@link SharedTimerBackend} by default.
+     */
+    @Nullable
+    private static TimerBackend backend;
+
     /**
      * Delay between timer cycles in milliseconds.
      */
@@ -91,13 +98,14 @@ public class WebTimer implements Serializable
     /**
      * Whether should use daemon thread instead of user one or not.
      * Daemon thread will allow JVM to shutdown even if timer is still running.
+     * Threads are provided by {@link TimerBackend} and are shared with other timers using the same setting.
      * This option should be set before starting timer to have any effect.
      */
     protected boolean useDaemonThread = false;
 
     /**
      * Whether or not timer should use non-blocking stop method behavior.
-     * Blocking behavior will join execution thread (and possibly EDT with it).
+     * Blocking behavior will wait for ongoing cycle actions fired outside of EDT to finish.
      * Non-blocking behavior will simply send abort commands and continue without waiting for actual execution to stop.
      */
     protected boolean nonBlockingStop = false;
@@ -109,7 +117,8 @@ public class WebTimer implements Serializable
     protected String actionCommand;
 
     /**
-     * Internal timer thread name.
+     * Timer name.
+     * It is only a label used to identify the timer, it doesn't name any threads since threads are shared by all timers.
      */
     @NotNull
     protected String name;
@@ -125,22 +134,6 @@ public class WebTimer implements Serializable
      */
     protected final EventListenerList listeners;
 
-    /**
-     * Unique (within one timer instance) ID of currently running thread.
-     */
-    protected transient int id;
-
-    /**
-     * ID of previously executed thread.
-     */
-    protected transient int lastId;
-
-    /**
-     * Map of marks for currently active threads.
-     */
-    @NotNull
-    protected transient final Map<Integer, Boolean> running;
-
     /**
      * Last timer cycle start time.
      */
@@ -152,15 +145,17 @@ public class WebTimer implements Serializable
     protected transient long sleepTime;
 
     /**
-     * Number of executed cycles;
+     * Current timer {@link Execution}.
      */
-    protected transient int cycleCount;
+    @Nullable
+    protected transient Execution execution;
 
     /**
-     * Last timer thread.
+     * Last started timer {@link Execution}.
+     * It is kept after {@link Execution} finishes to provide its executed cycles count.
      */
     @Nullable
-    protected transient Thread exec;
+    protected transient Execution lastExecution;
 
     /**
      * Constructs timer with specified delay.
@@ -183,9 +178,9 @@ public class WebTimer implements Serializable
     }
 
     /**
-     * Constructs timer with specified internal thread name and delay.
+     * Constructs timer with specified name and delay.
      *
-     * @param name  internal thread name
+     * @param name  timer name
      * @param delay delay between timer cycles
      */
     public WebTimer ( @NotNull final String name, @NotNull final String delay )
@@ -194,9 +189,9 @@ public class WebTimer implements Serializable
     }
 
     /**
-     * Constructs timer with specified internal thread name and delay.
+     * Constructs timer with specified name and delay.
      *
-     * @param name  internal thread name
+     * @param name  timer name
      * @param delay delay between timer cycles in milliseconds
      */
     public WebTimer ( @NotNull final String name, final long delay )
@@ -216,9 +211,9 @@ public class WebTimer implements Serializable
     }
 
     /**
-     * Constructs timer with specified internal thread name, delay and initial delay.
+     * Constructs timer with specified name, delay and initial delay.
      *
-     * @param name         internal thread name
+     * @param name         timer name
      * @param delay        delay between timer cycles in milliseconds
      * @param initialDelay delay before the first timer cycle run in milliseconds
      */
@@ -250,9 +245,9 @@ public class WebTimer implements Serializable
     }
 
     /**
-     * Constructs timer with specified internal thread name, delay and action listener.
+     * Constructs timer with specified name, delay and action listener.
      *
-     * @param name     internal thread name
+     * @param name     timer name
      * @param delay    delay between timer cycles
      * @param listener action listener
      */
@@ -262,9 +257,9 @@ public class WebTimer implements Serializable
     }
 
     /**
-     * Constructs timer with specified internal thread name, delay and action listener.
+     * Constructs timer with specified name, delay and action listener.
      *
-     * @param name     internal thread name
+     * @param name     timer name
      * @param delay    delay between timer cycles in milliseconds
      * @param listener action listener
      */
@@ -286,9 +281,9 @@ public class WebTimer implements Serializable
     }
 
     /**
-     * Constructs timer with specified internal thread name, delay, initial delay and action listener.
+     * Constructs timer with specified name, delay, initial delay and action listener.
      *
-     * @param name         internal thread name
+     * @param name         timer name
      * @param delay        delay between timer cycles
      * @param initialDelay delay before the first timer cycle run
      * @param listener     action listener
@@ -300,9 +295,9 @@ public class WebTimer implements Serializable
     }
 
     /**
-     * Constructs timer with specified internal thread name, delay, initial delay and action listener.
+     * Constructs timer with specified name, delay, initial delay and action listener.
      *
-     * @param name         internal thread name
+     * @param name         timer name
      * @param delay        delay between timer cycles in milliseconds
      * @param initialDelay delay before the first timer cycle run in milliseconds
      * @param listener     action listener
@@ -316,13 +311,10 @@ public class WebTimer implements Serializable
         this.listeners = new EventListenerList ();
 
         // Runtime variables
-        this.id = 0;
-        this.lastId = -1;
-        this.running = new Hashtable<Integer, Boolean> ();
         this.sleepStart = 0;
         this.sleepTime = 0;
-        this.cycleCount = 0;
-        this.exec = null;
+        this.execution = null;
+        this.lastExecution = null;
 
         // Provided settings
         setDelay ( delay );
@@ -609,9 +601,9 @@ public class WebTimer implements Serializable
     }
 
     /**
-     * Returns internal timer thread name.
+     * Returns timer name.
      *
-     * @return internal timer thread name
+     * @return timer name
      */
     @NotNull
     public String getName ()
@@ -620,19 +612,15 @@ public class WebTimer implements Serializable
     }
 
     /**
-     * Sets internal timer thread name.
+     * Sets timer name.
      *
-     * @param name internal timer thread name
+     * @param name timer name
      * @return this {@link WebTimer}
      */
     @NotNull
     public WebTimer setName ( @NotNull final String name )
     {
         this.name = name;
-        if ( exec != null )
-        {
-            exec.setName ( name );
-        }
         return this;
     }
 
@@ -665,7 +653,8 @@ public class WebTimer implements Serializable
      */
     public int getCycleCount ()
     {
-        return cycleCount;
+        final Execution execution = lastExecution;
+        return execution != null ? execution.cycleCount : 0;
     }
 
     /**
@@ -676,7 +665,7 @@ public class WebTimer implements Serializable
      */
     public int getCycleNumber ()
     {
-        return cycleCount + 1;
+        return getCycleCount () + 1;
     }
 
     /**
@@ -799,160 +788,146 @@ public class WebTimer implements Serializable
      */
     public synchronized boolean isRunning ()
     {
-        return exec != null && exec.isAlive ();
+        return execution != null;
     }
 
     /**
-     * Starts timer execution thread.
+     * Starts timer execution.
      */
     protected synchronized void startExec ()
     {
         // Ignore if timer is already running
         if ( !isRunning () )
         {
-            // Saving current thread unique id
-            lastId = id;
-            id++;
+            // Scheduling first cycle
+            final Execution execution = new Execution ();
+            this.execution = execution;
+            this.lastExecution = execution;
+            final long actualInitialDelay = getInitialDelay () < 0 ? getDelay () : getInitialDelay ();
+            schedule ( execution, actualInitialDelay, true );
+        }
+    }
 
-            // Starting new cycling thread
-            final int currentId = lastId;
-            exec = new Thread ( new Runnable ()
+    /**
+     * Schedules next cycle of the specified {@link Execution}.
+     *
+     * @param execution {@link Execution}
+     * @param delay     delay before cycle run in milliseconds
+     * @param first     whether or not it is the first cycle
+     */
+    protected synchronized void schedule ( @NotNull final Execution execution, final long delay, final boolean first )
+    {
+        if ( execution.active )
+        {
+            if ( delay > 0 )
+            {
+                sleepStart = System.currentTimeMillis ();
+                sleepTime = delay;
+            }
+            execution.future = getBackend ().schedule ( new Runnable ()
             {
                 @Override
                 public void run ()
                 {
-                    // Adding a live thread into map
-                    setAlive ( currentId, true );
-
-                    try
-                    {
-                        // Initial delay
-                        final long actualInitialDelay = getInitialDelay () < 0 ? getDelay () : getInitialDelay ();
-                        if ( actualInitialDelay > 0 )
-                        {
-                            sleepStart = System.currentTimeMillis ();
-                            sleepTime = actualInitialDelay;
-                            Thread.sleep ( actualInitialDelay );
-                        }
-
-                        // Checking if we should stop execution
-                        if ( shouldContinue ( -1, currentId ) )
-                        {
-                            // Clearing cycles count
-                            cycleCount = 0;
-
-                            // Starting cycles execution
-                            if ( repeats )
-                            {
-                                // Repeated events
-                                while ( shouldContinue ( cycleCount, currentId ) )
-                                {
-                                    // Firing events
-                                    fireActionPerformed ( currentId );
-
-                                    // Incrementing cycles count
-                                    cycleCount++;
-
-                                    // Checking if we should stop execution due to changes through events
-                                    if ( !shouldContinue ( cycleCount, currentId ) )
-                                    {
-                                        break;
-                                    }
-
-                                    // Waiting for next execution
-                                    if ( getDelay () > 0 )
-                                    {
-                                        final long currentDelay = getDelay ();
-                                        sleepStart = System.currentTimeMillis ();
-                                        sleepTime = currentDelay;
-                                        Thread.sleep ( currentDelay );
-                                    }
-                                }
-                            }
-                            else
-                            {
-                                // Single event
-                                fireActionPerformed ( currentId );
-
-                                // Incrementing cycles count
-                                cycleCount++;
-                            }
-                        }
-                    }
-                    catch ( final InterruptedException ignored )
-                    {
-                        // Execution interrupted
-                    }
-
-                    // Removing finished thread from map
-                    cleanUp ( currentId );
+                    runCycle ( execution, first );
                 }
-            }, name );
-            exec.setDaemon ( useDaemonThread );
-            exec.start ();
+            }, Math.max ( 0, delay ), useDaemonThread, !useEventDispatchThread );
         }
     }
 
     /**
-     * Returns whether thread with specified ID should continue execution or not.
+     * Runs single cycle of the specified {@link Execution}.
      *
-     * @param cycle cycle number
-     * @param id    execution thread ID
-     * @return true if thread with specified ID should continue execution, false otherwise
+     * @param execution {@link Execution}
+     * @param first     whether or not it is the first cycle
      */
-    protected boolean shouldContinue ( final int cycle, final int id )
+    protected void runCycle ( @NotNull final Execution execution, final boolean first )
     {
-        return running.get ( id ) && !Thread.currentThread ().isInterrupted () && ( cyclesLimit <= 0 || cyclesLimit > cycle );
+        // Firing events
+        if ( shouldContinue ( execution, execution.cycleCount ) )
+        {
+            fireActionPerformed ( execution );
+        }
+        else
+        {
+            finish ( execution );
+        }
     }
 
     /**
-     * Sets whether thread under specified ID is alive or not.
+     * Completes cycle of the specified {@link Execution} and schedules next one if needed.
      *
-     * @param id    thread ID
-     * @param alive whether thread is alive or not
+     * @param execution {@link Execution}
      */
-    protected void setAlive ( final int id, final boolean alive )
+    protected void cycleCompleted ( @NotNull final Execution execution )
     {
-        running.put ( id, alive );
+        // Incrementing cycles count
+        execution.cycleCount++;
+
+        // Waiting for next execution
+        if ( repeats && shouldContinue ( execution, execution.cycleCount ) )
+        {
+            schedule ( execution, getDelay (), false );
+        }
+        else
+        {
+            finish ( execution );
+        }
     }
 
     /**
-     * Cleans thread ID cache.
+     * Returns whether specified {@link Execution} should continue or not.
      *
-     * @param id thread ID
+     * @param execution {@link Execution}
+     * @param cycle     cycle number
+     * @return {@code true} if specified {@link Execution} should continue, {@code false} otherwise
      */
-    protected void cleanUp ( final int id )
+    protected boolean shouldContinue ( @NotNull final Execution execution, final int cycle )
     {
-        running.remove ( id );
+        return execution.active && ( cyclesLimit <= 0 || cyclesLimit > cycle );
     }
 
     /**
-     * Stops timer execution.
+     * Finishes specified {@link Execution}.
+     *
+     * @param execution {@link Execution}
      */
-    protected synchronized void stopExec ()
+    protected synchronized void finish ( @NotNull final Execution execution )
     {
-        if ( exec != null && isRunning () )
+        execution.active = false;
+        if ( this.execution == execution )
         {
-            // Interrupt thread
-            exec.interrupt ();
-
-            // Stop execution from inside
-            setAlive ( lastId, false );
+            this.execution = null;
+        }
+    }
 
-            // Depending on behavior we might join current execution thread
-            if ( !nonBlockingStop )
+    /**
+     * Stops timer execution.
+     */
+    protected void stopExec ()
+    {
+        final Execution execution;
+        synchronized ( this )
+        {
+            execution = this.execution;
+            if ( execution != null )
             {
-                try
-                {
-                    // Wait for execution to stop
-                    exec.join ();
-                }
-                catch ( final InterruptedException ignored )
+                // Stop execution from inside
+                finish ( execution );
+
+                // Cancelling scheduled cycle
+                if ( execution.future != null )
                 {
-                    // No need to log interruption
+                    execution.future.cancel ( false );
                 }
             }
         }
+
+        // Depending on behavior we might wait for ongoing actions to finish
+        if ( execution != null && !nonBlockingStop )
+        {
+            execution.await ();
+        }
     }
 
     /**
@@ -994,10 +969,13 @@ public class WebTimer implements Serializable
     }
 
     /**
-     * Fires action events.
+     * Fires action events once without affecting timer cycles.
+     * Events are fired on EDT and this method waits for them if {@link #isUseEventDispatchThread()} is {@code true}.
      *
-     * @param id execution thread ID
+     * @param id execution thread ID, not used anymore since timer executions are no longer identified by IDs
+     * @deprecated timer cycles are fired through {@link #fireActionPerformed(Execution)} now, this method will be removed in future
      */
+    @Deprecated
     public void fireActionPerformed ( final int id )
     {
         if ( listeners.getListenerCount ( ActionListener.class ) > 0 )
@@ -1008,61 +986,181 @@ public class WebTimer implements Serializable
             // Event
             final ActionEvent actionEvent = createActionEvent ();
 
+            // Current execution, separate one is used if timer is not running
+            final Execution current = execution;
+            final Execution execution = current != null ? current : new Execution ();
+
+            // Dispatch event in chosen way
+            if ( useEventDispatchThread )
+            {
+                CoreSwingUtils.invokeAndWait ( new Runnable ()
+                {
+                    @Override
+                    public void run ()
+                    {
+                        performActions ( execution, listenerList, actionEvent, false );
+                    }
+                }, true );
+            }
+            else
+            {
+                performActions ( execution, listenerList, actionEvent, false );
+            }
+        }
+    }
+
+    /**
+     * Fires action events for the specified {@link Execution}.
+     * Next cycle is only scheduled once all actions are performed.
+     *
+     * @param execution {@link Execution}
+     */
+    protected void fireActionPerformed ( @NotNull final Execution execution )
+    {
+        if ( listeners.getListenerCount ( ActionListener.class ) > 0 )
+        {
+            // Working with local array
+            final ActionListener[] listenerList = listeners.getListeners ( ActionListener.class );
+
+            // Event
+            final ActionEvent actionEvent = createActionEvent ();
+
             // Dispatch event in chosen way
             if ( useEventDispatchThread )
             {
                 if ( coalesce )
                 {
-                    // Check execution stop
-                    if ( shouldContinue ( cycleCount, id ) )
+                    // Merge all events into single call to event dispatch thread
+                    // This approach is handy when you need to fire all timer listeners at once
+                    // Thought it might diminish UI responsiveness when fires take a lot of processing time
+                    CoreSwingUtils.invokeLater ( new Runnable ()
                     {
-                        // Merge all events into single call to event dispatch thread
-                        // This approach is handy when you need to fire all timer listeners at once
-                        // Thought it might diminish UI responsiveness when fires take a lot of processing time
-                        CoreSwingUtils.invokeAndWait ( new Runnable ()
+                        @Override
+                        public void run ()
                         {
-                            @Override
-                            public void run ()
+                            // Check execution stop
+                            if ( shouldContinue ( execution, execution.cycleCount ) )
                             {
-                                for ( final ActionListener listener : listenerList )
-                                {
-                                    listener.actionPerformed ( actionEvent );
-                                }
+                                performActions ( execution, listenerList, actionEvent );
                             }
-                        }, true );
-                    }
+                            else
+                            {
+                                finish ( execution );
+                            }
+                        }
+                    } );
                 }
                 else
                 {
                     // Make separate event calls to event dispatch thread
                     // This approach is handy when all timer listeners don't need to be fired all at once
                     // It will spread workload on EDT allowing UI to be responsive between the separate fires
-                    for ( final ActionListener listener : listenerList )
-                    {
-                        // Check execution stop
-                        if ( shouldContinue ( cycleCount, id ) )
-                        {
-                            CoreSwingUtils.invokeAndWait ( new Runnable ()
-                            {
-                                @Override
-                                public void run ()
-                                {
-                                    listener.actionPerformed ( actionEvent );
-                                }
-                            }, true );
-                        }
-                    }
+                    fireActionPerformedLater ( execution, listenerList, 0, actionEvent );
                 }
             }
             else
             {
                 // Execute events in the same thread with timer
-                for ( final ActionListener listener : listenerList )
+                execution.fireStarted ();
+                try
                 {
-                    listener.actionPerformed ( actionEvent );
+                    performActions ( execution, listenerList, actionEvent );
+                }
+                finally
+                {
+                    execution.fireFinished ();
                 }
             }
         }
+        else
+        {
+            // There is nothing to fire
+            cycleCompleted ( execution );
+        }
+    }
+
+    /**
+     * Fires action event for the specified listener separately on EDT and continues with the next one afterwards.
+     *
+     * @param execution    {@link Execution}
+     * @param listenerList listeners to fire action event for
+     * @param index        index of the listener to fire action event for
+     * @param actionEvent  {@link ActionEvent}
+     */
+    protected void fireActionPerformedLater ( @NotNull final Execution execution, @NotNull final ActionListener[] listenerList,
+                                              final int index, @NotNull final ActionEvent actionEvent )
+    {
+        CoreSwingUtils.invokeLater ( new Runnable ()
+        {
+            @Override
+            public void run ()
+            {
+                // Check execution stop
+                if ( shouldContinue ( execution, execution.cycleCount ) )
+                {
+                    if ( index < listenerList.length - 1 )
+                    {
+                        performActions ( execution, new ActionListener[]{ listenerList[ index ] }, actionEvent, false );
+                        fireActionPerformedLater ( execution, listenerList, index + 1, actionEvent );
+                    }
+                    else
+                    {
+                        performActions ( execution, new ActionListener[]{ listenerList[ index ] }, actionEvent );
+                    }
+                }
+                else
+                {
+                    finish ( execution );
+                }
+            }
+        } );
+    }
+
+    /**
+     * Performs specified actions and completes current cycle of the specified {@link Execution}.
+     *
+     * @param execution    {@link Execution}
+     * @param listenerList listeners to fire action event for
+     * @param actionEvent  {@link ActionEvent}
+     */
+    protected void performActions ( @NotNull final Execution execution, @NotNull final ActionListener[] listenerList,
+                                    @NotNull final ActionEvent actionEvent )
+    {
+        performActions ( execution, listenerList, actionEvent, true );
+    }
+
+    /**
+     * Performs specified actions and optionally completes current cycle of the specified {@link Execution}.
+     * Any exception thrown by actions finishes {@link Execution}, just like it would stop a separate timer thread.
+     *
+     * @param execution    {@link Execution}
+     * @param listenerList listeners to fire action event for
+     * @param actionEvent  {@link ActionEvent}
+     * @param complete     whether or not current cycle should be completed afterwards
+     */
+    protected void performActions ( @NotNull final Execution execution, @NotNull final ActionListener[] listenerList,
+                                    @NotNull final ActionEvent actionEvent, final boolean complete )
+    {
+        boolean performed = false;
+        try
+        {
+            for ( final ActionListener listener : listenerList )
+            {
+                listener.actionPerformed ( actionEvent );
+            }
+            performed = true;
+        }
+        finally
+        {
+            if ( !performed )
+            {
+                finish ( execution );
+            }
+        }
+        if ( complete )
+        {
+            cycleCompleted ( execution );
+        }
     }
 
     /**
@@ -1110,7 +1208,7 @@ public class WebTimer implements Serializable
     /**
      * Returns newly created and started timer that doesn't repeat and has the specified delay and action listener.
      *
-     * @param name     thread name
+     * @param name     timer name
      * @param delay    delay between timer cycles
      * @param listener action listener
      * @return newly created and started timer
@@ -1123,7 +1221,7 @@ public class WebTimer implements Serializable
     /**
      * Returns newly created and started timer that doesn't repeat and has the specified delay and action listener.
      *
-     * @param name     thread name
+     * @param name     timer name
      * @param delay    delay between timer cycles in milliseconds
      * @param listener action listener
      * @return newly created and started timer
@@ -1163,7 +1261,7 @@ public class WebTimer implements Serializable
     /**
      * Returns newly created and started timer that doesn't repeat and has the specified delay and action listener.
      *
-     * @param name                   thread name
+     * @param name                   timer name
      * @param delay                  delay between timer cycles
      * @param useEventDispatchThread whether actions should be fired from Event Dispatch Thread or not
      * @param listener               action listener
@@ -1178,7 +1276,7 @@ public class WebTimer implements Serializable
     /**
      * Returns newly created and started timer that doesn't repeat and has the specified delay and action listener.
      *
-     * @param name                   thread name
+     * @param name                   timer name
      * @param delay                  delay between timer cycles in milliseconds
      * @param useEventDispatchThread whether actions should be fired from Event Dispatch Thread or not
      * @param listener               action listener
@@ -1249,7 +1347,7 @@ public class WebTimer implements Serializable
     /**
      * Returns newly created and started timer that repeats and has the specified delay and action listener.
      *
-     * @param name     thread name
+     * @param name     timer name
      * @param delay    delay between timer cycles
      * @param listener action listener
      * @return newly created and started timer
@@ -1263,7 +1361,7 @@ public class WebTimer implements Serializable
     /**
      * Returns newly created and started timer that repeats and has the specified delay and action listener.
      *
-     * @param name        thread name
+     * @param name        timer name
      * @param delay       delay between timer cycles
      * @param cyclesLimit timer cycles execution limit
      * @param listener    action listener
@@ -1279,7 +1377,7 @@ public class WebTimer implements Serializable
     /**
      * Returns newly created and started timer that repeats and has the specified delay and action listener.
      *
-     * @param name     thread name
+     * @param name     timer name
      * @param delay    delay between timer cycles in milliseconds
      * @param listener action listener
      * @return newly created and started timer
@@ -1292,7 +1390,7 @@ public class WebTimer implements Serializable
     /**
      * Returns newly created and started timer that repeats and has the specified delay and action listener.
      *
-     * @param name        thread name
+     * @param name        timer name
      * @param delay       delay between timer cycles in milliseconds
      * @param cyclesLimit timer cycles execution limit
      * @param listener    action listener
@@ -1366,7 +1464,7 @@ public class WebTimer implements Serializable
     /**
      * Returns newly created and started timer that repeats and has the specified delay and action listener.
      *
-     * @param name                   thread name
+     * @param name                   timer name
      * @param delay                  delay between timer cycles
      * @param useEventDispatchThread whether actions should be fired from Event Dispatch Thread or not
      * @param listener               action listener
@@ -1382,7 +1480,7 @@ public class WebTimer implements Serializable
     /**
      * Returns newly created and started timer that repeats and has the specified delay and action listener.
      *
-     * @param name                   thread name
+     * @param name                   timer name
      * @param delay                  delay between timer cycles
      * @param cyclesLimit            timer cycles execution limit
      * @param useEventDispatchThread whether actions should be fired from Event Dispatch Thread or not
@@ -1399,7 +1497,7 @@ public class WebTimer implements Serializable
     /**
      * Returns newly created and started timer that repeats and has the specified delay and action listener.
      *
-     * @param name                   thread name
+     * @param name                   timer name
      * @param delay                  delay between timer cycles in milliseconds
      * @param useEventDispatchThread whether actions should be fired from Event Dispatch Thread or not
      * @param listener               action listener
@@ -1414,7 +1512,7 @@ public class WebTimer implements Serializable
     /**
      * Returns newly created and started timer that repeats and has the specified delay and action listener.
      *
-     * @param name                   thread name
+     * @param name                   timer name
      * @param delay                  delay between timer cycles in milliseconds
      * @param cyclesLimit            timer cycles execution limit
      * @param useEventDispatchThread whether actions should be fired from Event Dispatch Thread or not
@@ -1458,7 +1556,7 @@ public class WebTimer implements Serializable
     /**
      * Returns newly created and started timer that repeats and has the specified delay, initial delay and action listener.
      *
-     * @param name         thread name
+     * @param name         timer name
      * @param delay        delay between timer cycles in milliseconds
      * @param initialDelay delay before the first timer cycle run in milliseconds
      * @param listener     action listener
@@ -1473,7 +1571,7 @@ public class WebTimer implements Serializable
     /**
      * Returns newly created and started timer that repeats and has the specified delay, initial delay and action listener.
      *
-     * @param name         thread name
+     * @param name         timer name
      * @param delay        delay between timer cycles in milliseconds
      * @param initialDelay delay before the first timer cycle run in milliseconds
      * @param cyclesLimit  timer cycles execution limit
@@ -1520,7 +1618,7 @@ public class WebTimer implements Serializable
     /**
      * Returns newly created and started timer that repeats and has the specified delay, initial delay and action listener.
      *
-     * @param name                   thread name
+     * @param name                   timer name
      * @param delay                  delay between timer cycles in milliseconds
      * @param initialDelay           delay before the first timer cycle run in milliseconds
      * @param useEventDispatchThread whether actions should be fired from Event Dispatch Thread or not
@@ -1536,7 +1634,7 @@ public class WebTimer implements Serializable
     /**
      * Returns newly created and started timer that repeats and has the specified delay, initial delay and action listener.
      *
-     * @param name                   thread name
+     * @param name                   timer name
      * @param delay                  delay between timer cycles in milliseconds
      * @param initialDelay           delay before the first timer cycle run in milliseconds
      * @param cyclesLimit            timer cycles execution limit
@@ -1559,7 +1657,7 @@ public class WebTimer implements Serializable
      * Returns newly created and started timer that repeats and has the specified delay, initial delay and action listener.
      *
      * @param useDaemonThread whether should use daemon thread instead of user one or not
-     * @param name            thread name
+     * @param name            timer name
      * @param delay           delay between timer cycles in milliseconds
      * @param listener        action listener
      * @return newly created and started timer
@@ -1574,7 +1672,7 @@ public class WebTimer implements Serializable
      * Returns newly created and started timer that repeats and has the specified delay, initial delay and action listener.
      *
      * @param useDaemonThread whether should use daemon thread instead of user one or not
-     * @param name            thread name
+     * @param name            timer name
      * @param delay           delay between timer cycles in milliseconds
      * @param initialDelay    delay before the first timer cycle run in milliseconds
      * @param listener        action listener
@@ -1590,7 +1688,7 @@ public class WebTimer implements Serializable
      * Returns newly created and started timer that repeats and has the specified delay, initial delay and action listener.
      *
      * @param useDaemonThread whether should use daemon thread instead of user one or not
-     * @param name            thread name
+     * @param name            timer name
      * @param delay           delay between timer cycles in milliseconds
      * @param initialDelay    delay before the first timer cycle run in milliseconds
      * @param cyclesLimit     timer cycles execution limit
@@ -1608,4 +1706,97 @@ public class WebTimer implements Serializable
         repeat.start ();
         return repeat;
     }
+
+    /**
+     * Returns {@link TimerBackend} used by all timers to schedule their cycles.
+     *
+     * @return {@link TimerBackend} used by all timers to schedule their cycles
+     */
+    @NotNull
+    public static synchronized TimerBackend getBackend ()
+    {
+        if ( backend == null )
+        {
+            backend = new SharedTimerBackend ();
+        }
+        return backend;
+    }
+
+    /**
+     * Sets {@link TimerBackend} used by all timers to schedule their cycles.
+     * Timers that are already running will continue using it until their next cycle.
+     *
+     * @param backend {@link TimerBackend} used by all timers to schedule their cycles
+     */
+    public static synchronized void setBackend ( @NotNull final TimerBackend backend )
+    {
+        WebTimer.backend = backend;
+    }
+
+    /**
+     * Single timer execution from start until stop or last cycle.
+     * Separate object is used for each execution to avoid any interference of stopped executions with the new ones.
+     */
+    protected static final class Execution
+    {
+        /**
+         * Whether or not this execution is still active.
+         */
+        protected volatile boolean active = true;
+
+        /**
+         * Number of cycles executed by this execution.
+         * Cycles of a single execution never overlap, so it is only modified by one thread at a time.
+         */
+        protected volatile int cycleCount = 0;
+
+        /**
+         * {@link Future} of the scheduled cycle.
+         */
+        @Nullable
+        protected Future<?> future;
+
+        /**
+         * {@link Thread} currently firing actions outside of EDT.
+         */
+        @Nullable
+        private Thread firingThread;
+
+        /**
+         * Marks start of actions firing outside of EDT.
+         */
+        protected synchronized void fireStarted ()
+        {
+            firingThread = Thread.currentThread ();
+        }
+
+        /**
+         * Marks end of actions firing outside of EDT.
+         */
+        protected synchronized void fireFinished ()
+        {
+            firingThread = null;
+            notifyAll ();
+        }
+
+        /**
+         * Waits for ongoing actions firing outside of EDT to finish.
+         * It doesn't wait if called from within the actions themselves.
+         */
+        protected synchronized void await ()
+        {
+            while ( firingThread != null && firingThread != Thread.currentThread () )
+            {
+                try
+                {
+                    wait ();
+                }
+                catch ( final InterruptedException e )
+                {
+                    Thread.currentThread ().interrupt ();
+                    break;
+                }
+            }
+        }
+    }
 }
\ No newline at end of file
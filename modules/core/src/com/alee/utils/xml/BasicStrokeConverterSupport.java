@@ -64,9 +64,19 @@ public class BasicStrokeConverterSupport implements StrokeConverterSupport<Basic
         final String cap = marshalCap ( stroke );
         final String join = marshalJoin ( stroke );
         final String miterlimit = Float.toString ( stroke.getMiterLimit () );
-        final String dash = marshalDash ( stroke );
-        final String phase = Float.toString ( stroke.getDashPhase () );
-        return id + s + width + s + cap + s + join + s + miterlimit + s + dash + s + phase;
+        final String result;
+        if ( stroke.getDashArray () != null )
+        {
+            final String dash = marshalDash ( stroke );
+            final String phase = Float.toString ( stroke.getDashPhase () );
+            result = id + s + width + s + cap + s + join + s + miterlimit + s + dash + s + phase;
+        }
+        else
+        {
+            // Stroke without dash is written without dash settings
+            result = id + s + width + s + cap + s + join + s + miterlimit;
+        }
+        return result;
     }
 
     /**
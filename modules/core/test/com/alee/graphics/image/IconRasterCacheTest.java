@@ -0,0 +1,223 @@
+/*
+ * This file is part of WebLookAndFeel library.
+ *
+ * WebLookAndFeel library is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * WebLookAndFeel library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with WebLookAndFeel library.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.alee.graphics.image;
+
+import com.alee.utils.ImageUtils;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import javax.swing.*;
+import java.awt.*;
+import java.awt.image.BufferedImage;
+
+import static org.junit.Assert.*;
+import static org.junit.Assume.assumeFalse;
+
+/**
+ * Set of JUnit tests for {@link IconRasterCache}.
+ *
+ * @author Mikle Garin
+ */
+public final class IconRasterCacheTest
+{
+    /**
+     * Maximum memory used by cached rasters before tests.
+     */
+    private long maximumMemory;
+
+    /**
+     * Resets cache state.
+     */
+    @Before
+    public void reset ()
+    {
+        maximumMemory = IconRasterCache.getMaximumMemory ();
+        IconRasterCache.clear ();
+        IconRasterCache.resetStatistics ();
+    }
+
+    /**
+     * Restores cache settings.
+     */
+    @After
+    public void restore ()
+    {
+        IconRasterCache.setMaximumMemory ( maximumMemory );
+        IconRasterCache.clear ();
+    }
+
+    /**
+     * Cached raster lookup test.
+     */
+    @Test
+    public void lookup ()
+    {
+        final Object source = new Object ();
+        final BufferedImage raster = new BufferedImage ( 16, 16, BufferedImage.TYPE_INT_ARGB );
+        assertNull ( IconRasterCache.get ( source, "a", 16, 16, 1.0 ) );
+        assertSame ( raster, IconRasterCache.put ( source, "a", 16, 16, 1.0, raster ) );
+        assertSame ( raster, IconRasterCache.get ( source, "a", 16, 16, 1.0 ) );
+        assertNull ( IconRasterCache.get ( source, "b", 16, 16, 1.0 ) );
+        assertNull ( IconRasterCache.get ( source, "a", 16, 16, 2.0 ) );
+        assertNull ( IconRasterCache.get ( new Object (), "a", 16, 16, 1.0 ) );
+        assertEquals ( 1, IconRasterCache.getHits () );
+        assertEquals ( 4, IconRasterCache.getMisses () );
+        assertEquals ( 0.2, IconRasterCache.getHitRate (), 0.0001 );
+        assertEquals ( 16 * 16 * 4, IconRasterCache.getMemory () );
+
+        IconRasterCache.invalidate ( source );
+        assertNull ( IconRasterCache.get ( source, "a", 16, 16, 1.0 ) );
+        assertEquals ( 0, IconRasterCache.getMemory () );
+    }
+
+    /**
+     * Least recently used rasters eviction test.
+     */
+    @Test
+    public void eviction ()
+    {
+        IconRasterCache.setMaximumMemory ( 3 * 16 * 16 * 4 );
+        final Object[] sources = new Object[]{ new Object (), new Object (), new Object (), new Object () };
+        for ( int i = 0; i < 3; i++ )
+        {
+            IconRasterCache.put ( sources[ i ], null, 16, 16, 1.0, new BufferedImage ( 16, 16, BufferedImage.TYPE_INT_ARGB ) );
+        }
+        assertNotNull ( IconRasterCache.get ( sources[ 0 ], null, 16, 16, 1.0 ) );
+        IconRasterCache.put ( sources[ 3 ], null, 16, 16, 1.0, new BufferedImage ( 16, 16, BufferedImage.TYPE_INT_ARGB ) );
+        assertEquals ( 3, IconRasterCache.getSize () );
+        assertEquals ( 1, IconRasterCache.getEvictions () );
+        assertNotNull ( "Recently used raster must stay", IconRasterCache.get ( sources[ 0 ], null, 16, 16, 1.0 ) );
+        assertNull ( "Least recently used raster must be evicted", IconRasterCache.get ( sources[ 1 ], null, 16, 16, 1.0 ) );
+
+        final BufferedImage large = new BufferedImage ( 64, 64, BufferedImage.TYPE_INT_ARGB );
+        assertSame ( large, IconRasterCache.put ( new Object (), null, 64, 64, 1.0, large ) );
+        assertEquals ( "Rasters exceeding memory limit must not be cached", 3, IconRasterCache.getSize () );
+
+        IconRasterCache.setMaximumMemory ( 16 * 16 * 4 );
+        assertEquals ( 1, IconRasterCache.getSize () );
+        assertTrue ( IconRasterCache.getMemory () <= IconRasterCache.getMaximumMemory () );
+    }
+
+    /**
+     * Garbage collected sources rasters removal test.
+     */
+    @Test
+    public void collectedSource ()
+    {
+        Object source = new Object ();
+        IconRasterCache.put ( source, null, 16, 16, 1.0, new BufferedImage ( 16, 16, BufferedImage.TYPE_INT_ARGB ) );
+        assertEquals ( 1, IconRasterCache.getSize () );
+
+        source = null;
+        final long timeout = System.currentTimeMillis () + 10000;
+        while ( IconRasterCache.getSize () > 0 && System.currentTimeMillis () < timeout )
+        {
+            System.gc ();
+            Thread.yield ();
+        }
+        assertEquals ( "Raster must be removed once its source is collected", 0, IconRasterCache.getSize () );
+        assertEquals ( 0, IconRasterCache.getMemory () );
+        assertEquals ( "Removed raster must not count as evicted", 0, IconRasterCache.getEvictions () );
+    }
+
+    /**
+     * Device scale detection test.
+     */
+    @Test
+    public void scale ()
+    {
+        final BufferedImage image = new BufferedImage ( 1, 1, BufferedImage.TYPE_INT_ARGB );
+        final Graphics2D g2d = image.createGraphics ();
+        assertEquals ( 1.0, IconRasterCache.getScale ( g2d ), 0.0 );
+        g2d.translate ( 10, 10 );
+        g2d.scale ( 2.0, 2.0 );
+        assertEquals ( 2.0, IconRasterCache.getScale ( g2d ), 0.0 );
+        g2d.scale ( 1.0, 1.5 );
+        assertEquals ( "Non-uniform scale is not supported", 1.0, IconRasterCache.getScale ( g2d ), 0.0 );
+        g2d.dispose ();
+        assertEquals ( 20, IconRasterCache.getRasterSize ( 16, 1.25 ) );
+    }
+
+    /**
+     * Cache-backed icon copy test.
+     * Copies are created using screen-compatible images, so this test requires graphics environment.
+     */
+    @Test
+    public void rasterCopy ()
+    {
+        assumeFalse ( GraphicsEnvironment.isHeadless () );
+        final Icon icon = new Icon ()
+        {
+            @Override
+            public void paintIcon ( final Component c, final Graphics g, final int x, final int y )
+            {
+                g.setColor ( Color.RED );
+                g.fillRect ( x, y, getIconWidth (), getIconHeight () );
+            }
+
+            @Override
+            public int getIconWidth ()
+            {
+                return 16;
+            }
+
+            @Override
+            public int getIconHeight ()
+            {
+                return 16;
+            }
+        };
+        final BufferedImage image = new BufferedImage ( 32, 32, BufferedImage.TYPE_INT_ARGB );
+        final Graphics2D g2d = image.createGraphics ();
+        g2d.scale ( 2.0, 2.0 );
+        RasterCopyIcon.disabled ( icon ).paintIcon ( null, g2d, 0, 0 );
+        RasterCopyIcon.disabled ( icon ).paintIcon ( null, g2d, 0, 0 );
+        g2d.dispose ();
+
+        assertEquals ( "Raster must be shared between copies", 1, IconRasterCache.getSize () );
+        assertEquals ( 1, IconRasterCache.getHits () );
+        assertEquals ( "Raster must be created for device scale", 32 * 32 * 4, IconRasterCache.getMemory () );
+        final Color color = new Color ( image.getRGB ( 31, 31 ), true );
+        assertTrue ( "Copy must be grayscale", color.getRed () == color.getGreen () && color.getGreen () == color.getBlue () );
+    }
+
+    /**
+     * Eager and cache-backed icon copies test.
+     * Eager copies are snapshots that might be precomputed outside of the EDT, so they must stay cached {@link ImageIcon}s.
+     */
+    @Test
+    public void copyTypes ()
+    {
+        assumeFalse ( GraphicsEnvironment.isHeadless () );
+        final Icon icon = new ImageIcon ( new BufferedImage ( 16, 16, BufferedImage.TYPE_INT_ARGB ) );
+
+        final Icon disabled = ImageUtils.getDisabledCopy ( icon );
+        assertTrue ( "Disabled copy must be an eager snapshot", disabled instanceof ImageIcon );
+        assertSame ( "Disabled copy must be cached", disabled, ImageUtils.getDisabledCopy ( icon ) );
+        assertTrue ( "Created disabled copy must be an eager snapshot", ImageUtils.createDisabledCopy ( icon ) instanceof ImageIcon );
+
+        final Icon transparent = ImageUtils.getTransparentCopy ( icon, 0.5f );
+        assertTrue ( "Transparent copy must be an eager snapshot", transparent instanceof ImageIcon );
+        assertSame ( "Transparent copy must be cached", transparent, ImageUtils.getTransparentCopy ( icon, 0.5f ) );
+
+        assertTrue ( ImageUtils.getDisabledRasterCopy ( icon ) instanceof RasterCopyIcon );
+        assertTrue ( ImageUtils.getTransparentRasterCopy ( icon, 0.5f ) instanceof RasterCopyIcon );
+        assertEquals ( "Raster copies must not create rasters before painting", 0, IconRasterCache.getSize () );
+    }
+}
@@ -387,6 +387,82 @@ public final class LanguageManagerTest
         checkTranslationAbsense ( "ru", "", multiKey );
     }
 
+    /**
+     * Tests modification of {@link Dictionary}s that are already added into {@link LanguageManager}.
+     */
+    @Test
+    public void runtimeDictionaryModification ()
+    {
+        final String key = "weblaf.modified.sub.title";
+        final String enText = "Modified";
+        final String overrideText = "Overridden";
+
+        // Adding empty dictionaries and retrieving translation to compile translation tables
+        final Dictionary dictionary = new Dictionary ( "weblaf.modified" );
+        final Dictionary subdictionary = new Dictionary ( "sub" );
+        dictionary.addDictionary ( subdictionary );
+        LanguageManager.addDictionary ( dictionary );
+        checkTranslationAbsense ( "en", "", key );
+
+        // Modifying subdictionary directly
+        final Record record = new Record ( "title", new Value ( localeFor ( "en", "" ), new Text ( enText ) ) );
+        subdictionary.addRecord ( record );
+        checkTranslationRetrieval ( "en", "", key, enText );
+        checkTranslationRetrieval ( "en", "US", key, enText );
+
+        // Overriding record within parent dictionary
+        final Record override = new Record ( "sub.title", new Value ( localeFor ( "en", "" ), new Text ( overrideText ) ) );
+        dictionary.addRecord ( override );
+        checkTranslationRetrieval ( "en", "", key, overrideText );
+        checkTranslationRetrieval ( "en", "US", key, overrideText );
+
+        // Removing records
+        subdictionary.removeRecord ( record );
+        dictionary.removeRecord ( override );
+        checkTranslationAbsense ( "en", "", key );
+        checkTranslationAbsense ( "en", "US", key );
+
+        // Removing dictionary
+        LanguageManager.removeDictionary ( dictionary );
+    }
+
+    /**
+     * Tests modification of {@link Record}s that are already added into {@link LanguageManager}.
+     */
+    @Test
+    public void runtimeRecordModification ()
+    {
+        final String key = "weblaf.record.title";
+        final String enText = "Title";
+        final String usText = "US Title";
+
+        // Adding dictionary and retrieving translation to compile translation tables
+        final Record record = new Record ( "title", new Value ( localeFor ( "en", "" ), new Text ( enText ) ) );
+        final Dictionary dictionary = new Dictionary ( "weblaf.record" );
+        dictionary.addRecord ( record );
+        LanguageManager.addDictionary ( dictionary );
+        checkTranslationRetrieval ( "en", "", key, enText );
+        checkTranslationRetrieval ( "en", "US", key, enText );
+
+        // Adding value directly into record
+        final Value usValue = new Value ( localeFor ( "en", "US" ), new Text ( usText ) );
+        record.addValue ( usValue );
+        checkTranslationRetrieval ( "en", "", key, enText );
+        checkTranslationRetrieval ( "en", "US", key, usText );
+
+        // Removing value directly from record
+        record.removeValue ( usValue );
+        checkTranslationRetrieval ( "en", "US", key, enText );
+
+        // Changing record key
+        record.setKey ( "caption" );
+        checkTranslationAbsense ( "en", "", key );
+        checkTranslationRetrieval ( "en", "", "weblaf.record.caption", enText );
+
+        // Removing dictionary
+        LanguageManager.removeDictionary ( dictionary );
+    }
+
     /**
      * Tests {@link Record}s retrieval with different {@link Dictionary}s order.
      * todo Right now there is no fixed order for the translations retrieval [ #570 ]
@@ -0,0 +1,147 @@
+/*
+ * This file is part of WebLookAndFeel library.
+ *
+ * WebLookAndFeel library is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * WebLookAndFeel library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with WebLookAndFeel library.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.alee.managers.language;
+
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Benchmark for concurrent {@link LM#get(String, Object...)} lookups over all keys of the core dictionary.
+ * Results are only logged since timings depend on the environment, assertions only check that all lookups were successful.
+ * It is excluded from default test run and is only run with {@code mvn test -Pbenchmarks}.
+ *
+ * @author Mikle Garin
+ */
+public final class TranslationBenchmarkTest
+{
+    /**
+     * Amount of lookups performed by each thread.
+     */
+    private static final int LOOKUPS = 500000;
+
+    /**
+     * Amounts of concurrently running threads.
+     */
+    private static final int[] THREADS = { 1, 2, 4, 8 };
+
+    /**
+     * Maximum time in milliseconds to wait for each benchmark run.
+     */
+    private static final long TIMEOUT = 60000;
+
+    /**
+     * Initializes {@link LanguageManager}.
+     */
+    @BeforeClass
+    public static void initialize ()
+    {
+        LanguageManager.initialize ();
+        LanguageManager.setLocale ( new Locale ( "en" ) );
+    }
+
+    /**
+     * Benchmarks {@link LM#get(String, Object...)} lookups performed concurrently from different amounts of threads.
+     *
+     * @throws InterruptedException if interrupted while waiting for lookups
+     */
+    @Test
+    public void lookupBenchmark () throws InterruptedException
+    {
+        final String[] keys = LanguageManager.getDictionaries ().getKeys ().toArray ( new String[ 0 ] );
+        assertTrue ( "Core dictionary must not be empty", keys.length > 0 );
+
+        // Warming up
+        run ( keys, 2 );
+
+        final StringBuilder results = new StringBuilder ( "Concurrent LM.get lookups over " + keys.length + " keys:" );
+        for ( final int threads : THREADS )
+        {
+            final long time = run ( keys, threads );
+            final long lookups = ( long ) LOOKUPS * threads;
+            results.append ( String.format ( " %d threads: %d ns per lookup, %d lookups per ms;",
+                    threads, time / LOOKUPS, lookups * 1000000L / Math.max ( time, 1 ) ) );
+        }
+        LoggerFactory.getLogger ( TranslationBenchmarkTest.class ).info ( results.toString () );
+    }
+
+    /**
+     * Performs {@link #LOOKUPS} lookups in each of the specified amount of threads and returns elapsed time in nanoseconds.
+     *
+     * @param keys    translation keys to look up
+     * @param threads amount of concurrently running threads
+     * @return elapsed time in nanoseconds
+     * @throws InterruptedException if interrupted while waiting for lookups
+     */
+    private long run ( final String[] keys, final int threads ) throws InterruptedException
+    {
+        final CountDownLatch start = new CountDownLatch ( 1 );
+        final CountDownLatch finish = new CountDownLatch ( threads );
+        final AtomicReference<String> failure = new AtomicReference<String> ();
+        final List<Thread> workers = new ArrayList<Thread> ( threads );
+        for ( int i = 0; i < threads; i++ )
+        {
+            final int offset = i * keys.length / threads;
+            final Thread worker = new Thread ( "TranslationBenchmarkTest.worker." + i )
+            {
+                @Override
+                public void run ()
+                {
+                    try
+                    {
+                        start.await ();
+                        for ( int j = 0; j < LOOKUPS; j++ )
+                        {
+                            final String key = keys[ ( offset + j ) % keys.length ];
+                            if ( LM.get ( key ) == null )
+                            {
+                                failure.compareAndSet ( null, key );
+                            }
+                        }
+                    }
+                    catch ( final InterruptedException e )
+                    {
+                        failure.compareAndSet ( null, "interrupted" );
+                    }
+                    finally
+                    {
+                        finish.countDown ();
+                    }
+                }
+            };
+            worker.start ();
+            workers.add ( worker );
+        }
+        final long begin = System.nanoTime ();
+        start.countDown ();
+        assertTrue ( "Lookups must finish in time", finish.await ( TIMEOUT, TimeUnit.MILLISECONDS ) );
+        final long time = System.nanoTime () - begin;
+        assertNull ( "Lookup must not fail", failure.get () );
+        return time;
+    }
+}
@@ -0,0 +1,329 @@
+/*
+ * This file is part of WebLookAndFeel library.
+ *
+ * WebLookAndFeel library is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * WebLookAndFeel library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with WebLookAndFeel library.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.alee.managers.language.data;
+
+import com.alee.api.annotations.NotNull;
+import org.junit.Test;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.Locale;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.Assert.*;
+import static org.junit.Assume.assumeTrue;
+
+/**
+ * Set of JUnit tests for {@link Dictionary} compiled translation tables.
+ *
+ * @author Mikle Garin
+ */
+public final class DictionaryTest
+{
+    /**
+     * {@link Locale} used in tests.
+     */
+    private static final Locale LOCALE = new Locale ( "en" );
+
+    /**
+     * Amount of concurrent modification rounds.
+     */
+    private static final int ROUNDS = 2000;
+
+    /**
+     * Maximum time in milliseconds to wait for each concurrent modification round.
+     */
+    private static final long TIMEOUT = 10000;
+
+    /**
+     * Amount of measured translation lookups.
+     */
+    private static final int LOOKUPS = 100000;
+
+    /**
+     * Maximum amount of bytes allowed to be allocated over all measured lookups.
+     * It doesn't depend on amount of lookups, so even a single object allocated on every lookup exceeds it.
+     */
+    private static final long MAX_ALLOCATED = 1024;
+
+    /**
+     * Tests that {@link Record} modification only outdates tables of {@link Dictionary}s containing it.
+     */
+    @Test
+    public void recordModificationScope ()
+    {
+        final Dictionary root = new Dictionary ( "root" );
+        final Dictionary first = new Dictionary ( "first" );
+        final Dictionary second = new Dictionary ( "second" );
+        final Record record = new Record ( "record", new Value ( LOCALE, new Text ( "First" ) ) );
+        first.addRecord ( record );
+        second.addRecord ( new Record ( "record", new Value ( LOCALE, new Text ( "Second" ) ) ) );
+        root.addDictionary ( first );
+        root.addDictionary ( second );
+        final Dictionary unrelated = new Dictionary ( "unrelated" );
+        unrelated.addRecord ( new Record ( "record", new Value ( LOCALE, new Text ( "Unrelated" ) ) ) );
+
+        assertEquals ( "First", text ( root, "root.first.record" ) );
+        assertEquals ( "Second", text ( root, "root.second.record" ) );
+        assertEquals ( "Unrelated", text ( unrelated, "unrelated.record" ) );
+        final int rootStamp = root.getStamp ();
+        final int firstStamp = first.getStamp ();
+        final int secondStamp = second.getStamp ();
+        final int unrelatedStamp = unrelated.getStamp ();
+
+        record.clearValues ();
+        record.addValue ( new Value ( LOCALE, new Text ( "Modified" ) ) );
+        assertNotEquals ( "Dictionary containing modified record must be outdated", firstStamp, first.getStamp () );
+        assertNotEquals ( "Parent dictionary must be outdated", rootStamp, root.getStamp () );
+        assertEquals ( "Sibling dictionary must not be outdated", secondStamp, second.getStamp () );
+        assertEquals ( "Unrelated dictionary must not be outdated", unrelatedStamp, unrelated.getStamp () );
+        assertEquals ( "Modified", text ( root, "root.first.record" ) );
+        assertEquals ( "Modified", text ( first, "first.record" ) );
+
+        record.setKey ( "renamed" );
+        assertNull ( root.getRecord ( "root.first.record", LOCALE ) );
+        assertEquals ( "Modified", text ( root, "root.first.renamed" ) );
+
+        first.removeRecord ( record );
+        assertNull ( root.getRecord ( "root.first.renamed", LOCALE ) );
+        final int removedStamp = first.getStamp ();
+        record.setKey ( "record" );
+        assertEquals ( "Removed record must not outdate dictionary", removedStamp, first.getStamp () );
+    }
+
+    /**
+     * Tests that compiled tables provide resolved {@link Value}s without any allocations upon lookup.
+     * A few bytes might still be allocated by the JVM itself during measurement, so total allocation is checked against a small
+     * constant for two amounts of lookups that differ tenfold instead of exact zero.
+     */
+    @Test
+    public void allocationFreeLookup ()
+    {
+        final ThreadMXBean bean = ManagementFactory.getThreadMXBean ();
+        assumeTrue ( bean instanceof com.sun.management.ThreadMXBean );
+        final com.sun.management.ThreadMXBean allocations = ( com.sun.management.ThreadMXBean ) bean;
+        assumeTrue ( allocations.isThreadAllocatedMemorySupported () && allocations.isThreadAllocatedMemoryEnabled () );
+
+        final Dictionary root = new Dictionary ( "root" );
+        final Dictionary sub = new Dictionary ( "sub" );
+        final Record record = new Record ( "record", new Value ( new Locale ( "en", "US" ), new Text ( "US" ) ),
+                new Value ( LOCALE, new Text ( "Text" ) ) );
+        sub.addRecord ( record );
+        root.addDictionary ( sub );
+        assertSame ( "Most fitting value must be resolved", record.getValue ( LOCALE ), root.getValue ( "root.sub.record", LOCALE ) );
+        final long thread = Thread.currentThread ().getId ();
+
+        // Warming up compiled table and measurement itself
+        lookup ( root, LOOKUPS );
+        measure ( allocations, thread, root, 0 );
+
+        // Measurement overhead is excluded by measuring an empty run
+        final long overhead = measure ( allocations, thread, root, 0 );
+        for ( final int lookups : new int[]{ LOOKUPS / 10, LOOKUPS } )
+        {
+            final long allocated = measure ( allocations, thread, root, lookups ) - overhead;
+            assertTrue ( "Translation lookup must not allocate anything, allocated " + allocated + " bytes over " +
+                    lookups + " lookups", allocated <= MAX_ALLOCATED );
+        }
+    }
+
+    /**
+     * Returns amount of bytes allocated by current thread while performing specified amount of translation lookups.
+     *
+     * @param allocations {@link com.sun.management.ThreadMXBean}
+     * @param thread      current thread ID
+     * @param dictionary  {@link Dictionary} to look translation up in
+     * @param lookups     amount of lookups
+     * @return amount of bytes allocated by current thread while performing specified amount of translation lookups
+     */
+    private static long measure ( final com.sun.management.ThreadMXBean allocations, final long thread,
+                                  final Dictionary dictionary, final int lookups )
+    {
+        final long start = allocations.getThreadAllocatedBytes ( thread );
+        lookup ( dictionary, lookups );
+        return allocations.getThreadAllocatedBytes ( thread ) - start;
+    }
+
+    /**
+     * Performs specified amount of translation lookups.
+     *
+     * @param dictionary {@link Dictionary} to look translation up in
+     * @param lookups    amount of lookups
+     */
+    private static void lookup ( final Dictionary dictionary, final int lookups )
+    {
+        for ( int i = 0; i < lookups; i++ )
+        {
+            if ( dictionary.getValue ( "root.sub.record", LOCALE ) == null )
+            {
+                throw new AssertionError ( "Translation is missing" );
+            }
+        }
+    }
+
+    /**
+     * Tests that concurrent modifications of different sub-{@link Dictionary}s are always visible through parent {@link Dictionary}
+     * while its translations are looked up concurrently without any locking.
+     *
+     * @throws Exception if concurrent modifications or lookups failed
+     */
+    @Test
+    public void concurrentModifications () throws Exception
+    {
+        final Dictionary root = new Dictionary ( "root" );
+        final Dictionary first = new Dictionary ( "first" );
+        final Dictionary second = new Dictionary ( "second" );
+        first.addRecord ( new Record ( "stable", new Value ( LOCALE, new Text ( "Stable" ) ) ) );
+        root.addDictionary ( first );
+        root.addDictionary ( second );
+
+        final CyclicBarrier start = new CyclicBarrier ( 3 );
+        final CyclicBarrier end = new CyclicBarrier ( 3 );
+        final AtomicReference<Throwable> failure = new AtomicReference<Throwable> ();
+        final Thread firstWriter = new Writer ( first, start, end, failure );
+        final Thread secondWriter = new Writer ( second, start, end, failure );
+        final Thread reader = new Thread ( "DictionaryTest.reader" )
+        {
+            @Override
+            public void run ()
+            {
+                try
+                {
+                    while ( !isInterrupted () )
+                    {
+                        // Constantly recompiling tables while sub-dictionaries are modified
+                        if ( !"Stable".equals ( text ( root, "root.first.stable" ) ) )
+                        {
+                            throw new AssertionError ( "Unmodified translation must always be available" );
+                        }
+                        root.getRecord ( "root.second.0", LOCALE );
+                    }
+                }
+                catch ( final Throwable e )
+                {
+                    failure.compareAndSet ( null, e );
+                }
+            }
+        };
+        firstWriter.start ();
+        secondWriter.start ();
+        reader.start ();
+        try
+        {
+            for ( int round = 0; round < ROUNDS && failure.get () == null; round++ )
+            {
+                start.await ( TIMEOUT, TimeUnit.MILLISECONDS );
+                end.await ( TIMEOUT, TimeUnit.MILLISECONDS );
+                assertNotNull ( "Concurrently added record is missing", root.getRecord ( "root.first." + round, LOCALE ) );
+                assertNotNull ( "Concurrently added record is missing", root.getRecord ( "root.second." + round, LOCALE ) );
+            }
+        }
+        finally
+        {
+            reader.interrupt ();
+            firstWriter.interrupt ();
+            secondWriter.interrupt ();
+            reader.join ( TIMEOUT );
+        }
+        if ( failure.get () != null )
+        {
+            throw new AssertionError ( failure.get () );
+        }
+    }
+
+    /**
+     * Returns translation text for the specified key.
+     *
+     * @param dictionary {@link Dictionary} to look translation up in
+     * @param key        translation key
+     * @return translation text for the specified key
+     */
+    private static String text ( @NotNull final Dictionary dictionary, @NotNull final String key )
+    {
+        final Value value = dictionary.getValue ( key, LOCALE );
+        return value != null ? value.getText ().getText () : null;
+    }
+
+    /**
+     * {@link Thread} adding single {@link Record} into {@link Dictionary} each round.
+     */
+    private static final class Writer extends Thread
+    {
+        /**
+         * {@link Dictionary} to modify.
+         */
+        private final Dictionary dictionary;
+
+        /**
+         * {@link CyclicBarrier} awaited before each round.
+         */
+        private final CyclicBarrier start;
+
+        /**
+         * {@link CyclicBarrier} awaited after each round.
+         */
+        private final CyclicBarrier end;
+
+        /**
+         * First encountered failure.
+         */
+        private final AtomicReference<Throwable> failure;
+
+        /**
+         * Constructs new {@link Writer}.
+         *
+         * @param dictionary {@link Dictionary} to modify
+         * @param start      {@link CyclicBarrier} awaited before each round
+         * @param end        {@link CyclicBarrier} awaited after each round
+         * @param failure    first encountered failure
+         */
+        public Writer ( final Dictionary dictionary, final CyclicBarrier start, final CyclicBarrier end,
+                        final AtomicReference<Throwable> failure )
+        {
+            super ( "DictionaryTest.writer." + dictionary.getPrefix () );
+            this.dictionary = dictionary;
+            this.start = start;
+            this.end = end;
+            this.failure = failure;
+        }
+
+        @Override
+        public void run ()
+        {
+            try
+            {
+                for ( int round = 0; round < ROUNDS; round++ )
+                {
+                    start.await ( TIMEOUT, TimeUnit.MILLISECONDS );
+                    dictionary.addRecord ( new Record ( Integer.toString ( round ), new Value ( LOCALE, new Text ( "Text" ) ) ) );
+                    end.await ( TIMEOUT, TimeUnit.MILLISECONDS );
+                }
+            }
+            catch ( final InterruptedException e )
+            {
+                // Test has finished
+            }
+            catch ( final Throwable e )
+            {
+                failure.compareAndSet ( null, e );
+            }
+        }
+    }
+}
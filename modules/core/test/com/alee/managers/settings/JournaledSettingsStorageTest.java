@@ -0,0 +1,332 @@
+/*
+ * This file is part of WebLookAndFeel library.
+ *
+ * WebLookAndFeel library is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * WebLookAndFeel library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with WebLookAndFeel library.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.alee.managers.settings;
+
+import com.alee.api.jdk.Objects;
+import com.alee.utils.FileUtils;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.FixMethodOrder;
+import org.junit.Test;
+import org.junit.runners.MethodSorters;
+
+import java.awt.*;
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Set of JUnit tests for {@link JournaledSettingsStorage}.
+ *
+ * @author Mikle Garin
+ */
+@FixMethodOrder ( MethodSorters.JVM )
+public final class JournaledSettingsStorageTest
+{
+    /**
+     * Temporary settings directory.
+     */
+    private File dir;
+
+    /**
+     * Initializes {@link SettingsManager}.
+     */
+    @BeforeClass
+    public static void initialize ()
+    {
+        SettingsManager.initialize ();
+    }
+
+    /**
+     * Creates temporary settings directory.
+     *
+     * @throws Exception if directory cannot be created
+     */
+    @Before
+    public void createDirectory () throws Exception
+    {
+        dir = File.createTempFile ( "settings", "" );
+        FileUtils.deleteFile ( dir );
+        FileUtils.ensureDirectoryExists ( dir );
+    }
+
+    /**
+     * Removes temporary settings directory.
+     */
+    @After
+    public void removeDirectory ()
+    {
+        FileUtils.deleteFile ( dir );
+    }
+
+    /**
+     * Tests that journaled changes are recovered without compaction.
+     *
+     * @throws Exception if settings cannot be written or read
+     */
+    @Test
+    public void journalRecovery () throws Exception
+    {
+        final JournaledSettingsStorage storage = new JournaledSettingsStorage ();
+        final File file = new File ( dir, "group.xml" );
+
+        // Writing initial snapshot
+        final SettingsGroup group = new SettingsGroup ( "group" );
+        group.put ( "text", "initial" );
+        group.put ( "removed", 1 );
+        storage.write ( group, file, null );
+
+        // Journaling changes
+        group.put ( "text", "changed" );
+        group.put ( "color", Color.RED );
+        group.put ( "nothing", null );
+        group.remove ( "removed" );
+        storage.write ( group, file, Arrays.asList ( "text", "color" ) );
+        storage.write ( group, file, Arrays.asList ( "nothing", "removed" ) );
+        if ( !storage.getJournalFile ( file ).isFile () )
+        {
+            throw new SettingsException ( "Changes were not journaled" );
+        }
+
+        // Reading settings as if application crashed
+        final SettingsGroup recovered = storage.read ( "group", file );
+        assertValue ( recovered, "text", "changed" );
+        assertValue ( recovered, "color", Color.RED );
+        assertValue ( recovered, "nothing", null );
+        if ( !recovered.settings ().containsKey ( "nothing" ) || recovered.settings ().containsKey ( "removed" ) )
+        {
+            throw new SettingsException ( "Unexpected recovered settings keys: " + recovered.settings ().keySet () );
+        }
+
+        // Journal must be compacted into XML settings file readable without it
+        if ( storage.getJournalFile ( file ).exists () )
+        {
+            throw new SettingsException ( "Journal was not compacted" );
+        }
+        assertValue ( new XmlSettingsStorage ().read ( "group", file ), "text", "changed" );
+    }
+
+    /**
+     * Tests that incomplete journal record is ignored.
+     *
+     * @throws Exception if settings cannot be written or read
+     */
+    @Test
+    public void incompleteRecord () throws Exception
+    {
+        final JournaledSettingsStorage storage = new JournaledSettingsStorage ();
+        final File file = new File ( dir, "group.xml" );
+
+        // Journaling two changes
+        final SettingsGroup group = new SettingsGroup ( "group" );
+        group.put ( "first", "first" );
+        storage.write ( group, file, Arrays.asList ( "first" ) );
+        final long length = storage.getJournalFile ( file ).length ();
+        group.put ( "second", "second" );
+        storage.write ( group, file, Arrays.asList ( "second" ) );
+
+        // Cutting last record as if application crashed while writing it
+        final RandomAccessFile journal = new RandomAccessFile ( storage.getJournalFile ( file ), "rw" );
+        try
+        {
+            journal.setLength ( length + 10 );
+        }
+        finally
+        {
+            journal.close ();
+        }
+
+        // Only complete record must be recovered
+        final SettingsGroup recovered = storage.read ( "group", file );
+        assertValue ( recovered, "first", "first" );
+        if ( recovered.settings ().containsKey ( "second" ) )
+        {
+            throw new SettingsException ( "Incomplete journal record was recovered" );
+        }
+    }
+
+    /**
+     * Tests that records appended after a failed append are recovered.
+     *
+     * @throws Exception if settings cannot be written or read
+     */
+    @Test
+    public void failedAppend () throws Exception
+    {
+        final AtomicBoolean fail = new AtomicBoolean ( false );
+        final JournaledSettingsStorage storage = new JournaledSettingsStorage ()
+        {
+            @Override
+            protected void writeRecords ( final RandomAccessFile journal, final byte[] records ) throws IOException
+            {
+                if ( fail.getAndSet ( false ) )
+                {
+                    // Writing only a part of records as if storage device ran out of space
+                    journal.write ( records, 0, records.length / 2 );
+                    throw new IOException ( "No space left on device" );
+                }
+                super.writeRecords ( journal, records );
+            }
+        };
+        final File file = new File ( dir, "group.xml" );
+
+        // Journaling change
+        final SettingsGroup group = new SettingsGroup ( "group" );
+        group.put ( "first", "first" );
+        storage.write ( group, file, Arrays.asList ( "first" ) );
+        final long length = storage.getJournalFile ( file ).length ();
+
+        // Failing to journal next change
+        group.put ( "second", "second" );
+        fail.set ( true );
+        try
+        {
+            storage.write ( group, file, Arrays.asList ( "second" ) );
+            throw new SettingsException ( "Failed journal write was not reported" );
+        }
+        catch ( final IOException e )
+        {
+            // Expected failure
+        }
+        if ( storage.getJournalFile ( file ).length () != length )
+        {
+            throw new SettingsException ( "Partially written journal record was not truncated" );
+        }
+
+        // Retrying failed change along with another one
+        group.put ( "third", "third" );
+        storage.write ( group, file, Arrays.asList ( "second", "third" ) );
+
+        // All successfully journaled changes must be recovered
+        final SettingsGroup recovered = storage.read ( "group", file );
+        assertValue ( recovered, "first", "first" );
+        assertValue ( recovered, "second", "second" );
+        assertValue ( recovered, "third", "third" );
+    }
+
+    /**
+     * Tests that journaled changes are kept and recovered when XML settings file cannot be read.
+     *
+     * @throws Exception if settings cannot be written
+     */
+    @Test
+    public void corruptedSnapshot () throws Exception
+    {
+        final SettingsStorage previous = SettingsManager.getStorage ();
+        final JournaledSettingsStorage storage = new JournaledSettingsStorage ();
+        SettingsManager.setStorage ( storage );
+        try
+        {
+            final String name = "corrupted";
+            SettingsManager.setGroupFilePath ( name, dir.getAbsolutePath () );
+            final File file = new File ( dir, name + SettingsManager.getSettingsFilesExtension () );
+
+            // Writing snapshot and journaling changes
+            final SettingsGroup group = new SettingsGroup ( name );
+            group.put ( "text", "initial" );
+            storage.write ( group, file, null );
+            group.put ( "text", "changed" );
+            storage.write ( group, file, Arrays.asList ( "text" ) );
+
+            // Corrupting snapshot
+            FileUtils.writeStringToFile ( "<corrupted", file );
+
+            // Journaled changes must be recovered
+            assertValue ( SettingsManager.getSettingsGroup ( name ), "text", "changed" );
+            if ( storage.getJournalFile ( file ).exists () )
+            {
+                throw new SettingsException ( "Journal was not compacted after recovery" );
+            }
+        }
+        finally
+        {
+            SettingsManager.setStorage ( previous );
+        }
+    }
+
+    /**
+     * Tests that journal is kept when XML settings file cannot be written upon compaction.
+     *
+     * @throws Exception if settings cannot be written or read
+     */
+    @Test
+    public void failedSnapshot () throws Exception
+    {
+        final JournaledSettingsStorage storage = new JournaledSettingsStorage ();
+        final File file = new File ( dir, "group.xml" );
+
+        // Writing snapshot and journaling changes
+        final SettingsGroup group = new SettingsGroup ( "group" );
+        group.put ( "text", "initial" );
+        storage.write ( group, file, null );
+        group.put ( "text", "changed" );
+        storage.write ( group, file, Arrays.asList ( "text" ) );
+
+        // Blocking temporary snapshot file so that compaction fails
+        final File blocker = storage.getTemporaryFile ( file );
+        FileUtils.ensureDirectoryExists ( new File ( blocker, "blocker" ) );
+        try
+        {
+            storage.write ( group, file, null );
+            throw new SettingsException ( "Failed snapshot write was not reported" );
+        }
+        catch ( final IOException e )
+        {
+            // Expected failure
+        }
+        if ( !storage.getJournalFile ( file ).isFile () )
+        {
+            throw new SettingsException ( "Journal was removed after failed snapshot write" );
+        }
+        assertValue ( new XmlSettingsStorage ().read ( "group", file ), "text", "initial" );
+
+        // Journaled changes must still be recovered once snapshot can be written again
+        final SettingsGroup recovered = storage.read ( "group", file );
+        assertValue ( recovered, "text", "changed" );
+        if ( !storage.getJournalFile ( file ).isFile () )
+        {
+            throw new SettingsException ( "Journal was removed after failed compaction" );
+        }
+        FileUtils.deleteFile ( blocker );
+        assertValue ( storage.read ( "group", file ), "text", "changed" );
+        if ( storage.getJournalFile ( file ).exists () || blocker.exists () )
+        {
+            throw new SettingsException ( "Journal was not compacted" );
+        }
+        assertValue ( new XmlSettingsStorage ().read ( "group", file ), "text", "changed" );
+    }
+
+    /**
+     * Asserts {@link SettingsGroup} value.
+     *
+     * @param group    {@link SettingsGroup}
+     * @param key      settings key
+     * @param expected expected value
+     */
+    private void assertValue ( final SettingsGroup group, final String key, final Object expected )
+    {
+        final Object value = group.get ( key );
+        if ( Objects.notEquals ( value, expected ) )
+        {
+            throw new SettingsException ( String.format ( "Unexpected value under key '%s': %s", key, value ) );
+        }
+    }
+}
@@ -0,0 +1,184 @@
+/*
+ * This file is part of WebLookAndFeel library.
+ *
+ * WebLookAndFeel library is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * WebLookAndFeel library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with WebLookAndFeel library.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.alee.managers.settings;
+
+import com.alee.api.jdk.Objects;
+import com.alee.utils.FileUtils;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import java.io.File;
+
+/**
+ * Set of JUnit tests for {@link SettingsWriter}.
+ *
+ * @author Mikle Garin
+ */
+public final class SettingsWriterTest
+{
+    /**
+     * Temporary settings directory.
+     */
+    private File dir;
+
+    /**
+     * Initializes {@link SettingsManager}.
+     */
+    @BeforeClass
+    public static void initialize ()
+    {
+        SettingsManager.initialize ();
+    }
+
+    /**
+     * Creates temporary settings directory.
+     *
+     * @throws Exception if directory cannot be created
+     */
+    @Before
+    public void createDirectory () throws Exception
+    {
+        dir = File.createTempFile ( "settings", "" );
+        FileUtils.deleteFile ( dir );
+        FileUtils.ensureDirectoryExists ( dir );
+    }
+
+    /**
+     * Removes temporary settings directory.
+     */
+    @After
+    public void removeDirectory ()
+    {
+        FileUtils.deleteFile ( dir );
+    }
+
+    /**
+     * Tests that repeated changes are coalesced and persisted upon request.
+     *
+     * @throws Exception if settings cannot be read
+     */
+    @Test
+    public void coalescedChanges () throws Exception
+    {
+        final String group = "writer";
+        SettingsManager.setGroupFilePath ( group, dir.getAbsolutePath () );
+        final SettingsWriter writer = SettingsManager.getWriter ();
+        final long writes = writer.getWritesCount ();
+
+        // Changing the same settings many times within the save delay
+        for ( int i = 0; i < 1000; i++ )
+        {
+            SettingsManager.set ( group, "counter", i );
+            SettingsManager.set ( group, "text", "value" + i );
+        }
+        if ( !SettingsManager.awaitPersisted ( 10000 ) )
+        {
+            throw new SettingsException ( "Changes were not persisted in time" );
+        }
+        if ( writer.getQueueDepth () != 0 )
+        {
+            throw new SettingsException ( "Pending writes left after persisting: " + writer.getQueueDepth () );
+        }
+        if ( writer.getWritesCount () - writes > 2 )
+        {
+            throw new SettingsException ( "Changes were not coalesced: " + ( writer.getWritesCount () - writes ) + " writes" );
+        }
+
+        // Reading persisted settings
+        final SettingsGroup persisted = new XmlSettingsStorage ().read ( group, new File ( dir, group + ".xml" ) );
+        if ( !Objects.equals ( persisted.get ( "counter" ), 999 ) || !Objects.equals ( persisted.get ( "text" ), "value999" ) )
+        {
+            throw new SettingsException ( "Latest changes were not persisted" );
+        }
+    }
+
+    /**
+     * Tests that failed writes stay pending and are not reported as persisted.
+     *
+     * @throws Exception if settings cannot be read
+     */
+    @Test
+    public void failedWrite () throws Exception
+    {
+        final String group = "failing";
+        final File blocker = new File ( dir, "blocker" );
+        if ( !blocker.createNewFile () )
+        {
+            throw new SettingsException ( "Unable to create blocking file" );
+        }
+        SettingsManager.setGroupFilePath ( group, new File ( blocker, "settings" ).getAbsolutePath () );
+        final SettingsWriter writer = SettingsManager.getWriter ();
+        final long failedWrites = writer.getFailedWritesCount ();
+
+        // Settings directory cannot be created, so write must fail
+        SettingsManager.set ( group, "value", "failed" );
+        if ( SettingsManager.awaitPersisted ( 10000 ) )
+        {
+            throw new SettingsException ( "Failed write was reported as persisted" );
+        }
+        if ( writer.getFailedWritesCount () == failedWrites )
+        {
+            throw new SettingsException ( "Failed write was not counted" );
+        }
+        if ( writer.getQueueDepth () == 0 )
+        {
+            throw new SettingsException ( "Failed write was not kept pending" );
+        }
+
+        // Retrying write once settings directory is available
+        SettingsManager.setGroupFilePath ( group, dir.getAbsolutePath () );
+        if ( !SettingsManager.awaitPersisted ( 10000 ) )
+        {
+            throw new SettingsException ( "Changes were not persisted after retry" );
+        }
+        final SettingsGroup persisted = new XmlSettingsStorage ().read ( group, new File ( dir, group + ".xml" ) );
+        if ( !Objects.equals ( persisted.get ( "value" ), "failed" ) )
+        {
+            throw new SettingsException ( "Failed change was not persisted after retry" );
+        }
+    }
+
+    /**
+     * Tests that changes are saved right away on the caller thread when save delay is 0.
+     *
+     * @throws Exception if settings cannot be read
+     */
+    @Test
+    public void synchronousSave () throws Exception
+    {
+        final String group = "synchronous";
+        SettingsManager.setGroupFilePath ( group, dir.getAbsolutePath () );
+        final long delay = SettingsManager.getSaveOnChangeDelay ();
+        SettingsManager.setSaveOnChangeDelay ( 0 );
+        try
+        {
+            SettingsManager.set ( group, "value", "saved" );
+            final SettingsGroup persisted = new XmlSettingsStorage ().read ( group, new File ( dir, group + ".xml" ) );
+            if ( !Objects.equals ( persisted.get ( "value" ), "saved" ) )
+            {
+                throw new SettingsException ( "Change was not saved right away" );
+            }
+        }
+        finally
+        {
+            SettingsManager.setSaveOnChangeDelay ( delay );
+        }
+    }
+}
@@ -0,0 +1,135 @@
+/*
+ * This file is part of WebLookAndFeel library.
+ *
+ * WebLookAndFeel library is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * WebLookAndFeel library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with WebLookAndFeel library.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.alee.utils;
+
+import com.alee.utils.reflection.PropertySetter;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+
+/**
+ * Set of JUnit tests for {@link ReflectUtils#getPropertySetter(Class, String, Class)}.
+ *
+ * @author Mikle Garin
+ */
+public final class PropertySetterTest
+{
+    /**
+     * Tests that each value type is applied through the same setter overload as a direct method lookup would use for it.
+     * Setter resolved for one value type must not be reused for another one even if it accepts it.
+     *
+     * @throws Exception if property cannot be set
+     */
+    @Test
+    public void overloadSelection () throws Exception
+    {
+        final OverloadedBean bean = new OverloadedBean ();
+
+        set ( bean, "value", 1 );
+        assertEquals ( "Object", bean.setter );
+
+        set ( bean, "value", "text" );
+        assertEquals ( "Setter resolved for another value type must not be reused", "String", bean.setter );
+
+        set ( bean, "value", 2 );
+        assertEquals ( "Object", bean.setter );
+    }
+
+    /**
+     * Tests that resolved setters are reused for the same value type.
+     *
+     * @throws Exception if setter cannot be resolved
+     */
+    @Test
+    public void setterReuse () throws Exception
+    {
+        final PropertySetter first = ReflectUtils.getPropertySetter ( OverloadedBean.class, "value", String.class );
+        final PropertySetter second = ReflectUtils.getPropertySetter ( OverloadedBean.class, "value", String.class );
+        assertSame ( "Setter must be resolved only once per value type", first, second );
+        assertEquals ( String.class, first.getType () );
+    }
+
+    /**
+     * Tests that field is used directly when there is no setter method.
+     *
+     * @throws Exception if property cannot be set
+     */
+    @Test
+    public void fieldFallback () throws Exception
+    {
+        final OverloadedBean bean = new OverloadedBean ();
+        set ( bean, "field", "text" );
+        assertEquals ( "text", bean.field );
+    }
+
+    /**
+     * Applies property value through resolved {@link PropertySetter}.
+     *
+     * @param object   object to apply property value to
+     * @param property property name
+     * @param value    property value
+     * @throws Exception if property cannot be set
+     */
+    private void set ( final Object object, final String property, final Object value ) throws Exception
+    {
+        ReflectUtils.getPropertySetter ( object.getClass (), property, value != null ? value.getClass () : null ).set ( object, value );
+    }
+
+    /**
+     * Sample object with generic setter method.
+     */
+    public static class BaseBean
+    {
+        /**
+         * Parameter type of the last called setter method.
+         */
+        protected String setter;
+
+        /**
+         * Sets {@link Object} value.
+         *
+         * @param value {@link Object} value
+         */
+        public void setValue ( final Object value )
+        {
+            setter = "Object";
+        }
+    }
+
+    /**
+     * Sample object with more specific setter method overload.
+     */
+    public static final class OverloadedBean extends BaseBean
+    {
+        /**
+         * Property without setter method.
+         */
+        public String field;
+
+        /**
+         * Sets {@link String} value.
+         *
+         * @param value {@link String} value
+         */
+        public void setValue ( final String value )
+        {
+            setter = "String";
+        }
+    }
+}
@@ -0,0 +1,257 @@
+/*
+ * This file is part of WebLookAndFeel library.
+ *
+ * WebLookAndFeel library is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * WebLookAndFeel library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with WebLookAndFeel library.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.alee.utils.file;
+
+import com.alee.api.annotations.NotNull;
+import com.alee.managers.task.TaskManager;
+import com.alee.utils.FileUtils;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import java.io.File;
+import java.io.FileFilter;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Set of JUnit tests for {@link DirectoryScanner}.
+ *
+ * @author Mikle Garin
+ */
+public final class DirectoryScannerTest
+{
+    /**
+     * Amount of files in temporary directory.
+     */
+    private static final int FILES_COUNT = 1000;
+
+    /**
+     * Temporary directory.
+     */
+    private File dir;
+
+    /**
+     * Initializes {@link TaskManager} groups used for scanning.
+     */
+    @BeforeClass
+    public static void initialize ()
+    {
+        TaskManager.initialize ();
+    }
+
+    /**
+     * Creates temporary directory with files.
+     *
+     * @throws Exception if directory or files cannot be created
+     */
+    @Before
+    public void createDirectory () throws Exception
+    {
+        dir = File.createTempFile ( "scan", "" );
+        FileUtils.deleteFile ( dir );
+        FileUtils.ensureDirectoryExists ( dir );
+        for ( int i = 0; i < FILES_COUNT; i++ )
+        {
+            if ( !new File ( dir, "file" + i ).createNewFile () )
+            {
+                throw new RuntimeException ( "Unable to create test file" );
+            }
+        }
+    }
+
+    /**
+     * Removes temporary directory.
+     */
+    @After
+    public void removeDirectory ()
+    {
+        FileUtils.deleteFile ( dir );
+    }
+
+    /**
+     * Tests that all files are provided in listing order and filter is applied.
+     *
+     * @throws Exception if scan doesn't complete in time
+     */
+    @Test
+    public void orderedScan () throws Exception
+    {
+        final DirectoryScanner scanner = new DirectoryScanner ( TaskManager.FILE_SYSTEM, 64 );
+        final List<File> scanned = new ArrayList<File> ();
+        final CountDownLatch latch = new CountDownLatch ( 1 );
+        scanner.scan ( dir, new FileFilter ()
+        {
+            @Override
+            public boolean accept ( final File file )
+            {
+                return !file.getName ().endsWith ( "0" );
+            }
+        }, false, new DirectoryScanListener ()
+        {
+            @Override
+            public void scanned ( @NotNull final List<File> files )
+            {
+                scanned.addAll ( files );
+            }
+
+            @Override
+            public void completed ()
+            {
+                latch.countDown ();
+            }
+
+            @Override
+            public void failed ( @NotNull final Throwable cause )
+            {
+                throw new RuntimeException ( "Scan failed", cause );
+            }
+        } );
+        if ( !latch.await ( 30, TimeUnit.SECONDS ) )
+        {
+            throw new RuntimeException ( "Scan was not completed" );
+        }
+        final List<File> expected = new ArrayList<File> ();
+        for ( final String name : dir.list () )
+        {
+            if ( !name.endsWith ( "0" ) )
+            {
+                expected.add ( new File ( dir, name ) );
+            }
+        }
+        if ( !scanned.equals ( expected ) )
+        {
+            throw new RuntimeException ( "Scanned files are incorrect: " + Arrays.toString ( scanned.toArray () ) );
+        }
+    }
+
+    /**
+     * Tests that listener is not informed about anything after scan was cancelled.
+     *
+     * @throws Exception if scan tasks don't finish in time
+     */
+    @Test
+    public void cancelledScan () throws Exception
+    {
+        final DirectoryScanner scanner = new DirectoryScanner ( TaskManager.FILE_SYSTEM, 16 );
+        final AtomicBoolean informed = new AtomicBoolean ( false );
+        final DirectoryScan scan = scanner.scan ( dir, null, false, new DirectoryScanListener ()
+        {
+            @Override
+            public void scanned ( @NotNull final List<File> files )
+            {
+                informed.set ( true );
+            }
+
+            @Override
+            public void completed ()
+            {
+                informed.set ( true );
+            }
+
+            @Override
+            public void failed ( @NotNull final Throwable cause )
+            {
+                informed.set ( true );
+            }
+        } );
+        scan.cancel ();
+        informed.set ( false );
+        TaskManager.execute ( TaskManager.FILE_SYSTEM, new Runnable ()
+        {
+            @Override
+            public void run ()
+            {
+                // Awaiting previously submitted tasks
+            }
+        } ).get ( 30, TimeUnit.SECONDS );
+        Thread.sleep ( 200 );
+        if ( informed.get () || scan.isInProgress () )
+        {
+            throw new RuntimeException ( "Listener was informed after scan was cancelled" );
+        }
+    }
+
+    /**
+     * Tests that scan can be cancelled while listener is blocked waiting for that cancellation on another thread.
+     *
+     * @throws Exception if scan doesn't start or cannot be cancelled in time
+     */
+    @Test
+    public void blockingListener () throws Exception
+    {
+        final DirectoryScanner scanner = new DirectoryScanner ( TaskManager.FILE_SYSTEM, 16 );
+        final CountDownLatch scanning = new CountDownLatch ( 1 );
+        final CountDownLatch cancelled = new CountDownLatch ( 1 );
+        final DirectoryScan scan = scanner.scan ( dir, null, false, new DirectoryScanListener ()
+        {
+            @Override
+            public void scanned ( @NotNull final List<File> files )
+            {
+                scanning.countDown ();
+                try
+                {
+                    // Simulating listener waiting for another thread that cancels scan meanwhile
+                    cancelled.await ( 30, TimeUnit.SECONDS );
+                }
+                catch ( final InterruptedException e )
+                {
+                    Thread.currentThread ().interrupt ();
+                }
+            }
+
+            @Override
+            public void completed ()
+            {
+            }
+
+            @Override
+            public void failed ( @NotNull final Throwable cause )
+            {
+            }
+        } );
+        if ( !scanning.await ( 30, TimeUnit.SECONDS ) )
+        {
+            throw new RuntimeException ( "Scan was not started" );
+        }
+        final Thread canceller = new Thread ( new Runnable ()
+        {
+            @Override
+            public void run ()
+            {
+                scan.cancel ();
+                cancelled.countDown ();
+            }
+        } );
+        canceller.start ();
+        if ( !cancelled.await ( 5, TimeUnit.SECONDS ) )
+        {
+            cancelled.countDown ();
+            throw new RuntimeException ( "Scan cannot be cancelled while listener is being informed" );
+        }
+        if ( scan.isInProgress () )
+        {
+            throw new RuntimeException ( "Scan is still in progress after cancellation" );
+        }
+    }
+}
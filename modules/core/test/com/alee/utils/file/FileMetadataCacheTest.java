@@ -0,0 +1,176 @@
+/*
+ * This file is part of WebLookAndFeel library.
+ *
+ * WebLookAndFeel library is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * WebLookAndFeel library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with WebLookAndFeel library.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.alee.utils.file;
+
+import com.alee.utils.FileUtils;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.File;
+
+/**
+ * Set of JUnit tests for {@link FileMetadataCache}.
+ *
+ * @author Mikle Garin
+ */
+public final class FileMetadataCacheTest
+{
+    /**
+     * Temporary directory.
+     */
+    private File dir;
+
+    /**
+     * Creates temporary directory with a few files.
+     *
+     * @throws Exception if directory or files cannot be created
+     */
+    @Before
+    public void createDirectory () throws Exception
+    {
+        dir = File.createTempFile ( "metadata", "" );
+        FileUtils.deleteFile ( dir );
+        FileUtils.ensureDirectoryExists ( dir );
+        for ( int i = 0; i < 10; i++ )
+        {
+            if ( !new File ( dir, "file" + i ).createNewFile () )
+            {
+                throw new RuntimeException ( "Unable to create test file" );
+            }
+        }
+    }
+
+    /**
+     * Removes temporary directory.
+     */
+    @After
+    public void removeDirectory ()
+    {
+        FileUtils.deleteFile ( dir );
+    }
+
+    /**
+     * Tests that cache size stays within the bound.
+     */
+    @Test
+    public void boundedSize ()
+    {
+        final FileMetadataCache cache = new FileMetadataCache ( 5, FileUtils.getWatchService (), 1000 );
+        for ( int i = 0; i < 10; i++ )
+        {
+            if ( !cache.get ( new File ( dir, "file" + i ) ).isFile () )
+            {
+                throw new RuntimeException ( "Incorrect file metadata" );
+            }
+        }
+        if ( cache.size () != 5 )
+        {
+            throw new RuntimeException ( "Cache size is out of bounds: " + cache.size () );
+        }
+        cache.get ( new File ( dir, "missing" ) );
+        if ( cache.size () != 5 )
+        {
+            throw new RuntimeException ( "Metadata of missing file was cached" );
+        }
+    }
+
+    /**
+     * Tests that directory invalidation removes metadata of its files.
+     */
+    @Test
+    public void directoryInvalidation ()
+    {
+        final FileMetadataCache cache = new FileMetadataCache ( 100, FileUtils.getWatchService (), 1000 );
+        final File file = new File ( dir, "file0" );
+        final FileMetadata metadata = cache.get ( file );
+        if ( cache.get ( file ) != metadata )
+        {
+            throw new RuntimeException ( "File metadata was not cached" );
+        }
+        cache.invalidateDirectory ( dir.getAbsolutePath () );
+        if ( cache.size () != 0 || cache.get ( file ) == metadata )
+        {
+            throw new RuntimeException ( "File metadata was not invalidated" );
+        }
+    }
+
+    /**
+     * Tests that directory invalidation only removes metadata of files directly within that directory.
+     *
+     * @throws Exception if test files cannot be created
+     */
+    @Test
+    public void directoryInvalidationScope () throws Exception
+    {
+        final File sub = new File ( dir, "sub" );
+        FileUtils.ensureDirectoryExists ( sub );
+        final File nested = new File ( sub, "nested" );
+        if ( !nested.createNewFile () )
+        {
+            throw new RuntimeException ( "Unable to create test file" );
+        }
+
+        final FileMetadataCache cache = new FileMetadataCache ( 3, FileUtils.getWatchService (), 1000 );
+        cache.get ( new File ( dir, "file0" ) );
+        cache.get ( new File ( dir, "file1" ) );
+        cache.get ( new File ( dir, "file2" ) );
+        final FileMetadata metadata = cache.get ( nested );
+        if ( cache.size () != 3 )
+        {
+            throw new RuntimeException ( "Cache size is out of bounds: " + cache.size () );
+        }
+
+        // Evicted file must not affect invalidation
+        cache.invalidateDirectory ( dir.getAbsolutePath () );
+        if ( cache.size () != 1 || cache.get ( nested ) != metadata )
+        {
+            throw new RuntimeException ( "Metadata of nested directory file was invalidated" );
+        }
+        cache.invalidateDirectory ( sub.getAbsolutePath () );
+        if ( cache.size () != 0 )
+        {
+            throw new RuntimeException ( "Metadata of directory file was not invalidated" );
+        }
+    }
+
+    /**
+     * Tests basic attributes of existing and missing files.
+     */
+    @Test
+    public void basicAttributes ()
+    {
+        final File file = new File ( dir, "file0" );
+        final FileMetadata existing = FileMetadata.read ( file );
+        if ( !existing.exists () || !existing.isFile () || existing.isDirectory () ||
+                existing.getLastModified () != file.lastModified () || !dir.getAbsolutePath ().equals ( existing.getParentPath () ) )
+        {
+            throw new RuntimeException ( "Incorrect file metadata" );
+        }
+        final FileMetadata directory = FileMetadata.read ( dir );
+        if ( !directory.exists () || directory.isFile () || !directory.isDirectory () )
+        {
+            throw new RuntimeException ( "Incorrect directory metadata" );
+        }
+        final FileMetadata missing = FileMetadata.read ( new File ( dir, "missing" ) );
+        if ( missing.exists () || missing.isFile () || missing.isDirectory () || missing.isHidden () || missing.getLastModified () != 0 )
+        {
+            throw new RuntimeException ( "Incorrect missing file metadata" );
+        }
+    }
+}
@@ -0,0 +1,222 @@
+/*
+ * This file is part of WebLookAndFeel library.
+ *
+ * WebLookAndFeel library is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * WebLookAndFeel library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with WebLookAndFeel library.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.alee.utils.file;
+
+import com.alee.utils.FileUtils;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Set of JUnit tests for {@link FileWatchService}.
+ *
+ * @author Mikle Garin
+ */
+public final class FileWatchServiceTest
+{
+    /**
+     * Maximum time to wait for changes to be reported in milliseconds.
+     */
+    private static final long TIMEOUT = 5000;
+
+    /**
+     * Temporary directory.
+     */
+    private File dir;
+
+    /**
+     * {@link FileWatchService} used for tests.
+     */
+    private FileWatchService service;
+
+    /**
+     * Creates temporary directory with a single file and {@link FileWatchService}.
+     *
+     * @throws Exception if directory or file cannot be created
+     */
+    @Before
+    public void createDirectory () throws Exception
+    {
+        dir = File.createTempFile ( "watch", "" );
+        FileUtils.deleteFile ( dir );
+        FileUtils.ensureDirectoryExists ( dir );
+        if ( !new File ( dir, "file" ).createNewFile () )
+        {
+            throw new RuntimeException ( "Unable to create test file" );
+        }
+        service = new FileWatchService ( "FileWatchServiceTest" );
+    }
+
+    /**
+     * Removes temporary directory.
+     */
+    @After
+    public void removeDirectory ()
+    {
+        FileUtils.deleteFile ( dir );
+    }
+
+    /**
+     * Tests that modifications of the files within watched directory are only reported when requested.
+     *
+     * @throws Exception if test was interrupted
+     */
+    @Test
+    public void childrenModifications () throws Exception
+    {
+        final File file = new File ( dir, "file" );
+        final RecordingListener directoryListener = new RecordingListener ();
+        final RecordingListener childrenListener = new RecordingListener ();
+        final FileWatch directoryWatch = service.watch ( dir, directoryListener, FileWatchService.RESOLUTION );
+        final FileWatch childrenWatch = service.watch ( dir, childrenListener, FileWatchService.RESOLUTION, true );
+        try
+        {
+            // Waiting for directory files to be listed
+            Thread.sleep ( FileWatchService.RESOLUTION * 4 );
+            if ( !file.setLastModified ( file.lastModified () + 10000 ) )
+            {
+                throw new RuntimeException ( "Unable to modify test file" );
+            }
+            if ( !childrenListener.await ( file ) )
+            {
+                throw new RuntimeException ( "File modification within watched directory was not reported" );
+            }
+            if ( directoryListener.contains ( file ) )
+            {
+                throw new RuntimeException ( "File modification was reported without being requested" );
+            }
+        }
+        finally
+        {
+            directoryWatch.cancel ();
+            childrenWatch.cancel ();
+        }
+        if ( service.getWatchedFilesCount () != 0 )
+        {
+            throw new RuntimeException ( "Cancelled watches were not removed" );
+        }
+    }
+
+    /**
+     * Tests that file modification and removal are reported.
+     *
+     * @throws Exception if test was interrupted
+     */
+    @Test
+    public void fileChanges () throws Exception
+    {
+        final File file = new File ( dir, "file" );
+        final RecordingListener listener = new RecordingListener ();
+        final FileWatch watch = service.watch ( file, listener, FileWatchService.RESOLUTION );
+        if ( !file.setLastModified ( file.lastModified () + 10000 ) )
+        {
+            throw new RuntimeException ( "Unable to modify test file" );
+        }
+        if ( !listener.await ( file ) )
+        {
+            throw new RuntimeException ( "File modification was not reported" );
+        }
+        FileUtils.deleteFile ( file );
+        if ( !listener.awaitUnbound () )
+        {
+            throw new RuntimeException ( "File removal was not reported" );
+        }
+        if ( watch.isActive () || service.getWatchedFilesCount () != 0 )
+        {
+            throw new RuntimeException ( "Removed file is still watched" );
+        }
+    }
+
+    /**
+     * {@link SystemFileListener} recording reported changes.
+     */
+    private static final class RecordingListener implements SystemFileListener
+    {
+        /**
+         * Reported modified files.
+         */
+        private final List<File> modified = new ArrayList<File> ();
+
+        /**
+         * Whether or not watched file was reported as unbound.
+         */
+        private boolean unbound = false;
+
+        @Override
+        public synchronized void modified ( final File file )
+        {
+            modified.add ( file );
+            notifyAll ();
+        }
+
+        @Override
+        public synchronized void unbound ( final File file )
+        {
+            unbound = true;
+            notifyAll ();
+        }
+
+        /**
+         * Returns whether or not modification of the specified file was reported.
+         *
+         * @param file file to check
+         * @return {@code true} if modification of the specified file was reported, {@code false} otherwise
+         */
+        public synchronized boolean contains ( final File file )
+        {
+            return modified.contains ( file );
+        }
+
+        /**
+         * Waits for modification of the specified file to be reported.
+         *
+         * @param file file to wait for
+         * @return {@code true} if modification of the specified file was reported, {@code false} if timeout has elapsed
+         * @throws InterruptedException if waiting was interrupted
+         */
+        public synchronized boolean await ( final File file ) throws InterruptedException
+        {
+            final long deadline = System.currentTimeMillis () + TIMEOUT;
+            while ( !modified.contains ( file ) && System.currentTimeMillis () < deadline )
+            {
+                wait ( TIMEOUT );
+            }
+            return modified.contains ( file );
+        }
+
+        /**
+         * Waits for watched file to be reported as unbound.
+         *
+         * @return {@code true} if watched file was reported as unbound, {@code false} if timeout has elapsed
+         * @throws InterruptedException if waiting was interrupted
+         */
+        public synchronized boolean awaitUnbound () throws InterruptedException
+        {
+            final long deadline = System.currentTimeMillis () + TIMEOUT;
+            while ( !unbound && System.currentTimeMillis () < deadline )
+            {
+                wait ( TIMEOUT );
+            }
+            return unbound;
+        }
+    }
+}
@@ -0,0 +1,337 @@
+/*
+ * This file is part of WebLookAndFeel library.
+ *
+ * WebLookAndFeel library is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * WebLookAndFeel library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with WebLookAndFeel library.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.alee.utils.swing;
+
+import org.junit.Test;
+
+import java.awt.event.ActionEvent;
+import java.awt.event.ActionListener;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.*;
+
+/**
+ * Set of JUnit tests for {@link WebTimer} cycles scheduled through {@link SharedTimerBackend}.
+ *
+ * @author Mikle Garin
+ */
+public final class WebTimerTest
+{
+    /**
+     * Maximum time in milliseconds to wait for timer events.
+     */
+    private static final long TIMEOUT = 5000;
+
+    /**
+     * Non-repeating timer test.
+     *
+     * @throws InterruptedException if test is interrupted
+     */
+    @Test
+    public void singleCycle () throws InterruptedException
+    {
+        for ( final boolean edt : new boolean[]{ true, false } )
+        {
+            final AtomicInteger counter = new AtomicInteger ( 0 );
+            final WebTimer timer = new WebTimer ( 10, new CountingListener ( counter, null ) );
+            timer.setRepeats ( false ).setUseEventDispatchThread ( edt ).start ();
+            awaitStop ( timer );
+            Thread.sleep ( 50 );
+            assertEquals ( "Non-repeating timer must fire once", 1, counter.get () );
+            assertEquals ( 1, timer.getCycleCount () );
+        }
+    }
+
+    /**
+     * Repeating timer with cycles limit test.
+     *
+     * @throws InterruptedException if test is interrupted
+     */
+    @Test
+    public void cyclesLimit () throws InterruptedException
+    {
+        for ( final boolean edt : new boolean[]{ true, false } )
+        {
+            final AtomicInteger counter = new AtomicInteger ( 0 );
+            final WebTimer timer = new WebTimer ( 5, new CountingListener ( counter, null ) );
+            timer.setCyclesLimit ( 5 ).setUseEventDispatchThread ( edt ).start ();
+            awaitStop ( timer );
+            Thread.sleep ( 50 );
+            assertEquals ( "Timer must fire exactly cycles limit times", 5, counter.get () );
+            assertEquals ( 5, timer.getCycleCount () );
+        }
+    }
+
+    /**
+     * Repeating timer test.
+     *
+     * @throws InterruptedException if test is interrupted
+     */
+    @Test
+    public void repeats () throws InterruptedException
+    {
+        final AtomicInteger counter = new AtomicInteger ( 0 );
+        final CountDownLatch fired = new CountDownLatch ( 10 );
+        final WebTimer timer = new WebTimer ( 1, new CountingListener ( counter, fired ) );
+        timer.start ();
+        try
+        {
+            assertTrue ( "Repeating timer must keep firing", fired.await ( TIMEOUT, TimeUnit.MILLISECONDS ) );
+            assertTrue ( timer.isRunning () );
+        }
+        finally
+        {
+            timer.stop ();
+        }
+        assertFalse ( timer.isRunning () );
+    }
+
+    /**
+     * Blocking stop while actions are being performed outside of EDT test.
+     *
+     * @throws InterruptedException if test is interrupted
+     */
+    @Test
+    public void stopWhileRunning () throws InterruptedException
+    {
+        final CountDownLatch entered = new CountDownLatch ( 1 );
+        final AtomicBoolean performing = new AtomicBoolean ( false );
+        final AtomicInteger counter = new AtomicInteger ( 0 );
+        final WebTimer timer = new WebTimer ( 1, new ActionListener ()
+        {
+            @Override
+            public void actionPerformed ( final ActionEvent e )
+            {
+                performing.set ( true );
+                counter.incrementAndGet ();
+                entered.countDown ();
+                try
+                {
+                    Thread.sleep ( 200 );
+                }
+                catch ( final InterruptedException ignored )
+                {
+                    // Not expected
+                }
+                performing.set ( false );
+            }
+        } );
+        timer.setUseEventDispatchThread ( false ).start ();
+        assertTrue ( "Timer must fire", entered.await ( TIMEOUT, TimeUnit.MILLISECONDS ) );
+
+        timer.stop ();
+        assertFalse ( "Blocking stop must wait for ongoing actions", performing.get () );
+        assertFalse ( timer.isRunning () );
+        final int fired = counter.get ();
+        Thread.sleep ( 100 );
+        assertEquals ( "Stopped timer must not fire", fired, counter.get () );
+    }
+
+    /**
+     * Timer restart test.
+     *
+     * @throws InterruptedException if test is interrupted
+     */
+    @Test
+    public void restart () throws InterruptedException
+    {
+        final AtomicInteger counter = new AtomicInteger ( 0 );
+        final WebTimer timer = new WebTimer ( 5, new CountingListener ( counter, null ) );
+        timer.setCyclesLimit ( 3 ).setUseEventDispatchThread ( false ).start ();
+        awaitStop ( timer );
+        assertEquals ( 3, counter.get () );
+
+        timer.restart ();
+        awaitStop ( timer );
+        assertEquals ( "Restarted timer must run all cycles again", 6, counter.get () );
+        assertEquals ( "Cycles count must be reset on restart", 3, timer.getCycleCount () );
+
+        // Restarting running timer must not leave previous execution running
+        timer.setCyclesLimit ( 0 ).setDelay ( 1 );
+        timer.start ();
+        timer.restart ( 1 );
+        Thread.sleep ( 50 );
+        timer.stop ();
+        final int fired = counter.get ();
+        Thread.sleep ( 100 );
+        assertEquals ( "Restarted timer must not fire after stop", fired, counter.get () );
+    }
+
+    /**
+     * Restart while previous execution is still performing actions outside of EDT test.
+     * Cycles of the previous execution must not be counted towards cycles limit of the new one.
+     *
+     * @throws InterruptedException if test is interrupted
+     */
+    @Test
+    public void restartWhileRunning () throws InterruptedException
+    {
+        final CountDownLatch entered = new CountDownLatch ( 1 );
+        final CountDownLatch release = new CountDownLatch ( 1 );
+        final AtomicInteger counter = new AtomicInteger ( 0 );
+        final WebTimer timer = new WebTimer ( 1, new ActionListener ()
+        {
+            @Override
+            public void actionPerformed ( final ActionEvent e )
+            {
+                try
+                {
+                    final int call = counter.incrementAndGet ();
+                    if ( call == 1 )
+                    {
+                        // Blocking first cycle of the first execution
+                        entered.countDown ();
+                        release.await ();
+                    }
+                    else if ( call == 2 )
+                    {
+                        // Letting first execution complete its cycle while second one is running
+                        release.countDown ();
+                        Thread.sleep ( 100 );
+                    }
+                }
+                catch ( final InterruptedException ignored )
+                {
+                    // Not expected
+                }
+            }
+        } );
+        timer.setCyclesLimit ( 3 ).setUseEventDispatchThread ( false ).setNonBlockingStop ( true ).start ();
+        assertTrue ( "Timer must fire", entered.await ( TIMEOUT, TimeUnit.MILLISECONDS ) );
+
+        timer.restart ();
+        awaitStop ( timer );
+        Thread.sleep ( 50 );
+        assertEquals ( "Restarted timer must run all cycles", 4, counter.get () );
+        assertEquals ( "Cycles of the previous execution must not be counted", 3, timer.getCycleCount () );
+    }
+
+    /**
+     * Timers blocking outside of EDT must not starve other timers.
+     *
+     * @throws InterruptedException if test is interrupted
+     */
+    @Test
+    public void blockingTimers () throws InterruptedException
+    {
+        final CountDownLatch release = new CountDownLatch ( 1 );
+        final int amount = Runtime.getRuntime ().availableProcessors () * 2 + 4;
+        final CountDownLatch blocked = new CountDownLatch ( amount );
+        final List<WebTimer> timers = new ArrayList<WebTimer> ( amount );
+        try
+        {
+            for ( int i = 0; i < amount; i++ )
+            {
+                final WebTimer timer = new WebTimer ( 1, new ActionListener ()
+                {
+                    @Override
+                    public void actionPerformed ( final ActionEvent e )
+                    {
+                        blocked.countDown ();
+                        try
+                        {
+                            release.await ();
+                        }
+                        catch ( final InterruptedException ignored )
+                        {
+                            // Not expected
+                        }
+                    }
+                } );
+                timer.setRepeats ( false ).setUseEventDispatchThread ( false ).setNonBlockingStop ( true ).start ();
+                timers.add ( timer );
+            }
+            assertTrue ( "All blocking timers must fire", blocked.await ( TIMEOUT, TimeUnit.MILLISECONDS ) );
+
+            for ( final boolean edt : new boolean[]{ true, false } )
+            {
+                final CountDownLatch fired = new CountDownLatch ( 3 );
+                final WebTimer timer = new WebTimer ( 1, new CountingListener ( new AtomicInteger ( 0 ), fired ) );
+                timer.setCyclesLimit ( 3 ).setUseEventDispatchThread ( edt ).start ();
+                assertTrue ( "Timer must not be starved by blocking timers", fired.await ( TIMEOUT, TimeUnit.MILLISECONDS ) );
+            }
+        }
+        finally
+        {
+            release.countDown ();
+            for ( final WebTimer timer : timers )
+            {
+                timer.stop ();
+            }
+        }
+    }
+
+    /**
+     * Waits for the specified {@link WebTimer} to stop.
+     *
+     * @param timer {@link WebTimer} to wait for
+     * @throws InterruptedException if waiting is interrupted
+     */
+    private void awaitStop ( final WebTimer timer ) throws InterruptedException
+    {
+        final long timeout = System.currentTimeMillis () + TIMEOUT;
+        while ( timer.isRunning () && System.currentTimeMillis () < timeout )
+        {
+            Thread.sleep ( 5 );
+        }
+        assertFalse ( "Timer must stop", timer.isRunning () );
+    }
+
+    /**
+     * {@link ActionListener} counting its calls.
+     */
+    private static final class CountingListener implements ActionListener
+    {
+        /**
+         * Calls counter.
+         */
+        private final AtomicInteger counter;
+
+        /**
+         * {@link CountDownLatch} counted down on each call, can be {@code null}.
+         */
+        private final CountDownLatch latch;
+
+        /**
+         * Constructs new {@link CountingListener}.
+         *
+         * @param counter calls counter
+         * @param latch   {@link CountDownLatch} counted down on each call, can be {@code null}
+         */
+        public CountingListener ( final AtomicInteger counter, final CountDownLatch latch )
+        {
+            this.counter = counter;
+            this.latch = latch;
+        }
+
+        @Override
+        public void actionPerformed ( final ActionEvent e )
+        {
+            counter.incrementAndGet ();
+            if ( latch != null )
+            {
+                latch.countDown ();
+            }
+        }
+    }
+}
@@ -0,0 +1,62 @@
+/*
+ * This file is part of WebLookAndFeel library.
+ *
+ * WebLookAndFeel library is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * WebLookAndFeel library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with WebLookAndFeel library.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.alee.managers.plugin;
+
+import java.io.IOException;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.net.URLStreamHandlerFactory;
+
+/**
+ * Java 12 compatible base {@link URLClassLoader} for {@link PluginClassLoader}.
+ * It is registered as parallel capable and closes {@link URLClassLoader} resources directly.
+ *
+ * @author Mikle Garin
+ */
+abstract class CloseableURLClassLoader extends URLClassLoader
+{
+    static
+    {
+        registerAsParallelCapable ();
+    }
+
+    protected CloseableURLClassLoader ( final URL[] urls, final ClassLoader parent )
+    {
+        super ( urls, parent );
+    }
+
+    protected CloseableURLClassLoader ( final URL[] urls )
+    {
+        super ( urls );
+    }
+
+    protected CloseableURLClassLoader ( final URL[] urls, final ClassLoader parent, final URLStreamHandlerFactory factory )
+    {
+        super ( urls, parent, factory );
+    }
+
+    /**
+     * Closes resources opened by {@link URLClassLoader}.
+     *
+     * @throws IOException if some of the opened resources cannot be closed
+     */
+    protected void closeURLClassLoader () throws IOException
+    {
+        super.close ();
+    }
+}
@@ -0,0 +1,72 @@
+/*
+ * This file is part of WebLookAndFeel library.
+ *
+ * WebLookAndFeel library is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * WebLookAndFeel library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with WebLookAndFeel library.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+
+package com.alee.managers.plugin;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.List;
+import java.util.jar.JarEntry;
+import java.util.jar.JarFile;
+import java.util.stream.Collectors;
+import java.util.zip.ZipFile;
+
+/**
+ * Java 12 compatible {@link JarFile} helper for {@link PluginClassLoader}.
+ * JAR files are opened with runtime versioning, so entries of multi-release JAR files are resolved for the running JDK.
+ *
+ * @author Mikle Garin
+ */
+final class JarFileHelper
+{
+    /**
+     * Returns {@link JarFile} opened with runtime versioning.
+     *
+     * @param file JAR file
+     * @return {@link JarFile} opened with runtime versioning
+     * @throws IOException if JAR file cannot be read
+     */
+    public static JarFile open ( final File file ) throws IOException
+    {
+        return new JarFile ( file, true, ZipFile.OPEN_READ, Runtime.version () );
+    }
+
+    /**
+     * Returns names of all entries available within the specified {@link JarFile} for the running JDK.
+     * Versioned entries are listed under their base names.
+     *
+     * @param jarFile {@link JarFile}
+     * @return names of all entries available within the specified {@link JarFile} for the running JDK
+     */
+    public static List<String> getEntryNames ( final JarFile jarFile )
+    {
+        return jarFile.versionedStream ().map ( JarEntry::getName ).collect ( Collectors.toList () );
+    }
+
+    /**
+     * Returns name of the specified {@link JarEntry} within JAR file.
+     * Versioned entries are located under {@code META-INF/versions} instead of their base names.
+     *
+     * @param entry {@link JarEntry}
+     * @return name of the specified {@link JarEntry} within JAR file
+     */
+    public static String getRealName ( final JarEntry entry )
+    {
+        return entry.getRealName ();
+    }
+}
@@ -0,0 +1,126 @@
+/*
+ * This file is part of WebLookAndFeel library.
+ *
+ * WebLookAndFeel library is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * WebLookAndFeel library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with WebLookAndFeel library.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.alee.managers.plugin;
+
+import java.io.IOException;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.net.URLStreamHandlerFactory;
+import java.util.List;
+
+/**
+ * Base {@link URLClassLoader} for {@link PluginClassLoader}.
+ * {@link URLClassLoader} can only be closed since JDK 7, so this variant closes its class path through reflection and leaves it
+ * open on JDK 6, Java 12 variant closes it directly. Parallel class loading is also only available since JDK 7, so this class
+ * loader registers itself as parallel capable through reflection and simply stays sequential on JDK 6.
+ *
+ * @author Mikle Garin
+ */
+abstract class CloseableURLClassLoader extends URLClassLoader
+{
+    /*
+     * Note: modules/plugin/java12/com/alee/managers/plugin/CloseableURLClassLoader.java
+     */
+
+    /**
+     * Registering as parallel capable.
+     * {@link ClassLoader} registers the class it is called from, so it cannot be done by any helper class.
+     */
+    static
+    {
+        try
+        {
+            final Method register = ClassLoader.class.getDeclaredMethod ( "registerAsParallelCapable" );
+            register.setAccessible ( true );
+            register.invoke ( null );
+        }
+        catch ( final Exception ignored )
+        {
+            /**
+             * Parallel class loading is not supported on JDK 6.
+             */
+        }
+    }
+
+    /**
+     * Constructs new {@link CloseableURLClassLoader}.
+     *
+     * @param urls   the URLs from which to load classes and resources
+     * @param parent the parent class loader for delegation
+     */
+    protected CloseableURLClassLoader ( final URL[] urls, final ClassLoader parent )
+    {
+        super ( urls, parent );
+    }
+
+    /**
+     * Constructs new {@link CloseableURLClassLoader}.
+     *
+     * @param urls the URLs from which to load classes and resources
+     */
+    protected CloseableURLClassLoader ( final URL[] urls )
+    {
+        super ( urls );
+    }
+
+    /**
+     * Constructs new {@link CloseableURLClassLoader}.
+     *
+     * @param urls    the URLs from which to load classes and resources
+     * @param parent  the parent class loader for delegation
+     * @param factory the URLStreamHandlerFactory to use when creating URLs
+     */
+    protected CloseableURLClassLoader ( final URL[] urls, final ClassLoader parent, final URLStreamHandlerFactory factory )
+    {
+        super ( urls, parent, factory );
+    }
+
+    /**
+     * Closes resources opened by {@link URLClassLoader}.
+     * {@code URLClassLoader.close()} cannot be called here since it is overridden by {@link PluginClassLoader}, so class path
+     * JAR files are closed the same way {@code URLClassLoader.close()} does it. There is nothing to close on JDK 6.
+     *
+     * @throws IOException if some of the opened resources cannot be closed
+     */
+    protected void closeURLClassLoader () throws IOException
+    {
+        List<?> errors;
+        try
+        {
+            final Field field = URLClassLoader.class.getDeclaredField ( "ucp" );
+            field.setAccessible ( true );
+            final Object classPath = field.get ( this );
+            final Method closeLoaders = classPath.getClass ().getDeclaredMethod ( "closeLoaders" );
+            closeLoaders.setAccessible ( true );
+            errors = ( List<?> ) closeLoaders.invoke ( classPath );
+        }
+        catch ( final Exception ignored )
+        {
+            /**
+             * Class path cannot be closed on JDK 6.
+             */
+            errors = null;
+        }
+        if ( errors != null && !errors.isEmpty () )
+        {
+            throw ( IOException ) errors.get ( 0 );
+        }
+    }
+}
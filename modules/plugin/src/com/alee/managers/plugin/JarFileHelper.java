@@ -0,0 +1,98 @@
+/*
+ * This file is part of WebLookAndFeel library.
+ *
+ * WebLookAndFeel library is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * WebLookAndFeel library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with WebLookAndFeel library.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+
+package com.alee.managers.plugin;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Enumeration;
+import java.util.List;
+import java.util.jar.JarEntry;
+import java.util.jar.JarFile;
+import java.util.jar.Manifest;
+
+/**
+ * {@link JarFile} helper for {@link PluginClassLoader}.
+ * Multi-release JAR files can only be opened with runtime versioning since JDK 9, so this variant doesn't open them at all and
+ * leaves them to {@link java.net.URLClassLoader} which picks versioned entries on its own. Other JAR files are read as is.
+ *
+ * @author Mikle Garin
+ */
+final class JarFileHelper
+{
+    /*
+     * Note: modules/plugin/java12/com/alee/managers/plugin/JarFileHelper.java
+     */
+
+    /**
+     * Returns opened {@link JarFile} or {@code null} if the specified file is a multi-release JAR file.
+     *
+     * @param file JAR file
+     * @return opened {@link JarFile} or {@code null} if the specified file is a multi-release JAR file
+     * @throws IOException if JAR file cannot be read
+     */
+    public static JarFile open ( final File file ) throws IOException
+    {
+        JarFile jarFile = new JarFile ( file );
+        try
+        {
+            final Manifest manifest = jarFile.getManifest ();
+            if ( manifest != null && Boolean.parseBoolean ( manifest.getMainAttributes ().getValue ( "Multi-Release" ) ) )
+            {
+                jarFile.close ();
+                jarFile = null;
+            }
+        }
+        catch ( final IOException e )
+        {
+            jarFile.close ();
+            throw e;
+        }
+        return jarFile;
+    }
+
+    /**
+     * Returns names of all entries available within the specified {@link JarFile}.
+     *
+     * @param jarFile {@link JarFile}
+     * @return names of all entries available within the specified {@link JarFile}
+     */
+    public static List<String> getEntryNames ( final JarFile jarFile )
+    {
+        final List<String> names = new ArrayList<String> ();
+        final Enumeration<JarEntry> entries = jarFile.entries ();
+        while ( entries.hasMoreElements () )
+        {
+            names.add ( entries.nextElement ().getName () );
+        }
+        return names;
+    }
+
+    /**
+     * Returns name of the specified {@link JarEntry} within JAR file.
+     * It only differs from {@link JarEntry#getName()} for versioned entries which are never read by this variant.
+     *
+     * @param entry {@link JarEntry}
+     * @return name of the specified {@link JarEntry} within JAR file
+     */
+    public static String getRealName ( final JarEntry entry )
+    {
+        return entry.getName ();
+    }
+}
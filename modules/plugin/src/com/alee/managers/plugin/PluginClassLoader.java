@@ -17,18 +17,103 @@
 
 package com.alee.managers.plugin;
 
+import com.alee.utils.IOUtils;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.reflect.Method;
+import java.net.MalformedURLException;
 import java.net.URL;
 import java.net.URLClassLoader;
 import java.net.URLStreamHandlerFactory;
+import java.security.CodeSource;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.jar.JarEntry;
+import java.util.jar.JarFile;
+import java.util.jar.Manifest;
 
 /**
  * Custom {@link java.lang.ClassLoader} for plugins based on {@link URLClassLoader}.
  * This class loader is used when a sandbox is required for loaded plugins.
  *
+ * Local JAR files added to this class loader are indexed by the packages they contain, so class and resource lookups only
+ * check JAR files that actually contain the requested package instead of walking through the whole classpath.
+ * Other URLs (directories, remote JAR files or files that cannot be read) are still searched by {@link URLClassLoader}.
+ * Multi-release JAR files are indexed with entries resolved for the running JDK on Java 12 and later, on older JDKs they are
+ * searched by {@link URLClassLoader} as well, see {@link JarFileHelper}.
+ * Classes and resources are still taken from the first URL containing them in the order URLs were added, no matter whether
+ * that URL is indexed or not. Indexed JAR files are kept open until this class loader is {@link #close()}d.
+ *
+ * Up to {@link #MISSING_CACHE_SIZE} most recently requested classes and resources that were not found are remembered until
+ * a new URL is added, so repeated lookups of missing classes and resources do not reach parent class loader again.
+ *
+ * This class loader is registered as parallel capable on JVMs that support it.
+ *
  * @author Mikle Garin
  */
-public class PluginClassLoader extends URLClassLoader
+public class PluginClassLoader extends CloseableURLClassLoader
 {
+    /**
+     * Registering as parallel capable.
+     * This is only supported since JDK 7, so it is done through reflection and is simply skipped on older JDKs.
+     * {@link ClassLoader} registers the class it is called from, so it has to be done by this class itself.
+     */
+    static
+    {
+        try
+        {
+            final Method register = ClassLoader.class.getDeclaredMethod ( "registerAsParallelCapable" );
+            register.setAccessible ( true );
+            register.invoke ( null );
+        }
+        catch ( final Exception ignored )
+        {
+            /**
+             * Parallel class loading is not supported on JDK 6.
+             */
+        }
+    }
+
+    /**
+     * Maximum amount of remembered missing classes and resources, each.
+     */
+    public static final int MISSING_CACHE_SIZE = 1000;
+
+    /**
+     * All URLs added to this class loader in the order they were added.
+     */
+    protected final List<URL> urls = new CopyOnWriteArrayList<URL> ();
+
+    /**
+     * Indexed JAR files mapped by the packages they contain.
+     * Package is represented by its path, for example {@code com/alee/managers/plugin}.
+     */
+    protected final Map<String, List<IndexedJar>> index = new ConcurrentHashMap<String, List<IndexedJar>> ();
+
+    /**
+     * Whether or not there are URLs that couldn't be indexed and have to be searched by {@link URLClassLoader}.
+     */
+    protected volatile boolean hasUnindexedURLs = false;
+
+    /**
+     * Position of the first URL that couldn't be indexed within {@link #urls}.
+     * Indexed JAR files added before it can be searched without checking {@link URLClassLoader} first.
+     */
+    protected volatile int firstUnindexedOrder = Integer.MAX_VALUE;
+
+    /**
+     * Names of most recently requested classes that were not found.
+     */
+    protected final Set<String> missingClasses = createMissingCache ();
+
+    /**
+     * Names of most recently requested resources that were not found.
+     */
+    protected final Set<String> missingResources = createMissingCache ();
+
     /**
      * Constructs a new URLClassLoader for the given URLs. The URLs will be
      * searched in the order specified for classes and resources after first
@@ -48,7 +133,8 @@ public class PluginClassLoader extends URLClassLoader
      */
     public PluginClassLoader ( final URL[] urls, final ClassLoader parent )
     {
-        super ( urls, parent );
+        super ( new URL[ 0 ], parent );
+        addURLs ( urls );
     }
 
     /**
@@ -71,7 +157,8 @@ public class PluginClassLoader extends URLClassLoader
      */
     public PluginClassLoader ( final URL[] urls )
     {
-        super ( urls );
+        super ( new URL[ 0 ] );
+        addURLs ( urls );
     }
 
     /**
@@ -94,17 +181,557 @@ public class PluginClassLoader extends URLClassLoader
      */
     public PluginClassLoader ( final URL[] urls, final ClassLoader parent, final URLStreamHandlerFactory factory )
     {
-        super ( urls, parent, factory );
+        super ( new URL[ 0 ], parent, factory );
+        addURLs ( urls );
+    }
+
+    /**
+     * Appends the specified URLs to the list of URLs to search for classes and resources.
+     *
+     * @param urls the URLs to be added to the search path of URLs
+     */
+    protected void addURLs ( final URL[] urls )
+    {
+        for ( final URL url : urls )
+        {
+            addURL ( url );
+        }
     }
 
     /**
      * Appends the specified URL to the list of URLs to search for classes and resources.
+     * Local JAR files are indexed right away, other URLs are passed to {@link URLClassLoader}.
      *
      * @param url the URL to be added to the search path of URLs
      */
     @Override
     public void addURL ( final URL url )
     {
-        super.addURL ( url );
+        if ( url != null )
+        {
+            synchronized ( urls )
+            {
+                if ( !urls.contains ( url ) )
+                {
+                    final IndexedJar jar = openJar ( url, urls.size () );
+                    if ( jar != null )
+                    {
+                        indexJar ( jar );
+                    }
+                    else
+                    {
+                        super.addURL ( url );
+                        if ( !hasUnindexedURLs )
+                        {
+                            firstUnindexedOrder = urls.size ();
+                            hasUnindexedURLs = true;
+                        }
+                    }
+                    urls.add ( url );
+
+                    // Previously missing classes and resources might be available now
+                    missingClasses.clear ();
+                    missingResources.clear ();
+                }
+            }
+        }
+    }
+
+    /**
+     * Returns new {@link Set} for names of missing classes or resources.
+     * It only keeps {@link #MISSING_CACHE_SIZE} most recently requested names.
+     *
+     * @return new {@link Set} for names of missing classes or resources
+     */
+    protected static Set<String> createMissingCache ()
+    {
+        return Collections.newSetFromMap ( Collections.synchronizedMap ( new LinkedHashMap<String, Boolean> ( 16, 0.75f, true )
+        {
+            @Override
+            protected boolean removeEldestEntry ( final Map.Entry<String, Boolean> eldest )
+            {
+                return size () > MISSING_CACHE_SIZE;
+            }
+        } ) );
+    }
+
+    /**
+     * Returns {@link IndexedJar} for the specified URL or {@code null} if it doesn't point to a local JAR file that can be indexed.
+     *
+     * @param url   JAR file URL
+     * @param order position of the URL within {@link #urls}
+     * @return {@link IndexedJar} for the specified URL or {@code null} if it doesn't point to a local JAR file that can be indexed
+     */
+    protected IndexedJar openJar ( final URL url, final int order )
+    {
+        IndexedJar jar = null;
+        if ( "file".equals ( url.getProtocol () ) )
+        {
+            try
+            {
+                final File file = new File ( url.toURI () );
+                if ( file.isFile () )
+                {
+                    final JarFile jarFile = JarFileHelper.open ( file );
+                    if ( jarFile != null )
+                    {
+                        jar = new IndexedJar ( url, jarFile, order );
+                    }
+                }
+            }
+            catch ( final Exception ignored )
+            {
+                /**
+                 * This URL will be searched by {@link URLClassLoader}.
+                 */
+            }
+        }
+        return jar;
+    }
+
+    /**
+     * Adds specified {@link IndexedJar} into packages index.
+     *
+     * @param jar {@link IndexedJar} to index
+     */
+    protected void indexJar ( final IndexedJar jar )
+    {
+        final Set<String> packages = new HashSet<String> ();
+        for ( final String name : JarFileHelper.getEntryNames ( jar.getJarFile () ) )
+        {
+            packages.add ( getPackagePath ( name ) );
+        }
+        for ( final String packagePath : packages )
+        {
+            List<IndexedJar> jars = index.get ( packagePath );
+            if ( jars == null )
+            {
+                jars = new CopyOnWriteArrayList<IndexedJar> ();
+                index.put ( packagePath, jars );
+            }
+            jars.add ( jar );
+        }
+    }
+
+    /**
+     * Returns package path for the specified JAR entry or resource name.
+     *
+     * @param name JAR entry or resource name
+     * @return package path for the specified JAR entry or resource name
+     */
+    protected String getPackagePath ( final String name )
+    {
+        final int end = name.endsWith ( "/" ) ? name.length () - 1 : name.length ();
+        final int separator = name.lastIndexOf ( '/', end - 1 );
+        return separator != -1 ? name.substring ( 0, separator ) : "";
+    }
+
+    /**
+     * Returns indexed JAR files that might contain the specified JAR entry.
+     * JAR files are returned in the order they were added.
+     *
+     * @param name JAR entry name
+     * @return indexed JAR files that might contain the specified JAR entry
+     */
+    protected List<IndexedJar> getIndexedJars ( final String name )
+    {
+        final List<IndexedJar> jars = index.get ( getPackagePath ( name ) );
+        return jars != null ? jars : Collections.<IndexedJar>emptyList ();
+    }
+
+    /**
+     * Returns first indexed JAR file containing the specified JAR entry or {@code null} if none of them contains it.
+     *
+     * @param name JAR entry name
+     * @return first indexed JAR file containing the specified JAR entry or {@code null} if none of them contains it
+     */
+    protected IndexedJar findIndexedJar ( final String name )
+    {
+        for ( final IndexedJar jar : getIndexedJars ( name ) )
+        {
+            if ( jar.getJarFile ().getEntry ( name ) != null )
+            {
+                return jar;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Returns whether or not JAR entry should be searched within URLs that couldn't be indexed instead of the indexed JAR file.
+     * That is the case when none of the indexed JAR files contain the entry or when it is found within URL added before them.
+     *
+     * @param name JAR entry name
+     * @param jar  first indexed JAR file containing the entry, {@code null} if none of them contains it
+     * @return {@code true} if JAR entry should be taken from URLs that couldn't be indexed, {@code false} otherwise
+     */
+    protected boolean isUnindexedFirst ( final String name, final IndexedJar jar )
+    {
+        final boolean unindexedFirst;
+        if ( jar == null )
+        {
+            unindexedFirst = hasUnindexedURLs;
+        }
+        else if ( hasUnindexedURLs && jar.getOrder () > firstUnindexedOrder )
+        {
+            final URL resource = super.findResource ( name );
+            unindexedFirst = resource != null && getOrder ( resource ) < jar.getOrder ();
+        }
+        else
+        {
+            unindexedFirst = false;
+        }
+        return unindexedFirst;
+    }
+
+    /**
+     * Returns position of the URL the specified resource was found in within {@link #urls}.
+     * Resource is matched against the longest URL it starts with, so nested directories are resolved properly.
+     *
+     * @param resource resource found by {@link URLClassLoader}
+     * @return position of the URL the specified resource was found in within {@link #urls}
+     */
+    protected int getOrder ( final URL resource )
+    {
+        final String form = resource.toExternalForm ();
+        int order = Integer.MAX_VALUE;
+        int longest = -1;
+        for ( int i = 0; i < urls.size (); i++ )
+        {
+            final String base = urls.get ( i ).toExternalForm ();
+            final String jarBase = "jar:" + base + "!/";
+            if ( form.startsWith ( jarBase ) && jarBase.length () > longest )
+            {
+                order = i;
+                longest = jarBase.length ();
+            }
+            else if ( form.startsWith ( base ) && base.length () > longest )
+            {
+                order = i;
+                longest = base.length ();
+            }
+        }
+        return order;
+    }
+
+    @Override
+    public URL[] getURLs ()
+    {
+        return urls.toArray ( new URL[ urls.size () ] );
+    }
+
+    @Override
+    protected Class<?> loadClass ( final String name, final boolean resolve ) throws ClassNotFoundException
+    {
+        if ( missingClasses.contains ( name ) )
+        {
+            throw new ClassNotFoundException ( name );
+        }
+        try
+        {
+            return super.loadClass ( name, resolve );
+        }
+        catch ( final ClassNotFoundException e )
+        {
+            missingClasses.add ( name );
+            throw e;
+        }
+    }
+
+    @Override
+    protected Class<?> findClass ( final String name ) throws ClassNotFoundException
+    {
+        final String path = name.replace ( '.', '/' ) + ".class";
+        final IndexedJar jar = findIndexedJar ( path );
+        if ( isUnindexedFirst ( path, jar ) )
+        {
+            return super.findClass ( name );
+        }
+        if ( jar != null )
+        {
+            return defineClass ( name, jar, jar.getJarFile ().getJarEntry ( path ) );
+        }
+        throw new ClassNotFoundException ( name );
+    }
+
+    /**
+     * Defines class from the specified {@link IndexedJar} entry.
+     *
+     * @param name  class name
+     * @param jar   {@link IndexedJar} containing the class
+     * @param entry class {@link JarEntry}
+     * @return defined class
+     * @throws ClassNotFoundException if class cannot be read
+     */
+    protected Class<?> defineClass ( final String name, final IndexedJar jar, final JarEntry entry ) throws ClassNotFoundException
+    {
+        try
+        {
+            // Defining package first
+            final int separator = name.lastIndexOf ( '.' );
+            if ( separator != -1 )
+            {
+                final String packageName = name.substring ( 0, separator );
+                if ( getPackage ( packageName ) == null )
+                {
+                    try
+                    {
+                        final Manifest manifest = jar.getManifest ();
+                        if ( manifest != null )
+                        {
+                            definePackage ( packageName, manifest, jar.getUrl () );
+                        }
+                        else
+                        {
+                            definePackage ( packageName, null, null, null, null, null, null, null );
+                        }
+                    }
+                    catch ( final IllegalArgumentException ignored )
+                    {
+                        /**
+                         * Package was defined concurrently.
+                         */
+                    }
+                }
+            }
+
+            // Reading class bytes, entry code signers are only available once it is fully read
+            final InputStream inputStream = jar.getJarFile ().getInputStream ( entry );
+            final byte[] bytes;
+            try
+            {
+                bytes = IOUtils.toByteArray ( inputStream );
+            }
+            finally
+            {
+                inputStream.close ();
+            }
+            final CodeSource codeSource = new CodeSource ( jar.getUrl (), entry.getCodeSigners () );
+            return defineClass ( name, bytes, 0, bytes.length, codeSource );
+        }
+        catch ( final IOException e )
+        {
+            throw new ClassNotFoundException ( name, e );
+        }
+    }
+
+    @Override
+    public URL getResource ( final String name )
+    {
+        if ( missingResources.contains ( name ) )
+        {
+            return null;
+        }
+        final URL resource = super.getResource ( name );
+        if ( resource == null )
+        {
+            missingResources.add ( name );
+        }
+        return resource;
+    }
+
+    @Override
+    public URL findResource ( final String name )
+    {
+        final IndexedJar jar = findIndexedJar ( name );
+        if ( isUnindexedFirst ( name, jar ) )
+        {
+            return super.findResource ( name );
+        }
+        return jar != null ? jar.getResource ( name ) : null;
+    }
+
+    @Override
+    public Enumeration<URL> findResources ( final String name ) throws IOException
+    {
+        final List<URL> resources = new ArrayList<URL> ( 1 );
+        for ( final IndexedJar jar : getIndexedJars ( name ) )
+        {
+            final URL resource = jar.getResource ( name );
+            if ( resource != null )
+            {
+                resources.add ( resource );
+            }
+        }
+        if ( hasUnindexedURLs )
+        {
+            // Merging resources from URLs that couldn't be indexed in the order URLs were added
+            for ( final URL resource : Collections.list ( super.findResources ( name ) ) )
+            {
+                final int order = getOrder ( resource );
+                int position = resources.size ();
+                while ( position > 0 && getOrder ( resources.get ( position - 1 ) ) > order )
+                {
+                    position--;
+                }
+                resources.add ( position, resource );
+            }
+        }
+        return Collections.enumeration ( resources );
+    }
+
+    /**
+     * Closes this class loader and all indexed JAR files.
+     * Classes and resources cannot be loaded by this class loader once it is closed.
+     * URLs searched by {@link URLClassLoader} are closed as well, see {@link #closeURLClassLoader()}.
+     *
+     * @throws IOException if some of the indexed JAR files or URLs searched by {@link URLClassLoader} cannot be closed
+     */
+    public void close () throws IOException
+    {
+        IOException exception = null;
+        try
+        {
+            closeURLClassLoader ();
+        }
+        catch ( final IOException e )
+        {
+            exception = e;
+        }
+        synchronized ( urls )
+        {
+            final Set<IndexedJar> jars = new HashSet<IndexedJar> ();
+            for ( final List<IndexedJar> packageJars : index.values () )
+            {
+                jars.addAll ( packageJars );
+            }
+            index.clear ();
+            for ( final IndexedJar jar : jars )
+            {
+                try
+                {
+                    jar.getJarFile ().close ();
+                }
+                catch ( final IOException e )
+                {
+                    if ( exception == null )
+                    {
+                        exception = e;
+                    }
+                }
+            }
+            missingClasses.clear ();
+            missingResources.clear ();
+        }
+        if ( exception != null )
+        {
+            throw exception;
+        }
+    }
+
+    /**
+     * Local JAR file indexed by {@link PluginClassLoader}.
+     */
+    protected static class IndexedJar
+    {
+        /**
+         * JAR file URL.
+         */
+        protected final URL url;
+
+        /**
+         * Opened {@link JarFile}.
+         */
+        protected final JarFile jarFile;
+
+        /**
+         * Base URL for JAR file resources.
+         */
+        protected final URL base;
+
+        /**
+         * JAR file {@link Manifest}, {@code null} if it is missing.
+         */
+        protected final Manifest manifest;
+
+        /**
+         * Position of the JAR file URL within {@link PluginClassLoader} URLs.
+         */
+        protected final int order;
+
+        /**
+         * Constructs new {@link IndexedJar}.
+         *
+         * @param url     JAR file URL
+         * @param jarFile opened {@link JarFile}
+         * @param order   position of the JAR file URL within {@link PluginClassLoader} URLs
+         * @throws IOException if JAR file cannot be read
+         */
+        public IndexedJar ( final URL url, final JarFile jarFile, final int order ) throws IOException
+        {
+            super ();
+            this.url = url;
+            this.jarFile = jarFile;
+            this.base = new URL ( "jar:" + url.toExternalForm () + "!/" );
+            this.manifest = jarFile.getManifest ();
+            this.order = order;
+        }
+
+        /**
+         * Returns JAR file URL.
+         *
+         * @return JAR file URL
+         */
+        public URL getUrl ()
+        {
+            return url;
+        }
+
+        /**
+         * Returns opened {@link JarFile}.
+         *
+         * @return opened {@link JarFile}
+         */
+        public JarFile getJarFile ()
+        {
+            return jarFile;
+        }
+
+        /**
+         * Returns position of the JAR file URL within {@link PluginClassLoader} URLs.
+         *
+         * @return position of the JAR file URL within {@link PluginClassLoader} URLs
+         */
+        public int getOrder ()
+        {
+            return order;
+        }
+
+        /**
+         * Returns JAR file {@link Manifest}.
+         *
+         * @return JAR file {@link Manifest}, {@code null} if it is missing
+         */
+        public Manifest getManifest ()
+        {
+            return manifest;
+        }
+
+        /**
+         * Returns URL of the specified resource within this JAR file or {@code null} if there is no such resource.
+         *
+         * @param name resource name
+         * @return URL of the specified resource within this JAR file or {@code null} if there is no such resource
+         */
+        public URL getResource ( final String name )
+        {
+            URL resource = null;
+            final JarEntry entry = jarFile.getJarEntry ( name );
+            if ( entry != null )
+            {
+                try
+                {
+                    // Versioned entries are referenced directly, same way as URLClassLoader does it
+                    resource = new URL ( base, JarFileHelper.getRealName ( entry ) );
+                }
+                catch ( final MalformedURLException ignored )
+                {
+                    /**
+                     * Resource name cannot be represented as URL.
+                     */
+                }
+            }
+            return resource;
+        }
     }
 }
\ No newline at end of file
@@ -0,0 +1,243 @@
+/*
+ * This file is part of WebLookAndFeel library.
+ *
+ * WebLookAndFeel library is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * WebLookAndFeel library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with WebLookAndFeel library.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.alee.managers.plugin;
+
+import com.alee.api.resource.FileResource;
+import com.alee.managers.plugin.data.PluginIndexEntry;
+import com.alee.utils.FileUtils;
+import com.alee.utils.XmlUtils;
+import org.slf4j.LoggerFactory;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Index of plugin files information used by {@link PluginManager} to skip reading plugin files that didn't change.
+ *
+ * Each {@link PluginIndexEntry} is identified by canonical plugin file path and stays valid while file size and modification time
+ * stay the same. Optionally file MD5 hash can also be verified, but that requires reading whole file on each check.
+ * Index can be kept in memory only or it can be stored in a file to be reused between application runs.
+ * All methods of this class are thread-safe.
+ *
+ * @author Mikle Garin
+ * @see <a href="https://github.com/mgarin/weblaf/wiki/How-to-use-PluginManager">How to use PluginManager</a>
+ * @see PluginManager#setPluginIndex(PluginIndex)
+ * @see PluginIndexEntry
+ */
+public class PluginIndex
+{
+    /**
+     * File index is stored in, {@code null} if index is only kept in memory.
+     */
+    protected final File file;
+
+    /**
+     * Whether or not plugin files MD5 hashes should be verified.
+     */
+    protected final boolean verifyHashes;
+
+    /**
+     * {@link PluginIndexEntry}s mapped by canonical plugin file paths, {@code null} until index is loaded.
+     */
+    protected Map<String, PluginIndexEntry> entries;
+
+    /**
+     * Whether or not index was modified since it was loaded or saved.
+     */
+    protected boolean modified;
+
+    /**
+     * Constructs new {@link PluginIndex} kept in memory only.
+     */
+    public PluginIndex ()
+    {
+        this ( null );
+    }
+
+    /**
+     * Constructs new {@link PluginIndex} stored in the specified file.
+     *
+     * @param file file to store index in, {@code null} to keep index in memory only
+     */
+    public PluginIndex ( final File file )
+    {
+        this ( file, false );
+    }
+
+    /**
+     * Constructs new {@link PluginIndex} stored in the specified file.
+     *
+     * @param file         file to store index in, {@code null} to keep index in memory only
+     * @param verifyHashes whether or not plugin files MD5 hashes should be verified
+     */
+    public PluginIndex ( final File file, final boolean verifyHashes )
+    {
+        super ();
+        this.file = file;
+        this.verifyHashes = verifyHashes;
+        this.entries = null;
+        this.modified = false;
+    }
+
+    /**
+     * Returns file index is stored in or {@code null} if index is only kept in memory.
+     *
+     * @return file index is stored in or {@code null} if index is only kept in memory
+     */
+    public File getFile ()
+    {
+        return file;
+    }
+
+    /**
+     * Returns whether or not plugin files MD5 hashes are verified.
+     *
+     * @return {@code true} if plugin files MD5 hashes are verified, {@code false} otherwise
+     */
+    public boolean isVerifyHashes ()
+    {
+        return verifyHashes;
+    }
+
+    /**
+     * Returns valid {@link PluginIndexEntry} for the specified plugin file or {@code null} if there is none.
+     *
+     * @param pluginFile plugin file
+     * @param path       canonical plugin file path
+     * @param size       current plugin file size
+     * @param modified   current plugin file modification time
+     * @return valid {@link PluginIndexEntry} for the specified plugin file or {@code null} if there is none
+     */
+    public PluginIndexEntry get ( final File pluginFile, final String path, final long size, final long modified )
+    {
+        final PluginIndexEntry entry;
+        synchronized ( this )
+        {
+            entry = entries ().get ( path );
+        }
+        if ( entry != null && entry.getSize () == size && entry.getModified () == modified )
+        {
+            if ( !verifyHashes || entry.getHash () != null && entry.getHash ().equals ( computeHash ( pluginFile ) ) )
+            {
+                return entry;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Returns plugin file MD5 hash if hashes are verified or {@code null} otherwise.
+     *
+     * @param pluginFile plugin file
+     * @return plugin file MD5 hash if hashes are verified or {@code null} otherwise
+     */
+    public String computeHash ( final File pluginFile )
+    {
+        return verifyHashes ? FileUtils.computeMD5 ( new FileResource ( pluginFile ) ) : null;
+    }
+
+    /**
+     * Adds or replaces {@link PluginIndexEntry}.
+     *
+     * @param entry {@link PluginIndexEntry}
+     */
+    public synchronized void put ( final PluginIndexEntry entry )
+    {
+        entries ().put ( entry.getPath (), entry );
+        modified = true;
+    }
+
+    /**
+     * Removes all {@link PluginIndexEntry}s.
+     */
+    public synchronized void clear ()
+    {
+        entries ().clear ();
+        modified = true;
+    }
+
+    /**
+     * Saves index into its file if it was modified.
+     * Entries for plugin files that don't exist anymore are removed from index before saving.
+     */
+    public synchronized void save ()
+    {
+        if ( file != null && modified )
+        {
+            final Iterator<PluginIndexEntry> iterator = entries ().values ().iterator ();
+            while ( iterator.hasNext () )
+            {
+                if ( !new File ( iterator.next ().getPath () ).exists () )
+                {
+                    iterator.remove ();
+                }
+            }
+            try
+            {
+                final File parent = file.getAbsoluteFile ().getParentFile ();
+                if ( parent != null )
+                {
+                    FileUtils.ensureDirectoryExists ( parent );
+                }
+                XmlUtils.toXML ( new ArrayList<PluginIndexEntry> ( entries.values () ), file );
+                modified = false;
+            }
+            catch ( final Exception e )
+            {
+                final String msg = "Unable to save plugin index: %s";
+                LoggerFactory.getLogger ( PluginIndex.class ).error ( String.format ( msg, file.getAbsolutePath () ), e );
+            }
+        }
+    }
+
+    /**
+     * Returns {@link PluginIndexEntry}s mapped by canonical plugin file paths.
+     * Index is loaded from its file upon first call.
+     *
+     * @return {@link PluginIndexEntry}s mapped by canonical plugin file paths
+     */
+    protected Map<String, PluginIndexEntry> entries ()
+    {
+        if ( entries == null )
+        {
+            entries = new HashMap<String, PluginIndexEntry> ();
+            if ( file != null && file.exists () )
+            {
+                try
+                {
+                    final List<PluginIndexEntry> loaded = XmlUtils.fromXML ( new FileResource ( file ) );
+                    for ( final PluginIndexEntry entry : loaded )
+                    {
+                        entries.put ( entry.getPath (), entry );
+                    }
+                }
+                catch ( final Exception e )
+                {
+                    // Index will simply be rebuilt in this case
+                    final String msg = "Unable to load plugin index: %s";
+                    LoggerFactory.getLogger ( PluginIndex.class ).warn ( String.format ( msg, file.getAbsolutePath () ), e );
+                }
+            }
+        }
+        return entries;
+    }
+}
@@ -0,0 +1,42 @@
+/*
+ * This file is part of WebLookAndFeel library.
+ *
+ * WebLookAndFeel library is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * WebLookAndFeel library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with WebLookAndFeel library.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.alee.managers.plugin;
+
+import com.alee.managers.plugin.data.DetectedPlugin;
+
+/**
+ * Extended {@link PluginsListener} that is also informed about initialization of each single plugin.
+ * It is a separate interface so that existing {@link PluginsListener} implementations do not have to implement new method.
+ *
+ * @param <P> {@link Plugin} type
+ * @author Mikle Garin
+ * @see <a href="https://github.com/mgarin/weblaf/wiki/How-to-use-PluginManager">How to use PluginManager</a>
+ * @see PluginManager
+ * @see PluginsAdapter
+ */
+public interface PluginInitializationListener<P extends Plugin> extends PluginsListener<P>
+{
+    /**
+     * Called when initialization of a single detected plugin finishes, successfully or not.
+     * It is always called on the thread that performs plugins check, even if plugins are initialized in parallel.
+     * Time spent on plugin class loading and instantiation is available through {@link DetectedPlugin#getInitializationTime()}.
+     *
+     * @param plugin detected plugin which initialization has finished
+     */
+    public void pluginInitialized ( DetectedPlugin<P> plugin );
+}
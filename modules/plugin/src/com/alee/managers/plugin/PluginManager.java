@@ -17,10 +17,12 @@
 
 package com.alee.managers.plugin;
 
+import com.alee.api.jdk.Supplier;
 import com.alee.managers.plugin.data.*;
 import com.alee.utils.*;
 import com.alee.utils.collection.ImmutableList;
 import com.alee.utils.compare.Filter;
+import com.alee.utils.concurrent.DaemonThreadFactory;
 import com.alee.utils.filefilter.DirectoriesFilter;
 import com.alee.utils.sort.TopologicalGraphProvider;
 import com.alee.utils.sort.TopologicalSorter;
@@ -34,6 +36,7 @@ import java.io.InputStream;
 import java.net.URL;
 import java.net.URLClassLoader;
 import java.util.*;
+import java.util.concurrent.*;
 import java.util.zip.ZipEntry;
 import java.util.zip.ZipFile;
 
@@ -156,6 +159,21 @@ public abstract class PluginManager<P extends Plugin>
      */
     protected ClassLoaderType classLoaderType;
 
+    /**
+     * {@link PluginIndex} used to skip reading plugin files that didn't change.
+     */
+    protected PluginIndex pluginIndex;
+
+    /**
+     * Maximum amount of threads used to read plugin files in parallel.
+     */
+    protected int scanThreads;
+
+    /**
+     * Maximum amount of threads used to initialize independent plugins in parallel.
+     */
+    protected int initializationThreads;
+
     /**
      * Constructs new plugin manager.
      */
@@ -193,6 +211,9 @@ public abstract class PluginManager<P extends Plugin>
         pluginFilter = null;
         allowSimilarPlugins = false;
         classLoaderType = ClassLoaderType.context;
+        pluginIndex = new PluginIndex ();
+        scanThreads = Math.min ( 4, Runtime.getRuntime ().availableProcessors () );
+        initializationThreads = 1;
 
         // User settings
         pluginsDirectoryPath = path;
@@ -221,6 +242,7 @@ public abstract class PluginManager<P extends Plugin>
         XmlUtils.processAnnotations ( PluginVersion.class );
         XmlUtils.processAnnotations ( PluginDependency.class );
         XmlUtils.processAnnotations ( PluginLibrary.class );
+        XmlUtils.processAnnotations ( PluginIndexEntry.class );
     }
 
     /**
@@ -304,6 +326,87 @@ public abstract class PluginManager<P extends Plugin>
         this.classLoaderType = classLoaderType;
     }
 
+    /**
+     * Returns {@link PluginIndex} used to skip reading plugin files that didn't change.
+     *
+     * @return {@link PluginIndex} used to skip reading plugin files that didn't change
+     */
+    public PluginIndex getPluginIndex ()
+    {
+        synchronized ( checkLock )
+        {
+            return pluginIndex;
+        }
+    }
+
+    /**
+     * Sets {@link PluginIndex} used to skip reading plugin files that didn't change.
+     * By default index is only kept in memory, so it only speeds up repeated scans within the same application run.
+     * Providing {@link PluginIndex} stored in a file allows skipping unchanged plugin files between application runs as well.
+     *
+     * @param pluginIndex {@link PluginIndex} used to skip reading plugin files that didn't change
+     */
+    public void setPluginIndex ( final PluginIndex pluginIndex )
+    {
+        synchronized ( checkLock )
+        {
+            this.pluginIndex = pluginIndex;
+        }
+    }
+
+    /**
+     * Returns maximum amount of threads used to read plugin files in parallel.
+     *
+     * @return maximum amount of threads used to read plugin files in parallel
+     */
+    public int getScanThreads ()
+    {
+        return scanThreads;
+    }
+
+    /**
+     * Sets maximum amount of threads used to read plugin files in parallel.
+     * Plugin files are read sequentially if {@code 1} is specified.
+     *
+     * @param scanThreads maximum amount of threads used to read plugin files in parallel
+     */
+    public void setScanThreads ( final int scanThreads )
+    {
+        if ( scanThreads <= 0 )
+        {
+            throw new IllegalArgumentException ( "Scan threads amount must be positive: " + scanThreads );
+        }
+        this.scanThreads = scanThreads;
+    }
+
+    /**
+     * Returns maximum amount of threads used to initialize independent plugins in parallel.
+     *
+     * @return maximum amount of threads used to initialize independent plugins in parallel
+     */
+    public int getInitializationThreads ()
+    {
+        return initializationThreads;
+    }
+
+    /**
+     * Sets maximum amount of threads used to initialize independent plugins in parallel.
+     * Plugins are initialized sequentially on the thread that performs plugins check if {@code 1} is specified, which is default.
+     * Otherwise plugin classes are loaded and plugin instances are created in parallel, each plugin waits only for its dependencies.
+     * Plugins that must be created on the checking thread (for example EDT) should be marked as {@link PluginInformation#isSequential()}.
+     * Plugins initialized in parallel must not access this {@link PluginManager} from their constructors.
+     *
+     * @param initializationThreads maximum amount of threads used to initialize independent plugins in parallel
+     */
+    public void setInitializationThreads ( final int initializationThreads )
+    {
+        if ( initializationThreads <= 0 )
+        {
+            throw new IllegalArgumentException ( "Initialization threads amount must be positive: " + initializationThreads );
+        }
+        this.initializationThreads = initializationThreads;
+    }
+
     /**
      * Returns special filter that filters out unwanted plugins before their initialization.
      *
@@ -700,6 +803,7 @@ public abstract class PluginManager<P extends Plugin>
 
     /**
      * Collects information about available plugins.
+     * Plugin files are read in parallel, but detected plugins are registered in the order their files were found in.
      *
      * @param dir         plugins directory
      * @param recursively whether plugins directory subfolders should be checked recursively or not
@@ -710,13 +814,53 @@ public abstract class PluginManager<P extends Plugin>
         final String msg = "Scanning plugins directory (%s): %s";
         LoggerFactory.getLogger ( PluginManager.class ).info ( String.format ( msg, scanType, pluginsDirectoryPath ) );
 
+        // Collecting plugin files that were not detected yet
+        final List<File> files = new ArrayList<File> ();
+        collectPluginFiles ( dir, recursively, files );
+
+        // Reading plugin files
+        final List<PluginIndexEntry> entries = readPluginFiles ( files );
+
+        // Registering detected plugins
+        for ( int i = 0; i < files.size (); i++ )
+        {
+            final PluginIndexEntry entry = entries.get ( i );
+            if ( entry != null )
+            {
+                final DetectedPlugin<P> plugin = createDetectedPlugin ( files.get ( i ), entry );
+                if ( plugin != null )
+                {
+                    recentlyDetected.add ( plugin );
+
+                    final String dmsg = "Plugin detected: %s";
+                    LoggerFactory.getLogger ( PluginManager.class ).info ( String.format ( dmsg, plugin ) );
+                }
+            }
+        }
+
+        // Saving updated plugins index
+        pluginIndex.save ();
+    }
+
+    /**
+     * Collects plugin files that were not detected yet from the specified directory.
+     *
+     * @param dir         plugins directory
+     * @param recursively whether plugins directory subfolders should be checked recursively or not
+     * @param files       {@link List} to collect plugin files into
+     */
+    protected void collectPluginFiles ( final File dir, final boolean recursively, final List<File> files )
+    {
         // Checking all files
-        final File[] files = dir.listFiles ( getFileFilter () );
-        if ( files != null )
+        final File[] dirFiles = dir.listFiles ( getFileFilter () );
+        if ( dirFiles != null )
         {
-            for ( final File file : files )
+            for ( final File file : dirFiles )
             {
-                collectPluginInformation ( file );
+                if ( !wasDetected ( file.getParent (), file.getName () ) )
+                {
+                    files.add ( file );
+                }
             }
         }
 
@@ -728,10 +872,76 @@ public abstract class PluginManager<P extends Plugin>
             {
                 for ( final File subfolder : subfolders )
                 {
-                    collectPluginsInformationImpl ( subfolder, recursively );
+                    collectPluginFiles ( subfolder, recursively, files );
+                }
+            }
+        }
+    }
+
+    /**
+     * Returns {@link PluginIndexEntry}s for the specified plugin files in the same order.
+     * Files are read in parallel using up to {@link #getScanThreads()} threads.
+     * Entry is {@code null} if file cannot be read.
+     *
+     * @param files plugin files to read
+     * @return {@link PluginIndexEntry}s for the specified plugin files in the same order
+     */
+    protected List<PluginIndexEntry> readPluginFiles ( final List<File> files )
+    {
+        final List<PluginIndexEntry> entries = new ArrayList<PluginIndexEntry> ( files.size () );
+        final int threads = Math.min ( scanThreads, files.size () );
+        if ( threads > 1 )
+        {
+            final ExecutorService executor = Executors.newFixedThreadPool ( threads, new DaemonThreadFactory ( "PluginManager.scan" ) );
+            try
+            {
+                final List<Future<PluginIndexEntry>> futures = new ArrayList<Future<PluginIndexEntry>> ( files.size () );
+                for ( final File file : files )
+                {
+                    futures.add ( executor.submit ( new Callable<PluginIndexEntry> ()
+                    {
+                        @Override
+                        public PluginIndexEntry call ()
+                        {
+                            return readPluginFile ( file );
+                        }
+                    } ) );
+                }
+                for ( int i = 0; i < futures.size (); i++ )
+                {
+                    PluginIndexEntry entry;
+                    try
+                    {
+                        entry = futures.get ( i ).get ();
+                    }
+                    catch ( final InterruptedException e )
+                    {
+                        Thread.currentThread ().interrupt ();
+                        entry = null;
+                    }
+                    catch ( final ExecutionException e )
+                    {
+                        final String msg = "Unable to read plugin file: %s";
+                        final String path = files.get ( i ).getAbsolutePath ();
+                        LoggerFactory.getLogger ( PluginManager.class ).error ( String.format ( msg, path ), e.getCause () );
+                        entry = null;
+                    }
+                    entries.add ( entry );
                 }
             }
+            finally
+            {
+                executor.shutdownNow ();
+            }
+        }
+        else
+        {
+            for ( final File file : files )
+            {
+                entries.add ( readPluginFile ( file ) );
+            }
         }
+        return entries;
     }
 
     /**
@@ -744,6 +954,7 @@ public abstract class PluginManager<P extends Plugin>
     protected boolean collectPluginInformation ( final File file )
     {
         final DetectedPlugin<P> plugin = detectPlugin ( file );
+        pluginIndex.save ();
         if ( plugin != null )
         {
             recentlyDetected.add ( plugin );
@@ -975,71 +1186,160 @@ public abstract class PluginManager<P extends Plugin>
 
     /**
      * Returns plugin information from the specified plugin file.
-     * Returns null in case plugin file cannot be read or if it is incorrect.
+     * Returns null in case plugin file cannot be read, if it is incorrect or if it was already detected before.
      *
      * @param file plugin file to process
      * @return plugin information from the specified plugin file or null
      */
     protected DetectedPlugin<P> detectPlugin ( final File file )
     {
-        try
+        if ( !wasDetected ( file.getParent (), file.getName () ) )
+        {
+            final PluginIndexEntry entry = readPluginFile ( file );
+            return entry != null ? createDetectedPlugin ( file, entry ) : null;
+        }
+        else
+        {
+            return null;
+        }
+    }
+
+    /**
+     * Returns new {@link DetectedPlugin} for the specified plugin file or {@code null} if it doesn't contain plugin descriptor.
+     * Plugin logo is only loaded once it is requested from {@link DetectedPlugin}.
+     *
+     * @param file  plugin file
+     * @param entry {@link PluginIndexEntry} for plugin file
+     * @return new {@link DetectedPlugin} for the specified plugin file or {@code null} if it doesn't contain plugin descriptor
+     */
+    protected DetectedPlugin<P> createDetectedPlugin ( final File file, final PluginIndexEntry entry )
+    {
+        if ( entry.isPlugin () )
         {
-            final String pluginDescriptor = getPluginDescriptorFile ();
-            final String pluginLogo = getPluginLogoFile ();
-            final ZipFile zipFile = new ZipFile ( file );
-            final Enumeration entries = zipFile.entries ();
-            while ( entries.hasMoreElements () )
+            // Cache and return new plugin information
+            // This cache map is filled here since it has different usage cases
+            final Supplier<Icon> logo = createLogoSupplier ( file, entry.getDescriptor () );
+            final DetectedPlugin<P> plugin = new DetectedPlugin<P> ( file.getParent (), file.getName (), entry.getInformation (), logo );
+            detectedPluginsByPath.put ( entry.getPath (), plugin );
+            return plugin;
+        }
+        else
+        {
+            return null;
+        }
+    }
+
+    /**
+     * Returns {@link PluginIndexEntry} for the specified plugin file.
+     * Plugin file is only read if {@link PluginIndex} has no valid entry for it.
+     * Returns null in case plugin file cannot be read.
+     * This method is thread-safe and is called from multiple threads while scanning plugins directory.
+     *
+     * @param file plugin file to process
+     * @return {@link PluginIndexEntry} for the specified plugin file or null
+     */
+    protected PluginIndexEntry readPluginFile ( final File file )
+    {
+        final PluginIndex index = pluginIndex;
+        final String path = FileUtils.canonicalPath ( file );
+        final long size = file.length ();
+        final long modified = file.lastModified ();
+        PluginIndexEntry entry = index.get ( file, path, size, modified );
+        if ( entry == null )
+        {
+            try
             {
-                final ZipEntry entry = ( ZipEntry ) entries.nextElement ();
-                if ( entry.getName ().endsWith ( pluginDescriptor ) )
+                String descriptor = null;
+                PluginInformation information = null;
+                final String pluginDescriptor = getPluginDescriptorFile ();
+                final ZipFile zipFile = new ZipFile ( file );
+                try
                 {
-                    // Reading plugin information
-                    final InputStream inputStream = zipFile.getInputStream ( entry );
-                    final PluginInformation info = XmlUtils.fromXML ( inputStream );
-                    inputStream.close ();
-
-                    // Reading plugin icon
-                    final Icon logo;
-                    if ( !SystemUtils.isHeadlessEnvironment () )
+                    final Enumeration entries = zipFile.entries ();
+                    while ( entries.hasMoreElements () )
                     {
-                        final ZipEntry logoEntry = new ZipEntry ( ZipUtils.getFileLocation ( entry ) + pluginLogo );
-                        final InputStream logoInputStream = zipFile.getInputStream ( logoEntry );
-                        if ( logoInputStream != null )
-                        {
-                            // todo This will force logo to always be static
-                            logo = ImageUtils.toImageIcon ( ImageUtils.loadBufferedImage ( logoInputStream ) );
-                            logoInputStream.close ();
-                        }
-                        else
+                        final ZipEntry zipEntry = ( ZipEntry ) entries.nextElement ();
+                        if ( zipEntry.getName ().endsWith ( pluginDescriptor ) )
                         {
-                            logo = null;
+                            // Reading plugin information
+                            final InputStream inputStream = zipFile.getInputStream ( zipEntry );
+                            try
+                            {
+                                information = XmlUtils.fromXML ( inputStream );
+                            }
+                            finally
+                            {
+                                inputStream.close ();
+                            }
+                            descriptor = zipEntry.getName ();
+                            break;
                         }
                     }
-                    else
+                }
+                finally
+                {
+                    zipFile.close ();
+                }
+                entry = new PluginIndexEntry ( path, size, modified, index.computeHash ( file ), descriptor, information );
+                index.put ( entry );
+            }
+            catch ( final IOException e )
+            {
+                LoggerFactory.getLogger ( PluginManager.class ).error ( "Unable to read plugin information", e );
+            }
+        }
+        return entry;
+    }
+
+    /**
+     * Returns {@link Supplier} that loads plugin logo from the specified plugin file.
+     * Logo is expected to be placed near the plugin descriptor file.
+     *
+     * @param file       plugin file
+     * @param descriptor name of plugin descriptor entry within plugin file
+     * @return {@link Supplier} that loads plugin logo from the specified plugin file
+     */
+    protected Supplier<Icon> createLogoSupplier ( final File file, final String descriptor )
+    {
+        final String logoEntry = ZipUtils.getFileLocation ( new ZipEntry ( descriptor ) ) + getPluginLogoFile ();
+        return new Supplier<Icon> ()
+        {
+            @Override
+            public Icon get ()
+            {
+                Icon logo = null;
+                try
+                {
+                    final ZipFile zipFile = new ZipFile ( file );
+                    try
                     {
-                        logo = null;
+                        final ZipEntry entry = zipFile.getEntry ( logoEntry );
+                        if ( entry != null )
+                        {
+                            final InputStream inputStream = zipFile.getInputStream ( entry );
+                            try
+                            {
+                                // todo This will force logo to always be static
+                                logo = ImageUtils.toImageIcon ( ImageUtils.loadBufferedImage ( inputStream ) );
+                            }
+                            finally
+                            {
+                                inputStream.close ();
+                            }
+                        }
                     }
-
-                    // Checking whether we have already detected this plugin or not
-                    if ( !wasDetected ( file.getParent (), file.getName () ) )
+                    finally
                     {
-                        // Cache and return new plugin information
-                        // This cache map is filled here since it has different usage cases
-                        final DetectedPlugin<P> plugin = new DetectedPlugin<P> ( file.getParent (), file.getName (), info, logo );
-                        detectedPluginsByPath.put ( FileUtils.canonicalPath ( file ), plugin );
-                        return plugin;
+                        zipFile.close ();
                     }
-
-                    break;
                 }
+                catch ( final Exception e )
+                {
+                    LoggerFactory.getLogger ( PluginManager.class ).error ( "Unable to read plugin logo", e );
+                }
+                return logo;
             }
-            zipFile.close ();
-        }
-        catch ( final IOException e )
-        {
-            LoggerFactory.getLogger ( PluginManager.class ).error ( "Unable to read plugin information", e );
-        }
-        return null;
+        };
     }
 
     /**
@@ -1106,6 +1406,8 @@ public abstract class PluginManager<P extends Plugin>
 
     /**
      * Initializes earlier detected plugins.
+     * Plugins are checked sequentially and then loaded and instantiated according to their dependencies.
+     * Independent plugins are loaded in parallel if more than one {@link #getInitializationThreads()} is allowed.
      */
     protected void initializeDetectedPluginsImpl ()
     {
@@ -1120,8 +1422,8 @@ public abstract class PluginManager<P extends Plugin>
         // Adding recently detected into the end of the detected plugins list
         detectedPlugins.addAll ( recentlyDetected );
 
-        // Initializing detected plugins
-        final String acceptedPluginType = getAcceptedPluginType ();
+        // Checking detected plugins
+        final List<PluginInitialization> initializations = new ArrayList<PluginInitialization> ();
         for ( final DetectedPlugin<P> dp : detectedPlugins )
         {
             // Skip plugins we have already tried to initialize
@@ -1130,266 +1432,414 @@ public abstract class PluginManager<P extends Plugin>
                 continue;
             }
 
-            final File pluginFile = dp.getFile ();
-            final PluginInformation info = dp.getInformation ();
-            final String prefix = "[" + FileUtils.getRelativePath ( pluginFile, new File ( pluginsDirectoryPath ) ) + "] [" + info + "] ";
-            try
+            // Preparing plugin initialization
+            final PluginInitialization initialization = preparePluginInitialization ( dp, initializations, pluginLibraries );
+            if ( initialization != null )
+            {
+                initializations.add ( initialization );
+            }
+        }
+
+        // Loading plugins
+        runPluginInitializations ( initializations );
+
+        // Saving initialized plugins in the order they were checked
+        for ( final PluginInitialization initialization : initializations )
+        {
+            final DetectedPlugin<P> dp = initialization.getDetectedPlugin ();
+            if ( dp.getStatus () == PluginStatus.loaded )
             {
-                // Starting to load plugin now
-                LoggerFactory.getLogger ( PluginManager.class ).info ( prefix + "Initializing plugin" );
-                dp.setStatus ( PluginStatus.loading );
+                availablePlugins.add ( dp.getPlugin () );
+                recentlyInitialized.add ( dp.getPlugin () );
+            }
+        }
 
-                // Checking plugin type as we don't want (for example) to load server plugins on client side
-                if ( acceptedPluginType != null && ( info.getType () == null || !info.getType ().equals ( acceptedPluginType ) ) )
+        // Checking for same/similar libraries used within plugins
+        // todo There should be a flag for libraries to specify when duplicates usage is intended
+        boolean sameLibrariesInPlugins = false;
+        for ( final Map.Entry<String, Map<PluginLibrary, PluginInformation>> libraries : pluginLibraries.entrySet () )
+        {
+            final Map<PluginLibrary, PluginInformation> sameLibraries = libraries.getValue ();
+            if ( sameLibraries.size () > 1 )
+            {
+                final String title = sameLibraries.keySet ().iterator ().next ().getTitle ();
+                final StringBuilder sb = new StringBuilder ( "Library [ " ).append ( title ).append ( " ] was found in plugins: " );
+                for ( final Map.Entry<PluginLibrary, PluginInformation> library : sameLibraries.entrySet () )
                 {
-                    final String msg = "Plugin of type '%s' cannot be loaded, required type is: %s";
-                    final String fmsg = String.format ( msg, info.getType (), acceptedPluginType );
-                    LoggerFactory.getLogger ( PluginManager.class ).info ( prefix + fmsg );
+                    final PluginInformation plugin = library.getValue ();
+                    final String libraryVersion = library.getKey ().getVersion ();
+                    sb.append ( "[ " ).append ( plugin.toString () ).append ( ", version " ).append ( libraryVersion ).append ( " ] " );
+                }
+                LoggerFactory.getLogger ( PluginManager.class ).info ( sb.toString () );
+                sameLibrariesInPlugins = true;
+                break;
+            }
+        }
+        if ( sameLibrariesInPlugins )
+        {
+            final String msg = "Make sure that the same library usage within different plugins was actually your intent";
+            LoggerFactory.getLogger ( PluginManager.class ).info ( msg );
+        }
+    }
 
-                    dp.setStatus ( PluginStatus.failed );
-                    dp.setFailureCause ( "Wrong type" );
-                    dp.setExceptionMessage ( fmsg );
+    /**
+     * Checks whether or not specified detected plugin can be initialized and returns its {@link PluginInitialization}.
+     * Dependencies on plugins that are not yet loaded are resolved against earlier prepared initializations.
+     * Returns {@code null} and marks plugin as failed if it cannot be initialized.
+     *
+     * @param dp              detected plugin
+     * @param initializations earlier prepared initializations
+     * @param pluginLibraries map to store plugin libraries
+     * @return {@link PluginInitialization} for the specified detected plugin or {@code null} if it cannot be initialized
+     */
+    protected PluginInitialization preparePluginInitialization ( final DetectedPlugin<P> dp,
+                                                                 final List<PluginInitialization> initializations,
+                                                                 final Map<String, Map<PluginLibrary, PluginInformation>> pluginLibraries )
+    {
+        final String acceptedPluginType = getAcceptedPluginType ();
+        final File pluginFile = dp.getFile ();
+        final PluginInformation info = dp.getInformation ();
+        final String prefix = "[" + FileUtils.getRelativePath ( pluginFile, new File ( pluginsDirectoryPath ) ) + "] [" + info + "] ";
+        try
+        {
+            // Starting to load plugin now
+            LoggerFactory.getLogger ( PluginManager.class ).info ( prefix + "Initializing plugin" );
+            dp.setStatus ( PluginStatus.loading );
 
-                    continue;
-                }
+            // Checking plugin type as we don't want (for example) to load server plugins on client side
+            if ( acceptedPluginType != null && ( info.getType () == null || !info.getType ().equals ( acceptedPluginType ) ) )
+            {
+                final String msg = "Plugin of type '%s' cannot be loaded, required type is: %s";
+                final String fmsg = String.format ( msg, info.getType (), acceptedPluginType );
+                LoggerFactory.getLogger ( PluginManager.class ).info ( prefix + fmsg );
 
-                // Checking that this is latest plugin version of all available
-                // Usually there shouldn't be different versions of the same plugin but everyone make mistakes
-                if ( isDeprecatedVersion ( dp ) )
-                {
-                    final String msg = "This plugin is deprecated, newer version loaded instead";
-                    LoggerFactory.getLogger ( PluginManager.class ).error ( prefix + msg );
+                dp.setStatus ( PluginStatus.failed );
+                dp.setFailureCause ( "Wrong type" );
+                dp.setExceptionMessage ( fmsg );
 
-                    dp.setStatus ( PluginStatus.failed );
-                    dp.setFailureCause ( "Deprecated" );
-                    dp.setExceptionMessage ( msg );
+                return null;
+            }
 
-                    continue;
-                }
+            // Checking that this is latest plugin version of all available
+            // Usually there shouldn't be different versions of the same plugin but everyone make mistakes
+            if ( isDeprecatedVersion ( dp ) )
+            {
+                final String msg = "This plugin is deprecated, newer version loaded instead";
+                LoggerFactory.getLogger ( PluginManager.class ).error ( prefix + msg );
 
-                // Checking that this plugin version is not yet loaded
-                // This might occur in case the same plugin appears more than once in different files
-                if ( isSameVersionAlreadyLoaded ( dp, detectedPlugins ) )
-                {
-                    final String msg = "Plugin is duplicate, it will be loaded from another file";
-                    LoggerFactory.getLogger ( PluginManager.class ).error ( prefix + msg );
+                dp.setStatus ( PluginStatus.failed );
+                dp.setFailureCause ( "Deprecated" );
+                dp.setExceptionMessage ( msg );
 
-                    dp.setStatus ( PluginStatus.failed );
-                    dp.setFailureCause ( "Duplicate" );
-                    dp.setExceptionMessage ( msg );
+                return null;
+            }
 
-                    continue;
-                }
+            // Checking that this plugin version is not yet loaded
+            // This might occur in case the same plugin appears more than once in different files
+            if ( isSameVersionAlreadyLoaded ( dp, detectedPlugins ) )
+            {
+                final String msg = "Plugin is duplicate, it will be loaded from another file";
+                LoggerFactory.getLogger ( PluginManager.class ).error ( prefix + msg );
 
-                // Checking that plugin filter accepts this plugin
-                if ( getPluginFilter () != null && !getPluginFilter ().accept ( dp ) )
-                {
-                    final String msg = "Plugin was not accepted by plugin filter";
-                    LoggerFactory.getLogger ( PluginManager.class ).info ( prefix + msg );
+                dp.setStatus ( PluginStatus.failed );
+                dp.setFailureCause ( "Duplicate" );
+                dp.setExceptionMessage ( msg );
 
-                    dp.setStatus ( PluginStatus.failed );
-                    dp.setFailureCause ( "Filtered" );
-                    dp.setExceptionMessage ( msg );
+                return null;
+            }
 
-                    continue;
-                }
+            // Checking that plugin filter accepts this plugin
+            if ( getPluginFilter () != null && !getPluginFilter ().accept ( dp ) )
+            {
+                final String msg = "Plugin was not accepted by plugin filter";
+                LoggerFactory.getLogger ( PluginManager.class ).info ( prefix + msg );
 
-                // Checking plugin dependencies
-                final List<PluginDependency> dependencies = dp.getInformation ().getDependencies ();
-                if ( dependencies != null )
+                dp.setStatus ( PluginStatus.failed );
+                dp.setFailureCause ( "Filtered" );
+                dp.setExceptionMessage ( msg );
+
+                return null;
+            }
+
+            // Checking plugin dependencies
+            final PluginInitialization initialization = new PluginInitialization ( dp, prefix, initializations.size () );
+            final List<PluginDependency> dependencies = dp.getInformation ().getDependencies ();
+            if ( dependencies != null )
+            {
+                for ( final PluginDependency dependency : dependencies )
                 {
-                    for ( final PluginDependency dependency : dependencies )
+                    // Checking whether or not dependency is already available
+                    final String did = dependency.getPluginId ();
+                    boolean available = isPluginAvailable ( did );
+                    if ( !available )
                     {
-                        // Checking whether or not dependency is mandatory and whether or not it is available
-                        final String did = dependency.getPluginId ();
-                        if ( !dependency.isOptional () && !isPluginAvailable ( did ) )
+                        // Checking related managers for that dependency
+                        for ( final PluginManager relatedManager : parentManagers )
                         {
-                            // If it is mandatory and not available - check related managers for that dependency
-                            boolean available = false;
-                            for ( final PluginManager relatedManager : parentManagers )
+                            if ( relatedManager.isPluginAvailable ( did ) )
                             {
-                                if ( relatedManager.isPluginAvailable ( did ) )
-                                {
-                                    available = true;
-                                    break;
-                                }
-                            }
-                            if ( !available )
-                            {
-                                final String msg = "Mandatory plugin dependency was not found: %s";
-                                final String fmsg = String.format ( msg, did );
-                                LoggerFactory.getLogger ( PluginManager.class ).error ( prefix + fmsg );
-
-                                dp.setStatus ( PluginStatus.failed );
-                                dp.setFailureCause ( "Incomplete" );
-                                dp.setExceptionMessage ( fmsg );
-
+                                available = true;
                                 break;
                             }
                         }
                     }
-                    if ( dp.getStatus () == PluginStatus.failed )
-                    {
-                        continue;
-                    }
-                }
-
-                // Collecting plugin and its libraries JAR paths
-                final List<URL> jarPaths = new ArrayList<URL> ( 1 + info.getLibrariesCount () );
-                jarPaths.add ( pluginFile.toURI ().toURL () );
-                if ( info.getLibraries () != null )
-                {
-                    for ( final PluginLibrary library : info.getLibraries () )
+                    if ( !available )
                     {
-                        final File file = new File ( dp.getPluginFolder (), library.getFile () );
-                        if ( file.exists () )
+                        // Checking plugins that will be initialized earlier for that dependency
+                        for ( final PluginInitialization provider : initializations )
                         {
-                            // Adding library URI to path
-                            jarPaths.add ( file.toURI ().toURL () );
-
-                            // Saving library information for further checks
-                            Map<PluginLibrary, PluginInformation> libraries = pluginLibraries.get ( library.getId () );
-                            if ( libraries == null )
+                            if ( provider.getDetectedPlugin ().getInformation ().getId ().equals ( did ) )
                             {
-                                libraries = new HashMap<PluginLibrary, PluginInformation> ( 1 );
-                                pluginLibraries.put ( library.getId (), libraries );
+                                initialization.dependOn ( provider, !dependency.isOptional () );
+                                available = true;
                             }
-                            libraries.put ( library, info );
-                        }
-                        else
-                        {
-                            final String msg = "Plugin library was not found: %s";
-                            final String fmsg = String.format ( msg, file.getAbsolutePath () );
-                            LoggerFactory.getLogger ( PluginManager.class ).error ( prefix + fmsg );
-
-                            dp.setStatus ( PluginStatus.failed );
-                            dp.setFailureCause ( "Incomplete" );
-                            dp.setExceptionMessage ( fmsg );
-
-                            break;
                         }
                     }
-                    if ( dp.getStatus () == PluginStatus.failed )
+                    if ( !available && !dependency.isOptional () )
                     {
-                        continue;
+                        final String msg = "Mandatory plugin dependency was not found: %s";
+                        final String fmsg = String.format ( msg, did );
+                        LoggerFactory.getLogger ( PluginManager.class ).error ( prefix + fmsg );
+
+                        dp.setStatus ( PluginStatus.failed );
+                        dp.setFailureCause ( "Incomplete" );
+                        dp.setExceptionMessage ( fmsg );
+
+                        initialization.cancel ();
+                        return null;
                     }
                 }
+            }
 
-                try
+            // Collecting plugin and its libraries JAR paths
+            final List<URL> jarPaths = new ArrayList<URL> ( 1 + info.getLibrariesCount () );
+            jarPaths.add ( pluginFile.toURI ().toURL () );
+            if ( info.getLibraries () != null )
+            {
+                for ( final PluginLibrary library : info.getLibraries () )
                 {
-                    // Choosing class loader
-                    final ClassLoader cl;
-                    switch ( classLoaderType )
+                    final File file = new File ( dp.getPluginFolder (), library.getFile () );
+                    if ( file.exists () )
                     {
-                        case system:
-                        {
-                            cl = ClassLoader.getSystemClassLoader ();
-                            break;
-                        }
-                        case context:
-                        default:
-                        {
-                            final ClassLoader ccl = Thread.currentThread ().getContextClassLoader ();
-                            cl = ccl != null ? ccl : getClass ().getClassLoader ();
-                            break;
-                        }
-                        case global:
-                        {
-                            cl = getGlobalClassLoader ();
-                            break;
-                        }
-                        case local:
-                        {
-                            cl = getLocalClassLoader ();
-                            break;
-                        }
-                        case separate:
+                        // Adding library URI to path
+                        jarPaths.add ( file.toURI ().toURL () );
+
+                        // Saving library information for further checks
+                        Map<PluginLibrary, PluginInformation> libraries = pluginLibraries.get ( library.getId () );
+                        if ( libraries == null )
                         {
-                            cl = createPluginClassLoader ( new URL[ 0 ] );
-                            break;
+                            libraries = new HashMap<PluginLibrary, PluginInformation> ( 1 );
+                            pluginLibraries.put ( library.getId (), libraries );
                         }
-                    }
-
-                    // Obtaining {@link URLClassLoader}
-                    final URLClassLoader classLoader;
-                    if ( cl instanceof URLClassLoader )
-                    {
-                        // Use current class loader
-                        classLoader = ( URLClassLoader ) cl;
+                        libraries.put ( library, info );
                     }
                     else
                     {
-                        // Create new class loader
-                        classLoader = new PluginClassLoader ( jarPaths.toArray ( new URL[ jarPaths.size () ] ), cl );
-                    }
+                        final String msg = "Plugin library was not found: %s";
+                        final String fmsg = String.format ( msg, file.getAbsolutePath () );
+                        LoggerFactory.getLogger ( PluginManager.class ).error ( prefix + fmsg );
 
-                    // Adding all plugin paths
-                    for ( final URL url : jarPaths )
-                    {
-                        ReflectUtils.callMethodSafely ( classLoader, "addURL", url );
+                        dp.setStatus ( PluginStatus.failed );
+                        dp.setFailureCause ( "Incomplete" );
+                        dp.setExceptionMessage ( fmsg );
+
+                        initialization.cancel ();
+                        return null;
                     }
+                }
+            }
+            initialization.setJarPaths ( jarPaths );
+
+            // Choosing class loader
+            // This is done here since context class loader and shared class loaders must be taken on the checking thread
+            final ClassLoader cl;
+            switch ( classLoaderType )
+            {
+                case system:
+                {
+                    cl = ClassLoader.getSystemClassLoader ();
+                    break;
+                }
+                case context:
+                default:
+                {
+                    final ClassLoader ccl = Thread.currentThread ().getContextClassLoader ();
+                    cl = ccl != null ? ccl : getClass ().getClassLoader ();
+                    break;
+                }
+                case global:
+                {
+                    cl = getGlobalClassLoader ();
+                    break;
+                }
+                case local:
+                {
+                    cl = getLocalClassLoader ();
+                    break;
+                }
+                case separate:
+                {
+                    // Separate class loader is created upon initialization
+                    cl = null;
+                    break;
+                }
+            }
+            initialization.setClassLoader ( cl );
+
+            return initialization;
+        }
+        catch ( final Exception e )
+        {
+            // Something happened while checking plugin information
+            LoggerFactory.getLogger ( PluginManager.class ).error ( prefix + "Unable to initialize plugin data", e );
+            dp.setStatus ( PluginStatus.failed );
+            dp.setFailureCause ( "Data exception" );
+            dp.setException ( e );
+            return null;
+        }
+    }
+
+    /**
+     * Runs specified plugin initializations.
+     * Each initialization starts only after all plugins it depends on finish their initialization.
+     * Independent initializations are performed in parallel using up to {@link #getInitializationThreads()} threads.
+     * Plugins marked as {@link PluginInformation#isSequential()} are always initialized on the current thread.
+     * Everything except plugin class loading and instantiation is performed on the current thread.
+     *
+     * @param initializations plugin initializations ordered according to plugin dependencies
+     */
+    protected void runPluginInitializations ( final List<PluginInitialization> initializations )
+    {
+        final int threads = Math.min ( initializationThreads, initializations.size () );
+        final ExecutorService executor = threads > 1 ?
+                Executors.newFixedThreadPool ( threads, new DaemonThreadFactory ( "PluginManager.init" ) ) : null;
+        final ClassLoader contextClassLoader = Thread.currentThread ().getContextClassLoader ();
+        final Queue<PluginInitialization> ready = new PriorityQueue<PluginInitialization> ();
+        final BlockingQueue<PluginInitialization> finished = new LinkedBlockingQueue<PluginInitialization> ();
+        try
+        {
+            // Starting initializations that do not depend on other ones
+            for ( final PluginInitialization initialization : initializations )
+            {
+                if ( initialization.isReady () )
+                {
+                    schedulePluginInitialization ( initialization, executor, contextClassLoader, ready, finished );
+                }
+            }
+
+            // Processing initializations as they become ready or finish
+            int pending = initializations.size ();
+            while ( pending > 0 )
+            {
+                final PluginInitialization initialization;
+                if ( !ready.isEmpty () )
+                {
+                    initialization = ready.poll ();
+                    initialization.initialize ();
+                }
+                else
+                {
+                    initialization = finished.take ();
+                }
+                pending--;
 
-                    // Loading plugin
-                    final Class<?> pluginClass = classLoader.loadClass ( info.getMainClass () );
-                    final P plugin = ReflectUtils.createInstance ( pluginClass );
+                // Completing initialization
+                final DetectedPlugin<P> dp = initialization.getDetectedPlugin ();
+                if ( dp.getStatus () == PluginStatus.loaded )
+                {
+                    final P plugin = dp.getPlugin ();
                     plugin.setPluginManager ( PluginManager.this );
                     plugin.setDetectedPlugin ( dp );
-
-                    // Saving initialized plugin
-                    availablePlugins.add ( plugin );
                     availablePluginsById.put ( plugin.getId (), plugin );
                     availablePluginsByClass.put ( plugin.getClass (), plugin );
-                    recentlyInitialized.add ( plugin );
-
-                    // Updating detected plugin status
-                    LoggerFactory.getLogger ( PluginManager.class ).info ( prefix + "Plugin initialized" );
-                    dp.setStatus ( PluginStatus.loaded );
-                    dp.setPlugin ( plugin );
                 }
-                catch ( final Exception e )
+                firePluginInitialized ( dp );
+
+                // Starting initializations that were waiting for this one
+                for ( final PluginInitialization dependent : initialization.getDependents () )
                 {
-                    // Something happened while performing plugin class load
-                    LoggerFactory.getLogger ( PluginManager.class ).error ( prefix + "Unable to initialize plugin", e );
-                    dp.setStatus ( PluginStatus.failed );
-                    dp.setFailureCause ( "Internal exception" );
-                    dp.setException ( e );
+                    if ( dependent.dependencyFinished () )
+                    {
+                        schedulePluginInitialization ( dependent, executor, contextClassLoader, ready, finished );
+                    }
                 }
             }
-            catch ( final Exception e )
+        }
+        catch ( final InterruptedException e )
+        {
+            Thread.currentThread ().interrupt ();
+            LoggerFactory.getLogger ( PluginManager.class ).error ( "Plugins initialization was interrupted", e );
+        }
+        finally
+        {
+            if ( executor != null )
             {
-                // Something happened while checking plugin information
-                LoggerFactory.getLogger ( PluginManager.class ).error ( prefix + "Unable to initialize plugin data", e );
-                dp.setStatus ( PluginStatus.failed );
-                dp.setFailureCause ( "Data exception" );
-                dp.setException ( e );
+                executor.shutdownNow ();
             }
         }
+    }
 
-        // Checking for same/similar libraries used within plugins
-        // todo There should be a flag for libraries to specify when duplicates usage is intended
-        boolean sameLibrariesInPlugins = false;
-        for ( final Map.Entry<String, Map<PluginLibrary, PluginInformation>> libraries : pluginLibraries.entrySet () )
+    /**
+     * Schedules specified plugin initialization which has all of its dependencies finished.
+     *
+     * @param initialization     {@link PluginInitialization} to schedule
+     * @param executor           {@link ExecutorService} for parallel initializations, {@code null} if they are disabled
+     * @param contextClassLoader context {@link ClassLoader} of the thread that runs initializations
+     * @param ready              initializations that will be performed on the current thread
+     * @param finished           initializations finished by the executor
+     */
+    protected void schedulePluginInitialization ( final PluginInitialization initialization, final ExecutorService executor,
+                                                  final ClassLoader contextClassLoader, final Queue<PluginInitialization> ready,
+                                                  final BlockingQueue<PluginInitialization> finished )
+    {
+        // Checking that mandatory dependencies were actually loaded
+        final String missing = initialization.getMissingDependency ();
+        if ( missing != null )
         {
-            final Map<PluginLibrary, PluginInformation> sameLibraries = libraries.getValue ();
-            if ( sameLibraries.size () > 1 )
+            final DetectedPlugin<P> dp = initialization.getDetectedPlugin ();
+            final String msg = "Mandatory plugin dependency was not initialized: %s";
+            final String fmsg = String.format ( msg, missing );
+            LoggerFactory.getLogger ( PluginManager.class ).error ( initialization.getPrefix () + fmsg );
+
+            dp.setStatus ( PluginStatus.failed );
+            dp.setFailureCause ( "Incomplete" );
+            dp.setExceptionMessage ( fmsg );
+
+            ready.add ( initialization );
+        }
+        else if ( executor == null || initialization.getDetectedPlugin ().getInformation ().isSequential () )
+        {
+            ready.add ( initialization );
+        }
+        else
+        {
+            executor.execute ( new Runnable ()
             {
-                final String title = sameLibraries.keySet ().iterator ().next ().getTitle ();
-                final StringBuilder sb = new StringBuilder ( "Library [ " ).append ( title ).append ( " ] was found in plugins: " );
-                for ( final Map.Entry<PluginLibrary, PluginInformation> library : sameLibraries.entrySet () )
+                @Override
+                public void run ()
                 {
-                    final PluginInformation plugin = library.getValue ();
-                    final String libraryVersion = library.getKey ().getVersion ();
-                    sb.append ( "[ " ).append ( plugin.toString () ).append ( ", version " ).append ( libraryVersion ).append ( " ] " );
+                    final Thread thread = Thread.currentThread ();
+                    thread.setContextClassLoader ( contextClassLoader );
+                    try
+                    {
+                        initialization.initialize ();
+                    }
+                    catch ( final Throwable e )
+                    {
+                        // Errors are not thrown on the checking thread in this case
+                        final DetectedPlugin<P> dp = initialization.getDetectedPlugin ();
+                        LoggerFactory.getLogger ( PluginManager.class ).error ( initialization.getPrefix () + "Unable to initialize plugin", e );
+                        dp.setStatus ( PluginStatus.failed );
+                        dp.setFailureCause ( "Internal exception" );
+                        dp.setException ( e );
+                    }
+                    finally
+                    {
+                        thread.setContextClassLoader ( null );
+                        finished.add ( initialization );
+                    }
                 }
-                LoggerFactory.getLogger ( PluginManager.class ).info ( sb.toString () );
-                sameLibrariesInPlugins = true;
-                break;
-            }
-        }
-        if ( sameLibrariesInPlugins )
-        {
-            final String msg = "Make sure that the same library usage within different plugins was actually your intent";
-            LoggerFactory.getLogger ( PluginManager.class ).info ( msg );
+            } );
         }
     }
 
@@ -1451,7 +1901,7 @@ public abstract class PluginManager<P extends Plugin>
                 if ( detectedPluginInfo.getId ().equals ( pluginInfo.getId () ) &&
                         ( detectedPluginInfo.getVersion () == null && pluginInfo.getVersion () == null ||
                                 detectedPluginInfo.getVersion ().isSame ( pluginInfo.getVersion () ) ) &&
-                        detectedPlugin.getStatus () == PluginStatus.loaded )
+                        ( detectedPlugin.getStatus () == PluginStatus.loaded || detectedPlugin.getStatus () == PluginStatus.loading ) )
                 {
                     return true;
                 }
@@ -1833,6 +2283,25 @@ public abstract class PluginManager<P extends Plugin>
         }
     }
 
+    /**
+     * Informs {@link PluginInitializationListener}s about finished initialization of a single plugin.
+     *
+     * @param plugin detected plugin which initialization has finished
+     */
+    public void firePluginInitialized ( final DetectedPlugin<P> plugin )
+    {
+        synchronized ( listeners )
+        {
+            for ( final PluginsListener<P> listener : CollectionUtils.copy ( listeners ) )
+            {
+                if ( listener instanceof PluginInitializationListener )
+                {
+                    ( ( PluginInitializationListener<P> ) listener ).pluginInitialized ( plugin );
+                }
+            }
+        }
+    }
+
     /**
      * Informs about newly initialized plugins.
      *
@@ -1900,4 +2369,276 @@ public abstract class PluginManager<P extends Plugin>
     {
         return new PluginClassLoader ( classpath, PluginManager.class.getClassLoader () );
     }
+
+    /**
+     * Single plugin initialization performed by {@link #runPluginInitializations(List)}.
+     * It tracks other initializations it depends on and the ones depending on it.
+     */
+    protected class PluginInitialization implements Comparable<PluginInitialization>
+    {
+        /**
+         * Initialized plugin.
+         */
+        protected final DetectedPlugin<P> detectedPlugin;
+
+        /**
+         * Plugin log messages prefix.
+         */
+        protected final String prefix;
+
+        /**
+         * Initialization index according to plugin dependencies.
+         */
+        protected final int index;
+
+        /**
+         * Initializations this one depends on.
+         */
+        protected final List<PluginInitialization> dependencies;
+
+        /**
+         * Initializations of mandatory dependencies mapped by plugin ID.
+         */
+        protected final Map<String, List<PluginInitialization>> mandatoryDependencies;
+
+        /**
+         * Initializations depending on this one.
+         */
+        protected final List<PluginInitialization> dependents;
+
+        /**
+         * Amount of dependencies that are not yet finished.
+         */
+        protected int remaining;
+
+        /**
+         * Plugin and its libraries JAR paths.
+         */
+        protected List<URL> jarPaths;
+
+        /**
+         * Class loader chosen for the plugin, {@code null} if separate class loader should be created.
+         */
+        protected ClassLoader classLoader;
+
+        /**
+         * Constructs new plugin initialization.
+         *
+         * @param detectedPlugin initialized plugin
+         * @param prefix         plugin log messages prefix
+         * @param index          initialization index according to plugin dependencies
+         */
+        public PluginInitialization ( final DetectedPlugin<P> detectedPlugin, final String prefix, final int index )
+        {
+            super ();
+            this.detectedPlugin = detectedPlugin;
+            this.prefix = prefix;
+            this.index = index;
+            this.dependencies = new ArrayList<PluginInitialization> ( 1 );
+            this.mandatoryDependencies = new HashMap<String, List<PluginInitialization>> ( 1 );
+            this.dependents = new ArrayList<PluginInitialization> ( 1 );
+            this.remaining = 0;
+        }
+
+        /**
+         * Returns initialized plugin.
+         *
+         * @return initialized plugin
+         */
+        public DetectedPlugin<P> getDetectedPlugin ()
+        {
+            return detectedPlugin;
+        }
+
+        /**
+         * Returns plugin log messages prefix.
+         *
+         * @return plugin log messages prefix
+         */
+        public String getPrefix ()
+        {
+            return prefix;
+        }
+
+        /**
+         * Returns initializations depending on this one.
+         *
+         * @return initializations depending on this one
+         */
+        public List<PluginInitialization> getDependents ()
+        {
+            return dependents;
+        }
+
+        /**
+         * Sets plugin and its libraries JAR paths.
+         *
+         * @param jarPaths plugin and its libraries JAR paths
+         */
+        public void setJarPaths ( final List<URL> jarPaths )
+        {
+            this.jarPaths = jarPaths;
+        }
+
+        /**
+         * Sets class loader chosen for the plugin.
+         *
+         * @param classLoader class loader chosen for the plugin, {@code null} if separate class loader should be created
+         */
+        public void setClassLoader ( final ClassLoader classLoader )
+        {
+            this.classLoader = classLoader;
+        }
+
+        /**
+         * Makes this initialization wait for the specified one.
+         *
+         * @param provider  initialization of the plugin this one depends on
+         * @param mandatory whether dependency is mandatory or not
+         */
+        public void dependOn ( final PluginInitialization provider, final boolean mandatory )
+        {
+            if ( !dependencies.contains ( provider ) )
+            {
+                dependencies.add ( provider );
+                provider.dependents.add ( this );
+                remaining++;
+            }
+            if ( mandatory )
+            {
+                final String id = provider.detectedPlugin.getInformation ().getId ();
+                List<PluginInitialization> providers = mandatoryDependencies.get ( id );
+                if ( providers == null )
+                {
+                    providers = new ArrayList<PluginInitialization> ( 1 );
+                    mandatoryDependencies.put ( id, providers );
+                }
+                providers.add ( provider );
+            }
+        }
+
+        /**
+         * Removes this initialization from the dependents of initializations it depends on.
+         */
+        public void cancel ()
+        {
+            for ( final PluginInitialization dependency : dependencies )
+            {
+                dependency.dependents.remove ( this );
+            }
+        }
+
+        /**
+         * Returns whether or not all dependencies of this initialization are finished.
+         *
+         * @return true if all dependencies of this initialization are finished, false otherwise
+         */
+        public boolean isReady ()
+        {
+            return remaining == 0;
+        }
+
+        /**
+         * Informs this initialization that one of its dependencies has finished.
+         *
+         * @return true if all dependencies of this initialization are finished, false otherwise
+         */
+        public boolean dependencyFinished ()
+        {
+            remaining--;
+            return isReady ();
+        }
+
+        /**
+         * Returns ID of the mandatory dependency that failed to initialize, {@code null} if all of them are loaded.
+         *
+         * @return ID of the mandatory dependency that failed to initialize, {@code null} if all of them are loaded
+         */
+        public String getMissingDependency ()
+        {
+            for ( final Map.Entry<String, List<PluginInitialization>> entry : mandatoryDependencies.entrySet () )
+            {
+                boolean loaded = false;
+                for ( final PluginInitialization provider : entry.getValue () )
+                {
+                    if ( provider.detectedPlugin.getStatus () == PluginStatus.loaded )
+                    {
+                        loaded = true;
+                        break;
+                    }
+                }
+                if ( !loaded )
+                {
+                    return entry.getKey ();
+                }
+            }
+            return null;
+        }
+
+        /**
+         * Loads plugin classes and creates plugin instance.
+         * This might be called on any thread, so it only modifies the initialized {@link DetectedPlugin}.
+         */
+        public void initialize ()
+        {
+            // Skip plugins that already failed
+            if ( detectedPlugin.getStatus () != PluginStatus.loading )
+            {
+                return;
+            }
+
+            final long start = System.nanoTime ();
+            try
+            {
+                // Obtaining {@link URLClassLoader}
+                final URLClassLoader urlClassLoader;
+                if ( classLoader == null )
+                {
+                    // Create separate class loader
+                    urlClassLoader = createPluginClassLoader ( new URL[ 0 ] );
+                }
+                else if ( classLoader instanceof URLClassLoader )
+                {
+                    // Use chosen class loader
+                    urlClassLoader = ( URLClassLoader ) classLoader;
+                }
+                else
+                {
+                    // Create new class loader
+                    urlClassLoader = new PluginClassLoader ( jarPaths.toArray ( new URL[ jarPaths.size () ] ), classLoader );
+                }
+
+                // Adding all plugin paths
+                for ( final URL url : jarPaths )
+                {
+                    ReflectUtils.callMethodSafely ( urlClassLoader, "addURL", url );
+                }
+
+                // Loading plugin
+                final Class<?> pluginClass = urlClassLoader.loadClass ( detectedPlugin.getInformation ().getMainClass () );
+                final P plugin = ReflectUtils.createInstance ( pluginClass );
+                detectedPlugin.setInitializationTime ( System.nanoTime () - start );
+
+                // Updating detected plugin status
+                LoggerFactory.getLogger ( PluginManager.class ).info ( prefix + "Plugin initialized" );
+                detectedPlugin.setPlugin ( plugin );
+                detectedPlugin.setStatus ( PluginStatus.loaded );
+            }
+            catch ( final Exception e )
+            {
+                // Something happened while performing plugin class load
+                detectedPlugin.setInitializationTime ( System.nanoTime () - start );
+                LoggerFactory.getLogger ( PluginManager.class ).error ( prefix + "Unable to initialize plugin", e );
+                detectedPlugin.setStatus ( PluginStatus.failed );
+                detectedPlugin.setFailureCause ( "Internal exception" );
+                detectedPlugin.setException ( e );
+            }
+        }
+
+        @Override
+        public int compareTo ( final PluginInitialization other )
+        {
+            return index < other.index ? -1 : index == other.index ? 0 : 1;
+        }
+    }
 }
\ No newline at end of file
@@ -29,7 +29,7 @@ import java.util.List;
  * @see <a href="https://github.com/mgarin/weblaf/wiki/How-to-use-PluginManager">How to use PluginManager</a>
  * @see PluginManager
  */
-public abstract class PluginsAdapter<P extends Plugin> implements PluginsListener<P>
+public abstract class PluginsAdapter<P extends Plugin> implements PluginInitializationListener<P>
 {
     @Override
     public void pluginsCheckStarted ( final String directory, final boolean recursive )
@@ -55,6 +55,14 @@ public abstract class PluginsAdapter<P extends Plugin> implements PluginsListene
          */
     }
 
+    @Override
+    public void pluginInitialized ( final DetectedPlugin<P> plugin )
+    {
+        /**
+         * Do nothing by default.
+         */
+    }
+
     @Override
     public void pluginsInitialized ( final List<P> plugins )
     {
@@ -17,6 +17,7 @@
 
 package com.alee.managers.plugin.data;
 
+import com.alee.api.jdk.Supplier;
 import com.alee.managers.plugin.Plugin;
 import com.alee.utils.SystemUtils;
 
@@ -51,7 +52,12 @@ public class DetectedPlugin<P extends Plugin>
     /**
      * Plugin logo.
      */
-    private final Icon logo;
+    private Icon logo;
+
+    /**
+     * Plugin logo {@link Supplier}, {@code null} if logo is already loaded or not available.
+     */
+    private Supplier<Icon> logoSupplier;
 
     /**
      * Plugin load status.
@@ -78,6 +84,11 @@ public class DetectedPlugin<P extends Plugin>
      */
     private P plugin;
 
+    /**
+     * Time spent on plugin class loading and instantiation in nanoseconds.
+     */
+    private long initializationTime;
+
     /**
      * Constructs new information object about existing plugin.
      *
@@ -92,6 +103,27 @@ public class DetectedPlugin<P extends Plugin>
         this.pluginFileName = pluginFileName;
         this.information = information;
         this.logo = logo;
+        this.logoSupplier = null;
+        this.status = PluginStatus.detected;
+    }
+
+    /**
+     * Constructs new information object about existing plugin.
+     * Plugin logo will only be loaded upon first {@link #getLogo()} call.
+     *
+     * @param pluginFolder   path to plugin file folder
+     * @param pluginFileName plugin file name
+     * @param information    plugin information
+     * @param logoSupplier   plugin logo {@link Supplier}
+     */
+    public DetectedPlugin ( final String pluginFolder, final String pluginFileName, final PluginInformation information,
+                            final Supplier<Icon> logoSupplier )
+    {
+        this.pluginFolder = pluginFolder;
+        this.pluginFileName = pluginFileName;
+        this.information = information;
+        this.logo = null;
+        this.logoSupplier = logoSupplier;
         this.status = PluginStatus.detected;
     }
 
@@ -137,12 +169,30 @@ public class DetectedPlugin<P extends Plugin>
 
     /**
      * Returns plugin logo.
+     * Logo is loaded upon first call if it wasn't provided initially.
      *
      * @return plugin logo
      */
     public Icon getLogo ()
     {
-        return !SystemUtils.isHeadlessEnvironment () ? logo : null;
+        final Icon icon;
+        if ( !SystemUtils.isHeadlessEnvironment () )
+        {
+            synchronized ( this )
+            {
+                if ( logoSupplier != null )
+                {
+                    logo = logoSupplier.get ();
+                    logoSupplier = null;
+                }
+                icon = logo;
+            }
+        }
+        else
+        {
+            icon = null;
+        }
+        return icon;
     }
 
     /**
@@ -256,6 +306,26 @@ public class DetectedPlugin<P extends Plugin>
         this.plugin = plugin;
     }
 
+    /**
+     * Returns time spent on plugin class loading and instantiation in nanoseconds.
+     *
+     * @return time spent on plugin class loading and instantiation in nanoseconds
+     */
+    public long getInitializationTime ()
+    {
+        return initializationTime;
+    }
+
+    /**
+     * Sets time spent on plugin class loading and instantiation in nanoseconds.
+     *
+     * @param initializationTime time spent on plugin class loading and instantiation in nanoseconds
+     */
+    public void setInitializationTime ( final long initializationTime )
+    {
+        this.initializationTime = initializationTime;
+    }
+
     @Override
     public String toString ()
     {
@@ -0,0 +1,182 @@
+/*
+ * This file is part of WebLookAndFeel library.
+ *
+ * WebLookAndFeel library is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * WebLookAndFeel library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with WebLookAndFeel library.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.alee.managers.plugin.data;
+
+import com.thoughtworks.xstream.annotations.XStreamAlias;
+import com.thoughtworks.xstream.annotations.XStreamAsAttribute;
+
+import java.io.Serializable;
+
+/**
+ * Information about single plugin file stored in {@link com.alee.managers.plugin.PluginIndex}.
+ * It is used to skip reading plugin files that didn't change since they were indexed.
+ *
+ * @author Mikle Garin
+ * @see <a href="https://github.com/mgarin/weblaf/wiki/How-to-use-PluginManager">How to use PluginManager</a>
+ * @see com.alee.managers.plugin.PluginIndex
+ * @see com.alee.managers.plugin.PluginManager
+ */
+@XStreamAlias ( "PluginIndexEntry" )
+public class PluginIndexEntry implements Serializable
+{
+    /**
+     * Serialization version.
+     */
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * Canonical plugin file path.
+     */
+    @XStreamAsAttribute
+    private String path;
+
+    /**
+     * Plugin file size.
+     */
+    @XStreamAsAttribute
+    private long size;
+
+    /**
+     * Plugin file modification time.
+     */
+    @XStreamAsAttribute
+    private long modified;
+
+    /**
+     * Plugin file MD5 hash, {@code null} if it wasn't computed.
+     */
+    @XStreamAsAttribute
+    private String hash;
+
+    /**
+     * Name of plugin descriptor entry within plugin file, {@code null} if file doesn't contain plugin descriptor.
+     */
+    @XStreamAsAttribute
+    private String descriptor;
+
+    /**
+     * Plugin information read from plugin descriptor, {@code null} if file doesn't contain plugin descriptor.
+     */
+    private PluginInformation information;
+
+    /**
+     * Constructs new empty plugin index entry.
+     */
+    public PluginIndexEntry ()
+    {
+        super ();
+    }
+
+    /**
+     * Constructs new plugin index entry with the specified values.
+     *
+     * @param path        canonical plugin file path
+     * @param size        plugin file size
+     * @param modified    plugin file modification time
+     * @param hash        plugin file MD5 hash or {@code null} if it wasn't computed
+     * @param descriptor  name of plugin descriptor entry or {@code null} if file doesn't contain plugin descriptor
+     * @param information plugin information or {@code null} if file doesn't contain plugin descriptor
+     */
+    public PluginIndexEntry ( final String path, final long size, final long modified, final String hash, final String descriptor,
+                              final PluginInformation information )
+    {
+        super ();
+        this.path = path;
+        this.size = size;
+        this.modified = modified;
+        this.hash = hash;
+        this.descriptor = descriptor;
+        this.information = information;
+    }
+
+    /**
+     * Returns canonical plugin file path.
+     *
+     * @return canonical plugin file path
+     */
+    public String getPath ()
+    {
+        return path;
+    }
+
+    /**
+     * Returns plugin file size.
+     *
+     * @return plugin file size
+     */
+    public long getSize ()
+    {
+        return size;
+    }
+
+    /**
+     * Returns plugin file modification time.
+     *
+     * @return plugin file modification time
+     */
+    public long getModified ()
+    {
+        return modified;
+    }
+
+    /**
+     * Returns plugin file MD5 hash or {@code null} if it wasn't computed.
+     *
+     * @return plugin file MD5 hash or {@code null} if it wasn't computed
+     */
+    public String getHash ()
+    {
+        return hash;
+    }
+
+    /**
+     * Returns name of plugin descriptor entry within plugin file or {@code null} if file doesn't contain plugin descriptor.
+     *
+     * @return name of plugin descriptor entry within plugin file or {@code null} if file doesn't contain plugin descriptor
+     */
+    public String getDescriptor ()
+    {
+        return descriptor;
+    }
+
+    /**
+     * Returns plugin information or {@code null} if file doesn't contain plugin descriptor.
+     *
+     * @return plugin information or {@code null} if file doesn't contain plugin descriptor
+     */
+    public PluginInformation getInformation ()
+    {
+        return information;
+    }
+
+    /**
+     * Returns whether or not indexed file contains plugin descriptor.
+     *
+     * @return {@code true} if indexed file contains plugin descriptor, {@code false} otherwise
+     */
+    public boolean isPlugin ()
+    {
+        return information != null;
+    }
+
+    @Override
+    public String toString ()
+    {
+        return path + ( information != null ? " -> " + information : "" );
+    }
+}
@@ -64,6 +64,12 @@ public class PluginInformation implements Serializable
      */
     private boolean disableable;
 
+    /**
+     * Whether plugin must be initialized sequentially on the thread that performs plugins check or not.
+     * This should be enabled for plugins that must be constructed on a specific thread (for example EDT) or in strict order.
+     */
+    private boolean sequential;
+
     /**
      * Plugin main class canonical name.
      */
@@ -294,6 +300,26 @@ public class PluginInformation implements Serializable
         this.disableable = disableable;
     }
 
+    /**
+     * Returns whether plugin must be initialized sequentially on the thread that performs plugins check or not.
+     *
+     * @return true if plugin must be initialized sequentially on the thread that performs plugins check, false otherwise
+     */
+    public boolean isSequential ()
+    {
+        return sequential;
+    }
+
+    /**
+     * Sets whether plugin must be initialized sequentially on the thread that performs plugins check or not.
+     *
+     * @param sequential whether plugin must be initialized sequentially on the thread that performs plugins check or not
+     */
+    public void setSequential ( final boolean sequential )
+    {
+        this.sequential = sequential;
+    }
+
     /**
      * Returns plugin main class canonical name.
      *
@@ -0,0 +1,256 @@
+/*
+ * This file is part of WebLookAndFeel library.
+ *
+ * WebLookAndFeel library is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * WebLookAndFeel library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with WebLookAndFeel library.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.alee.managers.plugin;
+
+import com.alee.utils.FileUtils;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.slf4j.LoggerFactory;
+
+import java.io.*;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.util.jar.JarEntry;
+import java.util.jar.JarOutputStream;
+
+import static org.junit.Assert.*;
+
+/**
+ * {@link PluginClassLoader} class loading benchmark.
+ * It only logs measurements, so it is excluded from default test run and is only run with {@code mvn test -Pbenchmarks}.
+ *
+ * @author Mikle Garin
+ */
+public final class PluginClassLoaderBenchmarkTest
+{
+    /**
+     * Amount of JAR files used for lookup benchmark.
+     */
+    private static final int JARS = 200;
+
+    /**
+     * Amount of classes within each JAR file used for lookup benchmark.
+     */
+    private static final int CLASSES = 5;
+
+    /**
+     * Amount of measured benchmark rounds, each round uses new class loaders.
+     */
+    private static final int ROUNDS = 5;
+
+    /**
+     * Temporary directory.
+     */
+    private File dir;
+
+    /**
+     * Creates temporary directory.
+     *
+     * @throws Exception if directory cannot be created
+     */
+    @Before
+    public void createDirectory () throws Exception
+    {
+        dir = File.createTempFile ( "plugins", "" );
+        FileUtils.deleteFile ( dir );
+        FileUtils.ensureDirectoryExists ( dir );
+    }
+
+    /**
+     * Removes temporary directory.
+     */
+    @After
+    public void removeDirectory ()
+    {
+        FileUtils.deleteFile ( dir );
+    }
+
+    /**
+     * Class loading benchmark with {@link #JARS} JAR files containing {@link #CLASSES} classes each.
+     * Compares loading all classes and looking up missing classes with {@link PluginClassLoader} and {@link URLClassLoader}.
+     * Results are only logged since timings depend on the environment.
+     *
+     * @throws Exception if JAR files cannot be created or classes cannot be loaded
+     */
+    @Test
+    public void lookupBenchmark () throws Exception
+    {
+        final URL[] urls = new URL[ JARS ];
+        final String[] classes = new String[ JARS * CLASSES ];
+        for ( int i = 0; i < JARS; i++ )
+        {
+            final String[] names = new String[ CLASSES ];
+            final byte[][] bytes = new byte[ CLASSES ][];
+            for ( int j = 0; j < CLASSES; j++ )
+            {
+                names[ j ] = "plugin" + i + ".PluginClass" + j;
+                bytes[ j ] = createClass ( names[ j ] );
+                classes[ i * CLASSES + j ] = names[ j ];
+            }
+            urls[ i ] = createJar ( "plugin" + i + ".jar", names, bytes );
+        }
+
+        // Warming up
+        measure ( new PluginClassLoader ( urls, null ), urls, classes );
+        measure ( new URLClassLoader ( urls, null ), urls, classes );
+
+        final long[] indexed = new long[ 2 ];
+        final long[] plain = new long[ 2 ];
+        for ( int round = 0; round < ROUNDS; round++ )
+        {
+            final long[] indexedRound = measure ( new PluginClassLoader ( urls, null ), urls, classes );
+            final long[] plainRound = measure ( new URLClassLoader ( urls, null ), urls, classes );
+            for ( int i = 0; i < 2; i++ )
+            {
+                indexed[ i ] += indexedRound[ i ];
+                plain[ i ] += plainRound[ i ];
+            }
+        }
+
+        final long loads = ( long ) ROUNDS * classes.length;
+        LoggerFactory.getLogger ( PluginClassLoaderBenchmarkTest.class ).info ( String.format (
+                "Loading %d classes from %d JAR files: %d ns indexed, %d ns plain per class; " +
+                        "missing class: %d ns indexed, %d ns plain per lookup",
+                classes.length, JARS, indexed[ 0 ] / loads, plain[ 0 ] / loads, indexed[ 1 ] / loads, plain[ 1 ] / loads ) );
+    }
+
+    /**
+     * Loads all specified classes and looks up the same amount of missing classes using specified class loader.
+     * Returns time in nanoseconds it took to load existing classes and to look up missing ones.
+     * Specified class loader is closed afterwards.
+     *
+     * @param classLoader {@link URLClassLoader} to measure
+     * @param urls        JAR file URLs in class loader order
+     * @param classes     names of classes to load, {@link #CLASSES} per each JAR file
+     * @return time in nanoseconds it took to load existing classes and to look up missing ones
+     * @throws Exception if class cannot be loaded
+     */
+    private long[] measure ( final URLClassLoader classLoader, final URL[] urls, final String[] classes ) throws Exception
+    {
+        try
+        {
+            final Class<?>[] loaded = new Class<?>[ classes.length ];
+            final long loadStart = System.nanoTime ();
+            for ( int i = 0; i < classes.length; i++ )
+            {
+                loaded[ i ] = classLoader.loadClass ( classes[ i ] );
+            }
+            final long loadTime = System.nanoTime () - loadStart;
+
+            int missing = 0;
+            final long missingStart = System.nanoTime ();
+            for ( int i = 0; i < classes.length; i++ )
+            {
+                try
+                {
+                    classLoader.loadClass ( classes[ i ] + "Missing" );
+                }
+                catch ( final ClassNotFoundException e )
+                {
+                    missing++;
+                }
+            }
+            final long missingTime = System.nanoTime () - missingStart;
+
+            for ( int i = 0; i < classes.length; i++ )
+            {
+                assertEquals ( classes[ i ], loaded[ i ].getName () );
+                assertSame ( classLoader, loaded[ i ].getClassLoader () );
+                assertEquals ( urls[ i / CLASSES ], loaded[ i ].getProtectionDomain ().getCodeSource ().getLocation () );
+            }
+            assertEquals ( classes.length, missing );
+            return new long[]{ loadTime, missingTime };
+        }
+        finally
+        {
+            // URLClassLoader is only closeable since JDK 7
+            if ( classLoader instanceof Closeable )
+            {
+                ( ( Closeable ) classLoader ).close ();
+            }
+        }
+    }
+
+    /**
+     * Returns bytecode of an empty public class with the specified name.
+     *
+     * @param name class name
+     * @return bytecode of an empty public class with the specified name
+     * @throws IOException if bytecode cannot be written
+     */
+    private byte[] createClass ( final String name ) throws IOException
+    {
+        final ByteArrayOutputStream bytes = new ByteArrayOutputStream ( 64 );
+        final DataOutputStream out = new DataOutputStream ( bytes );
+        out.writeInt ( 0xCAFEBABE );
+        out.writeShort ( 0 );
+        out.writeShort ( 50 );
+
+        // Constant pool: this class and its superclass
+        out.writeShort ( 5 );
+        out.writeByte ( 7 );
+        out.writeShort ( 2 );
+        out.writeByte ( 1 );
+        out.writeUTF ( name.replace ( '.', '/' ) );
+        out.writeByte ( 7 );
+        out.writeShort ( 4 );
+        out.writeByte ( 1 );
+        out.writeUTF ( "java/lang/Object" );
+
+        // Public class without interfaces, fields, methods and attributes
+        out.writeShort ( 0x0021 );
+        out.writeShort ( 1 );
+        out.writeShort ( 3 );
+        out.writeShort ( 0 );
+        out.writeShort ( 0 );
+        out.writeShort ( 0 );
+        out.writeShort ( 0 );
+        out.close ();
+        return bytes.toByteArray ();
+    }
+
+    /**
+     * Creates JAR file with the specified classes and returns its URL.
+     *
+     * @param name    JAR file name
+     * @param classes class names
+     * @param bytes   classes bytecode
+     * @return JAR file URL
+     * @throws IOException if JAR file cannot be created
+     */
+    private URL createJar ( final String name, final String[] classes, final byte[][] bytes ) throws IOException
+    {
+        final File file = new File ( dir, name );
+        final JarOutputStream jar = new JarOutputStream ( new FileOutputStream ( file ) );
+        try
+        {
+            for ( int i = 0; i < classes.length; i++ )
+            {
+                jar.putNextEntry ( new JarEntry ( classes[ i ].replace ( '.', '/' ) + ".class" ) );
+                jar.write ( bytes[ i ] );
+                jar.closeEntry ();
+            }
+        }
+        finally
+        {
+            jar.close ();
+        }
+        return file.toURI ().toURL ();
+    }
+}
@@ -0,0 +1,469 @@
+/*
+ * This file is part of WebLookAndFeel library.
+ *
+ * WebLookAndFeel library is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * WebLookAndFeel library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with WebLookAndFeel library.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.alee.managers.plugin;
+
+import com.alee.utils.FileUtils;
+import com.alee.utils.IOUtils;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.*;
+import java.lang.reflect.Method;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.jar.Attributes;
+import java.util.jar.JarEntry;
+import java.util.jar.JarOutputStream;
+import java.util.jar.Manifest;
+
+import static org.junit.Assert.*;
+import static org.junit.Assume.assumeNotNull;
+import static org.junit.Assume.assumeTrue;
+
+/**
+ * Set of JUnit tests for {@link PluginClassLoader}.
+ *
+ * @author Mikle Garin
+ */
+public final class PluginClassLoaderTest
+{
+    /**
+     * Temporary directory.
+     */
+    private File dir;
+
+    /**
+     * Creates temporary directory.
+     *
+     * @throws Exception if directory cannot be created
+     */
+    @Before
+    public void createDirectory () throws Exception
+    {
+        dir = File.createTempFile ( "plugins", "" );
+        FileUtils.deleteFile ( dir );
+        FileUtils.ensureDirectoryExists ( dir );
+    }
+
+    /**
+     * Removes temporary directory.
+     */
+    @After
+    public void removeDirectory ()
+    {
+        FileUtils.deleteFile ( dir );
+    }
+
+    /**
+     * Tests that resources are taken from the first URL containing them, whether it is indexed or not.
+     *
+     * @throws Exception if resources cannot be read
+     */
+    @Test
+    public void urlOrder () throws Exception
+    {
+        final URL jar = createJar ( "first.jar", "data/value.txt", "jar" );
+        final File folder = new File ( dir, "folder" );
+        FileUtils.ensureDirectoryExists ( new File ( folder, "data" ) );
+        FileUtils.writeStringToFile ( "folder", new File ( folder, "data/value.txt" ) );
+        final URL directory = folder.toURI ().toURL ();
+
+        final PluginClassLoader jarFirst = new PluginClassLoader ( new URL[]{ jar, directory }, null );
+        try
+        {
+            assertEquals ( "jar", read ( jarFirst.getResource ( "data/value.txt" ) ) );
+            final List<URL> resources = Collections.list ( jarFirst.getResources ( "data/value.txt" ) );
+            assertEquals ( 2, resources.size () );
+            assertEquals ( "jar", read ( resources.get ( 0 ) ) );
+            assertEquals ( "folder", read ( resources.get ( 1 ) ) );
+        }
+        finally
+        {
+            jarFirst.close ();
+        }
+
+        final PluginClassLoader directoryFirst = new PluginClassLoader ( new URL[]{ directory, jar }, null );
+        try
+        {
+            assertEquals ( "folder", read ( directoryFirst.getResource ( "data/value.txt" ) ) );
+            final List<URL> resources = Collections.list ( directoryFirst.getResources ( "data/value.txt" ) );
+            assertEquals ( 2, resources.size () );
+            assertEquals ( "folder", read ( resources.get ( 0 ) ) );
+            assertEquals ( "jar", read ( resources.get ( 1 ) ) );
+        }
+        finally
+        {
+            directoryFirst.close ();
+        }
+    }
+
+    /**
+     * Tests that classes are loaded from indexed JAR files.
+     *
+     * @throws Exception if class cannot be loaded
+     */
+    @Test
+    public void classLoading () throws Exception
+    {
+        final String path = Sample.class.getName ().replace ( '.', '/' ) + ".class";
+        final URL jar = createJar ( "classes.jar", path, readClass ( Sample.class ) );
+
+        final PluginClassLoader classLoader = new PluginClassLoader ( new URL[]{ jar }, null );
+        try
+        {
+            final Class<?> sample = classLoader.loadClass ( Sample.class.getName () );
+            assertSame ( classLoader, sample.getClassLoader () );
+            assertNotSame ( Sample.class, sample );
+            assertEquals ( jar, sample.getProtectionDomain ().getCodeSource ().getLocation () );
+        }
+        finally
+        {
+            classLoader.close ();
+        }
+    }
+
+    /**
+     * Tests that classes and resources of multi-release JAR files are resolved for the running JDK.
+     * Versioned entries must be picked exactly the same way {@link URLClassLoader} picks them on the running JDK.
+     *
+     * @throws Exception if class cannot be loaded
+     */
+    @Test
+    public void multiReleaseJar () throws Exception
+    {
+        final String path = Sample.class.getName ().replace ( '.', '/' ) + ".class";
+        final Manifest manifest = new Manifest ();
+        manifest.getMainAttributes ().put ( Attributes.Name.MANIFEST_VERSION, "1.0" );
+        manifest.getMainAttributes ().putValue ( "Multi-Release", "true" );
+        final Map<String, byte[]> entries = new LinkedHashMap<String, byte[]> ();
+        entries.put ( "data/value.txt", "base".getBytes ( "UTF-8" ) );
+        entries.put ( "META-INF/versions/9/data/value.txt", "versioned".getBytes ( "UTF-8" ) );
+        entries.put ( "META-INF/versions/9/" + path, readClass ( Sample.class ) );
+        final URL jar = createJar ( "multi-release.jar", manifest, entries );
+
+        final URLClassLoader expected = new URLClassLoader ( new URL[]{ jar }, null );
+        final PluginClassLoader classLoader = new PluginClassLoader ( new URL[]{ jar }, null );
+        try
+        {
+            assertEquals ( read ( expected.getResource ( "data/value.txt" ) ), read ( classLoader.getResource ( "data/value.txt" ) ) );
+            assertEquals ( expected.getResource ( path ) != null, classLoader.getResource ( path ) != null );
+            if ( expected.getResource ( path ) != null )
+            {
+                final Class<?> sample = classLoader.loadClass ( Sample.class.getName () );
+                assertSame ( classLoader, sample.getClassLoader () );
+                assertEquals ( jar, sample.getProtectionDomain ().getCodeSource ().getLocation () );
+            }
+            else
+            {
+                try
+                {
+                    classLoader.loadClass ( Sample.class.getName () );
+                    fail ( "Versioned class was loaded on JDK that doesn't support versioned entries" );
+                }
+                catch ( final ClassNotFoundException ignored )
+                {
+                    // Expected exception
+                }
+            }
+        }
+        finally
+        {
+            classLoader.close ();
+
+            // URLClassLoader is only closeable since JDK 7
+            if ( expected instanceof Closeable )
+            {
+                ( ( Closeable ) expected ).close ();
+            }
+        }
+    }
+
+    /**
+     * Tests that remembered missing classes and resources are bounded.
+     *
+     * @throws Exception if JAR file cannot be created
+     */
+    @Test
+    public void boundedMissingCache () throws Exception
+    {
+        final URL url = createJar ( "single.jar", "a.txt", "a" );
+        final PluginClassLoader classLoader = new PluginClassLoader ( new URL[]{ url }, null );
+        try
+        {
+            for ( int i = 0; i < PluginClassLoader.MISSING_CACHE_SIZE * 2; i++ )
+            {
+                assertNull ( classLoader.getResource ( "missing/resource" + i ) );
+                try
+                {
+                    classLoader.loadClass ( "missing.Class" + i );
+                    fail ( "Missing class was loaded" );
+                }
+                catch ( final ClassNotFoundException ignored )
+                {
+                    // Expected exception
+                }
+            }
+            assertEquals ( PluginClassLoader.MISSING_CACHE_SIZE, classLoader.missingResources.size () );
+            assertEquals ( PluginClassLoader.MISSING_CACHE_SIZE, classLoader.missingClasses.size () );
+        }
+        finally
+        {
+            classLoader.close ();
+        }
+    }
+
+    /**
+     * Tests that indexed JAR files are closed together with class loader.
+     *
+     * @throws Exception if JAR file cannot be created
+     */
+    @Test
+    public void closeJars () throws Exception
+    {
+        final URL url = createJar ( "closed.jar", "data/a.txt", "a" );
+        final PluginClassLoader classLoader = new PluginClassLoader ( new URL[]{ url }, null );
+        final List<PluginClassLoader.IndexedJar> jars = classLoader.getIndexedJars ( "data/a.txt" );
+        assertEquals ( 1, jars.size () );
+        final PluginClassLoader.IndexedJar jar = jars.get ( 0 );
+        assertNotNull ( classLoader.getResource ( "data/a.txt" ) );
+        classLoader.close ();
+        try
+        {
+            jar.getJarFile ().getEntry ( "data/a.txt" );
+            fail ( "Indexed JAR file was not closed" );
+        }
+        catch ( final IllegalStateException ignored )
+        {
+            // Expected exception
+        }
+        assertNull ( classLoader.getResource ( "data/a.txt" ) );
+    }
+
+    /**
+     * Tests that URLs searched by {@link URLClassLoader} are closed together with class loader.
+     * Java 6 compatible class loader closes them through reflection which is only permitted up to JDK 8, so the check is skipped
+     * on later JDKs where Java 12 variant of the class loader is used instead.
+     *
+     * @throws Exception if resources cannot be read
+     */
+    @Test
+    public void closeUnindexedURLs () throws Exception
+    {
+        assumeTrue ( System.getProperty ( "java.specification.version" ).startsWith ( "1." ) );
+        final File folder = new File ( dir, "folder" );
+        FileUtils.ensureDirectoryExists ( new File ( folder, "data" ) );
+        FileUtils.writeStringToFile ( "folder", new File ( folder, "data/value.txt" ) );
+        final PluginClassLoader classLoader = new PluginClassLoader ( new URL[]{ folder.toURI ().toURL () }, null );
+        assertEquals ( "folder", read ( classLoader.getResource ( "data/value.txt" ) ) );
+        classLoader.close ();
+        assertNull ( classLoader.findResource ( "data/value.txt" ) );
+    }
+
+    /**
+     * Tests that {@link PluginClassLoader} is registered as parallel capable.
+     * Class loader subclass can only be registered as parallel capable if its superclass is registered, so the check is
+     * performed through {@link ParallelClassLoader} registration and its per-class locks.
+     */
+    @Test
+    public void parallelCapable () throws Exception
+    {
+        final Method getLock = getClassLoadingLockMethod ();
+        assumeNotNull ( getLock );
+        final ParallelClassLoader classLoader = new ParallelClassLoader ();
+        final Object lock = getLock.invoke ( classLoader, "com.alee.Sample" );
+        assertNotSame ( "Class loading lock must not be the class loader itself", classLoader, lock );
+        assertSame ( "Class loading lock must be kept for the class name", lock, getLock.invoke ( classLoader, "com.alee.Sample" ) );
+        assertNotSame ( "Different classes must have different locks", lock, getLock.invoke ( classLoader, "com.alee.Other" ) );
+    }
+
+    /**
+     * Returns {@link ClassLoader} method providing class loading locks or {@code null} if it is not available on this JDK.
+     * It is only available since JDK 7, so it is accessed through reflection.
+     *
+     * @return {@link ClassLoader} method providing class loading locks or {@code null} if it is not available on this JDK
+     */
+    private static Method getClassLoadingLockMethod ()
+    {
+        try
+        {
+            final Method method = ClassLoader.class.getDeclaredMethod ( "getClassLoadingLock", String.class );
+            method.setAccessible ( true );
+            return method;
+        }
+        catch ( final Exception e )
+        {
+            return null;
+        }
+    }
+
+    /**
+     * Creates JAR file with a single text entry and returns its URL.
+     *
+     * @param name  JAR file name
+     * @param entry entry name
+     * @param text  entry text
+     * @return JAR file URL
+     * @throws IOException if JAR file cannot be created
+     */
+    private URL createJar ( final String name, final String entry, final String text ) throws IOException
+    {
+        return createJar ( name, entry, text.getBytes ( "UTF-8" ) );
+    }
+
+    /**
+     * Creates JAR file with a single entry and returns its URL.
+     *
+     * @param name  JAR file name
+     * @param entry entry name
+     * @param bytes entry bytes
+     * @return JAR file URL
+     * @throws IOException if JAR file cannot be created
+     */
+    private URL createJar ( final String name, final String entry, final byte[] bytes ) throws IOException
+    {
+        final File file = new File ( dir, name );
+        final JarOutputStream jar = new JarOutputStream ( new FileOutputStream ( file ) );
+        try
+        {
+            jar.putNextEntry ( new JarEntry ( entry ) );
+            jar.write ( bytes );
+            jar.closeEntry ();
+        }
+        finally
+        {
+            jar.close ();
+        }
+        return file.toURI ().toURL ();
+    }
+
+    /**
+     * Creates JAR file with the specified {@link Manifest} and entries and returns its URL.
+     *
+     * @param name     JAR file name
+     * @param manifest JAR file {@link Manifest}
+     * @param entries  entry bytes mapped by entry names
+     * @return JAR file URL
+     * @throws IOException if JAR file cannot be created
+     */
+    private URL createJar ( final String name, final Manifest manifest, final Map<String, byte[]> entries ) throws IOException
+    {
+        final File file = new File ( dir, name );
+        final JarOutputStream jar = new JarOutputStream ( new FileOutputStream ( file ), manifest );
+        try
+        {
+            for ( final Map.Entry<String, byte[]> entry : entries.entrySet () )
+            {
+                jar.putNextEntry ( new JarEntry ( entry.getKey () ) );
+                jar.write ( entry.getValue () );
+                jar.closeEntry ();
+            }
+        }
+        finally
+        {
+            jar.close ();
+        }
+        return file.toURI ().toURL ();
+    }
+
+    /**
+     * Returns bytecode of the specified class.
+     *
+     * @param type class to read bytecode of
+     * @return bytecode of the specified class
+     * @throws IOException if bytecode cannot be read
+     */
+    private byte[] readClass ( final Class<?> type ) throws IOException
+    {
+        final String path = type.getName ().replace ( '.', '/' ) + ".class";
+        final InputStream inputStream = type.getClassLoader ().getResourceAsStream ( path );
+        try
+        {
+            return IOUtils.toByteArray ( inputStream );
+        }
+        finally
+        {
+            inputStream.close ();
+        }
+    }
+
+    /**
+     * Returns text of the resource under the specified URL.
+     *
+     * @param url resource URL
+     * @return text of the resource under the specified URL
+     * @throws IOException if resource cannot be read
+     */
+    private String read ( final URL url ) throws IOException
+    {
+        assertNotNull ( url );
+        final InputStream inputStream = url.openStream ();
+        try
+        {
+            return new String ( IOUtils.toByteArray ( inputStream ), "UTF-8" );
+        }
+        finally
+        {
+            inputStream.close ();
+        }
+    }
+
+    /**
+     * Class loaded from JAR file by {@link PluginClassLoader}.
+     */
+    public static final class Sample
+    {
+    }
+
+    /**
+     * {@link PluginClassLoader} subclass registered as parallel capable.
+     */
+    private static final class ParallelClassLoader extends PluginClassLoader
+    {
+        /**
+         * Registering as parallel capable, which only succeeds if {@link PluginClassLoader} is registered.
+         */
+        static
+        {
+            try
+            {
+                final Method register = ClassLoader.class.getDeclaredMethod ( "registerAsParallelCapable" );
+                register.setAccessible ( true );
+                register.invoke ( null );
+            }
+            catch ( final Exception ignored )
+            {
+                /**
+                 * Parallel class loading is not supported on JDK 6.
+                 */
+            }
+        }
+
+        /**
+         * Constructs new {@link ParallelClassLoader}.
+         */
+        public ParallelClassLoader ()
+        {
+            super ( new URL[ 0 ], null );
+        }
+    }
+}
@@ -0,0 +1,428 @@
+/*
+ * This file is part of WebLookAndFeel library.
+ *
+ * WebLookAndFeel library is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * WebLookAndFeel library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with WebLookAndFeel library.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.alee.managers.plugin;
+
+import com.alee.api.jdk.Supplier;
+import com.alee.managers.plugin.data.DetectedPlugin;
+import com.alee.managers.plugin.data.PluginIndexEntry;
+import com.alee.managers.plugin.data.PluginInformation;
+import com.alee.managers.plugin.data.PluginVersion;
+import com.alee.utils.FileUtils;
+import com.alee.utils.SystemUtils;
+import com.alee.utils.XmlUtils;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import javax.imageio.ImageIO;
+import javax.swing.*;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.zip.CRC32;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+import static org.junit.Assert.*;
+
+/**
+ * Set of JUnit tests for {@link PluginIndex} and {@link PluginManager} plugin files reading.
+ *
+ * @author Mikle Garin
+ */
+public final class PluginIndexTest
+{
+    /**
+     * Amount of plugin files read in parallel.
+     */
+    private static final int FILES = 8;
+
+    /**
+     * Temporary plugins directory.
+     */
+    private File dir;
+
+    /**
+     * Creates temporary plugins directory.
+     *
+     * @throws Exception if directory cannot be created
+     */
+    @Before
+    public void createDirectory () throws Exception
+    {
+        dir = File.createTempFile ( "plugins", "" );
+        FileUtils.deleteFile ( dir );
+        FileUtils.ensureDirectoryExists ( dir );
+    }
+
+    /**
+     * Removes temporary plugins directory.
+     */
+    @After
+    public void removeDirectory ()
+    {
+        FileUtils.deleteFile ( dir );
+    }
+
+    /**
+     * Tests that {@link PluginIndexEntry} is reused while plugin file size and modification time stay the same.
+     *
+     * @throws Exception if plugin file cannot be created
+     */
+    @Test
+    public void unchangedFileReused () throws Exception
+    {
+        final TestPluginManager manager = new TestPluginManager ( dir );
+        final File file = createPlugin ( "plugin.jar", "alpha", null );
+
+        final PluginIndexEntry entry = manager.readPluginFile ( file );
+        assertNotNull ( entry );
+        assertEquals ( "alpha", entry.getInformation ().getId () );
+        assertEquals ( 1, manager.reads.get () );
+
+        assertSame ( "Entry must be reused for unchanged file", entry, manager.readPluginFile ( file ) );
+        assertEquals ( "Unchanged file must not be read again", 1, manager.reads.get () );
+    }
+
+    /**
+     * Tests that {@link PluginIndexEntry} is invalidated once plugin file size or modification time changes.
+     *
+     * @throws Exception if plugin file cannot be created
+     */
+    @Test
+    public void changedFileInvalidated () throws Exception
+    {
+        final TestPluginManager manager = new TestPluginManager ( dir );
+        final File file = createPlugin ( "plugin.jar", "alpha", null );
+        final PluginIndexEntry entry = manager.readPluginFile ( file );
+        assertNotNull ( entry );
+
+        // Changing file size while keeping modification time
+        final long modified = file.lastModified ();
+        createPlugin ( "plugin.jar", "changed", null );
+        assertTrue ( file.setLastModified ( modified ) );
+        assertNotEquals ( entry.getSize (), file.length () );
+        final PluginIndexEntry resized = manager.readPluginFile ( file );
+        assertNotNull ( resized );
+        assertEquals ( "File with different size must be read again", "changed", resized.getInformation ().getId () );
+
+        // Changing file modification time only
+        assertTrue ( file.setLastModified ( modified - 10000 ) );
+        final PluginIndexEntry touched = manager.readPluginFile ( file );
+        assertNotNull ( touched );
+        assertNotSame ( "File with different modification time must be read again", resized, touched );
+        assertEquals ( 3, manager.reads.get () );
+    }
+
+    /**
+     * Tests that content change that keeps plugin file size and modification time is only detected with hashes verification.
+     *
+     * @throws Exception if plugin file cannot be created
+     */
+    @Test
+    public void hashesVerification () throws Exception
+    {
+        final File file = createPlugin ( "plugin.jar", "alpha", null );
+        final long size = file.length ();
+        final long modified = file.lastModified ();
+
+        final TestPluginManager plain = new TestPluginManager ( dir );
+        final TestPluginManager verifying = new TestPluginManager ( dir );
+        verifying.setPluginIndex ( new PluginIndex ( null, true ) );
+        assertEquals ( "alpha", plain.readPluginFile ( file ).getInformation ().getId () );
+        assertEquals ( "alpha", verifying.readPluginFile ( file ).getInformation ().getId () );
+        assertNotNull ( "Hash must be computed", verifying.getPluginIndex ().get ( file, path ( file ), size, modified ).getHash () );
+
+        // Replacing content with the same size and modification time
+        createPlugin ( "plugin.jar", "omega", null );
+        assertTrue ( file.setLastModified ( modified ) );
+        assertEquals ( size, file.length () );
+
+        assertEquals ( "Content change must not be noticed without hashes", "alpha",
+                plain.readPluginFile ( file ).getInformation ().getId () );
+        assertEquals ( "Content change must be noticed with hashes", "omega",
+                verifying.readPluginFile ( file ).getInformation ().getId () );
+        assertEquals ( 1, plain.reads.get () );
+        assertEquals ( 2, verifying.reads.get () );
+    }
+
+    /**
+     * Tests that {@link PluginIndex} stored in a file is reused by another {@link PluginManager}.
+     *
+     * @throws Exception if plugin file cannot be created
+     */
+    @Test
+    public void fileIndexPersistence () throws Exception
+    {
+        final File indexFile = new File ( dir, "index/plugins.xml" );
+        final File file = createPlugin ( "plugin.jar", "alpha", null );
+        createPlugin ( "removed.jar", "removed", null );
+
+        final TestPluginManager first = new TestPluginManager ( dir );
+        first.setPluginIndex ( new PluginIndex ( indexFile ) );
+        first.readPluginFiles ( Arrays.asList ( file, new File ( dir, "removed.jar" ) ) );
+        first.getPluginIndex ().save ();
+        assertEquals ( 2, first.reads.get () );
+        assertTrue ( "Index must be saved", indexFile.isFile () );
+
+        // Entries of removed files must not be saved
+        final PluginIndex index = first.getPluginIndex ();
+        FileUtils.deleteFile ( new File ( dir, "removed.jar" ) );
+        index.put ( index.get ( file, path ( file ), file.length (), file.lastModified () ) );
+        index.save ();
+
+        final TestPluginManager second = new TestPluginManager ( dir );
+        second.setPluginIndex ( new PluginIndex ( indexFile ) );
+        final PluginIndexEntry entry = second.readPluginFile ( file );
+        assertNotNull ( entry );
+        assertEquals ( "alpha", entry.getInformation ().getId () );
+        assertEquals ( "Plugin file must not be read with loaded index", 0, second.reads.get () );
+        assertEquals ( 1, second.getPluginIndex ().entries ().size () );
+    }
+
+    /**
+     * Tests that plugin files read in parallel are returned in the same order they were provided in.
+     *
+     * @throws Exception if plugin files cannot be created
+     */
+    @Test
+    public void parallelReadOrder () throws Exception
+    {
+        final TestPluginManager manager = new TestPluginManager ( dir );
+        manager.setScanThreads ( 4 );
+        manager.delayed = true;
+        final List<File> files = new ArrayList<File> ( FILES );
+        for ( int i = 0; i < FILES; i++ )
+        {
+            files.add ( createPlugin ( "plugin" + i + ".jar", "plugin" + i, null ) );
+        }
+
+        final List<PluginIndexEntry> entries = manager.readPluginFiles ( files );
+        assertEquals ( FILES, entries.size () );
+        for ( int i = 0; i < FILES; i++ )
+        {
+            assertEquals ( "plugin" + i, entries.get ( i ).getInformation ().getId () );
+        }
+        assertTrue ( "Files must be read in parallel", manager.threads.size () > 1 );
+    }
+
+    /**
+     * Tests that plugin logo is only loaded once it is requested.
+     *
+     * @throws Exception if plugin file cannot be created
+     */
+    @Test
+    public void lazyLogo () throws Exception
+    {
+        final TestPluginManager manager = new TestPluginManager ( dir );
+        final File file = createPlugin ( "plugin.jar", "alpha", createLogo () );
+
+        final DetectedPlugin<PluginManagerTest.TestPlugin> plugin = manager.detectPlugin ( file );
+        assertNotNull ( plugin );
+        assertEquals ( "Logo must not be loaded upon detection", 0, manager.logos.get () );
+
+        // Logo is never loaded in headless environment
+        if ( !SystemUtils.isHeadlessEnvironment () )
+        {
+            final Icon logo = plugin.getLogo ();
+            assertNotNull ( logo );
+            assertEquals ( 1, manager.logos.get () );
+            assertSame ( "Logo must only be loaded once", logo, plugin.getLogo () );
+            assertEquals ( 1, manager.logos.get () );
+        }
+        else
+        {
+            assertNull ( plugin.getLogo () );
+            assertEquals ( "Logo must not be loaded in headless environment", 0, manager.logos.get () );
+        }
+
+        // Checking that logo supplier actually decodes logo
+        final Icon logo = manager.createLogoSupplier ( file, "plugin.xml" ).get ();
+        assertNotNull ( logo );
+        assertEquals ( 4, logo.getIconWidth () );
+    }
+
+    /**
+     * Returns canonical path of the specified file.
+     *
+     * @param file file
+     * @return canonical path of the specified file
+     */
+    private static String path ( final File file )
+    {
+        return FileUtils.canonicalPath ( file );
+    }
+
+    /**
+     * Returns PNG image bytes used as plugin logo.
+     *
+     * @return PNG image bytes used as plugin logo
+     * @throws IOException if image cannot be written
+     */
+    private static byte[] createLogo () throws IOException
+    {
+        final ByteArrayOutputStream output = new ByteArrayOutputStream ();
+        ImageIO.write ( new BufferedImage ( 4, 4, BufferedImage.TYPE_INT_ARGB ), "png", output );
+        return output.toByteArray ();
+    }
+
+    /**
+     * Creates plugin file containing plugin descriptor and optional logo.
+     * Entries are stored uncompressed, so plugins with IDs of the same length have files of the same size.
+     *
+     * @param name plugin file name
+     * @param id   plugin ID
+     * @param logo logo PNG bytes or {@code null} if plugin has no logo
+     * @return created plugin file
+     * @throws IOException if plugin file cannot be created
+     */
+    private File createPlugin ( final String name, final String id, final byte[] logo ) throws IOException
+    {
+        final PluginInformation information = new PluginInformation ();
+        information.setId ( id );
+        information.setMainClass ( PluginManagerTest.TestPlugin.class.getName () );
+        information.setTitle ( id );
+        information.setVersion ( new PluginVersion ( 1, 0 ) );
+
+        final File file = new File ( dir, name );
+        final ZipOutputStream zip = new ZipOutputStream ( new FileOutputStream ( file ) );
+        try
+        {
+            writeEntry ( zip, "plugin.xml", XmlUtils.toXML ( information ).getBytes ( "UTF-8" ) );
+            if ( logo != null )
+            {
+                writeEntry ( zip, "logo.png", logo );
+            }
+        }
+        finally
+        {
+            zip.close ();
+        }
+        return file;
+    }
+
+    /**
+     * Writes uncompressed entry into the specified {@link ZipOutputStream}.
+     *
+     * @param zip   {@link ZipOutputStream}
+     * @param name  entry name
+     * @param bytes entry bytes
+     * @throws IOException if entry cannot be written
+     */
+    private static void writeEntry ( final ZipOutputStream zip, final String name, final byte[] bytes ) throws IOException
+    {
+        final CRC32 crc = new CRC32 ();
+        crc.update ( bytes );
+        final ZipEntry entry = new ZipEntry ( name );
+        entry.setMethod ( ZipEntry.STORED );
+        entry.setSize ( bytes.length );
+        entry.setCrc ( crc.getValue () );
+        entry.setTime ( 0 );
+        zip.putNextEntry ( entry );
+        zip.write ( bytes );
+        zip.closeEntry ();
+    }
+
+    /**
+     * {@link PluginManager} counting plugin files and logos reads.
+     */
+    private static final class TestPluginManager extends PluginManager<PluginManagerTest.TestPlugin>
+    {
+        /**
+         * Amount of plugin files actually read.
+         */
+        private final AtomicInteger reads = new AtomicInteger ( 0 );
+
+        /**
+         * Amount of logos actually loaded.
+         */
+        private final AtomicInteger logos = new AtomicInteger ( 0 );
+
+        /**
+         * {@link Thread}s plugin files were read on.
+         */
+        private final List<Thread> threads = new ArrayList<Thread> ();
+
+        /**
+         * Whether or not earlier plugin files should be read slower than later ones.
+         */
+        private boolean delayed = false;
+
+        /**
+         * Constructs new {@link TestPluginManager}.
+         *
+         * @param dir plugins directory
+         */
+        public TestPluginManager ( final File dir )
+        {
+            super ( dir.getAbsolutePath (), false );
+        }
+
+        @Override
+        protected PluginIndexEntry readPluginFile ( final File file )
+        {
+            synchronized ( threads )
+            {
+                if ( !threads.contains ( Thread.currentThread () ) )
+                {
+                    threads.add ( Thread.currentThread () );
+                }
+            }
+            if ( delayed )
+            {
+                try
+                {
+                    // Making earlier files finish last
+                    final int number = Integer.parseInt ( file.getName ().replaceAll ( "\\D", "" ) );
+                    Thread.sleep ( ( FILES - number ) * 20L );
+                }
+                catch ( final InterruptedException e )
+                {
+                    Thread.currentThread ().interrupt ();
+                }
+            }
+            final PluginIndex index = getPluginIndex ();
+            if ( index.get ( file, path ( file ), file.length (), file.lastModified () ) == null )
+            {
+                reads.incrementAndGet ();
+            }
+            return super.readPluginFile ( file );
+        }
+
+        @Override
+        protected Supplier<Icon> createLogoSupplier ( final File file, final String descriptor )
+        {
+            final Supplier<Icon> supplier = super.createLogoSupplier ( file, descriptor );
+            return new Supplier<Icon> ()
+            {
+                @Override
+                public Icon get ()
+                {
+                    logos.incrementAndGet ();
+                    return supplier.get ();
+                }
+            };
+        }
+    }
+}
@@ -0,0 +1,316 @@
+/*
+ * This file is part of WebLookAndFeel library.
+ *
+ * WebLookAndFeel library is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * WebLookAndFeel library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with WebLookAndFeel library.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.alee.managers.plugin;
+
+import com.alee.managers.plugin.data.DetectedPlugin;
+import com.alee.managers.plugin.data.PluginDependency;
+import com.alee.managers.plugin.data.PluginInformation;
+import com.alee.managers.plugin.data.PluginStatus;
+import com.alee.managers.plugin.data.PluginVersion;
+import com.alee.utils.FileUtils;
+import com.alee.utils.XmlUtils;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.util.*;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.TimeUnit;
+import java.util.jar.JarEntry;
+import java.util.jar.JarOutputStream;
+
+import static org.junit.Assert.*;
+
+/**
+ * Set of JUnit tests for {@link PluginManager} plugins initialization.
+ *
+ * @author Mikle Garin
+ */
+public final class PluginManagerTest
+{
+    /**
+     * Amount of plugins initialized in parallel.
+     */
+    private static final int PARALLEL = 4;
+
+    /**
+     * Maximum time in milliseconds plugins wait for each other.
+     */
+    private static final long TIMEOUT = 5000;
+
+    /**
+     * Barrier all {@link ParallelPlugin}s must reach together.
+     */
+    private static CyclicBarrier barrier;
+
+    /**
+     * Order in which plugin instances were created.
+     */
+    private static final List<String> constructed = Collections.synchronizedList ( new ArrayList<String> () );
+
+    /**
+     * Temporary plugins directory.
+     */
+    private File dir;
+
+    /**
+     * Creates temporary plugins directory.
+     *
+     * @throws Exception if directory cannot be created
+     */
+    @Before
+    public void createDirectory () throws Exception
+    {
+        dir = File.createTempFile ( "plugins", "" );
+        FileUtils.deleteFile ( dir );
+        FileUtils.ensureDirectoryExists ( dir );
+        constructed.clear ();
+    }
+
+    /**
+     * Removes temporary plugins directory.
+     */
+    @After
+    public void removeDirectory ()
+    {
+        FileUtils.deleteFile ( dir );
+    }
+
+    /**
+     * Tests that independent plugins are initialized in parallel.
+     *
+     * @throws Exception if plugins cannot be created
+     */
+    @Test
+    public void concurrentInitialization () throws Exception
+    {
+        final TestPluginManager manager = new TestPluginManager ( dir );
+        manager.setInitializationThreads ( PARALLEL );
+        barrier = new CyclicBarrier ( PARALLEL );
+        for ( int i = 0; i < PARALLEL; i++ )
+        {
+            createPlugin ( "parallel" + i, ParallelPlugin.class );
+        }
+
+        manager.scanPluginsDirectory ();
+        assertEquals ( "Independent plugins must be initialized in parallel", PARALLEL, manager.getAvailablePlugins ().size () );
+        for ( final DetectedPlugin<TestPlugin> plugin : manager.getDetectedPlugins () )
+        {
+            assertEquals ( PluginStatus.loaded, plugin.getStatus () );
+        }
+        assertEquals ( "Each plugin initialization must be reported", PARALLEL, manager.initialized.size () );
+        assertEquals ( "Events must be fired on the checking thread",
+                Collections.singleton ( Thread.currentThread () ), new HashSet<Thread> ( manager.threads ) );
+    }
+
+    /**
+     * Tests that plugins are only initialized after the plugins they depend on.
+     *
+     * @throws Exception if plugins cannot be created
+     */
+    @Test
+    public void dependencyOrder () throws Exception
+    {
+        final TestPluginManager manager = new TestPluginManager ( dir );
+        manager.setInitializationThreads ( PARALLEL );
+        createPlugin ( "dependent", DependentPlugin.class, "base" );
+        createPlugin ( "base", BasePlugin.class );
+        createPlugin ( "broken", FailingPlugin.class );
+        createPlugin ( "orphan", DependentPlugin.class, "broken" );
+
+        manager.scanPluginsDirectory ();
+        assertEquals ( Arrays.asList ( "base", "dependent" ), constructed );
+        assertTrue ( "Dependency must be reported first",
+                manager.initialized.indexOf ( "base" ) < manager.initialized.indexOf ( "dependent" ) );
+        assertEquals ( PluginStatus.loaded, getStatus ( manager, "dependent" ) );
+        assertEquals ( PluginStatus.failed, getStatus ( manager, "broken" ) );
+        assertEquals ( "Plugin must fail if its mandatory dependency fails", PluginStatus.failed, getStatus ( manager, "orphan" ) );
+    }
+
+    /**
+     * Returns status of the detected plugin with the specified ID.
+     *
+     * @param manager {@link PluginManager}
+     * @param id      plugin ID
+     * @return status of the detected plugin with the specified ID
+     */
+    private PluginStatus getStatus ( final TestPluginManager manager, final String id )
+    {
+        for ( final DetectedPlugin<TestPlugin> plugin : manager.getDetectedPlugins () )
+        {
+            if ( plugin.getInformation ().getId ().equals ( id ) )
+            {
+                return plugin.getStatus ();
+            }
+        }
+        throw new AssertionError ( "Plugin was not detected: " + id );
+    }
+
+    /**
+     * Creates plugin JAR file containing only plugin descriptor, plugin classes are taken from the test classpath.
+     *
+     * @param id           plugin ID
+     * @param mainClass    plugin class
+     * @param dependencies IDs of plugins this plugin depends on
+     * @throws IOException if plugin JAR file cannot be created
+     */
+    private void createPlugin ( final String id, final Class<? extends TestPlugin> mainClass, final String... dependencies )
+            throws IOException
+    {
+        final PluginInformation information = new PluginInformation ();
+        information.setId ( id );
+        information.setMainClass ( mainClass.getName () );
+        information.setTitle ( id );
+        information.setVersion ( new PluginVersion ( 1, 0 ) );
+        final List<PluginDependency> list = new ArrayList<PluginDependency> ( dependencies.length );
+        for ( final String dependency : dependencies )
+        {
+            list.add ( new PluginDependency ( dependency, null, null, false ) );
+        }
+        information.setDependencies ( list );
+
+        final JarOutputStream jar = new JarOutputStream ( new FileOutputStream ( new File ( dir, id + ".jar" ) ) );
+        try
+        {
+            jar.putNextEntry ( new JarEntry ( "plugin.xml" ) );
+            jar.write ( XmlUtils.toXML ( information ).getBytes ( "UTF-8" ) );
+            jar.closeEntry ();
+        }
+        finally
+        {
+            jar.close ();
+        }
+    }
+
+    /**
+     * {@link PluginManager} recording single plugin initialization events.
+     */
+    private static final class TestPluginManager extends PluginManager<TestPlugin>
+    {
+        /**
+         * IDs of plugins in order their initialization was reported.
+         */
+        private final List<String> initialized = new ArrayList<String> ();
+
+        /**
+         * {@link Thread}s initialization events were fired on.
+         */
+        private final List<Thread> threads = new ArrayList<Thread> ();
+
+        /**
+         * Constructs new {@link TestPluginManager}.
+         *
+         * @param dir plugins directory
+         */
+        public TestPluginManager ( final File dir )
+        {
+            super ( dir.getAbsolutePath (), false );
+            addPluginsListener ( new PluginsAdapter<TestPlugin> ()
+            {
+                @Override
+                public void pluginInitialized ( final DetectedPlugin<TestPlugin> plugin )
+                {
+                    initialized.add ( plugin.getInformation ().getId () );
+                    threads.add ( Thread.currentThread () );
+                }
+            } );
+        }
+    }
+
+    /**
+     * Base class for test plugins.
+     */
+    public abstract static class TestPlugin extends Plugin<TestPlugin>
+    {
+        /**
+         * Constructs new {@link TestPlugin}.
+         */
+        public TestPlugin ()
+        {
+            super ();
+        }
+    }
+
+    /**
+     * Plugin that waits for other {@link ParallelPlugin}s upon creation.
+     */
+    public static final class ParallelPlugin extends TestPlugin
+    {
+        /**
+         * Constructs new {@link ParallelPlugin}.
+         *
+         * @throws Exception if other plugins are not created at the same time
+         */
+        public ParallelPlugin () throws Exception
+        {
+            super ();
+            barrier.await ( TIMEOUT, TimeUnit.MILLISECONDS );
+        }
+    }
+
+    /**
+     * Plugin other plugins depend on.
+     */
+    public static final class BasePlugin extends TestPlugin
+    {
+        /**
+         * Constructs new {@link BasePlugin}.
+         *
+         * @throws InterruptedException if creation is interrupted
+         */
+        public BasePlugin () throws InterruptedException
+        {
+            super ();
+            Thread.sleep ( 100 );
+            constructed.add ( "base" );
+        }
+    }
+
+    /**
+     * Plugin depending on other plugins.
+     */
+    public static final class DependentPlugin extends TestPlugin
+    {
+        /**
+         * Constructs new {@link DependentPlugin}.
+         */
+        public DependentPlugin ()
+        {
+            super ();
+            constructed.add ( "dependent" );
+        }
+    }
+
+    /**
+     * Plugin that fails upon creation.
+     */
+    public static final class FailingPlugin extends TestPlugin
+    {
+        /**
+         * Constructs new {@link FailingPlugin}.
+         */
+        public FailingPlugin ()
+        {
+            super ();
+            throw new IllegalStateException ( "Plugin failure" );
+        }
+    }
+}
@@ -0,0 +1,343 @@
+/*
+ * This file is part of WebLookAndFeel library.
+ *
+ * WebLookAndFeel library is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * WebLookAndFeel library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with WebLookAndFeel library.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.alee.extended.filechooser;
+
+import com.alee.api.annotations.NotNull;
+import com.alee.api.annotations.Nullable;
+import com.alee.laf.WebLookAndFeel;
+import com.alee.utils.CoreSwingUtils;
+import com.alee.utils.FileUtils;
+import com.alee.utils.file.DirectoryScan;
+import com.alee.utils.file.DirectoryScanListener;
+import org.slf4j.LoggerFactory;
+
+import java.io.File;
+import java.io.FileFilter;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Asynchronous directory loading support for components displaying directory files.
+ *
+ * Directory is scanned using {@link FileUtils#getDirectoryScanner()} and scanned files are provided to the component in parts on the
+ * Event Dispatch Thread. Only directory listing and reading of file attributes, names and icons happen on scanner threads,
+ * {@link FileFilter} is applied to scanned files on the Event Dispatch Thread, so it doesn't have to be thread-safe.
+ * Once scan is completed all files are sorted and provided to the component at once. Selection requested while
+ * directory is still loading is remembered and restored once loading is completed, selection made by user is preserved.
+ * Loading new directory cancels loading that is still in progress, its results are simply discarded.
+ *
+ * All methods of this class must be called on the Event Dispatch Thread.
+ *
+ * @author Mikle Garin
+ * @see com.alee.extended.list.WebFileList
+ * @see WebFileTable
+ */
+public abstract class DirectoryLoader
+{
+    /**
+     * Current loading generation.
+     * It is incremented whenever new loading is started or current one is cancelled.
+     */
+    protected int generation;
+
+    /**
+     * Currently loaded directory, {@code null} if nothing is loading.
+     */
+    @Nullable
+    protected File directory;
+
+    /**
+     * {@link DirectoryScan} in progress, {@code null} if nothing is loading.
+     */
+    @Nullable
+    protected DirectoryScan scan;
+
+    /**
+     * Files scanned so far, {@code null} if nothing is loading.
+     */
+    @Nullable
+    protected List<File> files;
+
+    /**
+     * Selection requested while directory is loading, {@code null} if there is none.
+     */
+    @Nullable
+    protected List<File> pendingSelection;
+
+    /**
+     * Whether or not view should be scrolled to pending selection.
+     */
+    protected boolean pendingScroll;
+
+    /**
+     * Actions awaiting current loading to be completed.
+     */
+    @NotNull
+    protected final List<Runnable> callbacks;
+
+    /**
+     * Constructs new {@link DirectoryLoader}.
+     */
+    public DirectoryLoader ()
+    {
+        this.generation = 0;
+        this.callbacks = new ArrayList<Runnable> ( 1 );
+    }
+
+    /**
+     * Removes all currently displayed files.
+     * Called when loading of a different directory starts.
+     */
+    protected abstract void clear ();
+
+    /**
+     * Adds scanned files to the displayed ones.
+     * Called for each part of different directory files.
+     *
+     * @param files scanned files
+     */
+    protected abstract void add ( @NotNull List<File> files );
+
+    /**
+     * Returns currently selected files.
+     *
+     * @return currently selected files
+     */
+    @NotNull
+    protected abstract List<File> getSelection ();
+
+    /**
+     * Replaces displayed files with all loaded files and restores selection.
+     *
+     * @param files     all loaded files in sorted order
+     * @param selection files to select
+     * @param scroll    whether or not should scroll view to selected files
+     */
+    protected abstract void loaded ( @NotNull List<File> files, @NotNull List<File> selection, boolean scroll );
+
+    /**
+     * Returns whether or not directory is loading.
+     *
+     * @return {@code true} if directory is loading, {@code false} otherwise
+     */
+    public boolean isLoading ()
+    {
+        return scan != null;
+    }
+
+    /**
+     * Starts loading specified directory.
+     * If the same directory is reloaded displayed files are kept until loading is completed, otherwise they are replaced with
+     * scanned files as soon as they are available.
+     *
+     * @param directory directory to load
+     * @param filter    {@link FileFilter} for directory files applied on the Event Dispatch Thread, {@code null} to accept all files
+     * @param displayed currently displayed directory
+     */
+    public void load ( @NotNull final File directory, @Nullable final FileFilter filter, @Nullable final File displayed )
+    {
+        WebLookAndFeel.checkEventDispatchThread ();
+
+        // Cancelling previous loading
+        // Requested selection and actions are kept only if the same directory is reloaded
+        if ( !FileUtils.equals ( this.directory != null ? this.directory : displayed, directory ) )
+        {
+            pendingSelection = null;
+            callbacks.clear ();
+        }
+        cancelScan ();
+
+        // Starting new scan
+        final boolean incremental = !FileUtils.equals ( displayed, directory );
+        if ( incremental )
+        {
+            clear ();
+        }
+        final int current = generation;
+        this.directory = directory;
+        this.files = new ArrayList<File> ();
+        this.scan = FileUtils.getDirectoryScanner ().scan ( directory, null, true, new DirectoryScanListener ()
+        {
+            @Override
+            public void scanned ( @NotNull final List<File> scanned )
+            {
+                CoreSwingUtils.invokeLater ( new Runnable ()
+                {
+                    @Override
+                    public void run ()
+                    {
+                        if ( current == generation && files != null )
+                        {
+                            final List<File> accepted = accept ( scanned, filter );
+                            files.addAll ( accepted );
+                            if ( incremental && accepted.size () > 0 )
+                            {
+                                add ( accepted );
+                            }
+                        }
+                    }
+                } );
+            }
+
+            @Override
+            public void completed ()
+            {
+                CoreSwingUtils.invokeLater ( new Runnable ()
+                {
+                    @Override
+                    public void run ()
+                    {
+                        if ( current == generation )
+                        {
+                            complete ();
+                        }
+                    }
+                } );
+            }
+
+            @Override
+            public void failed ( @NotNull final Throwable cause )
+            {
+                final String msg = "Unable to load directory completely: %s";
+                LoggerFactory.getLogger ( DirectoryLoader.class ).error ( String.format ( msg, directory ), cause );
+                completed ();
+            }
+        } );
+    }
+
+    /**
+     * Returns scanned files accepted by the specified {@link FileFilter}.
+     *
+     * @param scanned scanned files
+     * @param filter  {@link FileFilter} for directory files, {@code null} to accept all files
+     * @return scanned files accepted by the specified {@link FileFilter}
+     */
+    @NotNull
+    protected List<File> accept ( @NotNull final List<File> scanned, @Nullable final FileFilter filter )
+    {
+        final List<File> accepted;
+        if ( filter != null )
+        {
+            accepted = new ArrayList<File> ( scanned.size () );
+            for ( final File file : scanned )
+            {
+                if ( filter.accept ( file ) )
+                {
+                    accepted.add ( file );
+                }
+            }
+        }
+        else
+        {
+            accepted = scanned;
+        }
+        return accepted;
+    }
+
+    /**
+     * Completes loading by providing all loaded files and performing all awaiting actions.
+     */
+    protected void complete ()
+    {
+        final List<File> loaded = files != null ? files : new ArrayList<File> ( 0 );
+        final List<File> selection = pendingSelection != null ? pendingSelection : getSelection ();
+        final boolean scroll = pendingSelection != null && pendingScroll;
+        directory = null;
+        scan = null;
+        files = null;
+        pendingSelection = null;
+        loaded ( FileUtils.sortFiles ( loaded ), selection, scroll );
+        runCallbacks ();
+    }
+
+    /**
+     * Remembers selection requested while directory is loading to restore it once loading is completed.
+     * Does nothing if directory is not loading.
+     *
+     * @param selection files to select
+     * @param scroll    whether or not should scroll view to selected files
+     */
+    public void select ( @NotNull final List<File> selection, final boolean scroll )
+    {
+        if ( isLoading () )
+        {
+            pendingSelection = new ArrayList<File> ( selection );
+            pendingScroll = scroll;
+        }
+    }
+
+    /**
+     * Performs specified action once loading is completed or immediately if directory is not loading.
+     *
+     * @param action action to perform
+     */
+    public void invokeAfterLoad ( @NotNull final Runnable action )
+    {
+        WebLookAndFeel.checkEventDispatchThread ();
+        if ( isLoading () )
+        {
+            callbacks.add ( action );
+        }
+        else
+        {
+            action.run ();
+        }
+    }
+
+    /**
+     * Cancels loading in progress, if there is one, without performing awaiting actions.
+     */
+    public void cancel ()
+    {
+        WebLookAndFeel.checkEventDispatchThread ();
+        cancelScan ();
+        directory = null;
+        files = null;
+        pendingSelection = null;
+        callbacks.clear ();
+    }
+
+    /**
+     * Cancels {@link DirectoryScan} in progress, if there is one.
+     */
+    protected void cancelScan ()
+    {
+        generation++;
+        if ( scan != null )
+        {
+            scan.cancel ();
+            scan = null;
+        }
+    }
+
+    /**
+     * Performs all awaiting actions.
+     */
+    protected void runCallbacks ()
+    {
+        if ( callbacks.size () > 0 )
+        {
+            final List<Runnable> actions = new ArrayList<Runnable> ( callbacks );
+            callbacks.clear ();
+            for ( final Runnable action : actions )
+            {
+                action.run ();
+            }
+        }
+    }
+}
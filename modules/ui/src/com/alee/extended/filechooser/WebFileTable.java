@@ -61,6 +61,16 @@ public class WebFileTable extends WebTable implements FileTableColumns
      */
     protected File displayedDirectory;
 
+    /**
+     * Whether or not directory files should be loaded asynchronously.
+     */
+    protected boolean asyncLoading = false;
+
+    /**
+     * {@link DirectoryLoader} used to load directory files asynchronously.
+     */
+    protected DirectoryLoader directoryLoader = null;
+
     /**
      * Constructs empty WebFileTable.
      */
@@ -268,24 +278,135 @@ public class WebFileTable extends WebTable implements FileTableColumns
         // Stop cell editing
         stopCellEditing ();
 
-        // Saving selection to restore later
-        final List<File> oldSelection = getSelectedFiles ();
+        if ( file != null && asyncLoading )
+        {
+            // Loading files in background, selection is restored once loading is completed
+            getDirectoryLoader ().load ( file, fileFilter, displayedDirectory );
+        }
+        else
+        {
+            // Cancelling background loading
+            if ( directoryLoader != null )
+            {
+                directoryLoader.cancel ();
+            }
 
-        // Update files data
-        final File[] listedFiles = file != null ? FileUtils.listFiles ( file, ( FileFilter ) fileFilter ) : null;
-        final File[] files = file != null ? FileUtils.sortFiles ( listedFiles ) : FileUtils.getDiskRoots ();
-        getFileTableModel ().setFiles ( CollectionUtils.asList ( files ) );
+            // Saving selection to restore later
+            final List<File> oldSelection = getSelectedFiles ();
 
-        // Restoring selection if its same folder
-        if ( FileUtils.equals ( displayedDirectory, file ) )
-        {
-            setSelectedFiles ( oldSelection );
+            // Update files data
+            final File[] listedFiles = file != null ? FileUtils.listFiles ( file, ( FileFilter ) fileFilter ) : null;
+            final File[] files = file != null ? FileUtils.sortFiles ( listedFiles ) : FileUtils.getDiskRoots ();
+            getFileTableModel ().setFiles ( CollectionUtils.asList ( files ) );
+
+            // Restoring selection if its same folder
+            if ( FileUtils.equals ( displayedDirectory, file ) )
+            {
+                setSelectedFiles ( oldSelection );
+            }
         }
 
         // Saving new displayed directory
         displayedDirectory = file;
     }
 
+    /**
+     * Returns whether or not directory files are loaded asynchronously.
+     *
+     * @return {@code true} if directory files are loaded asynchronously, {@code false} otherwise
+     */
+    public boolean isAsyncLoading ()
+    {
+        return asyncLoading;
+    }
+
+    /**
+     * Sets whether or not directory files should be loaded asynchronously.
+     * When enabled files are displayed in parts as soon as they are scanned, file filter is still applied on the Event Dispatch Thread.
+     *
+     * @param asyncLoading whether or not directory files should be loaded asynchronously
+     */
+    public void setAsyncLoading ( final boolean asyncLoading )
+    {
+        this.asyncLoading = asyncLoading;
+    }
+
+    /**
+     * Returns whether or not displayed directory files are still loading.
+     *
+     * @return {@code true} if displayed directory files are still loading, {@code false} otherwise
+     */
+    public boolean isLoading ()
+    {
+        return directoryLoader != null && directoryLoader.isLoading ();
+    }
+
+    /**
+     * Performs specified action once displayed directory files are loaded or immediately if they are not loading.
+     *
+     * @param action action to perform
+     */
+    public void invokeAfterLoad ( @NotNull final Runnable action )
+    {
+        if ( directoryLoader != null )
+        {
+            directoryLoader.invokeAfterLoad ( action );
+        }
+        else
+        {
+            action.run ();
+        }
+    }
+
+    /**
+     * Returns {@link DirectoryLoader} used to load directory files asynchronously.
+     *
+     * @return {@link DirectoryLoader} used to load directory files asynchronously
+     */
+    @NotNull
+    protected DirectoryLoader getDirectoryLoader ()
+    {
+        if ( directoryLoader == null )
+        {
+            directoryLoader = new DirectoryLoader ()
+            {
+                @Override
+                protected void clear ()
+                {
+                    getFileTableModel ().setFiles ( new ArrayList<File> ( 0 ) );
+                }
+
+                @Override
+                protected void add ( @NotNull final List<File> files )
+                {
+                    getFileTableModel ().addFiles ( files );
+                }
+
+                @NotNull
+                @Override
+                protected List<File> getSelection ()
+                {
+                    return getSelectedFiles ();
+                }
+
+                @Override
+                protected void loaded ( @NotNull final List<File> files, @NotNull final List<File> selection, final boolean scroll )
+                {
+                    getFileTableModel ().setFiles ( files );
+                    if ( scroll && selection.size () == 1 )
+                    {
+                        setSelectedFile ( selection.get ( 0 ), true );
+                    }
+                    else
+                    {
+                        setSelectedFiles ( selection );
+                    }
+                }
+            };
+        }
+        return directoryLoader;
+    }
+
     /**
      * Sets displayed files.
      *
@@ -386,6 +507,10 @@ public class WebFileTable extends WebTable implements FileTableColumns
     {
         final int row = getFileTableModel ().getFileRow ( file );
         setSelectedRow ( row == -1 ? -1 : convertRowIndexToView ( row ), scroll );
+        if ( directoryLoader != null )
+        {
+            directoryLoader.select ( file != null ? CollectionUtils.asList ( file ) : new ArrayList<File> ( 0 ), scroll );
+        }
     }
 
     /**
@@ -395,15 +520,7 @@ public class WebFileTable extends WebTable implements FileTableColumns
      */
     public void setSelectedFiles ( final File[] files )
     {
-        clearSelection ();
-        for ( final File file : files )
-        {
-            final int row = getFileTableModel ().getFileRow ( file );
-            if ( row != -1 )
-            {
-                addSelectedRow ( convertRowIndexToView ( row ) );
-            }
-        }
+        setSelectedFiles ( CollectionUtils.asList ( files ) );
     }
 
     /**
@@ -433,6 +550,10 @@ public class WebFileTable extends WebTable implements FileTableColumns
                 addSelectedRow ( convertRowIndexToView ( row ) );
             }
         }
+        if ( directoryLoader != null )
+        {
+            directoryLoader.select ( new ArrayList<File> ( files ), false );
+        }
     }
 
     /**
@@ -103,6 +103,15 @@ public abstract class AbstractStyledTextContent<C extends JComponent, D extends
     @XStreamAsAttribute
     protected String globalStyle;
 
+    /**
+     * Whether or not {@link StyledTextLayoutCache#getShared()} should be used for text layout caching.
+     * Shared cache is useful for components that are constantly repainted with different text, for instance cell renderers.
+     * By default it is only used for components painted through {@link CellRendererPane}.
+     */
+    @Nullable
+    @XStreamAsAttribute
+    protected Boolean sharedLayoutCache;
+
     /**
      * Runtime variables.
      */
@@ -110,6 +119,15 @@ public abstract class AbstractStyledTextContent<C extends JComponent, D extends
     @OmitOnMerge
     protected transient List<TextRange> textRanges;
 
+    /**
+     * Text layout cache for this content.
+     * It is cleared whenever {@link #textRanges} are rebuilt.
+     */
+    @Nullable
+    @OmitOnClone
+    @OmitOnMerge
+    protected transient StyledTextLayoutCache layoutCache;
+
     @Override
     public void activate ( @NotNull final C c, @NotNull final D d )
     {
@@ -123,8 +141,9 @@ public abstract class AbstractStyledTextContent<C extends JComponent, D extends
     @Override
     public void deactivate ( @NotNull final C c, @NotNull final D d )
     {
-        // Clearing text ranges
+        // Clearing text ranges and layout cache
         textRanges = null;
+        layoutCache = null;
 
         // Performing default actions
         super.deactivate ( c, d );
@@ -190,6 +209,18 @@ public abstract class AbstractStyledTextContent<C extends JComponent, D extends
         return maximumTextWidth != null ? maximumTextWidth : Short.MAX_VALUE;
     }
 
+    /**
+     * Returns whether or not {@link StyledTextLayoutCache#getShared()} should be used for text layout caching.
+     *
+     * @param c painted component
+     * @param d painted decoration state
+     * @return {@code true} if {@link StyledTextLayoutCache#getShared()} should be used for text layout caching, {@code false} otherwise
+     */
+    protected boolean isSharedLayoutCache ( @NotNull final C c, @NotNull final D d )
+    {
+        return sharedLayoutCache != null ? sharedLayoutCache : c.getParent () instanceof CellRendererPane;
+    }
+
     /**
      * Returns global style range.
      *
@@ -259,6 +290,9 @@ public abstract class AbstractStyledTextContent<C extends JComponent, D extends
         }
 
         textRanges = new TextRanges ( plainText, styleRanges ).getTextRanges ();
+
+        // Previous layouts are no longer valid
+        layoutCache = null;
     }
 
     @Override
@@ -282,7 +316,8 @@ public abstract class AbstractStyledTextContent<C extends JComponent, D extends
             int y = bounds.y;
 
             // Layout the text
-            final List<StyledTextRow> rows = layout ( c, d, bounds );
+            final StyledTextLayout layout = getLayout ( c, d, bounds );
+            final List<StyledTextRow> rows = layout.getRows ();
 
             if ( !rows.isEmpty () )
             {
@@ -316,8 +351,7 @@ public abstract class AbstractStyledTextContent<C extends JComponent, D extends
                     }
                 }
 
-                final Pair<Integer, Integer> fs = getFontSize ( c, d );
-                y += fs.getKey ();
+                y += layout.getMaxAscent ();
 
                 // Painting the text
                 for ( int i = 0; i < rows.size (); i++ )
@@ -330,8 +364,50 @@ public abstract class AbstractStyledTextContent<C extends JComponent, D extends
         }
     }
 
+    /**
+     * Returns styled text layout for the specified bounds.
+     * Layout is cached and reused for painting and preferred size calculations until text ranges or any layout settings change.
+     *
+     * @param c      painted component
+     * @param d      painted decoration state
+     * @param bounds painting bounds
+     * @return styled text layout for the specified bounds
+     */
+    @NotNull
+    protected StyledTextLayout getLayout ( @NotNull final C c, @NotNull final D d, @NotNull final Rectangle bounds )
+    {
+        final StyledTextLayoutCache cache;
+        if ( isSharedLayoutCache ( c, d ) )
+        {
+            cache = StyledTextLayoutCache.getShared ();
+        }
+        else
+        {
+            if ( layoutCache == null )
+            {
+                layoutCache = new StyledTextLayoutCache ( 4 );
+            }
+            cache = layoutCache;
+        }
+
+        // Layout only depends on available space, not on its location
+        final Font font = c.getFont ();
+        final StyledTextLayoutCache.Key key = new StyledTextLayoutCache.Key ( textRanges, font,
+                c.getFontMetrics ( font ).getFontRenderContext (), bounds.width, bounds.height, getWrapType ( c, d ),
+                getMaximumRows ( c, d ), getRowGap ( c, d ), getMnemonicIndex ( c, d ), isPreserveLineBreaks ( c, d ),
+                getScriptFontRatio ( c, d ) );
+        StyledTextLayout layout = cache.get ( key );
+        if ( layout == null )
+        {
+            layout = createLayout ( c, d, bounds );
+            cache.put ( key, layout );
+        }
+        return layout;
+    }
+
     /**
      * Performs styled text layout.
+     * Use {@link #getLayout(JComponent, IDecoration, Rectangle)} instead to avoid repeating layout for the same text and bounds.
      *
      * @param c      painted component
      * @param d      painted decoration state
@@ -340,6 +416,21 @@ public abstract class AbstractStyledTextContent<C extends JComponent, D extends
      */
     @NotNull
     protected List<StyledTextRow> layout ( @NotNull final C c, @NotNull final D d, @NotNull final Rectangle bounds )
+    {
+        return createLayout ( c, d, bounds ).getRows ();
+    }
+
+    /**
+     * Performs styled text layout and returns its result.
+     * Besides the rows it also tracks whether or not available space affected the layout and how much space it actually needs.
+     *
+     * @param c      painted component
+     * @param d      painted decoration state
+     * @param bounds painting bounds
+     * @return styled text layout
+     */
+    @NotNull
+    protected StyledTextLayout createLayout ( @NotNull final C c, @NotNull final D d, @NotNull final Rectangle bounds )
     {
         final int endY = bounds.y + bounds.height;
         final int endX = bounds.x + bounds.width;
@@ -368,6 +459,9 @@ public abstract class AbstractStyledTextContent<C extends JComponent, D extends
         boolean readyToPaint = false;
         boolean leadingRow = false;
         final List<StyledTextRow> rows = new ArrayList<StyledTextRow> ();
+        boolean constrained = false;
+        int requiredWidth = 0;
+        int requiredHeight = 0;
 
         // Painting the text
         for ( int i = 0; i < textRanges.size (); i++ )
@@ -409,6 +503,9 @@ public abstract class AbstractStyledTextContent<C extends JComponent, D extends
 
                 if ( wrapType != TextWrap.none && widthLeft < strWidth && widthLeft >= 0 )
                 {
+                    // Text doesn't fit into available width
+                    constrained = true;
+
                     if ( ( maximumRows <= 0 || rowCount < maximumRows ) && y + maxRowHeight + Math.max ( 0, rowGap ) <= endY )
                     {
                         int availLength = ( int ) ( ( long ) s.length () * widthLeft / strWidth ) + 1; // Optimistic prognoses
@@ -507,6 +604,7 @@ public abstract class AbstractStyledTextContent<C extends JComponent, D extends
                 }
 
                 x += strWidth;
+                requiredWidth = Math.max ( requiredWidth, x - bounds.x );
             }
             else
             {
@@ -528,7 +626,14 @@ public abstract class AbstractStyledTextContent<C extends JComponent, D extends
                 i--;
 
                 // Checking that row is last
-                if ( y > endY || maximumRows > 0 && rowCount >= maximumRows )
+                requiredHeight = Math.max ( requiredHeight, y - bounds.y );
+                if ( y > endY )
+                {
+                    // Text doesn't fit into available height
+                    constrained = true;
+                    break;
+                }
+                else if ( maximumRows > 0 && rowCount >= maximumRows )
                 {
                     break;
                 }
@@ -541,7 +646,7 @@ public abstract class AbstractStyledTextContent<C extends JComponent, D extends
             rows.add ( row );
         }
 
-        return rows;
+        return new StyledTextLayout ( rows, maxAscent, maxRowHeight, constrained, requiredWidth, requiredHeight );
     }
 
     /**
@@ -826,7 +931,7 @@ public abstract class AbstractStyledTextContent<C extends JComponent, D extends
         final Dimension ps = new Dimension ( 0, 0 );
         if ( textRanges != null )
         {
-            final List<StyledTextRow> rows = layout ( c, d, new Rectangle ( 0, 0, available.width, available.height ) );
+            final List<StyledTextRow> rows = getLayout ( c, d, new Rectangle ( 0, 0, available.width, available.height ) ).getRows ();
             if ( !rows.isEmpty () )
             {
                 final int rg = Math.max ( 0, getRowGap ( c, d ) );
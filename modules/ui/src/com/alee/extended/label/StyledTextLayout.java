@@ -0,0 +1,143 @@
+/*
+ * This file is part of WebLookAndFeel library.
+ *
+ * WebLookAndFeel library is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * WebLookAndFeel library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with WebLookAndFeel library.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.alee.extended.label;
+
+import com.alee.api.annotations.NotNull;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Result of styled text layout performed by {@link AbstractStyledTextContent}.
+ * It is cached by {@link StyledTextLayoutCache} and reused for both painting and preferred size calculations.
+ * Cached layout is shared, so its rows must never be modified.
+ *
+ * Layout that wasn't constrained by available space is the same for any space that is large enough to fit it, which allows
+ * {@link StyledTextLayoutCache} to reuse it for different bounds, for instance for both preferred size and painting.
+ *
+ * @author Mikle Garin
+ * @see AbstractStyledTextContent#getLayout(javax.swing.JComponent, com.alee.painter.decoration.IDecoration, java.awt.Rectangle)
+ * @see StyledTextLayoutCache
+ */
+public final class StyledTextLayout
+{
+    /**
+     * Laid out text rows.
+     */
+    @NotNull
+    private final List<StyledTextRow> rows;
+
+    /**
+     * Maximum font ascent across all text fragments.
+     */
+    private final int maxAscent;
+
+    /**
+     * Maximum font height across all text fragments.
+     */
+    private final int maxHeight;
+
+    /**
+     * Whether or not text had to be wrapped or cut to fit into available space.
+     */
+    private final boolean constrained;
+
+    /**
+     * Minimum available width that results in the same layout if it wasn't constrained.
+     */
+    private final int requiredWidth;
+
+    /**
+     * Minimum available height that results in the same layout if it wasn't constrained.
+     */
+    private final int requiredHeight;
+
+    /**
+     * Constructs new {@link StyledTextLayout}.
+     *
+     * @param rows           laid out text rows
+     * @param maxAscent      maximum font ascent across all text fragments
+     * @param maxHeight      maximum font height across all text fragments
+     * @param constrained    whether or not text had to be wrapped or cut to fit into available space
+     * @param requiredWidth  minimum available width that results in the same layout if it wasn't constrained
+     * @param requiredHeight minimum available height that results in the same layout if it wasn't constrained
+     */
+    public StyledTextLayout ( @NotNull final List<StyledTextRow> rows, final int maxAscent, final int maxHeight,
+                              final boolean constrained, final int requiredWidth, final int requiredHeight )
+    {
+        this.rows = Collections.unmodifiableList ( rows );
+        this.maxAscent = maxAscent;
+        this.maxHeight = maxHeight;
+        this.constrained = constrained;
+        this.requiredWidth = requiredWidth;
+        this.requiredHeight = requiredHeight;
+    }
+
+    /**
+     * Returns laid out text rows.
+     *
+     * @return laid out text rows
+     */
+    @NotNull
+    public List<StyledTextRow> getRows ()
+    {
+        return rows;
+    }
+
+    /**
+     * Returns maximum font ascent across all text fragments.
+     *
+     * @return maximum font ascent across all text fragments
+     */
+    public int getMaxAscent ()
+    {
+        return maxAscent;
+    }
+
+    /**
+     * Returns maximum font height across all text fragments.
+     *
+     * @return maximum font height across all text fragments
+     */
+    public int getMaxHeight ()
+    {
+        return maxHeight;
+    }
+
+    /**
+     * Returns whether or not text had to be wrapped or cut to fit into available space.
+     *
+     * @return {@code true} if text had to be wrapped or cut to fit into available space, {@code false} otherwise
+     */
+    public boolean isConstrained ()
+    {
+        return constrained;
+    }
+
+    /**
+     * Returns whether or not this layout is the same for the specified available space.
+     *
+     * @param width  available width
+     * @param height available height
+     * @return {@code true} if this layout is the same for the specified available space, {@code false} otherwise
+     */
+    public boolean fits ( final int width, final int height )
+    {
+        return !constrained && width >= requiredWidth && height >= requiredHeight;
+    }
+}
@@ -0,0 +1,463 @@
+/*
+ * This file is part of WebLookAndFeel library.
+ *
+ * WebLookAndFeel library is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * WebLookAndFeel library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with WebLookAndFeel library.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.alee.extended.label;
+
+import com.alee.api.annotations.NotNull;
+import com.alee.api.annotations.Nullable;
+import com.alee.api.jdk.Objects;
+
+import java.awt.*;
+import java.awt.font.FontRenderContext;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Bounded cache of {@link StyledTextLayout}s.
+ *
+ * Each {@link AbstractStyledTextContent} has its own small cache that is cleared whenever its text ranges are rebuilt, which happens
+ * whenever text or {@link StyleRange}s change. It covers repeated painting and preferred size calculations for the same component.
+ *
+ * Components used as cell renderers change their text for every painted cell, so their own cache is cleared constantly.
+ * They use {@link #getShared()} cache instead, which compares text ranges by their content rather than by identity.
+ *
+ * Layouts that weren't constrained by available space are also cached regardless of the space they were created for and are reused
+ * for any space that can fit them, so painting text at its preferred size reuses layout created for preferred size calculation.
+ *
+ * @author Mikle Garin
+ * @see AbstractStyledTextContent#getLayout(javax.swing.JComponent, com.alee.painter.decoration.IDecoration, Rectangle)
+ * @see StyledTextLayout
+ */
+public final class StyledTextLayoutCache
+{
+    /**
+     * Maximum amount of layouts in shared cache.
+     */
+    public static final int SHARED_MAX_ENTRIES = 1024;
+
+    /**
+     * Shared cache instance.
+     */
+    @NotNull
+    private static final StyledTextLayoutCache shared = new StyledTextLayoutCache ( SHARED_MAX_ENTRIES );
+
+    /**
+     * Cached layouts, ordered from least to most recently used.
+     */
+    @NotNull
+    private final Map<Key, StyledTextLayout> cache;
+
+    /**
+     * Cached layouts that weren't constrained by available space, ordered from least to most recently used.
+     * These are stored under {@link Key}s without available space.
+     */
+    @NotNull
+    private final Map<Key, StyledTextLayout> unconstrained;
+
+    /**
+     * Amount of successful cache lookups.
+     */
+    private long hits;
+
+    /**
+     * Amount of failed cache lookups.
+     */
+    private long misses;
+
+    /**
+     * Constructs new {@link StyledTextLayoutCache}.
+     *
+     * @param maxEntries maximum amount of cached layouts
+     */
+    public StyledTextLayoutCache ( final int maxEntries )
+    {
+        this.cache = createMap ( maxEntries );
+        this.unconstrained = createMap ( maxEntries );
+        this.hits = 0;
+        this.misses = 0;
+    }
+
+    /**
+     * Returns new least recently used map limited to the specified amount of entries.
+     *
+     * @param maxEntries maximum amount of entries
+     * @return new least recently used map limited to the specified amount of entries
+     */
+    @NotNull
+    private static Map<Key, StyledTextLayout> createMap ( final int maxEntries )
+    {
+        return new LinkedHashMap<Key, StyledTextLayout> ( Math.min ( 16, maxEntries ), 0.75f, true )
+        {
+            @Override
+            protected boolean removeEldestEntry ( final Map.Entry<Key, StyledTextLayout> eldest )
+            {
+                return size () > maxEntries;
+            }
+        };
+    }
+
+    /**
+     * Returns shared cache used by cell renderers.
+     *
+     * @return shared cache used by cell renderers
+     */
+    @NotNull
+    public static StyledTextLayoutCache getShared ()
+    {
+        return shared;
+    }
+
+    /**
+     * Returns cached {@link StyledTextLayout} for the specified {@link Key} or {@code null} if it wasn't cached yet.
+     * Unconstrained {@link StyledTextLayout} created for different available space is returned if it fits into {@link Key} space.
+     *
+     * @param key layout {@link Key}
+     * @return cached {@link StyledTextLayout} for the specified {@link Key} or {@code null} if it wasn't cached yet
+     */
+    @Nullable
+    public synchronized StyledTextLayout get ( @NotNull final Key key )
+    {
+        StyledTextLayout layout = cache.get ( key );
+        if ( layout == null )
+        {
+            final StyledTextLayout other = unconstrained.get ( key.withoutSpace () );
+            if ( other != null && other.fits ( key.width, key.height ) )
+            {
+                layout = other;
+            }
+        }
+        if ( layout != null )
+        {
+            hits++;
+        }
+        else
+        {
+            misses++;
+        }
+        return layout;
+    }
+
+    /**
+     * Caches {@link StyledTextLayout} under the specified {@link Key}.
+     *
+     * @param key    layout {@link Key}
+     * @param layout {@link StyledTextLayout}
+     */
+    public synchronized void put ( @NotNull final Key key, @NotNull final StyledTextLayout layout )
+    {
+        cache.put ( key, layout );
+        if ( !layout.isConstrained () )
+        {
+            unconstrained.put ( key.withoutSpace (), layout );
+        }
+    }
+
+    /**
+     * Clears all cached layouts.
+     */
+    public synchronized void clear ()
+    {
+        cache.clear ();
+        unconstrained.clear ();
+    }
+
+    /**
+     * Returns amount of cached layouts.
+     *
+     * @return amount of cached layouts
+     */
+    public synchronized int getSize ()
+    {
+        return cache.size ();
+    }
+
+    /**
+     * Returns amount of successful cache lookups.
+     *
+     * @return amount of successful cache lookups
+     */
+    public synchronized long getHits ()
+    {
+        return hits;
+    }
+
+    /**
+     * Returns amount of failed cache lookups.
+     *
+     * @return amount of failed cache lookups
+     */
+    public synchronized long getMisses ()
+    {
+        return misses;
+    }
+
+    /**
+     * Resets cache lookup counters.
+     */
+    public synchronized void resetStatistics ()
+    {
+        hits = 0;
+        misses = 0;
+    }
+
+    /**
+     * {@link StyledTextLayout} cache key.
+     * It contains all settings that affect styled text layout.
+     */
+    public static final class Key
+    {
+        /**
+         * Text ranges.
+         */
+        @NotNull
+        private final List<TextRange> textRanges;
+
+        /**
+         * Default text {@link Font}.
+         */
+        @NotNull
+        private final Font font;
+
+        /**
+         * {@link FontRenderContext} used for text measurements.
+         */
+        @NotNull
+        private final FontRenderContext frc;
+
+        /**
+         * Available width.
+         */
+        private final int width;
+
+        /**
+         * Available height.
+         */
+        private final int height;
+
+        /**
+         * Text wrapping type.
+         */
+        @NotNull
+        private final TextWrap wrap;
+
+        /**
+         * Maximum rows count.
+         */
+        private final int maximumRows;
+
+        /**
+         * Text row gap.
+         */
+        private final int rowGap;
+
+        /**
+         * Mnemonic index.
+         */
+        private final int mnemonicIndex;
+
+        /**
+         * Whether hard breaks are preserved or not.
+         */
+        private final boolean preserveLineBreaks;
+
+        /**
+         * Script font ratio.
+         */
+        private final float scriptFontRatio;
+
+        /**
+         * Text ranges hash code.
+         */
+        private final int rangesHashCode;
+
+        /**
+         * Key hash code.
+         */
+        private final int hashCode;
+
+        /**
+         * Constructs new {@link Key}.
+         *
+         * @param textRanges         text ranges
+         * @param font               default text {@link Font}
+         * @param frc                {@link FontRenderContext} used for text measurements
+         * @param width              available width
+         * @param height             available height
+         * @param wrap               text wrapping type
+         * @param maximumRows        maximum rows count
+         * @param rowGap             text row gap
+         * @param mnemonicIndex      mnemonic index
+         * @param preserveLineBreaks whether hard breaks are preserved or not
+         * @param scriptFontRatio    script font ratio
+         */
+        public Key ( @NotNull final List<TextRange> textRanges, @NotNull final Font font, @NotNull final FontRenderContext frc,
+                     final int width, final int height, @NotNull final TextWrap wrap, final int maximumRows, final int rowGap,
+                     final int mnemonicIndex, final boolean preserveLineBreaks, final float scriptFontRatio )
+        {
+            this ( textRanges, rangesHashCode ( textRanges ), font, frc, width, height, wrap, maximumRows, rowGap, mnemonicIndex,
+                    preserveLineBreaks, scriptFontRatio );
+        }
+
+        /**
+         * Constructs new {@link Key}.
+         *
+         * @param textRanges         text ranges
+         * @param rangesHashCode     text ranges hash code
+         * @param font               default text {@link Font}
+         * @param frc                {@link FontRenderContext} used for text measurements
+         * @param width              available width
+         * @param height             available height
+         * @param wrap               text wrapping type
+         * @param maximumRows        maximum rows count
+         * @param rowGap             text row gap
+         * @param mnemonicIndex      mnemonic index
+         * @param preserveLineBreaks whether hard breaks are preserved or not
+         * @param scriptFontRatio    script font ratio
+         */
+        private Key ( @NotNull final List<TextRange> textRanges, final int rangesHashCode, @NotNull final Font font,
+                      @NotNull final FontRenderContext frc, final int width, final int height, @NotNull final TextWrap wrap,
+                      final int maximumRows, final int rowGap, final int mnemonicIndex, final boolean preserveLineBreaks,
+                      final float scriptFontRatio )
+        {
+            this.textRanges = textRanges;
+            this.font = font;
+            this.frc = frc;
+            this.width = width;
+            this.height = height;
+            this.wrap = wrap;
+            this.maximumRows = maximumRows;
+            this.rowGap = rowGap;
+            this.mnemonicIndex = mnemonicIndex;
+            this.preserveLineBreaks = preserveLineBreaks;
+            this.scriptFontRatio = scriptFontRatio;
+            this.rangesHashCode = rangesHashCode;
+            this.hashCode = Objects.hash ( rangesHashCode, font, frc, width, height, wrap, maximumRows, rowGap, mnemonicIndex,
+                    preserveLineBreaks, scriptFontRatio );
+        }
+
+        /**
+         * Returns copy of this {@link Key} without available space.
+         * It is used for caching layouts that weren't constrained by available space.
+         *
+         * @return copy of this {@link Key} without available space
+         */
+        @NotNull
+        private Key withoutSpace ()
+        {
+            return new Key ( textRanges, rangesHashCode, font, frc, -1, -1, wrap, maximumRows, rowGap, mnemonicIndex,
+                    preserveLineBreaks, scriptFontRatio );
+        }
+
+        /**
+         * Returns hash code of the specified text ranges.
+         *
+         * @param textRanges text ranges
+         * @return hash code of the specified text ranges
+         */
+        private static int rangesHashCode ( @NotNull final List<TextRange> textRanges )
+        {
+            int hashCode = 1;
+            for ( final TextRange textRange : textRanges )
+            {
+                hashCode = 31 * hashCode + textRange.text.hashCode ();
+                hashCode = 31 * hashCode + styleHashCode ( textRange.styleRange );
+            }
+            return hashCode;
+        }
+
+        /**
+         * Returns hash code of the {@link StyleRange} settings that are used for painting.
+         *
+         * @param style {@link StyleRange}
+         * @return hash code of the {@link StyleRange} settings that are used for painting
+         */
+        private static int styleHashCode ( @Nullable final StyleRange style )
+        {
+            return style != null ? Objects.hash ( style.getStyle (), style.getForeground (), style.getBackground (),
+                    style.getCustomStyle () ) : 0;
+        }
+
+        /**
+         * Returns whether or not specified {@link StyleRange}s have the same settings that are used for painting.
+         * Cached rows reference {@link StyleRange}s, so their colors and custom styles must also be the same.
+         *
+         * @param style1 first {@link StyleRange}
+         * @param style2 second {@link StyleRange}
+         * @return {@code true} if specified {@link StyleRange}s have the same settings, {@code false} otherwise
+         */
+        private static boolean styleEquals ( @Nullable final StyleRange style1, @Nullable final StyleRange style2 )
+        {
+            return style1 == style2 || style1 != null && style2 != null && style1.getStyle () == style2.getStyle () &&
+                    Objects.equals ( style1.getForeground (), style2.getForeground () ) &&
+                    Objects.equals ( style1.getBackground (), style2.getBackground () ) &&
+                    style1.getCustomStyle ().equals ( style2.getCustomStyle () );
+        }
+
+        /**
+         * Returns whether or not specified text ranges are equal.
+         *
+         * @param ranges1 first text ranges
+         * @param ranges2 second text ranges
+         * @return {@code true} if specified text ranges are equal, {@code false} otherwise
+         */
+        private static boolean rangesEquals ( @NotNull final List<TextRange> ranges1, @NotNull final List<TextRange> ranges2 )
+        {
+            boolean equals = ranges1 == ranges2;
+            if ( !equals && ranges1.size () == ranges2.size () )
+            {
+                equals = true;
+                for ( int i = 0; equals && i < ranges1.size (); i++ )
+                {
+                    final TextRange range1 = ranges1.get ( i );
+                    final TextRange range2 = ranges2.get ( i );
+                    equals = range1.text.equals ( range2.text ) && styleEquals ( range1.styleRange, range2.styleRange );
+                }
+            }
+            return equals;
+        }
+
+        @Override
+        public int hashCode ()
+        {
+            return hashCode;
+        }
+
+        @Override
+        public boolean equals ( @Nullable final Object object )
+        {
+            final boolean equals;
+            if ( object == this )
+            {
+                equals = true;
+            }
+            else if ( object instanceof Key )
+            {
+                final Key other = ( Key ) object;
+                equals = hashCode == other.hashCode && width == other.width && height == other.height && wrap == other.wrap &&
+                        maximumRows == other.maximumRows && rowGap == other.rowGap && mnemonicIndex == other.mnemonicIndex &&
+                        preserveLineBreaks == other.preserveLineBreaks && scriptFontRatio == other.scriptFontRatio &&
+                        font.equals ( other.font ) && frc.equals ( other.frc ) && rangesEquals ( textRanges, other.textRanges );
+            }
+            else
+            {
+                equals = false;
+            }
+            return equals;
+        }
+    }
+}
\ No newline at end of file
@@ -18,9 +18,11 @@
 package com.alee.extended.list;
 
 import com.alee.api.annotations.NotNull;
+import com.alee.extended.filechooser.DirectoryLoader;
 import com.alee.laf.list.WebList;
 import com.alee.laf.list.editor.ListCellEditor;
 import com.alee.managers.style.StyleId;
+import com.alee.utils.CollectionUtils;
 import com.alee.utils.FileUtils;
 import com.alee.utils.filefilter.NonHiddenFilter;
 
@@ -79,6 +81,16 @@ public class WebFileList extends WebList
      */
     protected File displayedDirectory = null;
 
+    /**
+     * Whether or not directory files should be loaded asynchronously.
+     */
+    protected boolean asyncLoading = false;
+
+    /**
+     * {@link DirectoryLoader} used to load directory files asynchronously.
+     */
+    protected DirectoryLoader directoryLoader = null;
+
     /**
      * Constructs empty file list.
      */
@@ -427,23 +439,134 @@ public class WebFileList extends WebList
         // Stop cell editing
         stopCellEditing ();
 
-        // Saving selection to restore later
-        final List<File> oldSelection = getSelectedFiles ();
+        if ( file != null && asyncLoading )
+        {
+            // Loading files in background, selection is restored once loading is completed
+            getDirectoryLoader ().load ( file, fileFilter, displayedDirectory );
+        }
+        else
+        {
+            // Cancelling background loading
+            if ( directoryLoader != null )
+            {
+                directoryLoader.cancel ();
+            }
+
+            // Saving selection to restore later
+            final List<File> oldSelection = getSelectedFiles ();
 
-        // Getting files and updating list model
-        final File[] files = file != null ? FileUtils.sortFiles ( file.listFiles ( fileFilter ) ) : FileUtils.getDiskRoots ();
-        getFileListModel ().setData ( files );
+            // Getting files and updating list model
+            final File[] files = file != null ? FileUtils.sortFiles ( file.listFiles ( fileFilter ) ) : FileUtils.getDiskRoots ();
+            getFileListModel ().setData ( files );
 
-        // Restoring selection if its same folder
-        if ( FileUtils.equals ( displayedDirectory, file ) )
-        {
-            setSelectedFiles ( oldSelection );
+            // Restoring selection if its same folder
+            if ( FileUtils.equals ( displayedDirectory, file ) )
+            {
+                setSelectedFiles ( oldSelection );
+            }
         }
 
         // Saving new displayed directory
         this.displayedDirectory = file;
     }
 
+    /**
+     * Returns whether or not directory files are loaded asynchronously.
+     *
+     * @return {@code true} if directory files are loaded asynchronously, {@code false} otherwise
+     */
+    public boolean isAsyncLoading ()
+    {
+        return asyncLoading;
+    }
+
+    /**
+     * Sets whether or not directory files should be loaded asynchronously.
+     * When enabled files are displayed in parts as soon as they are scanned, file filter is still applied on the Event Dispatch Thread.
+     *
+     * @param asyncLoading whether or not directory files should be loaded asynchronously
+     */
+    public void setAsyncLoading ( final boolean asyncLoading )
+    {
+        this.asyncLoading = asyncLoading;
+    }
+
+    /**
+     * Returns whether or not displayed directory files are still loading.
+     *
+     * @return {@code true} if displayed directory files are still loading, {@code false} otherwise
+     */
+    public boolean isLoading ()
+    {
+        return directoryLoader != null && directoryLoader.isLoading ();
+    }
+
+    /**
+     * Performs specified action once displayed directory files are loaded or immediately if they are not loading.
+     *
+     * @param action action to perform
+     */
+    public void invokeAfterLoad ( @NotNull final Runnable action )
+    {
+        if ( directoryLoader != null )
+        {
+            directoryLoader.invokeAfterLoad ( action );
+        }
+        else
+        {
+            action.run ();
+        }
+    }
+
+    /**
+     * Returns {@link DirectoryLoader} used to load directory files asynchronously.
+     *
+     * @return {@link DirectoryLoader} used to load directory files asynchronously
+     */
+    @NotNull
+    protected DirectoryLoader getDirectoryLoader ()
+    {
+        if ( directoryLoader == null )
+        {
+            directoryLoader = new DirectoryLoader ()
+            {
+                @Override
+                protected void clear ()
+                {
+                    getFileListModel ().setData ( new ArrayList<File> ( 0 ) );
+                }
+
+                @Override
+                protected void add ( @NotNull final List<File> files )
+                {
+                    getFileListModel ().addData ( files );
+                }
+
+                @NotNull
+                @Override
+                protected List<File> getSelection ()
+                {
+                    return getSelectedFiles ();
+                }
+
+                @Override
+                protected void loaded ( @NotNull final List<File> files, @NotNull final List<File> selection, final boolean scroll )
+                {
+                    getFileListModel ().setData ( files );
+                    if ( scroll && selection.size () == 1 )
+                    {
+                        setSelectedFile ( selection.get ( 0 ), true );
+                    }
+                    else
+                    {
+                        setSelectedFiles ( selection );
+                    }
+                }
+            };
+        }
+        return directoryLoader;
+    }
+
     /**
      * Returns list of selected files.
      *
@@ -498,6 +621,10 @@ public class WebFileList extends WebList
         {
             clearSelection ();
         }
+        if ( directoryLoader != null )
+        {
+            directoryLoader.select ( file != null ? CollectionUtils.asList ( file ) : new ArrayList<File> ( 0 ), shouldScroll );
+        }
     }
 
     /**
@@ -517,6 +644,10 @@ public class WebFileList extends WebList
             }
         }
         setSelectedValues ( elements );
+        if ( directoryLoader != null )
+        {
+            directoryLoader.select ( new ArrayList<File> ( files ), false );
+        }
     }
 
     @Override
@@ -19,7 +19,6 @@ package com.alee.extended.svg;
 
 import com.alee.api.annotations.NotNull;
 import com.alee.api.annotations.Nullable;
-import com.alee.managers.icon.data.IconAdjustment;
 import com.kitfox.svg.SVGElement;
 import com.thoughtworks.xstream.annotations.XStreamAsAttribute;
 
@@ -30,7 +29,7 @@ import java.util.List;
  *
  * @author Mikle Garin
  */
-public abstract class AbstractSvgAdjustment implements IconAdjustment<SvgIcon>
+public abstract class AbstractSvgAdjustment implements SvgAdjustment
 {
     /**
      * {@link SVGElement} selector.
@@ -73,10 +72,22 @@ public abstract class AbstractSvgAdjustment implements IconAdjustment<SvgIcon>
 
     @Override
     public void apply ( @NotNull final SvgIcon icon )
+    {
+        icon.addAdjustment ( this );
+    }
+
+    @Override
+    public void adjust ( @NotNull final SvgIcon icon )
     {
         apply ( icon, icon.find ( getSelector () ) );
     }
 
+    @Override
+    public boolean isSizeDependent ()
+    {
+        return false;
+    }
+
     /**
      * Applies this adjustment to the specified {@link SvgIcon} elements.
      *
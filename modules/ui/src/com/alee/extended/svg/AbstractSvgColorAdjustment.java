@@ -18,7 +18,6 @@
 package com.alee.extended.svg;
 
 import com.alee.api.annotations.NotNull;
-import com.alee.managers.icon.data.IconAdjustment;
 import com.alee.utils.ColorUtils;
 import com.alee.utils.TextUtils;
 import com.alee.utils.collection.ImmutableList;
@@ -33,7 +32,7 @@ import java.util.List;
  *
  * @author Mikle Garin
  */
-public abstract class AbstractSvgColorAdjustment implements IconAdjustment<SvgIcon>
+public abstract class AbstractSvgColorAdjustment implements SvgAdjustment
 {
     /**
      * todo 1. Adjust "style" attribute settings as well
@@ -50,6 +49,12 @@ public abstract class AbstractSvgColorAdjustment implements IconAdjustment<SvgIc
 
     @Override
     public void apply ( @NotNull final SvgIcon icon )
+    {
+        icon.addAdjustment ( this );
+    }
+
+    @Override
+    public void adjust ( @NotNull final SvgIcon icon )
     {
         // Searching for elements containig color attributes
         final List<SVGElement> elements = icon.find ( "*[" + TextUtils.listToString ( ATTRIBUTES, "," ) + "]" );
@@ -65,6 +70,12 @@ public abstract class AbstractSvgColorAdjustment implements IconAdjustment<SvgIc
         }
     }
 
+    @Override
+    public boolean isSizeDependent ()
+    {
+        return false;
+    }
+
     /**
      * Changes {@link SVGElement} attribute color value to grayscale.
      *
@@ -0,0 +1,276 @@
+/*
+ * This file is part of WebLookAndFeel library.
+ *
+ * WebLookAndFeel library is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * WebLookAndFeel library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with WebLookAndFeel library.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.alee.extended.svg;
+
+import com.alee.api.annotations.NotNull;
+import com.alee.api.annotations.Nullable;
+import com.alee.api.jdk.Objects;
+import com.kitfox.svg.SVGDiagram;
+import com.kitfox.svg.SVGUniverse;
+
+import java.awt.*;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.lang.ref.SoftReference;
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Parsed {@link SVGDiagram} shared between all {@link SvgIcon}s created from the same resource.
+ * Instances are provided by {@link SvgDiagramCache}.
+ *
+ * Shared diagram is never modified after it is parsed.
+ * Adjusted variants of the diagram are created once for each distinct list of {@link SvgAdjustment}s and shared the same way,
+ * see {@link #getVariant(List, Dimension)} for more information.
+ *
+ * Diagram rendering is not thread-safe, so it must only be rendered while holding its lock, which is this object itself.
+ *
+ * @author Mikle Garin
+ * @see SvgDiagramCache
+ * @see SvgIcon
+ */
+public final class SharedSvgDiagram
+{
+    /**
+     * SVG source bytes, used to create separate diagram copies.
+     */
+    @NotNull
+    private final byte[] source;
+
+    /**
+     * {@link SVGUniverse} containing shared {@link SVGDiagram}.
+     */
+    @NotNull
+    private final SVGUniverse universe;
+
+    /**
+     * Shared {@link SVGDiagram} {@link URI}.
+     */
+    @NotNull
+    private final URI uri;
+
+    /**
+     * Adjusted variants of this diagram.
+     * Variants are referenced softly and will stay here as long as they are used by any {@link SvgIcon} or until memory is needed.
+     */
+    @Nullable
+    private Map<VariantKey, SoftReference<SharedSvgDiagram>> variants;
+
+    /**
+     * Constructs new {@link SharedSvgDiagram}.
+     *
+     * @param source SVG source bytes
+     */
+    public SharedSvgDiagram ( @NotNull final byte[] source )
+    {
+        this.source = source;
+        this.universe = new SVGUniverse ();
+        this.uri = load ( universe );
+    }
+
+    /**
+     * Constructs new {@link SharedSvgDiagram} variant.
+     *
+     * @param source   SVG source bytes
+     * @param universe {@link SVGUniverse} containing adjusted {@link SVGDiagram}
+     * @param uri      adjusted {@link SVGDiagram} {@link URI}
+     */
+    private SharedSvgDiagram ( @NotNull final byte[] source, @NotNull final SVGUniverse universe, @NotNull final URI uri )
+    {
+        this.source = source;
+        this.universe = universe;
+        this.uri = uri;
+    }
+
+    /**
+     * Returns {@link SVGUniverse} containing shared {@link SVGDiagram}.
+     *
+     * @return {@link SVGUniverse} containing shared {@link SVGDiagram}
+     */
+    @NotNull
+    public SVGUniverse getUniverse ()
+    {
+        return universe;
+    }
+
+    /**
+     * Returns shared {@link SVGDiagram} {@link URI}.
+     *
+     * @return shared {@link SVGDiagram} {@link URI}
+     */
+    @NotNull
+    public URI getUri ()
+    {
+        return uri;
+    }
+
+    /**
+     * Loads separate copy of this {@link SVGDiagram} into the specified {@link SVGUniverse}.
+     * Note that copy is always loaded from the original source, so it will not contain any adjustments.
+     *
+     * @param universe {@link SVGUniverse} to load diagram into
+     * @return loaded {@link SVGDiagram} {@link URI}
+     */
+    @NotNull
+    public URI load ( @NotNull final SVGUniverse universe )
+    {
+        try
+        {
+            final URI uri = universe.loadSVG ( new ByteArrayInputStream ( source ), "SvgIcon", true );
+            if ( uri == null || universe.getDiagram ( uri ) == null )
+            {
+                throw new RuntimeException ( "Unable to load SVG diagram" );
+            }
+            return uri;
+        }
+        catch ( final IOException e )
+        {
+            throw new RuntimeException ( "Unable to load SVG diagram", e );
+        }
+    }
+
+    /**
+     * Returns {@link SharedSvgDiagram} variant with the specified {@link SvgAdjustment}s applied.
+     * Variant is created only once for each distinct list of {@link SvgAdjustment}s.
+     * Icon size is only taken into account when some of the {@link SvgAdjustment}s are {@link SvgAdjustment#isSizeDependent()}.
+     * This diagram is returned if there are no {@link SvgAdjustment}s to apply.
+     *
+     * Note that {@link SvgAdjustment}s are compared using {@link Object#equals(Object)}, so adjustments that do not implement it
+     * will only share variants when the same instances are used.
+     *
+     * @param adjustments {@link SvgAdjustment}s to apply
+     * @param size        icon size
+     * @return {@link SharedSvgDiagram} variant with the specified {@link SvgAdjustment}s applied
+     */
+    @NotNull
+    public SharedSvgDiagram getVariant ( @NotNull final List<SvgAdjustment> adjustments, @NotNull final Dimension size )
+    {
+        final SharedSvgDiagram result;
+        if ( !adjustments.isEmpty () )
+        {
+            final VariantKey key = new VariantKey ( adjustments, isSizeDependent ( adjustments ) ? size : null );
+            synchronized ( this )
+            {
+                if ( variants == null )
+                {
+                    variants = new HashMap<VariantKey, SoftReference<SharedSvgDiagram>> ( 4 );
+                }
+                final SoftReference<SharedSvgDiagram> reference = variants.get ( key );
+                final SharedSvgDiagram cached = reference != null ? reference.get () : null;
+                if ( cached == null )
+                {
+                    // Removing collected variants
+                    final Iterator<SoftReference<SharedSvgDiagram>> iterator = variants.values ().iterator ();
+                    while ( iterator.hasNext () )
+                    {
+                        if ( iterator.next ().get () == null )
+                        {
+                            iterator.remove ();
+                        }
+                    }
+
+                    // Applying adjustments to separate diagram copy
+                    final SvgIcon icon = new SvgIcon ( this, size.width, size.height );
+                    icon.detach ();
+                    for ( final SvgAdjustment adjustment : adjustments )
+                    {
+                        adjustment.adjust ( icon );
+                    }
+                    result = new SharedSvgDiagram ( source, icon.getSvgUniverse (), icon.getSvgURI () );
+                    variants.put ( key, new SoftReference<SharedSvgDiagram> ( result ) );
+                }
+                else
+                {
+                    result = cached;
+                }
+            }
+        }
+        else
+        {
+            result = this;
+        }
+        return result;
+    }
+
+    /**
+     * Returns whether or not any of the specified {@link SvgAdjustment}s depend on icon size.
+     *
+     * @param adjustments {@link SvgAdjustment}s to check
+     * @return {@code true} if any of the specified {@link SvgAdjustment}s depend on icon size, {@code false} otherwise
+     */
+    private static boolean isSizeDependent ( @NotNull final List<SvgAdjustment> adjustments )
+    {
+        boolean sizeDependent = false;
+        for ( final SvgAdjustment adjustment : adjustments )
+        {
+            if ( adjustment.isSizeDependent () )
+            {
+                sizeDependent = true;
+                break;
+            }
+        }
+        return sizeDependent;
+    }
+
+    /**
+     * Key for {@link SharedSvgDiagram} variants.
+     */
+    private static final class VariantKey
+    {
+        /**
+         * {@link SvgAdjustment}s applied to variant.
+         */
+        @NotNull
+        private final List<SvgAdjustment> adjustments;
+
+        /**
+         * Icon size, {@code null} if none of the {@link SvgAdjustment}s depend on it.
+         */
+        @Nullable
+        private final Dimension size;
+
+        /**
+         * Constructs new {@link VariantKey}.
+         *
+         * @param adjustments {@link SvgAdjustment}s applied to variant
+         * @param size        icon size, {@code null} if none of the {@link SvgAdjustment}s depend on it
+         */
+        public VariantKey ( @NotNull final List<SvgAdjustment> adjustments, @Nullable final Dimension size )
+        {
+            this.adjustments = new ArrayList<SvgAdjustment> ( adjustments );
+            this.size = size != null ? new Dimension ( size ) : null;
+        }
+
+        @Override
+        public boolean equals ( @Nullable final Object object )
+        {
+            return object instanceof VariantKey && adjustments.equals ( ( ( VariantKey ) object ).adjustments ) &&
+                    Objects.equals ( size, ( ( VariantKey ) object ).size );
+        }
+
+        @Override
+        public int hashCode ()
+        {
+            return Objects.hash ( adjustments, size );
+        }
+    }
+}
@@ -0,0 +1,53 @@
+/*
+ * This file is part of WebLookAndFeel library.
+ *
+ * WebLookAndFeel library is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * WebLookAndFeel library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with WebLookAndFeel library.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.alee.extended.svg;
+
+import com.alee.api.annotations.NotNull;
+import com.alee.managers.icon.data.IconAdjustment;
+
+/**
+ * {@link IconAdjustment} for {@link SvgIcon} that doesn't modify shared {@link com.kitfox.svg.SVGDiagram}.
+ *
+ * {@link #apply(javax.swing.Icon)} only registers adjustment in {@link SvgIcon} through {@link SvgIcon#addAdjustment(SvgAdjustment)}.
+ * Actual {@link com.kitfox.svg.SVGElement} changes are made in {@link #adjust(SvgIcon)} which is only called once for a separate
+ * copy of the diagram, see {@link SharedSvgDiagram#getVariant(java.util.List, java.awt.Dimension)}. Resulting adjusted variant is
+ * never modified afterwards and is shared by all {@link SvgIcon}s created from the same resource with equal adjustments.
+ * So adjustments should implement {@link Object#equals(Object)} and {@link Object#hashCode()} to share variants.
+ *
+ * @author Mikle Garin
+ * @see SvgIcon
+ * @see SvgDiagramCache
+ */
+public interface SvgAdjustment extends IconAdjustment<SvgIcon>
+{
+    /**
+     * Applies changes of this adjustment to {@link com.kitfox.svg.SVGElement}s of the specified {@link SvgIcon}.
+     * Specified {@link SvgIcon} always uses its own copy of the diagram, so changes can be made directly.
+     *
+     * @param icon {@link SvgIcon} to adjust
+     */
+    public void adjust ( @NotNull SvgIcon icon );
+
+    /**
+     * Returns whether or not changes made by this adjustment depend on {@link SvgIcon} preferred size.
+     * Separate adjusted diagram variant is created for each icon size only if some of its adjustments are size-dependent.
+     *
+     * @return {@code true} if changes made by this adjustment depend on {@link SvgIcon} preferred size, {@code false} otherwise
+     */
+    public boolean isSizeDependent ();
+}
@@ -19,6 +19,7 @@ package com.alee.extended.svg;
 
 import com.alee.api.annotations.NotNull;
 import com.alee.api.annotations.Nullable;
+import com.alee.api.jdk.Objects;
 import com.alee.utils.ColorUtils;
 import com.alee.utils.MathUtils;
 import com.kitfox.svg.SVGElement;
@@ -69,4 +70,17 @@ public class SvgColorOpacity extends AbstractSvgColorAdjustment
         final int offeredAlpha = opacity != null ? ( int ) Math.round ( color.getAlpha () * opacity ) : 255;
         return ColorUtils.transparent ( color, MathUtils.limit ( 0, offeredAlpha, 255 ) );
     }
-}
\ No newline at end of file
+
+    @Override
+    public boolean equals ( @Nullable final Object object )
+    {
+        return object != null && object.getClass () == getClass () &&
+                Objects.equals ( opacity, ( ( SvgColorOpacity ) object ).opacity );
+    }
+
+    @Override
+    public int hashCode ()
+    {
+        return Objects.hash ( getClass (), opacity );
+    }
+}
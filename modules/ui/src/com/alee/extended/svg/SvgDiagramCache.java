@@ -0,0 +1,270 @@
+/*
+ * This file is part of WebLookAndFeel library.
+ *
+ * WebLookAndFeel library is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * WebLookAndFeel library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with WebLookAndFeel library.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.alee.extended.svg;
+
+import com.alee.api.annotations.NotNull;
+import com.alee.api.resource.FileResource;
+import com.alee.api.resource.Resource;
+import com.alee.utils.IOUtils;
+import com.alee.utils.UtilityException;
+
+import java.io.InputStream;
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.SoftReference;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Global cache of parsed {@link SharedSvgDiagram}s used by {@link SvgIcon}s.
+ *
+ * Each SVG resource is only parsed once no matter how many {@link SvgIcon}s of different sizes and states are created from it.
+ * Diagrams are cached by {@link Resource}, so resources should properly implement {@link Object#equals(Object)} and
+ * {@link Object#hashCode()} to be shared, otherwise only the same {@link Resource} instance will hit the cache.
+ *
+ * Diagrams are referenced softly and will stay in cache as long as they are used by any {@link SvgIcon} or until memory is needed.
+ *
+ * Cached diagrams are never reloaded, so changes of their sources are not picked up automatically. For instance {@link SvgIcon}s
+ * created from {@link FileResource} will keep using previously parsed diagram even if SVG file is modified on disk, until
+ * {@link #clear()} is called. Only {@link SvgIcon}s created after that will use the new file contents.
+ *
+ * @author Mikle Garin
+ * @see SharedSvgDiagram
+ * @see SvgIcon
+ */
+public final class SvgDiagramCache
+{
+    /**
+     * Cache lock.
+     */
+    @NotNull
+    private static final Object lock = new Object ();
+
+    /**
+     * Cached diagrams.
+     */
+    @NotNull
+    private static final Map<Resource, DiagramReference> cache = new HashMap<Resource, DiagramReference> ();
+
+    /**
+     * Queue of references to collected diagrams.
+     */
+    @NotNull
+    private static final ReferenceQueue<SharedSvgDiagram> queue = new ReferenceQueue<SharedSvgDiagram> ();
+
+    /**
+     * Amount of successful cache lookups.
+     */
+    private static long hits = 0;
+
+    /**
+     * Amount of failed cache lookups.
+     */
+    private static long misses = 0;
+
+    /**
+     * Private constructor to avoid instantiation.
+     */
+    private SvgDiagramCache ()
+    {
+        throw new UtilityException ( "Utility classes are not meant to be instantiated" );
+    }
+
+    /**
+     * Returns {@link SharedSvgDiagram} parsed from the specified {@link Resource}.
+     *
+     * @param resource SVG {@link Resource}
+     * @return {@link SharedSvgDiagram} parsed from the specified {@link Resource}
+     */
+    @NotNull
+    public static SharedSvgDiagram getDiagram ( @NotNull final Resource resource )
+    {
+        synchronized ( lock )
+        {
+            final SharedSvgDiagram cached = get ( resource );
+            if ( cached != null )
+            {
+                hits++;
+                return cached;
+            }
+            misses++;
+        }
+
+        // Parsing diagram outside of the lock
+        final SharedSvgDiagram diagram = load ( resource );
+
+        synchronized ( lock )
+        {
+            // Diagram might have been parsed concurrently
+            final SharedSvgDiagram cached = get ( resource );
+            if ( cached != null )
+            {
+                return cached;
+            }
+            cache.put ( resource, new DiagramReference ( resource, diagram, queue ) );
+            return diagram;
+        }
+    }
+
+    /**
+     * Returns cached {@link SharedSvgDiagram} for the specified {@link Resource} or {@code null} if it is not cached.
+     * Must only be called while holding cache lock.
+     *
+     * @param resource SVG {@link Resource}
+     * @return cached {@link SharedSvgDiagram} for the specified {@link Resource} or {@code null} if it is not cached
+     */
+    private static SharedSvgDiagram get ( @NotNull final Resource resource )
+    {
+        expunge ();
+        final DiagramReference reference = cache.get ( resource );
+        return reference != null ? reference.get () : null;
+    }
+
+    /**
+     * Removes entries of collected diagrams from cache.
+     * Must only be called while holding cache lock.
+     */
+    private static void expunge ()
+    {
+        DiagramReference reference;
+        while ( ( reference = ( DiagramReference ) queue.poll () ) != null )
+        {
+            if ( cache.get ( reference.resource ) == reference )
+            {
+                cache.remove ( reference.resource );
+            }
+        }
+    }
+
+    /**
+     * Returns new {@link SharedSvgDiagram} parsed from the specified {@link Resource}.
+     *
+     * @param resource SVG {@link Resource}
+     * @return new {@link SharedSvgDiagram} parsed from the specified {@link Resource}
+     */
+    @NotNull
+    private static SharedSvgDiagram load ( @NotNull final Resource resource )
+    {
+        try
+        {
+            final InputStream inputStream = resource.getInputStream ();
+            try
+            {
+                return new SharedSvgDiagram ( IOUtils.toByteArray ( inputStream ) );
+            }
+            finally
+            {
+                inputStream.close ();
+            }
+        }
+        catch ( final Exception e )
+        {
+            final String msg = "Unable to load SVG from resource: %s";
+            throw new RuntimeException ( String.format ( msg, resource ), e );
+        }
+    }
+
+    /**
+     * Clears diagrams cache.
+     * {@link SvgIcon}s that are already created will keep using their diagrams.
+     */
+    public static void clear ()
+    {
+        synchronized ( lock )
+        {
+            cache.clear ();
+        }
+    }
+
+    /**
+     * Returns amount of cached diagrams.
+     *
+     * @return amount of cached diagrams
+     */
+    public static int getSize ()
+    {
+        synchronized ( lock )
+        {
+            expunge ();
+            return cache.size ();
+        }
+    }
+
+    /**
+     * Returns amount of successful cache lookups.
+     *
+     * @return amount of successful cache lookups
+     */
+    public static long getHits ()
+    {
+        synchronized ( lock )
+        {
+            return hits;
+        }
+    }
+
+    /**
+     * Returns amount of failed cache lookups.
+     *
+     * @return amount of failed cache lookups
+     */
+    public static long getMisses ()
+    {
+        synchronized ( lock )
+        {
+            return misses;
+        }
+    }
+
+    /**
+     * Resets cache lookup counters.
+     */
+    public static void resetStatistics ()
+    {
+        synchronized ( lock )
+        {
+            hits = 0;
+            misses = 0;
+        }
+    }
+
+    /**
+     * Soft reference to cached {@link SharedSvgDiagram}.
+     */
+    private static final class DiagramReference extends SoftReference<SharedSvgDiagram>
+    {
+        /**
+         * SVG {@link Resource} used as cache key.
+         */
+        @NotNull
+        private final Resource resource;
+
+        /**
+         * Constructs new {@link DiagramReference}.
+         *
+         * @param resource SVG {@link Resource} used as cache key
+         * @param diagram  cached {@link SharedSvgDiagram}
+         * @param queue    {@link ReferenceQueue} to register reference with
+         */
+        private DiagramReference ( @NotNull final Resource resource, @NotNull final SharedSvgDiagram diagram,
+                                   @NotNull final ReferenceQueue<SharedSvgDiagram> queue )
+        {
+            super ( diagram, queue );
+            this.resource = resource;
+        }
+    }
+}
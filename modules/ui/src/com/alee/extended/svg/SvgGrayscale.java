@@ -18,6 +18,7 @@
 package com.alee.extended.svg;
 
 import com.alee.api.annotations.NotNull;
+import com.alee.api.annotations.Nullable;
 import com.alee.utils.ColorUtils;
 import com.kitfox.svg.SVGElement;
 import com.thoughtworks.xstream.annotations.XStreamAlias;
@@ -39,4 +40,16 @@ public class SvgGrayscale extends AbstractSvgColorAdjustment
     {
         return ColorUtils.grayscale ( color );
     }
-}
\ No newline at end of file
+
+    @Override
+    public boolean equals ( @Nullable final Object object )
+    {
+        return object != null && object.getClass () == getClass ();
+    }
+
+    @Override
+    public int hashCode ()
+    {
+        return getClass ().hashCode ();
+    }
+}
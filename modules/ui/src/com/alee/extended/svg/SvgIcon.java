@@ -25,6 +25,7 @@ import com.alee.api.merge.behavior.OmitOnMerge;
 import com.alee.api.resource.Resource;
 import com.alee.api.ui.DisabledCopySupplier;
 import com.alee.api.ui.TransparentCopySupplier;
+import com.alee.graphics.image.IconRasterCache;
 import com.alee.managers.icon.data.IconAdjustment;
 import com.kitfox.svg.*;
 import com.kitfox.svg.animation.AnimationElement;
@@ -41,8 +42,14 @@ import java.util.List;
  * Slightly customized SvgSalamander library {@link SVGIcon} implementation.
  * This extension provides convenient constructors and methods for diagram modification.
  *
- * Note that distinct {@link SVGUniverse} should be provided in case you want to reconfigure the same icon differently.
- * Otherwise default {@link SVGUniverse} is used and changes will be applied to all icons coming from the same source.
+ * All icons created from the same {@link Resource} share single parsed {@link SVGDiagram} provided by {@link SvgDiagramCache}.
+ * {@link SvgAdjustment}s are not applied to shared diagram directly, instead they are kept in the icon and icon is rendered using
+ * shared diagram variant with those adjustments applied, see {@link SharedSvgDiagram#getVariant(List, Dimension)} for details.
+ * Icon switches to its own separate {@link SVGDiagram} copy only when its elements are requested or changed directly,
+ * see {@link #detach()} for more information.
+ *
+ * Icon rasters are kept in {@link IconRasterCache} for each logical size and device scale it is painted at.
+ * Icons using the same {@link SharedSvgDiagram} variant and render settings share the same rasters.
  *
  * When you want to modify some SVG settings you will have to find specific SVG elements within {@link SVGDiagram}.
  * This is where css-like selectors will help you a lot, check out {@link SvgSelector} JavaDoc for more information on syntax.
@@ -53,12 +60,54 @@ import java.util.List;
 public class SvgIcon extends SVGIcon implements DisabledCopySupplier<SvgIcon>, TransparentCopySupplier<SvgIcon>, Cloneable
 {
     /**
-     * Cached raster image.
+     * {@link SharedSvgDiagram} used by this icon.
+     * It is {@code null} if this icon uses its own separate {@link SVGDiagram}.
+     *
+     * Icon is only bound to {@link SharedSvgDiagram} while rendering or measuring it, so that changes of icon settings like preferred
+     * size which also update {@link SVGDiagram} will not affect other icons sharing the same diagram.
+     * Meanwhile {@link #getSvgUniverse()} and {@link #getSvgURI()} always point at the variant picked for this icon.
+     */
+    @Nullable
+    @OmitOnClone
+    @OmitOnMerge
+    protected transient SharedSvgDiagram sharedDiagram;
+
+    /**
+     * {@link SvgAdjustment}s used to pick {@link #sharedDiagram} variant upon rendering.
      */
+    @NotNull
+    protected final List<SvgAdjustment> adjustments;
+
+    /**
+     * Last used {@link #sharedDiagram} variant.
+     */
+    @Nullable
     @OmitOnClone
     @OmitOnMerge
+    protected transient SharedSvgDiagram variant;
+
+    /**
+     * Preferred size {@link #variant} was picked for.
+     */
     @Nullable
-    protected transient BufferedImage cache;
+    @OmitOnClone
+    @OmitOnMerge
+    protected transient Dimension variantSize;
+
+    /**
+     * Separate {@link SVGDiagram} version, incremented on each change to make sure outdated rasters are not used.
+     */
+    @OmitOnClone
+    @OmitOnMerge
+    protected transient int version;
+
+    /**
+     * Separate {@link SVGDiagram} {@link #version} cached rasters were last created for.
+     * Used to remove outdated rasters from {@link IconRasterCache} once diagram changes.
+     */
+    @OmitOnClone
+    @OmitOnMerge
+    protected transient int rasterVersion;
 
     /**
      * Constructs new {@link SvgIcon} based on {@link Resource}.
@@ -72,6 +121,8 @@ public class SvgIcon extends SVGIcon implements DisabledCopySupplier<SvgIcon>, T
 
     /**
      * Constructs new {@link SvgIcon} based on {@link Resource}.
+     * Parsed {@link SVGDiagram} is taken from {@link SvgDiagramCache}, so changes of the {@link Resource} made after it was parsed
+     * will not be visible until {@link SvgDiagramCache#clear()} is called.
      *
      * @param resource SVG icon {@link Resource}
      * @param width    preferred icon width
@@ -79,27 +130,23 @@ public class SvgIcon extends SVGIcon implements DisabledCopySupplier<SvgIcon>, T
      */
     public SvgIcon ( @NotNull final Resource resource, final int width, final int height )
     {
-        try
-        {
-            // Loading SVG icon
-            final SVGUniverse universe = new SVGUniverse ();
-            final URI uri = universe.loadSVG ( resource.getInputStream (), "SvgIcon", true );
-
-            // Checking diagram
-            checkDiagram ( universe, uri );
+        this ( SvgDiagramCache.getDiagram ( resource ), width, height );
+    }
 
-            // Updating settings
-            setSvgUniverse ( universe );
-            setSvgURI ( uri );
-            setAntiAlias ( true );
-            setAutosize ( AUTOSIZE_STRETCH );
-            setPreferredSize ( width, height );
-        }
-        catch ( final Exception e )
-        {
-            final String msg = "Unable to load SVG from resource: %s";
-            throw new RuntimeException ( String.format ( msg, resource ), e );
-        }
+    /**
+     * Constructs new {@link SvgIcon} based on {@link SharedSvgDiagram}.
+     *
+     * @param diagram {@link SharedSvgDiagram}
+     * @param width   preferred icon width
+     * @param height  preferred icon height
+     */
+    public SvgIcon ( @NotNull final SharedSvgDiagram diagram, final int width, final int height )
+    {
+        this.sharedDiagram = diagram;
+        this.adjustments = new ArrayList<SvgAdjustment> ( 2 );
+        setAntiAlias ( true );
+        setAutosize ( AUTOSIZE_STRETCH );
+        setPreferredSize ( width, height );
     }
 
     /**
@@ -113,7 +160,7 @@ public class SvgIcon extends SVGIcon implements DisabledCopySupplier<SvgIcon>, T
         if ( universe.getDiagram ( uri ) == null )
         {
             final String msg = "Unable to load SVG file: %s";
-            throw new RuntimeException ( String.format ( msg, getSvgURI () ) );
+            throw new RuntimeException ( String.format ( msg, uri ) );
         }
     }
 
@@ -143,6 +190,95 @@ public class SvgIcon extends SVGIcon implements DisabledCopySupplier<SvgIcon>, T
         }
     }
 
+    /**
+     * Adds {@link SvgAdjustment} to this {@link SvgIcon}.
+     * It will be used to pick {@link SharedSvgDiagram} variant upon rendering or applied directly if this icon uses its own separate diagram.
+     *
+     * @param adjustment {@link SvgAdjustment} to add
+     */
+    public void addAdjustment ( @NotNull final SvgAdjustment adjustment )
+    {
+        if ( sharedDiagram != null )
+        {
+            adjustments.add ( adjustment );
+            variant = null;
+        }
+        else
+        {
+            adjustment.adjust ( this );
+        }
+    }
+
+    /**
+     * Returns whether or not this icon uses {@link SharedSvgDiagram}.
+     *
+     * @return true if this icon uses {@link SharedSvgDiagram}, false if it uses its own separate {@link SVGDiagram}
+     */
+    public boolean isShared ()
+    {
+        return sharedDiagram != null;
+    }
+
+    /**
+     * Makes this icon use its own separate {@link SVGDiagram} copy instead of {@link SharedSvgDiagram}.
+     * All {@link SvgAdjustment}s added so far are applied to the copy directly, same goes for any further changes.
+     *
+     * This is performed automatically whenever {@link SVGElement}s are requested or changed directly, since such changes would
+     * otherwise affect all icons sharing the same diagram. Adjustments based on {@link SvgAdjustment} do not cause that.
+     */
+    public void detach ()
+    {
+        final SharedSvgDiagram shared = sharedDiagram;
+        if ( shared != null )
+        {
+            // Loading separate diagram copy
+            final SVGUniverse universe = new SVGUniverse ();
+            final URI uri = shared.load ( universe );
+            checkDiagram ( universe, uri );
+            sharedDiagram = null;
+            setSvgUniverse ( universe );
+            setSvgURI ( uri );
+
+            // Applying adjustments directly
+            final List<SvgAdjustment> applied = new ArrayList<SvgAdjustment> ( adjustments );
+            adjustments.clear ();
+            for ( final SvgAdjustment adjustment : applied )
+            {
+                adjustment.adjust ( this );
+            }
+            variant = null;
+            version++;
+        }
+    }
+
+    /**
+     * Returns {@link SVGUniverse} containing {@link SVGDiagram} used by this icon.
+     * For shared icon it is {@link SVGUniverse} of the {@link SharedSvgDiagram} variant picked for current {@link SvgAdjustment}s and
+     * preferred size, diagram within it is used by other icons as well and must not be modified, see {@link #detach()}.
+     *
+     * @return {@link SVGUniverse} containing {@link SVGDiagram} used by this icon
+     */
+    @Override
+    public SVGUniverse getSvgUniverse ()
+    {
+        final SharedSvgDiagram shared = sharedDiagram;
+        return shared != null ? getVariant ( shared ).getUniverse () : super.getSvgUniverse ();
+    }
+
+    /**
+     * Returns {@link URI} of the {@link SVGDiagram} used by this icon.
+     * For shared icon it is {@link URI} of the {@link SharedSvgDiagram} variant picked for current {@link SvgAdjustment}s and
+     * preferred size, diagram under it is used by other icons as well and must not be modified, see {@link #detach()}.
+     *
+     * @return {@link URI} of the {@link SVGDiagram} used by this icon
+     */
+    @Override
+    public URI getSvgURI ()
+    {
+        final SharedSvgDiagram shared = sharedDiagram;
+        return shared != null ? getVariant ( shared ).getUri () : super.getSvgURI ();
+    }
+
     /**
      * Returns SVG diagram.
      *
@@ -162,6 +298,7 @@ public class SvgIcon extends SVGIcon implements DisabledCopySupplier<SvgIcon>, T
     @NotNull
     public SVGRoot getRoot ()
     {
+        detach ();
         return getDiagram ().getRoot ();
     }
 
@@ -295,17 +432,18 @@ public class SvgIcon extends SVGIcon implements DisabledCopySupplier<SvgIcon>, T
      */
     public void setAttribute ( @NotNull final SVGElement element, @NotNull final String attribute, @Nullable final String value )
     {
+        final SVGElement target = prepareChange ( element );
         try
         {
-            if ( hasAttribute ( element, attribute ) )
+            if ( hasAttribute ( target, attribute ) )
             {
-                element.setAttribute ( attribute, AnimationElement.AT_XML, value );
+                target.setAttribute ( attribute, AnimationElement.AT_XML, value );
             }
             else
             {
-                element.addAttribute ( attribute, AnimationElement.AT_XML, value );
+                target.addAttribute ( attribute, AnimationElement.AT_XML, value );
             }
-            update ( element );
+            update ( target );
         }
         catch ( final SVGElementException e )
         {
@@ -324,11 +462,12 @@ public class SvgIcon extends SVGIcon implements DisabledCopySupplier<SvgIcon>, T
     {
         if ( !attribute.equals ( SvgElements.ID ) )
         {
-            if ( hasAttribute ( element, attribute ) )
+            final SVGElement target = prepareChange ( element );
+            if ( hasAttribute ( target, attribute ) )
             {
-                element.getPresentationAttributes ().remove ( attribute );
+                target.getPresentationAttributes ().remove ( attribute );
             }
-            update ( element );
+            update ( target );
         }
         else
         {
@@ -337,6 +476,63 @@ public class SvgIcon extends SVGIcon implements DisabledCopySupplier<SvgIcon>, T
         }
     }
 
+    /**
+     * Prepares {@link SVGElement} change and returns {@link SVGElement} that should actually be changed.
+     * Changes of {@link SharedSvgDiagram} elements cause this icon to {@link #detach()} and change the same element of the copy instead.
+     *
+     * @param element {@link SVGElement} to change
+     * @return {@link SVGElement} that should actually be changed
+     */
+    @NotNull
+    protected SVGElement prepareChange ( @NotNull final SVGElement element )
+    {
+        final SVGElement target;
+        if ( sharedDiagram != null )
+        {
+            // Finding the same element in separate diagram copy
+            final List<Integer> path = getElementPath ( element );
+            detach ();
+            SVGElement copy = getDiagram ().getRoot ();
+            for ( final Integer index : path )
+            {
+                copy = copy.getChild ( index );
+            }
+            target = copy;
+        }
+        else
+        {
+            target = element;
+        }
+        return target;
+    }
+
+    /**
+     * Returns indices of the {@link SVGElement} and its parents within their parents starting from the root element.
+     *
+     * @param element {@link SVGElement}
+     * @return indices of the {@link SVGElement} and its parents within their parents starting from the root element
+     */
+    @NotNull
+    protected List<Integer> getElementPath ( @NotNull final SVGElement element )
+    {
+        final List<Integer> path = new ArrayList<Integer> ( 4 );
+        SVGElement current = element;
+        SVGElement parent;
+        while ( ( parent = current.getParent () ) != null )
+        {
+            for ( int i = 0; i < parent.getNumChildren (); i++ )
+            {
+                if ( parent.getChild ( i ) == current )
+                {
+                    path.add ( 0, i );
+                    break;
+                }
+            }
+            current = parent;
+        }
+        return path;
+    }
+
     /**
      * Updates specified element data.
      *
@@ -349,8 +545,8 @@ public class SvgIcon extends SVGIcon implements DisabledCopySupplier<SvgIcon>, T
             // Updating SVG diagram
             element.updateTime ( 0 );
 
-            // Cleaning up cache
-            cache = null;
+            // Outdating cached rasters
+            version++;
         }
         catch ( final SVGException e )
         {
@@ -362,22 +558,90 @@ public class SvgIcon extends SVGIcon implements DisabledCopySupplier<SvgIcon>, T
     @Override
     public void paintIcon ( @NotNull final Component component, @NotNull final Graphics g, final int x, final int y )
     {
-        // Validating cache
         final Dimension size = getPreferredSize ();
-        if ( cache == null || cache.getWidth () != size.width || cache.getHeight () != size.height )
+        if ( size.width > 0 && size.height > 0 )
         {
-            // Flushing previous icon cache
-            if ( cache != null )
+            // Icons sharing diagram variant also share rasters
+            final SharedSvgDiagram shared = sharedDiagram;
+            final Object source;
+            final Object rasterVariant;
+            final int settings = getRenderSettings ();
+            if ( shared != null )
+            {
+                source = getVariant ( shared );
+                rasterVariant = settings;
+            }
+            else
             {
-                cache.flush ();
+                source = this;
+                final int currentVersion = version;
+                if ( rasterVersion != currentVersion )
+                {
+                    IconRasterCache.invalidate ( this );
+                    rasterVersion = currentVersion;
+                }
+                rasterVariant = ( long ) currentVersion << 32 | settings;
             }
 
-            // Create new cached image
-            cache = asBufferedImage ( size );
+            // Retrieving cached raster for the device scale
+            final double scale = IconRasterCache.getScale ( g );
+            BufferedImage raster = IconRasterCache.get ( source, rasterVariant, size.width, size.height, scale );
+            if ( raster == null )
+            {
+                raster = IconRasterCache.put ( source, rasterVariant, size.width, size.height, scale, asBufferedImage (
+                        IconRasterCache.getRasterSize ( size.width, scale ),
+                        IconRasterCache.getRasterSize ( size.height, scale )
+                ) );
+            }
+
+            // Painting SVG icon from raster
+            IconRasterCache.paint ( g, raster, x, y, size.width, size.height );
+        }
+    }
+
+    /**
+     * Removes rasters cached in {@link IconRasterCache} for this icon.
+     * Rasters of the shared diagram variant used by this icon are removed as well, other icons using the same variant
+     * will simply create them again when painted.
+     */
+    public void invalidateRasters ()
+    {
+        IconRasterCache.invalidate ( this );
+        final SharedSvgDiagram current = variant;
+        if ( current != null )
+        {
+            IconRasterCache.invalidate ( current );
+        }
+    }
+
+    /**
+     * Returns {@link SharedSvgDiagram} variant for current {@link SvgAdjustment}s and preferred size.
+     *
+     * @param shared {@link SharedSvgDiagram}
+     * @return {@link SharedSvgDiagram} variant for current {@link SvgAdjustment}s and preferred size
+     */
+    @NotNull
+    protected SharedSvgDiagram getVariant ( @NotNull final SharedSvgDiagram shared )
+    {
+        final Dimension size = getPreferredSize ();
+        SharedSvgDiagram current = variant;
+        if ( current == null || !size.equals ( variantSize ) )
+        {
+            current = shared.getVariant ( adjustments, size );
+            variant = current;
+            variantSize = size;
         }
+        return current;
+    }
 
-        // Painting SVG icon from raster cache image
-        g.drawImage ( cache, x, y, null );
+    /**
+     * Returns settings affecting icon rendering packed into single value.
+     *
+     * @return settings affecting icon rendering packed into single value
+     */
+    protected int getRenderSettings ()
+    {
+        return ( getAntiAlias () ? 1 : 0 ) | ( isClipToViewbox () ? 2 : 0 ) | getInterpolation () << 2 | getAutosize () << 8;
     }
 
     /**
@@ -424,6 +688,157 @@ public class SvgIcon extends SVGIcon implements DisabledCopySupplier<SvgIcon>, T
      */
     @NotNull
     public BufferedImage asBufferedImage ( final int width, final int height )
+    {
+        final BufferedImage image;
+        final SharedSvgDiagram shared = sharedDiagram;
+        if ( shared != null )
+        {
+            // Picking adjusted diagram variant
+            final SharedSvgDiagram variant = getVariant ( shared );
+
+            // Shared diagram rendering is not thread-safe
+            synchronized ( variant )
+            {
+                final boolean bound = bind ( variant );
+                try
+                {
+                    // Painting shared diagram
+                    image = paintImage ( width, height );
+                }
+                finally
+                {
+                    unbind ( bound );
+                }
+            }
+        }
+        else
+        {
+            image = paintImage ( width, height );
+        }
+        return image;
+    }
+
+    /**
+     * Temporarily binds this icon to the specified {@link SharedSvgDiagram} variant.
+     * Must only be called while holding variant lock, returned value must be passed into {@link #unbind(boolean)} afterwards.
+     *
+     * @param variant {@link SharedSvgDiagram} variant
+     * @return {@code true} if icon was bound, {@code false} if it was already bound to the variant
+     */
+    protected boolean bind ( @NotNull final SharedSvgDiagram variant )
+    {
+        final boolean bind = super.getSvgURI () == null;
+        if ( bind )
+        {
+            setSvgUniverse ( variant.getUniverse () );
+            setSvgURI ( variant.getUri () );
+        }
+        return bind;
+    }
+
+    /**
+     * Unbinds this icon from {@link SharedSvgDiagram} variant if it was bound by {@link #bind(SharedSvgDiagram)}.
+     *
+     * @param bound value returned by {@link #bind(SharedSvgDiagram)}
+     */
+    protected void unbind ( final boolean bound )
+    {
+        if ( bound )
+        {
+            setSvgURI ( null );
+        }
+    }
+
+    @Override
+    public int getIconWidth ()
+    {
+        return measure ( true, true );
+    }
+
+    @Override
+    public int getIconHeight ()
+    {
+        return measure ( false, true );
+    }
+
+    @Override
+    public int getIconWidthIgnoreAutosize ()
+    {
+        return measure ( true, false );
+    }
+
+    @Override
+    public int getIconHeightIgnoreAutosize ()
+    {
+        return measure ( false, false );
+    }
+
+    /**
+     * Returns icon width or height provided by {@link SVGIcon} implementation.
+     * Those might require {@link SVGDiagram}, so shared icon is temporarily bound to its {@link SharedSvgDiagram} variant.
+     *
+     * @param width    whether width or height should be returned
+     * @param autosize whether or not {@link #getAutosize()} should be taken into account
+     * @return icon width or height provided by {@link SVGIcon} implementation
+     */
+    protected int measure ( final boolean width, final boolean autosize )
+    {
+        final int size;
+        final SharedSvgDiagram shared = sharedDiagram;
+        if ( shared != null && getAutosize () != AUTOSIZE_STRETCH )
+        {
+            // Stretched icon size is based only on preferred size, otherwise diagram size is used
+            final SharedSvgDiagram variant = getVariant ( shared );
+            synchronized ( variant )
+            {
+                final boolean bound = bind ( variant );
+                try
+                {
+                    size = measureDiagram ( width, autosize );
+                }
+                finally
+                {
+                    unbind ( bound );
+                }
+            }
+        }
+        else
+        {
+            size = measureDiagram ( width, autosize );
+        }
+        return size;
+    }
+
+    /**
+     * Returns icon width or height provided by {@link SVGIcon} implementation for currently bound {@link SVGDiagram}.
+     *
+     * @param width    whether width or height should be returned
+     * @param autosize whether or not {@link #getAutosize()} should be taken into account
+     * @return icon width or height provided by {@link SVGIcon} implementation for currently bound {@link SVGDiagram}
+     */
+    private int measureDiagram ( final boolean width, final boolean autosize )
+    {
+        final int size;
+        if ( autosize )
+        {
+            size = width ? super.getIconWidth () : super.getIconHeight ();
+        }
+        else
+        {
+            size = width ? super.getIconWidthIgnoreAutosize () : super.getIconHeightIgnoreAutosize ();
+        }
+        return size;
+    }
+
+    /**
+     * Returns {@link SVGDiagram} painted on {@link BufferedImage} of the specified size.
+     *
+     * @param width  resulting {@link BufferedImage} width
+     * @param height resulting {@link BufferedImage} height
+     * @return {@link SVGDiagram} painted on {@link BufferedImage} of the specified size
+     */
+    @NotNull
+    protected BufferedImage paintImage ( final int width, final int height )
     {
         // Save initial preferred size
         final Dimension ps = getPreferredSize ();
@@ -445,7 +860,7 @@ public class SvgIcon extends SVGIcon implements DisabledCopySupplier<SvgIcon>, T
 
     /**
      * Returns copy of this {@link SvgIcon} with adjustments making it look disabled.
-     * Note that disabled version will use separate {@link SVGUniverse} to avoid causing adjustments in other {@link SvgIcon}s.
+     * Note that disabled version shares {@link SVGDiagram} with this icon unless this icon uses its own separate diagram.
      *
      * @return copy of this {@link SvgIcon} with adjustments making it look disabled
      */
@@ -461,7 +876,7 @@ public class SvgIcon extends SVGIcon implements DisabledCopySupplier<SvgIcon>, T
 
     /**
      * Returns copy of this {@link SvgIcon} with adjustments making it semi-transparent.
-     * Note that semi-transparent version will use separate {@link SVGUniverse} to avoid causing adjustments in other {@link SvgIcon}s.
+     * Note that semi-transparent version shares {@link SVGDiagram} with this icon unless this icon uses its own separate diagram.
      *
      * @param opacity opacity value, must be between 0 and 1
      * @return copy of this {@link SvgIcon} with adjustments making it semi-transparent
@@ -479,7 +894,24 @@ public class SvgIcon extends SVGIcon implements DisabledCopySupplier<SvgIcon>, T
     @Override
     protected SvgIcon clone ()
     {
-        // todo Preserve Resource & adjustments instead and simply create new icon
-        return Clone.reflective ().nonNullClone ( this );
+        final SvgIcon clone;
+        final SharedSvgDiagram shared = sharedDiagram;
+        if ( shared != null )
+        {
+            // Creating icon that shares the same diagram and adjustments
+            final Dimension ps = getPreferredSize ();
+            clone = new SvgIcon ( shared, ps.width, ps.height );
+            clone.setAntiAlias ( getAntiAlias () );
+            clone.setInterpolation ( getInterpolation () );
+            clone.setClipToViewbox ( isClipToViewbox () );
+            clone.setAutosize ( getAutosize () );
+            clone.adjustments.addAll ( adjustments );
+        }
+        else
+        {
+            // Separate diagram has to be copied
+            clone = Clone.reflective ().nonNullClone ( this );
+        }
+        return clone;
     }
 }
\ No newline at end of file
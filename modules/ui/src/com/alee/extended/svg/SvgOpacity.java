@@ -19,6 +19,7 @@ package com.alee.extended.svg;
 
 import com.alee.api.annotations.NotNull;
 import com.alee.api.annotations.Nullable;
+import com.alee.api.jdk.Objects;
 import com.alee.utils.MathUtils;
 import com.kitfox.svg.SVGElement;
 import com.kitfox.svg.xml.StyleAttribute;
@@ -100,4 +101,18 @@ public class SvgOpacity extends AbstractSvgAttributeAdjustment
                         : oldValue
         );
     }
-}
\ No newline at end of file
+
+    @Override
+    public boolean equals ( @Nullable final Object object )
+    {
+        return object != null && object.getClass () == getClass () &&
+                Objects.equals ( selector, ( ( SvgOpacity ) object ).selector ) &&
+                Objects.equals ( opacity, ( ( SvgOpacity ) object ).opacity );
+    }
+
+    @Override
+    public int hashCode ()
+    {
+        return Objects.hash ( getClass (), selector, opacity );
+    }
+}
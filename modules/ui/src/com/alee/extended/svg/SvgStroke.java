@@ -19,6 +19,7 @@ package com.alee.extended.svg;
 
 import com.alee.api.annotations.NotNull;
 import com.alee.api.annotations.Nullable;
+import com.alee.api.jdk.Objects;
 import com.alee.utils.ColorUtils;
 import com.kitfox.svg.SVGElement;
 import com.kitfox.svg.xml.StyleAttribute;
@@ -95,4 +96,18 @@ public class SvgStroke extends AbstractSvgAttributeAdjustment
     {
         return color != null ? ColorUtils.toHex ( color ) : "none";
     }
-}
\ No newline at end of file
+
+    @Override
+    public boolean equals ( @Nullable final Object object )
+    {
+        return object != null && object.getClass () == getClass () &&
+                Objects.equals ( selector, ( ( SvgStroke ) object ).selector ) &&
+                Objects.equals ( color, ( ( SvgStroke ) object ).color );
+    }
+
+    @Override
+    public int hashCode ()
+    {
+        return Objects.hash ( getClass (), selector, color );
+    }
+}
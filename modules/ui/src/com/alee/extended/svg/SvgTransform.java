@@ -19,6 +19,7 @@ package com.alee.extended.svg;
 
 import com.alee.api.annotations.NotNull;
 import com.alee.api.annotations.Nullable;
+import com.alee.api.jdk.Objects;
 import com.alee.utils.TextUtils;
 import com.alee.utils.swing.Scale;
 import com.kitfox.svg.SVGElement;
@@ -171,6 +172,18 @@ public class SvgTransform extends AbstractSvgAttributeAdjustment
         this.rotate = rotate;
     }
 
+    /**
+     * Returns whether or not this transform depends on {@link SvgIcon} preferred size.
+     * Scaling and rotation are performed relative to icon center point, so they depend on it.
+     *
+     * @return {@code true} if this transform depends on {@link SvgIcon} preferred size, {@code false} otherwise
+     */
+    @Override
+    public boolean isSizeDependent ()
+    {
+        return scale != null || rotate != null;
+    }
+
     @NotNull
     @Override
     protected String getAttribute ( @NotNull final SvgIcon icon )
@@ -217,4 +230,43 @@ public class SvgTransform extends AbstractSvgAttributeAdjustment
         }
         return transform;
     }
-}
\ No newline at end of file
+
+    @Override
+    public boolean equals ( @Nullable final Object object )
+    {
+        return object != null && object.getClass () == getClass () &&
+                Objects.equals ( selector, ( ( SvgTransform ) object ).selector ) &&
+                Objects.equals ( translate, ( ( SvgTransform ) object ).translate ) &&
+                Objects.equals ( getScaleX (), ( ( SvgTransform ) object ).getScaleX () ) &&
+                Objects.equals ( getScaleY (), ( ( SvgTransform ) object ).getScaleY () ) &&
+                Objects.equals ( rotate, ( ( SvgTransform ) object ).rotate );
+    }
+
+    @Override
+    public int hashCode ()
+    {
+        return Objects.hash ( getClass (), selector, translate, getScaleX (), getScaleY (), rotate );
+    }
+
+    /**
+     * Returns horizontal scale or {@code null} if it is not specified.
+     *
+     * @return horizontal scale or {@code null} if it is not specified
+     */
+    @Nullable
+    private Double getScaleX ()
+    {
+        return scale != null ? scale.getX () : null;
+    }
+
+    /**
+     * Returns vertical scale or {@code null} if it is not specified.
+     *
+     * @return vertical scale or {@code null} if it is not specified
+     */
+    @Nullable
+    private Double getScaleY ()
+    {
+        return scale != null ? scale.getY () : null;
+    }
+}
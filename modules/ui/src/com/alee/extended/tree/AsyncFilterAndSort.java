@@ -0,0 +1,354 @@
+/*
+ * This file is part of WebLookAndFeel library.
+ *
+ * WebLookAndFeel library is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * WebLookAndFeel library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with WebLookAndFeel library.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.alee.extended.tree;
+
+import com.alee.api.annotations.NotNull;
+import com.alee.api.annotations.Nullable;
+import com.alee.laf.WebLookAndFeel;
+import com.alee.laf.tree.TreeState;
+import com.alee.laf.tree.UniqueNode;
+import com.alee.laf.tree.WebTree;
+import com.alee.laf.tree.WebTreeModel;
+import com.alee.managers.task.TaskManager;
+import com.alee.utils.CoreSwingUtils;
+import org.slf4j.LoggerFactory;
+
+import java.util.*;
+import java.util.concurrent.Future;
+
+/**
+ * Asynchronous filtering and sorting support for tree models that cache raw children of their nodes.
+ *
+ * Raw children of the affected nodes are copied on the Event Dispatch Thread, then new visible children lists are computed within
+ * {@link TaskManager} group and finally applied on the Event Dispatch Thread using minimal set of model events for each node.
+ * Any new filtering and sorting request supersedes computation that is still in progress, its result is simply discarded.
+ * If raw children of some node have changed while computation was in progress that node is filtered and sorted again on the
+ * Event Dispatch Thread right before applying the result.
+ *
+ * Since filtering and sorting is performed outside of the Event Dispatch Thread in this mode all filters and comparators used by the
+ * model must be thread-safe, including the ones provided by data provider.
+ *
+ * @param <N> node type
+ * @author Mikle Garin
+ * @see ExTreeModel
+ * @see AsyncTreeModel
+ */
+public abstract class AsyncFilterAndSort<N extends UniqueNode>
+{
+    /**
+     * Current computation generation.
+     * It is incremented on the Event Dispatch Thread whenever new computation is requested or current one is cancelled.
+     */
+    protected volatile int generation;
+
+    /**
+     * Current computation {@link Future}, {@code null} if there is no computation in progress.
+     */
+    @Nullable
+    protected Future<?> future;
+
+    /**
+     * Actions awaiting current computation to be applied.
+     */
+    @NotNull
+    protected final List<Runnable> callbacks;
+
+    /**
+     * Constructs new {@link AsyncFilterAndSort}.
+     */
+    public AsyncFilterAndSort ()
+    {
+        this.generation = 0;
+        this.future = null;
+        this.callbacks = new ArrayList<Runnable> ( 1 );
+    }
+
+    /**
+     * Returns model to apply results to.
+     *
+     * @return model to apply results to
+     */
+    @NotNull
+    protected abstract WebTreeModel<N> getModel ();
+
+    /**
+     * Returns {@link WebTree} that uses model or {@code null} if model is not installed.
+     *
+     * @return {@link WebTree} that uses model or {@code null} if model is not installed
+     */
+    @Nullable
+    protected abstract WebTree<N> getTree ();
+
+    /**
+     * Returns identifier of {@link TaskManager} group to compute filtering and sorting in.
+     *
+     * @return identifier of {@link TaskManager} group to compute filtering and sorting in
+     */
+    @NotNull
+    protected abstract String getGroupId ();
+
+    /**
+     * Returns raw children of the specified node or {@code null} if they are not available yet.
+     * This method is always called on the Event Dispatch Thread.
+     *
+     * @param parent node to return raw children for
+     * @return raw children of the specified node or {@code null} if they are not available yet
+     */
+    @Nullable
+    protected abstract List<N> getRawChildren ( @NotNull N parent );
+
+    /**
+     * Returns filtered and sorted children.
+     * This method is called outside of the Event Dispatch Thread and must not modify the model.
+     *
+     * @param parent   parent node
+     * @param children raw children to filter and sort
+     * @return filtered and sorted children
+     */
+    @NotNull
+    protected abstract List<N> filterAndSort ( @NotNull N parent, @NotNull List<N> children );
+
+    /**
+     * Returns whether or not computation is in progress.
+     *
+     * @return {@code true} if computation is in progress, {@code false} otherwise
+     */
+    public boolean isInProgress ()
+    {
+        return future != null;
+    }
+
+    /**
+     * Asynchronously updates filtering and sorting for the specified node children.
+     * Computation that is still in progress is cancelled.
+     *
+     * @param parent      node which children filtering and sorting should be updated
+     * @param recursively whether should update the whole children structure recursively or not
+     */
+    public void filterAndSort ( @NotNull final N parent, final boolean recursively )
+    {
+        // Event Dispatch Thread check
+        WebLookAndFeel.checkEventDispatchThread ();
+
+        // Cancelling previous computation
+        cancelComputation ();
+
+        // Copying raw children, they are only modified on the Event Dispatch Thread
+        final Map<String, List<N>> snapshot = createSnapshot ( parent, recursively );
+
+        // Computing new children
+        final int current = generation;
+        future = TaskManager.execute ( getGroupId (), new Runnable ()
+        {
+            @Override
+            public void run ()
+            {
+                Map<N, List<N>> result;
+                try
+                {
+                    result = compute ( parent, snapshot, current );
+                }
+                catch ( final RuntimeException e )
+                {
+                    // Filters are allowed to read current tree structure, which might be changing concurrently
+                    final String msg = "Unable to filter and sort nodes asynchronously, it will be done on EDT instead";
+                    LoggerFactory.getLogger ( AsyncFilterAndSort.class ).debug ( msg, e );
+                    result = null;
+                }
+                final Map<N, List<N>> finalResult = result;
+                CoreSwingUtils.invokeLater ( new Runnable ()
+                {
+                    @Override
+                    public void run ()
+                    {
+                        if ( current == generation )
+                        {
+                            future = null;
+                            if ( finalResult != null )
+                            {
+                                apply ( parent, snapshot, finalResult );
+                            }
+                            else
+                            {
+                                final Map<String, List<N>> actual = createSnapshot ( parent, recursively );
+                                apply ( parent, actual, compute ( parent, actual, current ) );
+                            }
+                        }
+                    }
+                } );
+            }
+        } );
+    }
+
+    /**
+     * Returns copy of raw children for the specified node and, if requested, all of its raw children recursively.
+     *
+     * @param parent      node to copy raw children for
+     * @param recursively whether or not should copy raw children recursively
+     * @return copy of raw children
+     */
+    @NotNull
+    protected Map<String, List<N>> createSnapshot ( @NotNull final N parent, final boolean recursively )
+    {
+        final Map<String, List<N>> snapshot = new HashMap<String, List<N>> ();
+        final LinkedList<N> queue = new LinkedList<N> ();
+        queue.add ( parent );
+        while ( !queue.isEmpty () )
+        {
+            final N node = queue.removeFirst ();
+            final List<N> children = getRawChildren ( node );
+            if ( children != null )
+            {
+                final List<N> copy = new ArrayList<N> ( children );
+                snapshot.put ( node.getId (), copy );
+                if ( recursively )
+                {
+                    queue.addAll ( copy );
+                }
+            }
+        }
+        return snapshot;
+    }
+
+    /**
+     * Returns new children for all affected nodes in the order they should be applied in.
+     * Only nodes that are visible after filtering are processed recursively.
+     *
+     * @param parent     node which children filtering and sorting should be updated
+     * @param snapshot   copy of raw children
+     * @param generation computation generation
+     * @return new children for all affected nodes in the order they should be applied in
+     */
+    @NotNull
+    protected Map<N, List<N>> compute ( @NotNull final N parent, @NotNull final Map<String, List<N>> snapshot, final int generation )
+    {
+        final Map<N, List<N>> result = new LinkedHashMap<N, List<N>> ();
+        final LinkedList<N> queue = new LinkedList<N> ();
+        queue.add ( parent );
+        while ( !queue.isEmpty () && generation == this.generation )
+        {
+            final N node = queue.removeFirst ();
+            final List<N> children = snapshot.get ( node.getId () );
+            if ( children != null )
+            {
+                final List<N> visible = filterAndSort ( node, new ArrayList<N> ( children ) );
+                result.put ( node, visible );
+                queue.addAll ( visible );
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Applies computed children to the model.
+     *
+     * @param parent   node which children filtering and sorting was updated
+     * @param snapshot copy of raw children result was computed for
+     * @param result   new children for all affected nodes
+     */
+    protected void apply ( @NotNull final N parent, @NotNull final Map<String, List<N>> snapshot,
+                           @NotNull final Map<N, List<N>> result )
+    {
+        final WebTree<N> tree = getTree ();
+        if ( tree != null )
+        {
+            // Saving tree state to restore it right after children update
+            final TreeState treeState = tree.getTreeState ( parent );
+
+            // Updating children top-down, nodes detached by their parents update are skipped
+            final WebTreeModel<N> model = getModel ();
+            final Set<N> updated = Collections.newSetFromMap ( new IdentityHashMap<N, Boolean> ( result.size () ) );
+            for ( final Map.Entry<N, List<N>> entry : result.entrySet () )
+            {
+                final N node = entry.getKey ();
+                if ( node == parent || updated.contains ( node.getParent () ) )
+                {
+                    final List<N> raw = getRawChildren ( node );
+                    if ( raw != null )
+                    {
+                        final boolean outdated = !raw.equals ( snapshot.get ( node.getId () ) );
+                        model.updateChildren ( node, outdated ? filterAndSort ( node, new ArrayList<N> ( raw ) ) : entry.getValue () );
+                        updated.add ( node );
+                    }
+                }
+            }
+
+            // Restoring tree state including all selections and expansions
+            tree.setTreeState ( treeState, parent );
+        }
+        runCallbacks ();
+    }
+
+    /**
+     * Performs specified action once current computation is applied or immediately if there is no computation in progress.
+     * Action is always performed on the Event Dispatch Thread.
+     *
+     * @param action action to perform
+     */
+    public void invokeAfterCompletion ( @NotNull final Runnable action )
+    {
+        WebLookAndFeel.checkEventDispatchThread ();
+        if ( isInProgress () )
+        {
+            callbacks.add ( action );
+        }
+        else
+        {
+            action.run ();
+        }
+    }
+
+    /**
+     * Cancels computation in progress, if there is one, and performs all awaiting actions.
+     */
+    public void cancel ()
+    {
+        WebLookAndFeel.checkEventDispatchThread ();
+        cancelComputation ();
+        runCallbacks ();
+    }
+
+    /**
+     * Cancels computation in progress, if there is one, without performing awaiting actions.
+     */
+    protected void cancelComputation ()
+    {
+        generation++;
+        if ( future != null )
+        {
+            future.cancel ( false );
+            future = null;
+        }
+    }
+
+    /**
+     * Performs all awaiting actions.
+     */
+    protected void runCallbacks ()
+    {
+        if ( callbacks.size () > 0 )
+        {
+            final List<Runnable> actions = new ArrayList<Runnable> ( callbacks );
+            callbacks.clear ();
+            for ( final Runnable action : actions )
+            {
+                action.run ();
+            }
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,55 @@
+/*
+ * This file is part of WebLookAndFeel library.
+ *
+ * WebLookAndFeel library is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * WebLookAndFeel library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with WebLookAndFeel library.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.alee.extended.tree;
+
+import com.alee.api.annotations.NotNull;
+
+import javax.swing.tree.TreeNode;
+
+/**
+ * Interface for any element containing filterable structure of {@link TreeNode}s that can be filtered and sorted asynchronously.
+ *
+ * @param <N> {@link TreeNode} type
+ * @author Mikle Garin
+ * @see AsyncFilterAndSort
+ */
+public interface AsyncFilterableNodes<N extends TreeNode> extends FilterableNodes<N>
+{
+    /**
+     * Returns whether or not {@link TreeNode}s filtering and sorting is computed outside of the Event Dispatch Thread.
+     *
+     * @return {@code true} if {@link TreeNode}s filtering and sorting is computed outside of the Event Dispatch Thread,
+     * {@code false} otherwise
+     */
+    public boolean isAsyncFiltering ();
+
+    /**
+     * Sets whether or not {@link TreeNode}s filtering and sorting should be computed outside of the Event Dispatch Thread.
+     *
+     * @param async whether or not {@link TreeNode}s filtering and sorting should be computed outside of the Event Dispatch Thread
+     */
+    public void setAsyncFiltering ( boolean async );
+
+    /**
+     * Performs specified action once pending filtering and sorting is applied or immediately if there is nothing pending.
+     * Action is always performed on the Event Dispatch Thread.
+     *
+     * @param action action to perform
+     */
+    public void invokeAfterFiltering ( @NotNull Runnable action );
+}
\ No newline at end of file
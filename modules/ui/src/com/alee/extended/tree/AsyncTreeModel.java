@@ -22,6 +22,7 @@ import com.alee.api.annotations.Nullable;
 import com.alee.api.jdk.Objects;
 import com.alee.laf.WebLookAndFeel;
 import com.alee.laf.tree.TreeState;
+import com.alee.laf.tree.WebTree;
 import com.alee.laf.tree.WebTreeModel;
 import com.alee.laf.tree.WebTreeNode;
 import com.alee.managers.task.TaskManager;
@@ -29,22 +30,31 @@ import com.alee.utils.CollectionUtils;
 import com.alee.utils.CoreSwingUtils;
 import com.alee.utils.compare.Filter;
 
-import javax.swing.event.EventListenerList;
+import javax.swing.*;
+import javax.swing.event.*;
 import javax.swing.tree.MutableTreeNode;
 import javax.swing.tree.TreeNode;
 import javax.swing.tree.TreePath;
+import java.awt.*;
+import java.awt.event.HierarchyEvent;
+import java.awt.event.HierarchyListener;
 import java.util.*;
+import java.util.List;
 
 /**
  * {@link WebTreeModel} extension that is based on data from {@link AsyncTreeDataProvider}.
  * It allows tree to load its data asynchronously but only supports sorting and filtering of loaded nodes.
  *
+ * Children provided through {@link StreamingNodesLoadCallback#partial(List)} are added into the tree while loading continues.
+ * Loaded children are always inserted in batches of {@link #getBatchSize()} nodes per EDT event to avoid blocking EDT.
+ * If {@link PagedAsyncTreeDataProvider} is used - children are loaded page by page as the last loaded child becomes visible.
+ *
  * @param <N> {@link AsyncUniqueNode} type
  * @author Mikle Garin
  * @see WebAsyncTree
  * @see AsyncTreeDataProvider
  */
-public class AsyncTreeModel<N extends AsyncUniqueNode> extends WebTreeModel<N> implements FilterableNodes<N>, SortableNodes<N>
+public class AsyncTreeModel<N extends AsyncUniqueNode> extends WebTreeModel<N> implements AsyncFilterableNodes<N>, SortableNodes<N>
 {
     /**
      * todo 1. Add {@link AsyncTreeDataUpdater} support
@@ -76,6 +86,24 @@ public class AsyncTreeModel<N extends AsyncUniqueNode> extends WebTreeModel<N> i
      */
     protected transient Map<String, List<N>> rawNodeChildrenCache;
 
+    /**
+     * Active and paged children loads (parent identifier -&gt; children load).
+     * Load is kept here until all children for the parent are loaded.
+     */
+    protected transient Map<String, ChildrenLoad> childrenLoads;
+
+    /**
+     * Listener that loads next pages of children as they become visible.
+     * It is only installed when {@link PagedAsyncTreeDataProvider} is used.
+     */
+    @Nullable
+    protected transient PageLoader pageLoader;
+
+    /**
+     * Maximum amount of loaded children inserted into the tree within a single EDT event.
+     */
+    protected int batchSize;
+
     /**
      * Direct nodes cache (node identifier -&gt; node).
      * Used for quick node search within the tree.
@@ -106,6 +134,13 @@ public class AsyncTreeModel<N extends AsyncUniqueNode> extends WebTreeModel<N> i
     @Nullable
     protected transient Comparator<N> comparator;
 
+    /**
+     * {@link AsyncFilterAndSort} used to filter and sort nodes outside of the Event Dispatch Thread.
+     * It is only available when asynchronous filtering is enabled.
+     */
+    @Nullable
+    protected transient AsyncFilterAndSort<N> asyncFilterAndSort;
+
     /**
      * Constructs new {@link AsyncTreeModel} with custom {@link AsyncTreeDataProvider}.
      *
@@ -116,6 +151,7 @@ public class AsyncTreeModel<N extends AsyncUniqueNode> extends WebTreeModel<N> i
         super ( null );
         this.dataProvider = dataProvider;
         this.listeners = new EventListenerList ();
+        this.batchSize = 500;
     }
 
     /**
@@ -129,6 +165,30 @@ public class AsyncTreeModel<N extends AsyncUniqueNode> extends WebTreeModel<N> i
         return dataProvider;
     }
 
+    /**
+     * Returns maximum amount of loaded children inserted into the tree within a single EDT event.
+     *
+     * @return maximum amount of loaded children inserted into the tree within a single EDT event
+     */
+    public int getBatchSize ()
+    {
+        return batchSize;
+    }
+
+    /**
+     * Sets maximum amount of loaded children inserted into the tree within a single EDT event.
+     *
+     * @param batchSize maximum amount of loaded children inserted into the tree within a single EDT event
+     */
+    public void setBatchSize ( final int batchSize )
+    {
+        if ( batchSize <= 0 )
+        {
+            throw new IllegalArgumentException ( "Batch size must be greater than zero: " + batchSize );
+        }
+        this.batchSize = batchSize;
+    }
+
     /**
      * Installs this {@link AsyncTreeModel} into the specified {@link WebAsyncTree}.
      *
@@ -140,9 +200,15 @@ public class AsyncTreeModel<N extends AsyncUniqueNode> extends WebTreeModel<N> i
         this.nodeCached = new HashMap<String, Boolean> ( 50 );
         this.rawNodeChildrenCache = new HashMap<String, List<N>> ( 10 );
         this.nodeById = new HashMap<String, N> ( 50 );
+        this.childrenLoads = new HashMap<String, ChildrenLoad> ( 10 );
         this.tree = tree;
         this.rootNode = null;
         addAsyncTreeModelListener ( tree );
+        if ( dataProvider instanceof PagedAsyncTreeDataProvider )
+        {
+            pageLoader = new PageLoader ();
+            pageLoader.install ();
+        }
     }
 
     /**
@@ -153,6 +219,15 @@ public class AsyncTreeModel<N extends AsyncUniqueNode> extends WebTreeModel<N> i
     public void uninstall ( @NotNull final WebAsyncTree<N> tree )
     {
         WebLookAndFeel.checkEventDispatchThread ();
+        if ( pageLoader != null )
+        {
+            pageLoader.uninstall ();
+            pageLoader = null;
+        }
+        if ( asyncFilterAndSort != null )
+        {
+            asyncFilterAndSort.cancel ();
+        }
         removeAsyncTreeModelListener ( tree );
         for ( final Map.Entry<String, N> entry : nodeById.entrySet () )
         {
@@ -162,6 +237,7 @@ public class AsyncTreeModel<N extends AsyncUniqueNode> extends WebTreeModel<N> i
         this.rootNode = null;
         this.tree = null;
         this.nodeById = null;
+        this.childrenLoads = null;
         this.rawNodeChildrenCache = null;
         this.nodeCached = null;
     }
@@ -363,69 +439,12 @@ public class AsyncTreeModel<N extends AsyncUniqueNode> extends WebTreeModel<N> i
             }
 
             // Loading node children
-            if ( tree.isAsyncLoading () )
-            {
-                // Executing children load in a separate thread to avoid locking EDT
-                // This queue will also take care of amount of threads to execute async trees requests
-                TaskManager.execute ( dataProvider.getThreadGroupId (), new Runnable ()
-                {
-                    @Override
-                    public void run ()
-                    {
-                        // Loading children
-                        getDataProvider ().loadChildren ( parent, new NodesLoadCallback<N> ()
-                        {
-                            @Override
-                            public void completed ( @NotNull final List<N> children )
-                            {
-                                CoreSwingUtils.invokeLater ( new Runnable ()
-                                {
-                                    @Override
-                                    public void run ()
-                                    {
-                                        loadChildrenCompleted ( parent, children );
-                                    }
-                                } );
-                            }
-
-                            @Override
-                            public void failed ( @NotNull final Throwable cause )
-                            {
-                                CoreSwingUtils.invokeLater ( new Runnable ()
-                                {
-                                    @Override
-                                    public void run ()
-                                    {
-                                        loadChildrenFailed ( parent, cause );
-                                    }
-                                } );
-                            }
-                        } );
-                    }
-                } );
-                loadedCount = 0;
-            }
-            else
-            {
-                // Loading children
-                // todo There is no guarantee that provider won't load children asynchronously
-                // todo Practically speaking - it's better to get rid of sync loading option in this tree and remove this part
-                getDataProvider ().loadChildren ( parent, new NodesLoadCallback<N> ()
-                {
-                    @Override
-                    public void completed ( @NotNull final List<N> children )
-                    {
-                        loadChildrenCompleted ( parent, children );
-                    }
+            final ChildrenLoad load = new ChildrenLoad ( parent, tree.isAsyncLoading () );
+            childrenLoads.put ( parent.getId (), load );
+            load.request ();
 
-                    @Override
-                    public void failed ( @NotNull final Throwable cause )
-                    {
-                        loadChildrenFailed ( parent, cause );
-                    }
-                } );
-                loadedCount = parent.getChildCount ();
-            }
+            // Returning children count right away if they were loaded synchronously
+            loadedCount = load.async ? 0 : parent.getChildCount ();
         }
         else
         {
@@ -511,6 +530,357 @@ public class AsyncTreeModel<N extends AsyncUniqueNode> extends WebTreeModel<N> i
         }
     }
 
+    /**
+     * Cancels children loading in progress for the specified parent node.
+     * Children loaded so far are removed and node returns into {@link AsyncNodeState#waiting} state, so its children are loaded anew
+     * once they are requested again. Children provided for the cancelled load afterwards are ignored.
+     * {@link AsyncTreeDataProvider} is not informed about cancellation, it is up to the caller to stop the actual loading.
+     *
+     * @param parent node to cancel children loading for
+     * @return {@code true} if children loading was in progress and was cancelled, {@code false} otherwise
+     */
+    public boolean cancelChildrenLoad ( @NotNull final N parent )
+    {
+        // Event Dispatch Thread check
+        WebLookAndFeel.checkEventDispatchThread ();
+
+        // Ensure model is installed
+        checkInstalled ();
+
+        final boolean cancelled;
+        if ( parent.isLoading () && childrenLoads.containsKey ( parent.getId () ) )
+        {
+            // Discarding load and cached children
+            childrenLoads.remove ( parent.getId () );
+            clearNodeChildrenCache ( parent, false );
+
+            // Removing children loaded so far
+            final int childCount = parent.getChildCount ();
+            if ( childCount > 0 )
+            {
+                final int[] indices = new int[ childCount ];
+                final Object[] children = new Object[ childCount ];
+                for ( int i = childCount - 1; i >= 0; i-- )
+                {
+                    indices[ i ] = i;
+                    children[ i ] = parent.getChildAt ( i );
+                    parent.remove ( i );
+                }
+                nodesWereRemoved ( parent, indices, children );
+            }
+
+            // Updating parent node load state
+            parent.setState ( AsyncNodeState.waiting );
+            nodeChanged ( parent );
+            cancelled = true;
+        }
+        else
+        {
+            cancelled = false;
+        }
+        return cancelled;
+    }
+
+    /**
+     * Processes next batch of children provided for the specified {@link ChildrenLoad}.
+     *
+     * @param load     {@link ChildrenLoad}
+     * @param children next batch of loaded children
+     * @param finished whether or not current load request is finished
+     * @param cause    load failure cause, {@code null} if load didn't fail
+     */
+    protected void loadChildrenProgress ( @NotNull final ChildrenLoad load, @NotNull final List<N> children, final boolean finished,
+                                          @Nullable final Throwable cause )
+    {
+        // Operation might have finished after model was removed from the tree or node was removed from it
+        final N parent = load.parent;
+        if ( isInstalled () && childrenLoads.get ( parent.getId () ) == load )
+        {
+            // Event Dispatch Thread check
+            WebLookAndFeel.checkEventDispatchThread ();
+
+            if ( !load.streamed && load.offset == 0 && finished )
+            {
+                // All children were provided at once
+                childrenLoads.remove ( parent.getId () );
+                if ( cause == null )
+                {
+                    loadChildrenCompleted ( parent, children );
+                    load.pageCompleted ( children.size () );
+                }
+                else
+                {
+                    loadChildrenFailed ( parent, cause );
+                }
+            }
+            else
+            {
+                // Inserting next batch of children
+                load.streamed = true;
+                if ( children.size () > 0 )
+                {
+                    loadChildrenPartial ( parent, children );
+                    load.received += children.size ();
+                }
+                if ( finished )
+                {
+                    if ( cause == null )
+                    {
+                        final boolean firstPage = parent.isLoading ();
+                        load.pageCompleted ( load.received );
+                        if ( firstPage )
+                        {
+                            // Updating parent node load state
+                            parent.setState ( AsyncNodeState.loaded );
+                            nodeChanged ( parent );
+
+                            // Firing load completed event
+                            fireChildrenLoadCompleted ( parent, getChildren ( parent ) );
+                        }
+                    }
+                    else
+                    {
+                        // Keeping children loaded so far
+                        childrenLoads.remove ( parent.getId () );
+                        parent.setState ( AsyncNodeState.failed );
+                        parent.setFailureCause ( cause );
+                        nodeChanged ( parent );
+
+                        // Firing load failed event
+                        fireChildrenLoadFailed ( parent, cause );
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Inserts batch of loaded children into the specified parent while loading continues.
+     * Batch is filtered and sorted separately and then merged into previously inserted children.
+     *
+     * @param parent   parent node
+     * @param children batch of loaded child nodes
+     */
+    protected void loadChildrenPartial ( @NotNull final N parent, @NotNull final List<N> children )
+    {
+        // Caching raw children
+        List<N> cachedChildren = rawNodeChildrenCache.get ( parent.getId () );
+        if ( cachedChildren == null )
+        {
+            cachedChildren = new ArrayList<N> ( children.size () );
+            rawNodeChildrenCache.put ( parent.getId (), cachedChildren );
+        }
+        cachedChildren.addAll ( children );
+        cacheNodesById ( children );
+
+        // Adding image observers
+        for ( final N child : children )
+        {
+            child.attachLoadIconObserver ( tree );
+        }
+
+        // Children are available from now on
+        nodeCached.put ( parent.getId (), true );
+
+        // Filtering and sorting raw children
+        final List<N> realChildren = filterAndSort ( parent, children );
+        if ( realChildren.size () > 0 )
+        {
+            final Comparator<N> comparator = getChildrenComparator ( parent, realChildren );
+            if ( comparator != null && parent.getChildCount () > 0 )
+            {
+                // Merging sorted children into already sorted ones
+                final int existing = parent.getChildCount ();
+                final List<N> merged = new ArrayList<N> ( existing + realChildren.size () );
+                final int[] indices = new int[ realChildren.size () ];
+                int i = 0;
+                int j = 0;
+                while ( i < existing || j < realChildren.size () )
+                {
+                    if ( j < realChildren.size () &&
+                            ( i >= existing || comparator.compare ( realChildren.get ( j ), getChildAt ( parent, i ) ) < 0 ) )
+                    {
+                        indices[ j ] = merged.size ();
+                        merged.add ( realChildren.get ( j ) );
+                        j++;
+                    }
+                    else
+                    {
+                        merged.add ( getChildAt ( parent, i ) );
+                        i++;
+                    }
+                }
+                parent.removeAllChildren ();
+                for ( final N child : merged )
+                {
+                    parent.add ( child );
+                }
+                nodesWereInserted ( parent, indices );
+            }
+            else
+            {
+                // Appending children
+                insertNodesIntoImpl ( realChildren, parent, parent.getChildCount () );
+            }
+        }
+    }
+
+    /**
+     * Returns {@link Comparator} equivalent to sequential sorting performed in {@link #filterAndSort(AsyncUniqueNode, List)}.
+     *
+     * @param parent   parent node
+     * @param children children to be sorted
+     * @return {@link Comparator} equivalent to sequential sorting performed in {@link #filterAndSort(AsyncUniqueNode, List)}
+     */
+    @Nullable
+    protected Comparator<N> getChildrenComparator ( @NotNull final N parent, @NotNull final List<N> children )
+    {
+        // Last comparator applied is the primary one since sorting is stable
+        final List<Comparator<N>> comparators = new ArrayList<Comparator<N>> ( 3 );
+        final Comparator<N> modelComparator = getComparator ();
+        if ( modelComparator != null )
+        {
+            comparators.add ( modelComparator );
+        }
+        final Comparator<N> treeComparator = tree.getComparator ();
+        if ( treeComparator != null )
+        {
+            comparators.add ( treeComparator );
+        }
+        final Comparator<N> dataProviderComparator = getDataProvider ().getChildrenComparator ( parent, children );
+        if ( dataProviderComparator != null )
+        {
+            comparators.add ( dataProviderComparator );
+        }
+        final Comparator<N> comparator;
+        if ( comparators.isEmpty () )
+        {
+            comparator = null;
+        }
+        else if ( comparators.size () == 1 )
+        {
+            comparator = comparators.get ( 0 );
+        }
+        else
+        {
+            comparator = new Comparator<N> ()
+            {
+                @Override
+                public int compare ( final N node1, final N node2 )
+                {
+                    int result = 0;
+                    for ( int i = 0; result == 0 && i < comparators.size (); i++ )
+                    {
+                        result = comparators.get ( i ).compare ( node1, node2 );
+                    }
+                    return result;
+                }
+            };
+        }
+        return comparator;
+    }
+
+    /**
+     * Returns list of current children of the specified parent node.
+     *
+     * @param parent parent node
+     * @return list of current children of the specified parent node
+     */
+    @NotNull
+    protected List<N> getChildren ( @NotNull final N parent )
+    {
+        final List<N> children = new ArrayList<N> ( parent.getChildCount () );
+        for ( int i = 0; i < parent.getChildCount (); i++ )
+        {
+            children.add ( getChildAt ( parent, i ) );
+        }
+        return children;
+    }
+
+    /**
+     * Returns child node for the specified parent node at the specified index.
+     *
+     * @param parent parent node
+     * @param index  child node index
+     * @return child node for the specified parent node at the specified index
+     */
+    @NotNull
+    @SuppressWarnings ( "unchecked" )
+    protected N getChildAt ( @NotNull final N parent, final int index )
+    {
+        return ( N ) parent.getChildAt ( index );
+    }
+
+    /**
+     * Returns whether or not specified node might have more children that are not loaded yet.
+     * This can only be the case when {@link PagedAsyncTreeDataProvider} is used.
+     *
+     * @param parent parent node
+     * @return {@code true} if specified node might have more children that are not loaded yet, {@code false} otherwise
+     */
+    public boolean hasMoreChildren ( @NotNull final N parent )
+    {
+        // Ensure model is installed
+        checkInstalled ();
+
+        final ChildrenLoad load = childrenLoads.get ( parent.getId () );
+        return load != null && load.hasMore;
+    }
+
+    /**
+     * Starts loading next page of children for the specified node.
+     * Does nothing if node doesn't have more children or next page is already being loaded.
+     *
+     * @param parent parent node
+     */
+    public void loadMoreChildren ( @NotNull final N parent )
+    {
+        // Event Dispatch Thread check
+        WebLookAndFeel.checkEventDispatchThread ();
+
+        // Ensure model is installed
+        checkInstalled ();
+
+        final ChildrenLoad load = childrenLoads.get ( parent.getId () );
+        if ( load != null && load.hasMore && !load.loading && parent.isLoaded () )
+        {
+            load.request ();
+        }
+    }
+
+    /**
+     * Starts loading next pages of children for all expanded nodes which last loaded child is visible.
+     */
+    public void loadVisiblePages ()
+    {
+        if ( isInstalled () && !childrenLoads.isEmpty () )
+        {
+            // Event Dispatch Thread check
+            WebLookAndFeel.checkEventDispatchThread ();
+
+            final Rectangle visibleRect = tree.getVisibleRect ();
+            for ( final ChildrenLoad load : new ArrayList<ChildrenLoad> ( childrenLoads.values () ) )
+            {
+                final N parent = load.parent;
+                if ( load.hasMore && !load.loading && parent.isLoaded () )
+                {
+                    final TreePath parentPath = parent.getTreePath ();
+                    if ( tree.isExpanded ( parentPath ) )
+                    {
+                        // Checking last loaded child or parent itself visibility
+                        final int count = parent.getChildCount ();
+                        final TreePath path = count > 0 ? parentPath.pathByAddingChild ( parent.getChildAt ( count - 1 ) ) : parentPath;
+                        final Rectangle bounds = tree.getPathBounds ( path );
+                        if ( bounds != null && bounds.intersects ( visibleRect ) )
+                        {
+                            load.request ();
+                        }
+                    }
+                }
+            }
+        }
+    }
+
     @Override
     public void valueForPathChanged ( @NotNull final TreePath path, @Nullable final Object newValue )
     {
@@ -527,7 +897,7 @@ public class AsyncTreeModel<N extends AsyncUniqueNode> extends WebTreeModel<N> i
             final WebTreeNode parent = node.getParent ();
             if ( parent != null )
             {
-                filterAndSort ( ( N ) parent, false );
+                filterAndSort ( ( N ) parent, false, true );
             }
         }
     }
@@ -629,7 +999,7 @@ public class AsyncTreeModel<N extends AsyncUniqueNode> extends WebTreeModel<N> i
             insertNodesIntoImpl ( children, parent, parent.getChildCount () );
 
             // Updating parent node sorting and filtering
-            filterAndSort ( parent, false );
+            filterAndSort ( parent, false, true );
         }
     }
 
@@ -673,7 +1043,7 @@ public class AsyncTreeModel<N extends AsyncUniqueNode> extends WebTreeModel<N> i
             insertNodeIntoImpl ( childNode, parentNode, index );
 
             // Updating parent node sorting and filtering
-            filterAndSort ( parentNode, false );
+            filterAndSort ( parentNode, false, true );
         }
     }
 
@@ -729,7 +1099,7 @@ public class AsyncTreeModel<N extends AsyncUniqueNode> extends WebTreeModel<N> i
             insertNodesIntoImpl ( children, parent, index );
 
             // Updating parent node sorting and filtering
-            filterAndSort ( parent, false );
+            filterAndSort ( parent, false, true );
         }
     }
 
@@ -791,7 +1161,7 @@ public class AsyncTreeModel<N extends AsyncUniqueNode> extends WebTreeModel<N> i
             insertNodesIntoImpl ( children, parent, index );
 
             // Updating parent node sorting and filtering
-            filterAndSort ( parent, false );
+            filterAndSort ( parent, false, true );
         }
     }
 
@@ -974,6 +1344,92 @@ public class AsyncTreeModel<N extends AsyncUniqueNode> extends WebTreeModel<N> i
         filterAndSort ( parent, recursively );
     }
 
+    @Override
+    public boolean isAsyncFiltering ()
+    {
+        return asyncFilterAndSort != null;
+    }
+
+    @Override
+    public void setAsyncFiltering ( final boolean async )
+    {
+        // Event Dispatch Thread check
+        WebLookAndFeel.checkEventDispatchThread ();
+
+        // Updating filtering mode
+        if ( async && asyncFilterAndSort == null )
+        {
+            asyncFilterAndSort = createAsyncFilterAndSort ();
+        }
+        else if ( !async && asyncFilterAndSort != null )
+        {
+            asyncFilterAndSort.cancel ();
+            asyncFilterAndSort = null;
+        }
+    }
+
+    @Override
+    public void invokeAfterFiltering ( @NotNull final Runnable action )
+    {
+        if ( asyncFilterAndSort != null )
+        {
+            asyncFilterAndSort.invokeAfterCompletion ( action );
+        }
+        else
+        {
+            action.run ();
+        }
+    }
+
+    /**
+     * Returns new {@link AsyncFilterAndSort} for this model.
+     * Filtering and sorting is computed within {@link AsyncTreeDataProvider#getThreadGroupId()} group by default.
+     * Only children that are already loaded are affected, children that are still loading are filtered and sorted upon load.
+     *
+     * @return new {@link AsyncFilterAndSort} for this model
+     */
+    @NotNull
+    protected AsyncFilterAndSort<N> createAsyncFilterAndSort ()
+    {
+        return new AsyncFilterAndSort<N> ()
+        {
+            @NotNull
+            @Override
+            protected WebTreeModel<N> getModel ()
+            {
+                return AsyncTreeModel.this;
+            }
+
+            @Nullable
+            @Override
+            protected WebTree<N> getTree ()
+            {
+                return tree;
+            }
+
+            @NotNull
+            @Override
+            protected String getGroupId ()
+            {
+                return getDataProvider ().getThreadGroupId ();
+            }
+
+            @Nullable
+            @Override
+            protected List<N> getRawChildren ( @NotNull final N parent )
+            {
+                return rawNodeChildrenCache != null && parent.isLoaded () ? rawNodeChildrenCache.get ( parent.getId () ) : null;
+            }
+
+            @NotNull
+            @Override
+            protected List<N> filterAndSort ( @NotNull final N parent, @NotNull final List<N> children )
+            {
+                return AsyncTreeModel.this.filterAndSort ( parent, children );
+            }
+        };
+    }
+
     @Nullable
     @Override
     public Comparator<N> getComparator ()
@@ -1028,6 +1484,7 @@ public class AsyncTreeModel<N extends AsyncUniqueNode> extends WebTreeModel<N> i
 
     /**
      * Updates sorting and filtering for the specified node children.
+     * Filtering and sorting of loaded children is computed outside of the Event Dispatch Thread if asynchronous filtering is enabled.
      *
      * @param parent      node which children sorting and filtering should be updated
      * @param recursively whether should update the whole children structure recursively or not
@@ -1041,7 +1498,14 @@ public class AsyncTreeModel<N extends AsyncUniqueNode> extends WebTreeModel<N> i
             WebLookAndFeel.checkEventDispatchThread ();
 
             // Redirecting call to internal implementation
-            filterAndSort ( parent, recursively, true );
+            if ( asyncFilterAndSort != null && parent.isLoaded () && rawNodeChildrenCache.containsKey ( parent.getId () ) )
+            {
+                asyncFilterAndSort.filterAndSort ( parent, recursively );
+            }
+            else
+            {
+                filterAndSort ( parent, recursively, true );
+            }
         }
     }
 
@@ -1225,6 +1689,14 @@ public class AsyncTreeModel<N extends AsyncUniqueNode> extends WebTreeModel<N> i
         // Clears node children cached state
         nodeCached.remove ( node.getId () );
 
+        // Clears children load unless it is still in progress
+        // Loads in progress are kept to finish loading same way it was done before
+        final ChildrenLoad load = childrenLoads.get ( node.getId () );
+        if ( load != null && !load.loading )
+        {
+            childrenLoads.remove ( node.getId () );
+        }
+
         // Clears node raw children cache
         final List<N> children = rawNodeChildrenCache.remove ( node.getId () );
 
@@ -1358,4 +1830,407 @@ public class AsyncTreeModel<N extends AsyncUniqueNode> extends WebTreeModel<N> i
             listener.loadFailed ( parent, cause );
         }
     }
+
+    /**
+     * Children load state for a single parent node.
+     * Loaded children are collected from any thread and then inserted into the tree on EDT in batches.
+     * Fields describing pages and their progress are only accessed on the thread that requests and processes loads, which is EDT
+     * for asynchronous loading, while fields shared with {@link StreamingNodesLoadCallback}s are guarded by this object lock.
+     */
+    protected class ChildrenLoad
+    {
+        /**
+         * Parent node.
+         */
+        @NotNull
+        protected final N parent;
+
+        /**
+         * Whether or not children are loaded asynchronously.
+         */
+        protected final boolean async;
+
+        /**
+         * Page size, zero or less if paging is not used.
+         */
+        protected final int pageSize;
+
+        /**
+         * Index of the first child within current page.
+         */
+        protected int offset;
+
+        /**
+         * Amount of children received for current page.
+         */
+        protected int received;
+
+        /**
+         * Whether or not some children were already inserted for the parent during current load.
+         */
+        protected boolean streamed;
+
+        /**
+         * Whether or not page is being loaded right now.
+         */
+        protected boolean loading;
+
+        /**
+         * Whether or not more pages might be available.
+         */
+        protected boolean hasMore;
+
+        /**
+         * Identifier of the current load request.
+         * Children provided for any previous request are ignored.
+         */
+        protected int requestId;
+
+        /**
+         * Children waiting to be inserted into the tree.
+         */
+        @NotNull
+        protected final List<N> pending;
+
+        /**
+         * Whether or not current load request has finished.
+         */
+        protected boolean finished;
+
+        /**
+         * Load failure cause, {@code null} if load didn't fail.
+         */
+        @Nullable
+        protected Throwable failure;
+
+        /**
+         * Whether or not pending children processing is queued.
+         */
+        protected boolean processingQueued;
+
+        /**
+         * Constructs new {@link ChildrenLoad}.
+         *
+         * @param parent parent node
+         * @param async  whether or not children are loaded asynchronously
+         */
+        public ChildrenLoad ( @NotNull final N parent, final boolean async )
+        {
+            this.parent = parent;
+            this.async = async;
+            this.pageSize = dataProvider instanceof PagedAsyncTreeDataProvider ?
+                    ( ( PagedAsyncTreeDataProvider<N> ) dataProvider ).getPageSize ( parent ) : 0;
+            this.offset = 0;
+            this.received = 0;
+            this.streamed = false;
+            this.loading = false;
+            this.hasMore = false;
+            this.pending = new ArrayList<N> ();
+        }
+
+        /**
+         * Requests next page of children or all children if paging is not used.
+         */
+        public void request ()
+        {
+            loading = true;
+            received = 0;
+            final int request;
+            synchronized ( this )
+            {
+                request = ++requestId;
+                finished = false;
+                failure = null;
+            }
+            final StreamingNodesLoadCallback<N> callback = new StreamingNodesLoadCallback<N> ()
+            {
+                @Override
+                public void partial ( @NotNull final List<N> children )
+                {
+                    add ( request, children, false, null );
+                }
+
+                @Override
+                public void completed ()
+                {
+                    add ( request, Collections.<N>emptyList (), true, null );
+                }
+
+                @Override
+                public void completed ( @NotNull final List<N> children )
+                {
+                    add ( request, children, true, null );
+                }
+
+                @Override
+                public void failed ( @NotNull final Throwable cause )
+                {
+                    add ( request, Collections.<N>emptyList (), true, cause );
+                }
+            };
+            if ( async )
+            {
+                // Executing children load in a separate thread to avoid locking EDT
+                // This queue will also take care of amount of threads to execute async trees requests
+                TaskManager.execute ( dataProvider.getThreadGroupId (), new Runnable ()
+                {
+                    @Override
+                    public void run ()
+                    {
+                        load ( callback );
+                    }
+                } );
+            }
+            else
+            {
+                // Loading children
+                // todo There is no guarantee that provider won't load children asynchronously
+                // todo Practically speaking - it's better to get rid of sync loading option in this tree and remove this part
+                load ( callback );
+            }
+        }
+
+        /**
+         * Asks {@link AsyncTreeDataProvider} to load children.
+         *
+         * @param callback {@link NodesLoadCallback}
+         */
+        protected void load ( @NotNull final NodesLoadCallback<N> callback )
+        {
+            if ( pageSize > 0 )
+            {
+                ( ( PagedAsyncTreeDataProvider<N> ) getDataProvider () ).loadChildren ( parent, offset, pageSize, callback );
+            }
+            else
+            {
+                getDataProvider ().loadChildren ( parent, callback );
+            }
+        }
+
+        /**
+         * Adds loaded children and queues their processing.
+         * This method can be called from any thread.
+         * Children provided for finished or outdated requests are ignored.
+         *
+         * @param request  identifier of the load request children are provided for
+         * @param children loaded children
+         * @param finish   whether or not current load request has finished
+         * @param cause    load failure cause, {@code null} if load didn't fail
+         */
+        protected void add ( final int request, @NotNull final List<N> children, final boolean finish, @Nullable final Throwable cause )
+        {
+            final boolean queue;
+            synchronized ( this )
+            {
+                if ( request == requestId && !finished )
+                {
+                    pending.addAll ( children );
+                    if ( finish )
+                    {
+                        finished = true;
+                        failure = cause;
+                    }
+                    queue = !processingQueued;
+                    processingQueued = true;
+                }
+                else
+                {
+                    queue = false;
+                }
+            }
+            if ( queue )
+            {
+                if ( async )
+                {
+                    CoreSwingUtils.invokeLater ( new Runnable ()
+                    {
+                        @Override
+                        public void run ()
+                        {
+                            process ();
+                        }
+                    } );
+                }
+                else
+                {
+                    process ();
+                }
+            }
+        }
+
+        /**
+         * Processes next batch of pending children.
+         * Processing of the rest of pending children is queued on EDT separately to avoid blocking it.
+         */
+        protected void process ()
+        {
+            final List<N> batch;
+            final boolean batchFinished;
+            final Throwable cause;
+            final boolean more;
+            synchronized ( this )
+            {
+                // Sync loading inserts all children at once
+                final int count = async ? Math.min ( pending.size (), getBatchSize () ) : pending.size ();
+                final List<N> head = pending.subList ( 0, count );
+                batch = new ArrayList<N> ( head );
+                head.clear ();
+                more = !pending.isEmpty ();
+                batchFinished = finished && !more;
+                cause = failure;
+                processingQueued = more;
+            }
+            loadChildrenProgress ( this, batch, batchFinished, cause );
+            if ( more )
+            {
+                CoreSwingUtils.invokeLater ( new Runnable ()
+                {
+                    @Override
+                    public void run ()
+                    {
+                        process ();
+                    }
+                } );
+            }
+        }
+
+        /**
+         * Finishes current page load.
+         *
+         * @param count amount of children received for the page
+         */
+        protected void pageCompleted ( final int count )
+        {
+            loading = false;
+            hasMore = pageSize > 0 && count >= pageSize;
+            if ( hasMore )
+            {
+                // Next page will start right after this one
+                offset += count;
+                if ( !childrenLoads.containsKey ( parent.getId () ) )
+                {
+                    childrenLoads.put ( parent.getId (), this );
+                }
+                if ( pageLoader != null )
+                {
+                    pageLoader.queueCheck ();
+                }
+            }
+            else
+            {
+                childrenLoads.remove ( parent.getId () );
+            }
+        }
+    }
+
+    /**
+     * Listener that loads next pages of children whenever tree is scrolled, resized or expanded.
+     */
+    protected class PageLoader implements HierarchyListener, ChangeListener, TreeExpansionListener
+    {
+        /**
+         * {@link JViewport} tree is placed into.
+         */
+        @Nullable
+        protected JViewport viewport;
+
+        /**
+         * Whether or not visible pages check is queued.
+         */
+        protected boolean checkQueued;
+
+        /**
+         * Installs this {@link PageLoader} into the tree.
+         */
+        public void install ()
+        {
+            tree.addHierarchyListener ( this );
+            tree.addTreeExpansionListener ( this );
+            updateViewport ();
+        }
+
+        /**
+         * Uninstalls this {@link PageLoader} from the tree.
+         */
+        public void uninstall ()
+        {
+            tree.removeTreeExpansionListener ( this );
+            tree.removeHierarchyListener ( this );
+            if ( viewport != null )
+            {
+                viewport.removeChangeListener ( this );
+                viewport = null;
+            }
+        }
+
+        /**
+         * Updates {@link JViewport} this {@link PageLoader} listens to.
+         */
+        protected void updateViewport ()
+        {
+            final Container parent = tree.getParent ();
+            final JViewport newViewport = parent instanceof JViewport ? ( JViewport ) parent : null;
+            if ( newViewport != viewport )
+            {
+                if ( viewport != null )
+                {
+                    viewport.removeChangeListener ( this );
+                }
+                viewport = newViewport;
+                if ( viewport != null )
+                {
+                    viewport.addChangeListener ( this );
+                }
+            }
+        }
+
+        /**
+         * Queues visible pages check.
+         * Multiple checks requested before it is performed are merged into one.
+         */
+        public void queueCheck ()
+        {
+            if ( !checkQueued )
+            {
+                checkQueued = true;
+                CoreSwingUtils.invokeLater ( new Runnable ()
+                {
+                    @Override
+                    public void run ()
+                    {
+                        checkQueued = false;
+                        loadVisiblePages ();
+                    }
+                } );
+            }
+        }
+
+        @Override
+        public void hierarchyChanged ( @NotNull final HierarchyEvent e )
+        {
+            if ( ( e.getChangeFlags () & HierarchyEvent.PARENT_CHANGED ) != 0 )
+            {
+                updateViewport ();
+                queueCheck ();
+            }
+        }
+
+        @Override
+        public void stateChanged ( @NotNull final ChangeEvent e )
+        {
+            queueCheck ();
+        }
+
+        @Override
+        public void treeExpanded ( @NotNull final TreeExpansionEvent event )
+        {
+            queueCheck ();
+        }
+
+        @Override
+        public void treeCollapsed ( @NotNull final TreeExpansionEvent event )
+        {
+            // Collapsing never reveals any new rows
+        }
+    }
 }
\ No newline at end of file
@@ -21,6 +21,7 @@ import com.alee.api.annotations.NotNull;
 import com.alee.api.annotations.Nullable;
 import com.alee.laf.WebLookAndFeel;
 import com.alee.laf.tree.*;
+import com.alee.managers.task.TaskManager;
 import com.alee.utils.CollectionUtils;
 import com.alee.utils.compare.Filter;
 
@@ -38,7 +39,7 @@ import java.util.*;
  * @see WebExTree
  * @see ExTreeDataProvider
  */
-public class ExTreeModel<N extends UniqueNode> extends WebTreeModel<N> implements FilterableNodes<N>, SortableNodes<N>
+public class ExTreeModel<N extends UniqueNode> extends WebTreeModel<N> implements AsyncFilterableNodes<N>, SortableNodes<N>
 {
     /**
      * {@link ExTreeDataProvider} used by this model
@@ -89,6 +90,13 @@ public class ExTreeModel<N extends UniqueNode> extends WebTreeModel<N> implement
     @Nullable
     protected transient Comparator<N> comparator;
 
+    /**
+     * {@link AsyncFilterAndSort} used to filter and sort nodes outside of the Event Dispatch Thread.
+     * It is only available when asynchronous filtering is enabled.
+     */
+    @Nullable
+    protected transient AsyncFilterAndSort<N> asyncFilterAndSort;
+
     /**
      * Constructs default ex tree model using custom data provider.
      *
@@ -135,6 +143,10 @@ public class ExTreeModel<N extends UniqueNode> extends WebTreeModel<N> implement
     public void uninstall ( @NotNull final WebTree<N> tree )
     {
         WebLookAndFeel.checkEventDispatchThread ();
+        if ( asyncFilterAndSort != null )
+        {
+            asyncFilterAndSort.cancel ();
+        }
         this.rootNode = null;
         this.tree = null;
         this.parentById = null;
@@ -299,7 +311,7 @@ public class ExTreeModel<N extends UniqueNode> extends WebTreeModel<N> implement
             final WebTreeNode parent = node.getParent ();
             if ( parent != null )
             {
-                filterAndSort ( ( N ) parent, false );
+                filterAndSortSynchronously ( ( N ) parent, false );
             }
         }
     }
@@ -377,7 +389,7 @@ public class ExTreeModel<N extends UniqueNode> extends WebTreeModel<N> implement
         loadTreeData ( childNode );
 
         // Updating parent node sorting and filtering
-        filterAndSort ( parentNode, false );
+        filterAndSortSynchronously ( parentNode, false );
     }
 
     /**
@@ -416,7 +428,7 @@ public class ExTreeModel<N extends UniqueNode> extends WebTreeModel<N> implement
         }
 
         // Updating parent node sorting and filtering
-        filterAndSort ( parent, false );
+        filterAndSortSynchronously ( parent, false );
     }
 
     /**
@@ -455,7 +467,7 @@ public class ExTreeModel<N extends UniqueNode> extends WebTreeModel<N> implement
         }
 
         // Updating parent node sorting and filtering
-        filterAndSort ( parent, false );
+        filterAndSortSynchronously ( parent, false );
     }
 
     @Override
@@ -591,6 +603,91 @@ public class ExTreeModel<N extends UniqueNode> extends WebTreeModel<N> implement
         filterAndSort ( parent, recursively );
     }
 
+    @Override
+    public boolean isAsyncFiltering ()
+    {
+        return asyncFilterAndSort != null;
+    }
+
+    @Override
+    public void setAsyncFiltering ( final boolean async )
+    {
+        // Event Dispatch Thread check
+        WebLookAndFeel.checkEventDispatchThread ();
+
+        // Updating filtering mode
+        if ( async && asyncFilterAndSort == null )
+        {
+            asyncFilterAndSort = createAsyncFilterAndSort ();
+        }
+        else if ( !async && asyncFilterAndSort != null )
+        {
+            asyncFilterAndSort.cancel ();
+            asyncFilterAndSort = null;
+        }
+    }
+
+    @Override
+    public void invokeAfterFiltering ( @NotNull final Runnable action )
+    {
+        if ( asyncFilterAndSort != null )
+        {
+            asyncFilterAndSort.invokeAfterCompletion ( action );
+        }
+        else
+        {
+            action.run ();
+        }
+    }
+
+    /**
+     * Returns new {@link AsyncFilterAndSort} for this model.
+     * Filtering and sorting is computed within {@link TaskManager#COMPUTATION} group by default.
+     *
+     * @return new {@link AsyncFilterAndSort} for this model
+     */
+    @NotNull
+    protected AsyncFilterAndSort<N> createAsyncFilterAndSort ()
+    {
+        return new AsyncFilterAndSort<N> ()
+        {
+            @NotNull
+            @Override
+            protected WebTreeModel<N> getModel ()
+            {
+                return ExTreeModel.this;
+            }
+
+            @Nullable
+            @Override
+            protected WebTree<N> getTree ()
+            {
+                return tree;
+            }
+
+            @NotNull
+            @Override
+            protected String getGroupId ()
+            {
+                return TaskManager.COMPUTATION;
+            }
+
+            @Nullable
+            @Override
+            protected List<N> getRawChildren ( @NotNull final N parent )
+            {
+                return rawNodeChildrenCache != null ? rawNodeChildrenCache.get ( parent.getId () ) : null;
+            }
+
+            @NotNull
+            @Override
+            protected List<N> filterAndSort ( @NotNull final N parent, @NotNull final List<N> children )
+            {
+                return ExTreeModel.this.filterAndSort ( parent, children );
+            }
+        };
+    }
+
     @Nullable
     @Override
     public Comparator<N> getComparator ()
@@ -645,6 +742,7 @@ public class ExTreeModel<N extends UniqueNode> extends WebTreeModel<N> implement
 
     /**
      * Updates filtering and sorting for the specified {@link UniqueNode} children.
+     * Filtering and sorting is computed outside of the Event Dispatch Thread if asynchronous filtering is enabled.
      *
      * @param parent      {@link UniqueNode} for which children filtering and sorting should be updated
      * @param recursively whether should update filtering and sorting for all {@link UniqueNode} children recursively
@@ -657,6 +755,29 @@ public class ExTreeModel<N extends UniqueNode> extends WebTreeModel<N> implement
             // Event Dispatch Thread check
             WebLookAndFeel.checkEventDispatchThread ();
 
+            // Updating filtering and sorting
+            if ( asyncFilterAndSort != null )
+            {
+                asyncFilterAndSort.filterAndSort ( parent, recursively );
+            }
+            else
+            {
+                filterAndSortSynchronously ( parent, recursively );
+            }
+        }
+    }
+
+    /**
+     * Updates filtering and sorting for the specified {@link UniqueNode} children on the Event Dispatch Thread.
+     *
+     * @param parent      {@link UniqueNode} for which children filtering and sorting should be updated
+     * @param recursively whether should update filtering and sorting for all {@link UniqueNode} children recursively
+     */
+    protected void filterAndSortSynchronously ( @NotNull final N parent, final boolean recursively )
+    {
+        // Operation might have finished after model was removed from the tree
+        if ( isInstalled () )
+        {
             // Saving tree state to restore it right after children update
             final TreeState treeState = tree.getTreeState ( parent );
 
@@ -23,13 +23,19 @@ import com.alee.managers.task.TaskManager;
 import com.alee.utils.CollectionUtils;
 import com.alee.utils.FileUtils;
 import com.alee.utils.compare.Filter;
+import com.alee.utils.file.DirectoryScan;
+import com.alee.utils.file.DirectoryScanListener;
 
 import java.io.File;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 /**
  * Asynchronous data provider for WebFileTree.
+ * Directory children are scanned using {@link FileUtils#getDirectoryScanner()} and provided to the tree in parts as they are resolved.
+ * Scans in progress can be cancelled with {@link #cancelChildrenLoad(FileTreeNode)}, {@link WebFileTree} does that upon collapse.
  *
  * @author Mikle Garin
  */
@@ -40,6 +46,12 @@ public class FileTreeDataProvider extends AbstractAsyncTreeDataProvider<FileTree
      */
     protected List<File> rootFiles;
 
+    /**
+     * {@link ChildrenScan}s in progress mapped by identifiers of the nodes they load children for.
+     */
+    @NotNull
+    protected final ConcurrentMap<String, ChildrenScan> scans;
+
     /**
      * Constructs new {@link FileTreeDataProvider} with the specified root {@link File}s.
      *
@@ -58,6 +70,7 @@ public class FileTreeDataProvider extends AbstractAsyncTreeDataProvider<FileTree
     public FileTreeDataProvider ( @NotNull final List<File> rootFiles )
     {
         this.rootFiles = rootFiles;
+        this.scans = new ConcurrentHashMap<String, ChildrenScan> ();
     }
 
     @NotNull
@@ -79,7 +92,15 @@ public class FileTreeDataProvider extends AbstractAsyncTreeDataProvider<FileTree
     {
         try
         {
-            listener.completed ( parent.getFile () == null ? getRootChildren () : getFileChildren ( parent ) );
+            final File file = parent.getFile ();
+            if ( file != null )
+            {
+                scanFileChildren ( parent, file, listener );
+            }
+            else
+            {
+                listener.completed ( getRootChildren () );
+            }
         }
         catch ( final Exception cause )
         {
@@ -87,6 +108,40 @@ public class FileTreeDataProvider extends AbstractAsyncTreeDataProvider<FileTree
         }
     }
 
+    /**
+     * Scans children of the specified directory and provides their nodes to the specified listener.
+     * Nodes are provided in parts if listener is a {@link StreamingNodesLoadCallback}, otherwise they are provided all at once.
+     * Display names and icons of the files are resolved during the scan to avoid file system requests upon rendering.
+     *
+     * @param parent    parent node
+     * @param directory directory to scan
+     * @param listener  {@link NodesLoadCallback} for loaded nodes
+     */
+    protected void scanFileChildren ( @NotNull final FileTreeNode parent, @NotNull final File directory,
+                                      @NotNull final NodesLoadCallback<FileTreeNode> listener )
+    {
+        final ChildrenScan scan = new ChildrenScan ( parent.getId (), listener );
+        scans.put ( parent.getId (), scan );
+        scan.start ( directory );
+    }
+
+    /**
+     * Cancels children scan of the specified node if it is still in progress.
+     * Cancelled scan doesn't inform its {@link NodesLoadCallback} about anything anymore, except for the notification that might
+     * already be in progress at that moment, so it is up to the caller to discard children that were loaded so far.
+     *
+     * @param parent node to cancel children scan for
+     * @see AsyncTreeModel#cancelChildrenLoad(AsyncUniqueNode)
+     */
+    public void cancelChildrenLoad ( @NotNull final FileTreeNode parent )
+    {
+        final ChildrenScan scan = scans.remove ( parent.getId () );
+        if ( scan != null )
+        {
+            scan.cancel ();
+        }
+    }
+
     /**
      * Returns root child nodes.
      *
@@ -105,6 +160,7 @@ public class FileTreeDataProvider extends AbstractAsyncTreeDataProvider<FileTree
 
     /**
      * Returns child nodes for specified node.
+     * Unlike {@link #loadChildren(FileTreeNode, NodesLoadCallback)} it lists directory synchronously.
      *
      * @param node parent node
      * @return child nodes
@@ -143,4 +199,129 @@ public class FileTreeDataProvider extends AbstractAsyncTreeDataProvider<FileTree
     {
         return node.getFile () != null && !FileUtils.isDirectory ( node.getFile () );
     }
+    /**
+     * Single directory children scan that provides scanned nodes to {@link NodesLoadCallback}.
+     */
+    protected class ChildrenScan implements DirectoryScanListener
+    {
+        /**
+         * Identifier of the node children are scanned for.
+         */
+        @NotNull
+        protected final String parentId;
+
+        /**
+         * {@link NodesLoadCallback} for loaded nodes.
+         */
+        @NotNull
+        protected final NodesLoadCallback<FileTreeNode> listener;
+
+        /**
+         * {@link StreamingNodesLoadCallback} for loaded nodes, {@code null} if nodes must be provided all at once.
+         */
+        @Nullable
+        protected final StreamingNodesLoadCallback<FileTreeNode> streaming;
+
+        /**
+         * Nodes collected so far if they must be provided all at once, {@code null} otherwise.
+         */
+        @Nullable
+        protected final List<FileTreeNode> collected;
+
+        /**
+         * {@link DirectoryScan} in progress, {@code null} until it is started.
+         */
+        @Nullable
+        protected volatile DirectoryScan scan;
+
+        /**
+         * Whether or not this scan was cancelled.
+         */
+        protected volatile boolean cancelled;
+
+        /**
+         * Constructs new {@link ChildrenScan}.
+         *
+         * @param parentId identifier of the node children are scanned for
+         * @param listener {@link NodesLoadCallback} for loaded nodes
+         */
+        public ChildrenScan ( @NotNull final String parentId, @NotNull final NodesLoadCallback<FileTreeNode> listener )
+        {
+            this.parentId = parentId;
+            this.listener = listener;
+            this.streaming = listener instanceof StreamingNodesLoadCallback ?
+                    ( StreamingNodesLoadCallback<FileTreeNode> ) listener : null;
+            this.collected = streaming == null ? new ArrayList<FileTreeNode> () : null;
+            this.cancelled = false;
+        }
+
+        /**
+         * Starts scanning specified directory.
+         *
+         * @param directory directory to scan
+         */
+        public void start ( @NotNull final File directory )
+        {
+            final DirectoryScan started = FileUtils.getDirectoryScanner ().scan ( directory, null, true, this );
+            scan = started;
+
+            // Scan might have been cancelled while it was starting
+            if ( cancelled )
+            {
+                started.cancel ();
+            }
+        }
+
+        /**
+         * Cancels this scan.
+         */
+        public void cancel ()
+        {
+            cancelled = true;
+            final DirectoryScan started = scan;
+            if ( started != null )
+            {
+                started.cancel ();
+            }
+        }
+
+        @Override
+        public void scanned ( @NotNull final List<File> files )
+        {
+            final List<FileTreeNode> children = new ArrayList<FileTreeNode> ( files.size () );
+            for ( final File file : files )
+            {
+                children.add ( new FileTreeNode ( file ) );
+            }
+            if ( streaming != null )
+            {
+                streaming.partial ( children );
+            }
+            else
+            {
+                collected.addAll ( children );
+            }
+        }
+
+        @Override
+        public void completed ()
+        {
+            scans.remove ( parentId, this );
+            if ( streaming != null )
+            {
+                streaming.completed ();
+            }
+            else
+            {
+                listener.completed ( collected );
+            }
+        }
+
+        @Override
+        public void failed ( @NotNull final Throwable cause )
+        {
+            scans.remove ( parentId, this );
+            listener.failed ( cause );
+        }
+    }
 }
\ No newline at end of file
@@ -0,0 +1,236 @@
+/*
+ * This file is part of WebLookAndFeel library.
+ *
+ * WebLookAndFeel library is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * WebLookAndFeel library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with WebLookAndFeel library.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.alee.extended.tree;
+
+import com.alee.api.annotations.NotNull;
+import com.alee.api.annotations.Nullable;
+import com.alee.utils.CoreSwingUtils;
+import com.alee.utils.FileUtils;
+import com.alee.utils.file.FileWatch;
+import com.alee.utils.file.SystemFileListener;
+import com.alee.utils.swing.AncestorAdapter;
+
+import javax.swing.event.AncestorEvent;
+import javax.swing.event.TreeExpansionEvent;
+import javax.swing.event.TreeExpansionListener;
+import javax.swing.tree.TreePath;
+import java.io.File;
+import java.util.Enumeration;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+
+/**
+ * {@link WebFileTree} extension that watches expanded folders for changes using {@link FileUtils#getWatchService()}.
+ * Only the node of the changed folder is reloaded, so the rest of the tree stays intact.
+ * Folders are only watched while tree is displayed.
+ *
+ * @author Mikle Garin
+ * @see WebFileTree#setWatchFolders(boolean)
+ */
+public class FileTreeWatcher extends AncestorAdapter implements TreeExpansionListener, SystemFileListener
+{
+    /**
+     * Delay between checks of watched folders in milliseconds.
+     */
+    public static final long WATCH_DELAY = 2000;
+
+    /**
+     * {@link WebFileTree} to watch folders for.
+     */
+    @NotNull
+    protected final WebFileTree tree;
+
+    /**
+     * Watched folders mapped to their {@link FileWatch}es.
+     */
+    @NotNull
+    protected final Map<File, FileWatch> watches;
+
+    /**
+     * Constructs new {@link FileTreeWatcher}.
+     *
+     * @param tree {@link WebFileTree} to watch folders for
+     */
+    public FileTreeWatcher ( @NotNull final WebFileTree tree )
+    {
+        this.tree = tree;
+        this.watches = new HashMap<File, FileWatch> ();
+    }
+
+    /**
+     * Installs this {@link FileTreeWatcher} into {@link WebFileTree}.
+     */
+    public void install ()
+    {
+        tree.addTreeExpansionListener ( this );
+        tree.addAncestorListener ( this );
+        if ( tree.isShowing () )
+        {
+            watchExpandedFolders ();
+        }
+    }
+
+    /**
+     * Uninstalls this {@link FileTreeWatcher} from {@link WebFileTree}.
+     */
+    public void uninstall ()
+    {
+        tree.removeAncestorListener ( this );
+        tree.removeTreeExpansionListener ( this );
+        unwatchFolders ( null );
+    }
+
+    @Override
+    public void ancestorAdded ( @NotNull final AncestorEvent event )
+    {
+        watchExpandedFolders ();
+    }
+
+    @Override
+    public void ancestorRemoved ( @NotNull final AncestorEvent event )
+    {
+        unwatchFolders ( null );
+    }
+
+    @Override
+    public void treeExpanded ( @NotNull final TreeExpansionEvent event )
+    {
+        watchFolder ( event.getPath () );
+    }
+
+    @Override
+    public void treeCollapsed ( @NotNull final TreeExpansionEvent event )
+    {
+        final FileTreeNode node = ( FileTreeNode ) event.getPath ().getLastPathComponent ();
+        if ( node.getFile () != null )
+        {
+            unwatchFolders ( node.getFile () );
+        }
+    }
+
+    @Override
+    public void modified ( @NotNull final File file )
+    {
+        CoreSwingUtils.invokeLater ( new Runnable ()
+        {
+            @Override
+            public void run ()
+            {
+                if ( watches.containsKey ( file ) )
+                {
+                    // Reloading children of the changed folder
+                    // Nested folder nodes are replaced upon reload without collapse events, so their watches are dropped here
+                    // Folders that end up expanded again after reload will be watched again upon expansion
+                    unwatchFolders ( file, false );
+                    FileUtils.clearDirectoryCaches ( file );
+                    tree.reloadChildren ( file );
+                }
+                else
+                {
+                    // Updating changed file node
+                    FileUtils.clearFileCaches ( file );
+                    final FileTreeNode node = tree.getNode ( file );
+                    if ( node != null )
+                    {
+                        tree.updateNode ( node );
+                    }
+                }
+            }
+        } );
+    }
+
+    @Override
+    public void unbound ( @NotNull final File file )
+    {
+        CoreSwingUtils.invokeLater ( new Runnable ()
+        {
+            @Override
+            public void run ()
+            {
+                // Folder node will be removed upon its parent reload
+                watches.remove ( file );
+            }
+        } );
+    }
+
+    /**
+     * Starts watching all expanded folders.
+     */
+    protected void watchExpandedFolders ()
+    {
+        final FileTreeNode root = tree.getRootNode ();
+        if ( root != null )
+        {
+            final Enumeration<TreePath> expanded = tree.getExpandedDescendants ( new TreePath ( root ) );
+            if ( expanded != null )
+            {
+                while ( expanded.hasMoreElements () )
+                {
+                    watchFolder ( expanded.nextElement () );
+                }
+            }
+        }
+    }
+
+    /**
+     * Starts watching folder of the node at the specified {@link TreePath}.
+     *
+     * @param path {@link TreePath} to folder node
+     */
+    protected void watchFolder ( @NotNull final TreePath path )
+    {
+        final File folder = ( ( FileTreeNode ) path.getLastPathComponent () ).getFile ();
+        if ( folder != null && !watches.containsKey ( folder ) && tree.isShowing () )
+        {
+            watches.put ( folder, FileUtils.getWatchService ().watch ( folder, this, WATCH_DELAY, true ) );
+        }
+    }
+
+    /**
+     * Stops watching the specified folder and all folders within it.
+     *
+     * @param folder folder to stop watching or {@code null} to stop watching all folders
+     */
+    protected void unwatchFolders ( @Nullable final File folder )
+    {
+        unwatchFolders ( folder, true );
+    }
+
+    /**
+     * Stops watching folders within the specified folder and optionally the folder itself.
+     *
+     * @param folder  folder to stop watching or {@code null} to stop watching all folders
+     * @param include whether or not specified folder itself should also stop being watched
+     */
+    protected void unwatchFolders ( @Nullable final File folder, final boolean include )
+    {
+        final String prefix = folder != null ? folder.getAbsolutePath () + File.separator : null;
+        final Iterator<Map.Entry<File, FileWatch>> iterator = watches.entrySet ().iterator ();
+        while ( iterator.hasNext () )
+        {
+            final Map.Entry<File, FileWatch> entry = iterator.next ();
+            final File watched = entry.getKey ();
+            if ( folder == null || ( include && watched.equals ( folder ) ) || watched.getAbsolutePath ().startsWith ( prefix ) )
+            {
+                entry.getValue ().cancel ();
+                iterator.remove ();
+            }
+        }
+    }
+}
\ No newline at end of file
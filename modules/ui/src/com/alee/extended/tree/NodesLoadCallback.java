@@ -26,6 +26,7 @@ import java.util.List;
  *
  * @param <N> node type
  * @author Mikle Garin
+ * @see StreamingNodesLoadCallback
  */
 public interface NodesLoadCallback<N extends AsyncUniqueNode>
 {
@@ -35,6 +36,8 @@ public interface NodesLoadCallback<N extends AsyncUniqueNode>
 
     /**
      * Informs model that children were loaded successfully.
+     * If some children were provided through {@link StreamingNodesLoadCallback#partial(List)} calls before - specified children
+     * are added to them.
      *
      * @param children list of loaded children
      */
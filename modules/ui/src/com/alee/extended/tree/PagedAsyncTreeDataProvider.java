@@ -0,0 +1,60 @@
+/*
+ * This file is part of WebLookAndFeel library.
+ *
+ * WebLookAndFeel library is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * WebLookAndFeel library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with WebLookAndFeel library.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.alee.extended.tree;
+
+import com.alee.api.annotations.NotNull;
+
+/**
+ * {@link AsyncTreeDataProvider} extension that allows loading children in pages.
+ * {@link AsyncTreeModel} only loads the first page of children when node is expanded and loads following pages whenever the last
+ * loaded child becomes visible within the tree, so huge amounts of children are only loaded when they are actually needed.
+ *
+ * Page is considered to be the last one as soon as less children than requested are provided for it.
+ * Filtering and sorting are applied to each page separately, sorted pages are merged into previously loaded children.
+ *
+ * @param <N> node type
+ * @author Mikle Garin
+ * @see AsyncTreeModel
+ * @see NodesLoadCallback
+ */
+public interface PagedAsyncTreeDataProvider<N extends AsyncUniqueNode> extends AsyncTreeDataProvider<N>
+{
+    /**
+     * Returns maximum amount of children loaded within one page for the specified parent {@link AsyncUniqueNode}.
+     * Returning zero or negative value disables paging for the specified parent {@link AsyncUniqueNode}, in that case
+     * {@link #loadChildren(AsyncUniqueNode, NodesLoadCallback)} is used to load all of its children at once.
+     * This operation is always performed on EDT and should not take excessive amounts of time.
+     *
+     * @param parent {@link AsyncUniqueNode} to load children for
+     * @return maximum amount of children loaded within one page for the specified parent {@link AsyncUniqueNode}
+     */
+    public int getPageSize ( @NotNull N parent );
+
+    /**
+     * Starts loading page of child {@link AsyncUniqueNode}s for the specified parent {@link AsyncUniqueNode}.
+     * When page loading is finished or failed you must inform the {@link NodesLoadCallback} about result.
+     * Page children can also be provided in parts using {@link StreamingNodesLoadCallback#partial(java.util.List)}.
+     * This operation uses a separate {@link Thread} and it is allowed to take as much time as it needs to complete.
+     *
+     * @param parent   {@link AsyncUniqueNode} to load children for
+     * @param offset   index of the first child to load
+     * @param count    maximum amount of children to load
+     * @param listener {@link NodesLoadCallback} for informing tree about operation result
+     */
+    public void loadChildren ( @NotNull N parent, int offset, int count, @NotNull NodesLoadCallback<N> listener );
+}
\ No newline at end of file
@@ -0,0 +1,50 @@
+/*
+ * This file is part of WebLookAndFeel library.
+ *
+ * WebLookAndFeel library is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * WebLookAndFeel library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with WebLookAndFeel library.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.alee.extended.tree;
+
+import com.alee.api.annotations.NotNull;
+
+import java.util.List;
+
+/**
+ * Extended {@link NodesLoadCallback} that also accepts loaded children in parts while loading continues.
+ * It is a separate interface so that existing {@link NodesLoadCallback} implementations do not have to implement new methods.
+ * {@link AsyncTreeModel} always provides this callback, so {@link AsyncTreeDataProvider}s can check for it to stream children.
+ *
+ * @param <N> node type
+ * @author Mikle Garin
+ * @see AsyncTreeModel
+ * @see AsyncTreeDataProvider
+ */
+public interface StreamingNodesLoadCallback<N extends AsyncUniqueNode> extends NodesLoadCallback<N>
+{
+    /**
+     * Informs model that some of the children were loaded and loading continues.
+     * Loaded children are added into the tree in batches while the rest of them are still being loaded.
+     * Once all children are loaded either {@link #completed()} or {@link #completed(List)} must be called.
+     * This method can be called any number of times and from any thread.
+     *
+     * @param children list of loaded children
+     */
+    public void partial ( @NotNull List<N> children );
+
+    /**
+     * Informs model that all children were loaded successfully and provided through {@link #partial(List)} calls.
+     */
+    public void completed ();
+}
@@ -22,14 +22,15 @@ import com.alee.api.annotations.Nullable;
 import com.alee.api.jdk.Function;
 import com.alee.laf.tree.UniqueNode;
 
-import java.util.HashMap;
 import java.util.Locale;
 import java.util.Map;
 import java.util.StringTokenizer;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * Special smart tree filter that doesn't filter out parent nodes which has children that are accepted by filter.
  * This can be used in any kind of filter fields to provide a proper visual feedback in tree.
+ * This filter can be used from multiple threads, for example with asynchronous filtering enabled in {@link AsyncFilterableNodes}.
  *
  * @param <N> {@link UniqueNode} type
  * @author Mikle Garin
@@ -42,6 +43,12 @@ public class StructuredTreeNodesFilter<N extends UniqueNode> implements NodesFil
     @NotNull
     protected final Map<String, Boolean> acceptStatesCache;
 
+    /**
+     * Accept states cache version.
+     * It is incremented whenever cache is cleared to avoid caching states computed before that.
+     */
+    protected volatile int cacheVersion;
+
     /**
      * Nodes text provider.
      */
@@ -84,12 +91,13 @@ public class StructuredTreeNodesFilter<N extends UniqueNode> implements NodesFil
      */
     public StructuredTreeNodesFilter ( @NotNull final Function<N, String> textProvider )
     {
-        this.acceptStatesCache = new HashMap<String, Boolean> ();
+        this.acceptStatesCache = new ConcurrentHashMap<String, Boolean> ();
         this.textProvider = textProvider;
         this.matchCase = false;
         this.useSpaceAsSeparator = false;
         this.searchFromStart = false;
         this.searchText = "";
+        this.cacheVersion = 0;
     }
 
     /**
@@ -198,13 +206,21 @@ public class StructuredTreeNodesFilter<N extends UniqueNode> implements NodesFil
     @Override
     public void clearCache ()
     {
-        acceptStatesCache.clear ();
+        synchronized ( acceptStatesCache )
+        {
+            acceptStatesCache.clear ();
+            cacheVersion++;
+        }
     }
 
     @Override
     public void clearCache ( @NotNull final N node )
     {
-        acceptStatesCache.remove ( node.getId () );
+        synchronized ( acceptStatesCache )
+        {
+            acceptStatesCache.remove ( node.getId () );
+            cacheVersion++;
+        }
     }
 
     @Override
@@ -256,8 +272,16 @@ public class StructuredTreeNodesFilter<N extends UniqueNode> implements NodesFil
         Boolean accept = acceptStatesCache.get ( node.getId () );
         if ( accept == null )
         {
+            final int version = cacheVersion;
             accept = acceptNodeImpl ( node, searchRequest );
-            acceptStatesCache.put ( node.getId (), accept );
+            synchronized ( acceptStatesCache )
+            {
+                // State is only cached if filter settings didn't change while it was computed
+                if ( version == cacheVersion )
+                {
+                    acceptStatesCache.put ( node.getId (), accept );
+                }
+            }
         }
         return accept;
     }
@@ -375,6 +375,34 @@ public class WebAsyncTree<N extends AsyncUniqueNode> extends WebTree<N>
         }
     }
 
+    /**
+     * Returns whether or not nodes filtering and sorting is computed outside of the Event Dispatch Thread.
+     *
+     * @return {@code true} if nodes filtering and sorting is computed outside of the Event Dispatch Thread, {@code false} otherwise
+     * @see AsyncFilterableNodes#isAsyncFiltering()
+     */
+    public boolean isAsyncFiltering ()
+    {
+        final AsyncTreeModel<N> model = getModel ();
+        return model != null && model.isAsyncFiltering ();
+    }
+
+    /**
+     * Sets whether or not nodes filtering and sorting should be computed outside of the Event Dispatch Thread.
+     * This setting is applied to the current {@link AsyncTreeModel}.
+     *
+     * @param async whether or not nodes filtering and sorting should be computed outside of the Event Dispatch Thread
+     * @see AsyncFilterableNodes#setAsyncFiltering(boolean)
+     */
+    public void setAsyncFiltering ( final boolean async )
+    {
+        final AsyncTreeModel<N> model = getModel ();
+        if ( model != null )
+        {
+            model.setAsyncFiltering ( async );
+        }
+    }
+
     @Nullable
     @Override
     public Comparator<N> getComparator ()
@@ -333,6 +333,34 @@ public class WebExTree<N extends UniqueNode> extends WebTree<N> implements Filte
         }
     }
 
+    /**
+     * Returns whether or not nodes filtering and sorting is computed outside of the Event Dispatch Thread.
+     *
+     * @return {@code true} if nodes filtering and sorting is computed outside of the Event Dispatch Thread, {@code false} otherwise
+     * @see AsyncFilterableNodes#isAsyncFiltering()
+     */
+    public boolean isAsyncFiltering ()
+    {
+        final ExTreeModel<N> model = getModel ();
+        return model != null && model.isAsyncFiltering ();
+    }
+
+    /**
+     * Sets whether or not nodes filtering and sorting should be computed outside of the Event Dispatch Thread.
+     * This setting is applied to the current {@link ExTreeModel}.
+     *
+     * @param async whether or not nodes filtering and sorting should be computed outside of the Event Dispatch Thread
+     * @see AsyncFilterableNodes#setAsyncFiltering(boolean)
+     */
+    public void setAsyncFiltering ( final boolean async )
+    {
+        final ExTreeModel<N> model = getModel ();
+        if ( model != null )
+        {
+            model.setAsyncFiltering ( async );
+        }
+    }
+
     @Nullable
     @Override
     public Comparator<N> getComparator ()
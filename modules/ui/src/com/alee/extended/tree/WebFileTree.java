@@ -28,6 +28,8 @@ import com.alee.utils.compare.Filter;
 import org.slf4j.LoggerFactory;
 
 import javax.swing.*;
+import javax.swing.event.TreeExpansionEvent;
+import javax.swing.event.TreeExpansionListener;
 import javax.swing.tree.TreeModel;
 import javax.swing.tree.TreePath;
 import java.awt.*;
@@ -59,6 +61,12 @@ public class WebFileTree extends WebAsyncTree<FileTreeNode>
      */
     protected int delayedSelectionId = 0;
 
+    /**
+     * {@link FileTreeWatcher} that reloads expanded folders upon their changes.
+     */
+    @Nullable
+    protected FileTreeWatcher folderWatcher = null;
+
     /**
      * Costructs file tree with system hard drives as root.
      */
@@ -167,6 +175,22 @@ public class WebFileTree extends WebAsyncTree<FileTreeNode>
 
         // Transfer handler
         setFilesDropSearchEnabled ( true );
+
+        // Folder scans are not needed once their nodes are collapsed
+        addTreeExpansionListener ( new TreeExpansionListener ()
+        {
+            @Override
+            public void treeExpanded ( @NotNull final TreeExpansionEvent event )
+            {
+                // Nothing is loaded on expansion here
+            }
+
+            @Override
+            public void treeCollapsed ( @NotNull final TreeExpansionEvent event )
+            {
+                cancelChildrenLoad ( ( FileTreeNode ) event.getPath ().getLastPathComponent () );
+            }
+        } );
     }
 
     @Nullable
@@ -267,6 +291,54 @@ public class WebFileTree extends WebAsyncTree<FileTreeNode>
         }
     }
 
+    /**
+     * Cancels children loading of the specified node if it is still in progress.
+     * Folder scan is stopped and children loaded so far are removed, they will be loaded anew once node is expanded again.
+     *
+     * @param node node to cancel children loading for
+     * @see AsyncTreeModel#cancelChildrenLoad(AsyncUniqueNode)
+     * @see FileTreeDataProvider#cancelChildrenLoad(FileTreeNode)
+     */
+    public void cancelChildrenLoad ( @NotNull final FileTreeNode node )
+    {
+        final FileTreeDataProvider dataProvider = getDataProvider ();
+        if ( getModel ().cancelChildrenLoad ( node ) && dataProvider != null )
+        {
+            dataProvider.cancelChildrenLoad ( node );
+        }
+    }
+
+    /**
+     * Returns whether or not expanded folders are watched for changes.
+     *
+     * @return {@code true} if expanded folders are watched for changes, {@code false} otherwise
+     */
+    public boolean isWatchFolders ()
+    {
+        return folderWatcher != null;
+    }
+
+    /**
+     * Sets whether or not expanded folders should be watched for changes.
+     * Watched folders are reloaded automatically whenever their content changes on the file system.
+     *
+     * @param watch whether or not expanded folders should be watched for changes
+     * @see FileTreeWatcher
+     */
+    public void setWatchFolders ( final boolean watch )
+    {
+        if ( watch && folderWatcher == null )
+        {
+            folderWatcher = new FileTreeWatcher ( this );
+            folderWatcher.install ();
+        }
+        else if ( !watch && folderWatcher != null )
+        {
+            folderWatcher.uninstall ();
+            folderWatcher = null;
+        }
+    }
+
     /**
      * Returns tree files filter.
      *
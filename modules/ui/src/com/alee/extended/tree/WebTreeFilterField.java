@@ -99,6 +99,11 @@ public class WebTreeFilterField<N extends UniqueNode> extends WebTextField
     @Nullable
     protected transient Rectangle visibleRect;
 
+    /**
+     * Whether or not tree nodes state update is awaiting asynchronous filtering to complete.
+     */
+    protected transient boolean treeStateUpdateQueued;
+
     /**
      * Constructs new tree filter field.
      *
@@ -487,20 +492,49 @@ public class WebTreeFilterField<N extends UniqueNode> extends WebTextField
             filter.clearCache ();
 
             // Updating tree filtering
-            getFilterableModel ().filter ();
+            final FilterableNodes<N> filterableModel = getFilterableModel ();
+            filterableModel.filter ();
 
             // Updating tree nodes state after filtering
-            if ( !isEmpty () )
+            // Filtering might still be in progress, so tree nodes state is only updated once for all pending filter changes
+            if ( filterableModel instanceof AsyncFilterableNodes )
             {
-                expandToFilteredNodes ();
+                if ( !treeStateUpdateQueued )
+                {
+                    treeStateUpdateQueued = true;
+                    ( ( AsyncFilterableNodes<N> ) filterableModel ).invokeAfterFiltering ( new Runnable ()
+                    {
+                        @Override
+                        public void run ()
+                        {
+                            treeStateUpdateQueued = false;
+                            updateTreeState ();
+                        }
+                    } );
+                }
             }
             else
             {
-                restoreState ();
+                updateTreeState ();
             }
         }
     }
 
+    /**
+     * Updates {@link JTree} nodes state after filtering.
+     */
+    protected void updateTreeState ()
+    {
+        if ( !isEmpty () )
+        {
+            expandToFilteredNodes ();
+        }
+        else
+        {
+            restoreState ();
+        }
+    }
+
     /**
      * Saves current {@link TreeState} and visible area {@link Rectangle} if {@link JTree} is attached to this field,
      * default behavior is enabled, filter text is not empty and there is no stored state yet.
@@ -1385,7 +1385,8 @@ public class WebLookAndFeel extends BasicLookAndFeel
 
     /**
      * Returns better disabled icon than {@link BasicLookAndFeel} offers.
-     * Generated disabled icons are cached within a weak hash map under icon key.
+     * Disabled icons are painted from rasters shared through {@link com.alee.graphics.image.IconRasterCache} at device scale,
+     * unless icon provides its own disabled copy, in which case that copy is cached within a weak hash map under icon key.
      *
      * @param component component that requests disabled icon
      * @param icon      normal icon
@@ -1398,7 +1399,7 @@ public class WebLookAndFeel extends BasicLookAndFeel
         final Icon disabledIcon;
         if ( icon != null && icon.getIconWidth () > 0 && icon.getIconHeight () > 0 )
         {
-            disabledIcon = ImageUtils.getDisabledCopy ( icon );
+            disabledIcon = ImageUtils.getDisabledRasterCopy ( icon );
         }
         else
         {
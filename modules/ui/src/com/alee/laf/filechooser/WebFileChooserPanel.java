@@ -160,6 +160,12 @@ public class WebFileChooserPanel extends WebPanel
      */
     protected File currentFolder = null;
 
+    /**
+     * Folder currently watched for changes.
+     * Only currently viewed folder is watched and only while this panel is displayed.
+     */
+    protected File watchedFolder = null;
+
     /**
      * Current view history index.
      */
@@ -306,6 +312,22 @@ public class WebFileChooserPanel extends WebPanel
         updateDirectoryComponentFilters ();
         setFileFilter ( new AllFilesFilter () );
         restoreButtonText ();
+
+        // Watching current folder for changes while panel is displayed
+        addAncestorListener ( new AncestorAdapter ()
+        {
+            @Override
+            public void ancestorAdded ( final AncestorEvent event )
+            {
+                updateWatchedFolder ( true );
+            }
+
+            @Override
+            public void ancestorRemoved ( final AncestorEvent event )
+            {
+                updateWatchedFolder ( false );
+            }
+        } );
     }
 
     /**
@@ -751,6 +773,7 @@ public class WebFileChooserPanel extends WebPanel
         fileList = new WebFileList ( StyleId.filechooserFileListTiles.at ( fileListScroll ) );
         fileList.setDropMode ( DropMode.ON );
         fileList.setEditable ( true );
+        fileList.setAsyncLoading ( true );
         fileList.setTransferHandler ( new FilesLocateDropHandler ( UpdateSource.list ) );
         fileListScroll.setViewportView ( fileList );
 
@@ -836,6 +859,7 @@ public class WebFileChooserPanel extends WebPanel
         fileTable = new WebFileTable ( StyleId.filechooserFileTable.at ( fileTableScroll ) );
         fileTable.setOpaque ( false );
         fileTable.setEditable ( true );
+        fileTable.setAsyncLoading ( true );
         fileTable.setRowSorter ( createFileTableRowSorter () );
         fileTable.setTransferHandler ( new FilesLocateDropHandler ( UpdateSource.table ) );
         fileTableScroll.setViewportView ( fileTable );
@@ -1322,6 +1346,7 @@ public class WebFileChooserPanel extends WebPanel
         updateList ( file );
         updateTable ( file );
         currentFolder = file;
+        updateWatchedFolder ( isShowing () );
 
         // Updating controls
         updateControlsState ();
@@ -1725,16 +1750,36 @@ public class WebFileChooserPanel extends WebPanel
         return new GroupedFileFilter ( FilterGroupType.AND, fileFilter, hiddenFilesFilter );
     }
 
+    /**
+     * Updates folder watched for changes.
+     * Watched folder files metadata is kept up-to-date by {@link com.alee.utils.file.FileMetadataCache}.
+     *
+     * @param showing whether or not this panel is displayed
+     */
+    protected void updateWatchedFolder ( final boolean showing )
+    {
+        final File folder = showing ? currentFolder : null;
+        if ( !FileUtils.equals ( watchedFolder, folder ) )
+        {
+            if ( watchedFolder != null )
+            {
+                FileUtils.getMetadataCache ().unwatch ( watchedFolder );
+            }
+            watchedFolder = folder;
+            if ( watchedFolder != null )
+            {
+                FileUtils.getMetadataCache ().watch ( watchedFolder );
+            }
+        }
+    }
+
     /**
      * Reloads files from currently opened folder into all available view components.
      */
     public void reloadCurrentFolder ()
     {
         // Clearing all caches for folder files
-        if ( currentFolder != null )
-        {
-            FileUtils.clearFilesCaches ( currentFolder.listFiles () );
-        }
+        FileUtils.clearDirectoryCaches ( currentFolder );
 
         // Updating view in a specific way
         pathField.updatePath ();
@@ -1745,16 +1790,31 @@ public class WebFileChooserPanel extends WebPanel
 
     /**
      * Starts editing name of selected file in currently visible view.
+     * If current folder files are still loading editing starts once they are loaded.
      */
     public void editSelectedFileName ()
     {
         if ( viewType.getComponentIndex () == 0 )
         {
-            fileList.editSelectedCell ();
+            fileList.invokeAfterLoad ( new Runnable ()
+            {
+                @Override
+                public void run ()
+                {
+                    fileList.editSelectedCell ();
+                }
+            } );
         }
         if ( viewType.getComponentIndex () == 1 )
         {
-            fileTable.editSelectedFileName ();
+            fileTable.invokeAfterLoad ( new Runnable ()
+            {
+                @Override
+                public void run ()
+                {
+                    fileTable.editSelectedFileName ();
+                }
+            } );
         }
     }
 
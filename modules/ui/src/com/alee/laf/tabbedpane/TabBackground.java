@@ -19,6 +19,7 @@ package com.alee.laf.tabbedpane;
 
 import com.alee.api.annotations.NotNull;
 import com.alee.api.annotations.Nullable;
+import com.alee.api.data.Orientation;
 import com.alee.painter.decoration.IDecoration;
 import com.alee.painter.decoration.background.ColorBackground;
 import com.thoughtworks.xstream.annotations.XStreamAlias;
@@ -43,4 +44,13 @@ public class TabBackground<C extends Tab, D extends IDecoration<C, D>, I extends
     {
         return color != null ? color : c.getTabbedPane ().getBackgroundAt ( c.getIndex () );
     }
+
+    @Override
+    public boolean isRasterizable ( @NotNull final C c, @NotNull final D d, @Nullable final Orientation orientation )
+    {
+        /**
+         * Default color depends on the tab.
+         */
+        return color != null;
+    }
 }
\ No newline at end of file
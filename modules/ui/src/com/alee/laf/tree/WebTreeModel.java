@@ -27,6 +27,7 @@ import javax.swing.tree.MutableTreeNode;
 import javax.swing.tree.TreeNode;
 import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.IdentityHashMap;
 import java.util.List;
 import java.util.Map;
 
@@ -231,6 +232,92 @@ public class WebTreeModel<N extends MutableTreeNode> extends DefaultTreeModel
         }
     }
 
+    /**
+     * Replaces children of the specified node with the specified ones using minimal set of model events.
+     * Children that are not present in the new list are removed with a single removal event and new children are inserted with a
+     * single insertion event, so expansion and selection of the remaining children are preserved.
+     * If order of the remaining children has changed the whole node structure is replaced instead.
+     *
+     * @param parent   node to replace children for
+     * @param children new children
+     */
+    public void updateChildren ( @NotNull final N parent, @NotNull final List<N> children )
+    {
+        // Mapping new children indices
+        final Map<TreeNode, Integer> newIndices = new IdentityHashMap<TreeNode, Integer> ( children.size () );
+        for ( int i = 0; i < children.size (); i++ )
+        {
+            newIndices.put ( children.get ( i ), i );
+        }
+
+        // Collecting removed children and checking whether or not remaining children order is preserved
+        final int count = parent.getChildCount ();
+        final List<Integer> removedIndices = new ArrayList<Integer> ( count );
+        final Map<TreeNode, Integer> remaining = new IdentityHashMap<TreeNode, Integer> ( count );
+        boolean ordered = true;
+        int lastIndex = -1;
+        for ( int i = 0; i < count; i++ )
+        {
+            final TreeNode child = parent.getChildAt ( i );
+            final Integer newIndex = newIndices.get ( child );
+            if ( newIndex != null )
+            {
+                ordered &= newIndex > lastIndex;
+                lastIndex = newIndex;
+                remaining.put ( child, i );
+            }
+            else
+            {
+                removedIndices.add ( i );
+            }
+        }
+
+        if ( ordered )
+        {
+            // Removing children
+            if ( removedIndices.size () > 0 )
+            {
+                final Object[] removed = new Object[ removedIndices.size () ];
+                for ( int i = removedIndices.size () - 1; i >= 0; i-- )
+                {
+                    final int index = removedIndices.get ( i );
+                    removed[ i ] = parent.getChildAt ( index );
+                    parent.remove ( index );
+                }
+                nodesWereRemoved ( parent, CollectionUtils.toIntArray ( removedIndices ), removed );
+            }
+
+            // Inserting children
+            final List<Integer> insertedIndices = new ArrayList<Integer> ( children.size () - remaining.size () );
+            for ( int i = 0; i < children.size (); i++ )
+            {
+                final N child = children.get ( i );
+                if ( !remaining.containsKey ( child ) )
+                {
+                    parent.insert ( child, i );
+                    insertedIndices.add ( i );
+                }
+            }
+            if ( insertedIndices.size () > 0 )
+            {
+                nodesWereInserted ( parent, CollectionUtils.toIntArray ( insertedIndices ) );
+            }
+        }
+        else
+        {
+            // Replacing whole structure
+            for ( int i = count - 1; i >= 0; i-- )
+            {
+                parent.remove ( i );
+            }
+            for ( int i = 0; i < children.size (); i++ )
+            {
+                parent.insert ( children.get ( i ), i );
+            }
+            nodeStructureChanged ( parent );
+        }
+    }
+
     /**
      * Forces tree node to be updated.
      *
@@ -17,8 +17,8 @@
 
 package com.alee.managers.animation;
 
-import com.alee.managers.animation.event.EventDispatchThreadHandler;
 import com.alee.managers.animation.event.EventHandler;
+import com.alee.managers.animation.event.FrameEventHandler;
 import com.alee.managers.animation.pipeline.AnimationPipelineFactory;
 import com.alee.managers.animation.pipeline.TimedAnimationPipelineFactory;
 import com.alee.managers.animation.transition.Transition;
@@ -81,7 +81,7 @@ public final class AnimationManager
             pipelineFactory = new TimedAnimationPipelineFactory ();
 
             // Event handler
-            eventHandler = EventDispatchThreadHandler.get ();
+            eventHandler = FrameEventHandler.get ();
 
             // Updating initialization mark
             initialized = true;
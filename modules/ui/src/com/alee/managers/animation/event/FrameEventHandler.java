@@ -0,0 +1,298 @@
+/*
+ * This file is part of WebLookAndFeel library.
+ *
+ * WebLookAndFeel library is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * WebLookAndFeel library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with WebLookAndFeel library.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.alee.managers.animation.event;
+
+import com.alee.utils.CoreSwingUtils;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Event handler that sends tasks into Swing Event Dispatch Thread in batches.
+ *
+ * All events submitted until Event Dispatch Thread gets to process them are gathered into a single frame and performed within single
+ * Event Dispatch Thread call, so even a large amount of concurrent transitions only adds one task into Event Dispatch Thread queue.
+ * That also allows {@link javax.swing.RepaintManager} to coalesce all repaints requested by transition listeners within the frame.
+ *
+ * Whenever Event Dispatch Thread falls behind and multiple {@link MergeableEvent}s with the same merge key get into the same frame only
+ * the latest one is performed, so stale transition frames are dropped instead of being queued up.
+ *
+ * This handler also collects basic statistics about time frames take on Event Dispatch Thread.
+ *
+ * @author Mikle Garin
+ * @see <a href="https://github.com/mgarin/weblaf/wiki/How-to-use-AnimationManager">How to use AnimationManager</a>
+ * @see com.alee.managers.animation.AnimationManager
+ * @see MergeableEvent
+ */
+public final class FrameEventHandler implements EventHandler
+{
+    /**
+     * Globally available handler instance.
+     * Useful since there might be no point in spawning additional instances.
+     */
+    private static volatile FrameEventHandler instance;
+
+    /**
+     * Lock for pending frame and statistics.
+     */
+    private final Object lock;
+
+    /**
+     * Task performing pending frame on Event Dispatch Thread.
+     */
+    private final Runnable frameTask;
+
+    /**
+     * Events of the pending frame.
+     * Obsolete {@link MergeableEvent}s are replaced with {@code null}.
+     */
+    private List<Runnable> events;
+
+    /**
+     * Indices of {@link MergeableEvent}s within pending frame events.
+     */
+    private final Map<Object, Integer> mergeable;
+
+    /**
+     * Whether or not pending frame is already scheduled on Event Dispatch Thread.
+     */
+    private boolean scheduled;
+
+    /**
+     * Amount of performed frames.
+     */
+    private long frames;
+
+    /**
+     * Amount of performed events.
+     */
+    private long performed;
+
+    /**
+     * Amount of obsolete events that were dropped.
+     */
+    private long dropped;
+
+    /**
+     * Total time in nanoseconds spent on performing frames.
+     */
+    private long totalFrameTime;
+
+    /**
+     * Maximum time in nanoseconds spent on performing single frame.
+     */
+    private long maxFrameTime;
+
+    /**
+     * Returns globally available handler instance.
+     *
+     * @return globally available handler instance
+     */
+    public static FrameEventHandler get ()
+    {
+        if ( instance == null )
+        {
+            synchronized ( FrameEventHandler.class )
+            {
+                if ( instance == null )
+                {
+                    instance = new FrameEventHandler ();
+                }
+            }
+        }
+        return instance;
+    }
+
+    /**
+     * Constructs new {@link FrameEventHandler}.
+     */
+    public FrameEventHandler ()
+    {
+        this.lock = new Object ();
+        this.events = new ArrayList<Runnable> ();
+        this.mergeable = new HashMap<Object, Integer> ();
+        this.scheduled = false;
+        this.frameTask = new Runnable ()
+        {
+            @Override
+            public void run ()
+            {
+                performFrame ();
+            }
+        };
+    }
+
+    @Override
+    public void handle ( final Runnable event )
+    {
+        synchronized ( lock )
+        {
+            // Dropping obsolete event from pending frame
+            if ( event instanceof MergeableEvent )
+            {
+                final Integer index = mergeable.put ( ( ( MergeableEvent ) event ).getMergeKey (), events.size () );
+                if ( index != null )
+                {
+                    events.set ( index, null );
+                    dropped++;
+                }
+            }
+
+            // Adding event into pending frame
+            events.add ( event );
+
+            // Scheduling frame
+            if ( !scheduled )
+            {
+                scheduled = true;
+                CoreSwingUtils.invokeLater ( frameTask );
+            }
+        }
+    }
+
+    /**
+     * Performs all events of the pending frame.
+     * Events submitted while frame is performed will be performed in the next frame.
+     */
+    private void performFrame ()
+    {
+        // Retrieving pending frame
+        final List<Runnable> frame;
+        synchronized ( lock )
+        {
+            frame = events;
+            events = new ArrayList<Runnable> ( frame.size () );
+            mergeable.clear ();
+            scheduled = false;
+        }
+
+        // Performing frame events
+        final long start = System.nanoTime ();
+        int count = 0;
+        for ( final Runnable event : frame )
+        {
+            if ( event != null )
+            {
+                try
+                {
+                    event.run ();
+                }
+                catch ( final Exception e )
+                {
+                    // Each event is isolated to avoid affecting other events in the frame
+                    final String msg = "Unable to perform animation event: %s";
+                    LoggerFactory.getLogger ( FrameEventHandler.class ).error ( String.format ( msg, event ), e );
+                }
+                count++;
+            }
+        }
+        final long time = System.nanoTime () - start;
+
+        // Updating statistics
+        synchronized ( lock )
+        {
+            frames++;
+            performed += count;
+            totalFrameTime += time;
+            maxFrameTime = Math.max ( maxFrameTime, time );
+        }
+    }
+
+    /**
+     * Returns amount of performed frames.
+     *
+     * @return amount of performed frames
+     */
+    public long getFrames ()
+    {
+        synchronized ( lock )
+        {
+            return frames;
+        }
+    }
+
+    /**
+     * Returns amount of performed events.
+     *
+     * @return amount of performed events
+     */
+    public long getPerformedEvents ()
+    {
+        synchronized ( lock )
+        {
+            return performed;
+        }
+    }
+
+    /**
+     * Returns amount of obsolete events that were dropped.
+     *
+     * @return amount of obsolete events that were dropped
+     */
+    public long getDroppedEvents ()
+    {
+        synchronized ( lock )
+        {
+            return dropped;
+        }
+    }
+
+    /**
+     * Returns average time in milliseconds spent on Event Dispatch Thread for performing single frame.
+     *
+     * @return average time in milliseconds spent on Event Dispatch Thread for performing single frame
+     */
+    public double getAverageFrameTime ()
+    {
+        synchronized ( lock )
+        {
+            return frames > 0 ? totalFrameTime / ( double ) frames / 1000000.0 : 0;
+        }
+    }
+
+    /**
+     * Returns maximum time in milliseconds spent on Event Dispatch Thread for performing single frame.
+     *
+     * @return maximum time in milliseconds spent on Event Dispatch Thread for performing single frame
+     */
+    public double getMaxFrameTime ()
+    {
+        synchronized ( lock )
+        {
+            return maxFrameTime / 1000000.0;
+        }
+    }
+
+    /**
+     * Resets statistics.
+     */
+    public void resetStatistics ()
+    {
+        synchronized ( lock )
+        {
+            frames = 0;
+            performed = 0;
+            dropped = 0;
+            totalFrameTime = 0;
+            maxFrameTime = 0;
+        }
+    }
+}
\ No newline at end of file
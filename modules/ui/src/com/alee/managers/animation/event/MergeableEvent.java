@@ -0,0 +1,38 @@
+/*
+ * This file is part of WebLookAndFeel library.
+ *
+ * WebLookAndFeel library is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * WebLookAndFeel library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with WebLookAndFeel library.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.alee.managers.animation.event;
+
+/**
+ * Event {@link Runnable} that makes any older pending event with the same merge key obsolete.
+ * {@link EventHandler}s are not required to support merging, but those that do can skip obsolete events, for example
+ * {@link FrameEventHandler} only performs the latest value adjustment event of each transition within single frame.
+ *
+ * @author Mikle Garin
+ * @see <a href="https://github.com/mgarin/weblaf/wiki/How-to-use-AnimationManager">How to use AnimationManager</a>
+ * @see com.alee.managers.animation.AnimationManager
+ * @see FrameEventHandler
+ */
+public interface MergeableEvent extends Runnable
+{
+    /**
+     * Returns merge key, events with equal merge keys replace each other.
+     *
+     * @return merge key, events with equal merge keys replace each other
+     */
+    public Object getMergeKey ();
+}
\ No newline at end of file
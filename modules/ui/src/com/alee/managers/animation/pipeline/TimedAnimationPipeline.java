@@ -17,6 +17,7 @@
 
 package com.alee.managers.animation.pipeline;
 
+import com.alee.managers.animation.framerate.FrameRate;
 import com.alee.managers.animation.transition.Transition;
 import com.alee.utils.ReflectUtils;
 import com.alee.utils.TimeUtils;
@@ -34,6 +35,7 @@ import java.util.concurrent.ConcurrentSkipListSet;
  * 2. This pipeline does not guarantee that each transition frame will be executed exactly in time, but it tries to do so
  * 3. This pipeline do guarantee that each transition frame will be executed sooner or later depending on queue load and other factors
  * 4. Nanoseconds are used as unit of measurement as a more precise way to determine frames position on the timeline
+ * 5. Optional {@link FrameRate} limit can be used to cap the amount of frames performed per second for all transitions at once
  *
  * @author Mikle Garin
  * @see <a href="https://github.com/mgarin/weblaf/wiki/How-to-use-AnimationManager">How to use AnimationManager</a>
@@ -51,11 +53,30 @@ public final class TimedAnimationPipeline extends AbstractAnimationPipeline impl
      */
     private final Thread animator;
 
+    /**
+     * Maximum {@link FrameRate} for all transitions, {@code null} if it is not limited.
+     * Transitions with higher {@link FrameRate} will simply skip some of their frames.
+     */
+    private volatile FrameRate frameRateLimit;
+
     /**
      * Constructs new {@link TimedAnimationPipeline}.
      */
     public TimedAnimationPipeline ()
     {
+        this ( null );
+    }
+
+    /**
+     * Constructs new {@link TimedAnimationPipeline}.
+     *
+     * @param frameRateLimit maximum {@link FrameRate} for all transitions, {@code null} if it is not limited
+     */
+    public TimedAnimationPipeline ( final FrameRate frameRateLimit )
+    {
+        // Frame rate limit
+        this.frameRateLimit = frameRateLimit;
+
         // Concurrent transitions set
         transitions = new ConcurrentSkipListSet<Transition> ();
 
@@ -66,14 +87,35 @@ public final class TimedAnimationPipeline extends AbstractAnimationPipeline impl
         animator.start ();
     }
 
+    /**
+     * Returns maximum {@link FrameRate} for all transitions, {@code null} if it is not limited.
+     *
+     * @return maximum {@link FrameRate} for all transitions, {@code null} if it is not limited
+     */
+    public FrameRate getFrameRateLimit ()
+    {
+        return frameRateLimit;
+    }
+
+    /**
+     * Sets maximum {@link FrameRate} for all transitions.
+     *
+     * @param frameRateLimit maximum {@link FrameRate} for all transitions, {@code null} if it should not be limited
+     */
+    public void setFrameRateLimit ( final FrameRate frameRateLimit )
+    {
+        this.frameRateLimit = frameRateLimit;
+        reset ();
+    }
+
     @Override
     public void run ()
     {
         try
         {
             // Variable used to pass previous cycle start nano time
-            // For the first cycle it is always {@code -1}
-            long previousFrame = -1;
+            // For the first cycle it is animator start time, so transitions played before animator gets to wait are not missed
+            long previousFrame = System.nanoTime ();
 
             // Continue running until pipeline is terminated
             while ( !isTerminated () )
@@ -89,27 +131,23 @@ public final class TimedAnimationPipeline extends AbstractAnimationPipeline impl
                 // Synchronized by the pipeline instance to keep next transitions integrity and notify thread
                 synchronized ( TimedAnimationPipeline.this )
                 {
-                    // First frame is always ignored
-                    if ( previousFrame > 0 )
+                    // Calculating new list of transitions that should be processed next
+                    for ( final Transition transition : transitions )
                     {
-                        // Calculating new list of transitions that should be processed next
-                        for ( final Transition transition : transitions )
+                        // Performing next transition step
+                        // It is up to specific transition implementation to proceed
+                        final long untilNextFrame = transition.proceed ( previousFrame, currentFrame );
+
+                        // Checking time until next transition frame
+                        if ( untilNextFrame <= 0 )
+                        {
+                            // Removing finished or aborted transition from pipeline
+                            transitions.remove ( transition );
+                        }
+                        else if ( delay <= 0 || untilNextFrame < delay )
                         {
-                            // Performing next transition step
-                            // It is up to specific transition implementation to proceed
-                            final long untilNextFrame = transition.proceed ( previousFrame, currentFrame );
-
-                            // Checking time until next transition frame
-                            if ( untilNextFrame <= 0 )
-                            {
-                                // Removing finished or aborted transition from pipeline
-                                transitions.remove ( transition );
-                            }
-                            else if ( delay <= 0 || untilNextFrame < delay )
-                            {
-                                // Updating next delay based on current transition if it is still running
-                                delay = untilNextFrame;
-                            }
+                            // Updating next delay based on current transition if it is still running
+                            delay = untilNextFrame;
                         }
                     }
 
@@ -122,6 +160,13 @@ public final class TimedAnimationPipeline extends AbstractAnimationPipeline impl
                     // We will either wait until someone wakes up animator or delay ends
                     if ( delay > 0 )
                     {
+                        // Making sure we do not exceed frame rate limit
+                        final FrameRate limit = frameRateLimit;
+                        if ( limit != null )
+                        {
+                            delay = Math.max ( delay, Math.round ( TimeUtils.nsInSecond / limit.value () ) );
+                        }
+
                         // We need to limit delay to 1 millisecond minimum to avoid zero delay here
                         // No frames will be skipped in any case so we shouldn't worry about waiting extra time here
                         final long nextDelayMs = Math.round ( delay / TimeUtils.nsInMillisecond );
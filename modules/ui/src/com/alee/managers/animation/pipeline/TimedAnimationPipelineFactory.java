@@ -17,6 +17,7 @@
 
 package com.alee.managers.animation.pipeline;
 
+import com.alee.managers.animation.framerate.FrameRate;
 import com.alee.managers.animation.transition.Transition;
 
 /**
@@ -38,7 +39,28 @@ public final class TimedAnimationPipelineFactory implements AnimationPipelineFac
      */
     public TimedAnimationPipelineFactory ()
     {
-        this.pipeline = new TimedAnimationPipeline ();
+        this ( null );
+    }
+
+    /**
+     * Constructs new {@link TimedAnimationPipelineFactory}.
+     *
+     * @param frameRateLimit maximum {@link FrameRate} for all transitions, {@code null} if it is not limited
+     */
+    public TimedAnimationPipelineFactory ( final FrameRate frameRateLimit )
+    {
+        this.pipeline = new TimedAnimationPipeline ( frameRateLimit );
+    }
+
+    /**
+     * Returns {@link TimedAnimationPipeline} used for all transitions.
+     * It can be used to adjust {@link TimedAnimationPipeline#setFrameRateLimit(FrameRate)} at runtime.
+     *
+     * @return {@link TimedAnimationPipeline} used for all transitions
+     */
+    public TimedAnimationPipeline getPipeline ()
+    {
+        return pipeline;
     }
 
     @Override
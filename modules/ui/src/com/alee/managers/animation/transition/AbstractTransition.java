@@ -22,6 +22,7 @@ import com.alee.api.jdk.Objects;
 import com.alee.managers.animation.AnimationException;
 import com.alee.managers.animation.AnimationManager;
 import com.alee.managers.animation.event.EventHandler;
+import com.alee.managers.animation.event.MergeableEvent;
 import com.alee.managers.animation.framerate.FixedFrameRate;
 import com.alee.managers.animation.framerate.FrameRate;
 
@@ -277,8 +278,15 @@ public abstract class AbstractTransition<V> implements Transition<V>
         if ( !isOptimizeEvents () || Objects.notEquals ( value, latest ) )
         {
             latest = value;
-            submit ( new Runnable ()
+            submit ( new MergeableEvent ()
             {
+                @Override
+                public Object getMergeKey ()
+                {
+                    // Only latest adjustment is important if there are a few of them pending
+                    return AbstractTransition.this;
+                }
+
                 @Override
                 public void run ()
                 {
@@ -252,18 +252,18 @@ public class TimedTransition<V> extends AbstractTransition<V>
                     else
                     {
                         // There are frames left, returning time until closest one
-                        final long nextFrame = frame + frameDelay;
+                        long nextFrame = frame + frameDelay;
+                        if ( nextFrame <= currentFrame )
+                        {
+                            // Multiple frames occurred between pipeline frames
+                            // Value is always calculated for the current time, so we simply skip frames that were missed
+                            nextFrame = currentFrame + frameDelay - ( currentFrame - transitionStart ) % frameDelay;
+                        }
                         if ( endFrame < nextFrame )
                         {
                             // Returning delay between current frame and final frame
                             return endFrame - currentFrame;
                         }
-                        else if ( nextFrame < currentFrame )
-                        {
-                            // Multiple frames occurred between pipeline frames
-                            // We have already fired the frame closest to the previousFrame time, proceeding to next
-                            return proceed ( frame, currentFrame );
-                        }
                         else
                         {
                             // Returning delay between current frame and next frame
@@ -121,9 +121,12 @@ public class HotkeyInfo
         return hotkeyData;
     }
 
+    @SuppressWarnings ( "deprecation" )
     public HotkeyInfo setHotkeyData ( final HotkeyData hotkeyData )
     {
+        final HotkeyData old = this.hotkeyData;
         this.hotkeyData = hotkeyData;
+        HotkeyManager.hotkeyDataChanged ( this, old );
         return this;
     }
 
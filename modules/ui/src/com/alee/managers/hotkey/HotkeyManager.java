@@ -18,6 +18,7 @@
 package com.alee.managers.hotkey;
 
 import com.alee.api.annotations.NotNull;
+import com.alee.api.annotations.Nullable;
 import com.alee.api.jdk.BiConsumer;
 import com.alee.api.jdk.BiPredicate;
 import com.alee.api.jdk.Function;
@@ -31,9 +32,15 @@ import javax.swing.*;
 import java.awt.*;
 import java.awt.event.AWTEventListener;
 import java.awt.event.KeyEvent;
+import java.lang.ref.Reference;
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
 
 /**
  * This manager allows you to quickly register global hotkeys (like accelerators on menu items in menubar menus) for any Swing component.
@@ -111,6 +118,23 @@ public final class HotkeyManager
     private static final WeakComponentDataList<JComponent, HotkeyCondition> containerConditions =
             new WeakComponentDataList<JComponent, HotkeyCondition> ( "HotkeyManager.HotkeyCondition", 5 );
 
+    /**
+     * Hotkeys index lock.
+     */
+    private static final Object indexLock = new Object ();
+
+    /**
+     * Hotkeys index.
+     * Entry: [ key code and modifiers -> indexed hotkeys ]
+     * It allows checking only hotkeys that can be triggered by the pressed key instead of all registered hotkeys.
+     */
+    private static final Map<Long, List<IndexedHotkey>> hotkeysIndex = new HashMap<Long, List<IndexedHotkey>> ();
+
+    /**
+     * Queue of indexed hotkeys that were garbage collected along with their components.
+     */
+    private static final ReferenceQueue<HotkeyInfo> indexQueue = new ReferenceQueue<HotkeyInfo> ();
+
     /**
      * Initialization mark.
      */
@@ -139,10 +163,7 @@ public final class HotkeyManager
                         final KeyEvent e = ( KeyEvent ) event;
                         if ( !e.isConsumed () && e.getID () == KeyEvent.KEY_PRESSED )
                         {
-                            if ( hotkeyForEventExists ( e ) )
-                            {
-                                processHotkeys ( e );
-                            }
+                            processHotkeys ( e );
                         }
                     }
                 }
@@ -151,56 +172,17 @@ public final class HotkeyManager
     }
 
     /**
-     * Returns whether at least one hotkey for the specified key event exists or not.
+     * Processes all registered hotkeys that can be triggered by the specified key event.
      * todo Might need a rework since events like Ctrl+Alt+A won't trigger Ctrl+A hotkey
      *
-     * @param keyEvent key event to search hotkeys for
-     * @return true if at least one hotkey for the specified key event exists, false otherwise
-     */
-    private static boolean hotkeyForEventExists ( @NotNull final KeyEvent keyEvent )
-    {
-        boolean exists = false;
-        for ( final HotkeyInfo hotkeyInfo : globalHotkeys )
-        {
-            if ( hotkeyInfo.getHotkeyData ().isTriggered ( keyEvent ) )
-            {
-                exists = true;
-                break;
-            }
-        }
-        if ( !exists )
-        {
-            exists = hotkeys.anyDataMatch ( new BiPredicate<JComponent, HotkeyInfo> ()
-            {
-                @Override
-                public boolean test ( @NotNull final JComponent component, @NotNull final HotkeyInfo hotkeyInfo )
-                {
-                    return hotkeyInfo.getHotkeyData ().isTriggered ( keyEvent );
-                }
-            } );
-        }
-        return exists;
-    }
-
-    /**
-     * Processes all available registered hotkeys.
-     *
      * @param e key event
      */
     private static void processHotkeys ( @NotNull final KeyEvent e )
     {
-        for ( final HotkeyInfo hotkeyInfo : globalHotkeys )
+        for ( final HotkeyInfo hotkeyInfo : getIndexedHotkeys ( e ) )
         {
             processHotkey ( e, hotkeyInfo );
         }
-        hotkeys.forEachData ( new BiConsumer<JComponent, HotkeyInfo> ()
-        {
-            @Override
-            public void accept ( @NotNull final JComponent component, @NotNull final HotkeyInfo hotkeyInfo )
-            {
-                processHotkey ( e, hotkeyInfo );
-            }
-        } );
     }
 
     /**
@@ -447,6 +429,7 @@ public final class HotkeyManager
         {
             // Component hotkey
             hotkeys.add ( forComponent, hotkeyInfo );
+            addToIndex ( hotkeyInfo, hotkeyInfo.getHotkeyData (), false );
         }
         else
         {
@@ -454,6 +437,7 @@ public final class HotkeyManager
             if ( !globalHotkeys.contains ( hotkeyInfo ) )
             {
                 globalHotkeys.add ( hotkeyInfo );
+                addToIndex ( hotkeyInfo, hotkeyInfo.getHotkeyData (), true );
             }
         }
     }
@@ -467,18 +451,213 @@ public final class HotkeyManager
             {
                 // Clearing component hotkey cache
                 hotkeys.remove ( forComponent, hotkeyInfo );
+                removeFromIndex ( hotkeyInfo, hotkeyInfo.getHotkeyData () );
             }
             else
             {
                 // Clearing global hotkey cache
-                globalHotkeys.remove ( hotkeyInfo );
+                if ( globalHotkeys.remove ( hotkeyInfo ) )
+                {
+                    removeFromIndex ( hotkeyInfo, hotkeyInfo.getHotkeyData () );
+                }
             }
         }
     }
 
     private static void clearHotkeysCache ( final JComponent component )
     {
-        hotkeys.clear ( component );
+        hotkeys.clear ( component, new BiConsumer<JComponent, List<HotkeyInfo>> ()
+        {
+            @Override
+            public void accept ( @NotNull final JComponent component, @NotNull final List<HotkeyInfo> hotkeyInfos )
+            {
+                for ( final HotkeyInfo hotkeyInfo : hotkeyInfos )
+                {
+                    removeFromIndex ( hotkeyInfo, hotkeyInfo.getHotkeyData () );
+                }
+            }
+        } );
+    }
+
+    /**
+     * Hotkeys index methods
+     */
+
+    /**
+     * Returns hotkeys index key for the specified key code and modifiers.
+     *
+     * @param keyCode key code
+     * @param ctrl    whether or not system shortcut modifier is required
+     * @param alt     whether or not ALT modifier is required
+     * @param shift   whether or not SHIFT modifier is required
+     * @return hotkeys index key for the specified key code and modifiers
+     */
+    @NotNull
+    private static Long getIndexKey ( final int keyCode, final boolean ctrl, final boolean alt, final boolean shift )
+    {
+        return ( long ) keyCode << 3 | ( ctrl ? 1 : 0 ) | ( alt ? 2 : 0 ) | ( shift ? 4 : 0 );
+    }
+
+    /**
+     * Returns hotkeys index key for the specified {@link HotkeyData} or {@code null} if it cannot be triggered.
+     *
+     * @param hotkeyData {@link HotkeyData}
+     * @return hotkeys index key for the specified {@link HotkeyData} or {@code null} if it cannot be triggered
+     */
+    @Nullable
+    private static Long getIndexKey ( @Nullable final HotkeyData hotkeyData )
+    {
+        return hotkeyData != null && hotkeyData.getKeyCode () != null ?
+                getIndexKey ( hotkeyData.getKeyCode (), hotkeyData.isCtrl (), hotkeyData.isAlt (), hotkeyData.isShift () ) : null;
+    }
+
+    /**
+     * Adds hotkey into hotkeys index.
+     *
+     * @param hotkeyInfo {@link HotkeyInfo} to add
+     * @param hotkeyData {@link HotkeyData} to index hotkey by
+     * @param global     whether or not hotkey is global
+     */
+    private static void addToIndex ( @NotNull final HotkeyInfo hotkeyInfo, @Nullable final HotkeyData hotkeyData, final boolean global )
+    {
+        final Long key = getIndexKey ( hotkeyData );
+        if ( key != null )
+        {
+            synchronized ( indexLock )
+            {
+                expungeIndex ();
+                List<IndexedHotkey> indexed = hotkeysIndex.get ( key );
+                if ( indexed == null )
+                {
+                    indexed = new ArrayList<IndexedHotkey> ( 1 );
+                    hotkeysIndex.put ( key, indexed );
+                }
+                indexed.add ( new IndexedHotkey ( hotkeyInfo, key, global ) );
+            }
+        }
+    }
+
+    /**
+     * Removes hotkey from hotkeys index.
+     *
+     * @param hotkeyInfo {@link HotkeyInfo} to remove
+     * @param hotkeyData {@link HotkeyData} hotkey was indexed by
+     */
+    private static void removeFromIndex ( @NotNull final HotkeyInfo hotkeyInfo, @Nullable final HotkeyData hotkeyData )
+    {
+        final Long key = getIndexKey ( hotkeyData );
+        if ( key != null )
+        {
+            synchronized ( indexLock )
+            {
+                expungeIndex ();
+                final List<IndexedHotkey> indexed = hotkeysIndex.get ( key );
+                if ( indexed != null )
+                {
+                    for ( int i = 0; i < indexed.size (); i++ )
+                    {
+                        if ( indexed.get ( i ).get () == hotkeyInfo )
+                        {
+                            indexed.remove ( i );
+                            break;
+                        }
+                    }
+                    if ( indexed.isEmpty () )
+                    {
+                        hotkeysIndex.remove ( key );
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Updates hotkeys index after {@link HotkeyData} of the registered hotkey has changed.
+     *
+     * @param hotkeyInfo    {@link HotkeyInfo} that has changed
+     * @param oldHotkeyData previous {@link HotkeyData}
+     */
+    static void hotkeyDataChanged ( @NotNull final HotkeyInfo hotkeyInfo, @Nullable final HotkeyData oldHotkeyData )
+    {
+        final Long oldKey = getIndexKey ( oldHotkeyData );
+        final Long newKey = getIndexKey ( hotkeyInfo.getHotkeyData () );
+        if ( oldKey == null ? newKey != null : !oldKey.equals ( newKey ) )
+        {
+            final JComponent forComponent = hotkeyInfo.getForComponent ();
+            if ( forComponent != null ? hotkeys.containsData ( forComponent, hotkeyInfo ) : globalHotkeys.contains ( hotkeyInfo ) )
+            {
+                removeFromIndex ( hotkeyInfo, oldHotkeyData );
+                addToIndex ( hotkeyInfo, hotkeyInfo.getHotkeyData (), forComponent == null );
+            }
+        }
+    }
+
+    /**
+     * Returns indexed hotkeys that might be triggered by the specified key event.
+     * Global hotkeys are always returned first, same as they are always processed first.
+     * Only these hotkeys are visited when the specified key event is processed.
+     *
+     * @param e key event
+     * @return indexed hotkeys that might be triggered by the specified key event
+     */
+    @NotNull
+    static List<HotkeyInfo> getIndexedHotkeys ( @NotNull final KeyEvent e )
+    {
+        final List<HotkeyInfo> hotkeyInfos;
+        final Long key = getIndexKey ( e.getKeyCode (), SwingUtils.isShortcut ( e ), SwingUtils.isAlt ( e ), SwingUtils.isShift ( e ) );
+        synchronized ( indexLock )
+        {
+            expungeIndex ();
+            final List<IndexedHotkey> indexed = hotkeysIndex.get ( key );
+            if ( indexed != null )
+            {
+                hotkeyInfos = new ArrayList<HotkeyInfo> ( indexed.size () );
+                for ( final IndexedHotkey indexedHotkey : indexed )
+                {
+                    final HotkeyInfo hotkeyInfo = indexedHotkey.get ();
+                    if ( hotkeyInfo != null && indexedHotkey.global )
+                    {
+                        hotkeyInfos.add ( hotkeyInfo );
+                    }
+                }
+                for ( final IndexedHotkey indexedHotkey : indexed )
+                {
+                    // Hotkeys of components that were already garbage collected are ignored
+                    final HotkeyInfo hotkeyInfo = indexedHotkey.get ();
+                    if ( hotkeyInfo != null && !indexedHotkey.global && hotkeyInfo.getForComponent () != null )
+                    {
+                        hotkeyInfos.add ( hotkeyInfo );
+                    }
+                }
+            }
+            else
+            {
+                hotkeyInfos = Collections.emptyList ();
+            }
+        }
+        return hotkeyInfos;
+    }
+
+    /**
+     * Removes hotkeys garbage collected along with their components from hotkeys index.
+     * Should only be called under {@link #indexLock}.
+     */
+    private static void expungeIndex ()
+    {
+        Reference<? extends HotkeyInfo> reference;
+        while ( ( reference = indexQueue.poll () ) != null )
+        {
+            final IndexedHotkey indexedHotkey = ( IndexedHotkey ) reference;
+            final List<IndexedHotkey> indexed = hotkeysIndex.get ( indexedHotkey.key );
+            if ( indexed != null )
+            {
+                indexed.remove ( indexedHotkey );
+                if ( indexed.isEmpty () )
+                {
+                    hotkeysIndex.remove ( indexedHotkey.key );
+                }
+            }
+        }
     }
 
     public static List<HotkeyInfo> getComponentHotkeys ( final JComponent component )
@@ -594,4 +773,36 @@ public final class HotkeyManager
     {
         HotkeyManager.transferFocus = transferFocus;
     }
+
+    /**
+     * Hotkeys index entry.
+     * It only weakly references {@link HotkeyInfo} since component hotkeys should be released along with their components.
+     */
+    private static final class IndexedHotkey extends WeakReference<HotkeyInfo>
+    {
+        /**
+         * Hotkeys index key.
+         */
+        @NotNull
+        private final Long key;
+
+        /**
+         * Whether or not hotkey is global.
+         */
+        private final boolean global;
+
+        /**
+         * Constructs new {@link IndexedHotkey}.
+         *
+         * @param hotkeyInfo {@link HotkeyInfo}
+         * @param key        hotkeys index key
+         * @param global     whether or not hotkey is global
+         */
+        public IndexedHotkey ( @NotNull final HotkeyInfo hotkeyInfo, @NotNull final Long key, final boolean global )
+        {
+            super ( hotkeyInfo, indexQueue );
+            this.key = key;
+            this.global = global;
+        }
+    }
 }
\ No newline at end of file
@@ -30,14 +30,19 @@ import java.awt.event.AWTEventListener;
 import java.awt.event.MouseEvent;
 import java.lang.ref.WeakReference;
 import java.util.ArrayList;
-import java.util.HashMap;
 import java.util.List;
-import java.util.Map;
 
 /**
  * This manager allows you to track certain component their children hover state by adding your custom {@link HoverTracker} or
  * {@link GlobalHoverListener} to track component hover state.
  *
+ * Hover updates are coalesced - no matter how many mouse and component events are received, at most one hover resolution is queued
+ * on EDT at any time and only the latest event is used for it. Mouse movement within the bounds of currently hovered {@link Component}
+ * doesn't cause any resolutions at all as long as hover can't possibly change.
+ *
+ * Hover state, queued resolutions and statistics are confined to EDT - they are only modified from {@link AWTEventListener}s and
+ * tasks queued on EDT, that is why they are not synchronized. Statistics should also be read and reset on EDT.
+ *
  * @author Mikle Garin
  * @see <a href="https://github.com/mgarin/weblaf/wiki/How-to-use-HoverManager">How to use HoverManager</a>
  */
@@ -81,11 +86,47 @@ public final class HoverManager
     private static WeakReference<Window> hoverOwnerWindow;
 
     /**
-     * Queue of hover events for {@link Component}s.
-     * Event time acts as a key, order is irrelevant hence the {@link Map} usage.
-     * All events are queued on EDT and will simply use this {@link Map} to retrieve hover {@link Component}.
+     * Whether or not mouse hover resolution is queued on EDT.
+     */
+    private static boolean mouseResolutionQueued = false;
+
+    /**
+     * {@link Component} latest queued mouse event was fired on, {@code null} if mouse has left it.
+     */
+    @Nullable
+    private static Component queuedComponent;
+
+    /**
+     * Point of the latest queued mouse event relative to {@link #queuedComponent}.
+     */
+    @Nullable
+    private static Point queuedPoint;
+
+    /**
+     * Whether or not post-layout hover resolution is queued on EDT.
+     */
+    private static boolean layoutResolutionQueued = false;
+
+    /**
+     * Amount of performed hover resolutions.
+     * This and other statistics counters are only accessed on EDT.
+     */
+    private static long resolutions = 0;
+
+    /**
+     * Amount of mouse events that did not require hover resolution.
+     */
+    private static long skippedEvents = 0;
+
+    /**
+     * Amount of events merged into already queued hover resolutions.
+     */
+    private static long coalescedEvents = 0;
+
+    /**
+     * Amount of fired hover changes.
      */
-    private static final Map<Long, Component> hoverEventQueue = new HashMap<Long, Component> ();
+    private static long changes = 0;
 
     /**
      * Whether manager is initialized or not.
@@ -122,17 +163,11 @@ public final class HoverManager
                     final MouseEvent mouseEvent = ( MouseEvent ) event;
                     if ( mouseEvent.getID () == MouseEvent.MOUSE_ENTERED )
                     {
-                        queueEvent (
-                                mouseEvent.getWhen (),
-                                findNearbyHoverOwner ( mouseEvent.getComponent (), mouseEvent.getPoint () )
-                        );
+                        queueEvent ( mouseEvent.getComponent (), mouseEvent.getPoint () );
                     }
                     else if ( mouseEvent.getID () == MouseEvent.MOUSE_EXITED )
                     {
-                        queueEvent (
-                                mouseEvent.getWhen (),
-                                null
-                        );
+                        queueEvent ( null, null );
                     }
                 }
             }, AWTEvent.MOUSE_EVENT_MASK );
@@ -152,10 +187,7 @@ public final class HoverManager
                     final MouseEvent mouseEvent = ( MouseEvent ) event;
                     if ( mouseEvent.getID () == MouseEvent.MOUSE_MOVED || mouseEvent.getID () == MouseEvent.MOUSE_DRAGGED )
                     {
-                        queueEvent (
-                                mouseEvent.getWhen (),
-                                findNearbyHoverOwner ( mouseEvent.getComponent (), mouseEvent.getPoint () )
-                        );
+                        queueEvent ( mouseEvent.getComponent (), mouseEvent.getPoint () );
                     }
                 }
             }, AWTEvent.MOUSE_MOTION_EVENT_MASK );
@@ -186,26 +218,148 @@ public final class HoverManager
      * Due to how these events are separated there is no convenient way to perform correct update right away.
      * We have to wait and see whether {@link MouseEvent#MOUSE_EXITED} was fired alone or not.
      *
-     * @param time      event time in milliseconds, used to determine paired events
-     * @param component {@link Component} that event was fired on
+     * Only one update is queued at a time, any events received before it is performed simply replace the previous one.
+     * If no update is queued and mouse is still within the bounds of current hover owner - no update is queued at all.
+     *
+     * @param component {@link Component} that event was fired on, {@code null} if mouse has left it
+     * @param point     event point relative to {@link Component}, {@code null} if mouse has left it
      */
-    private static void queueEvent ( final long time, @Nullable final Component component )
+    private static void queueEvent ( @Nullable final Component component, @Nullable final Point point )
     {
-        if ( !hoverEventQueue.containsKey ( time ) )
+        if ( mouseResolutionQueued )
+        {
+            // Replacing previously queued event
+            queuedComponent = component;
+            queuedPoint = point;
+            coalescedEvents++;
+        }
+        else if ( component != null && point != null && isWithinHoverOwner ( component, point ) )
+        {
+            // Hover owner cannot change
+            skippedEvents++;
+        }
+        else
         {
+            // Queueing new hover resolution
+            queuedComponent = component;
+            queuedPoint = point;
+            mouseResolutionQueued = true;
             SwingUtilities.invokeLater ( new Runnable ()
             {
                 @Override
                 public void run ()
                 {
-                    if ( hoverEventQueue.containsKey ( time ) )
+                    final Component component = queuedComponent;
+                    final Point point = queuedPoint;
+                    queuedComponent = null;
+                    queuedPoint = null;
+                    mouseResolutionQueued = false;
+                    fireHoverChanged ( component != null && point != null ? findNearbyHoverOwner ( component, point ) : null );
+                }
+            } );
+        }
+    }
+
+    /**
+     * Returns whether or not specified point is still within the bounds of the current hover owner and hover owner cannot change.
+     * This check follows path from the current hover owner to its {@link JRootPane} that was resolved previously and ensures that:
+     * - path is still intact and all of its {@link Component}s are still visible
+     * - none of the {@link Container}s on the path allow their children to overlap, see {@link JComponent#isOptimizedDrawingEnabled()}
+     * - point is within the bounds of the current hover owner and all of its parents but not within any of its children
+     * - point is not within any {@link Component} placed above the current hover owner or any of its parents
+     * If all conditions are met {@link #findNearbyHoverOwner(Component, Point)} would simply return current hover owner again.
+     *
+     * @param component {@link Component} that event was fired on
+     * @param point     event point relative to {@link Component}
+     * @return {@code true} if specified point is still within the bounds of the current hover owner, {@code false} otherwise
+     */
+    private static boolean isWithinHoverOwner ( @NotNull final Component component, @NotNull final Point point )
+    {
+        boolean within = false;
+        final Component owner = getHoverOwner ();
+        if ( owner != null && owner.isShowing () )
+        {
+            // Resolving owner location relative to its root pane through the previously resolved path
+            final JRootPane rootPane = CoreSwingUtils.getRootPane ( component );
+            int x = 0;
+            int y = 0;
+            boolean intact = true;
+            Component current = owner;
+            while ( current != rootPane && current != null )
+            {
+                final Container parent = current.getParent ();
+                if ( !current.isVisible () || !( parent instanceof JComponent ) || !( ( JComponent ) parent ).isOptimizedDrawingEnabled () )
+                {
+                    intact = false;
+                    break;
+                }
+                x += current.getX ();
+                y += current.getY ();
+                current = parent;
+            }
+            if ( intact && current != null && current.isVisible () && ( ( JComponent ) current ).isOptimizedDrawingEnabled () )
+            {
+                // Resolving event point relative to the owner
+                final Point relative = new Point ( point );
+                Component parent = component;
+                while ( parent != rootPane && parent != null )
+                {
+                    relative.x += parent.getX ();
+                    relative.y += parent.getY ();
+                    parent = parent.getParent ();
+                }
+                if ( parent != null )
+                {
+                    relative.x -= x;
+                    relative.y -= y;
+
+                    // Checking that point is within the owner and all of its parents but not within any of its children
+                    if ( CoreSwingUtils.getTopComponentAt ( owner, relative ) == owner )
                     {
-                        fireHoverChanged ( hoverEventQueue.remove ( time ) );
+                        within = true;
+                        current = owner;
+                        while ( within && current != rootPane )
+                        {
+                            relative.x += current.getX ();
+                            relative.y += current.getY ();
+                            final Container container = current.getParent ();
+                            within = container.contains ( relative ) && !isCovered ( container, current, relative );
+                            current = container;
+                        }
                     }
                 }
-            } );
+            }
+        }
+        return within;
+    }
+
+    /**
+     * Returns whether or not specified point is within any of the visible {@link Component}s placed above specified child.
+     * {@link CoreSwingUtils#getTopComponentAt(Component, Point)} checks children in the same order, so these are the only
+     * {@link Component}s that could take hover from the specified child.
+     *
+     * @param parent {@link Container} to check children of
+     * @param child  child {@link Component}
+     * @param point  point relative to {@link Container}
+     * @return {@code true} if specified point is within any of the visible {@link Component}s placed above specified child
+     */
+    private static boolean isCovered ( @NotNull final Container parent, @NotNull final Component child, @NotNull final Point point )
+    {
+        boolean covered = false;
+        for ( int i = 0; i < parent.getComponentCount (); i++ )
+        {
+            final Component other = parent.getComponent ( i );
+            if ( other == child )
+            {
+                break;
+            }
+            else if ( other.isVisible () && other.contains ( point.x - other.getX (), point.y - other.getY () ) )
+            {
+                covered = true;
+                break;
+            }
         }
-        hoverEventQueue.put ( time, component );
+        return covered;
     }
 
     /**
@@ -240,21 +394,33 @@ public final class HoverManager
      */
     private static void queuePostLayoutUpdateEvent ()
     {
-        SwingUtilities.invokeLater ( new Runnable ()
+        if ( layoutResolutionQueued )
+        {
+            // Update is already queued and will be performed after layout updates caused by this event
+            coalescedEvents++;
+        }
+        else
         {
-            @Override
-            public void run ()
+            layoutResolutionQueued = true;
+            SwingUtilities.invokeLater ( new Runnable ()
             {
-                SwingUtilities.invokeLater ( new Runnable ()
+                @Override
+                public void run ()
                 {
-                    @Override
-                    public void run ()
+                    // Any events received from this point will have their layout updates queued after the next update
+                    // So they require a separate update to be queued to ensure it runs past their layout updates
+                    layoutResolutionQueued = false;
+                    SwingUtilities.invokeLater ( new Runnable ()
                     {
-                        fireHoverChanged ( findPossibleHoverOwner () );
-                    }
-                } );
-            }
-        } );
+                        @Override
+                        public void run ()
+                        {
+                            fireHoverChanged ( findPossibleHoverOwner () );
+                        }
+                    } );
+                }
+            } );
+        }
     }
 
     /**
@@ -300,6 +466,7 @@ public final class HoverManager
     @Nullable
     private static Component findNearbyHoverOwner ( @Nullable final Component component, @NotNull final Point point )
     {
+        resolutions++;
         final Component newHoverOwner;
         if ( component != null )
         {
@@ -407,6 +574,62 @@ public final class HoverManager
         return hoverOwnerWindow != null ? hoverOwnerWindow.get () : null;
     }
 
+    /**
+     * Returns amount of performed hover resolutions.
+     * Should only be called on EDT.
+     *
+     * @return amount of performed hover resolutions
+     */
+    public static long getResolutions ()
+    {
+        return resolutions;
+    }
+
+    /**
+     * Returns amount of mouse events that did not require hover resolution.
+     * Should only be called on EDT.
+     *
+     * @return amount of mouse events that did not require hover resolution
+     */
+    public static long getSkippedEvents ()
+    {
+        return skippedEvents;
+    }
+
+    /**
+     * Returns amount of events merged into already queued hover resolutions.
+     * Should only be called on EDT.
+     *
+     * @return amount of events merged into already queued hover resolutions
+     */
+    public static long getCoalescedEvents ()
+    {
+        return coalescedEvents;
+    }
+
+    /**
+     * Returns amount of fired hover changes.
+     * Should only be called on EDT.
+     *
+     * @return amount of fired hover changes
+     */
+    public static long getChanges ()
+    {
+        return changes;
+    }
+
+    /**
+     * Resets hover statistics.
+     * Should only be called on EDT.
+     */
+    public static void resetStatistics ()
+    {
+        resolutions = 0;
+        skippedEvents = 0;
+        coalescedEvents = 0;
+        changes = 0;
+    }
+
     /**
      * Registers new {@link GlobalHoverListener}.
      * Use these listeners with care as they are not tied to anything and will remain in memory as long as you keep them registered.
@@ -506,6 +729,7 @@ public final class HoverManager
         if ( newHover != oldHover )
         {
             // Updating weak references
+            changes++;
             previousHoverOwner = new WeakReference<Component> ( oldHover );
             hoverOwner = new WeakReference<Component> ( newHover );
             hoverOwnerWindow = new WeakReference<Window> ( CoreSwingUtils.getWindowAncestor ( newHover ) );
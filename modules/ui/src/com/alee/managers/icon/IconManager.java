@@ -20,6 +20,7 @@ package com.alee.managers.icon;
 import com.alee.api.annotations.NotNull;
 import com.alee.api.annotations.Nullable;
 import com.alee.extended.svg.*;
+import com.alee.graphics.image.IconRasterCache;
 import com.alee.managers.icon.data.IconSource;
 import com.alee.managers.icon.data.ImageIconSource;
 import com.alee.managers.icon.data.SetIcon;
@@ -207,6 +208,7 @@ public final class IconManager
 
     /**
      * Clears global cache for the specified {@link IconSet}.
+     * Rasters cached in {@link IconRasterCache} for those icons, including shared {@link SvgIcon} diagram variants, are cleared as well.
      *
      * @param iconSet {@link IconSet} to clear global cache for
      */
@@ -214,26 +216,48 @@ public final class IconManager
     {
         for ( final String id : iconSet.getIds () )
         {
-            cache.remove ( id );
+            clearRasters ( cache.remove ( id ) );
         }
     }
 
     /**
      * Clears global cache for the specified {@link IconSource}.
+     * Rasters cached in {@link IconRasterCache} for that icon, including shared {@link SvgIcon} diagram variant, are cleared as well.
      *
      * @param icon {@link IconSource} to clear global cache for
      */
     public static void clearIconCache ( @NotNull final IconSource icon )
     {
-        cache.remove ( icon.getId () );
+        clearRasters ( cache.remove ( icon.getId () ) );
     }
 
     /**
      * Clears global cache for all icons.
+     * All rasters cached in {@link IconRasterCache} are cleared as well.
      */
     public static void clearIconCaches ()
     {
         cache.clear ();
+        IconRasterCache.clear ();
+    }
+
+    /**
+     * Clears rasters cached in {@link IconRasterCache} for the referenced {@link Icon}.
+     * Shared {@link SvgIcon}s cache rasters for their diagram variant rather than the icon itself, see {@link SvgIcon#invalidateRasters()}.
+     *
+     * @param reference {@link WeakReference} to {@link Icon}
+     */
+    private static void clearRasters ( @Nullable final WeakReference<Icon> reference )
+    {
+        final Icon icon = reference != null ? reference.get () : null;
+        if ( icon instanceof SvgIcon )
+        {
+            ( ( SvgIcon ) icon ).invalidateRasters ();
+        }
+        else if ( icon != null )
+        {
+            IconRasterCache.invalidate ( icon );
+        }
     }
 
     /**
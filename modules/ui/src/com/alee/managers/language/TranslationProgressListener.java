@@ -0,0 +1,51 @@
+/*
+ * This file is part of WebLookAndFeel library.
+ *
+ * WebLookAndFeel library is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * WebLookAndFeel library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with WebLookAndFeel library.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.alee.managers.language;
+
+import java.util.EventListener;
+
+/**
+ * This listener can be used to track progress of batched components translation in {@link UILanguageManager}.
+ * It is only informed about translation updates performed while {@link UILanguageManager#isBatchedUpdates()} is enabled.
+ *
+ * @author Mikle Garin
+ * @see UILanguageManager#addTranslationProgressListener(TranslationProgressListener)
+ * @see UILanguageManager#removeTranslationProgressListener(TranslationProgressListener)
+ * @see UILanguageManager#setBatchedUpdates(boolean)
+ */
+public interface TranslationProgressListener extends EventListener
+{
+    /**
+     * Notifies about components translation progress.
+     * It is called once visible components are translated and then after each translated chunk of hidden components.
+     *
+     * @param translated amount of already translated components
+     * @param total      total amount of components to translate
+     */
+    public void translationProgress ( int translated, int total );
+
+    /**
+     * Notifies that components translation has finished.
+     * If another batched translation update is started before this one finishes, it takes over the remaining components
+     * and this notification is only sent once for the new update.
+     *
+     * @param translated amount of translated components
+     * @param total      total amount of components to translate
+     */
+    public void translationFinished ( int translated, int total );
+}
\ No newline at end of file
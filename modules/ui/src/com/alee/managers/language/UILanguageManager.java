@@ -38,6 +38,9 @@ import com.alee.laf.tooltip.SwingToolTipLanguage;
 import com.alee.managers.language.data.Dictionary;
 import com.alee.managers.tooltip.CustomToolTipLanguage;
 import com.alee.utils.ArrayUtils;
+import com.alee.utils.CollectionUtils;
+import com.alee.utils.CoreSwingUtils;
+import com.alee.utils.collection.WeakHashSet;
 import com.alee.utils.swing.WeakComponentData;
 import com.alee.utils.swing.WeakComponentDataList;
 
@@ -108,6 +111,50 @@ public final class UILanguageManager
     private static final WeakComponentData<JComponent, TranslationKey> components =
             new WeakComponentData<JComponent, TranslationKey> ( "WebLanguageManager.TranslationKey", 100 );
 
+    /**
+     * Components registered for auto-translation indexed by their translation keys.
+     * Used to find components affected by {@link Dictionary} changes without checking every registered component.
+     * Components are referenced weakly, so this index doesn't prevent them from being garbage collected.
+     * Modifications of {@link #components} are also performed under this lock to keep both in sync.
+     *
+     * @see #updateComponents(Set)
+     */
+    @NotNull
+    private static final Map<String, Set<JComponent>> componentsIndex = new HashMap<String, Set<JComponent>> ( 100 );
+
+    /**
+     * Whether or not registered components should be translated in batches upon {@link Language} or {@link Dictionary} changes.
+     * Visible components are translated right away and hidden ones are translated afterwards in time-sliced chunks on EDT.
+     *
+     * @see #isBatchedUpdates()
+     * @see #setBatchedUpdates(boolean)
+     */
+    private static boolean batchedUpdates = false;
+
+    /**
+     * Maximum amount of milliseconds spent on translating a single chunk of hidden components in batched mode.
+     *
+     * @see #getBatchTimeSlice()
+     * @see #setBatchTimeSlice(int)
+     */
+    private static int batchTimeSlice = 10;
+
+    /**
+     * Currently running {@link TranslationBatch}.
+     * Starting new {@link TranslationBatch} stops the previous one and takes over its remaining components.
+     */
+    @Nullable
+    private static TranslationBatch currentBatch;
+
+    /**
+     * {@link TranslationProgressListener}s informed about batched translation progress.
+     *
+     * @see #addTranslationProgressListener(TranslationProgressListener)
+     * @see #removeTranslationProgressListener(TranslationProgressListener)
+     */
+    @NotNull
+    private static final List<TranslationProgressListener> progressListeners = new ArrayList<TranslationProgressListener> ( 2 );
+
     /**
      * Special comparator for sorting LanguageUpdaters list.
      */
@@ -309,6 +356,53 @@ public final class UILanguageManager
         checkComponentsTextForTranslations = check;
     }
 
+    /**
+     * Returns whether or not registered components are translated in batches upon {@link Language} or {@link Dictionary} changes.
+     *
+     * @return {@code true} if registered components are translated in batches, {@code false} otherwise
+     */
+    public static boolean isBatchedUpdates ()
+    {
+        return batchedUpdates;
+    }
+
+    /**
+     * Sets whether or not registered components should be translated in batches upon {@link Language} or {@link Dictionary} changes.
+     * In batched mode visible components are translated right away and hidden ones are translated afterwards in time-sliced
+     * chunks on EDT, so large amount of translated components doesn't freeze UI. Progress of batched translation can be
+     * tracked using {@link TranslationProgressListener}.
+     *
+     * @param batched whether or not registered components should be translated in batches
+     */
+    public static void setBatchedUpdates ( final boolean batched )
+    {
+        batchedUpdates = batched;
+    }
+
+    /**
+     * Returns maximum amount of milliseconds spent on translating a single chunk of hidden components in batched mode.
+     *
+     * @return maximum amount of milliseconds spent on translating a single chunk of hidden components in batched mode
+     */
+    public static int getBatchTimeSlice ()
+    {
+        return batchTimeSlice;
+    }
+
+    /**
+     * Sets maximum amount of milliseconds spent on translating a single chunk of hidden components in batched mode.
+     *
+     * @param timeSlice maximum amount of milliseconds spent on translating a single chunk of hidden components in batched mode
+     */
+    public static void setBatchTimeSlice ( final int timeSlice )
+    {
+        if ( timeSlice <= 0 )
+        {
+            throw new IllegalArgumentException ( "Batch time slice must be positive: " + timeSlice );
+        }
+        batchTimeSlice = timeSlice;
+    }
+
     /**
      * Returns {@link Icon} for the specified {@link Language}.
      * By default there are {@link Icon}s only for languages supported by WebLaF.
@@ -650,7 +744,7 @@ public final class UILanguageManager
         final Object[] actualData = data != null && data.length == 0 ? null : data;
 
         // Registering component
-        components.set ( component, new TranslationKey ( key, actualData ) );
+        setTranslationKey ( component, new TranslationKey ( key, actualData ) );
 
         // Updating component language
         updateComponent ( component );
@@ -667,7 +761,14 @@ public final class UILanguageManager
         mustBeInitialized ();
 
         // Unregistering component
-        components.clear ( component );
+        synchronized ( componentsIndex )
+        {
+            final TranslationKey translationKey = components.clear ( component );
+            if ( translationKey != null )
+            {
+                removeFromIndex ( translationKey.getKey (), component );
+            }
+        }
     }
 
     /**
@@ -704,6 +805,7 @@ public final class UILanguageManager
 
     /**
      * Forces full language update for all registered components.
+     * Update is performed in batches if {@link #isBatchedUpdates()} is enabled.
      */
     public static void updateComponents ()
     {
@@ -711,18 +813,12 @@ public final class UILanguageManager
         mustBeInitialized ();
 
         // Updating all registered components
-        components.forEach ( new BiConsumer<JComponent, TranslationKey> ()
-        {
-            @Override
-            public void accept ( @NotNull final JComponent component, @NotNull final TranslationKey translationKey )
-            {
-                updateComponent ( component );
-            }
-        } );
+        updateComponents ( CollectionUtils.toList ( components.components () ) );
     }
 
     /**
      * Forces language update for components with the specified keys.
+     * Update is performed in batches if {@link #isBatchedUpdates()} is enabled.
      *
      * @param keys language keys of the components to update
      */
@@ -731,18 +827,64 @@ public final class UILanguageManager
         // Must be initialized
         mustBeInitialized ();
 
-        // Updating components registered for provided keys
-        components.forEach ( new BiConsumer<JComponent, TranslationKey> ()
+        // Collecting components registered for provided keys
+        final List<JComponent> affected = new ArrayList<JComponent> ();
+        synchronized ( componentsIndex )
         {
-            @Override
-            public void accept ( @NotNull final JComponent component, @NotNull final TranslationKey translationKey )
+            for ( final String key : keys )
             {
-                if ( keys.contains ( translationKey.getKey () ) )
+                final Set<JComponent> indexed = componentsIndex.get ( key );
+                if ( indexed != null )
                 {
-                    updateComponent ( component );
+                    if ( indexed.isEmpty () )
+                    {
+                        // Removing key for garbage collected components
+                        componentsIndex.remove ( key );
+                    }
+                    else
+                    {
+                        affected.addAll ( indexed );
+                    }
                 }
             }
-        } );
+        }
+
+        // Updating components registered for provided keys
+        updateComponents ( affected );
+    }
+
+    /**
+     * Forces language update for the specified components.
+     * Components that are no longer registered by the time of the update are skipped.
+     *
+     * @param components components to update
+     */
+    private static void updateComponents ( @NotNull final List<JComponent> components )
+    {
+        if ( batchedUpdates )
+        {
+            new TranslationBatch ( components ).start ();
+        }
+        else
+        {
+            for ( final JComponent component : components )
+            {
+                updateRegisteredComponent ( component );
+            }
+        }
+    }
+
+    /**
+     * Forces {@link JComponent} language update if it is still registered.
+     *
+     * @param component {@link JComponent} to update
+     */
+    private static void updateRegisteredComponent ( @NotNull final JComponent component )
+    {
+        if ( components.contains ( component ) )
+        {
+            updateComponent ( component );
+        }
     }
 
     /**
@@ -796,7 +938,7 @@ public final class UILanguageManager
 
             // Updating component translation settings
             final TranslationKey translationKey = new TranslationKey ( key, actualData );
-            components.set ( component, translationKey );
+            setTranslationKey ( component, translationKey );
 
             // Updating component language
             final LanguageUpdater updater = getLanguageUpdater ( component );
@@ -860,6 +1002,127 @@ public final class UILanguageManager
         return actualData;
     }
 
+    /**
+     * Stores {@link TranslationKey} for the specified {@link JComponent} and updates {@link #componentsIndex}.
+     *
+     * @param component      {@link JComponent} to store {@link TranslationKey} for
+     * @param translationKey {@link TranslationKey}
+     */
+    private static void setTranslationKey ( @NotNull final JComponent component, @NotNull final TranslationKey translationKey )
+    {
+        synchronized ( componentsIndex )
+        {
+            final TranslationKey oldKey = components.set ( component, translationKey );
+            if ( oldKey != null )
+            {
+                removeFromIndex ( oldKey.getKey (), component );
+            }
+            Set<JComponent> indexed = componentsIndex.get ( translationKey.getKey () );
+            if ( indexed == null )
+            {
+                indexed = new WeakHashSet<JComponent> ( 1 );
+                componentsIndex.put ( translationKey.getKey (), indexed );
+            }
+            indexed.add ( component );
+        }
+    }
+
+    /**
+     * Removes {@link JComponent} from {@link #componentsIndex} under the specified translation key.
+     * Must be called under {@link #componentsIndex} lock.
+     *
+     * @param key       translation key
+     * @param component {@link JComponent} to remove
+     */
+    private static void removeFromIndex ( @NotNull final String key, @NotNull final JComponent component )
+    {
+        final Set<JComponent> indexed = componentsIndex.get ( key );
+        if ( indexed != null )
+        {
+            indexed.remove ( component );
+            if ( indexed.isEmpty () )
+            {
+                componentsIndex.remove ( key );
+            }
+        }
+    }
+
+    /**
+     * Returns copy of {@link JComponent}s indexed under the specified translation key.
+     *
+     * @param key translation key
+     * @return copy of {@link JComponent}s indexed under the specified translation key, {@code null} if key is not indexed
+     */
+    @Nullable
+    static List<JComponent> getIndexedComponents ( @NotNull final String key )
+    {
+        synchronized ( componentsIndex )
+        {
+            final Set<JComponent> indexed = componentsIndex.get ( key );
+            return indexed != null ? new ArrayList<JComponent> ( indexed ) : null;
+        }
+    }
+
+    /**
+     * Adds {@link TranslationProgressListener}.
+     *
+     * @param listener {@link TranslationProgressListener} to add
+     */
+    public static void addTranslationProgressListener ( @NotNull final TranslationProgressListener listener )
+    {
+        synchronized ( progressListeners )
+        {
+            progressListeners.add ( listener );
+        }
+    }
+
+    /**
+     * Removes {@link TranslationProgressListener}.
+     *
+     * @param listener {@link TranslationProgressListener} to remove
+     */
+    public static void removeTranslationProgressListener ( @NotNull final TranslationProgressListener listener )
+    {
+        synchronized ( progressListeners )
+        {
+            progressListeners.remove ( listener );
+        }
+    }
+
+    /**
+     * Informs {@link TranslationProgressListener}s about batched translation progress.
+     *
+     * @param translated amount of already translated components
+     * @param total      total amount of components to translate
+     */
+    private static void fireTranslationProgress ( final int translated, final int total )
+    {
+        synchronized ( progressListeners )
+        {
+            for ( final TranslationProgressListener listener : CollectionUtils.copy ( progressListeners ) )
+            {
+                listener.translationProgress ( translated, total );
+            }
+        }
+    }
+
+    /**
+     * Informs {@link TranslationProgressListener}s that batched translation has finished.
+     *
+     * @param translated amount of translated components
+     * @param total      total amount of components to translate
+     */
+    private static void fireTranslationFinished ( final int translated, final int total )
+    {
+        synchronized ( progressListeners )
+        {
+            for ( final TranslationProgressListener listener : CollectionUtils.copy ( progressListeners ) )
+            {
+                listener.translationFinished ( translated, total );
+            }
+        }
+    }
+
     /**
      * Adds new {@link LanguageListener} tied to the specified {@link JComponent}.
      * Unlike {@link LanguageManager#addLanguageListener(LanguageListener)} using this method will not store hard references
@@ -997,4 +1260,156 @@ public final class UILanguageManager
             }
         } );
     }
+
+    /**
+     * Batched translation update for a list of registered components.
+     * Visible components are translated first in a single pass and then hidden ones are translated in time-sliced chunks,
+     * each chunk being a separate EDT event, so that UI stays responsive during the update.
+     */
+    private static final class TranslationBatch implements Runnable
+    {
+        /**
+         * Components to translate.
+         * Visible components are moved to the beginning of the list upon first pass.
+         */
+        @NotNull
+        private final List<JComponent> components;
+
+        /**
+         * Previously running {@link TranslationBatch} which remaining components are taken over upon first pass.
+         */
+        @Nullable
+        private TranslationBatch previous;
+
+        /**
+         * Index of the next component to translate.
+         */
+        private int index;
+
+        /**
+         * Constructs new {@link TranslationBatch}.
+         *
+         * @param components components to translate
+         */
+        public TranslationBatch ( @NotNull final List<JComponent> components )
+        {
+            this.components = components;
+            this.index = -1;
+        }
+
+        /**
+         * Starts this {@link TranslationBatch} and stops previous one if it is still running.
+         * Remaining components of the previous {@link TranslationBatch} are translated by this one.
+         * Visible components are translated right away if this method is called on EDT.
+         */
+        public void start ()
+        {
+            synchronized ( progressListeners )
+            {
+                previous = currentBatch;
+                currentBatch = this;
+            }
+            CoreSwingUtils.invokeOnEventDispatchThread ( this );
+        }
+
+        @Override
+        public void run ()
+        {
+            if ( isCurrent () )
+            {
+                if ( index == -1 )
+                {
+                    // Taking over remaining components of the previous batch
+                    if ( previous != null )
+                    {
+                        final Set<JComponent> unique = new HashSet<JComponent> ( components );
+                        previous.collectRemaining ( components, unique );
+                        previous = null;
+                    }
+
+                    // Translating visible components first
+                    final List<JComponent> hidden = new ArrayList<JComponent> ( components.size () );
+                    index = 0;
+                    for ( final JComponent component : components )
+                    {
+                        if ( component.isShowing () )
+                        {
+                            components.set ( index++, component );
+                            updateRegisteredComponent ( component );
+                        }
+                        else
+                        {
+                            hidden.add ( component );
+                        }
+                    }
+                    for ( int i = 0; i < hidden.size (); i++ )
+                    {
+                        components.set ( index + i, hidden.get ( i ) );
+                    }
+                }
+                else
+                {
+                    // Translating next chunk of hidden components
+                    final long deadline = System.nanoTime () + batchTimeSlice * 1000000L;
+                    while ( index < components.size () && System.nanoTime () < deadline )
+                    {
+                        updateRegisteredComponent ( components.get ( index++ ) );
+                    }
+                }
+
+                // Informing about progress and scheduling next chunk
+                if ( index < components.size () )
+                {
+                    fireTranslationProgress ( index, components.size () );
+                    CoreSwingUtils.invokeLater ( this );
+                }
+                else
+                {
+                    synchronized ( progressListeners )
+                    {
+                        currentBatch = null;
+                    }
+                    fireTranslationFinished ( index, components.size () );
+                }
+            }
+        }
+
+        /**
+         * Collects components this {@link TranslationBatch} didn't translate yet, including ones taken over from previous batch.
+         * Must only be called on EDT after this {@link TranslationBatch} was replaced with a newer one.
+         *
+         * @param remaining list to collect remaining components into
+         * @param unique    components that are already collected
+         */
+        private void collectRemaining ( @NotNull final List<JComponent> remaining, @NotNull final Set<JComponent> unique )
+        {
+            for ( int i = Math.max ( index, 0 ); i < components.size (); i++ )
+            {
+                final JComponent component = components.get ( i );
+                if ( unique.add ( component ) )
+                {
+                    remaining.add ( component );
+                }
+            }
+            if ( previous != null )
+            {
+                previous.collectRemaining ( remaining, unique );
+                previous = null;
+            }
+            index = components.size ();
+        }
+
+        /**
+         * Returns whether or not this is the currently running {@link TranslationBatch}.
+         *
+         * @return {@code true} if this is the currently running {@link TranslationBatch}, {@code false} otherwise
+         */
+        private boolean isCurrent ()
+        {
+            synchronized ( progressListeners )
+            {
+                return currentBatch == this;
+            }
+        }
+    }
 }
\ No newline at end of file
@@ -356,16 +356,42 @@ public final class UISettingsManager
 
     /**
      * Saves all registered {@link JComponent}s settings.
+     * This method returns only after all settings are written.
      */
     public static void saveSettings ()
     {
         // Event Dispatch Thread check
         WebLookAndFeel.checkEventDispatchThread ();
 
+        // Saving component settings
+        saveComponentSettings ();
+
         // Saving plain settings
         SettingsManager.saveSettings ();
+    }
+
+    /**
+     * Saves all registered {@link JComponent}s settings without waiting for them to be written.
+     * Settings are written by {@link SettingsWriter} on its own thread, use {@link SettingsManager#awaitPersisted(long)} to wait for
+     * them to be written.
+     */
+    public static void saveSettingsLater ()
+    {
+        // Event Dispatch Thread check
+        WebLookAndFeel.checkEventDispatchThread ();
 
         // Saving component settings
+        saveComponentSettings ();
+
+        // Queueing plain settings save
+        SettingsManager.saveSettingsLater ();
+    }
+
+    /**
+     * Saves all registered {@link JComponent}s settings into their {@link SettingsGroup}s.
+     */
+    private static void saveComponentSettings ()
+    {
         settingsProcessors.forEach ( new BiConsumer<JComponent, SettingsProcessor> ()
         {
             @Override
@@ -112,6 +112,8 @@ import com.alee.managers.style.data.ComponentStyle;
 import com.alee.managers.style.data.SkinInfo;
 import com.alee.painter.Painter;
 import com.alee.painter.decoration.AbstractDecoration;
+import com.alee.painter.decoration.DecorationCache;
+import com.alee.painter.decoration.DecorationRasterCache;
 import com.alee.painter.decoration.Decorations;
 import com.alee.painter.decoration.NinePatchDecoration;
 import com.alee.painter.decoration.WebDecoration;
@@ -1073,6 +1075,10 @@ public final class StyleManager
         // Updating currently applied skin
         currentSkin = skin;
 
+        // Clearing decorations and rasters built for previous skin
+        DecorationCache.clear ();
+        DecorationRasterCache.clear ();
+
         // Installing new skin
         skin.install ();
 
@@ -1130,6 +1136,10 @@ public final class StyleManager
                     // Components are not updated when extension is added because extension styles should not be used at this point yet
                     // If they are used it is an issue of components/extension initialization order and it should be fixed in application
                     getSkin ().applyExtension ( extension );
+
+                    // Clearing decorations and rasters built for styles that might have been updated by extension
+                    DecorationCache.clear ();
+                    DecorationRasterCache.clear ();
                 }
             }
         }
@@ -23,6 +23,7 @@ import com.alee.api.resource.Resource;
 import com.alee.managers.icon.set.IconSet;
 import com.alee.managers.style.data.ComponentStyle;
 import com.alee.managers.style.data.SkinInfo;
+import com.alee.managers.style.data.SkinSnapshot;
 import com.alee.utils.XmlUtils;
 
 import javax.swing.*;
@@ -48,14 +49,40 @@ public class XmlSkin extends AbstractSkin
     @NotNull
     protected final SkinInfo skinInfo;
 
+    /**
+     * Skin XML {@link Resource}.
+     * It is {@code null} if skin was created from existing {@link SkinInfo}.
+     */
+    @Nullable
+    protected final Resource resource;
+
+    /**
+     * Skin {@link SkinSnapshot} {@link Resource}.
+     * It is {@code null} if skin doesn't use snapshot.
+     */
+    @Nullable
+    protected final Resource snapshot;
+
     /**
      * Constructs new {@link XmlSkin}.
      *
-     * @param resource extension {@link Resource}
+     * @param resource skin XML {@link Resource}
      */
     public XmlSkin ( @NotNull final Resource resource )
     {
-        this ( ( SkinInfo ) XmlUtils.fromXML ( resource ) );
+        this ( ( SkinInfo ) XmlUtils.fromXML ( resource ), resource, null );
+    }
+
+    /**
+     * Constructs new {@link XmlSkin}.
+     * {@link SkinSnapshot} is used instead of XML if it exists and is up-to-date with XML, otherwise XML is used.
+     *
+     * @param resource skin XML {@link Resource}
+     * @param snapshot skin {@link SkinSnapshot} {@link Resource}
+     */
+    public XmlSkin ( @NotNull final Resource resource, @NotNull final Resource snapshot )
+    {
+        this ( loadSkinInfo ( resource, snapshot ), resource, snapshot );
     }
 
     /**
@@ -64,8 +91,58 @@ public class XmlSkin extends AbstractSkin
      * @param skinInfo skin information
      */
     public XmlSkin ( @NotNull final SkinInfo skinInfo )
+    {
+        this ( skinInfo, null, null );
+    }
+
+    /**
+     * Constructs new xml-based skin.
+     *
+     * @param skinInfo skin information
+     * @param resource skin XML {@link Resource}
+     * @param snapshot skin {@link SkinSnapshot} {@link Resource}
+     */
+    protected XmlSkin ( @NotNull final SkinInfo skinInfo, @Nullable final Resource resource, @Nullable final Resource snapshot )
     {
         this.skinInfo = skinInfo;
+        this.resource = resource;
+        this.snapshot = snapshot;
+    }
+
+    /**
+     * Returns {@link SkinInfo} loaded from {@link SkinSnapshot} if it is available and up-to-date, or from XML otherwise.
+     *
+     * @param resource skin XML {@link Resource}
+     * @param snapshot skin {@link SkinSnapshot} {@link Resource}
+     * @return {@link SkinInfo} loaded from {@link SkinSnapshot} if it is available and up-to-date, or from XML otherwise
+     */
+    @NotNull
+    protected static SkinInfo loadSkinInfo ( @NotNull final Resource resource, @NotNull final Resource snapshot )
+    {
+        final SkinInfo skinInfo = SkinSnapshot.read ( snapshot, resource );
+        return skinInfo != null ? skinInfo : ( SkinInfo ) XmlUtils.fromXML ( resource );
+    }
+
+    /**
+     * Returns skin XML {@link Resource}.
+     *
+     * @return skin XML {@link Resource}
+     */
+    @Nullable
+    public Resource getResource ()
+    {
+        return resource;
+    }
+
+    /**
+     * Returns skin {@link SkinSnapshot} {@link Resource}.
+     *
+     * @return skin {@link SkinSnapshot} {@link Resource}
+     */
+    @Nullable
+    public Resource getSnapshot ()
+    {
+        return snapshot;
     }
 
     /**
@@ -32,9 +32,11 @@ import com.alee.managers.style.StyleId;
 import com.alee.managers.style.StyleManager;
 import com.alee.painter.Painter;
 import com.alee.painter.PainterSupport;
+import com.alee.painter.decoration.Decorations;
 import com.alee.utils.CollectionUtils;
 import com.alee.utils.LafUtils;
 import com.alee.utils.ReflectUtils;
+import com.alee.utils.reflection.PropertySetter;
 import com.alee.utils.swing.InsetsUIResource;
 import com.thoughtworks.xstream.annotations.XStreamAlias;
 import com.thoughtworks.xstream.annotations.XStreamAsAttribute;
@@ -42,9 +44,13 @@ import com.thoughtworks.xstream.annotations.XStreamConverter;
 import org.slf4j.LoggerFactory;
 
 import javax.swing.*;
+import javax.swing.plaf.ColorUIResource;
 import javax.swing.plaf.ComponentUI;
+import javax.swing.plaf.FontUIResource;
 import javax.swing.plaf.UIResource;
 import java.awt.*;
+import java.io.IOException;
+import java.io.ObjectInputStream;
 import java.io.Serializable;
 import java.lang.reflect.InvocationTargetException;
 import java.util.LinkedHashMap;
@@ -521,6 +527,7 @@ public final class ComponentStyle implements CloneBehavior<ComponentStyle>, Seri
      * Applies specified value to object field.
      * This method allows to access and modify even private object fields.
      * Note that this method might also work even if there is no real field with the specified name but there is fitting setter method.
+     * Setter method or field used to apply value is resolved only once per object class and field name.
      *
      * @param object object instance
      * @param field  object field
@@ -536,8 +543,10 @@ public final class ComponentStyle implements CloneBehavior<ComponentStyle>, Seri
         {
             // Creating separate usable value to avoid source object modifications
             // We have limited options here, so for now we simply clone objects which are defined as Cloneable
+            // Decorations are never modified once loaded, so they are shared to allow decoration caching across components
+            // Immutable values are also shared since there is no way to modify them
             final Object usable;
-            if ( value instanceof Painter )
+            if ( value instanceof Painter || value instanceof Decorations || isImmutable ( value ) )
             {
                 usable = value;
             }
@@ -554,27 +563,51 @@ public final class ComponentStyle implements CloneBehavior<ComponentStyle>, Seri
                 }
             }
 
+            // todo Add more options on the method names here?
+            // Applying value through setter method or directly into the field
+            final PropertySetter setter;
             try
             {
-                // todo Add more options on the method names here?
-                // Trying to use setter method to apply the specified value
-                final String setterMethod = ReflectUtils.getSetterMethodName ( field );
-                ReflectUtils.callMethod ( object, setterMethod, usable );
+                setter = ReflectUtils.getPropertySetter ( object.getClass (), field, usable != null ? usable.getClass () : null );
             }
-            catch ( final NoSuchMethodException e )
+            catch ( final NoSuchFieldException e )
             {
-                try
-                {
-                    // Applying field value directly
-                    ReflectUtils.setFieldValue ( object, field, usable );
-                }
-                catch ( final Exception fe )
-                {
-                    final String msg = "Unable to set `%s` object `%s` field value to: %s";
-                    throw new StyleException ( String.format ( msg, object, field, usable ), fe );
-                }
+                final String msg = "Unable to set `%s` object `%s` field value to: %s";
+                throw new StyleException ( String.format ( msg, object, field, usable ), e );
             }
+            setter.set ( object, usable );
+        }
+    }
+
+    /**
+     * Returns whether or not specified value is immutable and can be safely shared between multiple objects without cloning.
+     * Only basic types that are commonly used in styles are checked here, any other values are simply cloned.
+     * {@link Insets} are not considered immutable even for {@link UIResource}s since their fields can be modified.
+     *
+     * @param value value to check
+     * @return {@code true} if specified value is immutable, {@code false} otherwise
+     */
+    private boolean isImmutable ( @Nullable final Object value )
+    {
+        final boolean immutable;
+        if ( value != null )
+        {
+            final Class<?> type = value.getClass ();
+            immutable = ReflectUtils.isPrimitive ( value ) ||
+                    value instanceof Enum ||
+                    type == String.class ||
+                    type == Class.class ||
+                    type == Color.class ||
+                    type == ColorUIResource.class ||
+                    type == Font.class ||
+                    type == FontUIResource.class ||
+                    type == BasicStroke.class;
         }
+        else
+        {
+            immutable = true;
+        }
+        return immutable;
     }
 
     /**
@@ -825,6 +858,26 @@ public final class ComponentStyle implements CloneBehavior<ComponentStyle>, Seri
         }
     }
 
+    /**
+     * Reads this {@link ComponentStyle} from {@link ObjectInputStream}.
+     * Transient parent field is restored for all nested {@link ComponentStyle}s.
+     *
+     * @param in {@link ObjectInputStream}
+     * @throws IOException            if any I/O exception occurs
+     * @throws ClassNotFoundException if class of serialized object cannot be found
+     */
+    private void readObject ( @NotNull final ObjectInputStream in ) throws IOException, ClassNotFoundException
+    {
+        in.defaultReadObject ();
+        if ( CollectionUtils.notEmpty ( nestedStyles ) )
+        {
+            for ( final ComponentStyle nestedStyle : nestedStyles )
+            {
+                nestedStyle.setParent ( this );
+            }
+        }
+    }
+
     @NotNull
     @Override
     public ComponentStyle clone ( @NotNull final RecursiveClone clone, final int depth )
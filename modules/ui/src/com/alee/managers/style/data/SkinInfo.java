@@ -20,6 +20,7 @@ package com.alee.managers.style.data;
 import com.alee.api.annotations.NotNull;
 import com.alee.api.annotations.Nullable;
 import com.alee.api.jdk.Objects;
+import com.alee.api.resource.Resource;
 import com.alee.managers.icon.IconManager;
 import com.alee.managers.icon.set.IconSet;
 import com.alee.managers.style.*;
@@ -30,6 +31,9 @@ import com.thoughtworks.xstream.annotations.XStreamConverter;
 import org.slf4j.LoggerFactory;
 
 import javax.swing.*;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
 import java.io.Serializable;
 import java.util.*;
 
@@ -119,6 +123,13 @@ public final class SkinInfo implements Serializable
      */
     private transient Map<String, Boolean> processedExtensions;
 
+    /**
+     * {@link Resource}s included into this skin information while it was read.
+     * It is only available in runtime right after skin information is read from XML and is used for {@link SkinSnapshot} validation.
+     */
+    @Nullable
+    private transient List<Resource> includedResources;
+
     /**
      * Returns skin ID.
      *
@@ -328,6 +339,31 @@ public final class SkinInfo implements Serializable
         this.author = author;
     }
 
+    /**
+     * Returns {@link Resource}s included into this skin information while it was read.
+     *
+     * @return {@link Resource}s included into this skin information while it was read
+     */
+    @NotNull
+    public List<Resource> getIncludedResources ()
+    {
+        return includedResources != null ? includedResources : Collections.<Resource>emptyList ();
+    }
+
+    /**
+     * Adds {@link Resource}s included into this skin information while it was read.
+     *
+     * @param resources included {@link Resource}s
+     */
+    public void addIncludedResources ( @NotNull final List<Resource> resources )
+    {
+        if ( includedResources == null )
+        {
+            includedResources = new ArrayList<Resource> ( resources.size () );
+        }
+        includedResources.addAll ( resources );
+    }
+
     /**
      * Called upon this skin installation as default global skin.
      */
@@ -459,8 +495,9 @@ public final class SkinInfo implements Serializable
      * Performs skin cache initialization on demand.
      * This cache will contain all styles compiled into their final forms for actual usage in components.
      * It optimizes runtime routines a lot by just taking a bit more time at skin initialization.
+     * It is also used by {@link SkinSnapshot} to store compiled styles before any extensions are applied.
      */
-    private void ensureCacheInitialized ()
+    void ensureCacheInitialized ()
     {
         if ( stylesCache == null )
         {
@@ -926,6 +963,33 @@ public final class SkinInfo implements Serializable
         return result;
     }
 
+    /**
+     * Writes this {@link SkinInfo} into {@link ObjectOutputStream}.
+     * Compiled styles cache is written as well if it is available to avoid building styles again when this {@link SkinInfo} is read.
+     *
+     * @param out {@link ObjectOutputStream}
+     * @throws IOException if any I/O exception occurs
+     */
+    private void writeObject ( @NotNull final ObjectOutputStream out ) throws IOException
+    {
+        out.defaultWriteObject ();
+        out.writeObject ( stylesCache );
+    }
+
+    /**
+     * Reads this {@link SkinInfo} from {@link ObjectInputStream}.
+     *
+     * @param in {@link ObjectInputStream}
+     * @throws IOException            if any I/O exception occurs
+     * @throws ClassNotFoundException if class of serialized object cannot be found
+     */
+    @SuppressWarnings ( "unchecked" )
+    private void readObject ( @NotNull final ObjectInputStream in ) throws IOException, ClassNotFoundException
+    {
+        in.defaultReadObject ();
+        stylesCache = ( Map<String, Map<String, ComponentStyle>> ) in.readObject ();
+    }
+
     @NotNull
     @Override
     public String toString ()
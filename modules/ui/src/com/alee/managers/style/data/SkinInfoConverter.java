@@ -21,9 +21,11 @@ import com.alee.api.annotations.NotNull;
 import com.alee.api.annotations.Nullable;
 import com.alee.api.merge.Merge;
 import com.alee.api.resource.ClassResource;
+import com.alee.api.resource.Resource;
 import com.alee.managers.icon.set.IconSet;
 import com.alee.managers.style.Skin;
 import com.alee.managers.style.StyleException;
+import com.alee.utils.CollectionUtils;
 import com.alee.utils.ReflectUtils;
 import com.alee.utils.XmlUtils;
 import com.alee.utils.xml.XStreamContext;
@@ -297,7 +299,13 @@ public final class SkinInfoConverter extends ReflectionConverter
         }
 
         // Reading skin part from included file
-        return loadSkinInfo ( parent, resource );
+        final SkinInfo include = loadSkinInfo ( parent, resource );
+
+        // Saving included resources for further validation
+        parent.addIncludedResources ( CollectionUtils.<Resource>asList ( resource ) );
+        parent.addIncludedResources ( include.getIncludedResources () );
+
+        return include;
     }
 
     /**
@@ -0,0 +1,362 @@
+/*
+ * This file is part of WebLookAndFeel library.
+ *
+ * WebLookAndFeel library is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * WebLookAndFeel library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with WebLookAndFeel library.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.alee.managers.style.data;
+
+import com.alee.api.annotations.NotNull;
+import com.alee.api.annotations.Nullable;
+import com.alee.api.resource.Resource;
+import com.alee.managers.style.StyleException;
+import com.alee.utils.UtilityException;
+import com.alee.utils.XmlUtils;
+import org.slf4j.LoggerFactory;
+
+import java.io.*;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.CRC32;
+
+/**
+ * Utility class for writing and reading binary snapshots of compiled {@link SkinInfo}.
+ *
+ * Snapshot contains {@link SkinInfo} with all styles already built, so reading it skips both XML parsing and styles compilation.
+ * It also contains checksums of all XML {@link Resource}s {@link SkinInfo} was originally read from, so snapshot is only used while
+ * those XML {@link Resource}s stay the same. Outdated, missing or broken snapshot is simply ignored and XML is used instead.
+ *
+ * Values that do not support Java serialization are stored within snapshot in their XML form.
+ *
+ * @author Mikle Garin
+ * @see SkinSnapshotCompiler
+ * @see com.alee.managers.style.XmlSkin
+ */
+public final class SkinSnapshot
+{
+    /**
+     * Snapshot header.
+     */
+    private static final int MAGIC = 0x574C5353;
+
+    /**
+     * Snapshot format version.
+     * It must be incremented whenever snapshot format or serialized classes change incompatibly.
+     */
+    private static final int VERSION = 1;
+
+    /**
+     * Private constructor to avoid instantiation.
+     */
+    private SkinSnapshot ()
+    {
+        throw new UtilityException ( "Utility classes are not meant to be instantiated" );
+    }
+
+    /**
+     * Returns new {@link SkinInfo} read from the specified XML {@link Resource} and compiled for snapshot.
+     *
+     * @param xml XML {@link Resource} to read {@link SkinInfo} from
+     * @return new {@link SkinInfo} read from the specified XML {@link Resource} and compiled for snapshot
+     */
+    @NotNull
+    public static SkinInfo compile ( @NotNull final Resource xml )
+    {
+        final SkinInfo skinInfo = XmlUtils.fromXML ( xml );
+        skinInfo.ensureCacheInitialized ();
+        return skinInfo;
+    }
+
+    /**
+     * Writes snapshot of the specified {@link SkinInfo} into {@link OutputStream}.
+     * {@link SkinInfo} must be read from the specified XML {@link Resource} and must not have any extensions applied.
+     *
+     * @param skinInfo {@link SkinInfo} to write snapshot for
+     * @param xml      XML {@link Resource} {@link SkinInfo} was read from
+     * @param output   {@link OutputStream} to write snapshot into
+     */
+    public static void write ( @NotNull final SkinInfo skinInfo, @NotNull final Resource xml, @NotNull final OutputStream output )
+    {
+        try
+        {
+            // Making sure all styles are built
+            skinInfo.ensureCacheInitialized ();
+
+            // Collecting source resources
+            final List<Resource> resources = new ArrayList<Resource> ( skinInfo.getIncludedResources ().size () + 1 );
+            resources.add ( xml );
+            resources.addAll ( skinInfo.getIncludedResources () );
+            final long[] checksums = new long[ resources.size () ];
+            for ( int i = 0; i < resources.size (); i++ )
+            {
+                checksums[ i ] = checksum ( resources.get ( i ) );
+            }
+
+            // Writing snapshot
+            final ObjectOutputStream out = new SnapshotOutputStream ( new BufferedOutputStream ( output ) );
+            out.writeInt ( MAGIC );
+            out.writeInt ( VERSION );
+            out.writeObject ( resources );
+            out.writeObject ( checksums );
+            out.writeObject ( skinInfo );
+            out.flush ();
+        }
+        catch ( final IOException e )
+        {
+            throw new StyleException ( "Unable to write skin snapshot: " + skinInfo.getId (), e );
+        }
+    }
+
+    /**
+     * Returns {@link SkinInfo} read from the specified snapshot {@link Resource} or {@code null} if it cannot be used.
+     * Snapshot cannot be used if it doesn't exist, if it is broken, if it was created from a different XML {@link Resource}
+     * or if any of XML {@link Resource}s it was created from have changed.
+     *
+     * @param snapshot snapshot {@link Resource}
+     * @param xml      XML {@link Resource} snapshot is expected to be created from
+     * @return {@link SkinInfo} read from the specified snapshot {@link Resource} or {@code null} if it cannot be used
+     */
+    @Nullable
+    public static SkinInfo read ( @NotNull final Resource snapshot, @NotNull final Resource xml )
+    {
+        SkinInfo skinInfo = null;
+        final InputStream input = openStream ( snapshot );
+        if ( input != null )
+        {
+            try
+            {
+                final ObjectInputStream in = new SnapshotInputStream ( new BufferedInputStream ( input ) );
+                if ( in.readInt () == MAGIC && in.readInt () == VERSION )
+                {
+                    @SuppressWarnings ( "unchecked" )
+                    final List<Resource> resources = ( List<Resource> ) in.readObject ();
+                    final long[] checksums = ( long[] ) in.readObject ();
+                    if ( resources.isEmpty () || !resources.get ( 0 ).equals ( xml ) )
+                    {
+                        final String msg = "Skin snapshot was created from different XML and will be ignored: %s";
+                        LoggerFactory.getLogger ( SkinSnapshot.class ).info ( String.format ( msg, snapshot ) );
+                    }
+                    else if ( isValid ( resources, checksums ) )
+                    {
+                        skinInfo = ( SkinInfo ) in.readObject ();
+                    }
+                    else
+                    {
+                        final String msg = "Skin snapshot is outdated and will be ignored: %s";
+                        LoggerFactory.getLogger ( SkinSnapshot.class ).info ( String.format ( msg, snapshot ) );
+                    }
+                }
+                else
+                {
+                    final String msg = "Skin snapshot has unsupported format and will be ignored: %s";
+                    LoggerFactory.getLogger ( SkinSnapshot.class ).info ( String.format ( msg, snapshot ) );
+                }
+            }
+            catch ( final Exception e )
+            {
+                final String msg = "Unable to read skin snapshot: %s";
+                LoggerFactory.getLogger ( SkinSnapshot.class ).warn ( String.format ( msg, snapshot ), e );
+                skinInfo = null;
+            }
+            finally
+            {
+                closeSafely ( input );
+            }
+        }
+        return skinInfo;
+    }
+
+    /**
+     * Returns whether or not all specified {@link Resource}s still have the same checksums.
+     *
+     * @param resources {@link Resource}s to check
+     * @param checksums previous checksums
+     * @return {@code true} if all specified {@link Resource}s still have the same checksums, {@code false} otherwise
+     */
+    private static boolean isValid ( @NotNull final List<Resource> resources, @NotNull final long[] checksums )
+    {
+        boolean valid = resources.size () == checksums.length;
+        for ( int i = 0; valid && i < resources.size (); i++ )
+        {
+            valid = checksum ( resources.get ( i ) ) == checksums[ i ];
+        }
+        return valid;
+    }
+
+    /**
+     * Returns checksum of the specified {@link Resource} content or {@code -1} if it cannot be read.
+     *
+     * @param resource {@link Resource} to calculate checksum for
+     * @return checksum of the specified {@link Resource} content or {@code -1} if it cannot be read
+     */
+    private static long checksum ( @NotNull final Resource resource )
+    {
+        long checksum = -1;
+        final InputStream input = openStream ( resource );
+        if ( input != null )
+        {
+            try
+            {
+                final CRC32 crc = new CRC32 ();
+                final byte[] buffer = new byte[ 8192 ];
+                int read;
+                while ( ( read = input.read ( buffer ) ) != -1 )
+                {
+                    crc.update ( buffer, 0, read );
+                }
+                checksum = crc.getValue ();
+            }
+            catch ( final IOException e )
+            {
+                checksum = -1;
+            }
+            finally
+            {
+                closeSafely ( input );
+            }
+        }
+        return checksum;
+    }
+
+    /**
+     * Returns {@link InputStream} for the specified {@link Resource} or {@code null} if it is not available.
+     *
+     * @param resource {@link Resource} to open {@link InputStream} for
+     * @return {@link InputStream} for the specified {@link Resource} or {@code null} if it is not available
+     */
+    @Nullable
+    private static InputStream openStream ( @NotNull final Resource resource )
+    {
+        try
+        {
+            return resource.getInputStream ();
+        }
+        catch ( final Exception e )
+        {
+            return null;
+        }
+    }
+
+    /**
+     * Closes specified {@link Closeable} ignoring any exceptions.
+     *
+     * @param closeable {@link Closeable} to close
+     */
+    private static void closeSafely ( @NotNull final Closeable closeable )
+    {
+        try
+        {
+            closeable.close ();
+        }
+        catch ( final IOException ignored )
+        {
+            // Ignored
+        }
+    }
+
+    /**
+     * {@link ObjectOutputStream} that stores values not supporting Java serialization in their XML form.
+     */
+    private static final class SnapshotOutputStream extends ObjectOutputStream
+    {
+        /**
+         * Constructs new {@link SnapshotOutputStream}.
+         *
+         * @param out {@link OutputStream} to write into
+         * @throws IOException if any I/O exception occurs
+         */
+        public SnapshotOutputStream ( @NotNull final OutputStream out ) throws IOException
+        {
+            super ( out );
+            enableReplaceObject ( true );
+        }
+
+        @Override
+        protected Object replaceObject ( final Object object ) throws IOException
+        {
+            return object != null && !( object instanceof Serializable ) ? new XmlValue ( object ) : object;
+        }
+    }
+
+    /**
+     * {@link ObjectInputStream} that restores values stored by {@link SnapshotOutputStream} in their XML form.
+     */
+    private static final class SnapshotInputStream extends ObjectInputStream
+    {
+        /**
+         * Constructs new {@link SnapshotInputStream}.
+         *
+         * @param in {@link InputStream} to read from
+         * @throws IOException if any I/O exception occurs
+         */
+        public SnapshotInputStream ( @NotNull final InputStream in ) throws IOException
+        {
+            super ( in );
+            enableResolveObject ( true );
+        }
+
+        @Override
+        protected Object resolveObject ( final Object object ) throws IOException
+        {
+            return object instanceof XmlValue ? ( ( XmlValue ) object ).getValue () : object;
+        }
+    }
+
+    /**
+     * Serializable wrapper for XML form of the value that doesn't support Java serialization.
+     */
+    private static final class XmlValue implements Serializable
+    {
+        /**
+         * Serialization version.
+         */
+        private static final long serialVersionUID = 1L;
+
+        /**
+         * Value type.
+         * It is used to ensure that XML aliases for value type are processed before reading it.
+         */
+        @NotNull
+        private final Class type;
+
+        /**
+         * Value XML.
+         */
+        @NotNull
+        private final String xml;
+
+        /**
+         * Constructs new {@link XmlValue}.
+         *
+         * @param value value that doesn't support Java serialization
+         */
+        public XmlValue ( @NotNull final Object value )
+        {
+            this.type = value.getClass ();
+            this.xml = XmlUtils.toXML ( value );
+        }
+
+        /**
+         * Returns value read from XML.
+         *
+         * @return value read from XML
+         */
+        @NotNull
+        public Object getValue ()
+        {
+            XmlUtils.processAnnotations ( type );
+            return XmlUtils.fromXML ( xml );
+        }
+    }
+}
\ No newline at end of file
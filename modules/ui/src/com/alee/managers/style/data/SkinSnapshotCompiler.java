@@ -0,0 +1,243 @@
+/*
+ * This file is part of WebLookAndFeel library.
+ *
+ * WebLookAndFeel library is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * WebLookAndFeel library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with WebLookAndFeel library.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.alee.managers.style.data;
+
+import com.alee.api.annotations.NotNull;
+import com.alee.api.resource.ClassResource;
+import com.alee.api.resource.Resource;
+import com.alee.laf.WebLookAndFeel;
+import com.alee.managers.style.StyleException;
+import com.alee.managers.style.XmlSkin;
+import com.alee.utils.CoreSwingUtils;
+import com.alee.utils.ReflectUtils;
+import com.alee.utils.UtilityException;
+
+import java.io.*;
+
+/**
+ * Command line tool for creating {@link SkinSnapshot}s of {@link XmlSkin}s at build time.
+ * Only {@link XmlSkin}s that provide both XML and snapshot {@link Resource}s are supported, for example
+ * {@link com.alee.skin.light.WebLightSkin} and {@link com.alee.skin.dark.WebDarkSkin}.
+ *
+ * Usage: {@code SkinSnapshotCompiler <output directory> <skin class>...}
+ * Snapshots are written into the output directory according to their {@link ClassResource} location.
+ *
+ * Usage: {@code SkinSnapshotCompiler -benchmark <skin class>...}
+ * Compares {@link SkinInfo} load times from XML and from snapshot without writing anything.
+ *
+ * @author Mikle Garin
+ * @see SkinSnapshot
+ */
+public final class SkinSnapshotCompiler
+{
+    /**
+     * Benchmark mode argument.
+     */
+    public static final String BENCHMARK = "-benchmark";
+
+    /**
+     * Amount of measured benchmark iterations.
+     */
+    private static final int ITERATIONS = 10;
+
+    /**
+     * Private constructor to avoid instantiation.
+     */
+    private SkinSnapshotCompiler ()
+    {
+        throw new UtilityException ( "Utility classes are not meant to be instantiated" );
+    }
+
+    /**
+     * {@link SkinSnapshotCompiler} main launch method.
+     *
+     * @param args output directory or benchmark mode followed by skin class names
+     */
+    public static void main ( @NotNull final String[] args )
+    {
+        if ( args.length < 2 )
+        {
+            System.err.println ( "Usage: SkinSnapshotCompiler <output directory>|" + BENCHMARK + " <skin class>..." );
+            System.exit ( 1 );
+        }
+        CoreSwingUtils.invokeAndWait ( new Runnable ()
+        {
+            @Override
+            public void run ()
+            {
+                // Skin XML can only be read with StyleManager initialized
+                WebLookAndFeel.install ();
+
+                for ( int i = 1; i < args.length; i++ )
+                {
+                    final XmlSkin skin = createSkin ( args[ i ] );
+                    if ( args[ 0 ].equals ( BENCHMARK ) )
+                    {
+                        benchmark ( skin );
+                    }
+                    else
+                    {
+                        compile ( skin, new File ( args[ 0 ] ) );
+                    }
+                }
+            }
+        } );
+        System.exit ( 0 );
+    }
+
+    /**
+     * Returns new {@link XmlSkin} instance.
+     *
+     * @param skinClass {@link XmlSkin} class canonical name
+     * @return new {@link XmlSkin} instance
+     */
+    @NotNull
+    private static XmlSkin createSkin ( @NotNull final String skinClass )
+    {
+        try
+        {
+            return ReflectUtils.createInstance ( skinClass );
+        }
+        catch ( final Exception e )
+        {
+            throw new StyleException ( "Unable to create skin: " + skinClass, e );
+        }
+    }
+
+    /**
+     * Writes {@link SkinSnapshot} of the specified {@link XmlSkin} into output directory.
+     *
+     * @param skin      {@link XmlSkin} to write {@link SkinSnapshot} for
+     * @param directory output directory
+     */
+    public static void compile ( @NotNull final XmlSkin skin, @NotNull final File directory )
+    {
+        final Resource xml = getResource ( skin );
+        final ClassResource snapshot = getSnapshot ( skin );
+
+        // Resolving snapshot file location
+        final String packagePath = snapshot.getClassName ().substring ( 0, snapshot.getClassName ().lastIndexOf ( '.' ) + 1 );
+        final File file = new File ( directory, packagePath.replace ( '.', '/' ) + snapshot.getPath () );
+        if ( !file.getParentFile ().exists () && !file.getParentFile ().mkdirs () )
+        {
+            throw new StyleException ( "Unable to create snapshot directory: " + file.getParentFile () );
+        }
+
+        // Writing snapshot
+        try
+        {
+            final OutputStream output = new FileOutputStream ( file );
+            try
+            {
+                SkinSnapshot.write ( SkinSnapshot.compile ( xml ), xml, output );
+            }
+            finally
+            {
+                output.close ();
+            }
+        }
+        catch ( final IOException e )
+        {
+            throw new StyleException ( "Unable to write skin snapshot: " + file, e );
+        }
+        System.out.println ( String.format ( "Skin snapshot written: %s (%d bytes)", file, file.length () ) );
+    }
+
+    /**
+     * Prints {@link SkinInfo} load times from XML and from {@link SkinSnapshot} for the specified {@link XmlSkin}.
+     * Both measurements include styles compilation, since it is a part of skin installation.
+     *
+     * @param skin {@link XmlSkin} to benchmark
+     */
+    public static void benchmark ( @NotNull final XmlSkin skin )
+    {
+        final Resource xml = getResource ( skin );
+
+        // Preparing snapshot in memory
+        final ByteArrayOutputStream bytes = new ByteArrayOutputStream ();
+        SkinSnapshot.write ( SkinSnapshot.compile ( xml ), xml, bytes );
+        final byte[] snapshot = bytes.toByteArray ();
+        final Resource snapshotResource = new Resource ()
+        {
+            @NotNull
+            @Override
+            public InputStream getInputStream ()
+            {
+                return new ByteArrayInputStream ( snapshot );
+            }
+        };
+
+        // Warming up both load paths
+        SkinSnapshot.compile ( xml );
+        SkinSnapshot.read ( snapshotResource, xml );
+
+        // Measuring load times
+        long xmlTime = 0;
+        long snapshotTime = 0;
+        for ( int i = 0; i < ITERATIONS; i++ )
+        {
+            final long xmlStart = System.nanoTime ();
+            SkinSnapshot.compile ( xml );
+            xmlTime += System.nanoTime () - xmlStart;
+
+            final long snapshotStart = System.nanoTime ();
+            if ( SkinSnapshot.read ( snapshotResource, xml ) == null )
+            {
+                throw new StyleException ( "Unable to read skin snapshot: " + skin.getId () );
+            }
+            snapshotTime += System.nanoTime () - snapshotStart;
+        }
+        final String msg = "%s: XML %.1f ms, snapshot %.1f ms (%d bytes)";
+        System.out.println ( String.format ( msg, skin.getId (), xmlTime / ITERATIONS / 1000000.0,
+                snapshotTime / ITERATIONS / 1000000.0, snapshot.length ) );
+    }
+
+    /**
+     * Returns {@link XmlSkin} XML {@link Resource}.
+     *
+     * @param skin {@link XmlSkin}
+     * @return {@link XmlSkin} XML {@link Resource}
+     */
+    @NotNull
+    private static Resource getResource ( @NotNull final XmlSkin skin )
+    {
+        final Resource resource = skin.getResource ();
+        if ( resource == null )
+        {
+            throw new StyleException ( "Skin doesn't provide XML resource: " + skin.getId () );
+        }
+        return resource;
+    }
+
+    /**
+     * Returns {@link XmlSkin} snapshot {@link ClassResource}.
+     *
+     * @param skin {@link XmlSkin}
+     * @return {@link XmlSkin} snapshot {@link ClassResource}
+     */
+    @NotNull
+    private static ClassResource getSnapshot ( @NotNull final XmlSkin skin )
+    {
+        final Resource snapshot = skin.getSnapshot ();
+        if ( !( snapshot instanceof ClassResource ) )
+        {
+            throw new StyleException ( "Skin doesn't provide snapshot class resource: " + skin.getId () );
+        }
+        return ( ClassResource ) snapshot;
+    }
+}
\ No newline at end of file
@@ -19,6 +19,8 @@ package com.alee.painter.decoration;
 
 import com.alee.api.annotations.NotNull;
 import com.alee.api.annotations.Nullable;
+import com.alee.api.clone.behavior.OmitOnClone;
+import com.alee.api.merge.behavior.OmitOnMerge;
 import com.alee.api.merge.behavior.OverwriteOnMerge;
 import com.alee.managers.style.Bounds;
 import com.alee.utils.CollectionUtils;
@@ -104,6 +106,15 @@ public abstract class AbstractDecoration<C extends JComponent, I extends Abstrac
      */
     protected transient Cursor previousCursor;
 
+    /**
+     * Shared decoration prototype this decoration was cloned from.
+     * Provided explicitely by the painter using this decoration.
+     */
+    @Nullable
+    @OmitOnClone
+    @OmitOnMerge
+    protected transient I prototype;
+
     @Nullable
     @Override
     public String getId ()
@@ -195,6 +206,19 @@ public abstract class AbstractDecoration<C extends JComponent, I extends Abstrac
         this.section = section;
     }
 
+    @Nullable
+    @Override
+    public I getPrototype ()
+    {
+        return prototype;
+    }
+
+    @Override
+    public void setPrototype ( @Nullable final I prototype )
+    {
+        this.prototype = prototype;
+    }
+
     /**
      * Returns decoration opacity.
      *
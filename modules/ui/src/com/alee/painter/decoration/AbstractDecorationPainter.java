@@ -1046,42 +1046,33 @@ public abstract class AbstractDecorationPainter<C extends JComponent, U extends
                 }
                 else
                 {
-                    // Building single decoration from a set
-                    if ( CollectionUtils.isEmpty ( decorations ) )
+                    if ( CollectionUtils.notEmpty ( decorations ) )
                     {
-                        // No decoration for the states available
-                        decoration = null;
-                    }
-                    else if ( decorations.size () == 1 )
-                    {
-                        // Single existing decoration for the states
-                        decoration = Clone.deep ().nonNullClone ( decorations.get ( 0 ) );
-                    }
-                    else
-                    {
-                        // Filter out possible decorations of different type
-                        // We always use type of the last one available since it has higher priority
-                        final Class<? extends IDecoration> type = decorations.get ( decorations.size () - 1 ).getClass ();
-                        final Iterator<D> iterator = decorations.iterator ();
-                        while ( iterator.hasNext () )
+                        // Retrieving decoration prototype from build cache or building a new one
+                        final boolean section = isSectionPainter ();
+                        D prototype = DecorationCache.getDecoration ( this.decorations, decorationsKey, section );
+                        if ( prototype == null )
                         {
-                            final D d = iterator.next ();
-                            if ( d.getClass () != type )
-                            {
-                                iterator.remove ();
-                            }
+                            // Building single decoration from a set
+                            prototype = buildDecoration ( decorations );
+
+                            // Updating section mark
+                            // This is done for each cached decoration once as it doesn't change
+                            prototype.setSection ( section );
+
+                            // Caching built decoration for other painters using the same decorations
+                            DecorationCache.putDecoration ( this.decorations, decorationsKey, section, prototype );
                         }
 
-                        // Merging multiple decorations together
-                        decoration = Merge.deep ().nonNullMerge ( decorations );
+                        // Using separate decoration copy for this painter
+                        // Prototype is never used directly since decorations store runtime component data
+                        decoration = Clone.deep ().nonNullClone ( prototype );
+                        decoration.setPrototype ( prototype );
                     }
-
-                    // Updating built decoration settings
-                    if ( decoration != null )
+                    else
                     {
-                        // Updating section mark
-                        // This is done for each cached decoration once as it doesn't change
-                        decoration.setSection ( isSectionPainter () );
+                        // No decoration for the states available
+                        decoration = null;
                     }
 
                     // Caching built decoration
@@ -1133,6 +1124,42 @@ public abstract class AbstractDecorationPainter<C extends JComponent, U extends
         return result;
     }
 
+    /**
+     * Returns single decoration built from the specified decorations.
+     *
+     * @param decorations decorations to build single decoration from
+     * @return single decoration built from the specified decorations
+     */
+    @NotNull
+    protected final D buildDecoration ( @NotNull final List<D> decorations )
+    {
+        final D decoration;
+        if ( decorations.size () == 1 )
+        {
+            // Single existing decoration for the states
+            decoration = Clone.deep ().nonNullClone ( decorations.get ( 0 ) );
+        }
+        else
+        {
+            // Filter out possible decorations of different type
+            // We always use type of the last one available since it has higher priority
+            final Class<? extends IDecoration> type = decorations.get ( decorations.size () - 1 ).getClass ();
+            final Iterator<D> iterator = decorations.iterator ();
+            while ( iterator.hasNext () )
+            {
+                final D d = iterator.next ();
+                if ( d.getClass () != type )
+                {
+                    iterator.remove ();
+                }
+            }
+
+            // Merging multiple decorations together
+            decoration = Merge.deep ().nonNullMerge ( decorations );
+        }
+        return decoration;
+    }
+
     /**
      * Returns unique decorations combination key.
      *
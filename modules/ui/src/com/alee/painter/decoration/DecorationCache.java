@@ -0,0 +1,218 @@
+/*
+ * This file is part of WebLookAndFeel library.
+ *
+ * WebLookAndFeel library is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * WebLookAndFeel library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with WebLookAndFeel library.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.alee.painter.decoration;
+
+import com.alee.api.annotations.NotNull;
+import com.alee.api.annotations.Nullable;
+import com.alee.utils.UtilityException;
+
+import javax.swing.*;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.WeakHashMap;
+
+/**
+ * Build cache of decorations used by all {@link AbstractDecorationPainter}s.
+ *
+ * Skin {@link Decorations} are never modified once loaded, so the same {@link Decorations} instance is provided into painters of all
+ * components that use the same style within the same skin. That allows caching decorations built for each combination of states
+ * under that {@link Decorations} instance and avoiding repeated merge operations for each separate component.
+ *
+ * Cached decorations are never activated or painted directly, they only serve as prototypes for decorations used by painters.
+ * This is important because built decorations store runtime component-related data, for example custom cursor or text view.
+ * Each painter still uses its own copy of the prototype, so this cache only saves decorations build time, not their memory.
+ *
+ * Cache is cleared whenever skin changes or new {@link com.alee.managers.style.SkinExtension} is applied.
+ *
+ * @author Mikle Garin
+ * @see AbstractDecorationPainter#getDecoration()
+ */
+public final class DecorationCache
+{
+    /**
+     * Cache lock.
+     */
+    @NotNull
+    private static final Object lock = new Object ();
+
+    /**
+     * Built decorations cache.
+     * Entry: [ source decorations -> [ decorations combination key -> built decoration prototype ] ]
+     * Weak keys ensure that decorations of styles that are no longer used are released.
+     */
+    @NotNull
+    private static final Map<Decorations, Map<String, IDecoration>> cache = new WeakHashMap<Decorations, Map<String, IDecoration>> ();
+
+    /**
+     * Amount of successful cache lookups.
+     */
+    private static long hits = 0;
+
+    /**
+     * Amount of failed cache lookups.
+     */
+    private static long misses = 0;
+
+    /**
+     * Private constructor to avoid instantiation.
+     */
+    private DecorationCache ()
+    {
+        throw new UtilityException ( "Utility classes are not meant to be instantiated" );
+    }
+
+    /**
+     * Returns cached decoration prototype built from specified {@link Decorations} or {@code null} if it wasn't cached yet.
+     * Returned decoration should never be used directly, use its clone instead.
+     *
+     * @param decorations source {@link Decorations}
+     * @param key         decorations combination key
+     * @param section     whether or not decoration is used by {@link com.alee.painter.SectionPainter}
+     * @param <C>         component type
+     * @param <D>         decoration type
+     * @return cached decoration prototype built from specified {@link Decorations} or {@code null} if it wasn't cached yet
+     */
+    @Nullable
+    public static <C extends JComponent, D extends IDecoration<C, D>> D getDecoration ( @NotNull final Decorations<C, D> decorations,
+                                                                                        @NotNull final String key, final boolean section )
+    {
+        synchronized ( lock )
+        {
+            final Map<String, IDecoration> built = cache.get ( decorations );
+            @SuppressWarnings ( "unchecked" )
+            final D decoration = built != null ? ( D ) built.get ( getKey ( key, section ) ) : null;
+            if ( decoration != null )
+            {
+                hits++;
+            }
+            else
+            {
+                misses++;
+            }
+            return decoration;
+        }
+    }
+
+    /**
+     * Caches decoration prototype built from specified {@link Decorations}.
+     * Cached decoration should never be used directly afterwards, use its clone instead.
+     *
+     * @param decorations source {@link Decorations}
+     * @param key         decorations combination key
+     * @param section     whether or not decoration is used by {@link com.alee.painter.SectionPainter}
+     * @param decoration  built decoration prototype
+     * @param <C>         component type
+     * @param <D>         decoration type
+     */
+    public static <C extends JComponent, D extends IDecoration<C, D>> void putDecoration ( @NotNull final Decorations<C, D> decorations,
+                                                                                           @NotNull final String key, final boolean section,
+                                                                                           @NotNull final D decoration )
+    {
+        synchronized ( lock )
+        {
+            Map<String, IDecoration> built = cache.get ( decorations );
+            if ( built == null )
+            {
+                built = new HashMap<String, IDecoration> ( 4 );
+                cache.put ( decorations, built );
+            }
+            built.put ( getKey ( key, section ), decoration );
+        }
+    }
+
+    /**
+     * Returns complete cache key.
+     *
+     * @param key     decorations combination key
+     * @param section whether or not decoration is used by {@link com.alee.painter.SectionPainter}
+     * @return complete cache key
+     */
+    @NotNull
+    private static String getKey ( @NotNull final String key, final boolean section )
+    {
+        return section ? key + "|section" : key;
+    }
+
+    /**
+     * Clears all cached decorations.
+     * Painters will keep decorations they already use, but new ones will be built anew.
+     */
+    public static void clear ()
+    {
+        synchronized ( lock )
+        {
+            cache.clear ();
+        }
+    }
+
+    /**
+     * Returns amount of cached decoration prototypes.
+     *
+     * @return amount of cached decoration prototypes
+     */
+    public static int getSize ()
+    {
+        synchronized ( lock )
+        {
+            int size = 0;
+            for ( final Map<String, IDecoration> built : cache.values () )
+            {
+                size += built.size ();
+            }
+            return size;
+        }
+    }
+
+    /**
+     * Returns amount of successful cache lookups.
+     *
+     * @return amount of successful cache lookups
+     */
+    public static long getHits ()
+    {
+        synchronized ( lock )
+        {
+            return hits;
+        }
+    }
+
+    /**
+     * Returns amount of failed cache lookups.
+     *
+     * @return amount of failed cache lookups
+     */
+    public static long getMisses ()
+    {
+        synchronized ( lock )
+        {
+            return misses;
+        }
+    }
+
+    /**
+     * Resets cache lookup counters.
+     */
+    public static void resetStatistics ()
+    {
+        synchronized ( lock )
+        {
+            hits = 0;
+            misses = 0;
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,613 @@
+/*
+ * This file is part of WebLookAndFeel library.
+ *
+ * WebLookAndFeel library is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * WebLookAndFeel library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with WebLookAndFeel library.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.alee.painter.decoration;
+
+import com.alee.api.annotations.NotNull;
+import com.alee.api.annotations.Nullable;
+import com.alee.api.data.Orientation;
+import com.alee.api.jdk.Objects;
+import com.alee.managers.style.Bounds;
+import com.alee.painter.decoration.background.IBackground;
+import com.alee.painter.decoration.shadow.ShadowType;
+import com.alee.painter.decoration.shape.IPartialShape;
+import com.alee.painter.decoration.shape.IShape;
+import com.alee.painter.decoration.shape.StretchInfo;
+import com.alee.utils.GraphicsUtils;
+import com.alee.utils.TextUtils;
+import com.alee.utils.UtilityException;
+import com.alee.utils.general.Pair;
+
+import javax.swing.*;
+import java.awt.*;
+import java.awt.geom.AffineTransform;
+import java.awt.image.BufferedImage;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Shared cache of rasterized {@link WebDecoration}s.
+ *
+ * Most decorations are stretchable - they look exactly the same within {@link StretchInfo} area no matter how large it is.
+ * Such decorations can be painted once at minimal size into an image which is then split into nine parts similar to
+ * {@link com.alee.graphics.data.NinePatchIcon} and painted with middle parts stretched to fill requested bounds. That saves shapes
+ * construction, paints creation and elements painting on every repaint, which is quite noticeable in lists of decorated cells.
+ *
+ * Images are cached by decoration prototype identity, shape settings, side lines, graphics scale and rasterized size.
+ * Cache is limited to {@link #MAX_ENTRIES} most recently used images. Decorations that are not stretchable or contain elements
+ * that cannot be rasterized and decorations painted with transformations other than scale and translation, non-default composite
+ * or at fractional device coordinates are always painted directly.
+ *
+ * Rasterized painting is disabled by default, it can be enabled globally using {@link #setEnabled(boolean)} or for separate
+ * decorations using {@link WebDecoration#raster} setting.
+ *
+ * Cache is cleared whenever skin changes or new {@link com.alee.managers.style.SkinExtension} is applied.
+ *
+ * @author Mikle Garin
+ * @see WebDecoration#paint(Graphics2D, JComponent, Bounds)
+ */
+public final class DecorationRasterCache
+{
+    /**
+     * Maximum amount of cached decoration images.
+     */
+    public static final int MAX_ENTRIES = 256;
+
+    /**
+     * Maximum amount of pixels in a single cached decoration image.
+     */
+    public static final int MAX_PIXELS = 256 * 256;
+
+    /**
+     * Length of stretchable area within rasterized decoration image.
+     * Only its middle pixel is actually stretched, pixels on each side are painted as a part of fixed decoration parts.
+     * That avoids artifacts caused by elements interpolation near stretchable area borders when graphics is scaled.
+     */
+    private static final int STRETCH = 3;
+
+    /**
+     * Cache lock.
+     */
+    @NotNull
+    private static final Object lock = new Object ();
+
+    /**
+     * Decoration images cache, ordered from least to most recently used.
+     */
+    @NotNull
+    private static final Map<Key, BufferedImage> cache = new LinkedHashMap<Key, BufferedImage> ( 64, 0.75f, true )
+    {
+        @Override
+        protected boolean removeEldestEntry ( final Map.Entry<Key, BufferedImage> eldest )
+        {
+            return size () > MAX_ENTRIES;
+        }
+    };
+
+    /**
+     * Whether or not rasterized painting is enabled by default.
+     */
+    private static boolean enabled = false;
+
+    /**
+     * Amount of successful cache lookups.
+     */
+    private static long hits = 0;
+
+    /**
+     * Amount of failed cache lookups.
+     */
+    private static long misses = 0;
+
+    /**
+     * Private constructor to avoid instantiation.
+     */
+    private DecorationRasterCache ()
+    {
+        throw new UtilityException ( "Utility classes are not meant to be instantiated" );
+    }
+
+    /**
+     * Returns whether or not rasterized painting is enabled by default.
+     *
+     * @return {@code true} if rasterized painting is enabled by default, {@code false} otherwise
+     */
+    public static boolean isEnabled ()
+    {
+        synchronized ( lock )
+        {
+            return enabled;
+        }
+    }
+
+    /**
+     * Sets whether or not rasterized painting is enabled by default.
+     * Decorations that specify {@link WebDecoration#raster} setting explicitly are not affected.
+     *
+     * @param enabled whether or not rasterized painting is enabled by default
+     */
+    public static void setEnabled ( final boolean enabled )
+    {
+        synchronized ( lock )
+        {
+            DecorationRasterCache.enabled = enabled;
+        }
+    }
+
+    /**
+     * Paints decoration using cached image whenever possible.
+     * Clip must already be set up and decoration must be visible, the rest of the checks are performed by this method.
+     *
+     * @param g2d graphics context
+     * @param c   painted component
+     * @param d   painted decoration
+     * @param b   painting bounds
+     * @param <C> component type
+     * @return {@code true} if decoration was painted from cached image, {@code false} if it has to be painted directly
+     */
+    @SuppressWarnings ( "unchecked" )
+    public static <C extends JComponent> boolean paint ( @NotNull final Graphics2D g2d,
+                                                         @NotNull final C c, @NotNull final WebDecoration<C, ?> d,
+                                                         @NotNull final Bounds b )
+    {
+        boolean painted = false;
+        final Rectangle bounds = b.get ();
+        final AffineTransform transform = g2d.getTransform ();
+        final IShape shape = d.getShape ();
+        if ( isSupported ( transform, g2d.getComposite () ) && shape.isRasterizable ( c, d ) && isRasterizable ( c, d, null ) )
+        {
+            final StretchInfo stretchInfo = shape.getStretchInfo ( bounds, c, d );
+            final double scaleX = transform.getScaleX ();
+            final double scaleY = transform.getScaleY ();
+            final double x = bounds.x * scaleX + transform.getTranslateX ();
+            final double y = bounds.y * scaleY + transform.getTranslateY ();
+            if ( stretchInfo != null && stretchInfo.isStretchable () && isIntegral ( x ) && isIntegral ( y ) &&
+                    isIntegral ( bounds.width * scaleX ) && isIntegral ( bounds.height * scaleY ) )
+            {
+                // Resolving stretched areas
+                final Stretch horizontal = getStretch ( stretchInfo.getHorizontalStretch (), bounds.x, bounds.width, scaleX,
+                        isRasterizable ( c, d, Orientation.horizontal ) );
+                final Stretch vertical = getStretch ( stretchInfo.getVerticalStretch (), bounds.y, bounds.height, scaleY,
+                        isRasterizable ( c, d, Orientation.vertical ) );
+                if ( horizontal != null || vertical != null )
+                {
+                    final int width = horizontal != null ? horizontal.length : bounds.width;
+                    final int height = vertical != null ? vertical.length : bounds.height;
+                    final int imageWidth = ( int ) Math.round ( width * scaleX );
+                    final int imageHeight = ( int ) Math.round ( height * scaleY );
+                    if ( ( long ) imageWidth * imageHeight <= MAX_PIXELS )
+                    {
+                        final IDecoration prototype = d.getPrototype ();
+                        final Key key = new Key ( prototype != null ? prototype : d,
+                                TextUtils.getSettingsKey ( shape.getShapeSettings ( bounds, c, d ) ),
+                                getSideLines ( c, d, shape ), scaleX, scaleY, width, height );
+                        BufferedImage image;
+                        synchronized ( lock )
+                        {
+                            image = cache.get ( key );
+                            if ( image != null )
+                            {
+                                hits++;
+                            }
+                            else
+                            {
+                                misses++;
+                            }
+                        }
+                        if ( image == null )
+                        {
+                            image = createImage ( g2d, c, d, key, imageWidth, imageHeight );
+                            synchronized ( lock )
+                            {
+                                cache.put ( key, image );
+                            }
+                        }
+
+                        // Painting cached image in device pixels
+                        final int deviceX = ( int ) Math.round ( x );
+                        final int deviceY = ( int ) Math.round ( y );
+                        final int deviceWidth = ( int ) Math.round ( bounds.width * scaleX );
+                        final int deviceHeight = ( int ) Math.round ( bounds.height * scaleY );
+                        final int[] sxs = getSlices ( horizontal, 0, imageWidth );
+                        final int[] sys = getSlices ( vertical, 0, imageHeight );
+                        final int[] dxs = getSlices ( horizontal, deviceX, deviceWidth );
+                        final int[] dys = getSlices ( vertical, deviceY, deviceHeight );
+                        final Object interpolation = g2d.getRenderingHint ( RenderingHints.KEY_INTERPOLATION );
+                        g2d.setRenderingHint ( RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_NEAREST_NEIGHBOR );
+                        g2d.setTransform ( new AffineTransform () );
+                        for ( int i = 0; i < 3; i++ )
+                        {
+                            for ( int j = 0; j < 3; j++ )
+                            {
+                                if ( sxs[ i ] < sxs[ i + 1 ] && sys[ j ] < sys[ j + 1 ] )
+                                {
+                                    g2d.drawImage ( image, dxs[ i ], dys[ j ], dxs[ i + 1 ], dys[ j + 1 ],
+                                            sxs[ i ], sys[ j ], sxs[ i + 1 ], sys[ j + 1 ], null );
+                                }
+                            }
+                        }
+                        g2d.setTransform ( transform );
+                        g2d.setRenderingHint ( RenderingHints.KEY_INTERPOLATION, interpolation != null ? interpolation :
+                                RenderingHints.VALUE_INTERPOLATION_NEAREST_NEIGHBOR );
+                        painted = true;
+                    }
+                }
+            }
+        }
+        return painted;
+    }
+
+    /**
+     * Returns whether or not cached images can be painted with the specified {@link AffineTransform} and {@link Composite}.
+     * Only scale and translation transformations are supported since images are painted in device pixels.
+     * Only default {@link Composite} is supported since decoration elements are blended separately when painted directly.
+     *
+     * @param transform graphics {@link AffineTransform}
+     * @param composite graphics {@link Composite}
+     * @return {@code true} if cached images can be painted with the specified {@link AffineTransform} and {@link Composite}
+     */
+    private static boolean isSupported ( @NotNull final AffineTransform transform, @NotNull final Composite composite )
+    {
+        return ( transform.getType () & ~( AffineTransform.TYPE_TRANSLATION | AffineTransform.TYPE_MASK_SCALE ) ) == 0 &&
+                transform.getScaleX () > 0 && transform.getScaleY () > 0 &&
+                composite instanceof AlphaComposite && ( ( AlphaComposite ) composite ).getRule () == AlphaComposite.SRC_OVER &&
+                ( ( AlphaComposite ) composite ).getAlpha () == 1f;
+    }
+
+    /**
+     * Returns whether or not all decoration elements can be rasterized.
+     *
+     * @param c           painted component
+     * @param d           painted decoration
+     * @param orientation stretch {@link Orientation}, {@code null} if decoration is not stretched
+     * @param <C>         component type
+     * @return {@code true} if all decoration elements can be rasterized, {@code false} otherwise
+     */
+    @SuppressWarnings ( "unchecked" )
+    private static <C extends JComponent> boolean isRasterizable ( @NotNull final C c,
+                                                                   @NotNull final WebDecoration<C, ?> d,
+                                                                   @Nullable final Orientation orientation )
+    {
+        boolean rasterizable = true;
+        for ( final ShadowType type : ShadowType.values () )
+        {
+            rasterizable = rasterizable && ( !d.hasShadow ( type ) || d.getShadow ( type ).isRasterizable ( c, d, orientation ) );
+        }
+        rasterizable = rasterizable && ( !d.hasBorder () || d.getBorder ().isRasterizable ( c, d, orientation ) );
+        if ( d.hasBackground () )
+        {
+            for ( final IBackground background : d.getBackgrounds () )
+            {
+                rasterizable = rasterizable && background.isRasterizable ( c, d, orientation );
+            }
+        }
+        return rasterizable;
+    }
+
+    /**
+     * Returns {@link Stretch} for the specified stretch interval or {@code null} if it cannot be used.
+     * Stretch can only be used if fixed decoration parts and rasterized image have integral sizes in device pixels.
+     *
+     * @param interval stretch interval
+     * @param origin   painting bounds origin
+     * @param size     painting bounds size
+     * @param scale    graphics scale
+     * @param allowed  whether or not decoration elements can be stretched
+     * @return {@link Stretch} for the specified stretch interval or {@code null} if it cannot be used
+     */
+    @Nullable
+    private static Stretch getStretch ( @Nullable final Pair<Integer, Integer> interval, final int origin, final int size,
+                                        final double scale, final boolean allowed )
+    {
+        Stretch stretch = null;
+        if ( allowed && interval != null )
+        {
+            final int start = interval.getKey () - origin;
+            final int end = origin + size - 1 - interval.getValue ();
+            final int length = start + STRETCH + end;
+            if ( start >= 0 && end >= 0 && length <= size &&
+                    isIntegral ( start * scale ) && isIntegral ( end * scale ) && isIntegral ( length * scale ) )
+            {
+                stretch = new Stretch ( ( int ) Math.round ( ( start + 1 ) * scale ), ( int ) Math.round ( ( end + 1 ) * scale ), length );
+            }
+        }
+        return stretch;
+    }
+
+    /**
+     * Returns slice coordinates along one axis.
+     *
+     * @param stretch {@link Stretch}, {@code null} if decoration is not stretched along this axis
+     * @param origin  slices origin
+     * @param size    slices total size
+     * @return slice coordinates along one axis
+     */
+    @NotNull
+    private static int[] getSlices ( @Nullable final Stretch stretch, final int origin, final int size )
+    {
+        return stretch != null ?
+                new int[]{ origin, origin + stretch.start, origin + size - stretch.end, origin + size } :
+                new int[]{ origin, origin, origin, origin + size };
+    }
+
+    /**
+     * Returns side lines key for {@link IPartialShape}.
+     * Side lines are painted by {@link WebDecoration} itself and are not a part of {@link IShape} settings.
+     *
+     * @param c     painted component
+     * @param d     painted decoration
+     * @param shape decoration {@link IShape}
+     * @param <C>   component type
+     * @return side lines key for {@link IPartialShape}
+     */
+    @SuppressWarnings ( "unchecked" )
+    private static <C extends JComponent> int getSideLines ( @NotNull final C c, @NotNull final WebDecoration<C, ?> d,
+                                                             @NotNull final IShape shape )
+    {
+        int lines = c.getComponentOrientation ().isLeftToRight () ? 1 : 0;
+        if ( shape instanceof IPartialShape )
+        {
+            final IPartialShape ps = ( IPartialShape ) shape;
+            lines |= ps.isPaintTopLine ( c, d ) ? 2 : 0;
+            lines |= ps.isPaintLeftLine ( c, d ) ? 4 : 0;
+            lines |= ps.isPaintBottomLine ( c, d ) ? 8 : 0;
+            lines |= ps.isPaintRightLine ( c, d ) ? 16 : 0;
+        }
+        return lines;
+    }
+
+    /**
+     * Returns newly rendered decoration image.
+     * Decoration opacity is applied within the image, that gives the same result since elements are blended using SrcOver rule.
+     *
+     * @param g2d         graphics context image will be painted on
+     * @param c           painted component
+     * @param d           painted decoration
+     * @param key         image {@link Key}
+     * @param imageWidth  image width in device pixels
+     * @param imageHeight image height in device pixels
+     * @param <C>         component type
+     * @return newly rendered decoration image
+     */
+    @NotNull
+    private static <C extends JComponent> BufferedImage createImage ( @NotNull final Graphics2D g2d,
+                                                                      @NotNull final C c,
+                                                                      @NotNull final WebDecoration<C, ?> d,
+                                                                      @NotNull final Key key,
+                                                                      final int imageWidth,
+                                                                      final int imageHeight )
+    {
+        final BufferedImage image = g2d.getDeviceConfiguration ().createCompatibleImage (
+                imageWidth, imageHeight, Transparency.TRANSLUCENT );
+        final Graphics2D ig = image.createGraphics ();
+        ig.setRenderingHints ( g2d.getRenderingHints () );
+        ig.scale ( key.scaleX, key.scaleY );
+        GraphicsUtils.setupAntialias ( ig );
+        GraphicsUtils.setupAlphaComposite ( ig, d.getOpacity (), d.getOpacity () < 1f );
+        d.paintDecoration ( ig, c, new Bounds ( new Dimension ( key.width, key.height ) ) );
+        ig.dispose ();
+        return image;
+    }
+
+    /**
+     * Clears all cached decoration images.
+     */
+    public static void clear ()
+    {
+        synchronized ( lock )
+        {
+            cache.clear ();
+        }
+    }
+
+    /**
+     * Returns amount of cached decoration images.
+     *
+     * @return amount of cached decoration images
+     */
+    public static int getSize ()
+    {
+        synchronized ( lock )
+        {
+            return cache.size ();
+        }
+    }
+
+    /**
+     * Returns amount of successful cache lookups.
+     *
+     * @return amount of successful cache lookups
+     */
+    public static long getHits ()
+    {
+        synchronized ( lock )
+        {
+            return hits;
+        }
+    }
+
+    /**
+     * Returns amount of failed cache lookups.
+     *
+     * @return amount of failed cache lookups
+     */
+    public static long getMisses ()
+    {
+        synchronized ( lock )
+        {
+            return misses;
+        }
+    }
+
+    /**
+     * Resets cache lookup counters.
+     */
+    public static void resetStatistics ()
+    {
+        synchronized ( lock )
+        {
+            hits = 0;
+            misses = 0;
+        }
+    }
+
+    /**
+     * Returns whether or not specified value is integral.
+     *
+     * @param value value to check
+     * @return {@code true} if specified value is integral, {@code false} otherwise
+     */
+    private static boolean isIntegral ( final double value )
+    {
+        return Math.abs ( value - Math.rint ( value ) ) < 0.001;
+    }
+
+    /**
+     * Decoration stretch along one axis.
+     */
+    private static final class Stretch
+    {
+        /**
+         * Fixed start part size in device pixels, including single pixel of stretchable area.
+         */
+        private final int start;
+
+        /**
+         * Fixed end part size in device pixels, including single pixel of stretchable area.
+         */
+        private final int end;
+
+        /**
+         * Rasterized decoration length.
+         */
+        private final int length;
+
+        /**
+         * Constructs new {@link Stretch}.
+         *
+         * @param start  fixed start part size in device pixels
+         * @param end    fixed end part size in device pixels
+         * @param length rasterized decoration length
+         */
+        public Stretch ( final int start, final int end, final int length )
+        {
+            this.start = start;
+            this.end = end;
+            this.length = length;
+        }
+    }
+
+    /**
+     * Decoration image cache key.
+     */
+    private static final class Key
+    {
+        /**
+         * Decoration prototype compared by identity.
+         */
+        @NotNull
+        private final IDecoration decoration;
+
+        /**
+         * Shape settings key.
+         */
+        @NotNull
+        private final String settings;
+
+        /**
+         * Component orientation and side lines flags.
+         */
+        private final int lines;
+
+        /**
+         * Horizontal graphics scale.
+         */
+        private final double scaleX;
+
+        /**
+         * Vertical graphics scale.
+         */
+        private final double scaleY;
+
+        /**
+         * Rasterized decoration width.
+         */
+        private final int width;
+
+        /**
+         * Rasterized decoration height.
+         */
+        private final int height;
+
+        /**
+         * Key hash code.
+         */
+        private final int hashCode;
+
+        /**
+         * Constructs new {@link Key}.
+         *
+         * @param decoration decoration prototype compared by identity
+         * @param settings   shape settings key
+         * @param lines      component orientation and side lines flags
+         * @param scaleX     horizontal graphics scale
+         * @param scaleY     vertical graphics scale
+         * @param width      rasterized decoration width
+         * @param height     rasterized decoration height
+         */
+        public Key ( @NotNull final IDecoration decoration, @NotNull final String settings, final int lines, final double scaleX,
+                     final double scaleY, final int width, final int height )
+        {
+            this.decoration = decoration;
+            this.settings = settings;
+            this.lines = lines;
+            this.scaleX = scaleX;
+            this.scaleY = scaleY;
+            this.width = width;
+            this.height = height;
+            this.hashCode = Objects.hash ( System.identityHashCode ( decoration ), settings, lines, scaleX, scaleY, width, height );
+        }
+
+        @Override
+        public int hashCode ()
+        {
+            return hashCode;
+        }
+
+        @Override
+        public boolean equals ( @Nullable final Object object )
+        {
+            final boolean equals;
+            if ( object == this )
+            {
+                equals = true;
+            }
+            else if ( object instanceof Key )
+            {
+                final Key other = ( Key ) object;
+                equals = hashCode == other.hashCode && decoration == other.decoration && lines == other.lines &&
+                        scaleX == other.scaleX && scaleY == other.scaleY && width == other.width && height == other.height &&
+                        settings.equals ( other.settings );
+            }
+            else
+            {
+                equals = false;
+            }
+            return equals;
+        }
+    }
+}
\ No newline at end of file
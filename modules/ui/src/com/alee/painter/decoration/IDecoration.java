@@ -19,6 +19,7 @@ package com.alee.painter.decoration;
 
 import com.alee.api.Identifiable;
 import com.alee.api.annotations.NotNull;
+import com.alee.api.annotations.Nullable;
 import com.alee.api.merge.Overwriting;
 import com.alee.managers.style.Bounds;
 import com.alee.managers.style.PainterShapeProvider;
@@ -102,6 +103,22 @@ public interface IDecoration<C extends JComponent, I extends IDecoration<C, I>>
      */
     public void setSection ( boolean section );
 
+    /**
+     * Returns shared decoration prototype this decoration was cloned from or {@code null} if it wasn't cloned from one.
+     * Decorations cloned from the same prototype are identical in their settings and can share cached painting resources.
+     *
+     * @return shared decoration prototype this decoration was cloned from or {@code null} if it wasn't cloned from one
+     */
+    @Nullable
+    public I getPrototype ();
+
+    /**
+     * Sets shared decoration prototype this decoration was cloned from.
+     *
+     * @param prototype shared decoration prototype this decoration was cloned from
+     */
+    public void setPrototype ( @Nullable I prototype );
+
     /**
      * Returns decoration borders size.
      *
@@ -18,6 +18,8 @@
 package com.alee.painter.decoration;
 
 import com.alee.api.annotations.NotNull;
+import com.alee.api.annotations.Nullable;
+import com.alee.api.data.Orientation;
 
 import javax.swing.*;
 import java.awt.*;
@@ -43,4 +45,17 @@ public interface IShapedElement<C extends JComponent, D extends IDecoration<C, D
      * @param shape  {@link Shape} of the painted element
      */
     public void paint ( @NotNull Graphics2D g2d, @NotNull Rectangle bounds, @NotNull C c, @NotNull D d, @NotNull Shape shape );
+
+    /**
+     * Returns whether or not this element can be painted from raster cached by {@link DecorationRasterCache}.
+     * That is only possible if its appearance depends solely on its own settings, {@link IDecoration} settings and painted {@link Shape}.
+     * If stretch {@link Orientation} is specified element must also look the same when painted {@link Shape} is stretched along it
+     * within {@link com.alee.painter.decoration.shape.StretchInfo} area.
+     *
+     * @param c           {@link JComponent} that is being painted
+     * @param d           {@link IDecoration} state
+     * @param orientation stretch {@link Orientation}, {@code null} if painted {@link Shape} is not stretched
+     * @return {@code true} if this element can be painted from cached raster, {@code false} otherwise
+     */
+    public boolean isRasterizable ( @NotNull C c, @NotNull D d, @Nullable Orientation orientation );
 }
\ No newline at end of file
@@ -32,6 +32,7 @@ import com.alee.utils.CollectionUtils;
 import com.alee.utils.GraphicsUtils;
 import com.alee.utils.SwingUtils;
 import com.thoughtworks.xstream.annotations.XStreamAlias;
+import com.thoughtworks.xstream.annotations.XStreamAsAttribute;
 import com.thoughtworks.xstream.annotations.XStreamImplicit;
 
 import javax.swing.*;
@@ -94,6 +95,15 @@ public class WebDecoration<C extends JComponent, I extends WebDecoration<C, I>>
     @XStreamImplicit
     protected List<IBackground> backgrounds = new ArrayList<IBackground> ( 1 );
 
+    /**
+     * Whether or not decoration should be painted from cached raster whenever possible.
+     * If not specified {@link DecorationRasterCache#isEnabled()} setting is used.
+     *
+     * @see DecorationRasterCache
+     */
+    @XStreamAsAttribute
+    protected Boolean raster;
+
     @Override
     public void activate ( final C c )
     {
@@ -164,6 +174,16 @@ public class WebDecoration<C extends JComponent, I extends WebDecoration<C, I>>
         return super.isVisible () && hasShape ();
     }
 
+    /**
+     * Returns whether or not decoration should be painted from cached raster whenever possible.
+     *
+     * @return {@code true} if decoration should be painted from cached raster whenever possible, {@code false} otherwise
+     */
+    public boolean isRaster ()
+    {
+        return raster != null ? raster : DecorationRasterCache.isEnabled ();
+    }
+
     /**
      * Returns whether or not decoration has shape.
      *
@@ -400,18 +420,26 @@ public class WebDecoration<C extends JComponent, I extends WebDecoration<C, I>>
                 // Painting decoration elements
                 if ( isVisible () )
                 {
-                    // Setup settings
-                    final Object oaa = GraphicsUtils.setupAntialias ( g2d );
-                    final Composite oc = GraphicsUtils.setupAlphaComposite ( g2d, getOpacity (), getOpacity () < 1f );
+                    // Setup clip
                     final Shape ocl = GraphicsUtils.setupClip ( g2d, cl.createIntersection ( bounds ) );
 
-                    // Painting decoration
-                    paintDecoration ( g2d, c, b );
+                    // Painting decoration from cached raster whenever possible
+                    if ( !isRaster () || !DecorationRasterCache.paint ( g2d, c, this, b ) )
+                    {
+                        // Setup settings
+                        final Object oaa = GraphicsUtils.setupAntialias ( g2d );
+                        final Composite oc = GraphicsUtils.setupAlphaComposite ( g2d, getOpacity (), getOpacity () < 1f );
+
+                        // Painting decoration
+                        paintDecoration ( g2d, c, b );
+
+                        // Restoring settings
+                        GraphicsUtils.restoreAntialias ( g2d, oaa );
+                        GraphicsUtils.restoreComposite ( g2d, oc );
+                    }
 
-                    // Restoring settings
+                    // Restoring clip
                     GraphicsUtils.restoreClip ( g2d, ocl );
-                    GraphicsUtils.restoreAntialias ( g2d, oaa );
-                    GraphicsUtils.restoreComposite ( g2d, oc );
                 }
 
                 // Painting contents
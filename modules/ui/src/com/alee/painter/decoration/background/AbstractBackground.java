@@ -19,6 +19,7 @@ package com.alee.painter.decoration.background;
 
 import com.alee.api.annotations.NotNull;
 import com.alee.api.annotations.Nullable;
+import com.alee.api.data.Orientation;
 import com.alee.painter.decoration.IDecoration;
 import com.thoughtworks.xstream.annotations.XStreamAsAttribute;
 
@@ -85,6 +86,15 @@ public abstract class AbstractBackground<C extends JComponent, D extends IDecora
          */
     }
 
+    @Override
+    public boolean isRasterizable ( @NotNull final C c, @NotNull final D d, @Nullable final Orientation orientation )
+    {
+        /**
+         * Not rasterizable by default since appearance might depend on the component.
+         */
+        return false;
+    }
+
     /**
      * Returns background opacity.
      *
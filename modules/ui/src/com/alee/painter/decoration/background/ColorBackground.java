@@ -19,6 +19,7 @@ package com.alee.painter.decoration.background;
 
 import com.alee.api.annotations.NotNull;
 import com.alee.api.annotations.Nullable;
+import com.alee.api.data.Orientation;
 import com.alee.painter.decoration.IDecoration;
 import com.alee.utils.GraphicsUtils;
 import com.thoughtworks.xstream.annotations.XStreamAlias;
@@ -78,4 +79,10 @@ public class ColorBackground<C extends JComponent, D extends IDecoration<C, D>,
             }
         }
     }
+
+    @Override
+    public boolean isRasterizable ( @NotNull final C c, @NotNull final D d, @Nullable final Orientation orientation )
+    {
+        return true;
+    }
 }
\ No newline at end of file
@@ -19,6 +19,7 @@ package com.alee.painter.decoration.background;
 
 import com.alee.api.annotations.NotNull;
 import com.alee.api.annotations.Nullable;
+import com.alee.api.data.Orientation;
 import com.alee.api.merge.behavior.OverwriteOnMerge;
 import com.alee.painter.decoration.DecorationUtils;
 import com.alee.painter.decoration.IDecoration;
@@ -156,4 +157,23 @@ public class GradientBackground<C extends JComponent, D extends IDecoration<C, D
             }
         }
     }
+
+    @Override
+    public boolean isRasterizable ( @NotNull final C c, @NotNull final D d, @Nullable final Orientation orientation )
+    {
+        final boolean rasterizable;
+        if ( orientation != null )
+        {
+            // Gradient only stays the same when stretched across its direction
+            final Point2D.Float from = getFrom ( c, d );
+            final Point2D.Float to = getTo ( c, d );
+            rasterizable = getType ( c, d ) == GradientType.linear &&
+                    ( orientation.isHorizontal () ? from.x == to.x : from.y == to.y );
+        }
+        else
+        {
+            rasterizable = true;
+        }
+        return rasterizable;
+    }
 }
\ No newline at end of file
@@ -19,6 +19,7 @@ package com.alee.painter.decoration.border;
 
 import com.alee.api.annotations.NotNull;
 import com.alee.api.annotations.Nullable;
+import com.alee.api.data.Orientation;
 import com.alee.painter.decoration.IDecoration;
 import com.alee.utils.GraphicsUtils;
 import com.thoughtworks.xstream.annotations.XStreamAlias;
@@ -109,4 +110,14 @@ public class LineBorder<C extends JComponent, D extends IDecoration<C, D>, I ext
             }
         }
     }
+
+    @Override
+    public boolean isRasterizable ( @NotNull final C c, @NotNull final D d, @Nullable final Orientation orientation )
+    {
+        /**
+         * Dashed lines will look different when stretched.
+         */
+        final Stroke stroke = getStroke ();
+        return orientation == null || stroke == null || stroke instanceof BasicStroke && ( ( BasicStroke ) stroke ).getDashArray () == null;
+    }
 }
\ No newline at end of file
@@ -24,7 +24,6 @@ import com.alee.api.jdk.Objects;
 import com.alee.api.merge.behavior.OmitOnMerge;
 import com.alee.painter.decoration.DecorationException;
 import com.alee.painter.decoration.IDecoration;
-import com.alee.utils.ColorUtils;
 import com.alee.utils.GraphicsUtils;
 import com.alee.utils.SwingUtils;
 import com.alee.utils.TextUtils;
@@ -727,8 +726,8 @@ public abstract class AbstractTextContent<C extends JComponent, D extends IDecor
     /**
      * Draw a string with a blur or shadow effect. The light angle is assumed to be 0 degrees, (i.e., window is illuminated from top).
      * The effect is intended to be subtle to be usable in as many text components as possible. The effect is generated with multiple calls
-     * to draw string. This method paints the text on coordinates {@code tx}, {@code ty}. If text should be painted elsewhere, a transform
-     * should be applied to the graphics before passing it.
+     * to draw string, but it is only rendered once and then cached by {@link TextShadowCache}. This method paints the text on coordinates
+     * {@code tx}, {@code ty}. If text should be painted elsewhere, a transform should be applied to the graphics before passing it.
      *
      * @param c     painted component
      * @param d     painted decoration state
@@ -742,68 +741,11 @@ public abstract class AbstractTextContent<C extends JComponent, D extends IDecor
     {
         if ( isShadow ( c, d ) )
         {
-            // This is required to properly render sub-pixel text antialias
-            final RenderingHints rh = g2d.getRenderingHints ();
-
-            // Shadow settings
+            /* todo final boolean isShadow = true; - replace with shadow type? #557 */
             final float opacity = getShadowOpacity ( c, d );
             final int size = getShadowSize ( c, d );
             final Color color = getShadowColor ( c, d );
-            final double tx = -size;
-            final double ty = 1 - size;
-            /* todo final boolean isShadow = true; - replace with shadow type? #557 */
-
-            // Configuring graphics
-            final Composite oldComposite = g2d.getComposite ();
-            final Color oldColor = g2d.getColor ();
-            g2d.translate ( textX + tx, textY + ty );
-
-            // Use a alpha blend smaller than 1 to prevent the effect from becoming too dark when multiple paints occur on top of each other
-            float preAlpha = 0.4f;
-            if ( oldComposite instanceof AlphaComposite )
-            {
-                final AlphaComposite alphaComposite = ( AlphaComposite ) oldComposite;
-                if ( alphaComposite.getRule () == AlphaComposite.SRC_OVER )
-                {
-                    // Make sure alpha blend is adjusted by composite passed from above
-                    preAlpha = alphaComposite.getAlpha () * preAlpha;
-                }
-            }
-            g2d.setPaint ( ColorUtils.opaque ( color ) );
-
-            // If the effect is a shadow it looks better to stop painting a bit earlier - shadow will look softer
-            final int maxSize = /*isShadow ?*/ size - 1 /*: size*/;
-            for ( int i = -size; i <= maxSize; i++ )
-            {
-                for ( int j = -size; j <= maxSize; j++ )
-                {
-                    final double distance = i * i + j * j;
-                    float alpha;
-                    if ( distance > 0.0d )
-                    {
-                        alpha = ( float ) ( 1.0f / ( distance * size * opacity ) );
-                    }
-                    else
-                    {
-                        alpha = opacity;
-                    }
-                    alpha *= preAlpha;
-                    if ( alpha > 1.0f )
-                    {
-                        alpha = 1.0f;
-                    }
-                    g2d.setComposite ( AlphaComposite.getInstance ( AlphaComposite.SRC_OVER, alpha ) );
-                    g2d.drawString ( text, i + size, j + size );
-                }
-            }
-
-            // Restore graphics
-            g2d.translate ( -textX - tx, -textY - ty );
-            g2d.setComposite ( oldComposite );
-            g2d.setPaint ( oldColor );
-
-            // This is required to properly render sub-pixel text antialias
-            g2d.setRenderingHints ( rh );
+            TextShadowCache.paintShadow ( g2d, text, textX, textY, color, size, opacity );
         }
     }
 
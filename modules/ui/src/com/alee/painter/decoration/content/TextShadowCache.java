@@ -0,0 +1,550 @@
+/*
+ * This file is part of WebLookAndFeel library.
+ *
+ * WebLookAndFeel library is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * WebLookAndFeel library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with WebLookAndFeel library.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.alee.painter.decoration.content;
+
+import com.alee.api.annotations.NotNull;
+import com.alee.api.annotations.Nullable;
+import com.alee.api.jdk.Objects;
+import com.alee.utils.ColorUtils;
+import com.alee.utils.UtilityException;
+
+import java.awt.*;
+import java.awt.font.FontRenderContext;
+import java.awt.geom.AffineTransform;
+import java.awt.geom.Rectangle2D;
+import java.awt.image.BufferedImage;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Shared cache of rendered text shadows used by {@link AbstractTextContent}.
+ *
+ * Text shadow is painted by drawing text multiple times with different opacity around its original location, which is quite expensive
+ * to do on every repaint. Instead shadow is rendered once into a translucent image and that image is simply painted afterwards.
+ * Image is rendered with exactly the same algorithm, so cached shadow looks the same as the one painted directly.
+ *
+ * Images are cached by text, font, color, shadow size and opacity, composite opacity, text rendering hints and graphics scale.
+ * Cache is limited to {@link #MAX_ENTRIES} most recently used shadows. Shadows of large texts and shadows painted with transformations
+ * other than scale and translation are always painted directly.
+ *
+ * @author Mikle Garin
+ * @see AbstractTextContent#paintTextShadow(javax.swing.JComponent, com.alee.painter.decoration.IDecoration, Graphics2D, String, int,
+ * int)
+ */
+public final class TextShadowCache
+{
+    /**
+     * Maximum amount of cached shadow images.
+     */
+    public static final int MAX_ENTRIES = 256;
+
+    /**
+     * Maximum amount of pixels in a single cached shadow image.
+     */
+    public static final int MAX_PIXELS = 256 * 256;
+
+    /**
+     * Opacity used for each shadow text pass to prevent shadow from becoming too dark.
+     */
+    private static final float PASS_OPACITY = 0.4f;
+
+    /**
+     * Cache lock.
+     */
+    @NotNull
+    private static final Object lock = new Object ();
+
+    /**
+     * Shadow images cache, ordered from least to most recently used.
+     */
+    @NotNull
+    private static final Map<Key, ShadowImage> cache = new LinkedHashMap<Key, ShadowImage> ( 64, 0.75f, true )
+    {
+        @Override
+        protected boolean removeEldestEntry ( final Map.Entry<Key, ShadowImage> eldest )
+        {
+            return size () > MAX_ENTRIES;
+        }
+    };
+
+    /**
+     * Amount of successful cache lookups.
+     */
+    private static long hits = 0;
+
+    /**
+     * Amount of failed cache lookups.
+     */
+    private static long misses = 0;
+
+    /**
+     * Private constructor to avoid instantiation.
+     */
+    private TextShadowCache ()
+    {
+        throw new UtilityException ( "Utility classes are not meant to be instantiated" );
+    }
+
+    /**
+     * Paints text shadow using cached shadow image whenever possible.
+     * Shadow is painted for the text located at the specified coordinates using {@link Graphics2D} font and rendering hints.
+     *
+     * @param g2d     graphics context
+     * @param text    text to paint shadow for
+     * @param textX   text X coordinate
+     * @param textY   text Y coordinate
+     * @param color   shadow color
+     * @param size    shadow size
+     * @param opacity shadow opacity
+     */
+    public static void paintShadow ( @NotNull final Graphics2D g2d, @NotNull final String text, final int textX, final int textY,
+                                     @NotNull final Color color, final int size, final float opacity )
+    {
+        final AffineTransform transform = g2d.getTransform ();
+        if ( size > 0 && text.length () > 0 &&
+                ( transform.getType () & ~( AffineTransform.TYPE_TRANSLATION | AffineTransform.TYPE_MASK_SCALE ) ) == 0 &&
+                transform.getScaleX () > 0 && transform.getScaleY () > 0 )
+        {
+            final Key key = new Key ( text, g2d.getFont (), color, size, opacity, getPassOpacity ( g2d ),
+                    g2d.getRenderingHint ( RenderingHints.KEY_TEXT_ANTIALIASING ),
+                    g2d.getRenderingHint ( RenderingHints.KEY_FRACTIONALMETRICS ),
+                    transform.getScaleX (), transform.getScaleY () );
+            ShadowImage shadow;
+            synchronized ( lock )
+            {
+                shadow = cache.get ( key );
+                if ( shadow != null )
+                {
+                    hits++;
+                }
+                else
+                {
+                    misses++;
+                }
+            }
+            if ( shadow == null )
+            {
+                shadow = createShadow ( g2d, key );
+                if ( shadow != null )
+                {
+                    synchronized ( lock )
+                    {
+                        cache.put ( key, shadow );
+                    }
+                }
+            }
+            if ( shadow != null )
+            {
+                if ( shadow.image != null )
+                {
+                    // Painting cached shadow image in device pixels
+                    final AffineTransform imageTransform = AffineTransform.getTranslateInstance (
+                            textX - size + shadow.x, textY + 1 - size + shadow.y );
+                    imageTransform.scale ( 1 / key.scaleX, 1 / key.scaleY );
+                    final Composite oldComposite = g2d.getComposite ();
+                    g2d.setComposite ( AlphaComposite.SrcOver );
+                    g2d.drawImage ( shadow.image, imageTransform, null );
+                    g2d.setComposite ( oldComposite );
+                }
+            }
+            else
+            {
+                paintShadowDirectly ( g2d, text, textX, textY, color, size, opacity );
+            }
+        }
+        else if ( size > 0 && text.length () > 0 )
+        {
+            paintShadowDirectly ( g2d, text, textX, textY, color, size, opacity );
+        }
+    }
+
+    /**
+     * Paints text shadow directly by drawing text multiple times with different opacity.
+     * The light angle is assumed to be 0 degrees, (i.e., window is illuminated from top).
+     *
+     * @param g2d     graphics context
+     * @param text    text to paint shadow for
+     * @param textX   text X coordinate
+     * @param textY   text Y coordinate
+     * @param color   shadow color
+     * @param size    shadow size
+     * @param opacity shadow opacity
+     */
+    public static void paintShadowDirectly ( @NotNull final Graphics2D g2d, @NotNull final String text, final int textX, final int textY,
+                                             @NotNull final Color color, final int size, final float opacity )
+    {
+        // This is required to properly render sub-pixel text antialias
+        final RenderingHints rh = g2d.getRenderingHints ();
+
+        // Configuring graphics
+        final Composite oldComposite = g2d.getComposite ();
+        final Paint oldPaint = g2d.getPaint ();
+        final double tx = -size;
+        final double ty = 1 - size;
+        g2d.translate ( textX + tx, textY + ty );
+
+        // Painting shadow
+        paintShadowPasses ( g2d, text, color, size, opacity, getPassOpacity ( g2d ) );
+
+        // Restore graphics
+        g2d.translate ( -textX - tx, -textY - ty );
+        g2d.setComposite ( oldComposite );
+        g2d.setPaint ( oldPaint );
+
+        // This is required to properly render sub-pixel text antialias
+        g2d.setRenderingHints ( rh );
+    }
+
+    /**
+     * Returns opacity used for each shadow text pass.
+     * It is adjusted by the opacity of {@link AlphaComposite} used in {@link Graphics2D}.
+     *
+     * @param g2d graphics context
+     * @return opacity used for each shadow text pass
+     */
+    private static float getPassOpacity ( @NotNull final Graphics2D g2d )
+    {
+        float passOpacity = PASS_OPACITY;
+        final Composite composite = g2d.getComposite ();
+        if ( composite instanceof AlphaComposite )
+        {
+            final AlphaComposite alphaComposite = ( AlphaComposite ) composite;
+            if ( alphaComposite.getRule () == AlphaComposite.SRC_OVER )
+            {
+                // Make sure alpha blend is adjusted by composite passed from above
+                passOpacity = alphaComposite.getAlpha () * passOpacity;
+            }
+        }
+        return passOpacity;
+    }
+
+    /**
+     * Paints all shadow text passes relative to the shadow origin.
+     *
+     * @param g2d         graphics context
+     * @param text        text to paint shadow for
+     * @param color       shadow color
+     * @param size        shadow size
+     * @param opacity     shadow opacity
+     * @param passOpacity opacity used for each shadow text pass
+     */
+    private static void paintShadowPasses ( @NotNull final Graphics2D g2d, @NotNull final String text, @NotNull final Color color,
+                                            final int size, final float opacity, final float passOpacity )
+    {
+        g2d.setPaint ( ColorUtils.opaque ( color ) );
+
+        // If the effect is a shadow it looks better to stop painting a bit earlier - shadow will look softer
+        final int maxSize = size - 1;
+        for ( int i = -size; i <= maxSize; i++ )
+        {
+            for ( int j = -size; j <= maxSize; j++ )
+            {
+                final double distance = i * i + j * j;
+                float alpha;
+                if ( distance > 0.0d )
+                {
+                    alpha = ( float ) ( 1.0f / ( distance * size * opacity ) );
+                }
+                else
+                {
+                    alpha = opacity;
+                }
+                alpha *= passOpacity;
+                if ( alpha > 1.0f )
+                {
+                    alpha = 1.0f;
+                }
+                g2d.setComposite ( AlphaComposite.getInstance ( AlphaComposite.SRC_OVER, alpha ) );
+                g2d.drawString ( text, i + size, j + size );
+            }
+        }
+    }
+
+    /**
+     * Returns newly rendered {@link ShadowImage} or {@code null} if shadow is too large to be cached.
+     *
+     * @param g2d graphics context shadow will be painted on
+     * @param key shadow {@link Key}
+     * @return newly rendered {@link ShadowImage} or {@code null} if shadow is too large to be cached
+     */
+    @Nullable
+    private static ShadowImage createShadow ( @NotNull final Graphics2D g2d, @NotNull final Key key )
+    {
+        final ShadowImage shadow;
+
+        // Calculating shadow bounds relative to the shadow origin
+        // Bounds are expanded by one pixel on each side to include antialiased pixels
+        final FontRenderContext frc = g2d.getFontRenderContext ();
+        final Rectangle2D bounds = key.font.createGlyphVector ( frc, key.text ).getVisualBounds ();
+        final int x = ( int ) Math.floor ( bounds.getMinX () ) - 1;
+        final int y = ( int ) Math.floor ( bounds.getMinY () ) - 1;
+        final int width = ( int ) Math.ceil ( bounds.getMaxX () ) + 1 + key.size * 2 - x;
+        final int height = ( int ) Math.ceil ( bounds.getMaxY () ) + 1 + key.size * 2 - y;
+        final int imageWidth = ( int ) Math.ceil ( width * key.scaleX );
+        final int imageHeight = ( int ) Math.ceil ( height * key.scaleY );
+        if ( bounds.isEmpty () )
+        {
+            // There is nothing to paint, for instance text only contains whitespaces
+            shadow = new ShadowImage ( null, 0, 0 );
+        }
+        else if ( ( long ) imageWidth * imageHeight <= MAX_PIXELS )
+        {
+            // Rendering shadow
+            final BufferedImage image = g2d.getDeviceConfiguration ().createCompatibleImage (
+                    imageWidth, imageHeight, Transparency.TRANSLUCENT );
+            final Graphics2D ig = image.createGraphics ();
+            ig.setRenderingHints ( g2d.getRenderingHints () );
+            ig.setFont ( key.font );
+            ig.scale ( key.scaleX, key.scaleY );
+            ig.translate ( -x, -y );
+            paintShadowPasses ( ig, key.text, key.color, key.size, key.opacity, key.passOpacity );
+            ig.dispose ();
+            shadow = new ShadowImage ( image, x, y );
+        }
+        else
+        {
+            // Shadow is too large to be cached
+            shadow = null;
+        }
+        return shadow;
+    }
+
+    /**
+     * Clears all cached shadow images.
+     */
+    public static void clear ()
+    {
+        synchronized ( lock )
+        {
+            cache.clear ();
+        }
+    }
+
+    /**
+     * Returns amount of cached shadow images.
+     *
+     * @return amount of cached shadow images
+     */
+    public static int getSize ()
+    {
+        synchronized ( lock )
+        {
+            return cache.size ();
+        }
+    }
+
+    /**
+     * Returns amount of successful cache lookups.
+     *
+     * @return amount of successful cache lookups
+     */
+    public static long getHits ()
+    {
+        synchronized ( lock )
+        {
+            return hits;
+        }
+    }
+
+    /**
+     * Returns amount of failed cache lookups.
+     *
+     * @return amount of failed cache lookups
+     */
+    public static long getMisses ()
+    {
+        synchronized ( lock )
+        {
+            return misses;
+        }
+    }
+
+    /**
+     * Resets cache lookup counters.
+     */
+    public static void resetStatistics ()
+    {
+        synchronized ( lock )
+        {
+            hits = 0;
+            misses = 0;
+        }
+    }
+
+    /**
+     * Rendered shadow image.
+     */
+    private static final class ShadowImage
+    {
+        /**
+         * Shadow image in device pixels, {@code null} if there is nothing to paint.
+         */
+        @Nullable
+        private final BufferedImage image;
+
+        /**
+         * Image X coordinate relative to the shadow origin.
+         */
+        private final int x;
+
+        /**
+         * Image Y coordinate relative to the shadow origin.
+         */
+        private final int y;
+
+        /**
+         * Constructs new {@link ShadowImage}.
+         *
+         * @param image shadow image in device pixels, {@code null} if there is nothing to paint
+         * @param x     image X coordinate relative to the shadow origin
+         * @param y     image Y coordinate relative to the shadow origin
+         */
+        public ShadowImage ( @Nullable final BufferedImage image, final int x, final int y )
+        {
+            this.image = image;
+            this.x = x;
+            this.y = y;
+        }
+    }
+
+    /**
+     * Shadow image cache key.
+     */
+    private static final class Key
+    {
+        /**
+         * Text to paint shadow for.
+         */
+        @NotNull
+        private final String text;
+
+        /**
+         * Text {@link Font}.
+         */
+        @NotNull
+        private final Font font;
+
+        /**
+         * Shadow color.
+         */
+        @NotNull
+        private final Color color;
+
+        /**
+         * Shadow size.
+         */
+        private final int size;
+
+        /**
+         * Shadow opacity.
+         */
+        private final float opacity;
+
+        /**
+         * Opacity used for each shadow text pass.
+         */
+        private final float passOpacity;
+
+        /**
+         * Text antialiasing hint.
+         */
+        @Nullable
+        private final Object antialiasing;
+
+        /**
+         * Fractional metrics hint.
+         */
+        @Nullable
+        private final Object fractionalMetrics;
+
+        /**
+         * Horizontal graphics scale.
+         */
+        private final double scaleX;
+
+        /**
+         * Vertical graphics scale.
+         */
+        private final double scaleY;
+
+        /**
+         * Key hash code.
+         */
+        private final int hashCode;
+
+        /**
+         * Constructs new {@link Key}.
+         *
+         * @param text              text to paint shadow for
+         * @param font              text {@link Font}
+         * @param color             shadow color
+         * @param size              shadow size
+         * @param opacity           shadow opacity
+         * @param passOpacity       opacity used for each shadow text pass
+         * @param antialiasing      text antialiasing hint
+         * @param fractionalMetrics fractional metrics hint
+         * @param scaleX            horizontal graphics scale
+         * @param scaleY            vertical graphics scale
+         */
+        public Key ( @NotNull final String text, @NotNull final Font font, @NotNull final Color color, final int size,
+                     final float opacity, final float passOpacity, @Nullable final Object antialiasing,
+                     @Nullable final Object fractionalMetrics, final double scaleX, final double scaleY )
+        {
+            this.text = text;
+            this.font = font;
+            this.color = color;
+            this.size = size;
+            this.opacity = opacity;
+            this.passOpacity = passOpacity;
+            this.antialiasing = antialiasing;
+            this.fractionalMetrics = fractionalMetrics;
+            this.scaleX = scaleX;
+            this.scaleY = scaleY;
+            this.hashCode = Objects.hash ( text, font, color, size, opacity, passOpacity, antialiasing, fractionalMetrics, scaleX, scaleY );
+        }
+
+        @Override
+        public int hashCode ()
+        {
+            return hashCode;
+        }
+
+        @Override
+        public boolean equals ( @Nullable final Object object )
+        {
+            final boolean equals;
+            if ( object == this )
+            {
+                equals = true;
+            }
+            else if ( object instanceof Key )
+            {
+                final Key other = ( Key ) object;
+                equals = hashCode == other.hashCode && size == other.size && opacity == other.opacity &&
+                        passOpacity == other.passOpacity && scaleX == other.scaleX && scaleY == other.scaleY &&
+                        text.equals ( other.text ) && font.equals ( other.font ) && color.getRGB () == other.color.getRGB () &&
+                        Objects.equals ( antialiasing, other.antialiasing ) && Objects.equals ( fractionalMetrics, other.fractionalMetrics );
+            }
+            else
+            {
+                equals = false;
+            }
+            return equals;
+        }
+    }
+}
\ No newline at end of file
@@ -20,6 +20,7 @@ package com.alee.painter.decoration.shadow;
 import com.alee.api.annotations.NotNull;
 import com.alee.api.annotations.Nullable;
 import com.alee.api.clone.behavior.OmitOnClone;
+import com.alee.api.data.Orientation;
 import com.alee.api.merge.behavior.OmitOnMerge;
 import com.alee.graphics.filters.ShadowFilter;
 import com.alee.painter.decoration.WebDecoration;
@@ -499,4 +500,10 @@ public class WebShadow<C extends JComponent, D extends WebDecoration<C, D>, I ex
 
         return shadow.getSubimage ( width * 2, width * 2, b.width - width * 4, b.height - width * 4 );
     }
+
+    @Override
+    public boolean isRasterizable ( @NotNull final C c, @NotNull final D d, @Nullable final Orientation orientation )
+    {
+        return true;
+    }
 }
\ No newline at end of file
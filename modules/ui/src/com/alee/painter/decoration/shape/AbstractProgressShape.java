@@ -135,4 +135,13 @@ public abstract class AbstractProgressShape<C extends JComponent, D extends WebD
      * @return progress value between {@code 0.0d} and {@code 1.0d}
      */
     protected abstract double getProgress ( @NotNull C c, @NotNull D d );
+
+    @Override
+    public boolean isRasterizable ( @NotNull final C c, @NotNull final D d )
+    {
+        /**
+         * Progress shape depends on the component progress.
+         */
+        return false;
+    }
 }
\ No newline at end of file
@@ -79,6 +79,15 @@ public abstract class AbstractShape<C extends JComponent, D extends IDecoration<
          */
     }
 
+    @Override
+    public boolean isRasterizable ( @NotNull final C c, @NotNull final D d )
+    {
+        /**
+         * Not rasterizable by default since appearance might depend on the component.
+         */
+        return false;
+    }
+
     @Override
     public boolean isVisible ( @NotNull final ShapeType type, @NotNull final Rectangle bounds, @NotNull final C c, @NotNull final D d )
     {
@@ -92,4 +92,16 @@ public interface IShape<C extends JComponent, D extends IDecoration<C, D>, I ext
      */
     @Nullable
     public StretchInfo getStretchInfo ( @NotNull Rectangle bounds, @NotNull C c, @NotNull D d );
+
+    /**
+     * Returns whether or not decoration based on this shape can be painted from raster cached by
+     * {@link com.alee.painter.decoration.DecorationRasterCache}.
+     * That is only possible if provided shapes and {@link StretchInfo} depend solely on shape settings returned by
+     * {@link #getShapeSettings(Rectangle, JComponent, IDecoration)}, {@link IDecoration} settings and painted bounds.
+     *
+     * @param c painted component
+     * @param d painted decoration state
+     * @return {@code true} if decoration based on this shape can be painted from cached raster, {@code false} otherwise
+     */
+    public boolean isRasterizable ( @NotNull C c, @NotNull D d );
 }
\ No newline at end of file
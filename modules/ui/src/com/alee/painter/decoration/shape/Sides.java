@@ -60,6 +60,23 @@ public final class Sides implements Overwriting, CloneBehavior<Sides>, Serializa
     public static final String RIGHT = "right";
     public static final String NONE = "none";
 
+    /**
+     * Shared {@link Sides} instances for all possible combinations of displayed sides.
+     * {@link Sides} are immutable so these instances can be used instead of creating new ones, for example while painting.
+     */
+    private static final Sides[] shared = new Sides[ 16 ];
+
+    /**
+     * Initializing shared {@link Sides} instances.
+     */
+    static
+    {
+        for ( int i = 0; i < shared.length; i++ )
+        {
+            shared[ i ] = new Sides ( ( i & 1 ) != 0, ( i & 2 ) != 0, ( i & 4 ) != 0, ( i & 8 ) != 0 );
+        }
+    }
+
     /**
      * Whether or not top (north) side should be displayed.
      */
@@ -137,6 +154,21 @@ public final class Sides implements Overwriting, CloneBehavior<Sides>, Serializa
         this.right = right;
     }
 
+    /**
+     * Returns shared {@link Sides} instance with the specified displayed sides.
+     *
+     * @param top    whether or not top side should be displayed
+     * @param left   whether or not left side should be displayed
+     * @param bottom whether or not bottom side should be displayed
+     * @param right  whether or not right side should be displayed
+     * @return shared {@link Sides} instance with the specified displayed sides
+     */
+    @NotNull
+    public static Sides of ( final boolean top, final boolean left, final boolean bottom, final boolean right )
+    {
+        return shared[ ( top ? 1 : 0 ) | ( left ? 2 : 0 ) | ( bottom ? 4 : 0 ) | ( right ? 8 : 0 ) ];
+    }
+
     /**
      * Returns whether or not at least one side should be displayed.
      *
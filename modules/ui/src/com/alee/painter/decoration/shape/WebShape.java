@@ -2,7 +2,6 @@ package com.alee.painter.decoration.shape;
 
 import com.alee.api.annotations.NotNull;
 import com.alee.api.annotations.Nullable;
-import com.alee.api.jdk.Supplier;
 import com.alee.laf.grouping.GroupingLayout;
 import com.alee.painter.decoration.WebDecoration;
 import com.alee.painter.decoration.border.BorderWidth;
@@ -31,6 +30,12 @@ import java.awt.*;
 public class WebShape<C extends JComponent, D extends WebDecoration<C, D>, I extends WebShape<C, D, I>> extends AbstractShape<C, D, I>
         implements IPartialShape<C, D, I>
 {
+    /**
+     * Rounding used when decoration corners rounding is not specified.
+     */
+    @NotNull
+    protected static final Round NO_ROUND = new Round ();
+
     /**
      * Decoration corners rounding.
      */
@@ -64,7 +69,7 @@ public class WebShape<C extends JComponent, D extends WebDecoration<C, D>, I ext
     @NotNull
     public Round getRound ( @NotNull final C c, @NotNull final D d )
     {
-        return round != null ? round : new Round ();
+        return round != null ? round : NO_ROUND;
     }
 
     /**
@@ -218,16 +223,16 @@ public class WebShape<C extends JComponent, D extends WebDecoration<C, D>, I ext
     }
 
     /**
-     * Returns {@link Sides}.
+     * Returns shared {@link Sides} instance.
      *
      * @param c   painted component
      * @param d   painted decoration
-     * @return {@link Sides}
+     * @return shared {@link Sides} instance
      */
     protected Sides createSides ( @NotNull final C c, @NotNull final D d )
     {
         final boolean ltr = c.getComponentOrientation ().isLeftToRight ();
-        return new Sides (
+        return Sides.of (
                 isPaintTop ( c, d ),
                 ltr ? isPaintLeft ( c, d ) : isPaintRight ( c, d ),
                 isPaintBottom ( c, d ),
@@ -266,31 +271,9 @@ public class WebShape<C extends JComponent, D extends WebDecoration<C, D>, I ext
     @Override
     public Shape getShape ( @NotNull final ShapeType type, @NotNull final Rectangle bounds, @NotNull final C c, @NotNull final D d )
     {
-        // Shape settings
-        final int sw = d.getShadowWidth ( ShadowType.outer );
-        final Round round = getRound ( c, d );
-        final Sides sides = createSides ( c, d );
-
         // Retrieving shape
-        return ShapeUtils.getShape ( c, "WebShape." + type, new Supplier<Shape> ()
-        {
-            @NotNull
-            @Override
-            public Shape get ()
-            {
-                final Shape result;
-                if ( type.isBorder () )
-                {
-                    result = ShapeUtils.createBorderShape ( sw, bounds, round, sides );
-                }
-                else
-                {
-                    result = ShapeUtils.createFillShape ( sw, bounds, round, sides, type );
-                }
-                return result;
-            }
-
-        }, bounds, sw, round, sides );
+        // This call doesn't allocate anything for already cached shape since it might be performed quite often
+        return ShapeUtils.getShape ( c, type, d.getShadowWidth ( ShadowType.outer ), bounds, getRound ( c, d ), createSides ( c, d ) );
     }
 
     @NotNull
@@ -335,4 +318,10 @@ public class WebShape<C extends JComponent, D extends WebDecoration<C, D>, I ext
                 y0 < y1 ? new Pair<Integer, Integer> ( y0, y1 ) : null
         );
     }
+
+    @Override
+    public boolean isRasterizable ( @NotNull final C c, @NotNull final D d )
+    {
+        return true;
+    }
 }
\ No newline at end of file
@@ -29,9 +29,13 @@ public class WebDarkSkin extends XmlSkin
 {
     /**
      * Constructs new {@link WebDarkSkin}.
+     * Precompiled skin snapshot is used if it is available, see {@link com.alee.managers.style.data.SkinSnapshotCompiler}.
      */
     public WebDarkSkin ()
     {
-        super ( new ClassResource ( WebDarkSkin.class, "resources/web-dark-skin.xml" ) );
+        super (
+                new ClassResource ( WebDarkSkin.class, "resources/web-dark-skin.xml" ),
+                new ClassResource ( WebDarkSkin.class, "resources/web-dark-skin.snapshot" )
+        );
     }
 }
\ No newline at end of file
@@ -29,9 +29,13 @@ public class WebLightSkin extends XmlSkin
 {
     /**
      * Constructs new {@link WebLightSkin}.
+     * Precompiled skin snapshot is used if it is available, see {@link com.alee.managers.style.data.SkinSnapshotCompiler}.
      */
     public WebLightSkin ()
     {
-        super ( new ClassResource ( WebLightSkin.class, "resources/web-light-skin.xml" ) );
+        super (
+                new ClassResource ( WebLightSkin.class, "resources/web-light-skin.xml" ),
+                new ClassResource ( WebLightSkin.class, "resources/web-light-skin.snapshot" )
+        );
     }
 }
\ No newline at end of file
@@ -18,6 +18,7 @@
 package com.alee.utils;
 
 import com.alee.api.annotations.NotNull;
+import com.alee.api.annotations.Nullable;
 import com.alee.api.jdk.Supplier;
 import com.alee.painter.decoration.shape.Round;
 import com.alee.painter.decoration.shape.ShapeType;
@@ -26,6 +27,7 @@ import com.alee.painter.decoration.shape.Sides;
 import java.awt.*;
 import java.awt.geom.GeneralPath;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.Map;
 import java.util.WeakHashMap;
 
@@ -37,11 +39,47 @@ import java.util.WeakHashMap;
  */
 public final class ShapeUtils
 {
+    /**
+     * Maximum amount of decoration {@link Shape}s shared between components.
+     */
+    public static final int MAX_SHARED_SHAPES = 256;
+
+    /**
+     * Amount of {@link ShapeType}s.
+     */
+    private static final int SHAPE_TYPES = ShapeType.values ().length;
+
     /**
      * {@link Shape}s cache.
      */
     private static final Map<Component, Map<String, CachedShape>> shapeCache = new WeakHashMap<Component, Map<String, CachedShape>> ();
 
+    /**
+     * Decoration {@link Shape}s cache.
+     * Each {@link Component} has a separate slot for each {@link ShapeType}, so lookup doesn't require any allocations.
+     */
+    private static final Map<Component, SharedShape[]> decorationShapeCache = new WeakHashMap<Component, SharedShape[]> ();
+
+    /**
+     * Shared decoration {@link Shape}s lock.
+     */
+    @NotNull
+    private static final Object sharedShapesLock = new Object ();
+
+    /**
+     * Decoration {@link Shape}s shared between components, ordered from least to most recently used.
+     * Identical {@link Shape}s of identical size are only created once no matter how many components use them.
+     */
+    @NotNull
+    private static final Map<SharedShape, SharedShape> sharedShapes = new LinkedHashMap<SharedShape, SharedShape> ( 64, 0.75f, true )
+    {
+        @Override
+        protected boolean removeEldestEntry ( final Map.Entry<SharedShape, SharedShape> eldest )
+        {
+            return size () > MAX_SHARED_SHAPES;
+        }
+    };
+
     /**
      * Private constructor to avoid instantiation.
      */
@@ -413,6 +451,95 @@ public final class ShapeUtils
         return shape;
     }
 
+    /**
+     * Returns decoration {@link Shape} of the specified {@link ShapeType} cached for the specified {@link Component}.
+     * If {@link Shape} is not yet cached or its settings have changed it will be retrieved from shared {@link Shape}s or created.
+     * This method doesn't allocate anything if {@link Shape} with the same settings was requested for the {@link Component} last time.
+     * Returned {@link Shape} might be shared between multiple components and must never be modified.
+     *
+     * @param component {@link Component} for which {@link Shape} is cached
+     * @param type      {@link ShapeType}
+     * @param sw        outer shadow width
+     * @param bounds    {@link Rectangle} bounds within which {@link Shape} must fit
+     * @param round     {@link Shape} corner {@link Round}
+     * @param sides     {@link Sides} of the {@link Shape} that are visible
+     * @return decoration {@link Shape} of the specified {@link ShapeType} cached for the specified {@link Component}
+     */
+    @NotNull
+    public static Shape getShape ( @NotNull final Component component, @NotNull final ShapeType type, final int sw,
+                                   @NotNull final Rectangle bounds, @NotNull final Round round, @NotNull final Sides sides )
+    {
+        SharedShape[] slots = decorationShapeCache.get ( component );
+        if ( slots == null )
+        {
+            slots = new SharedShape[ SHAPE_TYPES ];
+            decorationShapeCache.put ( component, slots );
+        }
+        SharedShape shape = slots[ type.ordinal () ];
+        if ( shape == null || !shape.matches ( type, sw, bounds, round, sides ) )
+        {
+            // Shape is not yet cached or cache entry is outdated
+            shape = getSharedShape ( type, sw, bounds, round, sides );
+            slots[ type.ordinal () ] = shape;
+        }
+        return shape.shape;
+    }
+
+    /**
+     * Returns shared decoration {@link Shape} with the specified settings, creating it if needed.
+     *
+     * @param type   {@link ShapeType}
+     * @param sw     outer shadow width
+     * @param bounds {@link Rectangle} bounds within which {@link Shape} must fit
+     * @param round  {@link Shape} corner {@link Round}
+     * @param sides  {@link Sides} of the {@link Shape} that are visible
+     * @return shared decoration {@link Shape} with the specified settings
+     */
+    @NotNull
+    private static SharedShape getSharedShape ( @NotNull final ShapeType type, final int sw, @NotNull final Rectangle bounds,
+                                                @NotNull final Round round, @NotNull final Sides sides )
+    {
+        final SharedShape key = new SharedShape ( type, sw, bounds, round, sides );
+        synchronized ( sharedShapesLock )
+        {
+            SharedShape shared = sharedShapes.get ( key );
+            if ( shared == null )
+            {
+                key.shape = type.isBorder () ?
+                        createBorderShape ( sw, bounds, round, sides ) :
+                        createFillShape ( sw, bounds, round, sides, type );
+                sharedShapes.put ( key, key );
+                shared = key;
+            }
+            return shared;
+        }
+    }
+
+    /**
+     * Clears all shared decoration {@link Shape}s.
+     * Components will keep {@link Shape}s they already use until their settings change.
+     */
+    public static void clearSharedShapes ()
+    {
+        synchronized ( sharedShapesLock )
+        {
+            sharedShapes.clear ();
+        }
+    }
+
+    /**
+     * Returns amount of shared decoration {@link Shape}s.
+     *
+     * @return amount of shared decoration {@link Shape}s
+     */
+    public static int getSharedShapesCount ()
+    {
+        synchronized ( sharedShapesLock )
+        {
+            return sharedShapes.size ();
+        }
+    }
+
     /**
      * {@link Shape} cache.
      */
@@ -442,4 +569,176 @@ public final class ShapeUtils
             this.shape = shape;
         }
     }
+
+    /**
+     * Shared decoration {@link Shape} along with all settings it was created for.
+     * Settings are stored as primitives to allow comparing them with requested ones without any allocations.
+     */
+    private static final class SharedShape
+    {
+        /**
+         * {@link ShapeType}.
+         */
+        @NotNull
+        private final ShapeType type;
+
+        /**
+         * Outer shadow width.
+         */
+        private final int sw;
+
+        /**
+         * Bounds X coordinate.
+         */
+        private final int x;
+
+        /**
+         * Bounds Y coordinate.
+         */
+        private final int y;
+
+        /**
+         * Bounds width.
+         */
+        private final int width;
+
+        /**
+         * Bounds height.
+         */
+        private final int height;
+
+        /**
+         * Top left corner round.
+         */
+        private final int topLeft;
+
+        /**
+         * Top right corner round.
+         */
+        private final int topRight;
+
+        /**
+         * Bottom right corner round.
+         */
+        private final int bottomRight;
+
+        /**
+         * Bottom left corner round.
+         */
+        private final int bottomLeft;
+
+        /**
+         * Whether or not top side is visible.
+         */
+        private final boolean top;
+
+        /**
+         * Whether or not left side is visible.
+         */
+        private final boolean left;
+
+        /**
+         * Whether or not bottom side is visible.
+         */
+        private final boolean bottom;
+
+        /**
+         * Whether or not right side is visible.
+         */
+        private final boolean right;
+
+        /**
+         * Shared {@link Shape}, provided once it is created.
+         */
+        private Shape shape;
+
+        /**
+         * Constructs new {@link SharedShape}.
+         *
+         * @param type   {@link ShapeType}
+         * @param sw     outer shadow width
+         * @param bounds {@link Rectangle} bounds within which {@link Shape} must fit
+         * @param round  {@link Shape} corner {@link Round}
+         * @param sides  {@link Sides} of the {@link Shape} that are visible
+         */
+        public SharedShape ( @NotNull final ShapeType type, final int sw, @NotNull final Rectangle bounds, @NotNull final Round round,
+                             @NotNull final Sides sides )
+        {
+            this.type = type;
+            this.sw = sw;
+            this.x = bounds.x;
+            this.y = bounds.y;
+            this.width = bounds.width;
+            this.height = bounds.height;
+            this.topLeft = round.topLeft;
+            this.topRight = round.topRight;
+            this.bottomRight = round.bottomRight;
+            this.bottomLeft = round.bottomLeft;
+            this.top = sides.top;
+            this.left = sides.left;
+            this.bottom = sides.bottom;
+            this.right = sides.right;
+        }
+
+        /**
+         * Returns whether or not this {@link SharedShape} was created for the specified settings.
+         *
+         * @param type   {@link ShapeType}
+         * @param sw     outer shadow width
+         * @param bounds {@link Rectangle} bounds within which {@link Shape} must fit
+         * @param round  {@link Shape} corner {@link Round}
+         * @param sides  {@link Sides} of the {@link Shape} that are visible
+         * @return {@code true} if this {@link SharedShape} was created for the specified settings, {@code false} otherwise
+         */
+        public boolean matches ( @NotNull final ShapeType type, final int sw, @NotNull final Rectangle bounds, @NotNull final Round round,
+                                 @NotNull final Sides sides )
+        {
+            return this.type == type && this.sw == sw &&
+                    x == bounds.x && y == bounds.y && width == bounds.width && height == bounds.height &&
+                    topLeft == round.topLeft && topRight == round.topRight &&
+                    bottomRight == round.bottomRight && bottomLeft == round.bottomLeft &&
+                    top == sides.top && left == sides.left && bottom == sides.bottom && right == sides.right;
+        }
+
+        @Override
+        public int hashCode ()
+        {
+            int hashCode = type.hashCode ();
+            hashCode = 31 * hashCode + sw;
+            hashCode = 31 * hashCode + x;
+            hashCode = 31 * hashCode + y;
+            hashCode = 31 * hashCode + width;
+            hashCode = 31 * hashCode + height;
+            hashCode = 31 * hashCode + topLeft;
+            hashCode = 31 * hashCode + topRight;
+            hashCode = 31 * hashCode + bottomRight;
+            hashCode = 31 * hashCode + bottomLeft;
+            hashCode = 31 * hashCode + ( top ? 1 : 0 ) + ( left ? 2 : 0 ) + ( bottom ? 4 : 0 ) + ( right ? 8 : 0 );
+            return hashCode;
+        }
+
+        @Override
+        public boolean equals ( @Nullable final Object object )
+        {
+            final boolean equals;
+            if ( object == this )
+            {
+                equals = true;
+            }
+            else if ( object instanceof SharedShape )
+            {
+                final SharedShape other = ( SharedShape ) object;
+                equals = type == other.type && sw == other.sw &&
+                        x == other.x && y == other.y && width == other.width && height == other.height &&
+                        topLeft == other.topLeft && topRight == other.topRight &&
+                        bottomRight == other.bottomRight && bottomLeft == other.bottomLeft &&
+                        top == other.top && left == other.left && bottom == other.bottom && right == other.right;
+            }
+            else
+            {
+                equals = false;
+            }
+            return equals;
+        }
+    }
 }
\ No newline at end of file
@@ -0,0 +1,199 @@
+/*
+ * This file is part of WebLookAndFeel library.
+ *
+ * WebLookAndFeel library is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * WebLookAndFeel library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with WebLookAndFeel library.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+
+package com.alee.extended.filechooser;
+
+import com.alee.api.annotations.NotNull;
+import com.alee.laf.WebLookAndFeel;
+import com.alee.utils.CoreSwingUtils;
+import com.alee.utils.FileUtils;
+import org.junit.After;
+import org.junit.AfterClass;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import javax.swing.*;
+import java.io.File;
+import java.io.FileFilter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.*;
+
+/**
+ * Set of JUnit tests for {@link DirectoryLoader}.
+ *
+ * @author Mikle Garin
+ */
+public final class DirectoryLoaderTest
+{
+    /**
+     * Amount of files in temporary directory, enough for several scanned parts.
+     */
+    private static final int FILES_COUNT = 1000;
+
+    /**
+     * Maximum time to wait for loading in milliseconds.
+     */
+    private static final long TIMEOUT = 10000;
+
+    /**
+     * Temporary directory.
+     */
+    private File dir;
+
+    /**
+     * Initializes {@link WebLookAndFeel}.
+     */
+    @BeforeClass
+    public static void initialize ()
+    {
+        CoreSwingUtils.invokeAndWait ( new Runnable ()
+        {
+            @Override
+            public void run ()
+            {
+                WebLookAndFeel.setForceSingleEventsThread ( true );
+                WebLookAndFeel.install ();
+            }
+        } );
+    }
+
+    /**
+     * Creates temporary directory with files.
+     *
+     * @throws Exception if directory or files cannot be created
+     */
+    @Before
+    public void createDirectory () throws Exception
+    {
+        dir = File.createTempFile ( "loader", "" );
+        FileUtils.deleteFile ( dir );
+        FileUtils.ensureDirectoryExists ( dir );
+        for ( int i = 0; i < FILES_COUNT; i++ )
+        {
+            if ( !new File ( dir, "file" + i ).createNewFile () )
+            {
+                throw new RuntimeException ( "Unable to create test file" );
+            }
+        }
+    }
+
+    /**
+     * Removes temporary directory.
+     */
+    @After
+    public void removeDirectory ()
+    {
+        FileUtils.deleteFile ( dir );
+    }
+
+    /**
+     * Tests that {@link FileFilter} is only applied on the Event Dispatch Thread and that only accepted files are displayed.
+     *
+     * @throws Exception if loading doesn't complete in time
+     */
+    @Test
+    public void filterOnEventDispatchThread () throws Exception
+    {
+        final AtomicInteger accepts = new AtomicInteger ( 0 );
+        final AtomicBoolean outsideEdt = new AtomicBoolean ( false );
+        final FileFilter filter = new FileFilter ()
+        {
+            @Override
+            public boolean accept ( final File file )
+            {
+                accepts.incrementAndGet ();
+                if ( !SwingUtilities.isEventDispatchThread () )
+                {
+                    outsideEdt.set ( true );
+                }
+                return file.getName ().endsWith ( "0" );
+            }
+        };
+        final List<File> added = new ArrayList<File> ();
+        final List<File> loaded = new ArrayList<File> ();
+        final CountDownLatch latch = new CountDownLatch ( 1 );
+        final DirectoryLoader loader = new DirectoryLoader ()
+        {
+            @Override
+            protected void clear ()
+            {
+                added.clear ();
+            }
+
+            @Override
+            protected void add ( @NotNull final List<File> files )
+            {
+                added.addAll ( files );
+            }
+
+            @NotNull
+            @Override
+            protected List<File> getSelection ()
+            {
+                return new ArrayList<File> ( 0 );
+            }
+
+            @Override
+            protected void loaded ( @NotNull final List<File> files, @NotNull final List<File> selection, final boolean scroll )
+            {
+                loaded.addAll ( files );
+                latch.countDown ();
+            }
+        };
+        CoreSwingUtils.invokeAndWait ( new Runnable ()
+        {
+            @Override
+            public void run ()
+            {
+                loader.load ( dir, filter, null );
+            }
+        } );
+        assertTrue ( "Directory must be loaded", latch.await ( TIMEOUT, TimeUnit.MILLISECONDS ) );
+        assertFalse ( "File filter must only be applied on the Event Dispatch Thread", outsideEdt.get () );
+        assertEquals ( "File filter must be applied to each file once", FILES_COUNT, accepts.get () );
+        assertEquals ( "Only accepted files must be displayed", FILES_COUNT / 10, added.size () );
+        assertEquals ( "Only accepted files must be loaded", FILES_COUNT / 10, loaded.size () );
+        for ( final File file : loaded )
+        {
+            assertTrue ( file.getName ().endsWith ( "0" ) );
+        }
+    }
+
+    /**
+     * Destroys {@link WebLookAndFeel}.
+     */
+    @AfterClass
+    public static void destroy ()
+    {
+        CoreSwingUtils.invokeAndWait ( new Runnable ()
+        {
+            @Override
+            public void run ()
+            {
+                WebLookAndFeel.uninstall ();
+            }
+        } );
+    }
+}
@@ -0,0 +1,344 @@
+/*
+ * This file is part of WebLookAndFeel library.
+ *
+ * WebLookAndFeel library is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * WebLookAndFeel library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with WebLookAndFeel library.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.alee.extended.label;
+
+import com.alee.laf.WebLookAndFeel;
+import com.alee.painter.PainterSupport;
+import com.alee.painter.decoration.AbstractDecorationPainter;
+import com.alee.painter.decoration.ContentDecoration;
+import com.alee.painter.decoration.IDecoration;
+import com.alee.painter.decoration.content.IContent;
+import com.alee.painter.decoration.layout.IContentLayout;
+import com.alee.utils.CoreSwingUtils;
+import org.junit.AfterClass;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import javax.swing.*;
+import java.awt.*;
+import java.awt.font.FontRenderContext;
+import java.awt.image.BufferedImage;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+/**
+ * Set of JUnit tests for {@link StyledTextLayoutCache}.
+ *
+ * @author Mikle Garin
+ */
+public final class StyledTextLayoutCacheTest
+{
+    /**
+     * Styled text used in tests.
+     */
+    private static final String TEXT = "Some {styled:b} text that is long enough to be wrapped";
+
+    /**
+     * Initializes {@link WebLookAndFeel}.
+     */
+    @BeforeClass
+    public static void initialize ()
+    {
+        CoreSwingUtils.invokeAndWait ( new Runnable ()
+        {
+            @Override
+            public void run ()
+            {
+                WebLookAndFeel.setForceSingleEventsThread ( true );
+                WebLookAndFeel.install ();
+            }
+        } );
+    }
+
+    /**
+     * Tests that painting text at its preferred size uses layout cached for preferred size calculation.
+     */
+    @Test
+    public void paintingAndPreferredSize ()
+    {
+        CoreSwingUtils.invokeAndWait ( new Runnable ()
+        {
+            @Override
+            public void run ()
+            {
+                final WebStyledLabel label = new WebStyledLabel ( TEXT );
+                label.setSize ( label.getPreferredSize () );
+                final StyledTextLayoutCache cache = getContent ( label ).layoutCache;
+                assertNotNull ( "Label must use its own cache", cache );
+                final long misses = cache.getMisses ();
+                assertTrue ( "Layout must be created for preferred size", misses > 0 );
+
+                paint ( label );
+                assertEquals ( "Painting must use layout cached for preferred size", misses, cache.getMisses () );
+                final long hits = cache.getHits ();
+                assertTrue ( hits > 0 );
+
+                paint ( label );
+                label.getPreferredSize ();
+                assertEquals ( "Repeated painting must use cached layout", misses, cache.getMisses () );
+                assertTrue ( cache.getHits () > hits );
+                assertSame ( "Label must keep its cache", cache, getContent ( label ).layoutCache );
+            }
+        } );
+    }
+
+    /**
+     * Tests that {@link StyleRange} changes invalidate cached layouts.
+     */
+    @Test
+    public void styleRangeChange ()
+    {
+        CoreSwingUtils.invokeAndWait ( new Runnable ()
+        {
+            @Override
+            public void run ()
+            {
+                final WebStyledLabel label = new WebStyledLabel ( TEXT );
+                label.setSize ( label.getPreferredSize () );
+                paint ( label );
+                final StyledTextLayoutCache cache = getContent ( label ).layoutCache;
+
+                label.setText ( TEXT.replace ( ":b}", ":i}" ) );
+                paint ( label );
+                final StyledTextLayoutCache updated = getContent ( label ).layoutCache;
+                assertNotSame ( "Cache must be replaced when text ranges change", cache, updated );
+                assertNotNull ( updated );
+                assertTrue ( "Layout must be created for new text ranges", updated.getMisses () > 0 );
+            }
+        } );
+
+        // Shared cache compares text ranges by content
+        final FontRenderContext frc = new FontRenderContext ( null, true, true );
+        final Font font = new Font ( Font.DIALOG, Font.PLAIN, 12 );
+        final StyledTextLayoutCache cache = new StyledTextLayoutCache ( 10 );
+        final StyledTextLayout layout = new StyledTextLayout ( Collections.<StyledTextRow>emptyList (), 10, 12, true, 0, 0 );
+        cache.put ( key ( font, frc, 100, TextWrap.word, new StyleRange ( 0, 4, Font.BOLD ) ), layout );
+        assertSame ( "Equal text ranges must use cached layout", layout,
+                cache.get ( key ( font, frc, 100, TextWrap.word, new StyleRange ( 0, 4, Font.BOLD ) ) ) );
+        assertNull ( "Style change must not use cached layout",
+                cache.get ( key ( font, frc, 100, TextWrap.word, new StyleRange ( 0, 4, Font.ITALIC ) ) ) );
+        assertNull ( "Foreground change must not use cached layout",
+                cache.get ( key ( font, frc, 100, TextWrap.word, new StyleRange ( 0, 4, Font.BOLD, Color.RED, ( Color ) null ) ) ) );
+    }
+
+    /**
+     * Tests that wrap, available width and font changes don't use layouts cached for previous settings.
+     */
+    @Test
+    public void layoutSettingsChange ()
+    {
+        CoreSwingUtils.invokeAndWait ( new Runnable ()
+        {
+            @Override
+            public void run ()
+            {
+                final WebStyledLabel label = new WebStyledLabel ( TEXT );
+                label.setWrap ( TextWrap.word );
+                final Dimension ps = label.getPreferredSize ();
+                label.setSize ( ps );
+                paint ( label );
+                final StyledTextLayoutCache cache = getContent ( label ).layoutCache;
+                long misses = cache.getMisses ();
+
+                // Narrower width requires text to be wrapped
+                label.setSize ( ps.width / 2, ps.height * 3 );
+                paint ( label );
+                assertTrue ( "Width change must not use cached layout", cache.getMisses () > misses );
+                misses = cache.getMisses ();
+
+                label.setWrap ( TextWrap.none );
+                paint ( label );
+                assertTrue ( "Wrap change must not use cached layout", cache.getMisses () > misses );
+                misses = cache.getMisses ();
+
+                label.setFont ( label.getFont ().deriveFont ( label.getFont ().getSize2D () + 4 ) );
+                paint ( label );
+                assertTrue ( "Font change must not use cached layout", cache.getMisses () > misses );
+                assertSame ( "Label must keep its cache", cache, getContent ( label ).layoutCache );
+            }
+        } );
+
+        // Unconstrained layout is only reused for space that fits it
+        final FontRenderContext frc = new FontRenderContext ( null, true, true );
+        final Font font = new Font ( Font.DIALOG, Font.PLAIN, 12 );
+        final StyledTextLayoutCache cache = new StyledTextLayoutCache ( 10 );
+        final StyledTextLayout layout = new StyledTextLayout ( Collections.<StyledTextRow>emptyList (), 10, 12, false, 80, 0 );
+        cache.put ( key ( font, frc, Short.MAX_VALUE, TextWrap.word, null ), layout );
+        assertSame ( layout, cache.get ( key ( font, frc, 80, TextWrap.word, null ) ) );
+        assertNull ( "Narrower width must not use cached layout", cache.get ( key ( font, frc, 79, TextWrap.word, null ) ) );
+        assertNull ( "Wrap change must not use cached layout", cache.get ( key ( font, frc, 80, TextWrap.mixed, null ) ) );
+        assertNull ( "Font change must not use cached layout",
+                cache.get ( key ( font.deriveFont ( 14f ), frc, 80, TextWrap.word, null ) ) );
+    }
+
+    /**
+     * Tests that components used as cell renderers use shared cache.
+     */
+    @Test
+    public void renderers ()
+    {
+        CoreSwingUtils.invokeAndWait ( new Runnable ()
+        {
+            @Override
+            public void run ()
+            {
+                final StyledTextLayoutCache shared = StyledTextLayoutCache.getShared ();
+                shared.clear ();
+                shared.resetStatistics ();
+
+                final JPanel container = new JPanel ();
+                final CellRendererPane rendererPane = new CellRendererPane ();
+                container.add ( rendererPane );
+
+                final WebStyledLabel first = new WebStyledLabel ();
+                paint ( rendererPane, container, first, TEXT );
+                paint ( rendererPane, container, first, TEXT.replace ( "text", "content" ) );
+                assertNull ( "Renderer must not use its own cache", getContent ( first ).layoutCache );
+                final long misses = shared.getMisses ();
+                assertTrue ( "Renderer must use shared cache", misses > 0 );
+                assertTrue ( shared.getSize () > 0 );
+
+                // Same text painted by the same and another renderer must use cached layouts
+                paint ( rendererPane, container, first, TEXT );
+                final WebStyledLabel second = new WebStyledLabel ();
+                paint ( rendererPane, container, second, TEXT.replace ( "text", "content" ) );
+                assertNull ( "Renderer must not use its own cache", getContent ( second ).layoutCache );
+                assertEquals ( "Renderers must use cached layouts", misses, shared.getMisses () );
+                assertTrue ( shared.getHits () > 0 );
+            }
+        } );
+    }
+
+    /**
+     * Returns {@link StyledTextLayoutCache.Key} for single text range.
+     *
+     * @param font  default text {@link Font}
+     * @param frc   {@link FontRenderContext}
+     * @param width available width
+     * @param wrap  text wrapping type
+     * @param style {@link StyleRange}, can be {@code null}
+     * @return {@link StyledTextLayoutCache.Key} for single text range
+     */
+    private static StyledTextLayoutCache.Key key ( final Font font, final FontRenderContext frc, final int width, final TextWrap wrap,
+                                                   final StyleRange style )
+    {
+        final List<TextRange> ranges = Arrays.asList ( new TextRange ( "Some", style ), new TextRange ( " text" ) );
+        return new StyledTextLayoutCache.Key ( ranges, font, frc, width, Short.MAX_VALUE, wrap, 0, 0, -1, false, 1.5f );
+    }
+
+    /**
+     * Paints specified renderer with the specified text through {@link CellRendererPane}.
+     *
+     * @param rendererPane {@link CellRendererPane}
+     * @param container    {@link Container} renderer is painted for
+     * @param renderer     renderer
+     * @param text         renderer text
+     */
+    private static void paint ( final CellRendererPane rendererPane, final Container container, final WebStyledLabel renderer,
+                                final String text )
+    {
+        renderer.setText ( text );
+        rendererPane.add ( renderer );
+        final Dimension ps = renderer.getPreferredSize ();
+        final BufferedImage image = new BufferedImage ( ps.width, ps.height, BufferedImage.TYPE_INT_ARGB );
+        final Graphics2D g2d = image.createGraphics ();
+        rendererPane.paintComponent ( g2d, renderer, container, 0, 0, ps.width, ps.height, true );
+        g2d.dispose ();
+    }
+
+    /**
+     * Paints specified {@link JComponent}.
+     *
+     * @param component {@link JComponent} to paint
+     */
+    private static void paint ( final JComponent component )
+    {
+        final BufferedImage image = new BufferedImage ( component.getWidth (), component.getHeight (), BufferedImage.TYPE_INT_ARGB );
+        final Graphics2D g2d = image.createGraphics ();
+        component.paint ( g2d );
+        g2d.dispose ();
+    }
+
+    /**
+     * Returns {@link AbstractStyledTextContent} used by the specified {@link JComponent}.
+     *
+     * @param component {@link JComponent}
+     * @return {@link AbstractStyledTextContent} used by the specified {@link JComponent}
+     */
+    private static AbstractStyledTextContent<?, ?, ?> getContent ( final JComponent component )
+    {
+        final AbstractDecorationPainter<?, ?, ?> painter = ( AbstractDecorationPainter<?, ?, ?> ) PainterSupport.getPainter ( component );
+        final IDecoration<?, ?> decoration = painter.getDecoration ();
+        assertTrue ( "Decoration must have contents", decoration instanceof ContentDecoration );
+        final List<IContent> contents = ( ( ContentDecoration<?, ?> ) decoration ).getContent ();
+        final AbstractStyledTextContent<?, ?, ?> content = findContent ( component, decoration, contents );
+        assertNotNull ( "Styled text content must be used", content );
+        return content;
+    }
+
+    /**
+     * Returns {@link AbstractStyledTextContent} found among specified {@link IContent}s or {@code null} if there is none.
+     *
+     * @param component  {@link JComponent}
+     * @param decoration {@link IDecoration}
+     * @param contents   {@link IContent}s
+     * @return {@link AbstractStyledTextContent} found among specified {@link IContent}s or {@code null} if there is none
+     */
+    private static AbstractStyledTextContent<?, ?, ?> findContent ( final JComponent component, final IDecoration<?, ?> decoration,
+                                                                    final List<IContent> contents )
+    {
+        AbstractStyledTextContent<?, ?, ?> found = null;
+        for ( final IContent content : contents )
+        {
+            if ( content instanceof AbstractStyledTextContent )
+            {
+                found = ( AbstractStyledTextContent<?, ?, ?> ) content;
+            }
+            else if ( content instanceof IContentLayout )
+            {
+                @SuppressWarnings ( "unchecked" )
+                final List<IContent> children = ( ( IContentLayout ) content ).getContents ( component, decoration );
+                found = findContent ( component, decoration, children );
+            }
+            if ( found != null )
+            {
+                break;
+            }
+        }
+        return found;
+    }
+
+    /**
+     * Destroys {@link WebLookAndFeel}.
+     */
+    @AfterClass
+    public static void destroy ()
+    {
+        CoreSwingUtils.invokeAndWait ( new Runnable ()
+        {
+            @Override
+            public void run ()
+            {
+                WebLookAndFeel.uninstall ();
+            }
+        } );
+    }
+}
@@ -0,0 +1,227 @@
+/*
+ * This file is part of WebLookAndFeel library.
+ *
+ * WebLookAndFeel library is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * WebLookAndFeel library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with WebLookAndFeel library.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.alee.extended.svg;
+
+import com.alee.api.resource.ClassResource;
+import com.alee.api.resource.Resource;
+import com.alee.graphics.image.IconRasterCache;
+import com.alee.laf.WebLookAndFeel;
+import com.alee.utils.swing.Scale;
+import org.junit.Test;
+
+import java.awt.*;
+import java.awt.image.BufferedImage;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * Set of JUnit tests for {@link SvgIcon} diagrams sharing.
+ * Icons using shared diagrams are compared with icons using separate diagrams to ensure they look the same.
+ *
+ * @author Mikle Garin
+ */
+public final class SvgIconTest
+{
+    /**
+     * Test SVG icon {@link Resource}.
+     */
+    private static final Resource ICON = new ClassResource ( WebLookAndFeel.class, "icons/icon.svg" );
+
+    /**
+     * Shared diagram reuse test.
+     */
+    @Test
+    public void reuse ()
+    {
+        SvgDiagramCache.clear ();
+        SvgDiagramCache.resetStatistics ();
+        final SvgIcon icon1 = new SvgIcon ( ICON, 16, 16 );
+        final SvgIcon icon2 = new SvgIcon ( new ClassResource ( WebLookAndFeel.class, "icons/icon.svg" ), 32, 32 );
+        assertTrue ( "Icons must be shared", icon1.isShared () && icon2.isShared () );
+        assertTrue ( "Diagram must be parsed once", SvgDiagramCache.getMisses () == 1 );
+        assertTrue ( "Diagram must be reused", SvgDiagramCache.getHits () == 1 );
+        assertTrue ( "Diagram must be cached", SvgDiagramCache.getSize () == 1 );
+    }
+
+    /**
+     * Adjusted shared diagram visual equivalence test.
+     */
+    @Test
+    public void visualEquivalence ()
+    {
+        final SvgAdjustment[][] adjustments = {
+                {},
+                { new SvgGrayscale () },
+                { new SvgFill ( Color.RED ), new SvgOpacity ( 0.5 ) },
+                { new SvgStroke ( Color.BLUE ), new SvgTransform ( new Scale ( 0.5, 0.5 ) ) }
+        };
+        for ( final SvgAdjustment[] adjustment : adjustments )
+        {
+            final SvgIcon shared = new SvgIcon ( ICON, 24, 24 );
+            shared.apply ( adjustment );
+            final SvgIcon separate = new SvgIcon ( ICON, 24, 24 );
+            separate.detach ();
+            separate.apply ( adjustment );
+            assertTrue ( "Icon must stay shared", shared.isShared () );
+            assertFalse ( "Icon must be detached", separate.isShared () );
+            assertIdentical ( separate.asBufferedImage (), shared.asBufferedImage (), adjustment.length + " adjustments" );
+        }
+    }
+
+    /**
+     * Shared diagram variants reuse test.
+     */
+    @Test
+    public void variants ()
+    {
+        final SharedSvgDiagram diagram = SvgDiagramCache.getDiagram ( ICON );
+        final List<SvgAdjustment> fill = Arrays.<SvgAdjustment>asList ( new SvgFill ( Color.RED ) );
+        assertTrue ( "Size-independent variant must be shared between sizes",
+                diagram.getVariant ( fill, new Dimension ( 16, 16 ) ) == diagram.getVariant ( fill, new Dimension ( 32, 32 ) ) );
+
+        final List<SvgAdjustment> scale = Arrays.<SvgAdjustment>asList ( new SvgTransform ( new Scale ( 0.5, 0.5 ) ) );
+        assertTrue ( "Size-dependent variant must be shared for the same size",
+                diagram.getVariant ( scale, new Dimension ( 16, 16 ) ) == diagram.getVariant ( scale, new Dimension ( 16, 16 ) ) );
+        assertFalse ( "Size-dependent variant must be created for each size",
+                diagram.getVariant ( scale, new Dimension ( 16, 16 ) ) == diagram.getVariant ( scale, new Dimension ( 32, 32 ) ) );
+    }
+
+    /**
+     * Adjustments isolation test.
+     */
+    @Test
+    public void isolation ()
+    {
+        final SvgIcon plain = new SvgIcon ( ICON, 24, 24 );
+        final BufferedImage expected = plain.asBufferedImage ();
+
+        final SvgIcon adjusted = new SvgIcon ( ICON, 24, 24 );
+        adjusted.apply ( new SvgAdjustment[]{ new SvgGrayscale (), new SvgStroke ( Color.RED ) } );
+        adjusted.asBufferedImage ();
+        adjusted.createDisabledCopy ().asBufferedImage ();
+        assertIdentical ( expected, plain.asBufferedImage (), "adjustments" );
+
+        final SvgIcon changed = new SvgIcon ( ICON, 24, 24 );
+        changed.setAttribute ( changed.getRoot (), SvgElements.OPACITY, "0.5" );
+        assertFalse ( "Icon must be detached", changed.isShared () );
+        changed.asBufferedImage ();
+        assertIdentical ( expected, plain.asBufferedImage (), "direct changes" );
+    }
+
+    /**
+     * Shared diagram measurement test.
+     */
+    @Test
+    public void measurement ()
+    {
+        final int[] modes = { SvgIcon.AUTOSIZE_NONE, SvgIcon.AUTOSIZE_HORIZ, SvgIcon.AUTOSIZE_VERT, SvgIcon.AUTOSIZE_BESTFIT };
+        for ( final int mode : modes )
+        {
+            final SvgIcon shared = new SvgIcon ( ICON, 24, 48 );
+            shared.setAutosize ( mode );
+            final SvgIcon separate = new SvgIcon ( ICON, 24, 48 );
+            separate.detach ();
+            separate.setAutosize ( mode );
+            assertTrue ( "Icon width must be measured: " + mode,
+                    shared.getIconWidth () > 0 && shared.getIconWidth () == separate.getIconWidth () );
+            assertTrue ( "Icon height must be measured: " + mode,
+                    shared.getIconHeight () > 0 && shared.getIconHeight () == separate.getIconHeight () );
+            shared.asBufferedImage ();
+            assertTrue ( "Icon must be measured after painting: " + mode,
+                    shared.getIconWidth () == separate.getIconWidth () && shared.getIconHeight () == separate.getIconHeight () );
+            assertTrue ( "Icon must stay shared", shared.isShared () );
+        }
+
+        final SvgIcon adjusted = new SvgIcon ( ICON, 24, 24 );
+        adjusted.apply ( new SvgAdjustment[]{ new SvgGrayscale () } );
+        final SharedSvgDiagram variant = SvgDiagramCache.getDiagram ( ICON ).getVariant (
+                Arrays.<SvgAdjustment>asList ( new SvgGrayscale () ), new Dimension ( 24, 24 ) );
+        assertTrue ( "Variant diagram must be provided",
+                adjusted.getSvgUniverse ().getDiagram ( adjusted.getSvgURI () ) == variant.getUniverse ().getDiagram ( variant.getUri () ) );
+        assertTrue ( "Icon must stay shared", adjusted.isShared () );
+    }
+
+    /**
+     * Shared rasters test.
+     */
+    @Test
+    public void rasters ()
+    {
+        IconRasterCache.clear ();
+        IconRasterCache.resetStatistics ();
+        final SvgIcon icon1 = new SvgIcon ( ICON, 16, 16 );
+        final SvgIcon icon2 = new SvgIcon ( ICON, 16, 16 );
+        final BufferedImage image = new BufferedImage ( 64, 64, BufferedImage.TYPE_INT_ARGB );
+        final Graphics2D g2d = image.createGraphics ();
+        icon1.paintIcon ( null, g2d, 0, 0 );
+        icon2.paintIcon ( null, g2d, 16, 0 );
+        assertTrue ( "Raster must be shared", IconRasterCache.getSize () == 1 && IconRasterCache.getHits () == 1 );
+
+        g2d.scale ( 2, 2 );
+        icon1.paintIcon ( null, g2d, 0, 16 );
+        assertTrue ( "Raster must be created for device scale", IconRasterCache.getSize () == 2 );
+        assertTrue ( "Raster must use device pixels", IconRasterCache.getMemory () == ( 16 * 16 + 32 * 32 ) * 4 );
+        g2d.dispose ();
+
+        icon2.apply ( new SvgAdjustment[]{ new SvgGrayscale () } );
+        final Graphics2D g = image.createGraphics ();
+        icon2.paintIcon ( null, g, 32, 0 );
+        g.dispose ();
+        assertTrue ( "Adjusted icon must use separate raster", IconRasterCache.getSize () == 3 );
+
+        icon2.invalidateRasters ();
+        assertTrue ( "Shared variant rasters must be invalidated", IconRasterCache.getSize () == 2 );
+
+        final SvgIcon changed = new SvgIcon ( ICON, 16, 16 );
+        changed.detach ();
+        final Graphics2D cg = image.createGraphics ();
+        changed.paintIcon ( null, cg, 0, 32 );
+        changed.setAttribute ( changed.getRoot (), SvgElements.OPACITY, "0.5" );
+        changed.paintIcon ( null, cg, 0, 32 );
+        cg.dispose ();
+        assertTrue ( "Outdated raster must be invalidated", IconRasterCache.getSize () == 3 );
+        IconRasterCache.clear ();
+    }
+
+    /**
+     * Asserts that specified images are identical.
+     *
+     * @param expected expected image
+     * @param actual   actual image
+     * @param details  comparison details
+     */
+    private void assertIdentical ( final BufferedImage expected, final BufferedImage actual, final String details )
+    {
+        for ( int x = 0; x < expected.getWidth (); x++ )
+        {
+            for ( int y = 0; y < expected.getHeight (); y++ )
+            {
+                final int e = expected.getRGB ( x, y );
+                final int a = actual.getRGB ( x, y );
+                if ( e != a )
+                {
+                    fail ( String.format ( "Icon differs at %d,%d: %08X != %08X (%s)", x, y, e, a, details ) );
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,806 @@
+/*
+ * This file is part of WebLookAndFeel library.
+ *
+ * WebLookAndFeel library is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * WebLookAndFeel library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with WebLookAndFeel library.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.alee.extended.tree;
+
+import com.alee.api.annotations.NotNull;
+import com.alee.api.annotations.Nullable;
+import com.alee.laf.WebLookAndFeel;
+import com.alee.laf.tree.TreeNodeParameters;
+import com.alee.managers.task.TaskManager;
+import com.alee.utils.CoreSwingUtils;
+import com.alee.utils.FileUtils;
+import org.junit.AfterClass;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import javax.swing.*;
+import javax.swing.event.TreeModelEvent;
+import javax.swing.event.TreeModelListener;
+import java.io.File;
+import java.util.*;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.Assert.*;
+
+/**
+ * Set of JUnit tests for {@link AsyncTreeModel} streamed and paged children loading.
+ *
+ * @author Mikle Garin
+ */
+public final class AsyncTreeModelTest
+{
+    /**
+     * Maximum time in milliseconds to wait for children load request.
+     */
+    private static final long TIMEOUT = 5000;
+
+    /**
+     * Amount of EDT events processed to make sure all queued batches are inserted.
+     */
+    private static final int FLUSH = 20;
+
+    /**
+     * Initializes {@link WebLookAndFeel}.
+     */
+    @BeforeClass
+    public static void initialize ()
+    {
+        CoreSwingUtils.invokeAndWait ( new Runnable ()
+        {
+            @Override
+            public void run ()
+            {
+                WebLookAndFeel.setForceSingleEventsThread ( true );
+                WebLookAndFeel.install ();
+            }
+        } );
+    }
+
+    /**
+     * Tests children provided in multiple parts while loading continues.
+     *
+     * @throws Exception if load request is not received
+     */
+    @Test
+    public void chunkedLoad () throws Exception
+    {
+        final TestTree tree = createTree ( 0, 3 );
+        final LoadRequest request = tree.requestRoot ();
+        final StreamingNodesLoadCallback<TestNode> callback = request.streaming ();
+
+        callback.partial ( nodes ( "e", "c", "a", "g", "i" ) );
+        flush ();
+        assertEquals ( "Children must be available while loading continues", "a c e g i", tree.children () );
+        assertEquals ( AsyncNodeState.loading, tree.root ().getState () );
+
+        callback.partial ( nodes ( "h", "b", "f", "d" ) );
+        flush ();
+        assertEquals ( "Sorted parts must be merged into loaded children", "a b c d e f g h i", tree.children () );
+
+        callback.completed ();
+        flush ();
+        assertEquals ( AsyncNodeState.loaded, tree.root ().getState () );
+        assertEquals ( "Load must complete once", Collections.singletonList ( "a b c d e f g h i" ), tree.completed );
+        assertEquals ( "Each batch must be inserted separately", Arrays.asList ( 3, 2, 3, 1 ), tree.inserted );
+        assertTrue ( tree.failed.isEmpty () );
+    }
+
+    /**
+     * Tests that large list of children provided at once is still inserted in batches.
+     *
+     * @throws Exception if load request is not received
+     */
+    @Test
+    public void batchedCompletion () throws Exception
+    {
+        final TestTree tree = createTree ( 0, 3 );
+        tree.requestRoot ().callback.completed ( nodes ( "g", "f", "e", "d", "c", "b", "a" ) );
+        flush ();
+        assertEquals ( "a b c d e f g", tree.children () );
+        assertEquals ( AsyncNodeState.loaded, tree.root ().getState () );
+        assertEquals ( Collections.singletonList ( "a b c d e f g" ), tree.completed );
+        assertEquals ( Arrays.asList ( 3, 3, 1 ), tree.inserted );
+    }
+
+    /**
+     * Tests children loaded page by page.
+     *
+     * @throws Exception if load request is not received
+     */
+    @Test
+    public void pagedLoad () throws Exception
+    {
+        final TestTree tree = createTree ( 4, 10 );
+        final LoadRequest first = tree.requestRoot ();
+        assertEquals ( 0, first.offset );
+        assertEquals ( 4, first.count );
+        first.callback.completed ( nodes ( "d", "c", "b", "a" ) );
+        flush ();
+        assertEquals ( "a b c d", tree.children () );
+        assertEquals ( AsyncNodeState.loaded, tree.root ().getState () );
+        assertTrue ( "Full page must suggest more children", tree.hasMoreChildren () );
+
+        // Children provided for finished page must be ignored
+        first.streaming ().partial ( nodes ( "x" ) );
+        flush ();
+        assertEquals ( "a b c d", tree.children () );
+
+        final LoadRequest second = tree.requestMore ();
+        assertEquals ( 4, second.offset );
+        assertEquals ( 4, second.count );
+        second.streaming ().partial ( nodes ( "f" ) );
+        first.streaming ().completed ( nodes ( "y" ) );
+        second.streaming ().partial ( nodes ( "e" ) );
+        second.streaming ().completed ();
+        flush ();
+        assertEquals ( "Outdated request children must be ignored", "a b c d e f", tree.children () );
+        assertFalse ( "Partial page must be the last one", tree.hasMoreChildren () );
+        assertEquals ( "Load completion must only be fired for the first page", 1, tree.completed.size () );
+        assertTrue ( tree.failed.isEmpty () );
+    }
+
+    /**
+     * Tests load that fails after some children were already provided.
+     *
+     * @throws Exception if load request is not received
+     */
+    @Test
+    public void failedMidStream () throws Exception
+    {
+        final TestTree tree = createTree ( 0, 2 );
+        final StreamingNodesLoadCallback<TestNode> callback = tree.requestRoot ().streaming ();
+        callback.partial ( nodes ( "c", "a", "b" ) );
+        final RuntimeException cause = new RuntimeException ( "Load failure" );
+        callback.failed ( cause );
+        callback.partial ( nodes ( "d" ) );
+        flush ();
+        assertEquals ( "Children provided before failure must be kept", "a b c", tree.children () );
+        assertEquals ( AsyncNodeState.failed, tree.root ().getState () );
+        assertSame ( cause, tree.root ().getFailureCause () );
+        assertEquals ( Collections.singletonList ( cause ), tree.failed );
+        assertTrue ( tree.completed.isEmpty () );
+        assertFalse ( tree.hasMoreChildren () );
+    }
+
+    /**
+     * Tests that cancelled load discards children loaded so far and that children are loaded anew afterwards.
+     *
+     * @throws Exception if load request is not received
+     */
+    @Test
+    public void cancelledLoad () throws Exception
+    {
+        final TestTree tree = createTree ( 0, 10 );
+        final StreamingNodesLoadCallback<TestNode> first = tree.requestRoot ().streaming ();
+        first.partial ( nodes ( "b", "a" ) );
+        flush ();
+        assertEquals ( "a b", tree.children () );
+
+        assertTrue ( "Load in progress must be cancelled", tree.cancel () );
+        assertEquals ( "Children loaded so far must be removed", "", tree.children () );
+        assertEquals ( AsyncNodeState.waiting, tree.root ().getState () );
+        assertFalse ( "Cancelled load must not be cancelled again", tree.cancel () );
+
+        first.partial ( nodes ( "c" ) );
+        first.completed ();
+        flush ();
+        assertEquals ( "Cancelled load children must be ignored", "", tree.children () );
+        assertEquals ( AsyncNodeState.waiting, tree.root ().getState () );
+
+        tree.requestRoot ().callback.completed ( nodes ( "e", "d" ) );
+        flush ();
+        assertEquals ( "Children must be loaded anew", "d e", tree.children () );
+        assertEquals ( AsyncNodeState.loaded, tree.root ().getState () );
+        assertEquals ( Collections.singletonList ( "d e" ), tree.completed );
+        assertTrue ( tree.failed.isEmpty () );
+        assertFalse ( "Loaded children must not be cancelled", tree.cancel () );
+    }
+
+    /**
+     * Tests that {@link FileTreeDataProvider} still provides all children at once to plain {@link NodesLoadCallback}.
+     *
+     * @throws Exception if directory cannot be created
+     */
+    @Test
+    public void plainCallback () throws Exception
+    {
+        final File dir = File.createTempFile ( "tree", "" );
+        FileUtils.deleteFile ( dir );
+        FileUtils.ensureDirectoryExists ( dir );
+        try
+        {
+            for ( int i = 0; i < 5; i++ )
+            {
+                FileUtils.ensureDirectoryExists ( new File ( dir, "dir" + i ) );
+            }
+            final BlockingQueue<List<FileTreeNode>> result = new LinkedBlockingQueue<List<FileTreeNode>> ();
+            new FileTreeDataProvider ( dir ).loadChildren ( new FileTreeNode ( dir ), new NodesLoadCallback<FileTreeNode> ()
+            {
+                @Override
+                public void completed ( @NotNull final List<FileTreeNode> children )
+                {
+                    result.add ( children );
+                }
+
+                @Override
+                public void failed ( @NotNull final Throwable cause )
+                {
+                    result.add ( Collections.<FileTreeNode>emptyList () );
+                }
+            } );
+            final List<FileTreeNode> children = result.poll ( TIMEOUT, TimeUnit.MILLISECONDS );
+            assertNotNull ( "Load must be completed", children );
+            assertEquals ( "All children must be provided at once", 5, children.size () );
+            assertNull ( "Load must only be completed once", result.poll ( 100, TimeUnit.MILLISECONDS ) );
+        }
+        finally
+        {
+            FileUtils.deleteFile ( dir );
+        }
+    }
+
+    /**
+     * Tests that {@link FileTreeDataProvider} stops providing children once their scan is cancelled.
+     * First part of children blocks until scan is cancelled, nothing must be provided afterwards.
+     *
+     * @throws Exception if directory cannot be created
+     */
+    @Test
+    public void cancelledScan () throws Exception
+    {
+        final File dir = File.createTempFile ( "tree", "" );
+        FileUtils.deleteFile ( dir );
+        FileUtils.ensureDirectoryExists ( dir );
+        try
+        {
+            for ( int i = 0; i < FileUtils.getDirectoryScanner ().getBatchSize () * 4; i++ )
+            {
+                if ( !new File ( dir, "file" + i ).createNewFile () )
+                {
+                    throw new RuntimeException ( "Unable to create test file" );
+                }
+            }
+            final FileTreeDataProvider provider = new FileTreeDataProvider ( dir );
+            final FileTreeNode node = new FileTreeNode ( dir );
+            final CountDownLatch scanned = new CountDownLatch ( 1 );
+            final CountDownLatch cancelled = new CountDownLatch ( 1 );
+            final BlockingQueue<String> events = new LinkedBlockingQueue<String> ();
+            provider.loadChildren ( node, new StreamingNodesLoadCallback<FileTreeNode> ()
+            {
+                @Override
+                public void partial ( @NotNull final List<FileTreeNode> children )
+                {
+                    events.add ( "partial" );
+                    scanned.countDown ();
+                    try
+                    {
+                        cancelled.await ( TIMEOUT, TimeUnit.MILLISECONDS );
+                    }
+                    catch ( final InterruptedException ignored )
+                    {
+                        // Simply continue
+                    }
+                }
+
+                @Override
+                public void completed ()
+                {
+                    events.add ( "completed" );
+                }
+
+                @Override
+                public void completed ( @NotNull final List<FileTreeNode> children )
+                {
+                    events.add ( "completed" );
+                }
+
+                @Override
+                public void failed ( @NotNull final Throwable cause )
+                {
+                    events.add ( "failed" );
+                }
+            } );
+            assertTrue ( "Children must be scanned", scanned.await ( TIMEOUT, TimeUnit.MILLISECONDS ) );
+            provider.cancelChildrenLoad ( node );
+            cancelled.countDown ();
+            assertEquals ( "partial", events.poll ( TIMEOUT, TimeUnit.MILLISECONDS ) );
+            assertNull ( "Nothing must be provided once scan is cancelled", events.poll ( 500, TimeUnit.MILLISECONDS ) );
+            assertTrue ( "Cancelled scan must be forgotten", provider.scans.isEmpty () );
+        }
+        finally
+        {
+            FileUtils.deleteFile ( dir );
+        }
+    }
+
+    /**
+     * Returns new {@link TestTree}.
+     *
+     * @param pageSize  page size, zero or less to disable paging
+     * @param batchSize maximum amount of children inserted at once
+     * @return new {@link TestTree}
+     */
+    @NotNull
+    private TestTree createTree ( final int pageSize, final int batchSize )
+    {
+        final AtomicReference<TestTree> tree = new AtomicReference<TestTree> ();
+        CoreSwingUtils.invokeAndWait ( new Runnable ()
+        {
+            @Override
+            public void run ()
+            {
+                tree.set ( new TestTree ( pageSize, batchSize ) );
+            }
+        } );
+        return tree.get ();
+    }
+
+    /**
+     * Returns list of new {@link TestNode}s with the specified identifiers.
+     *
+     * @param ids node identifiers
+     * @return list of new {@link TestNode}s with the specified identifiers
+     */
+    @NotNull
+    private static List<TestNode> nodes ( @NotNull final String... ids )
+    {
+        final List<TestNode> nodes = new ArrayList<TestNode> ( ids.length );
+        for ( final String id : ids )
+        {
+            nodes.add ( new TestNode ( id ) );
+        }
+        return nodes;
+    }
+
+    /**
+     * Waits until all queued EDT events, including queued children batches, are processed.
+     */
+    private static void flush ()
+    {
+        for ( int i = 0; i < FLUSH; i++ )
+        {
+            CoreSwingUtils.invokeAndWait ( new Runnable ()
+            {
+                @Override
+                public void run ()
+                {
+                    // Only waiting for previously queued events
+                }
+            } );
+        }
+    }
+
+    /**
+     * Destroys {@link WebLookAndFeel}.
+     */
+    @AfterClass
+    public static void destroy ()
+    {
+        CoreSwingUtils.invokeAndWait ( new Runnable ()
+        {
+            @Override
+            public void run ()
+            {
+                WebLookAndFeel.uninstall ();
+            }
+        } );
+    }
+
+    /**
+     * {@link WebAsyncTree} wrapper recording model events.
+     */
+    private static final class TestTree implements TreeModelListener, AsyncTreeModelListener<TestNode>
+    {
+        /**
+         * {@link WebAsyncTree}.
+         */
+        private final WebAsyncTree<TestNode> tree;
+
+        /**
+         * {@link TestDataProvider}.
+         */
+        private final TestDataProvider provider;
+
+        /**
+         * Amounts of children inserted by each insertion event.
+         */
+        private final List<Integer> inserted = new ArrayList<Integer> ();
+
+        /**
+         * Children provided by each load completion event.
+         */
+        private final List<String> completed = new ArrayList<String> ();
+
+        /**
+         * Causes provided by each load failure event.
+         */
+        private final List<Throwable> failed = new ArrayList<Throwable> ();
+
+        /**
+         * Constructs new {@link TestTree}.
+         *
+         * @param pageSize  page size, zero or less to disable paging
+         * @param batchSize maximum amount of children inserted at once
+         */
+        public TestTree ( final int pageSize, final int batchSize )
+        {
+            provider = new TestDataProvider ( pageSize );
+            provider.setChildrenComparator ( new Comparator<TestNode> ()
+            {
+                @Override
+                public int compare ( final TestNode node1, final TestNode node2 )
+                {
+                    return node1.getId ().compareTo ( node2.getId () );
+                }
+            } );
+            tree = new WebAsyncTree<TestNode> ( provider );
+            tree.setAsyncLoading ( true );
+            tree.getModel ().setBatchSize ( batchSize );
+            tree.getModel ().addTreeModelListener ( this );
+            tree.getModel ().addAsyncTreeModelListener ( this );
+        }
+
+        /**
+         * Returns root node.
+         *
+         * @return root node
+         */
+        @NotNull
+        public TestNode root ()
+        {
+            final AtomicReference<TestNode> root = new AtomicReference<TestNode> ();
+            CoreSwingUtils.invokeAndWait ( new Runnable ()
+            {
+                @Override
+                public void run ()
+                {
+                    root.set ( tree.getModel ().getRoot () );
+                }
+            } );
+            return root.get ();
+        }
+
+        /**
+         * Starts root children load if it wasn't started yet and returns load request.
+         *
+         * @return root children {@link LoadRequest}
+         * @throws InterruptedException if interrupted while waiting for request
+         */
+        @NotNull
+        public LoadRequest requestRoot () throws InterruptedException
+        {
+            CoreSwingUtils.invokeAndWait ( new Runnable ()
+            {
+                @Override
+                public void run ()
+                {
+                    tree.getModel ().getChildCount ( tree.getModel ().getRoot () );
+                }
+            } );
+            return provider.take ();
+        }
+
+        /**
+         * Starts next root children page load and returns load request.
+         *
+         * @return next root children page {@link LoadRequest}
+         * @throws InterruptedException if interrupted while waiting for request
+         */
+        @NotNull
+        public LoadRequest requestMore () throws InterruptedException
+        {
+            CoreSwingUtils.invokeAndWait ( new Runnable ()
+            {
+                @Override
+                public void run ()
+                {
+                    tree.getModel ().loadMoreChildren ( tree.getModel ().getRoot () );
+                }
+            } );
+            return provider.take ();
+        }
+
+        /**
+         * Cancels root children load.
+         *
+         * @return {@code true} if root children load was in progress and was cancelled, {@code false} otherwise
+         */
+        public boolean cancel ()
+        {
+            final AtomicReference<Boolean> cancelled = new AtomicReference<Boolean> ();
+            CoreSwingUtils.invokeAndWait ( new Runnable ()
+            {
+                @Override
+                public void run ()
+                {
+                    cancelled.set ( tree.getModel ().cancelChildrenLoad ( tree.getModel ().getRoot () ) );
+                }
+            } );
+            return cancelled.get ();
+        }
+
+        /**
+         * Returns whether or not root might have more children that are not loaded yet.
+         *
+         * @return {@code true} if root might have more children that are not loaded yet, {@code false} otherwise
+         */
+        public boolean hasMoreChildren ()
+        {
+            final AtomicReference<Boolean> more = new AtomicReference<Boolean> ();
+            CoreSwingUtils.invokeAndWait ( new Runnable ()
+            {
+                @Override
+                public void run ()
+                {
+                    more.set ( tree.getModel ().hasMoreChildren ( tree.getModel ().getRoot () ) );
+                }
+            } );
+            return more.get ();
+        }
+
+        /**
+         * Returns identifiers of current root children separated by spaces.
+         *
+         * @return identifiers of current root children separated by spaces
+         */
+        @NotNull
+        public String children ()
+        {
+            final AtomicReference<String> children = new AtomicReference<String> ();
+            CoreSwingUtils.invokeAndWait ( new Runnable ()
+            {
+                @Override
+                public void run ()
+                {
+                    final TestNode root = tree.getModel ().getRoot ();
+                    final List<TestNode> nodes = new ArrayList<TestNode> ( root.getChildCount () );
+                    for ( int i = 0; i < root.getChildCount (); i++ )
+                    {
+                        nodes.add ( root.getChildAt ( i ) );
+                    }
+                    children.set ( ids ( nodes ) );
+                }
+            } );
+            return children.get ();
+        }
+
+        /**
+         * Returns identifiers of the specified nodes separated by spaces.
+         *
+         * @param nodes nodes
+         * @return identifiers of the specified nodes separated by spaces
+         */
+        @NotNull
+        private String ids ( @NotNull final List<TestNode> nodes )
+        {
+            final StringBuilder ids = new StringBuilder ();
+            for ( final TestNode node : nodes )
+            {
+                ids.append ( ids.length () > 0 ? " " : "" ).append ( node.getId () );
+            }
+            return ids.toString ();
+        }
+
+        @Override
+        public void treeNodesChanged ( @NotNull final TreeModelEvent e )
+        {
+            // Not tracked
+        }
+
+        @Override
+        public void treeNodesInserted ( @NotNull final TreeModelEvent e )
+        {
+            inserted.add ( e.getChildIndices ().length );
+        }
+
+        @Override
+        public void treeNodesRemoved ( @NotNull final TreeModelEvent e )
+        {
+            // Not tracked
+        }
+
+        @Override
+        public void treeStructureChanged ( @NotNull final TreeModelEvent e )
+        {
+            // Not tracked
+        }
+
+        @Override
+        public void loadStarted ( @NotNull final TestNode parent )
+        {
+            // Not tracked
+        }
+
+        @Override
+        public void loadCompleted ( @NotNull final TestNode parent, @NotNull final List<TestNode> children )
+        {
+            completed.add ( ids ( children ) );
+        }
+
+        @Override
+        public void loadFailed ( @NotNull final TestNode parent, @NotNull final Throwable cause )
+        {
+            failed.add ( cause );
+        }
+    }
+
+    /**
+     * Single children load request.
+     */
+    private static final class LoadRequest
+    {
+        /**
+         * {@link NodesLoadCallback} provided by the model.
+         */
+        private final NodesLoadCallback<TestNode> callback;
+
+        /**
+         * Index of the first requested child.
+         */
+        private final int offset;
+
+        /**
+         * Maximum amount of requested children.
+         */
+        private final int count;
+
+        /**
+         * Constructs new {@link LoadRequest}.
+         *
+         * @param callback {@link NodesLoadCallback} provided by the model
+         * @param offset   index of the first requested child
+         * @param count    maximum amount of requested children
+         */
+        public LoadRequest ( @NotNull final NodesLoadCallback<TestNode> callback, final int offset, final int count )
+        {
+            this.callback = callback;
+            this.offset = offset;
+            this.count = count;
+        }
+
+        /**
+         * Returns {@link StreamingNodesLoadCallback} provided by the model.
+         *
+         * @return {@link StreamingNodesLoadCallback} provided by the model
+         */
+        @NotNull
+        public StreamingNodesLoadCallback<TestNode> streaming ()
+        {
+            assertTrue ( "Model must provide streaming callback", callback instanceof StreamingNodesLoadCallback );
+            return ( StreamingNodesLoadCallback<TestNode> ) callback;
+        }
+    }
+
+    /**
+     * {@link PagedAsyncTreeDataProvider} that lets test provide children for each load request.
+     */
+    private static final class TestDataProvider extends AbstractAsyncTreeDataProvider<TestNode>
+            implements PagedAsyncTreeDataProvider<TestNode>
+    {
+        /**
+         * Serialization version.
+         */
+        private static final long serialVersionUID = 1L;
+
+        /**
+         * Page size, zero or less to disable paging.
+         */
+        private final int pageSize;
+
+        /**
+         * Received load requests.
+         */
+        private final transient BlockingQueue<LoadRequest> requests;
+
+        /**
+         * Constructs new {@link TestDataProvider}.
+         *
+         * @param pageSize page size, zero or less to disable paging
+         */
+        public TestDataProvider ( final int pageSize )
+        {
+            this.pageSize = pageSize;
+            this.requests = new LinkedBlockingQueue<LoadRequest> ();
+        }
+
+        /**
+         * Returns next load request.
+         *
+         * @return next load request
+         * @throws InterruptedException if interrupted while waiting for request
+         */
+        @NotNull
+        public LoadRequest take () throws InterruptedException
+        {
+            final LoadRequest request = requests.poll ( TIMEOUT, TimeUnit.MILLISECONDS );
+            assertNotNull ( "Children load must be requested", request );
+            return request;
+        }
+
+        @NotNull
+        @Override
+        public String getThreadGroupId ()
+        {
+            return TaskManager.COMPUTATION;
+        }
+
+        @NotNull
+        @Override
+        public TestNode getRoot ()
+        {
+            return new TestNode ( "root" );
+        }
+
+        @Override
+        public int getPageSize ( @NotNull final TestNode parent )
+        {
+            return pageSize;
+        }
+
+        @Override
+        public void loadChildren ( @NotNull final TestNode parent, @NotNull final NodesLoadCallback<TestNode> listener )
+        {
+            requests.add ( new LoadRequest ( listener, 0, Integer.MAX_VALUE ) );
+        }
+
+        @Override
+        public void loadChildren ( @NotNull final TestNode parent, final int offset, final int count,
+                                   @NotNull final NodesLoadCallback<TestNode> listener )
+        {
+            requests.add ( new LoadRequest ( listener, offset, count ) );
+        }
+
+        @Override
+        public boolean isLeaf ( @NotNull final TestNode node )
+        {
+            return !node.getId ().equals ( "root" );
+        }
+    }
+
+    /**
+     * Simple {@link AsyncUniqueNode} implementation.
+     */
+    private static final class TestNode extends AsyncUniqueNode<TestNode, String>
+    {
+        /**
+         * Serialization version.
+         */
+        private static final long serialVersionUID = 1L;
+
+        /**
+         * Constructs new {@link TestNode}.
+         *
+         * @param id node identifier
+         */
+        public TestNode ( @NotNull final String id )
+        {
+            super ( id, id );
+        }
+
+        @Nullable
+        @Override
+        public Icon getNodeIcon ( @NotNull final TreeNodeParameters<TestNode, WebAsyncTree<TestNode>> parameters )
+        {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,504 @@
+/*
+ * This file is part of WebLookAndFeel library.
+ *
+ * WebLookAndFeel library is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * WebLookAndFeel library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with WebLookAndFeel library.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.alee.extended.tree;
+
+import com.alee.api.annotations.NotNull;
+import com.alee.laf.WebLookAndFeel;
+import com.alee.laf.tree.UniqueNode;
+import com.alee.utils.CoreSwingUtils;
+import com.alee.utils.compare.Filter;
+import org.junit.AfterClass;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import javax.swing.event.TreeModelEvent;
+import javax.swing.event.TreeModelListener;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.Assert.*;
+
+/**
+ * Set of JUnit tests for {@link ExTreeModel} asynchronous filtering and sorting.
+ * Results of asynchronous filtering and sorting are compared with synchronous ones performed on an identical tree.
+ *
+ * @author Mikle Garin
+ */
+public final class ExTreeModelTest
+{
+    /**
+     * Maximum time in milliseconds to wait for asynchronous filtering and sorting.
+     */
+    private static final long TIMEOUT = 5000;
+
+    /**
+     * Amount of group nodes under the root.
+     */
+    private static final int GROUPS = 4;
+
+    /**
+     * Amount of leaf nodes within each group.
+     */
+    private static final int LEAFS = 6;
+
+    /**
+     * Initializes {@link WebLookAndFeel}.
+     */
+    @BeforeClass
+    public static void initialize ()
+    {
+        CoreSwingUtils.invokeAndWait ( new Runnable ()
+        {
+            @Override
+            public void run ()
+            {
+                WebLookAndFeel.setForceSingleEventsThread ( true );
+                WebLookAndFeel.install ();
+            }
+        } );
+    }
+
+    /**
+     * Tests that asynchronous filtering gives the same result as synchronous one using only removal and insertion events.
+     *
+     * @throws Exception if filtering is not finished in time
+     */
+    @Test
+    public void asyncFiltering () throws Exception
+    {
+        final TestTree sync = createTree ( false );
+        final TestTree async = createTree ( true );
+        final Filter<TestNode> filter = new SuffixFilter ( "0", "2", "4" );
+
+        sync.apply ( filter, null );
+        async.apply ( filter, null );
+        assertEquals ( sync.structure (), async.structure () );
+        assertEquals ( "Each group must lose its rejected children with a single event", GROUPS, async.removed.size () );
+        for ( final int[] removed : async.removed )
+        {
+            assertArrayEquals ( new int[]{ 1, 3, 5 }, removed );
+        }
+        assertTrue ( "Nothing must be inserted", async.inserted.isEmpty () );
+        assertEquals ( "Order is preserved so structure must not be replaced", 0, async.structureChanges );
+
+        sync.apply ( null, null );
+        async.apply ( null, null );
+        assertEquals ( sync.structure (), async.structure () );
+        assertEquals ( "Each group must get back its children with a single event", GROUPS, async.inserted.size () );
+        for ( final int[] inserted : async.inserted )
+        {
+            assertArrayEquals ( new int[]{ 1, 3, 5 }, inserted );
+        }
+        assertTrue ( "Nothing must be removed", async.removed.isEmpty () );
+        assertEquals ( 0, async.structureChanges );
+    }
+
+    /**
+     * Tests that asynchronous sorting gives the same result as synchronous one and replaces structure of reordered nodes.
+     *
+     * @throws Exception if sorting is not finished in time
+     */
+    @Test
+    public void asyncSorting () throws Exception
+    {
+        final TestTree sync = createTree ( false );
+        final TestTree async = createTree ( true );
+        final Comparator<TestNode> comparator = new Comparator<TestNode> ()
+        {
+            @Override
+            public int compare ( final TestNode node1, final TestNode node2 )
+            {
+                return node2.getId ().compareTo ( node1.getId () );
+            }
+        };
+
+        sync.apply ( new SuffixFilter ( "1", "3", "5" ), comparator );
+        async.apply ( new SuffixFilter ( "1", "3", "5" ), comparator );
+        assertEquals ( sync.structure (), async.structure () );
+        assertEquals ( "Root and each group are reordered", GROUPS + 1, async.structureChanges );
+        assertTrue ( async.removed.isEmpty () );
+        assertTrue ( async.inserted.isEmpty () );
+    }
+
+    /**
+     * Tests that result of computation superseded by a newer request is discarded.
+     *
+     * @throws Exception if filtering is not finished in time
+     */
+    @Test
+    public void supersededComputation () throws Exception
+    {
+        final TestTree sync = createTree ( false );
+        final TestTree async = createTree ( true );
+        final CountDownLatch release = new CountDownLatch ( 1 );
+        final CountDownLatch started = new CountDownLatch ( 1 );
+        final Filter<TestNode> blocking = new Filter<TestNode> ()
+        {
+            @Override
+            public boolean accept ( final TestNode node )
+            {
+                started.countDown ();
+                try
+                {
+                    release.await ( TIMEOUT, TimeUnit.MILLISECONDS );
+                }
+                catch ( final InterruptedException e )
+                {
+                    throw new RuntimeException ( e );
+                }
+                return false;
+            }
+        };
+        final Filter<TestNode> filter = new SuffixFilter ( "0", "1", "2" );
+
+        // Starting computation that would remove everything and superseding it while it is still in progress
+        async.filter ( blocking );
+        assertTrue ( "Computation must start", started.await ( TIMEOUT, TimeUnit.MILLISECONDS ) );
+        async.filter ( filter );
+        release.countDown ();
+        async.await ();
+
+        sync.apply ( filter, null );
+        assertEquals ( sync.structure (), async.structure () );
+        assertEquals ( "Only newer computation must be applied", GROUPS, async.removed.size () );
+        assertTrue ( async.inserted.isEmpty () );
+        assertEquals ( 0, async.structureChanges );
+    }
+
+    /**
+     * Returns new {@link TestTree}.
+     *
+     * @param async whether or not filtering and sorting should be asynchronous
+     * @return new {@link TestTree}
+     */
+    @NotNull
+    private TestTree createTree ( final boolean async )
+    {
+        final AtomicReference<TestTree> tree = new AtomicReference<TestTree> ();
+        CoreSwingUtils.invokeAndWait ( new Runnable ()
+        {
+            @Override
+            public void run ()
+            {
+                tree.set ( new TestTree ( async ) );
+            }
+        } );
+        return tree.get ();
+    }
+
+    /**
+     * Destroys {@link WebLookAndFeel}.
+     */
+    @AfterClass
+    public static void destroy ()
+    {
+        CoreSwingUtils.invokeAndWait ( new Runnable ()
+        {
+            @Override
+            public void run ()
+            {
+                WebLookAndFeel.uninstall ();
+            }
+        } );
+    }
+
+    /**
+     * {@link WebExTree} wrapper recording model events.
+     */
+    private static final class TestTree implements TreeModelListener
+    {
+        /**
+         * {@link WebExTree}.
+         */
+        private final WebExTree<TestNode> tree;
+
+        /**
+         * Child indices provided by each removal event.
+         */
+        private final List<int[]> removed = Collections.synchronizedList ( new ArrayList<int[]> () );
+
+        /**
+         * Child indices provided by each insertion event.
+         */
+        private final List<int[]> inserted = Collections.synchronizedList ( new ArrayList<int[]> () );
+
+        /**
+         * Amount of structure change events.
+         */
+        private volatile int structureChanges;
+
+        /**
+         * Constructs new {@link TestTree}.
+         *
+         * @param async whether or not filtering and sorting should be asynchronous
+         */
+        public TestTree ( final boolean async )
+        {
+            tree = new WebExTree<TestNode> ( new TestDataProvider () );
+            tree.setAsyncFiltering ( async );
+            tree.getModel ().addTreeModelListener ( this );
+        }
+
+        /**
+         * Applies specified {@link Filter} and {@link Comparator} and waits until they are applied.
+         *
+         * @param filter     {@link Filter} to apply
+         * @param comparator {@link Comparator} to apply
+         * @throws InterruptedException if interrupted while waiting
+         */
+        public void apply ( final Filter<TestNode> filter, final Comparator<TestNode> comparator ) throws InterruptedException
+        {
+            CoreSwingUtils.invokeAndWait ( new Runnable ()
+            {
+                @Override
+                public void run ()
+                {
+                    reset ();
+                    tree.getModel ().comparator = comparator;
+                    tree.getModel ().setFilter ( filter );
+                }
+            } );
+            await ();
+        }
+
+        /**
+         * Applies specified {@link Filter} without waiting for it to be applied.
+         *
+         * @param filter {@link Filter} to apply
+         */
+        public void filter ( final Filter<TestNode> filter )
+        {
+            CoreSwingUtils.invokeAndWait ( new Runnable ()
+            {
+                @Override
+                public void run ()
+                {
+                    reset ();
+                    tree.getModel ().setFilter ( filter );
+                }
+            } );
+        }
+
+        /**
+         * Waits until pending filtering and sorting is applied.
+         *
+         * @throws InterruptedException if interrupted while waiting
+         */
+        public void await () throws InterruptedException
+        {
+            final CountDownLatch applied = new CountDownLatch ( 1 );
+            CoreSwingUtils.invokeAndWait ( new Runnable ()
+            {
+                @Override
+                public void run ()
+                {
+                    tree.getModel ().invokeAfterFiltering ( new Runnable ()
+                    {
+                        @Override
+                        public void run ()
+                        {
+                            applied.countDown ();
+                        }
+                    } );
+                }
+            } );
+            assertTrue ( "Filtering and sorting must be applied", applied.await ( TIMEOUT, TimeUnit.MILLISECONDS ) );
+        }
+
+        /**
+         * Clears recorded events.
+         */
+        private void reset ()
+        {
+            removed.clear ();
+            inserted.clear ();
+            structureChanges = 0;
+        }
+
+        /**
+         * Returns text representation of the current tree structure.
+         *
+         * @return text representation of the current tree structure
+         */
+        @NotNull
+        public String structure ()
+        {
+            final AtomicReference<String> structure = new AtomicReference<String> ();
+            CoreSwingUtils.invokeAndWait ( new Runnable ()
+            {
+                @Override
+                public void run ()
+                {
+                    final StringBuilder builder = new StringBuilder ();
+                    append ( builder, tree.getModel ().getRoot () );
+                    structure.set ( builder.toString () );
+                }
+            } );
+            return structure.get ();
+        }
+
+        /**
+         * Appends text representation of the specified node structure.
+         *
+         * @param builder {@link StringBuilder}
+         * @param node    node to append
+         */
+        private void append ( @NotNull final StringBuilder builder, @NotNull final TestNode node )
+        {
+            builder.append ( node.getId () );
+            if ( node.getChildCount () > 0 )
+            {
+                builder.append ( "[" );
+                for ( int i = 0; i < node.getChildCount (); i++ )
+                {
+                    builder.append ( i > 0 ? "," : "" );
+                    append ( builder, node.getChildAt ( i ) );
+                }
+                builder.append ( "]" );
+            }
+        }
+
+        @Override
+        public void treeNodesChanged ( @NotNull final TreeModelEvent e )
+        {
+            // Not tracked
+        }
+
+        @Override
+        public void treeNodesInserted ( @NotNull final TreeModelEvent e )
+        {
+            inserted.add ( e.getChildIndices () );
+        }
+
+        @Override
+        public void treeNodesRemoved ( @NotNull final TreeModelEvent e )
+        {
+            removed.add ( e.getChildIndices () );
+        }
+
+        @Override
+        public void treeStructureChanged ( @NotNull final TreeModelEvent e )
+        {
+            structureChanges++;
+        }
+    }
+
+    /**
+     * {@link Filter} accepting group nodes and leaf nodes with the specified identifier suffixes.
+     */
+    private static final class SuffixFilter implements Filter<TestNode>
+    {
+        /**
+         * Accepted leaf node identifier suffixes.
+         */
+        private final String[] suffixes;
+
+        /**
+         * Constructs new {@link SuffixFilter}.
+         *
+         * @param suffixes accepted leaf node identifier suffixes
+         */
+        public SuffixFilter ( @NotNull final String... suffixes )
+        {
+            this.suffixes = suffixes;
+        }
+
+        @Override
+        public boolean accept ( final TestNode node )
+        {
+            boolean accept = node.getChildCount () > 0 || !node.getId ().contains ( "." );
+            for ( int i = 0; !accept && i < suffixes.length; i++ )
+            {
+                accept = node.getId ().endsWith ( "." + suffixes[ i ] );
+            }
+            return accept;
+        }
+    }
+
+    /**
+     * {@link ExTreeDataProvider} with {@link #GROUPS} groups of {@link #LEAFS} leaf nodes.
+     */
+    private static final class TestDataProvider extends AbstractExTreeDataProvider<TestNode>
+    {
+        /**
+         * Serialization version.
+         */
+        private static final long serialVersionUID = 1L;
+
+        @NotNull
+        @Override
+        public TestNode getRoot ()
+        {
+            return new TestNode ( "root" );
+        }
+
+        @NotNull
+        @Override
+        public List<TestNode> getChildren ( @NotNull final TestNode parent )
+        {
+            final List<TestNode> children;
+            if ( parent.getId ().equals ( "root" ) )
+            {
+                children = new ArrayList<TestNode> ( GROUPS );
+                for ( int i = 0; i < GROUPS; i++ )
+                {
+                    children.add ( new TestNode ( "g" + i ) );
+                }
+            }
+            else if ( !parent.getId ().contains ( "." ) )
+            {
+                children = new ArrayList<TestNode> ( LEAFS );
+                for ( int i = 0; i < LEAFS; i++ )
+                {
+                    children.add ( new TestNode ( parent.getId () + "." + i ) );
+                }
+            }
+            else
+            {
+                children = new ArrayList<TestNode> ( 0 );
+            }
+            return children;
+        }
+    }
+
+    /**
+     * Simple {@link UniqueNode} implementation.
+     */
+    private static final class TestNode extends UniqueNode<TestNode, String>
+    {
+        /**
+         * Serialization version.
+         */
+        private static final long serialVersionUID = 1L;
+
+        /**
+         * Constructs new {@link TestNode}.
+         *
+         * @param id node identifier
+         */
+        public TestNode ( @NotNull final String id )
+        {
+            super ( id, id );
+        }
+    }
+}
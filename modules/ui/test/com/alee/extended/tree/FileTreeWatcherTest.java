@@ -0,0 +1,170 @@
+/*
+ * This file is part of WebLookAndFeel library.
+ *
+ * WebLookAndFeel library is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * WebLookAndFeel library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with WebLookAndFeel library.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+
+package com.alee.extended.tree;
+
+import com.alee.api.annotations.NotNull;
+import com.alee.laf.WebLookAndFeel;
+import com.alee.utils.CoreSwingUtils;
+import com.alee.utils.FileUtils;
+import com.alee.utils.file.FileWatch;
+import org.junit.After;
+import org.junit.AfterClass;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import java.io.File;
+
+import static org.junit.Assert.*;
+
+/**
+ * Set of JUnit tests for {@link FileTreeWatcher}.
+ *
+ * @author Mikle Garin
+ */
+public final class FileTreeWatcherTest
+{
+    /**
+     * Delay between checks of watched folders in milliseconds, long enough to avoid any checks during the test.
+     */
+    private static final long DELAY = 600000;
+
+    /**
+     * Temporary directory.
+     */
+    private File dir;
+
+    /**
+     * Folder within temporary directory.
+     */
+    private File folder;
+
+    /**
+     * Folder within {@link #folder}.
+     */
+    private File nested;
+
+    /**
+     * Initializes {@link WebLookAndFeel}.
+     */
+    @BeforeClass
+    public static void initialize ()
+    {
+        CoreSwingUtils.invokeAndWait ( new Runnable ()
+        {
+            @Override
+            public void run ()
+            {
+                WebLookAndFeel.setForceSingleEventsThread ( true );
+                WebLookAndFeel.install ();
+            }
+        } );
+    }
+
+    /**
+     * Creates temporary directory with nested folders.
+     *
+     * @throws Exception if directory cannot be created
+     */
+    @Before
+    public void createDirectory () throws Exception
+    {
+        dir = File.createTempFile ( "watcher", "" );
+        FileUtils.deleteFile ( dir );
+        folder = new File ( dir, "folder" );
+        nested = new File ( folder, "nested" );
+        FileUtils.ensureDirectoryExists ( nested );
+    }
+
+    /**
+     * Removes temporary directory.
+     */
+    @After
+    public void removeDirectory ()
+    {
+        FileUtils.deleteFile ( dir );
+    }
+
+    /**
+     * Tests that reloading changed folder only keeps watch of that folder and drops watches of the folders within it.
+     */
+    @Test
+    public void reloadDropsNestedWatches ()
+    {
+        final FileTreeWatcher[] watcher = new FileTreeWatcher[ 1 ];
+        CoreSwingUtils.invokeAndWait ( new Runnable ()
+        {
+            @Override
+            public void run ()
+            {
+                watcher[ 0 ] = new FileTreeWatcher ( new WebFileTree ( dir ) );
+                watch ( watcher[ 0 ], dir );
+                watch ( watcher[ 0 ], folder );
+                watch ( watcher[ 0 ], nested );
+            }
+        } );
+        final FileWatch dirWatch = watcher[ 0 ].watches.get ( dir );
+        final FileWatch folderWatch = watcher[ 0 ].watches.get ( folder );
+        final FileWatch nestedWatch = watcher[ 0 ].watches.get ( nested );
+
+        // Change is processed on the Event Dispatch Thread, so waiting for it afterwards
+        watcher[ 0 ].modified ( dir );
+        CoreSwingUtils.invokeAndWait ( new Runnable ()
+        {
+            @Override
+            public void run ()
+            {
+                assertEquals ( "Only changed folder must stay watched", 1, watcher[ 0 ].watches.size () );
+                assertSame ( "Changed folder watch must be kept", dirWatch, watcher[ 0 ].watches.get ( dir ) );
+                assertTrue ( "Changed folder watch must stay active", dirWatch.isActive () );
+                assertFalse ( "Nested folder watch must be cancelled", folderWatch.isActive () );
+                assertFalse ( "Nested folder watch must be cancelled", nestedWatch.isActive () );
+                watcher[ 0 ].unwatchFolders ( null );
+                assertFalse ( "Changed folder watch must be cancelled", dirWatch.isActive () );
+            }
+        } );
+    }
+
+    /**
+     * Starts watching specified folder without checking its node expansion.
+     *
+     * @param watcher {@link FileTreeWatcher}
+     * @param folder  folder to watch
+     */
+    private static void watch ( @NotNull final FileTreeWatcher watcher, @NotNull final File folder )
+    {
+        watcher.watches.put ( folder, FileUtils.getWatchService ().watch ( folder, watcher, DELAY, true ) );
+    }
+
+    /**
+     * Destroys {@link WebLookAndFeel}.
+     */
+    @AfterClass
+    public static void destroy ()
+    {
+        CoreSwingUtils.invokeAndWait ( new Runnable ()
+        {
+            @Override
+            public void run ()
+            {
+                WebLookAndFeel.uninstall ();
+            }
+        } );
+    }
+}
@@ -0,0 +1,299 @@
+/*
+ * This file is part of WebLookAndFeel library.
+ *
+ * WebLookAndFeel library is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * WebLookAndFeel library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with WebLookAndFeel library.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.alee.managers.animation.event;
+
+import com.alee.managers.animation.AnimationManager;
+import com.alee.managers.animation.transition.TimedTransition;
+import com.alee.managers.animation.transition.Transition;
+import com.alee.managers.animation.transition.TransitionAdapter;
+import com.alee.utils.CoreSwingUtils;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+
+import static org.junit.Assert.*;
+
+/**
+ * Set of JUnit tests for {@link FrameEventHandler}.
+ * Event Dispatch Thread is blocked while events are submitted to make sure they all get into the same frame.
+ *
+ * @author Mikle Garin
+ */
+public final class FrameEventHandlerTest
+{
+    /**
+     * Initializes {@link AnimationManager}.
+     * It provides transition types for {@link TimedTransition}s.
+     */
+    @BeforeClass
+    public static void initialize ()
+    {
+        AnimationManager.initialize ();
+    }
+
+    /**
+     * Tests that all events submitted before Event Dispatch Thread gets to them are performed within single frame.
+     */
+    @Test
+    public void singleFrame ()
+    {
+        final FrameEventHandler handler = new FrameEventHandler ();
+        final List<String> performed = new ArrayList<String> ();
+        final CountDownLatch release = blockEventDispatchThread ();
+        for ( int i = 0; i < 5; i++ )
+        {
+            handler.handle ( new RecordingEvent ( performed, "event" + i ) );
+        }
+        flush ( release );
+
+        assertEquals ( Arrays.asList ( "event0", "event1", "event2", "event3", "event4" ), performed );
+        assertEquals ( "All events must be performed within single frame", 1, handler.getFrames () );
+        assertEquals ( 5, handler.getPerformedEvents () );
+        assertEquals ( 0, handler.getDroppedEvents () );
+    }
+
+    /**
+     * Tests that only the latest {@link MergeableEvent} with the same merge key is performed within frame.
+     */
+    @Test
+    public void mergeableEvents ()
+    {
+        final FrameEventHandler handler = new FrameEventHandler ();
+        final List<String> performed = new ArrayList<String> ();
+        final CountDownLatch release = blockEventDispatchThread ();
+        handler.handle ( new RecordingEvent ( performed, "plain1" ) );
+        handler.handle ( new MergeableRecordingEvent ( performed, "a1", "a" ) );
+        handler.handle ( new MergeableRecordingEvent ( performed, "b1", "b" ) );
+        handler.handle ( new MergeableRecordingEvent ( performed, "a2", "a" ) );
+        handler.handle ( new RecordingEvent ( performed, "plain2" ) );
+        handler.handle ( new MergeableRecordingEvent ( performed, "a3", "a" ) );
+        flush ( release );
+
+        assertEquals ( Arrays.asList ( "plain1", "b1", "plain2", "a3" ), performed );
+        assertEquals ( 1, handler.getFrames () );
+        assertEquals ( 4, handler.getPerformedEvents () );
+        assertEquals ( "Stale events must be dropped", 2, handler.getDroppedEvents () );
+
+        // Events are only merged within single frame
+        performed.clear ();
+        handler.handle ( new MergeableRecordingEvent ( performed, "a4", "a" ) );
+        flush ( null );
+        assertEquals ( Arrays.asList ( "a4" ), performed );
+        assertEquals ( 2, handler.getFrames () );
+        assertEquals ( 2, handler.getDroppedEvents () );
+    }
+
+    /**
+     * Tests that value adjustment events of the same transition are merged while events of different transitions are not.
+     */
+    @Test
+    public void transitionAdjustments ()
+    {
+        final FrameEventHandler handler = new FrameEventHandler ();
+        final List<String> performed = new ArrayList<String> ();
+        final TimedTransition<Double> first = createTransition ( handler, performed, "first" );
+        final TimedTransition<Double> second = createTransition ( handler, performed, "second" );
+
+        final CountDownLatch release = blockEventDispatchThread ();
+        first.fireAdjusted ( 0.1d );
+        second.fireAdjusted ( 0.1d );
+        first.fireAdjusted ( 0.2d );
+        first.fireAdjusted ( 0.3d );
+        second.fireAdjusted ( 0.2d );
+        flush ( release );
+
+        assertEquals ( Arrays.asList ( "first:0.3", "second:0.2" ), performed );
+        assertEquals ( 1, handler.getFrames () );
+        assertEquals ( 3, handler.getDroppedEvents () );
+    }
+
+    /**
+     * Tests that exception thrown by one event doesn't affect other events within the same frame.
+     */
+    @Test
+    public void eventIsolation ()
+    {
+        final FrameEventHandler handler = new FrameEventHandler ();
+        final List<String> performed = new ArrayList<String> ();
+        final CountDownLatch release = blockEventDispatchThread ();
+        handler.handle ( new RecordingEvent ( performed, "before" ) );
+        handler.handle ( new Runnable ()
+        {
+            @Override
+            public void run ()
+            {
+                throw new IllegalStateException ( "Expected test exception" );
+            }
+        } );
+        handler.handle ( new RecordingEvent ( performed, "after" ) );
+        flush ( release );
+
+        assertEquals ( Arrays.asList ( "before", "after" ), performed );
+        assertEquals ( 1, handler.getFrames () );
+        assertEquals ( 3, handler.getPerformedEvents () );
+    }
+
+    /**
+     * Returns new {@link TimedTransition} recording its value adjustments.
+     *
+     * @param handler   {@link EventHandler} for transition events
+     * @param performed list to record value adjustments into
+     * @param name      transition name
+     * @return new {@link TimedTransition} recording its value adjustments
+     */
+    private static TimedTransition<Double> createTransition ( final EventHandler handler, final List<String> performed,
+                                                              final String name )
+    {
+        final TimedTransition<Double> transition = new TimedTransition<Double> ( 0d, 1d );
+        transition.setEventHandler ( handler );
+        transition.addListener ( new TransitionAdapter<Double> ()
+        {
+            @Override
+            public void adjusted ( final Transition transition, final Double value )
+            {
+                performed.add ( name + ":" + value );
+            }
+        } );
+        return transition;
+    }
+
+    /**
+     * Blocks Event Dispatch Thread until returned {@link CountDownLatch} is released.
+     *
+     * @return {@link CountDownLatch} that should be released to unblock Event Dispatch Thread
+     */
+    private static CountDownLatch blockEventDispatchThread ()
+    {
+        final CountDownLatch blocked = new CountDownLatch ( 1 );
+        final CountDownLatch release = new CountDownLatch ( 1 );
+        CoreSwingUtils.invokeLater ( new Runnable ()
+        {
+            @Override
+            public void run ()
+            {
+                blocked.countDown ();
+                try
+                {
+                    release.await ();
+                }
+                catch ( final InterruptedException ignored )
+                {
+                    // Not expected
+                }
+            }
+        } );
+        try
+        {
+            blocked.await ();
+        }
+        catch ( final InterruptedException e )
+        {
+            throw new RuntimeException ( e );
+        }
+        return release;
+    }
+
+    /**
+     * Unblocks Event Dispatch Thread and waits for all pending frames to be performed.
+     *
+     * @param release {@link CountDownLatch} blocking Event Dispatch Thread, {@code null} if it is not blocked
+     */
+    private static void flush ( final CountDownLatch release )
+    {
+        if ( release != null )
+        {
+            release.countDown ();
+        }
+        CoreSwingUtils.invokeAndWait ( new Runnable ()
+        {
+            @Override
+            public void run ()
+            {
+                // Frames scheduled earlier are performed before this task
+            }
+        } );
+    }
+
+    /**
+     * Event recording its name upon being performed.
+     */
+    private static class RecordingEvent implements Runnable
+    {
+        /**
+         * List to record performed events into.
+         */
+        private final List<String> performed;
+
+        /**
+         * Event name.
+         */
+        private final String name;
+
+        /**
+         * Constructs new {@link RecordingEvent}.
+         *
+         * @param performed list to record performed events into
+         * @param name      event name
+         */
+        public RecordingEvent ( final List<String> performed, final String name )
+        {
+            this.performed = performed;
+            this.name = name;
+        }
+
+        @Override
+        public void run ()
+        {
+            performed.add ( name );
+        }
+    }
+
+    /**
+     * {@link MergeableEvent} recording its name upon being performed.
+     */
+    private static final class MergeableRecordingEvent extends RecordingEvent implements MergeableEvent
+    {
+        /**
+         * Merge key.
+         */
+        private final Object key;
+
+        /**
+         * Constructs new {@link MergeableRecordingEvent}.
+         *
+         * @param performed list to record performed events into
+         * @param name      event name
+         * @param key       merge key
+         */
+        public MergeableRecordingEvent ( final List<String> performed, final String name, final Object key )
+        {
+            super ( performed, name );
+            this.key = key;
+        }
+
+        @Override
+        public Object getMergeKey ()
+        {
+            return key;
+        }
+    }
+}
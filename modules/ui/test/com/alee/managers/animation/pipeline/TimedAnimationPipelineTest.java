@@ -0,0 +1,181 @@
+/*
+ * This file is part of WebLookAndFeel library.
+ *
+ * WebLookAndFeel library is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * WebLookAndFeel library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with WebLookAndFeel library.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.alee.managers.animation.pipeline;
+
+import com.alee.managers.animation.AnimationManager;
+import com.alee.managers.animation.easing.Linear;
+import com.alee.managers.animation.event.EventHandler;
+import com.alee.managers.animation.framerate.FixedFrameRate;
+import com.alee.managers.animation.framerate.FrameRate;
+import com.alee.managers.animation.transition.TimedTransition;
+import com.alee.managers.animation.transition.Transition;
+import com.alee.managers.animation.transition.TransitionAdapter;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.*;
+
+/**
+ * Set of JUnit tests for {@link TimedAnimationPipeline}.
+ * Transition events are performed right away on the animator thread to count them precisely.
+ *
+ * @author Mikle Garin
+ */
+public final class TimedAnimationPipelineTest
+{
+    /**
+     * Transition duration in milliseconds.
+     */
+    private static final long DURATION = 500;
+
+    /**
+     * Transition {@link FrameRate}.
+     */
+    private static final FrameRate FRAME_RATE = new FixedFrameRate ( 100 );
+
+    /**
+     * Maximum time in milliseconds to wait for transition to finish.
+     */
+    private static final long TIMEOUT = 5000;
+
+    /**
+     * Initializes {@link AnimationManager}.
+     * It provides transition types for {@link TimedTransition}s.
+     */
+    @BeforeClass
+    public static void initialize ()
+    {
+        AnimationManager.initialize ();
+    }
+
+    /**
+     * Tests that transition performs its frames when pipeline {@link FrameRate} is not limited.
+     *
+     * @throws InterruptedException if test is interrupted
+     */
+    @Test
+    public void unlimited () throws InterruptedException
+    {
+        final TimedAnimationPipeline pipeline = new TimedAnimationPipeline ();
+        try
+        {
+            final int frames = play ( pipeline );
+            assertTrue ( "Transition must perform its frames: " + frames, frames > 10 );
+        }
+        finally
+        {
+            pipeline.shutdown ();
+        }
+    }
+
+    /**
+     * Tests that transition with higher {@link FrameRate} skips frames to honour pipeline {@link FrameRate} limit.
+     *
+     * @throws InterruptedException if test is interrupted
+     */
+    @Test
+    public void frameRateLimit () throws InterruptedException
+    {
+        final TimedAnimationPipeline pipeline = new TimedAnimationPipeline ( new FixedFrameRate ( 10 ) );
+        try
+        {
+            final int frames = play ( pipeline );
+            assertTrue ( "Frame rate limit must be honoured: " + frames, frames <= maxFrames ( 10 ) );
+        }
+        finally
+        {
+            pipeline.shutdown ();
+        }
+    }
+
+    /**
+     * Tests that {@link FrameRate} limit can be changed at runtime.
+     *
+     * @throws InterruptedException if test is interrupted
+     */
+    @Test
+    public void frameRateLimitChange () throws InterruptedException
+    {
+        final TimedAnimationPipeline pipeline = new TimedAnimationPipeline ();
+        try
+        {
+            pipeline.setFrameRateLimit ( new FixedFrameRate ( 5 ) );
+            final int frames = play ( pipeline );
+            assertTrue ( "Frame rate limit must be honoured: " + frames, frames <= maxFrames ( 5 ) );
+        }
+        finally
+        {
+            pipeline.shutdown ();
+        }
+    }
+
+    /**
+     * Returns maximum amount of frames transition can perform with the specified frames per second limit.
+     * One frame is added for the transition start and one more for the final frame.
+     *
+     * @param limit frames per second limit
+     * @return maximum amount of frames transition can perform with the specified frames per second limit
+     */
+    private static int maxFrames ( final int limit )
+    {
+        return ( int ) ( DURATION * limit / 1000 ) + 2;
+    }
+
+    /**
+     * Plays new transition on the specified {@link TimedAnimationPipeline} and returns amount of performed frames.
+     *
+     * @param pipeline {@link TimedAnimationPipeline}
+     * @return amount of performed frames
+     * @throws InterruptedException if waiting is interrupted
+     */
+    private static int play ( final TimedAnimationPipeline pipeline ) throws InterruptedException
+    {
+        final AtomicInteger frames = new AtomicInteger ( 0 );
+        final CountDownLatch finished = new CountDownLatch ( 1 );
+        final TimedTransition<Double> transition = new TimedTransition<Double> ( 0d, 1d, FRAME_RATE, new Linear (), DURATION );
+        transition.setEventHandler ( new EventHandler ()
+        {
+            @Override
+            public void handle ( final Runnable event )
+            {
+                event.run ();
+            }
+        } );
+        transition.addListener ( new TransitionAdapter<Double> ()
+        {
+            @Override
+            public void adjusted ( final Transition transition, final Double value )
+            {
+                frames.incrementAndGet ();
+            }
+
+            @Override
+            public void finished ( final Transition transition, final Double value )
+            {
+                finished.countDown ();
+            }
+        } );
+        pipeline.play ( transition );
+        assertTrue ( "Transition must finish", finished.await ( TIMEOUT, TimeUnit.MILLISECONDS ) );
+        return frames.get ();
+    }
+}
@@ -0,0 +1,320 @@
+/*
+ * This file is part of WebLookAndFeel library.
+ *
+ * WebLookAndFeel library is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * WebLookAndFeel library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with WebLookAndFeel library.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.alee.managers.hotkey;
+
+import com.alee.utils.CoreSwingUtils;
+import com.alee.utils.ReflectUtils;
+import com.alee.utils.SwingUtils;
+import org.junit.AfterClass;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.slf4j.LoggerFactory;
+
+import javax.swing.*;
+import java.awt.*;
+import java.awt.event.AWTEventListener;
+import java.awt.event.InputEvent;
+import java.awt.event.KeyEvent;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Set of JUnit tests for {@link HotkeyManager} hotkeys index.
+ *
+ * @author Mikle Garin
+ */
+@SuppressWarnings ( "deprecation" )
+public final class HotkeyManagerTest
+{
+    /**
+     * Amount of registered component hotkeys used for dispatch benchmark.
+     */
+    private static final int HOTKEYS = 10000;
+
+    /**
+     * Amount of distinct keys benchmark hotkeys are spread over.
+     */
+    private static final int KEYS = 26;
+
+    /**
+     * Amount of measured key presses.
+     */
+    private static final int PRESSES = 2000;
+
+    /**
+     * Initializes {@link HotkeyManager}.
+     * System shortcut modifier is not available in headless environment, so {@link InputEvent#CTRL_MASK} is used there instead.
+     *
+     * @throws Exception if system shortcut modifier cannot be stubbed
+     */
+    @BeforeClass
+    public static void initialize () throws Exception
+    {
+        if ( GraphicsEnvironment.isHeadless () )
+        {
+            setSystemShortcutModifier ( InputEvent.CTRL_MASK );
+        }
+        HotkeyManager.initialize ();
+    }
+
+    /**
+     * Resets stubbed system shortcut modifier.
+     *
+     * @throws Exception if system shortcut modifier cannot be reset
+     */
+    @AfterClass
+    public static void destroy () throws Exception
+    {
+        if ( GraphicsEnvironment.isHeadless () )
+        {
+            setSystemShortcutModifier ( null );
+        }
+    }
+
+    /**
+     * Replaces system shortcut modifier cached by {@link SwingUtils}.
+     *
+     * @param modifier system shortcut modifier or {@code null} to reset it
+     * @throws Exception if system shortcut modifier cannot be replaced
+     */
+    private static void setSystemShortcutModifier ( final Integer modifier ) throws Exception
+    {
+        ReflectUtils.setStaticFieldValue ( SwingUtils.class, "systemShortcutModifier", modifier );
+    }
+
+    /**
+     * Global hotkeys dispatch test.
+     */
+    @Test
+    public void dispatch ()
+    {
+        final JPanel source = new JPanel ();
+        final AtomicInteger f2 = new AtomicInteger ( 0 );
+        final AtomicInteger ctrlF2 = new AtomicInteger ( 0 );
+        final HotkeyInfo first = HotkeyManager.registerHotkey ( new HotkeyData ( KeyEvent.VK_F2 ), new CountingAction ( f2 ) );
+        final HotkeyInfo second = HotkeyManager.registerHotkey (
+                new HotkeyData ( true, false, false, KeyEvent.VK_F2 ), new CountingAction ( ctrlF2 ) );
+        try
+        {
+            press ( source, KeyEvent.VK_F2, 0 );
+            assertEquals ( "Hotkey must be triggered once", 1, f2.get () );
+            assertEquals ( "Hotkey with different modifiers must not be triggered", 0, ctrlF2.get () );
+
+            press ( source, KeyEvent.VK_F2, SwingUtils.getSystemShortcutModifier () );
+            assertEquals ( "Hotkey with different modifiers must not be triggered", 1, f2.get () );
+            assertEquals ( "Hotkey must be triggered once", 1, ctrlF2.get () );
+
+            HotkeyManager.unregisterHotkey ( first );
+            press ( source, KeyEvent.VK_F2, 0 );
+            assertEquals ( "Unregistered hotkey must not be triggered", 1, f2.get () );
+        }
+        finally
+        {
+            HotkeyManager.unregisterHotkey ( first );
+            HotkeyManager.unregisterHotkey ( second );
+        }
+    }
+
+    /**
+     * Registered hotkey data change test.
+     */
+    @Test
+    public void hotkeyDataChange ()
+    {
+        final JPanel source = new JPanel ();
+        final AtomicInteger counter = new AtomicInteger ( 0 );
+        final HotkeyInfo hotkey = HotkeyManager.registerHotkey ( new HotkeyData ( KeyEvent.VK_F3 ), new CountingAction ( counter ) );
+        try
+        {
+            hotkey.setHotkeyData ( new HotkeyData ( KeyEvent.VK_F4 ) );
+            press ( source, KeyEvent.VK_F3, 0 );
+            assertEquals ( "Hotkey must not be triggered by previous key", 0, counter.get () );
+            press ( source, KeyEvent.VK_F4, 0 );
+            assertEquals ( "Hotkey must be triggered by new key", 1, counter.get () );
+        }
+        finally
+        {
+            HotkeyManager.unregisterHotkey ( hotkey );
+        }
+    }
+
+    /**
+     * Key press dispatch benchmark with {@link #HOTKEYS} registered component hotkeys.
+     * Key presses must only visit hotkeys indexed by the pressed key, regardless of the amount of registered hotkeys.
+     * Timings are only logged since they depend on the environment.
+     */
+    @Test
+    public void dispatchBenchmark ()
+    {
+        final JPanel source = new JPanel ();
+        final List<JComponent> components = new ArrayList<JComponent> ( HOTKEYS );
+        try
+        {
+            // Few hotkeys
+            register ( components, KEYS );
+            assertEquals ( "Non-matching key must not visit any hotkeys", 0, visited ( source, KeyEvent.VK_F5 ) );
+            assertEquals ( "Matching key must only visit its own hotkeys", 1, visited ( source, KeyEvent.VK_A ) );
+            measure ( source, KeyEvent.VK_F5, PRESSES );
+            final long few = measure ( source, KeyEvent.VK_F5, PRESSES );
+
+            // Lots of hotkeys
+            register ( components, HOTKEYS - KEYS );
+            assertEquals ( "Non-matching key must not visit any hotkeys", 0, visited ( source, KeyEvent.VK_F5 ) );
+            assertEquals ( "Matching key must only visit its own hotkeys", ( HOTKEYS + KEYS - 1 ) / KEYS, visited ( source, KeyEvent.VK_A ) );
+            assertEquals ( "Hotkeys with other modifiers must not be visited", 0,
+                    HotkeyManager.getIndexedHotkeys ( createEvent ( source, KeyEvent.VK_A, InputEvent.SHIFT_MASK ) ).size () );
+            measure ( source, KeyEvent.VK_F5, PRESSES );
+            final long many = measure ( source, KeyEvent.VK_F5, PRESSES );
+            measure ( source, KeyEvent.VK_A, PRESSES );
+            final long matching = measure ( source, KeyEvent.VK_A, PRESSES );
+
+            LoggerFactory.getLogger ( HotkeyManagerTest.class ).info ( String.format (
+                    "Key press with %d hotkeys: %d ns, with %d hotkeys: %d ns, matching %d hotkeys: %d ns",
+                    KEYS, few / PRESSES, HOTKEYS, many / PRESSES, HOTKEYS / KEYS, matching / PRESSES ) );
+        }
+        finally
+        {
+            for ( final JComponent component : components )
+            {
+                HotkeyManager.unregisterHotkeys ( component );
+            }
+        }
+    }
+
+    /**
+     * Returns amount of hotkeys visited on specified key press.
+     *
+     * @param source  event source
+     * @param keyCode key code
+     * @return amount of hotkeys visited on specified key press
+     */
+    private int visited ( final Component source, final int keyCode )
+    {
+        return HotkeyManager.getIndexedHotkeys ( createEvent ( source, keyCode, 0 ) ).size ();
+    }
+
+    /**
+     * Registers specified amount of component hotkeys spread over {@link #KEYS} distinct keys.
+     *
+     * @param components list to store components into
+     * @param amount     amount of hotkeys to register
+     */
+    private void register ( final List<JComponent> components, final int amount )
+    {
+        final HotkeyRunnable action = new CountingAction ( new AtomicInteger ( 0 ) );
+        for ( int i = 0; i < amount; i++ )
+        {
+            final JPanel component = new JPanel ();
+            HotkeyManager.registerHotkey ( component, new HotkeyData ( KeyEvent.VK_A + components.size () % KEYS ), action );
+            components.add ( component );
+        }
+    }
+
+    /**
+     * Presses specified key on EDT and returns after all triggered hotkeys are performed.
+     *
+     * @param source    event source
+     * @param keyCode   key code
+     * @param modifiers key modifiers
+     */
+    private void press ( final Component source, final int keyCode, final int modifiers )
+    {
+        CoreSwingUtils.invokeAndWait ( new Runnable ()
+        {
+            @Override
+            public void run ()
+            {
+                dispatch ( createEvent ( source, keyCode, modifiers ) );
+            }
+        } );
+    }
+
+    /**
+     * Presses specified key the specified amount of times and returns time it took in nanoseconds.
+     *
+     * @param source  event source
+     * @param keyCode key code
+     * @param times   amount of key presses
+     * @return time it took to press specified key the specified amount of times in nanoseconds
+     */
+    private long measure ( final Component source, final int keyCode, final int times )
+    {
+        final long start = System.nanoTime ();
+        for ( int i = 0; i < times; i++ )
+        {
+            dispatch ( createEvent ( source, keyCode, 0 ) );
+        }
+        return System.nanoTime () - start;
+    }
+
+    /**
+     * Returns new key press {@link KeyEvent}.
+     *
+     * @param source    event source
+     * @param keyCode   key code
+     * @param modifiers key modifiers
+     * @return new key press {@link KeyEvent}
+     */
+    private KeyEvent createEvent ( final Component source, final int keyCode, final int modifiers )
+    {
+        return new KeyEvent ( source, KeyEvent.KEY_PRESSED, System.currentTimeMillis (), modifiers, keyCode, KeyEvent.CHAR_UNDEFINED );
+    }
+
+    /**
+     * Dispatches specified {@link KeyEvent} to all key {@link AWTEventListener}s, including the one used by {@link HotkeyManager}.
+     *
+     * @param event {@link KeyEvent}
+     */
+    private void dispatch ( final KeyEvent event )
+    {
+        for ( final AWTEventListener listener : Toolkit.getDefaultToolkit ().getAWTEventListeners ( AWTEvent.KEY_EVENT_MASK ) )
+        {
+            listener.eventDispatched ( event );
+        }
+    }
+
+    /**
+     * {@link HotkeyRunnable} counting its runs.
+     */
+    private static final class CountingAction implements HotkeyRunnable
+    {
+        /**
+         * Runs counter.
+         */
+        private final AtomicInteger counter;
+
+        /**
+         * Constructs new {@link CountingAction}.
+         *
+         * @param counter runs counter
+         */
+        public CountingAction ( final AtomicInteger counter )
+        {
+            this.counter = counter;
+        }
+
+        @Override
+        public void run ( final KeyEvent e )
+        {
+            counter.incrementAndGet ();
+        }
+    }
+}
@@ -0,0 +1,296 @@
+/*
+ * This file is part of WebLookAndFeel library.
+ *
+ * WebLookAndFeel library is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * WebLookAndFeel library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with WebLookAndFeel library.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.alee.managers.hover;
+
+import com.alee.utils.CoreSwingUtils;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import javax.swing.*;
+import java.awt.*;
+import java.awt.event.MouseEvent;
+
+import static org.junit.Assert.*;
+
+/**
+ * Set of JUnit tests for {@link HoverManager} hover resolutions.
+ * Components used in tests pretend to be showing so that they can be hovered without actual {@link Window} being displayed.
+ * Mouse events are dispatched within single EDT task to make sure that hover resolution queued by the first one is still pending.
+ *
+ * @author Mikle Garin
+ */
+public final class HoverManagerTest
+{
+    /**
+     * Root pane of the tested components.
+     */
+    private JRootPane rootPane;
+
+    /**
+     * Panel placed at {@code [10,10,100,100]} within content pane.
+     */
+    private JPanel first;
+
+    /**
+     * Panel placed at {@code [20,20,30,30]} within {@link #first}.
+     */
+    private JPanel child;
+
+    /**
+     * Panel placed at {@code [120,10,50,50]} within content pane.
+     */
+    private JPanel second;
+
+    /**
+     * Initializes {@link HoverManager}.
+     */
+    @BeforeClass
+    public static void initialize ()
+    {
+        CoreSwingUtils.invokeAndWait ( new Runnable ()
+        {
+            @Override
+            public void run ()
+            {
+                HoverManager.initialize ();
+            }
+        } );
+    }
+
+    /**
+     * Creates tested components and waits for any hover resolutions caused by their creation.
+     */
+    @Before
+    public void createComponents ()
+    {
+        CoreSwingUtils.invokeAndWait ( new Runnable ()
+        {
+            @Override
+            public void run ()
+            {
+                rootPane = new JRootPane ()
+                {
+                    @Override
+                    public boolean isShowing ()
+                    {
+                        return isVisible ();
+                    }
+                };
+                final JPanel content = new ShowingPanel ();
+                rootPane.setContentPane ( content );
+                rootPane.setBounds ( 0, 0, 200, 200 );
+                rootPane.doLayout ();
+
+                first = new ShowingPanel ();
+                first.setBounds ( 10, 10, 100, 100 );
+                content.add ( first );
+
+                child = new ShowingPanel ();
+                child.setBounds ( 20, 20, 30, 30 );
+                first.add ( child );
+
+                second = new ShowingPanel ();
+                second.setBounds ( 120, 10, 50, 50 );
+                content.add ( second );
+            }
+        } );
+        flush ();
+    }
+
+    /**
+     * Tests that at most one hover resolution is queued and that it uses the latest event.
+     */
+    @Test
+    public void singleQueuedResolution ()
+    {
+        CoreSwingUtils.invokeAndWait ( new Runnable ()
+        {
+            @Override
+            public void run ()
+            {
+                HoverManager.resetStatistics ();
+                for ( int i = 0; i < 10; i++ )
+                {
+                    move ( first, 1 + i, 1 );
+                }
+                move ( second, 5, 5 );
+                assertEquals ( "Resolution must not be performed right away", 0, HoverManager.getResolutions () );
+                assertEquals ( "Events must be merged into queued resolution", 10, HoverManager.getCoalescedEvents () );
+            }
+        } );
+        flush ();
+        assertEquals ( "Only one resolution must be performed", 1, HoverManager.getResolutions () );
+        assertEquals ( 1, HoverManager.getChanges () );
+        assertSame ( "Latest event must be used for resolution", second, HoverManager.getHoverOwner () );
+    }
+
+    /**
+     * Tests that mouse exit merged into queued resolution clears hover owner.
+     */
+    @Test
+    public void exitAfterMove ()
+    {
+        hover ( first, 5, 5 );
+        CoreSwingUtils.invokeAndWait ( new Runnable ()
+        {
+            @Override
+            public void run ()
+            {
+                HoverManager.resetStatistics ();
+                move ( second, 5, 5 );
+                second.dispatchEvent ( new MouseEvent ( second, MouseEvent.MOUSE_EXITED, System.currentTimeMillis (), 0, -1, -1, 0, false ) );
+            }
+        } );
+        flush ();
+        assertEquals ( 1, HoverManager.getCoalescedEvents () );
+        assertEquals ( 1, HoverManager.getChanges () );
+        assertNull ( "Exit event must clear hover owner", HoverManager.getHoverOwner () );
+        assertSame ( first, HoverManager.getPreviousHoverOwner () );
+    }
+
+    /**
+     * Tests that mouse movement within current hover owner doesn't cause any resolutions.
+     */
+    @Test
+    public void withinHoverOwner ()
+    {
+        hover ( first, 5, 5 );
+        CoreSwingUtils.invokeAndWait ( new Runnable ()
+        {
+            @Override
+            public void run ()
+            {
+                HoverManager.resetStatistics ();
+
+                // Events fired on hover owner itself
+                move ( first, 90, 90 );
+                move ( first, 60, 5 );
+
+                // Events fired on parent component still pointing at hover owner
+                move ( rootPane.getContentPane (), 15, 15 );
+            }
+        } );
+        flush ();
+        assertEquals ( "Movement within hover owner must be skipped", 3, HoverManager.getSkippedEvents () );
+        assertEquals ( "Movement within hover owner must not be resolved", 0, HoverManager.getResolutions () );
+        assertSame ( first, HoverManager.getHoverOwner () );
+    }
+
+    /**
+     * Tests that mouse movement into hover owner child or outside of hover owner is resolved.
+     */
+    @Test
+    public void leavingHoverOwner ()
+    {
+        hover ( first, 5, 5 );
+
+        // Moving into hover owner child
+        hover ( first, 25, 25 );
+        assertSame ( "Moving into child must change hover owner", child, HoverManager.getHoverOwner () );
+
+        // Moving outside of hover owner
+        hover ( child, 40, 5 );
+        assertSame ( "Moving outside of hover owner must change it", first, HoverManager.getHoverOwner () );
+
+        // Moving into sibling placed above hover owner
+        CoreSwingUtils.invokeAndWait ( new Runnable ()
+        {
+            @Override
+            public void run ()
+            {
+                second.setBounds ( 60, 60, 100, 100 );
+            }
+        } );
+        flush ();
+        hover ( second, 80, 80 );
+        assertSame ( second, HoverManager.getHoverOwner () );
+        hover ( second, 10, 10 );
+        assertSame ( "Moving into component placed above hover owner must change it", first, HoverManager.getHoverOwner () );
+    }
+
+    /**
+     * Moves mouse over the specified {@link Component} and waits for hover resolution.
+     *
+     * @param component {@link Component} to fire mouse event on
+     * @param x         X coordinate relative to {@link Component}
+     * @param y         Y coordinate relative to {@link Component}
+     */
+    private static void hover ( final Component component, final int x, final int y )
+    {
+        CoreSwingUtils.invokeAndWait ( new Runnable ()
+        {
+            @Override
+            public void run ()
+            {
+                move ( component, x, y );
+            }
+        } );
+        flush ();
+    }
+
+    /**
+     * Dispatches mouse move event on the specified {@link Component}.
+     *
+     * @param component {@link Component} to fire mouse event on
+     * @param x         X coordinate relative to {@link Component}
+     * @param y         Y coordinate relative to {@link Component}
+     */
+    private static void move ( final Component component, final int x, final int y )
+    {
+        component.dispatchEvent ( new MouseEvent ( component, MouseEvent.MOUSE_MOVED, System.currentTimeMillis (), 0, x, y, 0, false ) );
+    }
+
+    /**
+     * Waits for all hover resolutions queued on EDT, including post-layout ones that are queued twice.
+     */
+    private static void flush ()
+    {
+        for ( int i = 0; i < 3; i++ )
+        {
+            CoreSwingUtils.invokeAndWait ( new Runnable ()
+            {
+                @Override
+                public void run ()
+                {
+                    // Tasks queued earlier are performed before this one
+                }
+            } );
+        }
+    }
+
+    /**
+     * {@link JPanel} that pretends to be showing whenever it is visible.
+     */
+    private static final class ShowingPanel extends JPanel
+    {
+        /**
+         * Constructs new {@link ShowingPanel}.
+         */
+        public ShowingPanel ()
+        {
+            super ( null );
+        }
+
+        @Override
+        public boolean isShowing ()
+        {
+            return isVisible ();
+        }
+    }
+}
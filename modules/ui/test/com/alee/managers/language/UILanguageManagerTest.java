@@ -0,0 +1,342 @@
+/*
+ * This file is part of WebLookAndFeel library.
+ *
+ * WebLookAndFeel library is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * WebLookAndFeel library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with WebLookAndFeel library.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.alee.managers.language;
+
+import com.alee.api.annotations.NotNull;
+import com.alee.managers.language.data.Dictionary;
+import com.alee.managers.language.data.Record;
+import com.alee.managers.language.data.Text;
+import com.alee.managers.language.data.Value;
+import com.alee.utils.CoreSwingUtils;
+import org.junit.AfterClass;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import javax.swing.*;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.*;
+
+/**
+ * Set of JUnit tests for {@link UILanguageManager} components index and batched translation updates.
+ *
+ * @author Mikle Garin
+ */
+public final class UILanguageManagerTest
+{
+    /**
+     * Maximum time in milliseconds to wait for batched translation and garbage collection.
+     */
+    private static final long TIMEOUT = 10000;
+
+    /**
+     * {@link Dictionary} prefix.
+     */
+    private static final String DICTIONARY = "weblaf.test.ui";
+
+    /**
+     * Translation keys prefix.
+     */
+    private static final String PREFIX = DICTIONARY + ".";
+
+    /**
+     * Translation keys used in tests.
+     */
+    private static final String[] KEYS = { "first", "second", "third", "collected", "full", "specific" };
+
+    /**
+     * {@link Dictionary} with translations for {@link #KEYS}.
+     */
+    private static Dictionary dictionary;
+
+    /**
+     * Initializes {@link UILanguageManager} and adds {@link Dictionary} with test translations.
+     */
+    @BeforeClass
+    public static void initialize ()
+    {
+        CoreSwingUtils.invokeAndWait ( new Runnable ()
+        {
+            @Override
+            public void run ()
+            {
+                UILanguageManager.initialize ();
+                LanguageManager.setLocale ( new Locale ( "en" ) );
+                dictionary = new Dictionary ( DICTIONARY );
+                for ( final String key : KEYS )
+                {
+                    dictionary.addRecord ( new Record ( key, new Value ( new Locale ( "en" ), new Text ( "Text " + key ) ) ) );
+                }
+                LanguageManager.addDictionary ( dictionary );
+            }
+        } );
+    }
+
+    /**
+     * Tests components index updates upon component registration, translation key change and unregistration.
+     */
+    @Test
+    public void componentsIndex ()
+    {
+        CoreSwingUtils.invokeAndWait ( new Runnable ()
+        {
+            @Override
+            public void run ()
+            {
+                final JLabel label = new JLabel ();
+
+                UILanguageManager.registerComponent ( label, PREFIX + "first" );
+                assertEquals ( Collections.singletonList ( label ), UILanguageManager.getIndexedComponents ( PREFIX + "first" ) );
+                assertEquals ( "Text first", label.getText () );
+
+                UILanguageManager.updateComponent ( label, PREFIX + "second" );
+                assertNull ( "Previous key must not be indexed", UILanguageManager.getIndexedComponents ( PREFIX + "first" ) );
+                assertEquals ( Collections.singletonList ( label ), UILanguageManager.getIndexedComponents ( PREFIX + "second" ) );
+                assertEquals ( "Text second", label.getText () );
+
+                UILanguageManager.registerComponent ( label, PREFIX + "third" );
+                assertNull ( "Previous key must not be indexed", UILanguageManager.getIndexedComponents ( PREFIX + "second" ) );
+                assertEquals ( Collections.singletonList ( label ), UILanguageManager.getIndexedComponents ( PREFIX + "third" ) );
+
+                UILanguageManager.unregisterComponent ( label );
+                assertNull ( "Unregistered component must not be indexed", UILanguageManager.getIndexedComponents ( PREFIX + "third" ) );
+                assertFalse ( UILanguageManager.isRegisteredComponent ( label ) );
+            }
+        } );
+    }
+
+    /**
+     * Tests that garbage collected components are removed from components index.
+     *
+     * @throws InterruptedException if interrupted while waiting for garbage collection
+     */
+    @Test
+    public void collectedComponentsIndex () throws InterruptedException
+    {
+        final String key = PREFIX + "collected";
+        registerLabels ( key, 100 );
+        assertEquals ( 100, UILanguageManager.getIndexedComponents ( key ).size () );
+
+        final long deadline = System.currentTimeMillis () + TIMEOUT;
+        while ( !UILanguageManager.getIndexedComponents ( key ).isEmpty () && System.currentTimeMillis () < deadline )
+        {
+            System.gc ();
+            Thread.sleep ( 50 );
+        }
+        assertTrue ( "Garbage collected components must not be indexed", UILanguageManager.getIndexedComponents ( key ).isEmpty () );
+
+        // Key of garbage collected components is removed upon the next update
+        CoreSwingUtils.invokeAndWait ( new Runnable ()
+        {
+            @Override
+            public void run ()
+            {
+                UILanguageManager.updateComponents ( Collections.singleton ( key ) );
+            }
+        } );
+        assertNull ( "Key of garbage collected components must be removed", UILanguageManager.getIndexedComponents ( key ) );
+    }
+
+    /**
+     * Tests that key-specific batched update started while full batched update is running takes over its remaining components.
+     *
+     * @throws InterruptedException if interrupted while waiting for batched translation
+     */
+    @Test
+    public void supersedingBatch () throws InterruptedException
+    {
+        final List<JLabel> full = registerLabels ( PREFIX + "full", 10000 );
+        final List<JLabel> specific = registerLabels ( PREFIX + "specific", 1000 );
+        final List<JLabel> labels = new ArrayList<JLabel> ( full );
+        labels.addAll ( specific );
+
+        final AtomicInteger updates = new AtomicInteger ( 0 );
+        final CountingUpdater updater = new CountingUpdater ( updates );
+        final CountDownLatch finished = new CountDownLatch ( 1 );
+        final List<int[]> finishes = Collections.synchronizedList ( new ArrayList<int[]> () );
+        final int[] superseded = { -1, -1 };
+        final TranslationProgressListener listener = new TranslationProgressListener ()
+        {
+            @Override
+            public void translationProgress ( final int translated, final int total )
+            {
+                if ( superseded[ 0 ] == -1 && translated > 0 )
+                {
+                    // Starting key-specific update while full update is still running
+                    superseded[ 0 ] = translated;
+                    superseded[ 1 ] = total;
+                    updates.set ( 0 );
+                    UILanguageManager.updateComponents ( Collections.singleton ( PREFIX + "specific" ) );
+                }
+            }
+
+            @Override
+            public void translationFinished ( final int translated, final int total )
+            {
+                finishes.add ( new int[]{ translated, total } );
+                finished.countDown ();
+            }
+        };
+
+        final boolean batched = UILanguageManager.isBatchedUpdates ();
+        final int timeSlice = UILanguageManager.getBatchTimeSlice ();
+        try
+        {
+            CoreSwingUtils.invokeAndWait ( new Runnable ()
+            {
+                @Override
+                public void run ()
+                {
+                    for ( final JLabel label : labels )
+                    {
+                        UILanguageManager.registerLanguageUpdater ( label, updater );
+                        label.setText ( null );
+                    }
+                    UILanguageManager.setBatchedUpdates ( true );
+                    UILanguageManager.setBatchTimeSlice ( 1 );
+                    UILanguageManager.addTranslationProgressListener ( listener );
+                    UILanguageManager.updateComponents ();
+                }
+            } );
+            assertTrue ( "Batched translation must finish", finished.await ( TIMEOUT, TimeUnit.MILLISECONDS ) );
+
+            // Flushing any remaining chunks of superseded batch
+            CoreSwingUtils.invokeAndWait ( new Runnable ()
+            {
+                @Override
+                public void run ()
+                {
+                    // Nothing to do
+                }
+            } );
+        }
+        finally
+        {
+            CoreSwingUtils.invokeAndWait ( new Runnable ()
+            {
+                @Override
+                public void run ()
+                {
+                    UILanguageManager.removeTranslationProgressListener ( listener );
+                    UILanguageManager.setBatchTimeSlice ( timeSlice );
+                    UILanguageManager.setBatchedUpdates ( batched );
+                }
+            } );
+        }
+
+        assertTrue ( "Full update must be superseded while running", superseded[ 0 ] > 0 && superseded[ 0 ] < superseded[ 1 ] );
+        assertEquals ( "Superseded update must not report its finish", 1, finishes.size () );
+        final int translated = finishes.get ( 0 )[ 0 ];
+        final int total = finishes.get ( 0 )[ 1 ];
+        assertEquals ( "All merged components must be translated", total, translated );
+        assertEquals ( "Merged total must match amount of translated components", updates.get (), total );
+        assertTrue ( "Merged total must include remaining components of superseded update",
+                total >= superseded[ 1 ] - superseded[ 0 ] && total <= superseded[ 1 ] - superseded[ 0 ] + specific.size () );
+        for ( final JLabel label : full )
+        {
+            assertEquals ( "Text full", label.getText () );
+        }
+        for ( final JLabel label : specific )
+        {
+            assertEquals ( "Text specific", label.getText () );
+        }
+    }
+
+    /**
+     * Returns specified amount of {@link JLabel}s registered for the specified translation key.
+     *
+     * @param key    translation key
+     * @param amount amount of {@link JLabel}s
+     * @return specified amount of {@link JLabel}s registered for the specified translation key
+     */
+    @NotNull
+    private List<JLabel> registerLabels ( @NotNull final String key, final int amount )
+    {
+        final List<JLabel> labels = new ArrayList<JLabel> ( amount );
+        CoreSwingUtils.invokeAndWait ( new Runnable ()
+        {
+            @Override
+            public void run ()
+            {
+                for ( int i = 0; i < amount; i++ )
+                {
+                    final JLabel label = new JLabel ();
+                    UILanguageManager.registerComponent ( label, key );
+                    labels.add ( label );
+                }
+            }
+        } );
+        return labels;
+    }
+
+    /**
+     * Removes {@link Dictionary} with test translations.
+     */
+    @AfterClass
+    public static void destroy ()
+    {
+        CoreSwingUtils.invokeAndWait ( new Runnable ()
+        {
+            @Override
+            public void run ()
+            {
+                LanguageManager.removeDictionary ( dictionary );
+            }
+        } );
+    }
+
+    /**
+     * {@link LanguageUpdater} counting performed updates.
+     */
+    private static final class CountingUpdater implements LanguageUpdater<JLabel>
+    {
+        /**
+         * Updates counter.
+         */
+        private final AtomicInteger counter;
+
+        /**
+         * Constructs new {@link CountingUpdater}.
+         *
+         * @param counter updates counter
+         */
+        public CountingUpdater ( final AtomicInteger counter )
+        {
+            this.counter = counter;
+        }
+
+        @Override
+        public Class<JLabel> getComponentClass ()
+        {
+            return JLabel.class;
+        }
+
+        @Override
+        public void update ( final JLabel component, final Language language, final String key, final Object... data )
+        {
+            counter.incrementAndGet ();
+            component.setText ( language.get ( key, data ) );
+        }
+    }
+}
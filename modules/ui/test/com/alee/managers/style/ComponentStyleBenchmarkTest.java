@@ -0,0 +1,248 @@
+/*
+ * This file is part of WebLookAndFeel library.
+ *
+ * WebLookAndFeel library is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * WebLookAndFeel library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with WebLookAndFeel library.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.alee.managers.style;
+
+import com.alee.api.annotations.NotNull;
+import com.alee.extended.canvas.WebCanvas;
+import com.alee.extended.image.WebImage;
+import com.alee.laf.WebLookAndFeel;
+import com.alee.laf.label.WebLabel;
+import com.alee.painter.decoration.DecorationState;
+import com.alee.utils.CoreSwingUtils;
+import com.alee.utils.ReflectUtils;
+import org.junit.AfterClass;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.slf4j.LoggerFactory;
+
+import javax.swing.*;
+import java.awt.*;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Benchmark for style properties application on the set of components used in {@link ComponentInstantiationTest}.
+ * Results are only logged since timings depend on the environment, assertions only check that styles were applied correctly.
+ * It is excluded from default test run and is only run with {@code mvn test -Pbenchmarks}.
+ * Image-based {@link WebImage} variants are not used since they require screen device which is not available in headless environment.
+ *
+ * @author Mikle Garin
+ */
+public final class ComponentStyleBenchmarkTest
+{
+    /**
+     * Amount of warm-up rounds.
+     */
+    private static final int WARMUP = 50;
+
+    /**
+     * Amount of measured rounds.
+     */
+    private static final int ROUNDS = 200;
+
+    /**
+     * Style properties applied to components in properties benchmark.
+     * Properties with cheap setters are used so that measured time is mostly spent on setters lookup.
+     */
+    private static final String[] PROPERTIES = { "opaque", "foreground", "background", "name", "autoscrolls", "inheritsPopupMenu" };
+
+    /**
+     * Initializes {@link WebLookAndFeel}.
+     */
+    @BeforeClass
+    public static void initialize ()
+    {
+        CoreSwingUtils.invokeAndWait ( new Runnable ()
+        {
+            @Override
+            public void run ()
+            {
+                WebLookAndFeel.setForceSingleEventsThread ( true );
+                WebLookAndFeel.install ();
+            }
+        } );
+    }
+
+    /**
+     * Benchmarks creation of styled components used in {@link ComponentInstantiationTest}.
+     */
+    @Test
+    public void instantiationBenchmark ()
+    {
+        CoreSwingUtils.invokeAndWait ( new Runnable ()
+        {
+            @Override
+            public void run ()
+            {
+                for ( int i = 0; i < WARMUP; i++ )
+                {
+                    createComponents ();
+                }
+                int components = 0;
+                final long start = System.nanoTime ();
+                for ( int i = 0; i < ROUNDS; i++ )
+                {
+                    components += createComponents ().size ();
+                }
+                final long time = System.nanoTime () - start;
+                LoggerFactory.getLogger ( ComponentStyleBenchmarkTest.class ).info ( String.format (
+                        "Styled component instantiation: %d us per component, %d components per round",
+                        time / components / 1000, components / ROUNDS ) );
+            }
+        } );
+    }
+
+    /**
+     * Benchmarks style properties application through cached setters against direct reflective lookups.
+     * Direct lookups are what styles were applied with before setters were cached.
+     */
+    @Test
+    public void propertiesBenchmark ()
+    {
+        CoreSwingUtils.invokeAndWait ( new Runnable ()
+        {
+            @Override
+            public void run ()
+            {
+                final List<JComponent> components = createComponents ();
+                final Object[] values = { Boolean.TRUE, Color.RED, Color.BLUE, "name", Boolean.TRUE, Boolean.TRUE };
+                for ( int i = 0; i < WARMUP; i++ )
+                {
+                    applyCached ( components, values );
+                    applyDirect ( components, values );
+                }
+
+                // Rounds are interleaved to avoid favouring either approach with JIT or GC state
+                long cached = 0;
+                long direct = 0;
+                for ( int i = 0; i < ROUNDS; i++ )
+                {
+                    final long cachedStart = System.nanoTime ();
+                    applyCached ( components, values );
+                    cached += System.nanoTime () - cachedStart;
+
+                    final long directStart = System.nanoTime ();
+                    applyDirect ( components, values );
+                    direct += System.nanoTime () - directStart;
+                }
+
+                final int applications = ROUNDS * components.size () * PROPERTIES.length;
+                LoggerFactory.getLogger ( ComponentStyleBenchmarkTest.class ).info ( String.format (
+                        "Style property application: cached setters %d ns, direct lookups %d ns per property",
+                        cached / applications, direct / applications ) );
+
+                for ( final JComponent component : components )
+                {
+                    assertEquals ( Color.RED, component.getForeground () );
+                    assertEquals ( Color.BLUE, component.getBackground () );
+                    assertEquals ( "name", component.getName () );
+                }
+            }
+        } );
+    }
+
+    /**
+     * Applies {@link #PROPERTIES} values through cached {@link com.alee.utils.reflection.PropertySetter}s.
+     *
+     * @param components components to apply properties to
+     * @param values     properties values
+     */
+    private void applyCached ( final List<JComponent> components, final Object[] values )
+    {
+        try
+        {
+            for ( final JComponent component : components )
+            {
+                for ( int i = 0; i < PROPERTIES.length; i++ )
+                {
+                    ReflectUtils.getPropertySetter ( component.getClass (), PROPERTIES[ i ], values[ i ].getClass () )
+                            .set ( component, values[ i ] );
+                }
+            }
+        }
+        catch ( final Exception e )
+        {
+            throw new RuntimeException ( e );
+        }
+    }
+
+    /**
+     * Applies {@link #PROPERTIES} values by looking up setter methods on each call.
+     *
+     * @param components components to apply properties to
+     * @param values     properties values
+     */
+    private void applyDirect ( final List<JComponent> components, final Object[] values )
+    {
+        try
+        {
+            for ( final JComponent component : components )
+            {
+                for ( int i = 0; i < PROPERTIES.length; i++ )
+                {
+                    ReflectUtils.callMethod ( component, ReflectUtils.getSetterMethodName ( PROPERTIES[ i ] ), values[ i ] );
+                }
+            }
+        }
+        catch ( final Exception e )
+        {
+            throw new RuntimeException ( e );
+        }
+    }
+
+    /**
+     * Returns newly created components from {@link ComponentInstantiationTest} set.
+     *
+     * @return newly created components from {@link ComponentInstantiationTest} set
+     */
+    @NotNull
+    private List<JComponent> createComponents ()
+    {
+        final Icon icon = WebLookAndFeel.getIcon ( 16 );
+        final List<JComponent> components = new ArrayList<JComponent> ( 16 );
+        components.add ( new WebCanvas () );
+        components.add ( new WebCanvas ( DecorationState.hover ) );
+        components.add ( new WebCanvas ( StyleId.canvasGripperC ) );
+        components.add ( new WebImage () );
+        components.add ( new WebImage ( StyleId.imagePortrait ) );
+        components.add ( new WebLabel () );
+        components.add ( new WebLabel ( icon, WebLabel.CENTER ) );
+        components.add ( new WebLabel ( "English sample text" ) );
+        components.add ( new WebLabel ( StyleId.labelShadow ) );
+        components.add ( new WebLabel ( StyleId.labelShadow, "English sample text", icon, WebLabel.CENTER ) );
+        return components;
+    }
+
+    /**
+     * Destroys {@link WebLookAndFeel}.
+     */
+    @AfterClass
+    public static void destroy ()
+    {
+        CoreSwingUtils.invokeAndWait ( new Runnable ()
+        {
+            @Override
+            public void run ()
+            {
+                WebLookAndFeel.uninstall ();
+            }
+        } );
+    }
+}
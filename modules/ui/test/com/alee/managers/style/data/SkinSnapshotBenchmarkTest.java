@@ -0,0 +1,87 @@
+/*
+ * This file is part of WebLookAndFeel library.
+ *
+ * WebLookAndFeel library is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * WebLookAndFeel library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with WebLookAndFeel library.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.alee.managers.style.data;
+
+import com.alee.laf.WebLookAndFeel;
+import com.alee.skin.dark.WebDarkSkin;
+import com.alee.skin.light.WebLightSkin;
+import com.alee.utils.CoreSwingUtils;
+import org.junit.AfterClass;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+/**
+ * Benchmark for {@link SkinInfo} load times from XML and from {@link SkinSnapshot}.
+ * Results are only logged since timings depend on the environment, see {@link SkinSnapshotCompiler#benchmark}.
+ * It is excluded from default test run and is only run with {@code mvn test -Pbenchmarks}.
+ *
+ * @author Mikle Garin
+ */
+public final class SkinSnapshotBenchmarkTest
+{
+    /**
+     * Initializes {@link WebLookAndFeel}.
+     * Skin XML can only be read with {@link com.alee.managers.style.StyleManager} initialized.
+     */
+    @BeforeClass
+    public static void initialize ()
+    {
+        CoreSwingUtils.invokeAndWait ( new Runnable ()
+        {
+            @Override
+            public void run ()
+            {
+                WebLookAndFeel.setForceSingleEventsThread ( true );
+                WebLookAndFeel.install ();
+            }
+        } );
+    }
+
+    /**
+     * Benchmarks {@link WebLightSkin} and {@link WebDarkSkin} load times.
+     */
+    @Test
+    public void loadBenchmark ()
+    {
+        CoreSwingUtils.invokeAndWait ( new Runnable ()
+        {
+            @Override
+            public void run ()
+            {
+                SkinSnapshotCompiler.benchmark ( new WebLightSkin () );
+                SkinSnapshotCompiler.benchmark ( new WebDarkSkin () );
+            }
+        } );
+    }
+
+    /**
+     * Destroys {@link WebLookAndFeel}.
+     */
+    @AfterClass
+    public static void destroy ()
+    {
+        CoreSwingUtils.invokeAndWait ( new Runnable ()
+        {
+            @Override
+            public void run ()
+            {
+                WebLookAndFeel.uninstall ();
+            }
+        } );
+    }
+}
@@ -0,0 +1,272 @@
+/*
+ * This file is part of WebLookAndFeel library.
+ *
+ * WebLookAndFeel library is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * WebLookAndFeel library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with WebLookAndFeel library.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.alee.managers.style.data;
+
+import com.alee.api.annotations.NotNull;
+import com.alee.api.resource.ClassResource;
+import com.alee.api.resource.FileResource;
+import com.alee.api.resource.Resource;
+import com.alee.laf.WebLookAndFeel;
+import com.alee.laf.label.WebLabel;
+import com.alee.skin.light.WebLightSkin;
+import com.alee.utils.CoreSwingUtils;
+import com.alee.utils.FileUtils;
+import org.junit.After;
+import org.junit.AfterClass;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+/**
+ * Set of JUnit tests for {@link SkinSnapshot}.
+ * Copy of {@link WebLightSkin} XML placed into temporary file is used as skin source so that it can be edited.
+ * Included XML files are still read from {@link WebLightSkin} resources since they are resolved relative to skin class.
+ *
+ * @author Mikle Garin
+ */
+public final class SkinSnapshotTest
+{
+    /**
+     * Temporary skin XML file.
+     */
+    private File file;
+
+    /**
+     * Temporary skin XML {@link Resource}.
+     */
+    private Resource xml;
+
+    /**
+     * Snapshot written for {@link #xml}.
+     */
+    private byte[] snapshot;
+
+    /**
+     * Initializes {@link WebLookAndFeel}.
+     * Skin XML can only be read with {@link com.alee.managers.style.StyleManager} initialized.
+     */
+    @BeforeClass
+    public static void initialize ()
+    {
+        CoreSwingUtils.invokeAndWait ( new Runnable ()
+        {
+            @Override
+            public void run ()
+            {
+                WebLookAndFeel.setForceSingleEventsThread ( true );
+                WebLookAndFeel.install ();
+            }
+        } );
+    }
+
+    /**
+     * Creates temporary skin XML file and writes snapshot for it.
+     *
+     * @throws Exception if temporary file cannot be created
+     */
+    @Before
+    public void createSnapshot () throws Exception
+    {
+        file = File.createTempFile ( "skin", ".xml" );
+        final ClassResource original = new ClassResource ( WebLightSkin.class, "resources/web-light-skin.xml" );
+        FileUtils.writeStringToFile ( FileUtils.readToString ( original ), file );
+        xml = new FileResource ( file );
+        snapshot = write ( xml );
+    }
+
+    /**
+     * Removes temporary skin XML file.
+     */
+    @After
+    public void removeSnapshot ()
+    {
+        FileUtils.deleteFile ( file );
+    }
+
+    /**
+     * Tests that {@link SkinInfo} read from snapshot matches {@link SkinInfo} read from XML.
+     */
+    @Test
+    public void roundTrip ()
+    {
+        CoreSwingUtils.invokeAndWait ( new Runnable ()
+        {
+            @Override
+            public void run ()
+            {
+                final SkinInfo expected = SkinSnapshot.compile ( xml );
+                final SkinInfo actual = SkinSnapshot.read ( resource ( snapshot ), xml );
+                assertNotNull ( "Up-to-date snapshot must be used", actual );
+                assertEquals ( expected.getId (), actual.getId () );
+                assertEquals ( expected.getSkinClass (), actual.getSkinClass () );
+                assertEquals ( expected.getTitle (), actual.getTitle () );
+                assertEquals ( styleIds ( expected.getStyles () ), styleIds ( actual.getStyles () ) );
+
+                final WebLabel label = new WebLabel ();
+                assertEquals ( expected.getStyle ( label ).getCompleteId (), actual.getStyle ( label ).getCompleteId () );
+            }
+        } );
+    }
+
+    /**
+     * Tests that snapshot is not used once skin XML is edited.
+     */
+    @Test
+    public void editedXml ()
+    {
+        CoreSwingUtils.invokeAndWait ( new Runnable ()
+        {
+            @Override
+            public void run ()
+            {
+                final String content = FileUtils.readToString ( xml );
+                FileUtils.writeStringToFile ( content.replace ( "<title>Light skin</title>", "<title>Edited skin</title>" ), file );
+                assertNull ( "Outdated snapshot must not be used", SkinSnapshot.read ( resource ( snapshot ), xml ) );
+                assertEquals ( "Edited skin", SkinSnapshot.compile ( xml ).getTitle () );
+            }
+        } );
+    }
+
+    /**
+     * Tests that snapshot is not used for a different skin XML even if snapshot itself is up-to-date.
+     */
+    @Test
+    public void differentXml ()
+    {
+        CoreSwingUtils.invokeAndWait ( new Runnable ()
+        {
+            @Override
+            public void run ()
+            {
+                final ClassResource other = new ClassResource ( WebLightSkin.class, "resources/web-light-skin.xml" );
+                assertNull ( "Snapshot of a different XML must not be used", SkinSnapshot.read ( resource ( snapshot ), other ) );
+            }
+        } );
+    }
+
+    /**
+     * Tests that broken snapshot is not used.
+     */
+    @Test
+    public void corruptSnapshot ()
+    {
+        CoreSwingUtils.invokeAndWait ( new Runnable ()
+        {
+            @Override
+            public void run ()
+            {
+                final byte[] corrupt = snapshot.clone ();
+                for ( int i = corrupt.length / 2; i < corrupt.length / 2 + 64; i++ )
+                {
+                    corrupt[ i ] = ( byte ) 0xFF;
+                }
+                assertNull ( "Corrupt snapshot must not be used", SkinSnapshot.read ( resource ( corrupt ), xml ) );
+
+                final byte[] truncated = new byte[ snapshot.length / 2 ];
+                System.arraycopy ( snapshot, 0, truncated, 0, truncated.length );
+                assertNull ( "Truncated snapshot must not be used", SkinSnapshot.read ( resource ( truncated ), xml ) );
+
+                assertNull ( "Empty snapshot must not be used", SkinSnapshot.read ( resource ( new byte[ 0 ] ), xml ) );
+            }
+        } );
+    }
+
+    /**
+     * Returns snapshot written for the specified skin XML {@link Resource}.
+     *
+     * @param xml skin XML {@link Resource}
+     * @return snapshot written for the specified skin XML {@link Resource}
+     */
+    @NotNull
+    private static byte[] write ( @NotNull final Resource xml )
+    {
+        final ByteArrayOutputStream output = new ByteArrayOutputStream ();
+        CoreSwingUtils.invokeAndWait ( new Runnable ()
+        {
+            @Override
+            public void run ()
+            {
+                SkinSnapshot.write ( SkinSnapshot.compile ( xml ), xml, output );
+            }
+        } );
+        return output.toByteArray ();
+    }
+
+    /**
+     * Returns {@link Resource} providing specified bytes.
+     *
+     * @param bytes {@link Resource} bytes
+     * @return {@link Resource} providing specified bytes
+     */
+    @NotNull
+    private static Resource resource ( @NotNull final byte[] bytes )
+    {
+        return new Resource ()
+        {
+            @NotNull
+            @Override
+            public InputStream getInputStream ()
+            {
+                return new ByteArrayInputStream ( bytes );
+            }
+        };
+    }
+
+    /**
+     * Returns complete identifiers of the specified {@link ComponentStyle}s and all their nested {@link ComponentStyle}s.
+     *
+     * @param styles {@link ComponentStyle}s
+     * @return complete identifiers of the specified {@link ComponentStyle}s and all their nested {@link ComponentStyle}s
+     */
+    @NotNull
+    private static List<String> styleIds ( @NotNull final List<ComponentStyle> styles )
+    {
+        final List<String> ids = new ArrayList<String> ();
+        for ( final ComponentStyle style : styles )
+        {
+            ids.add ( style.getType () + ":" + style.getCompleteId () );
+            ids.addAll ( styleIds ( style.getNestedStyles () ) );
+        }
+        return ids;
+    }
+
+    /**
+     * Destroys {@link WebLookAndFeel}.
+     */
+    @AfterClass
+    public static void destroy ()
+    {
+        CoreSwingUtils.invokeAndWait ( new Runnable ()
+        {
+            @Override
+            public void run ()
+            {
+                WebLookAndFeel.uninstall ();
+            }
+        } );
+    }
+}
@@ -0,0 +1,226 @@
+/*
+ * This file is part of WebLookAndFeel library.
+ *
+ * WebLookAndFeel library is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * WebLookAndFeel library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with WebLookAndFeel library.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.alee.painter.decoration;
+
+import com.alee.api.annotations.NotNull;
+import com.alee.laf.WebLookAndFeel;
+import com.alee.laf.information.AboutLibraryExtension;
+import com.alee.laf.panel.PanelPainter;
+import com.alee.laf.panel.WPanelUI;
+import com.alee.laf.panel.WebPanel;
+import com.alee.managers.style.StyleId;
+import com.alee.managers.style.StyleManager;
+import com.alee.painter.PainterSupport;
+import com.alee.utils.CoreSwingUtils;
+import com.alee.utils.ReflectUtils;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import javax.swing.*;
+import java.util.Arrays;
+
+import static org.junit.Assert.*;
+
+/**
+ * Set of JUnit tests for {@link DecorationCache}.
+ *
+ * @author Mikle Garin
+ */
+public final class DecorationCacheTest
+{
+    /**
+     * Initializes {@link WebLookAndFeel}.
+     */
+    @BeforeClass
+    public static void initialize ()
+    {
+        CoreSwingUtils.invokeAndWait ( new Runnable ()
+        {
+            @Override
+            public void run ()
+            {
+                WebLookAndFeel.setForceSingleEventsThread ( true );
+                WebLookAndFeel.install ();
+            }
+        } );
+    }
+
+    /**
+     * Tests that decorations built for one component are reused for another component with the same {@link Decorations}.
+     * Decorated panel style is used since default panel style has no decorations.
+     */
+    @Test
+    public void sharedBetweenComponents ()
+    {
+        CoreSwingUtils.invokeAndWait ( new Runnable ()
+        {
+            @Override
+            public void run ()
+            {
+                reset ();
+                final PanelPainter<?, ?, ?> first = getPainter ( new WebPanel ( StyleId.panelDecorated ) );
+                assertNotNull ( "Panel must be decorated", first.getDecoration () );
+                assertTrue ( "Decoration must be built for the first panel", DecorationCache.getMisses () > 0 );
+                assertTrue ( "Built decoration must be cached", DecorationCache.getSize () > 0 );
+                final long misses = DecorationCache.getMisses ();
+                final int size = DecorationCache.getSize ();
+
+                final PanelPainter<?, ?, ?> second = getPainter ( new WebPanel ( StyleId.panelDecorated ) );
+                assertSame ( "Panels must use the same decorations", first.decorations, second.decorations );
+                assertNotNull ( "Panel must be decorated", second.getDecoration () );
+                assertEquals ( "Decoration must not be built again for the second panel", misses, DecorationCache.getMisses () );
+                assertTrue ( "Cached decoration must be used for the second panel", DecorationCache.getHits () > 0 );
+                assertEquals ( size, DecorationCache.getSize () );
+
+                assertNotSame ( "Each painter must use its own decoration copy", first.getDecoration (), second.getDecoration () );
+                assertSame ( "Decoration copies must share prototype",
+                        first.getDecoration ().getPrototype (), second.getDecoration ().getPrototype () );
+            }
+        } );
+    }
+
+    /**
+     * Tests that cache is cleared upon skin change.
+     */
+    @Test
+    public void clearedOnSkinChange ()
+    {
+        CoreSwingUtils.invokeAndWait ( new Runnable ()
+        {
+            @Override
+            public void run ()
+            {
+                reset ();
+                final PanelPainter<?, ?, ?> painter = getPainter ( new WebPanel ( StyleId.panelDecorated ) );
+                final Decorations<?, ?> decorations = painter.decorations;
+                final String key = getKey ( painter );
+
+                StyleManager.setSkin ( StyleManager.getDefaultSkin () );
+                assertNull ( "Cache must be cleared upon skin change", DecorationCache.getDecoration ( decorations, key, false ) );
+            }
+        } );
+    }
+
+    /**
+     * Tests that cache is cleared upon skin extension installation.
+     */
+    @Test
+    public void clearedOnExtension ()
+    {
+        CoreSwingUtils.invokeAndWait ( new Runnable ()
+        {
+            @Override
+            public void run ()
+            {
+                reset ();
+                final PanelPainter<?, ?, ?> painter = getPainter ( new WebPanel ( StyleId.panelDecorated ) );
+                final Decorations<?, ?> decorations = painter.decorations;
+                final String key = getKey ( painter );
+
+                StyleManager.addExtensions ( new AboutLibraryExtension () );
+                assertEquals ( "Cache must be cleared upon extension installation", 0, DecorationCache.getSize () );
+                assertNull ( "Cache must be cleared upon extension installation",
+                        DecorationCache.getDecoration ( decorations, key, false ) );
+
+                final long misses = DecorationCache.getMisses ();
+                assertNotNull ( getPainter ( new WebPanel ( StyleId.panelDecorated ) ).getDecoration () );
+                assertTrue ( "Decoration must be built anew", DecorationCache.getMisses () > misses );
+                assertTrue ( "Built decoration must be cached", DecorationCache.getSize () > 0 );
+            }
+        } );
+    }
+
+    /**
+     * Tests that cache is not used when no decorations are applicable to component states.
+     */
+    @Test
+    public void noApplicableDecorations ()
+    {
+        CoreSwingUtils.invokeAndWait ( new Runnable ()
+        {
+            @Override
+            public void run ()
+            {
+                final TestDecoration decoration = new TestDecoration ();
+                ReflectUtils.setFieldValueSafely ( decoration, "states", Arrays.asList ( DecorationState.pressed ) );
+                final Decorations<JPanel, TestDecoration> decorations = new Decorations<JPanel, TestDecoration> ();
+                ReflectUtils.setFieldValueSafely ( decorations, "decorations", Arrays.asList ( decoration ) );
+
+                final WebPanel panel = new WebPanel ();
+                final PanelPainter<JPanel, WPanelUI<JPanel>, TestDecoration> painter =
+                        new PanelPainter<JPanel, WPanelUI<JPanel>, TestDecoration> ();
+                painter.decorations = decorations;
+                reset ();
+                panel.setCustomPainter ( painter );
+                assertSame ( "Custom decorations must be used", decorations, painter.decorations );
+                assertNull ( "No decoration must be applicable", painter.getDecoration () );
+                assertEquals ( "Cache must not be looked up", 0, DecorationCache.getMisses () );
+                assertEquals ( "Cache must not be looked up", 0, DecorationCache.getHits () );
+                assertEquals ( "Nothing must be cached", 0, DecorationCache.getSize () );
+            }
+        } );
+    }
+
+    /**
+     * Clears cache and resets its statistics.
+     */
+    private static void reset ()
+    {
+        DecorationCache.clear ();
+        DecorationCache.resetStatistics ();
+    }
+
+    /**
+     * Returns key of the decorations combination cached for the specified {@link PanelPainter}.
+     *
+     * @param painter {@link PanelPainter}
+     * @return key of the decorations combination cached for the specified {@link PanelPainter}
+     */
+    @NotNull
+    private static String getKey ( @NotNull final PanelPainter<?, ?, ?> painter )
+    {
+        assertNotNull ( "Panel must be decorated", painter.getDecoration () );
+        assertEquals ( "Panel must use single decorations combination", 1, painter.decorationCache.size () );
+        final String key = painter.decorationCache.keySet ().iterator ().next ();
+        assertNotNull ( "Decoration must be cached", DecorationCache.getDecoration ( painter.decorations, key, false ) );
+        return key;
+    }
+
+    /**
+     * Returns {@link PanelPainter} used by the specified {@link WebPanel}.
+     *
+     * @param panel {@link WebPanel}
+     * @return {@link PanelPainter} used by the specified {@link WebPanel}
+     */
+    @NotNull
+    private static PanelPainter<?, ?, ?> getPainter ( @NotNull final JComponent panel )
+    {
+        return ( PanelPainter<?, ?, ?> ) PainterSupport.getPainter ( panel );
+    }
+
+    /**
+     * {@link WebDecoration} used for tests.
+     */
+    private static final class TestDecoration extends WebDecoration<JPanel, TestDecoration>
+    {
+        /**
+         * Serialization version.
+         */
+        private static final long serialVersionUID = 1L;
+    }
+}
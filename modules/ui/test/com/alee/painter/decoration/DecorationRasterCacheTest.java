@@ -0,0 +1,439 @@
+/*
+ * This file is part of WebLookAndFeel library.
+ *
+ * WebLookAndFeel library is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * WebLookAndFeel library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with WebLookAndFeel library.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.alee.painter.decoration;
+
+import com.alee.api.annotations.NotNull;
+import com.alee.managers.style.Bounds;
+import com.alee.painter.decoration.background.ColorBackground;
+import com.alee.painter.decoration.border.LineBorder;
+import com.alee.painter.decoration.shadow.WebShadow;
+import com.alee.painter.decoration.shape.Round;
+import com.alee.painter.decoration.shape.WebShape;
+import com.alee.utils.CoreSwingUtils;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import javax.swing.*;
+import java.awt.*;
+import java.awt.image.BufferedImage;
+
+import static org.junit.Assert.*;
+import static org.junit.Assume.assumeFalse;
+
+/**
+ * Set of JUnit tests for {@link DecorationRasterCache}.
+ * Decorations painted from cached rasters are compared with decorations painted directly to ensure they look the same.
+ * Components are created and painted on the Event Dispatch Thread as {@link com.alee.laf.WebLookAndFeel} might be installed already.
+ *
+ * @author Mikle Garin
+ */
+public final class DecorationRasterCacheTest
+{
+    /**
+     * Maximum allowed difference of a single pixel color component.
+     * Small difference is expected because decoration is blended into translucent image before being painted.
+     */
+    private static final int TOLERANCE = 2;
+
+    /**
+     * Background color decorations are painted on.
+     */
+    private static final Color BACKGROUND = new Color ( 240, 240, 240 );
+
+    /**
+     * Default rasterized painting setting before tests.
+     */
+    private boolean enabled;
+
+    /**
+     * Resets cache state.
+     */
+    @Before
+    public void reset ()
+    {
+        enabled = DecorationRasterCache.isEnabled ();
+        DecorationRasterCache.clear ();
+        DecorationRasterCache.resetStatistics ();
+    }
+
+    /**
+     * Restores cache state.
+     */
+    @After
+    public void restore ()
+    {
+        DecorationRasterCache.setEnabled ( enabled );
+        DecorationRasterCache.clear ();
+        DecorationRasterCache.resetStatistics ();
+    }
+
+    /**
+     * Rasterized decoration visual equivalence test.
+     */
+    @Test
+    public void visualEquivalence ()
+    {
+        CoreSwingUtils.invokeAndWait ( new Runnable ()
+        {
+            @Override
+            public void run ()
+            {
+                final Dimension[] sizes = { new Dimension ( 40, 26 ), new Dimension ( 160, 30 ), new Dimension ( 90, 120 ) };
+                for ( final double scale : new double[]{ 1.0, 2.0 } )
+                {
+                    for ( final Dimension size : sizes )
+                    {
+                        for ( final float opacity : new float[]{ 1f, 0.5f } )
+                        {
+                            final TestDecoration decoration = new TestDecoration ( new Round ( 4, 4, 4, 4 ), true, false );
+                            decoration.opacity = opacity;
+                            final BufferedImage direct = paint ( decoration, size, scale, false );
+                            final long misses = DecorationRasterCache.getMisses ();
+                            final BufferedImage cached = paint ( decoration, size, scale, true );
+                            assertEquals ( "Decoration must be painted from raster", misses + 1, DecorationRasterCache.getMisses () );
+                            assertEquivalent ( direct, cached, "scale " + scale + ", size " + size.width + "x" + size.height +
+                                    ", opacity " + opacity );
+                        }
+                    }
+                }
+            }
+        } );
+    }
+
+    /**
+     * Rasterized decoration with outer shadow visual equivalence test.
+     * Shadow images are created using screen-compatible images, so this test requires graphics environment.
+     */
+    @Test
+    public void shadowEquivalence ()
+    {
+        assumeFalse ( GraphicsEnvironment.isHeadless () );
+        CoreSwingUtils.invokeAndWait ( new Runnable ()
+        {
+            @Override
+            public void run ()
+            {
+                for ( final double scale : new double[]{ 1.0, 2.0 } )
+                {
+                    final TestDecoration decoration = new TestDecoration ( new Round ( 4, 4, 4, 4 ), true, true );
+                    final BufferedImage direct = paint ( decoration, new Dimension ( 120, 40 ), scale, false );
+                    final BufferedImage cached = paint ( decoration, new Dimension ( 120, 40 ), scale, true );
+                    assertEquivalent ( direct, cached, "shadow, scale " + scale );
+                }
+                assertEquals ( "Decoration must be painted from raster", 2, DecorationRasterCache.getMisses () );
+            }
+        } );
+    }
+
+    /**
+     * Decoration with shape that cannot be rasterized fallback test.
+     */
+    @Test
+    public void nonRasterizableShape ()
+    {
+        CoreSwingUtils.invokeAndWait ( new Runnable ()
+        {
+            @Override
+            public void run ()
+            {
+                final TestDecoration decoration = new TestDecoration ( new Round ( 4, 4, 4, 4 ), false, false );
+                final BufferedImage direct = paint ( decoration, new Dimension ( 100, 30 ), 1.0, false );
+                final BufferedImage cached = paint ( decoration, new Dimension ( 100, 30 ), 1.0, true );
+                assertEquals ( "Decoration must not be looked up", 0, DecorationRasterCache.getMisses () );
+                assertEquals ( "Decoration must not be cached", 0, DecorationRasterCache.getSize () );
+                assertEquivalent ( direct, cached, "non-rasterizable shape" );
+            }
+        } );
+    }
+
+    /**
+     * Decoration larger than {@link DecorationRasterCache#MAX_PIXELS} fallback test.
+     */
+    @Test
+    public void oversizedRaster ()
+    {
+        CoreSwingUtils.invokeAndWait ( new Runnable ()
+        {
+            @Override
+            public void run ()
+            {
+                // Fixed decoration parts alone are larger than maximum raster size
+                final TestDecoration decoration = new TestDecoration ( new Round ( 140, 140, 140, 140 ), true, false );
+                final Dimension size = new Dimension ( 400, 400 );
+                final BufferedImage image = new BufferedImage ( size.width, size.height, BufferedImage.TYPE_INT_RGB );
+                final Graphics2D g2d = image.createGraphics ();
+                assertFalse ( "Oversized decoration must be painted directly",
+                        DecorationRasterCache.paint ( g2d, new JPanel (), decoration, new Bounds ( size ) ) );
+                g2d.dispose ();
+                assertEquals ( "Oversized decoration must not be looked up", 0, DecorationRasterCache.getMisses () );
+                assertEquals ( "Oversized decoration must not be cached", 0, DecorationRasterCache.getSize () );
+
+                final BufferedImage direct = paint ( decoration, size, 1.0, false );
+                final BufferedImage cached = paint ( decoration, size, 1.0, true );
+                assertEquivalent ( direct, cached, "oversized raster" );
+            }
+        } );
+    }
+
+    /**
+     * Cached raster reuse test.
+     */
+    @Test
+    public void reuse ()
+    {
+        CoreSwingUtils.invokeAndWait ( new Runnable ()
+        {
+            @Override
+            public void run ()
+            {
+                final TestDecoration decoration = new TestDecoration ( new Round ( 4, 4, 4, 4 ), true, false );
+                paint ( decoration, new Dimension ( 100, 30 ), 1.0, true );
+                assertEquals ( "Raster must be rendered once", 1, DecorationRasterCache.getMisses () );
+                assertEquals ( 0, DecorationRasterCache.getHits () );
+
+                paint ( decoration, new Dimension ( 100, 30 ), 1.0, true );
+                paint ( decoration, new Dimension ( 300, 80 ), 1.0, true );
+                assertEquals ( "Raster must be reused for any stretched size", 2, DecorationRasterCache.getHits () );
+                assertEquals ( 1, DecorationRasterCache.getMisses () );
+                assertEquals ( 1, DecorationRasterCache.getSize () );
+
+                paint ( decoration, new Dimension ( 100, 30 ), 2.0, true );
+                assertEquals ( "Raster must be rendered for each scale", 2, DecorationRasterCache.getMisses () );
+                paint ( new TestDecoration ( new Round ( 4, 4, 4, 4 ), true, false ), new Dimension ( 100, 30 ), 1.0, true );
+                assertEquals ( "Raster must be rendered for each decoration", 3, DecorationRasterCache.getMisses () );
+                paint ( new TestDecoration ( new Round ( 6, 6, 6, 6 ), true, false ), new Dimension ( 100, 30 ), 1.0, true );
+                assertEquals ( "Raster must be rendered for each shape settings", 4, DecorationRasterCache.getMisses () );
+                assertEquals ( 4, DecorationRasterCache.getSize () );
+                assertEquals ( 2, DecorationRasterCache.getHits () );
+
+                DecorationRasterCache.clear ();
+                assertEquals ( 0, DecorationRasterCache.getSize () );
+            }
+        } );
+    }
+
+    /**
+     * Default rasterized painting setting test.
+     */
+    @Test
+    public void enabledSetting ()
+    {
+        CoreSwingUtils.invokeAndWait ( new Runnable ()
+        {
+            @Override
+            public void run ()
+            {
+                final TestDecoration decoration = new TestDecoration ( new Round ( 4, 4, 4, 4 ), true, false );
+
+                DecorationRasterCache.setEnabled ( false );
+                paint ( decoration, new Dimension ( 100, 30 ), 1.0, null );
+                assertEquals ( "Disabled cache must not be used", 0, DecorationRasterCache.getMisses () );
+                assertEquals ( 0, DecorationRasterCache.getSize () );
+
+                DecorationRasterCache.setEnabled ( true );
+                paint ( decoration, new Dimension ( 100, 30 ), 1.0, null );
+                assertEquals ( "Enabled cache must be used", 1, DecorationRasterCache.getMisses () );
+
+                paint ( decoration, new Dimension ( 100, 30 ), 1.0, false );
+                assertEquals ( "Decoration setting must override enabled cache", 1, DecorationRasterCache.getMisses () );
+
+                DecorationRasterCache.setEnabled ( false );
+                paint ( decoration, new Dimension ( 100, 30 ), 1.0, true );
+                assertEquals ( "Decoration setting must override disabled cache", 1, DecorationRasterCache.getHits () );
+            }
+        } );
+    }
+
+    /**
+     * Returns image with decoration painted on it.
+     *
+     * @param decoration {@link TestDecoration}
+     * @param size       decoration size
+     * @param scale      graphics scale
+     * @param raster     whether or not decoration should be painted from cached raster, {@code null} to use default setting
+     * @return image with decoration painted on it
+     */
+    @NotNull
+    private BufferedImage paint ( @NotNull final TestDecoration decoration, @NotNull final Dimension size, final double scale,
+                                  final Boolean raster )
+    {
+        final BufferedImage image = new BufferedImage ( ( int ) ( size.width * scale ), ( int ) ( size.height * scale ),
+                BufferedImage.TYPE_INT_RGB );
+        final Graphics2D g2d = image.createGraphics ();
+        g2d.setPaint ( BACKGROUND );
+        g2d.fillRect ( 0, 0, image.getWidth (), image.getHeight () );
+        g2d.scale ( scale, scale );
+        g2d.setClip ( 0, 0, size.width, size.height );
+        final JPanel component = new JPanel ();
+        component.setSize ( size );
+        decoration.raster = raster;
+        decoration.paint ( g2d, component, new Bounds ( size ) );
+        g2d.dispose ();
+        return image;
+    }
+
+    /**
+     * Asserts that specified images are visually equivalent.
+     *
+     * @param expected expected image
+     * @param actual   actual image
+     * @param details  comparison details
+     */
+    private void assertEquivalent ( @NotNull final BufferedImage expected, @NotNull final BufferedImage actual,
+                                    @NotNull final String details )
+    {
+        for ( int x = 0; x < expected.getWidth (); x++ )
+        {
+            for ( int y = 0; y < expected.getHeight (); y++ )
+            {
+                final int e = expected.getRGB ( x, y );
+                final int a = actual.getRGB ( x, y );
+                for ( int shift = 0; shift <= 16; shift += 8 )
+                {
+                    if ( Math.abs ( ( e >> shift & 0xFF ) - ( a >> shift & 0xFF ) ) > TOLERANCE )
+                    {
+                        fail ( String.format ( "Decoration differs at %d,%d: %06X != %06X (%s)", x, y, e & 0xFFFFFF, a & 0xFFFFFF,
+                                details ) );
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * {@link WebDecoration} with shadow, border and background used for tests.
+     */
+    private static final class TestDecoration extends WebDecoration<JPanel, TestDecoration>
+    {
+        /**
+         * Serialization version.
+         */
+        private static final long serialVersionUID = 1L;
+
+        /**
+         * Constructs new {@link TestDecoration}.
+         *
+         * @param round        shape corners rounding
+         * @param rasterizable whether or not shape can be rasterized
+         * @param shadow       whether or not decoration has outer shadow
+         */
+        public TestDecoration ( @NotNull final Round round, final boolean rasterizable, final boolean shadow )
+        {
+            shapes.add ( new TestShape ( round, rasterizable ) );
+            if ( shadow )
+            {
+                shadows.add ( new TestShadow () );
+            }
+            borders.add ( new TestBorder () );
+            backgrounds.add ( new TestBackground () );
+        }
+    }
+
+    /**
+     * {@link WebShape} used for tests.
+     */
+    private static final class TestShape extends WebShape<JPanel, TestDecoration, TestShape>
+    {
+        /**
+         * Serialization version.
+         */
+        private static final long serialVersionUID = 1L;
+
+        /**
+         * Whether or not shape can be rasterized.
+         */
+        private final boolean rasterizable;
+
+        /**
+         * Constructs new {@link TestShape}.
+         *
+         * @param round        corners rounding
+         * @param rasterizable whether or not shape can be rasterized
+         */
+        public TestShape ( @NotNull final Round round, final boolean rasterizable )
+        {
+            this.round = round;
+            this.rasterizable = rasterizable;
+        }
+
+        @Override
+        public boolean isRasterizable ( @NotNull final JPanel c, @NotNull final TestDecoration d )
+        {
+            return rasterizable;
+        }
+    }
+
+    /**
+     * {@link WebShadow} used for tests.
+     */
+    private static final class TestShadow extends WebShadow<JPanel, TestDecoration, TestShadow>
+    {
+        /**
+         * Serialization version.
+         */
+        private static final long serialVersionUID = 1L;
+
+        /**
+         * Constructs new {@link TestShadow}.
+         */
+        public TestShadow ()
+        {
+            this.width = 3;
+            this.color = Color.BLACK;
+        }
+    }
+
+    /**
+     * {@link LineBorder} used for tests.
+     */
+    private static final class TestBorder extends LineBorder<JPanel, TestDecoration, TestBorder>
+    {
+        /**
+         * Serialization version.
+         */
+        private static final long serialVersionUID = 1L;
+
+        /**
+         * Constructs new {@link TestBorder}.
+         */
+        public TestBorder ()
+        {
+            this.color = new Color ( 170, 170, 170 );
+        }
+    }
+
+    /**
+     * {@link ColorBackground} used for tests.
+     */
+    private static final class TestBackground extends ColorBackground<JPanel, TestDecoration, TestBackground>
+    {
+        /**
+         * Serialization version.
+         */
+        private static final long serialVersionUID = 1L;
+
+        /**
+         * Constructs new {@link TestBackground}.
+         */
+        public TestBackground ()
+        {
+            this.color = Color.WHITE;
+        }
+    }
+}
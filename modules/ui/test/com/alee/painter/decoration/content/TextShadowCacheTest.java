@@ -0,0 +1,149 @@
+/*
+ * This file is part of WebLookAndFeel library.
+ *
+ * WebLookAndFeel library is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * WebLookAndFeel library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with WebLookAndFeel library.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.alee.painter.decoration.content;
+
+import org.junit.Test;
+
+import java.awt.*;
+import java.awt.image.BufferedImage;
+
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * Set of JUnit tests for {@link TextShadowCache}.
+ * Cached shadows are compared with shadows painted directly to ensure they look the same.
+ *
+ * @author Mikle Garin
+ */
+public final class TextShadowCacheTest
+{
+    /**
+     * Maximum allowed difference of a single pixel color component.
+     * Small difference is expected because shadow passes are accumulated in 8-bit translucent image before being blended.
+     */
+    private static final int TOLERANCE = 6;
+
+    /**
+     * Cached shadow visual equivalence test.
+     */
+    @Test
+    public void visualEquivalence ()
+    {
+        final Font font = new Font ( Font.DIALOG, Font.PLAIN, 13 );
+        final Color background = new Color ( 240, 240, 240 );
+        for ( final Object antialiasing : new Object[]{
+                RenderingHints.VALUE_TEXT_ANTIALIAS_OFF,
+                RenderingHints.VALUE_TEXT_ANTIALIAS_ON
+        } )
+        {
+            for ( final double scale : new double[]{ 1.0, 2.0 } )
+            {
+                for ( final int size : new int[]{ 1, 2, 3 } )
+                {
+                    for ( final float alpha : new float[]{ 1f, 0.5f } )
+                    {
+                        final BufferedImage direct = paint ( font, background, antialiasing, scale, size, alpha, false );
+                        final BufferedImage cached = paint ( font, background, antialiasing, scale, size, alpha, true );
+                        assertEquivalent ( direct, cached, antialiasing + ", scale " + scale + ", size " + size + ", alpha " + alpha );
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Cached shadow reuse test.
+     */
+    @Test
+    public void reuse ()
+    {
+        final Font font = new Font ( Font.DIALOG, Font.PLAIN, 13 );
+        final Color background = new Color ( 240, 240, 240 );
+        TextShadowCache.clear ();
+        TextShadowCache.resetStatistics ();
+        for ( int i = 0; i < 3; i++ )
+        {
+            paint ( font, background, RenderingHints.VALUE_TEXT_ANTIALIAS_ON, 1.0, 2, 1f, true );
+        }
+        assertTrue ( "Shadow must be rendered once", TextShadowCache.getMisses () == 1 );
+        assertTrue ( "Shadow must be reused", TextShadowCache.getHits () == 2 );
+        assertTrue ( "Shadow must be cached", TextShadowCache.getSize () == 1 );
+    }
+
+    /**
+     * Returns image with text shadow painted on it.
+     *
+     * @param font         text font
+     * @param background   background color
+     * @param antialiasing text antialiasing hint
+     * @param scale        graphics scale
+     * @param size         shadow size
+     * @param alpha        graphics composite opacity
+     * @param cached       whether or not shadow should be painted through {@link TextShadowCache}
+     * @return image with text shadow painted on it
+     */
+    private BufferedImage paint ( final Font font, final Color background, final Object antialiasing, final double scale,
+                                  final int size, final float alpha, final boolean cached )
+    {
+        final BufferedImage image = new BufferedImage ( ( int ) ( 160 * scale ), ( int ) ( 40 * scale ), BufferedImage.TYPE_INT_RGB );
+        final Graphics2D g2d = image.createGraphics ();
+        g2d.setPaint ( background );
+        g2d.fillRect ( 0, 0, image.getWidth (), image.getHeight () );
+        g2d.scale ( scale, scale );
+        g2d.setFont ( font );
+        g2d.setRenderingHint ( RenderingHints.KEY_TEXT_ANTIALIASING, antialiasing );
+        g2d.setComposite ( AlphaComposite.getInstance ( AlphaComposite.SRC_OVER, alpha ) );
+        if ( cached )
+        {
+            TextShadowCache.paintShadow ( g2d, "Shadow text Qgj", 10, 25, Color.BLACK, size, 0.8f );
+        }
+        else
+        {
+            TextShadowCache.paintShadowDirectly ( g2d, "Shadow text Qgj", 10, 25, Color.BLACK, size, 0.8f );
+        }
+        g2d.dispose ();
+        return image;
+    }
+
+    /**
+     * Asserts that specified images are visually equivalent.
+     *
+     * @param expected expected image
+     * @param actual   actual image
+     * @param details  comparison details
+     */
+    private void assertEquivalent ( final BufferedImage expected, final BufferedImage actual, final String details )
+    {
+        for ( int x = 0; x < expected.getWidth (); x++ )
+        {
+            for ( int y = 0; y < expected.getHeight (); y++ )
+            {
+                final int e = expected.getRGB ( x, y );
+                final int a = actual.getRGB ( x, y );
+                for ( int shift = 0; shift <= 16; shift += 8 )
+                {
+                    if ( Math.abs ( ( e >> shift & 0xFF ) - ( a >> shift & 0xFF ) ) > TOLERANCE )
+                    {
+                        fail ( String.format ( "Shadow differs at %d,%d: %06X != %06X (%s)", x, y, e & 0xFFFFFF, a & 0xFFFFFF, details ) );
+                    }
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,174 @@
+/*
+ * This file is part of WebLookAndFeel library.
+ *
+ * WebLookAndFeel library is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * WebLookAndFeel library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with WebLookAndFeel library.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.alee.painter.decoration.shape;
+
+import com.alee.painter.decoration.WebDecoration;
+import org.junit.Test;
+
+import javax.swing.*;
+import java.awt.*;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+
+import static org.junit.Assert.*;
+import static org.junit.Assume.assumeTrue;
+
+/**
+ * Set of JUnit tests for {@link WebShape} caching.
+ *
+ * @author Mikle Garin
+ */
+public final class WebShapeTest
+{
+    /**
+     * Amount of measured shape lookup iterations, each iteration performs two lookups.
+     */
+    private static final int ITERATIONS = 100000;
+
+    /**
+     * Maximum amount of bytes allowed to be allocated over all measured lookups.
+     * It doesn't depend on amount of lookups, so even a single object allocated on every cache hit exceeds it.
+     */
+    private static final long MAX_ALLOCATED = 1024;
+
+    /**
+     * Cached shape lookup allocation test.
+     * Garbage produced on each shape lookup directly affects component shape detection which might happen on every mouse move.
+     * A few bytes might still be allocated by the JVM itself during measurement, for instance upon deoptimization, so total
+     * allocation is checked against a small constant for two amounts of lookups that differ tenfold instead of exact zero.
+     */
+    @Test
+    public void allocationFreeLookup ()
+    {
+        final ThreadMXBean bean = ManagementFactory.getThreadMXBean ();
+        assumeTrue ( bean instanceof com.sun.management.ThreadMXBean );
+        final com.sun.management.ThreadMXBean allocations = ( com.sun.management.ThreadMXBean ) bean;
+        assumeTrue ( allocations.isThreadAllocatedMemorySupported () && allocations.isThreadAllocatedMemoryEnabled () );
+
+        final TestShape shape = new TestShape ();
+        final TestDecoration decoration = new TestDecoration ( shape );
+        final JPanel component = new JPanel ();
+        final Rectangle bounds = new Rectangle ( 0, 0, 120, 26 );
+        final long thread = Thread.currentThread ().getId ();
+
+        // Warming up shape cache and measurement itself
+        lookup ( shape, decoration, component, bounds, ITERATIONS );
+        measure ( allocations, thread, shape, decoration, component, bounds, 0 );
+
+        // Measurement overhead is excluded by measuring an empty run
+        final long overhead = measure ( allocations, thread, shape, decoration, component, bounds, 0 );
+        for ( final int iterations : new int[]{ ITERATIONS / 10, ITERATIONS } )
+        {
+            final long allocated = measure ( allocations, thread, shape, decoration, component, bounds, iterations ) - overhead;
+            assertTrue ( "Cached shape lookup must not allocate anything, allocated " + allocated + " bytes over " +
+                    iterations * 2 + " lookups", allocated <= MAX_ALLOCATED );
+        }
+    }
+
+    /**
+     * Returns amount of bytes allocated by current thread while performing specified amount of shape lookups.
+     *
+     * @param allocations {@link com.sun.management.ThreadMXBean}
+     * @param thread      current thread ID
+     * @param shape       {@link TestShape}
+     * @param decoration  {@link TestDecoration}
+     * @param component   {@link JPanel}
+     * @param bounds      shape bounds
+     * @param iterations  amount of lookups
+     * @return amount of bytes allocated by current thread while performing specified amount of shape lookups
+     */
+    private long measure ( final com.sun.management.ThreadMXBean allocations, final long thread, final TestShape shape,
+                           final TestDecoration decoration, final JPanel component, final Rectangle bounds, final int iterations )
+    {
+        final long start = allocations.getThreadAllocatedBytes ( thread );
+        lookup ( shape, decoration, component, bounds, iterations );
+        return allocations.getThreadAllocatedBytes ( thread ) - start;
+    }
+
+    /**
+     * Performs specified amount of background and border shape lookups.
+     *
+     * @param shape      {@link TestShape}
+     * @param decoration {@link TestDecoration}
+     * @param component  {@link JPanel}
+     * @param bounds     shape bounds
+     * @param iterations amount of lookups
+     */
+    private void lookup ( final TestShape shape, final TestDecoration decoration, final JPanel component, final Rectangle bounds,
+                          final int iterations )
+    {
+        for ( int i = 0; i < iterations; i++ )
+        {
+            shape.getShape ( ShapeType.background, bounds, component, decoration );
+            shape.getShape ( ShapeType.border, bounds, component, decoration );
+        }
+    }
+
+    /**
+     * Shared shape reuse test.
+     */
+    @Test
+    public void sharedShapes ()
+    {
+        final TestShape shape = new TestShape ();
+        final TestDecoration decoration = new TestDecoration ( shape );
+        final Rectangle bounds = new Rectangle ( 0, 0, 80, 24 );
+        final Shape first = shape.getShape ( ShapeType.background, bounds, new JPanel (), decoration );
+        final Shape second = shape.getShape ( ShapeType.background, bounds, new JPanel (), decoration );
+        assertSame ( "Identical shapes must be shared", first, second );
+
+        final JPanel component = new JPanel ();
+        final Shape resized = shape.getShape ( ShapeType.background, new Rectangle ( 0, 0, 81, 24 ), component, decoration );
+        assertNotSame ( "Shapes of different size must not be shared", first, resized );
+        assertEquals ( "Shape must match its bounds", 81, resized.getBounds ().width );
+        assertSame ( "Shape must be cached for component", resized,
+                shape.getShape ( ShapeType.background, new Rectangle ( 0, 0, 81, 24 ), component, decoration ) );
+    }
+
+    /**
+     * {@link WebShape} used for tests.
+     */
+    private static final class TestShape extends WebShape<JPanel, TestDecoration, TestShape>
+    {
+        /**
+         * Serialization version.
+         */
+        private static final long serialVersionUID = 1L;
+    }
+
+    /**
+     * {@link WebDecoration} used for tests.
+     */
+    private static final class TestDecoration extends WebDecoration<JPanel, TestDecoration>
+    {
+        /**
+         * Serialization version.
+         */
+        private static final long serialVersionUID = 1L;
+
+        /**
+         * Constructs new {@link TestDecoration} with the specified {@link TestShape}.
+         *
+         * @param shape {@link TestShape}
+         */
+        public TestDecoration ( final TestShape shape )
+        {
+            shapes.add ( shape );
+        }
+    }
+}